@@ -214,6 +214,17 @@ public class BPlusTreeBenchmark extends JmhAbstractBenchmark {
             return Long.compare(n1, n2);
         }
 
+        /** {@inheritDoc} */
+        @Override protected int compareOptimistic(BPlusIO<Long> io, long pageAddr, int idx, Long n2)
+            throws IgniteCheckedException {
+            return compare(io, pageAddr, idx, n2);
+        }
+
+        /** {@inheritDoc} */
+        @Override protected boolean optimisticReads() {
+            return OPTIMISTIC_READS;
+        }
+
         /** {@inheritDoc} */
         @Override public Long getRow(BPlusIO<Long> io, long pageAddr, int idx, Object ignore)
             throws IgniteCheckedException {
@@ -36,6 +36,9 @@ public class CalciteQueryEngineConfiguration implements QueryEngineConfiguration
     /** */
     private static final long DFLT_QUERY_MEMORY_QUOTA = 0L;
 
+    /** */
+    private static final boolean DFLT_DISK_SPILL_ENABLED = false;
+
     /** */
     private boolean isDflt;
 
@@ -45,6 +48,9 @@ public class CalciteQueryEngineConfiguration implements QueryEngineConfiguration
     /** */
     private long qryMemoryQuota = DFLT_QUERY_MEMORY_QUOTA;
 
+    /** */
+    private boolean diskSpillEnabled = DFLT_DISK_SPILL_ENABLED;
+
     /** {@inheritDoc} */
     @Override public String engineName() {
         return ENGINE_NAME;
@@ -108,4 +114,29 @@ public class CalciteQueryEngineConfiguration implements QueryEngineConfiguration
 
         return this;
     }
+
+    /**
+     * Gets flag indicating whether execution nodes are allowed to offload rows to disk when memory quota is exceeded.
+     *
+     * @return {@code True} if spilling to disk is enabled.
+     */
+    public boolean isDiskSpillEnabled() {
+        return diskSpillEnabled;
+    }
+
+    /**
+     * Sets flag indicating whether execution nodes are allowed to offload rows to disk when memory quota is exceeded.
+     * If enabled, sort, hash aggregate, table spool and hash join nodes write rows to temporary files in the work
+     * directory instead of failing the query with the quota exceeded error. Hash join offloads rows only if the order
+     * of its output rows is not required. Index spool and aggregates collecting rows (e.g. {@code ARRAY_AGG},
+     * {@code LISTAGG} or aggregates with {@code DISTINCT}) are never offloaded and still fail on the quota.
+     *
+     * @param diskSpillEnabled {@code True} to enable spilling to disk.
+     * @return {@code this} for chaining.
+     */
+    public CalciteQueryEngineConfiguration setDiskSpillEnabled(boolean diskSpillEnabled) {
+        this.diskSpillEnabled = diskSpillEnabled;
+
+        return this;
+    }
 }
@@ -422,7 +422,7 @@ public class CalciteQueryProcessor extends GridProcessorAdapter implements Query
 
                 @Override public QueryPlan apply(RootQuery<Object[]> qry, Object[] params) {
                     if (plan == null) {
-                        plan = queryPlanCache().queryPlan(new CacheKey(schema.getName(), sql, null, params), () ->
+                        plan = queryPlanCache().queryPlan(new CacheKey(schema.getName(), sql, null, params), params, () ->
                             prepareSvc.prepareSingle(qryNode, qry.planningContext())
                         );
                     }
@@ -454,7 +454,7 @@ public class CalciteQueryProcessor extends GridProcessorAdapter implements Query
 
         assert schema != null : "Schema not found: " + schemaName;
 
-        QueryPlan plan = queryPlanCache().queryPlan(new CacheKey(schema.getName(), sql, null, params));
+        QueryPlan plan = queryPlanCache().queryPlan(new CacheKey(schema.getName(), sql, null, params), params);
 
         if (plan != null) {
             return Collections.singletonList(
@@ -474,6 +474,7 @@ public class CalciteQueryProcessor extends GridProcessorAdapter implements Query
                     plan0 = queryPlanCache().queryPlan(
                         // Use source SQL to avoid redundant parsing next time.
                         new CacheKey(schema.getName(), sql, null, params),
+                        params,
                         () -> prepareSvc.prepareSingle(sqlNode, qry.planningContext())
                     );
                 }
@@ -28,6 +28,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import org.apache.calcite.plan.Context;
+import org.apache.calcite.rel.RelDistribution;
+import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.schema.SchemaPlus;
 import org.apache.calcite.tools.Frameworks;
 import org.apache.calcite.util.CancelFlag;
@@ -50,9 +52,16 @@ import org.apache.ignite.internal.processors.query.calcite.prepare.BaseQueryCont
 import org.apache.ignite.internal.processors.query.calcite.prepare.Fragment;
 import org.apache.ignite.internal.processors.query.calcite.prepare.MultiStepPlan;
 import org.apache.ignite.internal.processors.query.calcite.prepare.PlanningContext;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteIndexScan;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteTableScan;
+import org.apache.ignite.internal.processors.query.calcite.rel.ProjectableFilterableTableScan;
+import org.apache.ignite.internal.processors.query.calcite.schema.IgniteCacheTable;
+import org.apache.ignite.internal.processors.query.calcite.trait.TraitUtils;
 import org.apache.ignite.internal.processors.query.calcite.util.Commons;
 import org.apache.ignite.internal.processors.query.running.TrackableQuery;
+import org.apache.ignite.internal.util.tostring.GridToStringExclude;
 import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.T2;
 import org.apache.ignite.internal.util.typedef.internal.S;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.jetbrains.annotations.Nullable;
@@ -65,6 +74,12 @@ import static org.apache.ignite.internal.processors.query.calcite.CalciteQueryPr
  * It provides 'cancel' functionality for running query like a base query class.
  */
 public class RootQuery<RowT> extends Query<RowT> implements TrackableQuery {
+    /** Minimal count of rows which makes a wrong scan row count estimation matter. */
+    private static final double ROW_CNT_FEEDBACK_MIN_ROWS = 1000;
+
+    /** Ratio between the observed and the estimated scan row count which makes the estimation wrong. */
+    private static final double ROW_CNT_FEEDBACK_RATIO = 10;
+
     /** SQL query. */
     private final String sql;
 
@@ -98,6 +113,14 @@ public class RootQuery<RowT> extends Query<RowT> implements TrackableQuery {
     /** Planning time (millys). */
     private long planningTime;
 
+    /** */
+    @GridToStringExclude
+    private volatile MultiStepPlan plan;
+
+    /** Scans reporting the count of produced rows, by source ID. Is built on the first report. */
+    @GridToStringExclude
+    private Map<Long, ScanRowCount> scanRowCnts;
+
     /** */
     public RootQuery(
         String sql,
@@ -205,6 +228,7 @@ public class RootQuery<RowT> extends Query<RowT> implements TrackableQuery {
             addFragment(new RunningFragment<>(F.first(plan.fragments()).root(), rootNode, ctx));
 
             this.root = rootNode;
+            this.plan = plan;
 
             for (int i = 1; i < plan.fragments().size(); i++) {
                 Fragment fragment = plan.fragments().get(i);
@@ -381,6 +405,103 @@ public class RootQuery<RowT> extends Query<RowT> implements TrackableQuery {
             tryClose(null);
     }
 
+    /**
+     * Accumulates the counts of rows produced by a scan on all the nodes it's mapped to, and compares the total
+     * count with the planner estimation. If the estimation is wrong by an order of magnitude, the table keeps the
+     * observed count, so next plans are built with it.
+     * <p>
+     * The running query isn't re-planned: its fragments are started on all the nodes at once, and other fragments
+     * may already consume the rows the scan produced. Only the queries planned later use the observed count.
+     *
+     * @param sourceId Scan source ID.
+     * @param rowsCnt Count of rows produced by the scan on a node.
+     * @return Table which saved the observed count, so the cached plans using it should be rebuilt, or {@code null}.
+     */
+    @Nullable public IgniteCacheTable onScanRowCount(long sourceId, long rowsCnt) {
+        ScanRowCount scanRowCnt;
+
+        MultiStepPlan plan;
+
+        synchronized (mux) {
+            plan = this.plan;
+
+            if (plan == null)
+                return null;
+
+            if (scanRowCnts == null)
+                scanRowCnts = collectScans(plan);
+
+            scanRowCnt = scanRowCnts.get(sourceId);
+
+            if (scanRowCnt == null)
+                return null;
+
+            scanRowCnt.rowsCnt += rowsCnt;
+
+            if (++scanRowCnt.reported < scanRowCnt.nodesCnt)
+                return null;
+
+            scanRowCnts.remove(sourceId);
+        }
+
+        ProjectableFilterableTableScan scan = scanRowCnt.scan;
+
+        // Fragments are detached from the planning context, so the estimation is taken from the plan.
+        T2<Integer, Double> estimate = plan.scanEstimate(scan.rowCountKey());
+
+        if (estimate == null)
+            return null;
+
+        // Each node scans all the rows of a replicated table.
+        double observed = TraitUtils.distribution(scan).getType() == RelDistribution.Type.BROADCAST_DISTRIBUTED
+            ? (double)scanRowCnt.rowsCnt / scanRowCnt.nodesCnt : scanRowCnt.rowsCnt;
+
+        double estimated = estimate.get2();
+
+        if (Math.max(observed, estimated) < ROW_CNT_FEEDBACK_MIN_ROWS
+            || Math.max(observed, estimated) < Math.max(Math.min(observed, estimated), 1d) * ROW_CNT_FEEDBACK_RATIO)
+            return null;
+
+        IgniteCacheTable tbl = scan.getTable().unwrap(IgniteCacheTable.class);
+
+        // The newer count replaces the older one, since the data may have changed. Parameters of other selectivity
+        // are planned with their own counts.
+        tbl.observedRowCount(scan.rowCountKey(estimate.get1()), observed);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Scan row count differs from the estimation [qryId=" + id() + ", table=" +
+                scan.getTable().getQualifiedName() + ", observed=" + observed + ", estimated=" + estimated + ']');
+        }
+
+        return tbl;
+    }
+
+    /**
+     * @return Scans which report the count of produced rows, by source ID.
+     */
+    private static Map<Long, ScanRowCount> collectScans(MultiStepPlan plan) {
+        Map<Long, ScanRowCount> res = new HashMap<>();
+
+        for (Fragment fragment : plan.fragments()) {
+            int nodesCnt = plan.mapping(fragment).nodeIds().size();
+
+            collectScans(fragment.root(), nodesCnt, res);
+        }
+
+        return res;
+    }
+
+    /** */
+    private static void collectScans(RelNode rel, int nodesCnt, Map<Long, ScanRowCount> res) {
+        if (rel instanceof IgniteTableScan)
+            res.put(((IgniteTableScan)rel).sourceId(), new ScanRowCount((ProjectableFilterableTableScan)rel, nodesCnt));
+        else if (rel instanceof IgniteIndexScan)
+            res.put(((IgniteIndexScan)rel).sourceId(), new ScanRowCount((ProjectableFilterableTableScan)rel, nodesCnt));
+
+        for (RelNode input : rel.getInputs())
+            collectScans(input, nodesCnt, res);
+    }
+
     /** */
     public void onError(Throwable error) {
         root.onError(error);
@@ -449,4 +570,25 @@ public class RootQuery<RowT> extends Query<RowT> implements TrackableQuery {
     @Override public String toString() {
         return S.toString(RootQuery.class, this);
     }
+
+    /** */
+    private static class ScanRowCount {
+        /** */
+        private final ProjectableFilterableTableScan scan;
+
+        /** Count of nodes the scan is mapped to. */
+        private final int nodesCnt;
+
+        /** Count of nodes reported. */
+        private int reported;
+
+        /** */
+        private long rowsCnt;
+
+        /** */
+        private ScanRowCount(ProjectableFilterableTableScan scan, int nodesCnt) {
+            this.scan = scan;
+            this.nodesCnt = nodesCnt;
+        }
+    }
 }
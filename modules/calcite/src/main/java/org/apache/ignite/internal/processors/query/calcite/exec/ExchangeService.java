@@ -22,6 +22,7 @@ import java.util.UUID;
 
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.internal.processors.query.calcite.util.Service;
+import org.jetbrains.annotations.Nullable;
 
 /**
  *
@@ -50,6 +51,26 @@ public interface ExchangeService extends Service {
      */
     void acknowledge(UUID nodeId, UUID qryId, long fragmentId, long exchangeId, int batchId) throws IgniteCheckedException;
 
+    /**
+     * Sends a hash join build side filter to the node producing the probe side rows.
+     * @param nodeId Target node ID.
+     * @param qryId Query ID.
+     * @param fragmentId Target fragment ID.
+     * @param exchangeId Exchange ID.
+     * @param bits Bloom filter bits or {@code null} if the filter lets all rows pass.
+     */
+    void sendRuntimeFilter(UUID nodeId, UUID qryId, long fragmentId, long exchangeId, @Nullable long[] bits)
+        throws IgniteCheckedException;
+
+    /**
+     * Sends the count of rows produced by a scan to the query initiator.
+     * @param nodeId Target node ID.
+     * @param qryId Query ID.
+     * @param sourceId Scan source ID.
+     * @param rowsCnt Count of rows.
+     */
+    void sendRowCount(UUID nodeId, UUID qryId, long sourceId, long rowsCnt) throws IgniteCheckedException;
+
     /**
      * Sends cancel request.
      * @param nodeId Target node ID.
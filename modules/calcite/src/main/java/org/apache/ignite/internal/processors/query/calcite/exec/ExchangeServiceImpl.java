@@ -25,10 +25,12 @@ import java.util.UUID;
 import com.google.common.collect.ImmutableMap;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.internal.GridKernalContext;
 import org.apache.ignite.internal.processors.query.calcite.CalciteQueryProcessor;
 import org.apache.ignite.internal.processors.query.calcite.Query;
 import org.apache.ignite.internal.processors.query.calcite.QueryRegistry;
+import org.apache.ignite.internal.processors.query.calcite.RootQuery;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.Inbox;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.Outbox;
 import org.apache.ignite.internal.processors.query.calcite.exec.tracker.NoOpIoTracker;
@@ -40,11 +42,18 @@ import org.apache.ignite.internal.processors.query.calcite.message.MessageType;
 import org.apache.ignite.internal.processors.query.calcite.message.QueryBatchAcknowledgeMessage;
 import org.apache.ignite.internal.processors.query.calcite.message.QueryBatchMessage;
 import org.apache.ignite.internal.processors.query.calcite.message.QueryCloseMessage;
+import org.apache.ignite.internal.processors.query.calcite.message.QueryRowCountMessage;
+import org.apache.ignite.internal.processors.query.calcite.message.RuntimeFilterMessage;
 import org.apache.ignite.internal.processors.query.calcite.metadata.FragmentDescription;
 import org.apache.ignite.internal.processors.query.calcite.prepare.BaseQueryContext;
+import org.apache.ignite.internal.processors.query.calcite.prepare.QueryPlanCache;
+import org.apache.ignite.internal.processors.query.calcite.schema.IgniteCacheTable;
 import org.apache.ignite.internal.processors.query.calcite.util.AbstractService;
 import org.apache.ignite.internal.processors.query.calcite.util.Commons;
 import org.apache.ignite.internal.util.typedef.F;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_CALCITE_EXEC_IO_BATCH_COMPRESSION;
 
 /**
  *
@@ -53,6 +62,9 @@ public class ExchangeServiceImpl extends AbstractService implements ExchangeServ
     /** */
     private final UUID locaNodeId;
 
+    /** Compress rows of data messages sent to remote nodes. */
+    private final boolean compressBatches = IgniteSystemProperties.getBoolean(IGNITE_CALCITE_EXEC_IO_BATCH_COMPRESSION);
+
     /** */
     private QueryTaskExecutor taskExecutor;
 
@@ -65,6 +77,9 @@ public class ExchangeServiceImpl extends AbstractService implements ExchangeServ
     /** */
     private QueryRegistry qryRegistry;
 
+    /** */
+    private QueryPlanCache qryPlanCache;
+
     /**
      * @param ctx Kernal context.
      */
@@ -121,10 +136,18 @@ public class ExchangeServiceImpl extends AbstractService implements ExchangeServ
         this.qryRegistry = qryRegistry;
     }
 
+    /**
+     * @param qryPlanCache Query plan cache.
+     */
+    public void queryPlanCache(QueryPlanCache qryPlanCache) {
+        this.qryPlanCache = qryPlanCache;
+    }
+
     /** {@inheritDoc} */
     @Override public <Row> void sendBatch(UUID nodeId, UUID qryId, long fragmentId, long exchangeId, int batchId,
         boolean last, List<Row> rows) throws IgniteCheckedException {
-        messageService().send(nodeId, new QueryBatchMessage(qryId, fragmentId, exchangeId, batchId, last, Commons.cast(rows)));
+        messageService().send(nodeId, new QueryBatchMessage(qryId, fragmentId, exchangeId, batchId, last,
+            Commons.cast(rows), compressBatches));
 
         if (batchId == 0) {
             Query<?> qry = qryRegistry.query(qryId);
@@ -140,6 +163,18 @@ public class ExchangeServiceImpl extends AbstractService implements ExchangeServ
         messageService().send(nodeId, new QueryBatchAcknowledgeMessage(qryId, fragmentId, exchangeId, batchId));
     }
 
+    /** {@inheritDoc} */
+    @Override public void sendRuntimeFilter(UUID nodeId, UUID qryId, long fragmentId, long exchangeId,
+        @Nullable long[] bits) throws IgniteCheckedException {
+        messageService().send(nodeId, new RuntimeFilterMessage(qryId, fragmentId, exchangeId, bits));
+    }
+
+    /** {@inheritDoc} */
+    @Override public void sendRowCount(UUID nodeId, UUID qryId, long sourceId, long rowsCnt)
+        throws IgniteCheckedException {
+        messageService().send(nodeId, new QueryRowCountMessage(qryId, sourceId, rowsCnt));
+    }
+
     /** {@inheritDoc} */
     @Override public void closeQuery(UUID nodeId, UUID qryId) throws IgniteCheckedException {
         messageService().send(nodeId, new QueryCloseMessage(qryId));
@@ -164,6 +199,7 @@ public class ExchangeServiceImpl extends AbstractService implements ExchangeServ
         mailboxRegistry(proc.mailboxRegistry());
         messageService(proc.messageService());
         queryRegistry(proc.queryRegistry());
+        queryPlanCache(proc.queryPlanCache());
 
         init();
     }
@@ -174,6 +210,8 @@ public class ExchangeServiceImpl extends AbstractService implements ExchangeServ
         messageService().register((n, m) -> onMessage(n, (QueryBatchAcknowledgeMessage)m), MessageType.QUERY_ACKNOWLEDGE_MESSAGE);
         messageService().register((n, m) -> onMessage(n, (QueryBatchMessage)m), MessageType.QUERY_BATCH_MESSAGE);
         messageService().register((n, m) -> onMessage(n, (QueryCloseMessage)m), MessageType.QUERY_CLOSE_MESSAGE);
+        messageService().register((n, m) -> onMessage(n, (RuntimeFilterMessage)m), MessageType.QUERY_RUNTIME_FILTER_MESSAGE);
+        messageService().register((n, m) -> onMessage(n, (QueryRowCountMessage)m), MessageType.QUERY_ROW_COUNT_MESSAGE);
     }
 
     /** {@inheritDoc} */
@@ -258,6 +296,40 @@ public class ExchangeServiceImpl extends AbstractService implements ExchangeServ
         }
     }
 
+    /** */
+    protected void onMessage(UUID nodeId, RuntimeFilterMessage msg) {
+        Outbox<?> outbox = mailboxRegistry().outbox(msg.queryId(), msg.exchangeId());
+
+        if (outbox != null)
+            outbox.context().runtimeFilter().onFilterReceived(nodeId, msg.bits());
+        else if (log.isDebugEnabled()) {
+            log.debug("Stale runtime filter message received: [" +
+                "nodeId=" + nodeId + ", " +
+                "queryId=" + msg.queryId() + ", " +
+                "fragmentId=" + msg.fragmentId() + ", " +
+                "exchangeId=" + msg.exchangeId() + "]");
+        }
+    }
+
+    /** */
+    protected void onMessage(UUID nodeId, QueryRowCountMessage msg) {
+        Query<?> qry = qryRegistry.query(msg.queryId());
+
+        if (qry instanceof RootQuery) {
+            IgniteCacheTable tbl = ((RootQuery<?>)qry).onScanRowCount(msg.sourceId(), msg.rowsCount());
+
+            // Cached plans using the table are built with the estimation, which turned out to be wrong.
+            if (tbl != null && qryPlanCache != null)
+                qryPlanCache.invalidate(tbl);
+        }
+        else if (log.isDebugEnabled()) {
+            log.debug("Stale scan row count message received: [" +
+                "nodeId=" + nodeId + ", " +
+                "queryId=" + msg.queryId() + ", " +
+                "sourceId=" + msg.sourceId() + "]");
+        }
+    }
+
     /** */
     protected void onMessage(UUID nodeId, QueryBatchMessage msg) {
         Inbox<?> inbox = mailboxRegistry().inbox(msg.queryId(), msg.exchangeId());
@@ -319,6 +391,7 @@ public class ExchangeServiceImpl extends AbstractService implements ExchangeServ
             null,
             NoOpMemoryTracker.INSTANCE,
             NoOpIoTracker.INSTANCE,
+            null,
             ImmutableMap.of());
     }
 }
@@ -49,6 +49,7 @@ import org.apache.ignite.internal.processors.query.calcite.util.Commons;
 import org.apache.ignite.internal.processors.query.calcite.util.TypeUtils;
 import org.apache.ignite.internal.util.lang.RunnableX;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import static org.apache.ignite.internal.processors.query.calcite.util.Commons.checkRange;
 
@@ -101,13 +102,20 @@ public class ExecutionContext<Row> extends AbstractQueryContext implements DataC
     /** */
     private final IoTracker ioTracker;
 
+    /** Spill manager, {@code null} if offloading rows to disk is disabled. */
+    private final SpillManager spillMgr;
+
     /** */
     private Object[] correlations = new Object[16];
 
+    /** Filter of the rows sent to a hash join, created on demand. */
+    private RuntimeFilter runtimeFilter;
+
     /**
      * @param qctx Parent base query context.
      * @param qryId Query ID.
      * @param fragmentDesc Partitions information.
+     * @param spillMgr Spill manager, {@code null} if offloading rows to disk is disabled.
      * @param params Parameters.
      */
     @SuppressWarnings("AssignmentOrReturnOfFieldWithMutableType")
@@ -122,6 +130,7 @@ public class ExecutionContext<Row> extends AbstractQueryContext implements DataC
         RowHandler<Row> handler,
         MemoryTracker qryMemoryTracker,
         IoTracker ioTracker,
+        @Nullable SpillManager spillMgr,
         Map<String, Object> params
     ) {
         super(qctx);
@@ -135,6 +144,7 @@ public class ExecutionContext<Row> extends AbstractQueryContext implements DataC
         this.handler = handler;
         this.qryMemoryTracker = qryMemoryTracker;
         this.ioTracker = ioTracker;
+        this.spillMgr = spillMgr;
         this.params = params;
 
         baseDataContext = new BaseDataContext(qctx.typeFactory());
@@ -297,7 +307,27 @@ public class ExecutionContext<Row> extends AbstractQueryContext implements DataC
         if (isCancelled())
             return;
 
-        executor.execute(qryId, fragmentId(), () -> {
+        executor.execute(qryId, fragmentId(), wrap(task, onError));
+    }
+
+    /**
+     * Executes a query task in parallel with the tasks of the fragment. The task must not access execution nodes
+     * directly, its results should be passed to the fragment thread through {@link #execute(RunnableX, Consumer)}.
+     *
+     * @param taskIdx Index of the task, tasks with different indexes run in different threads if possible.
+     * @param task Query task.
+     * @param onError Error handler, called in the thread of the task.
+     */
+    public void executeParallel(int taskIdx, RunnableX task, Consumer<Throwable> onError) {
+        if (isCancelled())
+            return;
+
+        executor.execute(qryId, fragmentId(), taskIdx, wrap(task, onError));
+    }
+
+    /** */
+    private Runnable wrap(RunnableX task, Consumer<Throwable> onError) {
+        return () -> {
             try {
                 if (!isCancelled())
                     task.run();
@@ -307,7 +337,7 @@ public class ExecutionContext<Row> extends AbstractQueryContext implements DataC
 
                 throw new IgniteException("Unexpected exception", e);
             }
-        });
+        };
     }
 
     /**
@@ -347,6 +377,33 @@ public class ExecutionContext<Row> extends AbstractQueryContext implements DataC
         return ioTracker;
     }
 
+    /**
+     * @return {@code True} if execution nodes are allowed to offload rows to disk when memory quota is exceeded.
+     */
+    public boolean isSpillEnabled() {
+        return spillMgr != null;
+    }
+
+    /**
+     * Creates temporary file to offload rows to disk.
+     */
+    public SpillFile<Row> createSpillFile() {
+        assert spillMgr != null;
+
+        return spillMgr.createFile(this);
+    }
+
+    /**
+     * @return Filter of the rows sent by this fragment to a hash join, filters are received from all the nodes
+     * the fragment sends rows to.
+     */
+    public synchronized RuntimeFilter runtimeFilter() {
+        if (runtimeFilter == null)
+            runtimeFilter = new RuntimeFilter(target().nodeIds().size());
+
+        return runtimeFilter;
+    }
+
     /** {@inheritDoc} */
     @Override public boolean equals(Object o) {
         if (this == o)
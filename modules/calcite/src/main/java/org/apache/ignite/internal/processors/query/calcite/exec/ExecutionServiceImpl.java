@@ -17,6 +17,7 @@
 
 package org.apache.ignite.internal.processors.query.calcite.exec;
 
+import java.io.File;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -102,12 +103,15 @@ import org.apache.ignite.internal.processors.security.SecurityUtils;
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.X;
 import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.marshaller.Marshaller;
+import org.apache.ignite.marshaller.MarshallerUtils;
 import org.jetbrains.annotations.Nullable;
 
 import static java.util.Collections.singletonList;
 import static org.apache.ignite.events.EventType.EVT_CACHE_QUERY_OBJECT_READ;
 import static org.apache.ignite.internal.processors.query.calcite.CalciteQueryProcessor.FRAMEWORK_CONFIG;
 import static org.apache.ignite.internal.processors.query.calcite.externalize.RelJsonReader.fromJson;
+import static org.apache.ignite.internal.processors.query.running.RunningQueryManager.SQL_USER_QUERIES_REG_NAME;
 
 /**
  *
@@ -183,6 +187,9 @@ public class ExecutionServiceImpl<Row> extends AbstractService implements Execut
     /** */
     private MemoryTracker memoryTracker;
 
+    /** Spill manager, {@code null} if offloading rows to disk is disabled. */
+    private SpillManager spillMgr;
+
     /**
      * @param ctx Kernal.
      */
@@ -438,6 +445,9 @@ public class ExecutionServiceImpl<Row> extends AbstractService implements Execut
         memoryTracker = cfg.getGlobalMemoryQuota() > 0 ? new GlobalMemoryTracker(cfg.getGlobalMemoryQuota()) :
             NoOpMemoryTracker.INSTANCE;
 
+        if (cfg.isDiskSpillEnabled())
+            spillMgr = createSpillManager(ctx);
+
         init();
     }
 
@@ -457,6 +467,30 @@ public class ExecutionServiceImpl<Row> extends AbstractService implements Execut
         eventManager().removeDiscoveryEventListener(discoLsnr, EventType.EVT_NODE_FAILED, EventType.EVT_NODE_LEFT);
 
         iteratorsHolder().tearDown();
+
+        if (spillMgr != null)
+            spillMgr.stop();
+    }
+
+    /** */
+    private SpillManager createSpillManager(GridKernalContext ctx) {
+        try {
+            // Folder name is stable across restarts, so files left after the crash of the node are found and removed.
+            File dir = new File(U.resolveWorkDirectory(ctx.config().getWorkDirectory(), SpillManager.SPILL_DIR, false),
+                ctx.pdsFolderResolver().resolveFolders().folderName());
+
+            @SuppressWarnings("deprecation")
+            Marshaller marsh = ctx.config().getMarshaller();
+
+            if (marsh == null) // Stubbed context doesn't have a marshaller
+                marsh = MarshallerUtils.jdkMarshaller(ctx.igniteInstanceName());
+
+            return new SpillManager(dir, marsh, U.resolveClassLoader(ctx.config()),
+                ctx.metric().registry(SQL_USER_QUERIES_REG_NAME), log);
+        }
+        catch (IgniteCheckedException e) {
+            throw new IgniteException("Failed to initialize spill directory", e);
+        }
     }
 
     /** */
@@ -594,6 +628,7 @@ public class ExecutionServiceImpl<Row> extends AbstractService implements Execut
             handler,
             qry.createMemoryTracker(memoryTracker, cfg.getQueryMemoryQuota()),
             createIoTracker(locNodeId, qry.localQueryId()),
+            spillMgr,
             Commons.parametersMap(qry.parameters()));
 
         Node<Row> node = new LogicalRelImplementor<>(ectx, partitionService(), mailboxRegistry(),
@@ -759,6 +794,7 @@ public class ExecutionServiceImpl<Row> extends AbstractService implements Execut
 
             QueryPlan qryPlan = queryPlanCache().queryPlan(
                 new CacheKey(msg.schema(), msg.root()),
+                X.EMPTY_OBJECT_ARRAY,
                 () -> prepareFragment(qctx, msg.root())
             );
 
@@ -775,6 +811,7 @@ public class ExecutionServiceImpl<Row> extends AbstractService implements Execut
                 handler,
                 qry.createMemoryTracker(memoryTracker, cfg.getQueryMemoryQuota()),
                 createIoTracker(nodeId, msg.originatingQryId()),
+                spillMgr,
                 Commons.parametersMap(msg.parameters())
             );
 
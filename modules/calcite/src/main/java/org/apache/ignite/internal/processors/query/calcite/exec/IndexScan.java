@@ -422,7 +422,7 @@ public class IndexScan<Row> extends AbstractIndexScan<Row, IndexRow> {
                 return io.getLookupRow(tree, pageAddr, idx);
 
             int inlineSize = ((InlineIO)io).inlineSize();
-            int rowOffset = io.offset(idx);
+            long keysAddr = ((InlineIO)io).inlineKeysAddress(pageAddr, idx);
             int keyOffset = 0;
 
             IndexKey[] keys = new IndexKey[keyTypes.length];
@@ -431,7 +431,7 @@ public class IndexScan<Row> extends AbstractIndexScan<Row, IndexRow> {
             for (int keyIdx = 0; keyIdx < keyTypes.length; keyIdx++) {
                 InlineIndexKeyType keyType = keyTypes[keyIdx];
 
-                if (!keyType.inlinedFullValue(pageAddr, rowOffset + keyOffset, inlineSize - keyOffset)) {
+                if (!keyType.inlinedFullValue(keysAddr, keyOffset, inlineSize - keyOffset)) {
                     // Since we are checking only fixed-length keys, this condition means that for all rows current
                     // key type is not fully inlined, so fallback to cache index row.
                     useCacheRow = true;
@@ -439,9 +439,9 @@ public class IndexScan<Row> extends AbstractIndexScan<Row, IndexRow> {
                     return io.getLookupRow(tree, pageAddr, idx);
                 }
 
-                keys[keyIdx] = keyType.get(pageAddr, rowOffset + keyOffset, inlineSize - keyOffset);
+                keys[keyIdx] = keyType.get(keysAddr, keyOffset, inlineSize - keyOffset);
 
-                keyOffset += keyType.inlineSize(pageAddr, rowOffset + keyOffset);
+                keyOffset += keyType.inlineSize(keysAddr, keyOffset);
             }
 
             return new IndexPlainRowImpl(keys, idxRowHnd);
@@ -468,7 +468,11 @@ public class IndexScan<Row> extends AbstractIndexScan<Row, IndexRow> {
                 int idx
             ) throws IgniteCheckedException {
                 if (!checkExpired && keyType != null && io instanceof InlineIO) {
-                    Boolean keyIsNull = keyType.isNull(pageAddr, io.offset(idx), ((InlineIO)io).inlineSize());
+                    InlineIO inlineIo = (InlineIO)io;
+
+                    long keysAddr = inlineIo.inlineKeysAddress(pageAddr, idx);
+
+                    Boolean keyIsNull = keyType.isNull(keysAddr, 0, inlineIo.inlineSize());
 
                     if (keyIsNull == Boolean.TRUE)
                         return false;
@@ -18,36 +18,48 @@
 package org.apache.ignite.internal.processors.query.calcite.exec;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.function.BiPredicate;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.LongConsumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import org.apache.calcite.rel.RelCollation;
 import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.core.Intersect;
+import org.apache.calcite.rel.core.JoinInfo;
 import org.apache.calcite.rel.core.JoinRelType;
 import org.apache.calcite.rel.core.Minus;
 import org.apache.calcite.rel.core.Spool;
+import org.apache.calcite.rel.core.Window;
 import org.apache.calcite.rel.type.RelDataType;
 import org.apache.calcite.rex.RexLiteral;
 import org.apache.calcite.rex.RexNode;
 import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.calcite.util.ImmutableIntList;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.internal.processors.failure.FailureProcessor;
 import org.apache.ignite.internal.processors.query.calcite.exec.RowHandler.RowFactory;
+import org.apache.ignite.internal.processors.query.calcite.exec.exp.BatchFunction;
 import org.apache.ignite.internal.processors.query.calcite.exec.exp.ExpressionFactory;
 import org.apache.ignite.internal.processors.query.calcite.exec.exp.RangeIterable;
 import org.apache.ignite.internal.processors.query.calcite.exec.exp.agg.AccumulatorWrapper;
 import org.apache.ignite.internal.processors.query.calcite.exec.exp.agg.AggregateType;
+import org.apache.ignite.internal.processors.query.calcite.exec.exp.window.WindowFrame;
+import org.apache.ignite.internal.processors.query.calcite.exec.exp.window.WindowFunctions;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.AbstractSetOpNode;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.CollectNode;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.CorrelatedNestedLoopJoinNode;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.FilterNode;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.HashAggregateNode;
+import org.apache.ignite.internal.processors.query.calcite.exec.rel.HashJoinNode;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.Inbox;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.IndexSpoolNode;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.IntersectNode;
@@ -58,12 +70,14 @@ import org.apache.ignite.internal.processors.query.calcite.exec.rel.ModifyNode;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.NestedLoopJoinNode;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.Node;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.Outbox;
+import org.apache.ignite.internal.processors.query.calcite.exec.rel.ParallelScanNode;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.ProjectNode;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.ScanNode;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.SortAggregateNode;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.SortNode;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.TableSpoolNode;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.UnionAllNode;
+import org.apache.ignite.internal.processors.query.calcite.exec.rel.WindowNode;
 import org.apache.ignite.internal.processors.query.calcite.metadata.AffinityService;
 import org.apache.ignite.internal.processors.query.calcite.metadata.ColocationGroup;
 import org.apache.ignite.internal.processors.query.calcite.prepare.bounds.SearchBounds;
@@ -72,6 +86,7 @@ import org.apache.ignite.internal.processors.query.calcite.rel.IgniteCorrelatedN
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteExchange;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteFilter;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteHashIndexSpool;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteHashJoin;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteIndexBound;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteIndexCount;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteIndexScan;
@@ -92,6 +107,7 @@ import org.apache.ignite.internal.processors.query.calcite.rel.IgniteTableSpool;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteTrimExchange;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteUnionAll;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteValues;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteWindow;
 import org.apache.ignite.internal.processors.query.calcite.rel.agg.IgniteColocatedHashAggregate;
 import org.apache.ignite.internal.processors.query.calcite.rel.agg.IgniteColocatedSortAggregate;
 import org.apache.ignite.internal.processors.query.calcite.rel.agg.IgniteMapHashAggregate;
@@ -101,6 +117,7 @@ import org.apache.ignite.internal.processors.query.calcite.rel.agg.IgniteReduceS
 import org.apache.ignite.internal.processors.query.calcite.rel.set.IgniteSetOp;
 import org.apache.ignite.internal.processors.query.calcite.rule.LogicalScanConverterRule;
 import org.apache.ignite.internal.processors.query.calcite.schema.CacheTableDescriptor;
+import org.apache.ignite.internal.processors.query.calcite.schema.IgniteCacheTable;
 import org.apache.ignite.internal.processors.query.calcite.schema.IgniteIndex;
 import org.apache.ignite.internal.processors.query.calcite.schema.IgniteTable;
 import org.apache.ignite.internal.processors.query.calcite.trait.Destination;
@@ -110,8 +127,11 @@ import org.apache.ignite.internal.processors.query.calcite.type.IgniteTypeFactor
 import org.apache.ignite.internal.processors.query.calcite.util.Commons;
 import org.apache.ignite.internal.processors.query.calcite.util.RexUtils;
 import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.jetbrains.annotations.Nullable;
 
 import static org.apache.calcite.rel.RelDistribution.Type.HASH_DISTRIBUTED;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_CALCITE_EXEC_SCAN_PARALLELISM;
 import static org.apache.ignite.internal.processors.query.calcite.util.TypeUtils.combinedRowType;
 
 /**
@@ -137,6 +157,9 @@ public class LogicalRelImplementor<Row> implements IgniteRelVisitor<Node<Row>> {
     /** */
     private final ExpressionFactory<Row> expressionFactory;
 
+    /** Maximum count of partition ranges of a table, which are scanned in parallel. */
+    private final int scanParallelism = IgniteSystemProperties.getInteger(IGNITE_CALCITE_EXEC_SCAN_PARALLELISM, 1);
+
     /**
      * @param ctx Root context.
      * @param affSrvc Affinity service.
@@ -181,8 +204,9 @@ public class LogicalRelImplementor<Row> implements IgniteRelVisitor<Node<Row>> {
     /** {@inheritDoc} */
     @Override public Node<Row> visit(IgniteFilter rel) {
         Predicate<Row> pred = expressionFactory.predicate(rel.getCondition(), rel.getRowType());
+        BatchFunction<Row> batchPred = expressionFactory.batchPredicate(rel.getCondition(), rel.getRowType());
 
-        FilterNode<Row> node = new FilterNode<>(ctx, rel.getRowType(), pred);
+        FilterNode<Row> node = new FilterNode<>(ctx, rel.getRowType(), pred, batchPred);
 
         Node<Row> input = visit(rel.getInput());
 
@@ -211,8 +235,9 @@ public class LogicalRelImplementor<Row> implements IgniteRelVisitor<Node<Row>> {
     /** {@inheritDoc} */
     @Override public Node<Row> visit(IgniteProject rel) {
         Function<Row, Row> prj = expressionFactory.project(rel.getProjects(), rel.getInput().getRowType());
+        BatchFunction<Row> batchPrj = expressionFactory.batchProject(rel.getProjects(), rel.getInput().getRowType());
 
-        ProjectNode<Row> node = new ProjectNode<>(ctx, rel.getRowType(), prj);
+        ProjectNode<Row> node = new ProjectNode<>(ctx, rel.getRowType(), prj, batchPrj);
 
         Node<Row> input = visit(rel.getInput());
 
@@ -289,6 +314,42 @@ public class LogicalRelImplementor<Row> implements IgniteRelVisitor<Node<Row>> {
         return node;
     }
 
+    /** {@inheritDoc} */
+    @Override public Node<Row> visit(IgniteHashJoin rel) {
+        RelDataType outType = rel.getRowType();
+        RelDataType leftType = rel.getLeft().getRowType();
+        RelDataType rightType = rel.getRight().getRowType();
+
+        JoinInfo joinInfo = rel.analyzeCondition();
+
+        BiPredicate<Row, Row> nonEquiCond = null;
+
+        if (!joinInfo.isEqui()) {
+            RelDataType rowType = combinedRowType(ctx.getTypeFactory(), leftType, rightType);
+
+            nonEquiCond = expressionFactory.biPredicate(joinInfo.getRemaining(rel.getCluster().getRexBuilder()), rowType);
+        }
+
+        HashJoinNode<Row> node = HashJoinNode.create(ctx, outType, rightType, rel.getJoinType(), joinInfo.leftKeys,
+            joinInfo.rightKeys, nonEquiCond);
+
+        Consumer<long[]> runtimeFilterSender = rel.runtimeFilter() ? runtimeFilterSender(rel.getLeft()) : null;
+
+        if (runtimeFilterSender != null)
+            node.runtimeFilterConsumer(runtimeFilterSender);
+
+        // Offloading to disk changes the order of the output rows.
+        if (rel.collation().getFieldCollations().isEmpty())
+            node.allowSpill();
+
+        Node<Row> leftInput = visit(rel.getLeft());
+        Node<Row> rightInput = visit(rel.getRight());
+
+        node.register(F.asList(leftInput, rightInput));
+
+        return node;
+    }
+
     /** {@inheritDoc} */
     @Override public Node<Row> visit(IgniteIndexScan rel) {
         RexNode condition = rel.condition();
@@ -303,6 +364,7 @@ public class LogicalRelImplementor<Row> implements IgniteRelVisitor<Node<Row>> {
         RelDataType rowType = tbl.getRowType(typeFactory, requiredColumns);
 
         Predicate<Row> filters = condition == null ? null : expressionFactory.predicate(condition, rowType);
+        filters = withRuntimeFilter(filters, rel.runtimeFilterKeys());
         Function<Row, Row> prj = projects == null ? null : expressionFactory.project(projects, rowType);
         RangeIterable<Row> ranges = searchBounds == null ? null :
             expressionFactory.ranges(searchBounds, rel.collation(), tbl.getRowType(typeFactory));
@@ -314,7 +376,8 @@ public class LogicalRelImplementor<Row> implements IgniteRelVisitor<Node<Row>> {
         if (idx != null && !tbl.isIndexRebuildInProgress()) {
             Iterable<Row> rowsIter = idx.scan(ctx, grp, filters, ranges, prj, requiredColumns);
 
-            return new ScanNode<>(ctx, rowType, rowsIter);
+            return withRowCountReport(new ScanNode<>(ctx, rowType, rowsIter), tbl, condition, rel.sourceId(),
+                rel.runtimeFilterKeys());
         }
         else {
             // Index was invalidated after planning, workaround through table-scan -> sort -> index spool.
@@ -480,13 +543,84 @@ public class LogicalRelImplementor<Row> implements IgniteRelVisitor<Node<Row>> {
         RelDataType rowType = tbl.getRowType(typeFactory, requiredColunms);
 
         Predicate<Row> filters = condition == null ? null : expressionFactory.predicate(condition, rowType);
+        filters = withRuntimeFilter(filters, rel.runtimeFilterKeys());
         Function<Row, Row> prj = projects == null ? null : expressionFactory.project(projects, rowType);
 
         ColocationGroup group = ctx.group(rel.sourceId());
 
-        Iterable<Row> rowsIter = tbl.scan(ctx, group, filters, prj, requiredColunms);
+        List<ColocationGroup> ranges = partitionRanges(tbl, group, condition, projects);
+
+        if (ranges == null) {
+            Iterable<Row> rowsIter = tbl.scan(ctx, group, filters, prj, requiredColunms);
+
+            return withRowCountReport(new ScanNode<>(ctx, rowType, rowsIter), tbl, condition, rel.sourceId(),
+                rel.runtimeFilterKeys());
+        }
+
+        List<Iterable<Row>> srcs = new ArrayList<>(ranges.size());
+
+        for (ColocationGroup range : ranges) {
+            if (!srcs.isEmpty()) {
+                // Ranges are read in different threads, so each one gets its own filter and projection instances.
+                filters = condition == null ? null : expressionFactory.predicate(condition, rowType);
+                filters = withRuntimeFilter(filters, rel.runtimeFilterKeys());
+                prj = projects == null ? null : expressionFactory.project(projects, rowType);
+            }
+
+            srcs.add(tbl.scan(ctx, range, filters, prj, requiredColunms));
+        }
+
+        ParallelScanNode<Row> node = new ParallelScanNode<>(ctx, rowType, srcs);
 
-        return new ScanNode<>(ctx, rowType, rowsIter);
+        LongConsumer rowsCntConsumer = rowCountReport(tbl, condition, rel.sourceId(), rel.runtimeFilterKeys());
+
+        if (rowsCntConsumer != null)
+            node.rowsCountConsumer(rowsCntConsumer);
+
+        return node;
+    }
+
+    /**
+     * Splits local partitions of a scanned table into ranges, which are read in parallel.
+     *
+     * @param tbl Scanned table.
+     * @param grp Colocation group of the scan.
+     * @param condition Scan condition.
+     * @param projects Scan projects.
+     * @return Colocation groups of the partition ranges or {@code null} if the table is read at once.
+     */
+    private @Nullable List<ColocationGroup> partitionRanges(
+        IgniteTable tbl,
+        ColocationGroup grp,
+        @Nullable RexNode condition,
+        @Nullable List<RexNode> projects
+    ) {
+        if (scanParallelism < 2 || !(tbl instanceof IgniteCacheTable)
+            || tbl.distribution().getType() != HASH_DISTRIBUTED || !grp.nodeIds().contains(ctx.localNodeId()))
+            return null;
+
+        // Correlated scans are rewound for each correlate value, they are too short to be split.
+        if ((condition != null && RexUtils.hasCorrelation(condition))
+            || (projects != null && RexUtils.hasCorrelation(projects)))
+            return null;
+
+        int[] parts = grp.partitions(ctx.localNodeId());
+
+        int rangesCnt = Math.min(scanParallelism, parts.length);
+
+        if (rangesCnt < 2)
+            return null;
+
+        List<ColocationGroup> ranges = new ArrayList<>(rangesCnt);
+
+        for (int i = 0; i < rangesCnt; i++) {
+            int from = parts.length * i / rangesCnt;
+            int to = parts.length * (i + 1) / rangesCnt;
+
+            ranges.add(grp.withPartitions(ctx.localNodeId(), Arrays.copyOfRange(parts, from, to)));
+        }
+
+        return ranges;
     }
 
     /** {@inheritDoc} */
@@ -754,6 +888,32 @@ public class LogicalRelImplementor<Row> implements IgniteRelVisitor<Node<Row>> {
         return node;
     }
 
+    /** {@inheritDoc} */
+    @Override public Node<Row> visit(IgniteWindow rel) {
+        Window.Group grp = rel.group();
+
+        RelDataType rowType = rel.getRowType();
+        RelDataType inputType = rel.getInput().getRowType();
+
+        RowFactory<Row> rowFactory = ctx.rowHandler().factory(ctx.getTypeFactory(), rowType);
+
+        WindowNode<Row> node = new WindowNode<>(
+            ctx,
+            rowType,
+            expressionFactory.comparator(TraitUtils.createCollation(grp.keys.asList())),
+            expressionFactory.comparator(grp.orderKeys),
+            WindowFrame.of(grp),
+            WindowFunctions.create(ctx, grp, inputType),
+            rowFactory
+        );
+
+        Node<Row> input = visit(rel.getInput());
+
+        node.register(input);
+
+        return node;
+    }
+
     /** {@inheritDoc} */
     @Override public Node<Row> visit(IgniteMapSortAggregate rel) {
         AggregateType type = AggregateType.MAP;
@@ -840,6 +1000,109 @@ public class LogicalRelImplementor<Row> implements IgniteRelVisitor<Node<Row>> {
         throw new AssertionError();
     }
 
+    /**
+     * @param left Hash join probe side.
+     * @return Consumer sending the join build side filter to the nodes producing the probe side rows or {@code null}
+     * if the probe side is not received from a remote fragment.
+     */
+    private @Nullable Consumer<long[]> runtimeFilterSender(RelNode left) {
+        while (left instanceof IgniteProject || left instanceof IgniteFilter)
+            left = left.getInput(0);
+
+        if (!(left instanceof IgniteReceiver))
+            return null;
+
+        IgniteReceiver receiver = (IgniteReceiver)left;
+
+        List<UUID> nodes = ctx.remotes(receiver.exchangeId());
+
+        return bits -> {
+            for (UUID nodeId : nodes) {
+                try {
+                    exchangeSvc.sendRuntimeFilter(nodeId, ctx.queryId(), receiver.sourceFragmentId(),
+                        receiver.exchangeId(), bits);
+                }
+                catch (IgniteCheckedException e) {
+                    // The filter is an optimization only, rows are joined correctly without it.
+                    U.warn(ctx.logger(), "Failed to send runtime filter [nodeId=" + nodeId + ']', e);
+                }
+            }
+        };
+    }
+
+    /**
+     * @param filters Scan filters.
+     * @param keys Columns filtered by a hash join runtime filter.
+     * @return Scan filters combined with the runtime filter.
+     */
+    private @Nullable Predicate<Row> withRuntimeFilter(@Nullable Predicate<Row> filters, @Nullable ImmutableIntList keys) {
+        if (keys == null)
+            return filters;
+
+        RuntimeFilter runtimeFilter = ctx.runtimeFilter();
+        RowHandler<Row> hnd = ctx.rowHandler();
+
+        Predicate<Row> pred = row -> runtimeFilter.test(hnd, row, keys);
+
+        return filters == null ? pred : filters.and(pred);
+    }
+
+    /**
+     * Makes the scan report the count of produced rows to the query initiator, which compares it with the planner
+     * estimation.
+     *
+     * @param node Scan node.
+     * @param tbl Scanned table.
+     * @param condition Scan condition.
+     * @param sourceId Scan source ID.
+     * @param runtimeFilterKeys Columns filtered by a hash join runtime filter.
+     * @return Scan node.
+     */
+    private ScanNode<Row> withRowCountReport(
+        ScanNode<Row> node,
+        IgniteTable tbl,
+        @Nullable RexNode condition,
+        long sourceId,
+        @Nullable ImmutableIntList runtimeFilterKeys
+    ) {
+        LongConsumer rowsCntConsumer = rowCountReport(tbl, condition, sourceId, runtimeFilterKeys);
+
+        if (rowsCntConsumer != null)
+            node.rowsCountConsumer(rowsCntConsumer);
+
+        return node;
+    }
+
+    /**
+     * @param tbl Scanned table.
+     * @param condition Scan condition.
+     * @param sourceId Scan source ID.
+     * @param runtimeFilterKeys Columns filtered by a hash join runtime filter.
+     * @return Consumer, which sends the count of rows produced by a scan to the query initiator, or {@code null}
+     * if the count shouldn't be reported.
+     */
+    private @Nullable LongConsumer rowCountReport(
+        IgniteTable tbl,
+        @Nullable RexNode condition,
+        long sourceId,
+        @Nullable ImmutableIntList runtimeFilterKeys
+    ) {
+        // Runtime and correlated filters make the count differ from the count of rows matching the condition.
+        if (!(tbl instanceof IgniteCacheTable) || runtimeFilterKeys != null
+            || (condition != null && RexUtils.hasCorrelation(condition)))
+            return null;
+
+        return rowsCnt -> {
+            try {
+                exchangeSvc.sendRowCount(ctx.originatingNodeId(), ctx.queryId(), sourceId, rowsCnt);
+            }
+            catch (IgniteCheckedException e) {
+                // The count is used for the next plans only, the query result doesn't depend on it.
+                U.warn(ctx.logger(), "Failed to send scan row count [nodeId=" + ctx.originatingNodeId() + ']', e);
+            }
+        };
+    }
+
     /** */
     private Node<Row> visit(RelNode rel) {
         return visit((IgniteRel)rel);
@@ -32,4 +32,15 @@ public interface QueryTaskExecutor extends Service {
      * @param qryTask Query task.
      */
     void execute(UUID qryId, long fragmentId, Runnable qryTask);
+
+    /**
+     * Executes a query task in a thread other than the one responsible for particular query fragment, so the task
+     * runs in parallel with the fragment.
+     *
+     * @param qryId Query ID.
+     * @param fragmentId Fragment ID.
+     * @param taskIdx Index of the parallel task, tasks with different indexes run in different threads if possible.
+     * @param qryTask Query task.
+     */
+    void execute(UUID qryId, long fragmentId, int taskIdx, Runnable qryTask);
 }
@@ -58,24 +58,15 @@ public class QueryTaskExecutorImpl extends AbstractService implements QueryTaskE
 
     /** {@inheritDoc} */
     @Override public void execute(UUID qryId, long fragmentId, Runnable qryTask) {
-        stripedThreadPoolExecutor.execute(
-            () -> {
-                try {
-                    qryTask.run();
-                }
-                catch (Throwable e) {
-                    U.warn(log, "Uncaught exception", e);
-
-                    /*
-                     * No exceptions are rethrown here to preserve the current thread from being destroyed,
-                     * because other queries may be pinned to the current thread id.
-                     * However, unrecoverable errors must be processed by FailureHandler.
-                     */
-                    uncaughtException(Thread.currentThread(), e);
-                }
-            },
-            hash(qryId, fragmentId)
-        );
+        stripedThreadPoolExecutor.execute(wrap(qryTask), hash(qryId, fragmentId));
+    }
+
+    /** {@inheritDoc} */
+    @Override public void execute(UUID qryId, long fragmentId, int taskIdx, Runnable qryTask) {
+        // Parallel tasks take the stripes following the one the fragment is pinned to.
+        int idx = (int)((hash(qryId, fragmentId) + 1L + taskIdx) % Integer.MAX_VALUE);
+
+        stripedThreadPoolExecutor.execute(wrap(qryTask), idx);
     }
 
     /** {@inheritDoc} */
@@ -105,6 +96,25 @@ public class QueryTaskExecutorImpl extends AbstractService implements QueryTaskE
             eHnd.uncaughtException(t, e);
     }
 
+    /** */
+    private Runnable wrap(Runnable qryTask) {
+        return () -> {
+            try {
+                qryTask.run();
+            }
+            catch (Throwable e) {
+                U.warn(log, "Uncaught exception", e);
+
+                /*
+                 * No exceptions are rethrown here to preserve the current thread from being destroyed,
+                 * because other queries may be pinned to the current thread id.
+                 * However, unrecoverable errors must be processed by FailureHandler.
+                 */
+                uncaughtException(Thread.currentThread(), e);
+            }
+        };
+    }
+
     /** */
     private static int hash(UUID qryId, long fragmentId) {
         // inlined Objects.hash(...)
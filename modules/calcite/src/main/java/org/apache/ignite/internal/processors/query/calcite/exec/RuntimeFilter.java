@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.apache.calcite.util.ImmutableIntList;
+import org.apache.ignite.internal.processors.query.calcite.exec.exp.agg.GroupKey;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Runtime filter of the probe side rows of a hash join. Every instance of the join builds a bloom filter over
+ * the keys of its hash table and sends it to the nodes executing the probe side fragment, so rows which have
+ * no pair on the build side are dropped by the scan before they are sent over the network.
+ * <p>
+ * All rows pass until filters from all the join instances are received. After that a row passes if any of
+ * the filters may contain its key, rows with NULL keys never pass.
+ */
+public class RuntimeFilter {
+    /** Maximum number of build side keys, a filter is not built for bigger hash tables. */
+    public static final int MAX_KEYS = 1 << 18;
+
+    /** */
+    private static final int BITS_PER_KEY = 10;
+
+    /** */
+    private static final int HASHES = 4;
+
+    /** Number of the join instances. */
+    private final int expected;
+
+    /** Nodes which filters are already received. */
+    private final Set<UUID> received = new HashSet<>();
+
+    /** */
+    private final List<long[]> filters = new ArrayList<>();
+
+    /** Some of the join instances have too many keys to build a filter. */
+    private boolean passAll;
+
+    /** Received filters, {@code null} until all of them are received or if any of them lets all rows pass. */
+    private volatile long[][] active;
+
+    /**
+     * @param expected Number of the join instances sending filters.
+     */
+    public RuntimeFilter(int expected) {
+        this.expected = expected;
+    }
+
+    /**
+     * @param nodeId Node which the filter was built on.
+     * @param bits Bloom filter bits or {@code null} if the filter lets all rows pass.
+     */
+    public synchronized void onFilterReceived(UUID nodeId, @Nullable long[] bits) {
+        if (!received.add(nodeId))
+            return;
+
+        if (bits == null)
+            passAll = true;
+        else
+            filters.add(bits);
+
+        if (!passAll && received.size() == expected)
+            active = filters.toArray(new long[filters.size()][]);
+    }
+
+    /**
+     * @return {@code True} if the row with given key fields may have a pair on the build side.
+     */
+    public <Row> boolean test(RowHandler<Row> hnd, Row row, ImmutableIntList keys) {
+        long[][] active0 = active;
+
+        if (active0 == null)
+            return true;
+
+        long hash = 0;
+
+        for (int i = 0; i < keys.size(); i++) {
+            Object val = hnd.get(keys.getInt(i), row);
+
+            if (val == null)
+                return false;
+
+            hash = 31 * hash + val.hashCode();
+        }
+
+        hash = mix(hash);
+
+        for (long[] bits : active0) {
+            if (mightContain(bits, hash))
+                return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Builds a bloom filter over the join keys.
+     *
+     * @param keys Build side keys.
+     * @return Filter bits or {@code null} if there are too many keys.
+     */
+    public static @Nullable long[] build(Collection<GroupKey> keys) {
+        if (keys.size() > MAX_KEYS)
+            return null;
+
+        int bitsCnt = Math.max(Long.SIZE, Integer.highestOneBit(Math.max(keys.size(), 1) * BITS_PER_KEY - 1) << 1);
+
+        long[] bits = new long[bitsCnt / Long.SIZE];
+
+        for (GroupKey key : keys) {
+            long hash = 0;
+
+            for (Object val : key.fields())
+                hash = 31 * hash + val.hashCode();
+
+            hash = mix(hash);
+
+            int h1 = (int)hash;
+            int h2 = (int)(hash >>> 32) | 1;
+
+            for (int i = 0; i < HASHES; i++) {
+                int idx = (h1 + i * h2) & (bitsCnt - 1);
+
+                bits[idx >>> 6] |= 1L << idx;
+            }
+        }
+
+        return bits;
+    }
+
+    /** */
+    private static boolean mightContain(long[] bits, long hash) {
+        int mask = bits.length * Long.SIZE - 1;
+
+        int h1 = (int)hash;
+        int h2 = (int)(hash >>> 32) | 1;
+
+        for (int i = 0; i < HASHES; i++) {
+            int idx = (h1 + i * h2) & mask;
+
+            if ((bits[idx >>> 6] & (1L << idx)) == 0)
+                return false;
+        }
+
+        return true;
+    }
+
+    /** Murmur3 64-bit finalizer. */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+
+        return h;
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.internal.processors.query.calcite.exec.RowHandler.RowFactory;
+import org.apache.ignite.internal.util.typedef.internal.U;
+
+/**
+ * Temporary file with rows offloaded to disk. Rows are appended to the file until {@link #finishWrite()} is called.
+ * The file can be read any number of times, also while rows are still being appended.
+ */
+public class SpillFile<Row> implements AutoCloseable {
+    /** */
+    private final SpillManager mgr;
+
+    /** */
+    private final File file;
+
+    /** */
+    private final RowHandler<Row> hnd;
+
+    /** Factory to restore rows, initialized on the first written row. */
+    private RowFactory<Row> rowFactory;
+
+    /** */
+    private DataOutputStream out;
+
+    /** Opened readers. */
+    private final Set<Reader> readers = new HashSet<>();
+
+    /** Count of written rows. */
+    private int rowsCnt;
+
+    /** Count of written bytes. */
+    private long bytes;
+
+    /** Time spent to write rows, in nanoseconds. */
+    private long writeTime;
+
+    /** */
+    SpillFile(SpillManager mgr, File file, RowHandler<Row> hnd) {
+        this.mgr = mgr;
+        this.file = file;
+        this.hnd = hnd;
+    }
+
+    /**
+     * Appends row to the file.
+     *
+     * @param row Row.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void write(Row row) throws IgniteCheckedException {
+        long start = System.nanoTime();
+
+        int colCnt = hnd.columnCount(row);
+
+        if (rowFactory == null) {
+            Type[] types = new Type[colCnt];
+
+            Arrays.fill(types, Object.class);
+
+            rowFactory = hnd.factory(types);
+        }
+
+        Object[] fields = new Object[colCnt];
+
+        for (int i = 0; i < colCnt; i++)
+            fields[i] = hnd.get(i, row);
+
+        byte[] data = mgr.marshal(fields);
+
+        try {
+            if (out == null) {
+                file.getParentFile().mkdirs();
+
+                out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+
+                mgr.onFileCreated();
+            }
+
+            out.writeInt(data.length);
+            out.write(data);
+        }
+        catch (IOException e) {
+            throw new IgniteCheckedException("Failed to write to spill file: " + file, e);
+        }
+
+        rowsCnt++;
+        bytes += data.length + Integer.BYTES;
+        writeTime += System.nanoTime() - start;
+    }
+
+    /**
+     * Completes writing to the file.
+     *
+     * @throws IgniteCheckedException If failed.
+     */
+    public void finishWrite() throws IgniteCheckedException {
+        if (out == null)
+            return;
+
+        long start = System.nanoTime();
+
+        try {
+            out.close();
+        }
+        catch (IOException e) {
+            throw new IgniteCheckedException("Failed to write to spill file: " + file, e);
+        }
+        finally {
+            out = null;
+        }
+
+        mgr.onSpilled(bytes, writeTime + System.nanoTime() - start);
+    }
+
+    /** @return Count of written rows. */
+    public int size() {
+        return rowsCnt;
+    }
+
+    /**
+     * Opens new reader of the file.
+     *
+     * @return Reader.
+     */
+    public Reader reader() {
+        Reader reader = new Reader();
+
+        readers.add(reader);
+
+        return reader;
+    }
+
+    /** Closes all readers and removes the file. */
+    @Override public void close() {
+        for (Reader reader : new ArrayList<>(readers))
+            reader.close();
+
+        U.closeQuiet(out);
+
+        out = null;
+
+        U.delete(file);
+    }
+
+    /**
+     * Spill file reader.
+     */
+    public class Reader implements Iterator<Row>, AutoCloseable {
+        /** */
+        private DataInputStream in;
+
+        /** Count of read rows. */
+        private int readCnt;
+
+        /** {@inheritDoc} */
+        @Override public boolean hasNext() {
+            return readCnt < rowsCnt;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Row next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            try {
+                if (out != null) // Make rows appended so far visible to the reader.
+                    out.flush();
+
+                if (in == null)
+                    in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+
+                byte[] data = new byte[in.readInt()];
+
+                in.readFully(data);
+
+                Object[] fields = mgr.unmarshal(data);
+
+                readCnt++;
+
+                return rowFactory.create(fields);
+            }
+            catch (IOException | IgniteCheckedException e) {
+                throw new IgniteException("Failed to read from spill file: " + file, e);
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override public void close() {
+            U.closeQuiet(in);
+
+            in = null;
+
+            readers.remove(this);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
+import org.apache.ignite.internal.processors.query.calcite.message.MarshallingContext;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.marshaller.Marshaller;
+
+/**
+ * Manages temporary files used by execution nodes to offload rows to disk when the memory quota is exceeded.
+ */
+public class SpillManager implements MarshallingContext {
+    /** Name of the directory with spill files inside the work directory. */
+    public static final String SPILL_DIR = "calcite_spill";
+
+    /** Spill files directory. */
+    private final File dir;
+
+    /** Marshaller for spilled rows. */
+    private final Marshaller marsh;
+
+    /** */
+    private final ClassLoader clsLdr;
+
+    /** */
+    private final IgniteLogger log;
+
+    /** */
+    private final AtomicLong fileIdGen = new AtomicLong();
+
+    /** Total size of rows written to spill files. */
+    private final LongAdderMetric spilledBytes;
+
+    /** Total count of created spill files. */
+    private final LongAdderMetric spillFiles;
+
+    /** Total time of writing rows to spill files. */
+    private final LongAdderMetric spillTime;
+
+    /**
+     * @param dir Spill files directory.
+     * @param marsh Marshaller for spilled rows.
+     * @param clsLdr Class loader.
+     * @param mreg Metric registry to register spill metrics.
+     * @param log Logger.
+     */
+    public SpillManager(File dir, Marshaller marsh, ClassLoader clsLdr, MetricRegistry mreg, IgniteLogger log) {
+        this.dir = dir;
+        this.marsh = marsh;
+        this.clsLdr = clsLdr;
+        this.log = log;
+
+        removeLeftovers();
+
+        spilledBytes = mreg.longAdderMetric("spilledBytes",
+            "Total size in bytes of rows offloaded to disk by queries executed on this node.");
+
+        spillFiles = mreg.longAdderMetric("spillFiles",
+            "Total count of temporary files created to offload rows to disk by queries executed on this node.");
+
+        spillTime = mreg.longAdderMetric("spillTime",
+            "Total time in milliseconds spent to offload rows to disk by queries executed on this node.");
+    }
+
+    /**
+     * Creates new spill file.
+     *
+     * @param ctx Execution context of the node requesting the file.
+     * @return Spill file.
+     */
+    public <Row> SpillFile<Row> createFile(ExecutionContext<Row> ctx) {
+        String name = ctx.queryId() + "-" + ctx.fragmentId() + "-" + fileIdGen.incrementAndGet() + ".spill";
+
+        return new SpillFile<>(this, new File(dir, name), ctx.rowHandler());
+    }
+
+    /** {@inheritDoc} */
+    @Override public Marshaller marshaller() {
+        return marsh;
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClassLoader classLoader() {
+        return clsLdr;
+    }
+
+    /** Updates spill metrics on creation of the spill file on disk. */
+    void onFileCreated() {
+        spillFiles.increment();
+    }
+
+    /**
+     * Updates spill metrics.
+     *
+     * @param bytes Count of bytes written.
+     * @param nanos Time spent to write, in nanoseconds.
+     */
+    void onSpilled(long bytes, long nanos) {
+        spilledBytes.add(bytes);
+        spillTime.add(TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+
+    /** Removes spill files left after the previous run of the node (e.g. if the node was crashed). */
+    private void removeLeftovers() {
+        File[] files = dir.listFiles();
+
+        if (F.isEmpty(files))
+            return;
+
+        int cnt = 0;
+
+        for (File file : files) {
+            if (U.delete(file))
+                cnt++;
+            else
+                U.warn(log, "Failed to remove spill file left after the previous run: " + file);
+        }
+
+        if (log.isInfoEnabled())
+            log.info("Removed spill files left after the previous run [dir=" + dir + ", cnt=" + cnt + ']');
+    }
+
+    /** Removes all spill files. */
+    public void stop() {
+        if (!U.delete(dir) && log.isDebugEnabled())
+            log.debug("Failed to remove spill directory: " + dir);
+    }
+}
@@ -253,7 +253,8 @@ public class TableScan<Row> implements Iterable<Row>, AutoCloseable {
                     if (part == null)
                         break;
 
-                    cur = part.dataStore().cursor(cctx.cacheId(), mvccSnapshot);
+                    cur = mvccSnapshot == null ? part.dataStore().scanCursor(cctx.cacheId(), null) :
+                        part.dataStore().cursor(cctx.cacheId(), mvccSnapshot);
                 }
 
                 if (cur.next()) {
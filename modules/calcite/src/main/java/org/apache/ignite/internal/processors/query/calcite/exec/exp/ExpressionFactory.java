@@ -72,6 +72,14 @@ public interface ExpressionFactory<Row> {
      */
     Predicate<Row> predicate(RexNode filter, RelDataType rowType);
 
+    /**
+     * Creates a Filter predicate evaluated over a batch of rows. Resulting function adds matching rows to the output.
+     * @param filter Filter expression.
+     * @param rowType Input row type.
+     * @return Batch filter function.
+     */
+    BatchFunction<Row> batchPredicate(RexNode filter, RelDataType rowType);
+
     /**
      * Creates a Filter predicate.
      * @param filter Filter expression.
@@ -89,6 +97,14 @@ public interface ExpressionFactory<Row> {
      */
     Function<Row, Row> project(List<RexNode> projects, RelDataType rowType);
 
+    /**
+     * Creates a Project function evaluated over a batch of rows. Resulting function adds projected rows to the output.
+     * @param projects Projection expressions.
+     * @param rowType Input row type.
+     * @return Batch project function.
+     */
+    BatchFunction<Row> batchProject(List<RexNode> projects, RelDataType rowType);
+
     /**
      * Creates a Values relational node rows source.
      *
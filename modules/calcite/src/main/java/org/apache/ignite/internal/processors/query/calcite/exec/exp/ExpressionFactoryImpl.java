@@ -230,6 +230,11 @@ public class ExpressionFactoryImpl<Row> implements ExpressionFactory<Row> {
         return new PredicateImpl(scalar(filter, rowType));
     }
 
+    /** {@inheritDoc} */
+    @Override public BatchFunction<Row> batchPredicate(RexNode filter, RelDataType rowType) {
+        return new BatchPredicateImpl(ImmutableList.of(filter), rowType);
+    }
+
     /** {@inheritDoc} */
     @Override public BiPredicate<Row, Row> biPredicate(RexNode filter, RelDataType rowType) {
         return new BiPredicateImpl(biScalar(filter, rowType));
@@ -240,6 +245,11 @@ public class ExpressionFactoryImpl<Row> implements ExpressionFactory<Row> {
         return new ProjectImpl(scalar(projects, rowType), ctx.rowHandler().factory(typeFactory, RexUtil.types(projects)));
     }
 
+    /** {@inheritDoc} */
+    @Override public BatchFunction<Row> batchProject(List<RexNode> projects, RelDataType rowType) {
+        return new BatchProjectImpl(projects, rowType, ctx.rowHandler().factory(typeFactory, RexUtil.types(projects)));
+    }
+
     /** {@inheritDoc} */
     @Override public Supplier<Row> rowSource(List<RexNode> values) {
         return new ValuesImpl(scalar(values, null), ctx.rowHandler().factory(typeFactory,
@@ -413,8 +423,8 @@ public class ExpressionFactoryImpl<Row> implements ExpressionFactory<Row> {
      * @return SingleScalar.
      */
     private SingleScalar scalar(List<RexNode> nodes, RelDataType type) {
-        return (SingleScalar)SCALAR_CACHE.computeIfAbsent(digest(nodes, type, false),
-            k -> compile(nodes, type, false));
+        return (SingleScalar)SCALAR_CACHE.computeIfAbsent(digest(nodes, type, false, false),
+            k -> compile(nodes, type, false, false));
     }
 
     /**
@@ -427,12 +437,26 @@ public class ExpressionFactoryImpl<Row> implements ExpressionFactory<Row> {
     private BiScalar biScalar(RexNode node, RelDataType type) {
         ImmutableList<RexNode> nodes = ImmutableList.of(node);
 
-        return (BiScalar)SCALAR_CACHE.computeIfAbsent(digest(nodes, type, true),
-            k -> compile(nodes, type, true));
+        return (BiScalar)SCALAR_CACHE.computeIfAbsent(digest(nodes, type, true, false),
+            k -> compile(nodes, type, true, false));
+    }
+
+    /**
+     * Creates {@link BatchScalar}, a code-generated expressions evaluator, which processes a list of rows in a loop.
+     *
+     * @param nodes Expressions.
+     * @param type Row type.
+     * @return BatchScalar.
+     */
+    private BatchScalar batchScalar(List<RexNode> nodes, RelDataType type) {
+        return (BatchScalar)SCALAR_CACHE.computeIfAbsent(digest(nodes, type, false, true),
+            k -> compile(nodes, type, false, true));
     }
 
     /** */
-    private Scalar compile(List<RexNode> nodes, RelDataType type, boolean biInParams) {
+    private Scalar compile(List<RexNode> nodes, RelDataType type, boolean biInParams, boolean batch) {
+        assert !biInParams || !batch;
+
         if (type == null)
             type = emptyType;
 
@@ -469,6 +493,15 @@ public class ExpressionFactoryImpl<Row> implements ExpressionFactory<Row> {
         ParameterExpression out_ =
             Expressions.parameter(Object.class, "out");
 
+        ParameterExpression inBatch_ =
+            Expressions.parameter(List.class, "inBatch");
+
+        ParameterExpression outBatch_ =
+            Expressions.parameter(Object[].class, "outBatch");
+
+        ParameterExpression i_ =
+            Expressions.parameter(int.class, "i");
+
         builder.add(
             Expressions.declare(Modifier.FINAL, DataContext.ROOT, Expressions.convert_(ctx_, DataContext.class)));
 
@@ -481,8 +514,20 @@ public class ExpressionFactoryImpl<Row> implements ExpressionFactory<Row> {
 
         Function1<String, InputGetter> correlates = new CorrelatesBuilder(builder, ctx_, hnd_).build(nodes);
 
+        // Batch evaluator shares the same prologue for all the rows, only the loop body is evaluated per row.
+        BlockBuilder body = builder;
+
+        if (batch) {
+            body = new BlockBuilder(true, builder);
+
+            body.add(Expressions.declare(Modifier.FINAL, in1_,
+                Expressions.call(inBatch_, IgniteMethod.LIST_GET.method(), i_)));
+
+            body.add(Expressions.declare(Modifier.FINAL, out_, Expressions.arrayIndex(outBatch_, i_)));
+        }
+
         List<Expression> projects = RexToLixTranslator.translateProjects(program, typeFactory, conformance,
-            builder, null, ctx_, inputGetter, correlates);
+            body, null, ctx_, inputGetter, correlates);
 
         assert nodes.size() == projects.size();
 
@@ -490,30 +535,52 @@ public class ExpressionFactoryImpl<Row> implements ExpressionFactory<Row> {
             Expression val = unspecifiedValues.get(i) ? Expressions.call(ctx_,
                 IgniteMethod.CONTEXT_UNSPECIFIED_VALUE.method()) : projects.get(i);
 
-            builder.add(
+            body.add(
                 Expressions.statement(
                     Expressions.call(hnd_,
                         IgniteMethod.ROW_HANDLER_SET.method(),
                         Expressions.constant(i), out_, val)));
         }
 
-        String methodName = biInParams ? IgniteMethod.BI_SCALAR_EXECUTE.method().getName() :
-            IgniteMethod.SCALAR_EXECUTE.method().getName();
+        if (batch) {
+            Expression size_ = builder.append("size", Expressions.call(inBatch_, IgniteMethod.LIST_SIZE.method()));
 
-        ImmutableList<ParameterExpression> params = biInParams ? ImmutableList.of(ctx_, in1_, in2_, out_) :
-            ImmutableList.of(ctx_, in1_, out_);
+            builder.add(Expressions.for_(
+                Expressions.declare(0, i_, Expressions.constant(0)),
+                Expressions.lessThan(i_, size_),
+                Expressions.preIncrementAssign(i_),
+                body.toBlock()));
+        }
+
+        String methodName;
+        ImmutableList<ParameterExpression> params;
+        Class<? extends Scalar> clazz;
+
+        if (batch) {
+            methodName = IgniteMethod.BATCH_SCALAR_EXECUTE.method().getName();
+            params = ImmutableList.of(ctx_, inBatch_, outBatch_);
+            clazz = BatchScalar.class;
+        }
+        else if (biInParams) {
+            methodName = IgniteMethod.BI_SCALAR_EXECUTE.method().getName();
+            params = ImmutableList.of(ctx_, in1_, in2_, out_);
+            clazz = BiScalar.class;
+        }
+        else {
+            methodName = IgniteMethod.SCALAR_EXECUTE.method().getName();
+            params = ImmutableList.of(ctx_, in1_, out_);
+            clazz = SingleScalar.class;
+        }
 
         MethodDeclaration decl = Expressions.methodDecl(
             Modifier.PUBLIC, void.class, methodName,
             params, builder.toBlock());
 
-        Class<? extends Scalar> clazz = biInParams ? BiScalar.class : SingleScalar.class;
-
         return Commons.compile(clazz, Expressions.toString(F.asList(decl), "\n", false));
     }
 
     /** */
-    private String digest(List<RexNode> nodes, RelDataType type, boolean biParam) {
+    private String digest(List<RexNode> nodes, RelDataType type, boolean biParam, boolean batch) {
         StringBuilder b = new StringBuilder();
 
         b.append('[');
@@ -549,6 +616,9 @@ public class ExpressionFactoryImpl<Row> implements ExpressionFactory<Row> {
 
         b.append(", biParam=").append(biParam);
 
+        if (batch)
+            b.append(", batch=true");
+
         b.append(']');
 
         if (type != null)
@@ -610,6 +680,108 @@ public class ExpressionFactoryImpl<Row> implements ExpressionFactory<Row> {
         }
     }
 
+    /** Base class for batch functions, which compile the expressions on first use. */
+    private abstract class AbstractBatchFunction implements BatchFunction<Row> {
+        /** */
+        private final List<RexNode> nodes;
+
+        /** */
+        private final RelDataType rowType;
+
+        /** */
+        private BatchScalar scalar;
+
+        /**
+         * @param nodes Expressions.
+         * @param rowType Input row type.
+         */
+        private AbstractBatchFunction(List<RexNode> nodes, RelDataType rowType) {
+            this.nodes = nodes;
+            this.rowType = rowType;
+        }
+
+        /** */
+        protected BatchScalar scalar() {
+            if (scalar == null)
+                scalar = batchScalar(nodes, rowType);
+
+            return scalar;
+        }
+    }
+
+    /** */
+    private class BatchPredicateImpl extends AbstractBatchFunction {
+
+        /** */
+        private final RowHandler<Row> hnd;
+
+        /** */
+        private final RowFactory<Row> factory;
+
+        /** Reusable output rows, each holds a predicate result of the input row with the same index. */
+        private Object[] outs = new Object[0];
+
+        /**
+         * @param nodes Expressions.
+         * @param rowType Input row type.
+         */
+        private BatchPredicateImpl(List<RexNode> nodes, RelDataType rowType) {
+            super(nodes, rowType);
+            hnd = ctx.rowHandler();
+            factory = hnd.factory(typeFactory, typeFactory.createJavaType(Boolean.class));
+        }
+
+        /** {@inheritDoc} */
+        @Override public void apply(List<Row> in, Collection<Row> out) {
+            int size = in.size();
+
+            if (outs.length < size) {
+                int prevLen = outs.length;
+
+                outs = Arrays.copyOf(outs, size);
+
+                for (int i = prevLen; i < size; i++)
+                    outs[i] = factory.create();
+            }
+
+            scalar().execute(ctx, in, outs);
+
+            for (int i = 0; i < size; i++) {
+                if (Boolean.TRUE == hnd.get(0, (Row)outs[i]))
+                    out.add(in.get(i));
+            }
+        }
+    }
+
+    /** */
+    private class BatchProjectImpl extends AbstractBatchFunction {
+        /** */
+        private final RowFactory<Row> factory;
+
+        /**
+         * @param nodes Expressions.
+         * @param rowType Input row type.
+         * @param factory Row factory.
+         */
+        private BatchProjectImpl(List<RexNode> nodes, RelDataType rowType, RowFactory<Row> factory) {
+            super(nodes, rowType);
+            this.factory = factory;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void apply(List<Row> in, Collection<Row> out) {
+            Object[] res = new Object[in.size()];
+
+            for (int i = 0; i < res.length; i++)
+                res[i] = factory.create();
+
+            scalar().execute(ctx, in, res);
+
+            for (Object row : res)
+                out.add((Row)row);
+        }
+    }
+
     /** */
     private class ProjectImpl implements Function<Row, Row> {
         /** */
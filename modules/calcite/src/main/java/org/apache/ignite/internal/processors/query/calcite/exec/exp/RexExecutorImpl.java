@@ -18,13 +18,16 @@ package org.apache.ignite.internal.processors.query.calcite.exec.exp;
 
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import com.google.common.collect.ImmutableList;
 import org.apache.calcite.DataContext;
 import org.apache.calcite.adapter.java.JavaTypeFactory;
 import org.apache.calcite.config.CalciteSystemProperty;
 import org.apache.calcite.jdbc.JavaTypeFactoryImpl;
+import org.apache.calcite.linq4j.function.Function1;
 import org.apache.calcite.linq4j.tree.BlockBuilder;
 import org.apache.calcite.linq4j.tree.Expression;
 import org.apache.calcite.linq4j.tree.Expressions;
@@ -45,6 +48,7 @@ import org.apache.calcite.sql.validate.SqlConformanceEnum;
 import org.apache.calcite.util.BuiltInMethod;
 import org.apache.calcite.util.Util;
 import org.apache.ignite.internal.processors.query.calcite.type.IgniteCustomType;
+import org.apache.ignite.internal.util.GridBoundedConcurrentLinkedHashMap;
 
 /**
  * Evaluates a {@link RexNode} expression.
@@ -55,6 +59,10 @@ import org.apache.ignite.internal.processors.query.calcite.type.IgniteCustomType
  * the executor instance is {@link RexExecutorImpl}.
 */
 public class RexExecutorImpl implements RexExecutor {
+    /** Compiled constant reduction functions, by generated code. */
+    private static final Map<String, Function1<DataContext, Object[]>> FUNCTION_CACHE =
+        new GridBoundedConcurrentLinkedHashMap<>(1024);
+
     /** Data context. */
     private final DataContext dataCtx;
 
@@ -145,9 +153,27 @@ public class RexExecutorImpl implements RexExecutor {
                 throw new UnsupportedOperationException();
             });
 
-        final RexExecutable executable = new RexExecutable(code, constExps);
-        executable.setDataContext(dataCtx);
-        executable.reduce(rexBuilder, constExps, reducedValues);
+        // Generated code takes the data context as an argument, so compiled classes are shared between queries.
+        Function1<DataContext, Object[]> func = FUNCTION_CACHE.computeIfAbsent(code,
+            k -> new RexExecutable(k, "constant reduction").getFunction());
+
+        List<RexNode> reduced = new ArrayList<>(constExps.size());
+
+        try {
+            Object[] values = func.apply(dataCtx);
+
+            assert values.length == constExps.size();
+
+            for (int i = 0; i < values.length; i++)
+                reduced.add(rexBuilder.makeLiteral(values[i], constExps.get(i).getType(), true));
+        }
+        catch (RuntimeException e) {
+            // One or more of the expressions failed, don't reduce any of the expressions.
+            reduced.clear();
+            reduced.addAll(constExps);
+        }
+
+        reducedValues.addAll(reduced);
     }
 
     /**
@@ -31,6 +31,7 @@ import java.util.function.Supplier;
 import org.apache.calcite.avatica.util.ByteString;
 import org.apache.calcite.rel.core.AggregateCall;
 import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.sql.SqlKind;
 import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
 import org.apache.ignite.internal.processors.query.calcite.exec.RowHandler;
 import org.apache.ignite.internal.processors.query.calcite.type.IgniteTypeFactory;
@@ -52,6 +53,10 @@ import static org.apache.calcite.sql.type.SqlTypeName.VARCHAR;
 public class Accumulators {
     /** */
     public static <Row> Supplier<Accumulator<Row>> accumulatorFactory(AggregateCall call, ExecutionContext<Row> ctx) {
+        // Approximate distinct count keeps a fixed size sketch instead of the set of distinct values.
+        if (call.isDistinct() && call.isApproximate() && call.getAggregation().getKind() == SqlKind.COUNT)
+            return () -> new ApproxCountDistinct<>(call, ctx.rowHandler());
+
         Supplier<Accumulator<Row>> supplier = accumulatorFunctionFactory(call, ctx);
 
         if (call.isDistinct())
@@ -90,6 +95,8 @@ public class Accumulators {
             case "ARRAY_AGG":
             case "ARRAY_CONCAT_AGG":
                 return listAggregateSupplier(call, ctx);
+            case "APPROX_PERCENTILE":
+                return () -> new ApproxPercentile<>(call, hnd);
             default:
                 throw new AssertionError(call.getAggregation().getName());
         }
@@ -1279,6 +1286,99 @@ public class Accumulators {
         }
     }
 
+    /** */
+    private static class ApproxCountDistinct<Row> extends AbstractAccumulator<Row> {
+        /** */
+        private final HyperLogLog hll = new HyperLogLog();
+
+        /** */
+        ApproxCountDistinct(AggregateCall aggCall, RowHandler<Row> hnd) {
+            super(aggCall, hnd);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void add(Row row) {
+            Object val = get(0, row);
+
+            if (val != null)
+                hll.add(val);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void apply(Accumulator<Row> other) {
+            ApproxCountDistinct<Row> other0 = (ApproxCountDistinct<Row>)other;
+
+            hll.merge(other0.hll);
+        }
+
+        /** {@inheritDoc} */
+        @Override public Object end() {
+            return hll.estimate();
+        }
+
+        /** {@inheritDoc} */
+        @Override public List<RelDataType> argumentTypes(IgniteTypeFactory typeFactory) {
+            return F.asList(typeFactory.createTypeWithNullability(typeFactory.createSqlType(ANY), true));
+        }
+
+        /** {@inheritDoc} */
+        @Override public RelDataType returnType(IgniteTypeFactory typeFactory) {
+            return typeFactory.createSqlType(BIGINT);
+        }
+    }
+
+    /** */
+    private static class ApproxPercentile<Row> extends AbstractAccumulator<Row> {
+        /** */
+        private final TDigest digest = new TDigest();
+
+        /** Requested percentile, taken from the first row since it's a constant. */
+        private Double fraction;
+
+        /** */
+        ApproxPercentile(AggregateCall aggCall, RowHandler<Row> hnd) {
+            super(aggCall, hnd);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void add(Row row) {
+            Double val = get(0, row);
+
+            if (fraction == null)
+                fraction = get(1, row);
+
+            if (val != null)
+                digest.add(val);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void apply(Accumulator<Row> other) {
+            ApproxPercentile<Row> other0 = (ApproxPercentile<Row>)other;
+
+            if (fraction == null)
+                fraction = other0.fraction;
+
+            digest.merge(other0.digest);
+        }
+
+        /** {@inheritDoc} */
+        @Override public Object end() {
+            return fraction == null ? null : digest.quantile(fraction);
+        }
+
+        /** {@inheritDoc} */
+        @Override public List<RelDataType> argumentTypes(IgniteTypeFactory typeFactory) {
+            RelDataType type = typeFactory.createTypeWithNullability(typeFactory.createSqlType(DOUBLE), true);
+
+            return F.asList(type, type);
+        }
+
+        /** {@inheritDoc} */
+        @Override public RelDataType returnType(IgniteTypeFactory typeFactory) {
+            return typeFactory.createTypeWithNullability(typeFactory.createSqlType(DOUBLE), true);
+        }
+    }
+
     /** */
     private static class DistinctAccumulator<Row> extends AbstractAccumulator<Row> {
         /** */
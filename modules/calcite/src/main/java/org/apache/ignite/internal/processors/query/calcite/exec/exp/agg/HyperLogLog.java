@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec.exp.agg;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.UUID;
+import org.apache.calcite.avatica.util.ByteString;
+import org.apache.ignite.internal.binary.BinaryObjectImpl;
+
+/**
+ * HyperLogLog cardinality estimator. The state is a fixed array of {@code 2^p} registers, so sketches built
+ * on different nodes are merged by taking the register-wise maximum. The standard error is {@code 1.04 / sqrt(2^p)}.
+ */
+public class HyperLogLog implements Serializable {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Default precision, gives 4096 registers and about 1.6% standard error. */
+    public static final int DFLT_PRECISION = 12;
+
+    /** FNV-1a offset basis. */
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+    /** FNV-1a prime. */
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /** */
+    private final int p;
+
+    /** */
+    private final byte[] registers;
+
+    /** */
+    public HyperLogLog() {
+        this(DFLT_PRECISION);
+    }
+
+    /**
+     * @param p Precision, the number of hash bits used to choose a register.
+     */
+    public HyperLogLog(int p) {
+        assert p >= 4 && p <= 18 : p;
+
+        this.p = p;
+
+        registers = new byte[1 << p];
+    }
+
+    /**
+     * Adds a non-null value to the sketch.
+     */
+    public void add(Object val) {
+        long hash = hash(val);
+
+        int idx = (int)(hash >>> (Long.SIZE - p));
+
+        // Position of the leftmost 1-bit in the remaining bits, the sentinel bit bounds the result.
+        byte rank = (byte)(Long.numberOfLeadingZeros((hash << p) | (1L << (p - 1))) + 1);
+
+        if (registers[idx] < rank)
+            registers[idx] = rank;
+    }
+
+    /**
+     * Merges other sketch of the same precision into this one.
+     */
+    public void merge(HyperLogLog other) {
+        assert p == other.p : "p=" + p + ", other.p=" + other.p;
+
+        for (int i = 0; i < registers.length; i++) {
+            if (registers[i] < other.registers[i])
+                registers[i] = other.registers[i];
+        }
+    }
+
+    /**
+     * @return Estimated number of distinct values.
+     */
+    public long estimate() {
+        int m = registers.length;
+
+        double sum = 0;
+        int zeros = 0;
+
+        for (byte r : registers) {
+            sum += 1d / (1L << r);
+
+            if (r == 0)
+                zeros++;
+        }
+
+        double alpha = 0.7213 / (1 + 1.079 / m);
+        double est = alpha * m * m / sum;
+
+        // Small range correction: linear counting is more accurate while there are empty registers.
+        if (est <= 2.5 * m && zeros > 0)
+            est = m * Math.log((double)m / zeros);
+
+        return Math.round(est);
+    }
+
+    /** */
+    private static long hash(Object val) {
+        long h;
+
+        if (val instanceof Long || val instanceof Integer || val instanceof Short || val instanceof Byte)
+            h = ((Number)val).longValue();
+        else if (val instanceof Double || val instanceof Float)
+            h = Double.doubleToLongBits(((Number)val).doubleValue());
+        else if (val instanceof BigDecimal) {
+            BigDecimal dec = ((BigDecimal)val).stripTrailingZeros();
+
+            // Scale has fixed length, so different values never give the same sequence of bytes.
+            h = fnv(fnv(FNV_OFFSET, dec.scale()), dec.unscaledValue().toByteArray());
+        }
+        else if (val instanceof CharSequence) {
+            // 64-bit FNV-1a, String.hashCode() has too few bits for large cardinalities.
+            CharSequence s = (CharSequence)val;
+
+            h = FNV_OFFSET;
+
+            for (int i = 0; i < s.length(); i++) {
+                h ^= s.charAt(i);
+                h *= FNV_PRIME;
+            }
+        }
+        else if (val instanceof ByteString)
+            h = fnv(FNV_OFFSET, ((ByteString)val).getBytes());
+        else if (val instanceof byte[])
+            h = fnv(FNV_OFFSET, (byte[])val);
+        else if (val instanceof BinaryObjectImpl) {
+            BinaryObjectImpl bo = (BinaryObjectImpl)val;
+
+            h = fnv(FNV_OFFSET, bo.array(), bo.start(), bo.start() + bo.length());
+        }
+        else if (val instanceof java.util.Date)
+            h = ((java.util.Date)val).getTime();
+        else if (val instanceof UUID)
+            h = fmix64(((UUID)val).getMostSignificantBits()) ^ ((UUID)val).getLeastSignificantBits();
+        else if (val instanceof Boolean)
+            h = (Boolean)val ? 1 : 0;
+        else {
+            // Spread 32 bits of the hash code over the whole word, the finalizer below mixes them once more.
+            h = fmix64(val.hashCode());
+        }
+
+        // Golden ratio offset keeps zero away from the fixed point of the finalizer.
+        return fmix64(h + 0x9e3779b97f4a7c15L);
+    }
+
+    /** 64-bit FNV-1a. */
+    private static long fnv(long h, byte[] bytes) {
+        return fnv(h, bytes, 0, bytes.length);
+    }
+
+    /** 64-bit FNV-1a of the bytes from {@code from} inclusive to {@code to} exclusive. */
+    private static long fnv(long h, byte[] bytes, int from, int to) {
+        for (int i = from; i < to; i++) {
+            h ^= bytes[i] & 0xff;
+            h *= FNV_PRIME;
+        }
+
+        return h;
+    }
+
+    /** 64-bit FNV-1a of the bytes of the value. */
+    private static long fnv(long h, int val) {
+        for (int i = 0; i < Integer.SIZE; i += Byte.SIZE) {
+            h ^= (val >>> i) & 0xff;
+            h *= FNV_PRIME;
+        }
+
+        return h;
+    }
+
+    /** Murmur3 64-bit finalizer. */
+    private static long fmix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+
+        return h;
+    }
+}
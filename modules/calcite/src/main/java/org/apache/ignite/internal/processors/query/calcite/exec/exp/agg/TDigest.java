@@ -0,0 +1,307 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec.exp.agg;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Merging t-digest quantile estimator. Values are collected into centroids which are small near the tails and
+ * large near the median, so the digest size depends on the compression factor only, and digests built on different
+ * nodes are merged by merging their centroids.
+ */
+public class TDigest implements Serializable {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Default compression, keeps a few hundred centroids at most. */
+    public static final double DFLT_COMPRESSION = 100;
+
+    /** */
+    private final double compression;
+
+    /** Centroid means, sorted. */
+    private double[] means = new double[0];
+
+    /** Centroid weights. */
+    private double[] weights = new double[0];
+
+    /** Values that are not merged into centroids yet. */
+    private transient double[] bufMeans;
+
+    /** */
+    private transient double[] bufWeights;
+
+    /** */
+    private int bufCnt;
+
+    /** */
+    private double totalWeight;
+
+    /** */
+    private double min = Double.POSITIVE_INFINITY;
+
+    /** */
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /** */
+    public TDigest() {
+        this(DFLT_COMPRESSION);
+    }
+
+    /**
+     * @param compression Compression factor, higher values give better accuracy and bigger digests.
+     */
+    public TDigest(double compression) {
+        this.compression = compression;
+    }
+
+    /** */
+    public void add(double val) {
+        add(val, 1);
+    }
+
+    /**
+     * Merges other digest into this one.
+     */
+    public void merge(TDigest other) {
+        other.compress();
+
+        for (int i = 0; i < other.means.length; i++)
+            add(other.means[i], other.weights[i]);
+
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * @param q Quantile, from 0 to 1.
+     * @return Estimated value of the quantile or {@code null} if the digest is empty.
+     */
+    public Double quantile(double q) {
+        assert q >= 0 && q <= 1 : q;
+
+        compress();
+
+        if (totalWeight == 0)
+            return null;
+
+        int n = means.length;
+
+        if (n == 1)
+            return means[0];
+
+        double idx = q * totalWeight;
+
+        // Values between the minimum and the first centroid center.
+        if (idx < weights[0] / 2)
+            return min + (means[0] - min) * idx / (weights[0] / 2);
+
+        double center = weights[0] / 2;
+
+        for (int i = 0; i < n - 1; i++) {
+            double nextCenter = center + (weights[i] + weights[i + 1]) / 2;
+
+            if (idx < nextCenter)
+                return means[i] + (means[i + 1] - means[i]) * (idx - center) / (nextCenter - center);
+
+            center = nextCenter;
+        }
+
+        // Values between the last centroid center and the maximum.
+        double tail = weights[n - 1] / 2;
+
+        return Math.min(max, means[n - 1] + (max - means[n - 1]) * (idx - center) / tail);
+    }
+
+    /** */
+    private void add(double val, double weight) {
+        if (bufMeans == null) {
+            int bufSize = (int)(5 * compression);
+
+            bufMeans = new double[bufSize];
+            bufWeights = new double[bufSize];
+        }
+        else if (bufCnt == bufMeans.length)
+            compress();
+
+        bufMeans[bufCnt] = val;
+        bufWeights[bufCnt] = weight;
+        bufCnt++;
+
+        totalWeight += weight;
+        min = Math.min(min, val);
+        max = Math.max(max, val);
+    }
+
+    /**
+     * Merges buffered values into centroids. Neighbour centroids are merged while the merged centroid weight fits
+     * the size limit, the limit is proportional to {@code q * (1 - q)}, so the tails are kept precise.
+     */
+    private void compress() {
+        if (bufCnt == 0)
+            return;
+
+        int cnt = means.length + bufCnt;
+
+        sort(bufMeans, bufWeights, 0, bufCnt - 1);
+
+        // Centroids are sorted already, merge them with the sorted buffer.
+        double[] allMeans = new double[cnt];
+        double[] allWeights = new double[cnt];
+
+        for (int k = 0, i = 0, j = 0; k < cnt; k++) {
+            if (j == bufCnt || (i < means.length && means[i] <= bufMeans[j])) {
+                allMeans[k] = means[i];
+                allWeights[k] = weights[i++];
+            }
+            else {
+                allMeans[k] = bufMeans[j];
+                allWeights[k] = bufWeights[j++];
+            }
+        }
+
+        double[] newMeans = new double[cnt];
+        double[] newWeights = new double[cnt];
+
+        int n = 0;
+        double weightSoFar = 0;
+
+        double curMean = allMeans[0];
+        double curWeight = allWeights[0];
+
+        for (int i = 1; i < cnt; i++) {
+            double proposed = curWeight + allWeights[i];
+
+            double q0 = weightSoFar / totalWeight;
+            double q2 = (weightSoFar + proposed) / totalWeight;
+
+            double limit = totalWeight * 4 * Math.min(q0 * (1 - q0), q2 * (1 - q2)) / compression;
+
+            if (proposed <= limit) {
+                curMean += (allMeans[i] - curMean) * allWeights[i] / proposed;
+                curWeight = proposed;
+            }
+            else {
+                newMeans[n] = curMean;
+                newWeights[n] = curWeight;
+                n++;
+
+                weightSoFar += curWeight;
+
+                curMean = allMeans[i];
+                curWeight = allWeights[i];
+            }
+        }
+
+        newMeans[n] = curMean;
+        newWeights[n] = curWeight;
+        n++;
+
+        means = Arrays.copyOf(newMeans, n);
+        weights = Arrays.copyOf(newWeights, n);
+
+        bufCnt = 0;
+    }
+
+    /**
+     * Sorts the range of the keys in place, the values are moved together with their keys.
+     *
+     * @param keys Keys.
+     * @param vals Values.
+     * @param from First index of the range, inclusive.
+     * @param to Last index of the range, inclusive.
+     */
+    private static void sort(double[] keys, double[] vals, int from, int to) {
+        while (to - from > 16) {
+            double pivot = keys[(from + to) >>> 1];
+
+            int i = from;
+            int j = to;
+
+            while (i <= j) {
+                while (keys[i] < pivot)
+                    i++;
+
+                while (keys[j] > pivot)
+                    j--;
+
+                if (i <= j) {
+                    swap(keys, i, j);
+                    swap(vals, i, j);
+
+                    i++;
+                    j--;
+                }
+            }
+
+            // Recursion goes into the smaller part, so the stack depth is logarithmic.
+            if (j - from < to - i) {
+                sort(keys, vals, from, j);
+
+                from = i;
+            }
+            else {
+                sort(keys, vals, i, to);
+
+                to = j;
+            }
+        }
+
+        for (int i = from + 1; i <= to; i++) {
+            double key = keys[i];
+            double val = vals[i];
+
+            int j = i - 1;
+
+            for (; j >= from && keys[j] > key; j--) {
+                keys[j + 1] = keys[j];
+                vals[j + 1] = vals[j];
+            }
+
+            keys[j + 1] = key;
+            vals[j + 1] = val;
+        }
+    }
+
+    /** */
+    private static void swap(double[] arr, int i, int j) {
+        double tmp = arr[i];
+
+        arr[i] = arr[j];
+        arr[j] = tmp;
+    }
+
+    /**
+     * Buffered values are merged before serialization, so only centroids are sent over the network. Both
+     * {@code writeObject} and {@code readObject} are declared, otherwise the binary marshaller ignores them.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        compress();
+
+        out.defaultWriteObject();
+    }
+
+    /** */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec.exp.window;
+
+import org.apache.calcite.rel.core.Window;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexWindowBound;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+/**
+ * Window frame. Bounds are stored as offsets relative to the current row ({@code ROWS} frame)
+ * or to the current row peers ({@code RANGE} frame).
+ */
+public final class WindowFrame {
+    /** Unbounded preceding offset. */
+    static final long UNBOUNDED_PRECEDING = Long.MIN_VALUE;
+
+    /** Unbounded following offset. */
+    static final long UNBOUNDED_FOLLOWING = Long.MAX_VALUE;
+
+    /** {@code True} for a {@code ROWS} frame, {@code false} for a {@code RANGE} frame. */
+    private final boolean rows;
+
+    /** */
+    private final long lower;
+
+    /** */
+    private final long upper;
+
+    /** */
+    private WindowFrame(boolean rows, long lower, long upper) {
+        this.rows = rows;
+        this.lower = lower;
+        this.upper = upper;
+    }
+
+    /**
+     * @param grp Window group.
+     * @return Frame of the window group.
+     */
+    public static WindowFrame of(Window.Group grp) {
+        return new WindowFrame(grp.isRows, offset(grp.lowerBound), offset(grp.upperBound));
+    }
+
+    /** */
+    private static long offset(RexWindowBound bound) {
+        if (bound.isCurrentRow())
+            return 0;
+
+        if (bound.isUnbounded())
+            return bound.isPreceding() ? UNBOUNDED_PRECEDING : UNBOUNDED_FOLLOWING;
+
+        long off = ((RexLiteral)bound.getOffset()).getValueAs(Long.class);
+
+        return bound.isPreceding() ? -off : off;
+    }
+
+    /** @return {@code True} if the frame starts at the first row of a partition. */
+    boolean unboundedPreceding() {
+        return lower == UNBOUNDED_PRECEDING;
+    }
+
+    /** @return {@code True} if the frame ends at the last row of a partition. */
+    boolean unboundedFollowing() {
+        return upper == UNBOUNDED_FOLLOWING;
+    }
+
+    /**
+     * @return Count of rows preceding the current row, which can be in the frame, {@link Integer#MAX_VALUE} if the
+     * frame is unbounded. Peers of the current row are not counted for a {@code RANGE} frame.
+     */
+    int preceding() {
+        if (lower == UNBOUNDED_PRECEDING)
+            return Integer.MAX_VALUE;
+
+        return rows ? rowsCount(-lower) : 0;
+    }
+
+    /**
+     * @return Count of rows following the current row, which can be in the frame, {@link Integer#MAX_VALUE} if the
+     * frame is unbounded. Peers of the current row are not counted for a {@code RANGE} frame.
+     */
+    int following() {
+        if (upper == UNBOUNDED_FOLLOWING)
+            return Integer.MAX_VALUE;
+
+        return rows ? rowsCount(upper) : 0;
+    }
+
+    /** @return Count of rows preceding the current row, which can be the last row of the frame. */
+    int endPreceding() {
+        return rows && upper != UNBOUNDED_FOLLOWING ? rowsCount(-upper) : 0;
+    }
+
+    /** @return {@code True} if the frame bounds depend on peers of the current row. */
+    boolean peers() {
+        return !rows && (lower != UNBOUNDED_PRECEDING || upper != UNBOUNDED_FOLLOWING);
+    }
+
+    /** */
+    private static int rowsCount(long off) {
+        return (int)Math.min(Math.max(off, 0), Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param part Partition.
+     * @param idx Row index.
+     * @return Index of the first frame row, may be greater than the last frame row index for an empty frame.
+     */
+    int start(WindowPartition<?> part, int idx) {
+        if (lower == UNBOUNDED_PRECEDING)
+            return 0;
+
+        if (!rows)
+            return part.peerStart(idx);
+
+        return (int)Math.min(Math.max(idx + lower, 0), part.size());
+    }
+
+    /**
+     * @param part Partition.
+     * @param idx Row index.
+     * @return Index of the last frame row, may be less than the first frame row index for an empty frame.
+     */
+    int end(WindowPartition<?> part, int idx) {
+        if (upper == UNBOUNDED_FOLLOWING)
+            return part.size() - 1;
+
+        if (!rows)
+            return part.peerEnd(idx);
+
+        return (int)Math.max(Math.min(idx + upper, part.size() - 1), -1);
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(WindowFrame.class, this);
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec.exp.window;
+
+/**
+ * Window function. Values are computed row by row starting from the first row of a partition, so the function can
+ * keep a state between the rows of the partition.
+ */
+public interface WindowFunction<Row> {
+    /**
+     * Computes the function value for the row. Rows required by the function (see {@link #preceding()},
+     * {@link #following()} and {@link #peers()}) are kept by the partition.
+     *
+     * @param part Partition.
+     * @param idx Row index, rows are passed in order, index {@code 0} starts the next partition.
+     * @return Function value.
+     */
+    Object evaluate(WindowPartition<Row> part, int idx);
+
+    /**
+     * @return Count of rows preceding the current row, which are required to compute the value,
+     * {@link Integer#MAX_VALUE} if all the preceding rows are required.
+     */
+    default int preceding() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * @return Count of rows following the current row, which are required to compute the value,
+     * {@link Integer#MAX_VALUE} if the value can be computed only when all rows of the partition are received.
+     */
+    default int following() {
+        return Integer.MAX_VALUE;
+    }
+
+    /** @return {@code True} if all peers of the current row are required to compute the value. */
+    default boolean peers() {
+        return false;
+    }
+}
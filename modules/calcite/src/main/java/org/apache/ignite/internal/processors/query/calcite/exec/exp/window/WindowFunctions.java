@@ -0,0 +1,589 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec.exp.window;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Primitives;
+import org.apache.calcite.rel.RelCollations;
+import org.apache.calcite.rel.core.AggregateCall;
+import org.apache.calcite.rel.core.Window;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.SqlAggFunction;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.type.SqlTypeUtil;
+import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
+import org.apache.ignite.internal.processors.query.calcite.exec.RowHandler;
+import org.apache.ignite.internal.processors.query.calcite.exec.exp.IgniteRexBuilder;
+import org.apache.ignite.internal.processors.query.calcite.exec.exp.agg.AccumulatorWrapper;
+import org.apache.ignite.internal.processors.query.calcite.exec.exp.agg.AggregateType;
+import org.apache.ignite.internal.processors.query.calcite.type.IgniteTypeFactory;
+import org.apache.ignite.internal.processors.query.calcite.util.Commons;
+
+/**
+ * Window functions factory.
+ */
+public class WindowFunctions {
+    /** Ranking and navigation functions. */
+    private static final Set<SqlKind> WINDOW_FUNCTIONS = EnumSet.of(
+        SqlKind.ROW_NUMBER,
+        SqlKind.RANK,
+        SqlKind.DENSE_RANK,
+        SqlKind.PERCENT_RANK,
+        SqlKind.CUME_DIST,
+        SqlKind.NTILE,
+        SqlKind.LAG,
+        SqlKind.LEAD,
+        SqlKind.FIRST_VALUE,
+        SqlKind.LAST_VALUE,
+        SqlKind.NTH_VALUE
+    );
+
+    /** Aggregate functions, computed over a window frame by accumulators. */
+    private static final Set<SqlKind> AGGREGATE_FUNCTIONS = EnumSet.of(
+        SqlKind.COUNT,
+        SqlKind.SUM,
+        SqlKind.SUM0,
+        SqlKind.AVG,
+        SqlKind.MIN,
+        SqlKind.MAX,
+        SqlKind.ANY_VALUE
+    );
+
+    /** */
+    private WindowFunctions() {
+        // No-op.
+    }
+
+    /**
+     * @param kind Function kind.
+     * @return {@code True} if the function can be called over a window.
+     */
+    public static boolean supported(SqlKind kind) {
+        return WINDOW_FUNCTIONS.contains(kind) || AGGREGATE_FUNCTIONS.contains(kind);
+    }
+
+    /**
+     * @param kind Function kind.
+     * @return {@code True} if the function is an aggregate function computed over the window frame.
+     */
+    public static boolean aggregate(SqlKind kind) {
+        return AGGREGATE_FUNCTIONS.contains(kind);
+    }
+
+    /**
+     * Checks whether the window aggregate call can be executed.
+     *
+     * @param call Window aggregate call with constant operands replaced by literals.
+     * @return {@code True} if the call is supported.
+     */
+    public static boolean supported(Window.RexWinAggCall call) {
+        if (call.distinct || call.ignoreNulls)
+            return false;
+
+        if (AGGREGATE_FUNCTIONS.contains(call.getKind()))
+            return call.getOperands().stream().allMatch(RexInputRef.class::isInstance);
+
+        if (WINDOW_FUNCTIONS.contains(call.getKind()))
+            return call.getOperands().stream().allMatch(o -> o instanceof RexInputRef || o instanceof RexLiteral);
+
+        return false;
+    }
+
+    /**
+     * Creates functions for all the aggregate calls of the window group.
+     *
+     * @param ctx Execution context.
+     * @param grp Window group.
+     * @param inputType Input row type.
+     * @return Window functions.
+     */
+    public static <Row> List<WindowFunction<Row>> create(
+        ExecutionContext<Row> ctx,
+        Window.Group grp,
+        RelDataType inputType
+    ) {
+        List<WindowFunction<Row>> res = new ArrayList<>(grp.aggCalls.size());
+
+        WindowFrame frame = WindowFrame.of(grp);
+
+        for (Window.RexWinAggCall call : grp.aggCalls)
+            res.add(create(ctx, call, inputType, frame));
+
+        return res;
+    }
+
+    /** */
+    private static <Row> WindowFunction<Row> create(
+        ExecutionContext<Row> ctx,
+        Window.RexWinAggCall call,
+        RelDataType inputType,
+        WindowFrame frame
+    ) {
+        assert supported(call) : call;
+
+        Function<Number, Object> conv = converter(call.getType());
+
+        switch (call.getKind()) {
+            case ROW_NUMBER:
+            case RANK:
+            case DENSE_RANK:
+            case PERCENT_RANK:
+            case CUME_DIST:
+                return new Rank<>(call.getKind(), conv);
+
+            case NTILE:
+                return new Ntile<>(ctx, arguments(ctx, call, inputType), conv);
+
+            case LAG:
+            case LEAD:
+                return new Offset<>(ctx, arguments(ctx, call, inputType), call.getOperands(),
+                    call.getKind() == SqlKind.LAG);
+
+            case FIRST_VALUE:
+            case LAST_VALUE:
+            case NTH_VALUE:
+                return new FrameValue<>(ctx, arguments(ctx, call, inputType), call.getKind(), frame);
+
+            default:
+                return new Aggregate<>(accumulatorFactory(ctx, call, inputType), frame);
+        }
+    }
+
+    /**
+     * Creates projection of the call operands. Value operands are casted to the call return type.
+     */
+    private static <Row> Function<Row, Row> arguments(
+        ExecutionContext<Row> ctx,
+        Window.RexWinAggCall call,
+        RelDataType inputType
+    ) {
+        IgniteTypeFactory typeFactory = ctx.getTypeFactory();
+        RexBuilder rexBuilder = new IgniteRexBuilder(typeFactory);
+
+        List<RexNode> args = new ArrayList<>(call.getOperands());
+
+        // Value operand of navigation functions and the default value of LAG and LEAD.
+        for (int i = 0; i < args.size(); i++) {
+            boolean val = call.getKind() != SqlKind.NTILE && (i == 0 || i == 2);
+
+            if (val && !SqlTypeUtil.equalSansNullability(typeFactory, args.get(i).getType(), call.getType()))
+                args.set(i, rexBuilder.makeCast(call.getType(), args.get(i), true));
+        }
+
+        return ctx.expressionFactory().project(args, inputType);
+    }
+
+    /** */
+    private static <Row> Supplier<List<AccumulatorWrapper<Row>>> accumulatorFactory(
+        ExecutionContext<Row> ctx,
+        Window.RexWinAggCall call,
+        RelDataType inputType
+    ) {
+        List<Integer> argList = Commons.transform(call.getOperands(), o -> ((RexInputRef)o).getIndex());
+
+        AggregateCall aggCall = AggregateCall.create((SqlAggFunction)call.getOperator(), false, false, false,
+            argList, -1, null, RelCollations.EMPTY, call.getType(), null);
+
+        return ctx.expressionFactory().accumulatorsFactory(AggregateType.SINGLE, ImmutableList.of(aggCall), inputType);
+    }
+
+    /**
+     * Creates a converter of numbers to the java type of the given SQL type.
+     */
+    private static Function<Number, Object> converter(RelDataType type) {
+        Class<?> cls = Primitives.wrap((Class<?>)Commons.typeFactory().getJavaClass(type));
+
+        if (cls == Long.class)
+            return Number::longValue;
+        else if (cls == Integer.class)
+            return Number::intValue;
+        else if (cls == Double.class)
+            return Number::doubleValue;
+        else if (cls == Float.class)
+            return Number::floatValue;
+        else if (cls == BigDecimal.class)
+            return val -> val instanceof Double ? BigDecimal.valueOf(val.doubleValue()) : BigDecimal.valueOf(val.longValue());
+        else if (cls == Short.class)
+            return Number::shortValue;
+        else if (cls == Byte.class)
+            return Number::byteValue;
+
+        return val -> val;
+    }
+
+    /** ROW_NUMBER, RANK, DENSE_RANK, PERCENT_RANK and CUME_DIST. */
+    private static class Rank<Row> implements WindowFunction<Row> {
+        /** */
+        private final SqlKind kind;
+
+        /** */
+        private final Function<Number, Object> conv;
+
+        /** Dense rank of the previous row. */
+        private long denseRank;
+
+        /** */
+        private Rank(SqlKind kind, Function<Number, Object> conv) {
+            this.kind = kind;
+            this.conv = conv;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Object evaluate(WindowPartition<Row> part, int idx) {
+            switch (kind) {
+                case ROW_NUMBER:
+                    return conv.apply(idx + 1);
+
+                case RANK:
+                    return conv.apply(part.peerStart(idx) + 1);
+
+                case DENSE_RANK:
+                    if (idx == 0)
+                        denseRank = 0;
+
+                    if (part.peerStart(idx) == idx)
+                        denseRank++;
+
+                    return conv.apply(denseRank);
+
+                case PERCENT_RANK:
+                    return conv.apply(part.size() > 1 ? (double)part.peerStart(idx) / (part.size() - 1) : 0d);
+
+                default:
+                    assert kind == SqlKind.CUME_DIST : kind;
+
+                    return conv.apply((double)(part.peerEnd(idx) + 1) / part.size());
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override public int preceding() {
+            return 0;
+        }
+
+        /** {@inheritDoc} */
+        @Override public int following() {
+            // Percent rank and cumulative distribution depend on the partition size.
+            return kind == SqlKind.PERCENT_RANK || kind == SqlKind.CUME_DIST ? Integer.MAX_VALUE : 0;
+        }
+    }
+
+    /** NTILE. */
+    private static class Ntile<Row> implements WindowFunction<Row> {
+        /** */
+        private final RowHandler<Row> hnd;
+
+        /** */
+        private final Function<Row, Row> args;
+
+        /** */
+        private final Function<Number, Object> conv;
+
+        /** Count of buckets of the current partition. */
+        private Number buckets;
+
+        /** */
+        private Ntile(ExecutionContext<Row> ctx, Function<Row, Row> args, Function<Number, Object> conv) {
+            hnd = ctx.rowHandler();
+            this.args = args;
+            this.conv = conv;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Object evaluate(WindowPartition<Row> part, int idx) {
+            if (idx == 0) {
+                buckets = (Number)hnd.get(0, args.apply(part.row(0)));
+
+                if (buckets != null && buckets.longValue() <= 0)
+                    throw new IllegalArgumentException("Argument of NTILE must be greater than zero: " + buckets);
+            }
+
+            if (buckets == null)
+                return null;
+
+            // First (size % buckets) buckets contain one row more than the rest ones.
+            long size = part.size();
+            long base = size / buckets.longValue();
+            long rem = size % buckets.longValue();
+            long bigRows = rem * (base + 1);
+
+            long bucket = idx < bigRows ? idx / (base + 1) : rem + (idx - bigRows) / base;
+
+            return conv.apply(bucket + 1);
+        }
+
+        /** {@inheritDoc} */
+        @Override public int preceding() {
+            return 0;
+        }
+    }
+
+    /** LAG and LEAD. */
+    private static class Offset<Row> implements WindowFunction<Row> {
+        /** */
+        private final RowHandler<Row> hnd;
+
+        /** */
+        private final Function<Row, Row> args;
+
+        /** */
+        private final int argsCnt;
+
+        /** */
+        private final boolean lag;
+
+        /** Count of rows preceding the current row, which are required to compute the value. */
+        private final int preceding;
+
+        /** Count of rows following the current row, which are required to compute the value. */
+        private final int following;
+
+        /** */
+        private Offset(ExecutionContext<Row> ctx, Function<Row, Row> args, List<RexNode> operands, boolean lag) {
+            hnd = ctx.rowHandler();
+            this.args = args;
+            this.lag = lag;
+
+            argsCnt = operands.size();
+
+            if (argsCnt > 1 && !(operands.get(1) instanceof RexLiteral)) {
+                // Offset is different for every row, all the partition rows are required.
+                preceding = Integer.MAX_VALUE;
+                following = Integer.MAX_VALUE;
+            }
+            else {
+                Long off = 1L;
+
+                if (argsCnt > 1)
+                    off = ((RexLiteral)operands.get(1)).getValueAs(Long.class);
+
+                long back = off == null ? 0 : lag ? off : -off;
+
+                preceding = (int)Math.min(Math.max(back, 0), Integer.MAX_VALUE);
+                following = (int)Math.min(Math.max(-back, 0), Integer.MAX_VALUE);
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override public Object evaluate(WindowPartition<Row> part, int idx) {
+            long off = 1;
+            Object dflt = null;
+
+            if (argsCnt > 1) {
+                Row cur = args.apply(part.row(idx));
+
+                Number offArg = (Number)hnd.get(1, cur);
+
+                if (offArg == null)
+                    return null;
+
+                off = offArg.longValue();
+
+                if (argsCnt > 2)
+                    dflt = hnd.get(2, cur);
+            }
+
+            long offIdx = lag ? idx - off : idx + off;
+
+            return offIdx >= 0 && offIdx < part.size() ? hnd.get(0, args.apply(part.row((int)offIdx))) : dflt;
+        }
+
+        /** {@inheritDoc} */
+        @Override public int preceding() {
+            return preceding;
+        }
+
+        /** {@inheritDoc} */
+        @Override public int following() {
+            return following;
+        }
+    }
+
+    /** FIRST_VALUE, LAST_VALUE and NTH_VALUE. */
+    private static class FrameValue<Row> implements WindowFunction<Row> {
+        /** */
+        private final RowHandler<Row> hnd;
+
+        /** */
+        private final Function<Row, Row> args;
+
+        /** */
+        private final SqlKind kind;
+
+        /** */
+        private final WindowFrame frame;
+
+        /** */
+        private FrameValue(ExecutionContext<Row> ctx, Function<Row, Row> args, SqlKind kind, WindowFrame frame) {
+            hnd = ctx.rowHandler();
+            this.args = args;
+            this.kind = kind;
+            this.frame = frame;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Object evaluate(WindowPartition<Row> part, int idx) {
+            int start = part.frameStart(idx);
+            int end = part.frameEnd(idx);
+
+            long valIdx;
+
+            if (kind == SqlKind.FIRST_VALUE)
+                valIdx = start;
+            else if (kind == SqlKind.LAST_VALUE)
+                valIdx = end;
+            else {
+                Number nArg = (Number)hnd.get(1, args.apply(part.row(idx)));
+
+                if (nArg == null)
+                    return null;
+
+                if (nArg.longValue() <= 0)
+                    throw new IllegalArgumentException("Argument of NTH_VALUE must be greater than zero: " + nArg);
+
+                valIdx = start + nArg.longValue() - 1;
+            }
+
+            return start <= end && valIdx >= start && valIdx <= end ? hnd.get(0, args.apply(part.row((int)valIdx))) : null;
+        }
+
+        /** {@inheritDoc} */
+        @Override public int preceding() {
+            return frame.preceding();
+        }
+
+        /** {@inheritDoc} */
+        @Override public int following() {
+            return frame.following();
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean peers() {
+            return frame.peers();
+        }
+    }
+
+    /**
+     * Aggregate function over a window frame. Frames, which start at the first partition row, are computed
+     * incrementally as rows are received. Frames, which end at the last partition row, are computed incrementally
+     * in reverse order when all rows of the partition are received. Other frames are computed from scratch for every
+     * row.
+     */
+    private static class Aggregate<Row> implements WindowFunction<Row> {
+        /** */
+        private final Supplier<List<AccumulatorWrapper<Row>>> accFactory;
+
+        /** */
+        private final WindowFrame frame;
+
+        /** Accumulator of the frame starting at the first partition row. */
+        private AccumulatorWrapper<Row> acc;
+
+        /** Count of rows added to the accumulator. */
+        private int added;
+
+        /** Values of the partition rows for frames ending at the last partition row. */
+        private Object[] vals;
+
+        /** */
+        private Aggregate(Supplier<List<AccumulatorWrapper<Row>>> accFactory, WindowFrame frame) {
+            this.accFactory = accFactory;
+            this.frame = frame;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Object evaluate(WindowPartition<Row> part, int idx) {
+            if (frame.unboundedPreceding()) {
+                if (idx == 0) {
+                    acc = accumulator();
+                    added = 0;
+                }
+
+                for (int end = part.frameEnd(idx); added <= end; added++)
+                    acc.add(part.row(added));
+
+                return acc.end();
+            }
+            else if (frame.unboundedFollowing()) {
+                if (idx == 0) {
+                    AccumulatorWrapper<Row> acc = accumulator();
+
+                    vals = new Object[part.size()];
+
+                    int added = vals.length;
+
+                    for (int i = vals.length - 1; i >= 0; i--) {
+                        for (int start = part.frameStart(i); added > start; )
+                            acc.add(part.row(--added));
+
+                        vals[i] = acc.end();
+                    }
+                }
+
+                Object val = vals[idx];
+
+                if (idx == vals.length - 1)
+                    vals = null;
+
+                return val;
+            }
+            else {
+                AccumulatorWrapper<Row> acc = accumulator();
+
+                for (int i = part.frameStart(idx), end = part.frameEnd(idx); i <= end; i++)
+                    acc.add(part.row(i));
+
+                return acc.end();
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override public int preceding() {
+            if (frame.unboundedPreceding())
+                return frame.endPreceding();
+
+            return frame.unboundedFollowing() ? Integer.MAX_VALUE : frame.preceding();
+        }
+
+        /** {@inheritDoc} */
+        @Override public int following() {
+            return frame.following();
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean peers() {
+            return frame.peers();
+        }
+
+        /** */
+        private AccumulatorWrapper<Row> accumulator() {
+            return accFactory.get().get(0);
+        }
+    }
+}
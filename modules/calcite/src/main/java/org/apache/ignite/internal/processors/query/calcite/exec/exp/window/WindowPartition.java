@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec.exp.window;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.Consumer;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Rows of a single window partition, sorted by the window order keys. Rows are added as they are received, rows
+ * which are not required to compute window functions anymore are removed, so only a sliding range of the partition
+ * rows is kept. Rows are addressed by the index within the whole partition.
+ */
+public class WindowPartition<Row> {
+    /** Comparator by the window order keys, {@code null} if all rows of the partition are peers. */
+    private final @Nullable Comparator<Row> peerCmp;
+
+    /** */
+    private final WindowFrame frame;
+
+    /** Kept rows. */
+    private Object[] rows = new Object[16];
+
+    /** Index of the first peer of a kept row. */
+    private int[] peerStart = new int[16];
+
+    /** Position of the first kept row in the arrays. */
+    private int head;
+
+    /** Index of the first kept row within the partition. */
+    private int first;
+
+    /** Count of kept rows. */
+    private int cnt;
+
+    /** Last added row. */
+    private @Nullable Row last;
+
+    /** Index of the first peer of the last added row. */
+    private int lastPeerStart;
+
+    /** Whether all rows of the partition are added. */
+    private boolean complete;
+
+    /** Index of the first row of the last found peers group. */
+    private int foundPeerStart = -1;
+
+    /** Index of the last row of the last found peers group. */
+    private int foundPeerEnd;
+
+    /** */
+    public WindowPartition(@Nullable Comparator<Row> peerCmp, WindowFrame frame) {
+        this.peerCmp = peerCmp;
+        this.frame = frame;
+    }
+
+    /**
+     * Adds the next row of the partition.
+     *
+     * @param row Row.
+     */
+    public void add(Row row) {
+        assert !complete;
+
+        int idx = size();
+
+        if (last == null || (peerCmp != null && peerCmp.compare(last, row) != 0))
+            lastPeerStart = idx;
+
+        if (head + cnt == rows.length) {
+            // Grow the arrays if more than a half is used, otherwise move kept rows to the beginning.
+            int len = cnt * 2 > rows.length ? rows.length * 2 : rows.length;
+
+            Object[] newRows = len == rows.length ? rows : new Object[len];
+            int[] newPeerStart = len == rows.length ? peerStart : new int[len];
+
+            System.arraycopy(rows, head, newRows, 0, cnt);
+            System.arraycopy(peerStart, head, newPeerStart, 0, cnt);
+
+            if (newRows == rows)
+                Arrays.fill(rows, cnt, head + cnt, null);
+
+            rows = newRows;
+            peerStart = newPeerStart;
+            head = 0;
+        }
+
+        rows[head + cnt] = row;
+        peerStart[head + cnt] = lastPeerStart;
+
+        cnt++;
+
+        last = row;
+    }
+
+    /**
+     * Removes rows preceding the given one.
+     *
+     * @param idx Index of the first row to keep.
+     * @param rmvC Closure called for every removed row.
+     */
+    public void removeBefore(int idx, Consumer<Row> rmvC) {
+        int rmvCnt = Math.min(idx - first, cnt);
+
+        if (rmvCnt <= 0)
+            return;
+
+        for (int i = head; i < head + rmvCnt; i++) {
+            rmvC.accept((Row)rows[i]);
+
+            rows[i] = null;
+        }
+
+        head += rmvCnt;
+        first += rmvCnt;
+        cnt -= rmvCnt;
+    }
+
+    /** Marks all rows of the partition as added. */
+    public void complete() {
+        complete = true;
+    }
+
+    /** @return {@code True} if all rows of the partition are added. */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /** @return Count of added rows, it's the partition size if the partition is complete. */
+    public int size() {
+        return first + cnt;
+    }
+
+    /** @return Count of kept rows. */
+    public int kept() {
+        return cnt;
+    }
+
+    /** @return Last added row or {@code null} if the partition is empty. */
+    public @Nullable Row last() {
+        return last;
+    }
+
+    /** @return Row by index. */
+    public Row row(int idx) {
+        assert idx >= first && idx < size() : "Row is not kept [idx=" + idx + ", first=" + first + ", size=" + size() + ']';
+
+        return (Row)rows[head + idx - first];
+    }
+
+    /** @return Window frame. */
+    public WindowFrame frame() {
+        return frame;
+    }
+
+    /** @return Index of the first row of the frame of the given row. */
+    public int frameStart(int idx) {
+        return frame.start(this, idx);
+    }
+
+    /** @return Index of the last row of the frame of the given row. */
+    public int frameEnd(int idx) {
+        return frame.end(this, idx);
+    }
+
+    /** @return Index of the first row, which is a peer of the given row. */
+    public int peerStart(int idx) {
+        if (idx == size() - 1)
+            return lastPeerStart;
+
+        assert idx >= first && idx < size() : "Row is not kept [idx=" + idx + ", first=" + first + ", size=" + size() + ']';
+
+        return peerStart[head + idx - first];
+    }
+
+    /**
+     * @param idx Row index.
+     * @return {@code True} if the last peer of the given row is added.
+     */
+    public boolean peersAdded(int idx) {
+        return complete || lastPeerStart > idx;
+    }
+
+    /** @return Index of the last row, which is a peer of the given row. */
+    public int peerEnd(int idx) {
+        assert peersAdded(idx);
+
+        int start = peerStart(idx);
+
+        if (lastPeerStart == start)
+            return size() - 1;
+
+        if (foundPeerStart != start) {
+            // Peers of the following rows start after the last peer of the given row.
+            int end = idx + 1;
+
+            while (peerStart(end) == start)
+                end++;
+
+            foundPeerStart = start;
+            foundPeerEnd = end - 1;
+        }
+
+        return foundPeerEnd;
+    }
+}
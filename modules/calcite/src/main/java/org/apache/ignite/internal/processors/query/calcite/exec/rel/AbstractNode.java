@@ -28,7 +28,9 @@ import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.internal.U;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_CALCITE_EXEC_BATCH_SIZE;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_CALCITE_EXEC_IN_BUFFER_SIZE;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_CALCITE_EXEC_IO_BATCH_BYTES;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_CALCITE_EXEC_IO_BATCH_CNT;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_CALCITE_EXEC_IO_BATCH_SIZE;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_CALCITE_EXEC_MODIFY_BATCH_SIZE;
@@ -49,6 +51,12 @@ public abstract class AbstractNode<Row> implements Node<Row> {
     /** */
     protected static final int IO_BATCH_CNT = IgniteSystemProperties.getInteger(IGNITE_CALCITE_EXEC_IO_BATCH_CNT, 4);
 
+    /** Target size of a data message in bytes, count of rows in a message is fixed if not positive. */
+    protected static final int IO_BATCH_BYTES = IgniteSystemProperties.getInteger(IGNITE_CALCITE_EXEC_IO_BATCH_BYTES, 64 * 1024);
+
+    /** Maximum count of rows passed to {@link Downstream#pushBatch(List)} at once, batching is disabled if less than 2. */
+    protected static final int EXEC_BATCH_SIZE = IgniteSystemProperties.getInteger(IGNITE_CALCITE_EXEC_BATCH_SIZE, 0);
+
     /** for debug purpose */
     private volatile Thread thread;
 
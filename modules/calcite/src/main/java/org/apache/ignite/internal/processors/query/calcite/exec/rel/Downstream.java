@@ -17,6 +17,8 @@
 
 package org.apache.ignite.internal.processors.query.calcite.exec.rel;
 
+import java.util.List;
+
 /**
  * Represents an abstract data consumer.
  *
@@ -30,6 +32,17 @@ public interface Downstream<Row> {
      */
     void push(Row row) throws Exception;
 
+    /**
+     * Pushes a batch of rows to consumer. The batch is accounted as {@code batch.size()} requested rows.
+     * The consumer must not keep a reference to the list itself after the method returns, the producer may reuse it.
+     *
+     * @param batch Data rows.
+     */
+    default void pushBatch(List<Row> batch) throws Exception {
+        for (Row row : batch)
+            push(row);
+    }
+
     /**
      * Signals that data is over.
      */
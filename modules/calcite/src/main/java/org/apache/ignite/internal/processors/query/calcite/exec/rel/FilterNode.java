@@ -18,12 +18,16 @@
 package org.apache.ignite.internal.processors.query.calcite.exec.rel;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Deque;
+import java.util.List;
 import java.util.function.Predicate;
 
 import org.apache.calcite.rel.type.RelDataType;
 import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
+import org.apache.ignite.internal.processors.query.calcite.exec.exp.BatchFunction;
 import org.apache.ignite.internal.util.typedef.F;
+import org.jetbrains.annotations.Nullable;
 
 /**
  *
@@ -32,9 +36,15 @@ public class FilterNode<Row> extends AbstractNode<Row> implements SingleNode<Row
     /** */
     private final Predicate<Row> pred;
 
+    /** */
+    private final BatchFunction<Row> batchPred;
+
     /** */
     private final Deque<Row> inBuf = new ArrayDeque<>(IN_BUFFER_SIZE);
 
+    /** Batch of rows to push downstream, {@code null} until the source pushes rows in batches. */
+    private List<Row> outBatch;
+
     /** */
     private int requested;
 
@@ -49,9 +59,24 @@ public class FilterNode<Row> extends AbstractNode<Row> implements SingleNode<Row
      * @param pred Predicate.
      */
     public FilterNode(ExecutionContext<Row> ctx, RelDataType rowType, Predicate<Row> pred) {
+        this(ctx, rowType, pred, null);
+    }
+
+    /**
+     * @param ctx Execution context.
+     * @param pred Predicate.
+     * @param batchPred Predicate evaluated over batches of rows, {@code null} to test batch rows one by one.
+     */
+    public FilterNode(
+        ExecutionContext<Row> ctx,
+        RelDataType rowType,
+        Predicate<Row> pred,
+        @Nullable BatchFunction<Row> batchPred
+    ) {
         super(ctx, rowType);
 
         this.pred = pred;
+        this.batchPred = batchPred;
     }
 
     /** {@inheritDoc} */
@@ -82,6 +107,33 @@ public class FilterNode<Row> extends AbstractNode<Row> implements SingleNode<Row
         filter();
     }
 
+    /** {@inheritDoc} */
+    @Override public void pushBatch(List<Row> batch) throws Exception {
+        assert downstream() != null;
+        assert waiting >= batch.size();
+
+        checkState();
+
+        waiting -= batch.size();
+
+        // Source works in batch mode, so filtered rows are pushed downstream in batches as well.
+        if (outBatch == null)
+            outBatch = new ArrayList<>(IN_BUFFER_SIZE);
+
+        if (batchPred != null)
+            batchPred.apply(batch, inBuf);
+        else {
+            for (int i = 0; i < batch.size(); i++) {
+                Row row = batch.get(i);
+
+                if (pred.test(row))
+                    inBuf.add(row);
+            }
+        }
+
+        filter();
+    }
+
     /** {@inheritDoc} */
     @Override public void end() throws Exception {
         assert downstream() != null;
@@ -123,8 +175,25 @@ public class FilterNode<Row> extends AbstractNode<Row> implements SingleNode<Row
             while (requested > 0 && !inBuf.isEmpty()) {
                 checkState();
 
-                requested--;
-                downstream().push(inBuf.remove());
+                if (outBatch != null) {
+                    int cnt = Math.min(requested, inBuf.size());
+
+                    for (int i = 0; i < cnt; i++)
+                        outBatch.add(inBuf.remove());
+
+                    requested -= cnt;
+
+                    try {
+                        downstream().pushBatch(outBatch);
+                    }
+                    finally {
+                        outBatch.clear();
+                    }
+                }
+                else {
+                    requested--;
+                    downstream().push(inBuf.remove());
+                }
             }
         }
         finally {
@@ -20,6 +20,7 @@ package org.apache.ignite.internal.processors.query.calcite.exec.rel;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -27,23 +28,38 @@ import java.util.Map;
 import java.util.function.Supplier;
 import org.apache.calcite.rel.type.RelDataType;
 import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
 import org.apache.ignite.internal.processors.query.calcite.exec.RowHandler;
 import org.apache.ignite.internal.processors.query.calcite.exec.RowHandler.RowFactory;
+import org.apache.ignite.internal.processors.query.calcite.exec.SpillFile;
 import org.apache.ignite.internal.processors.query.calcite.exec.exp.agg.Accumulator;
 import org.apache.ignite.internal.processors.query.calcite.exec.exp.agg.AccumulatorWrapper;
 import org.apache.ignite.internal.processors.query.calcite.exec.exp.agg.AggregateType;
 import org.apache.ignite.internal.processors.query.calcite.exec.exp.agg.GroupKey;
 import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.U;
 
 import static java.util.stream.Collectors.toCollection;
 import static org.apache.ignite.internal.processors.query.calcite.util.Commons.negate;
 
 /**
- *
+ * Hash aggregate node.
+ * If memory quota is exceeded and offloading to disk is enabled, rows of groups which are not in memory yet are
+ * written to disk partitioned by group key hash and aggregated partition by partition after all groups in memory
+ * are emitted (grace hash aggregation).
  */
 public class HashAggregateNode<Row> extends AggregateNode<Row> {
+    /** Count of bits of group key hash used to select partition to offload row to disk. */
+    private static final int SPILL_PARTITION_BITS = 4;
+
+    /** Count of partitions to offload rows to disk. */
+    private static final int SPILL_PARTITIONS = 1 << SPILL_PARTITION_BITS;
+
+    /** Max level of recursive partitioning, each level uses next bits of group key hash. */
+    private static final int MAX_SPILL_LEVEL = Integer.SIZE / SPILL_PARTITION_BITS - 1;
+
     /** */
     private final ImmutableBitSet grpSet;
 
@@ -59,6 +75,9 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
     /** */
     private boolean inLoop;
 
+    /** Partitions offloaded to disk and waiting for aggregation. */
+    private final Deque<SpilledPartition> spilled = new ArrayDeque<>();
+
     /**
      * @param ctx Execution context.
      */
@@ -122,10 +141,34 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
 
         waiting--;
 
+        addRow(row);
+
+        if (waiting == 0)
+            source().request(waiting = IN_BUFFER_SIZE);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void pushBatch(List<Row> batch) throws Exception {
+        assert downstream() != null;
+        assert waiting >= batch.size();
+
+        checkState();
+
+        waiting -= batch.size();
+
+        for (int i = 0; i < batch.size(); i++)
+            addRow(batch.get(i));
+
+        if (waiting == 0)
+            source().request(waiting = IN_BUFFER_SIZE);
+    }
+
+    /** */
+    private void addRow(Row row) throws IgniteCheckedException {
         boolean groupingsChanged = false;
 
         for (Grouping grouping : groupings) {
-            int size = groupings.size();
+            int size = grouping.size();
 
             grouping.add(row);
 
@@ -147,11 +190,14 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
         // aggregations (all redundant columns are dropped by optimizer earlier), so, just calculating the size of the
         // whole row we have close to real memory consumption by row referenced objects (except service structures).
         // Also we can guess size of service structures required by grouping and use it as constant row overhead.
-        if (hasAggAccum || groupingsChanged)
+        // Rows collected by accumulators can't be offloaded to disk, since groups of such accumulators can't be
+        // partially aggregated.
+        if (hasAggAccum)
             nodeMemoryTracker.onRowAdded(row);
-
-        if (waiting == 0)
-            source().request(waiting = IN_BUFFER_SIZE);
+        else if (groupingsChanged && !tryTrackRow(row)) {
+            for (Grouping grouping : groupings)
+                grouping.startSpilling(0);
+        }
     }
 
     /** {@inheritDoc} */
@@ -163,6 +209,9 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
 
         waiting = -1;
 
+        for (Grouping grouping : groupings)
+            grouping.finishSpilling();
+
         flush();
     }
 
@@ -171,9 +220,18 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
         requested = 0;
         waiting = 0;
         groupings.forEach(Grouping::reset);
+        closeSpilled();
         nodeMemoryTracker.reset();
     }
 
+    /** {@inheritDoc} */
+    @Override protected void closeInternal() {
+        groupings.forEach(Grouping::closeSpilling);
+        closeSpilled();
+
+        super.closeInternal();
+    }
+
     /** */
     private void flush() throws Exception {
         if (isClosed())
@@ -188,7 +246,19 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
 
         inLoop = true;
         try {
-            while (requested > 0 && !groupingsQueue.isEmpty()) {
+            while (requested > 0) {
+                if (groupingsQueue.isEmpty()) {
+                    if (spilled.isEmpty())
+                        break;
+
+                    // All groups in memory are emitted, aggregate next partition offloaded to disk.
+                    aggregateSpilled(spilled.poll());
+
+                    groupingsQueue = groupingsQueue();
+
+                    continue;
+                }
+
                 Grouping grouping = groupingsQueue.peek();
 
                 int toSnd = Math.min(requested, IN_BUFFER_SIZE - processed);
@@ -223,6 +293,38 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
         }
     }
 
+    /** */
+    private void aggregateSpilled(SpilledPartition part) throws Exception {
+        nodeMemoryTracker.reset();
+
+        Grouping grouping = part.grouping;
+
+        try (SpillFile<Row> file = part.file) {
+            Iterator<Row> it = file.reader();
+
+            while (it.hasNext()) {
+                Row row = it.next();
+
+                int size = grouping.size();
+
+                grouping.add(row);
+
+                if (grouping.size() > size && !tryTrackRow(row))
+                    grouping.startSpilling(part.level + 1);
+            }
+        }
+
+        grouping.finishSpilling();
+    }
+
+    /** */
+    private void closeSpilled() {
+        for (SpilledPartition part : spilled)
+            U.closeQuiet(part.file);
+
+        spilled.clear();
+    }
+
     /** */
     private ArrayDeque<Grouping> groupingsQueue() {
         return groupings.stream()
@@ -244,6 +346,12 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
         /** */
         private final RowHandler<Row> handler;
 
+        /** Partitions to offload rows of groups which are not in memory, {@code null} if offloading is not started. */
+        private List<SpillFile<Row>> spillParts;
+
+        /** Level of partitioning of offloaded rows. */
+        private int spillLevel;
+
         /** */
         private Grouping(byte grpId, ImmutableBitSet grpFields) {
             this.grpId = grpId;
@@ -266,17 +374,93 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
         private void reset() {
             groups.clear();
 
+            closeSpilling();
+
             init();
         }
 
         /** */
-        private void add(Row row) {
+        private void add(Row row) throws IgniteCheckedException {
             if (type == AggregateType.REDUCE)
                 addOnReducer(row);
             else
                 addOnMapper(row);
         }
 
+        /**
+         * Starts offloading to disk rows of groups which are not in memory.
+         *
+         * @param level Level of partitioning.
+         */
+        private void startSpilling(int level) {
+            if (spillParts != null)
+                return;
+
+            if (level > MAX_SPILL_LEVEL)
+                throw new IgniteException("Failed to offload aggregation groups to disk, too many groups with equal hash.");
+
+            spillParts = new ArrayList<>(Collections.nCopies(SPILL_PARTITIONS, null));
+            spillLevel = level;
+        }
+
+        /** Completes offloading to disk and enqueues offloaded partitions for aggregation. */
+        private void finishSpilling() throws IgniteCheckedException {
+            if (spillParts == null)
+                return;
+
+            List<SpillFile<Row>> parts = spillParts;
+
+            spillParts = null;
+
+            for (SpillFile<Row> file : parts) {
+                if (file != null) {
+                    file.finishWrite();
+
+                    spilled.push(new SpilledPartition(this, file, spillLevel));
+                }
+            }
+        }
+
+        /** Removes partitions which are being offloaded to disk. */
+        private void closeSpilling() {
+            if (spillParts == null)
+                return;
+
+            for (SpillFile<Row> file : spillParts)
+                U.closeQuiet(file);
+
+            spillParts = null;
+        }
+
+        /**
+         * @param grpKey Group key.
+         * @param row Row.
+         * @return Accumulators of the group or {@code null} if the row was offloaded to disk.
+         */
+        private List<AccumulatorWrapper<Row>> group(GroupKey grpKey, Row row) throws IgniteCheckedException {
+            List<AccumulatorWrapper<Row>> wrappers = groups.get(grpKey);
+
+            if (wrappers == null) {
+                if (spillParts != null) {
+                    int hash = grpKey.hashCode() * 0x9E3779B9; // Spread bits of the hash.
+                    int part = (hash >>> (Integer.SIZE - SPILL_PARTITION_BITS * (spillLevel + 1))) & (SPILL_PARTITIONS - 1);
+
+                    SpillFile<Row> file = spillParts.get(part);
+
+                    if (file == null)
+                        spillParts.set(part, file = context().createSpillFile());
+
+                    file.write(row);
+
+                    return null;
+                }
+
+                groups.put(grpKey, wrappers = create(grpKey));
+            }
+
+            return wrappers;
+        }
+
         /**
          * @param cnt Number of rows.
          *
@@ -292,7 +476,7 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
         }
 
         /** */
-        private void addOnMapper(Row row) {
+        private void addOnMapper(Row row) throws IgniteCheckedException {
             GroupKey.Builder b = GroupKey.builder(grpFields.cardinality());
 
             for (Integer field : grpFields)
@@ -300,14 +484,17 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
 
             GroupKey grpKey = b.build();
 
-            List<AccumulatorWrapper<Row>> wrappers = groups.computeIfAbsent(grpKey, this::create);
+            List<AccumulatorWrapper<Row>> wrappers = group(grpKey, row);
+
+            if (wrappers == null)
+                return;
 
             for (AccumulatorWrapper<Row> wrapper : wrappers)
                 wrapper.add(row);
         }
 
         /** */
-        private void addOnReducer(Row row) {
+        private void addOnReducer(Row row) throws IgniteCheckedException {
             byte targetGrpId = (byte)handler.get(0, row);
 
             if (targetGrpId != grpId)
@@ -315,7 +502,10 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
 
             GroupKey grpKey = (GroupKey)handler.get(1, row);
 
-            List<AccumulatorWrapper<Row>> wrappers = groups.computeIfAbsent(grpKey, this::create);
+            List<AccumulatorWrapper<Row>> wrappers = group(grpKey, row);
+
+            if (wrappers == null)
+                return;
             Accumulator<Row>[] accums = hasAccumulators() ? (Accumulator<Row>[])handler.get(2, row) : null;
 
             for (int i = 0; i < wrappers.size(); i++) {
@@ -405,4 +595,23 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
             return groups.size();
         }
     }
+
+    /** Partition of rows offloaded to disk. */
+    private class SpilledPartition {
+        /** */
+        private final Grouping grouping;
+
+        /** */
+        private final SpillFile<Row> file;
+
+        /** Level of partitioning. */
+        private final int level;
+
+        /** */
+        private SpilledPartition(Grouping grouping, SpillFile<Row> file, int level) {
+            this.grouping = grouping;
+            this.file = file;
+            this.level = level;
+        }
+    }
 }
@@ -0,0 +1,895 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec.rel;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.util.ImmutableIntList;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
+import org.apache.ignite.internal.processors.query.calcite.exec.RowHandler;
+import org.apache.ignite.internal.processors.query.calcite.exec.RuntimeFilter;
+import org.apache.ignite.internal.processors.query.calcite.exec.SpillFile;
+import org.apache.ignite.internal.processors.query.calcite.exec.exp.agg.GroupKey;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Hash join node. Builds an in-memory hash table over the right input and then probes it
+ * with the rows of the left input, thus the left input order is preserved.
+ * Rows with NULL values in join keys never match.
+ * If memory quota is exceeded, offloading to disk is enabled and the order of the output rows doesn't matter, rows
+ * of both inputs are written to disk partitioned by join key hash and joined partition by partition after the left
+ * input is exhausted (grace hash join).
+ */
+public abstract class HashJoinNode<Row> extends MemoryTrackingNode<Row> {
+    /** Special value to highlights that all row were received and we are not waiting any more. */
+    protected static final int NOT_WAITING = -1;
+
+    /** Count of bits of join key hash used to select partition to offload row to disk. */
+    private static final int SPILL_PARTITION_BITS = 4;
+
+    /** Count of partitions to offload rows to disk. */
+    private static final int SPILL_PARTITIONS = 1 << SPILL_PARTITION_BITS;
+
+    /** Max level of recursive partitioning, each level uses next bits of join key hash. */
+    private static final int MAX_SPILL_LEVEL = Integer.SIZE / SPILL_PARTITION_BITS - 1;
+
+    /** Non-equi part of the join condition or {@code null} if the condition consists of key pairs only. */
+    @Nullable protected final BiPredicate<Row, Row> nonEquiCond;
+
+    /** */
+    protected final RowHandler<Row> handler;
+
+    /** Left join keys. */
+    private final ImmutableIntList leftKeys;
+
+    /** Right join keys. */
+    private final ImmutableIntList rightKeys;
+
+    /** Right (build) side rows grouped by join key. */
+    protected final Map<GroupKey, List<Row>> hashStore = new HashMap<>();
+
+    /** */
+    protected int requested;
+
+    /** */
+    protected int waitingLeft;
+
+    /** */
+    protected int waitingRight;
+
+    /** */
+    protected final Deque<Row> leftInBuf = new ArrayDeque<>(IN_BUFFER_SIZE);
+
+    /** */
+    protected boolean inLoop;
+
+    /** Receives a filter of the join keys when the hash table is built, {@code null} if no filter is required. */
+    @Nullable private Consumer<long[]> runtimeFilterConsumer;
+
+    /** Whether rows can be offloaded to disk, that is the order of the output rows doesn't matter. */
+    private boolean spillAllowed;
+
+    /** Partitions to offload right rows, {@code null} if offloading is not started. */
+    @Nullable private List<SpillFile<Row>> rightSpillParts;
+
+    /** Partitions to offload left rows, {@code null} if offloading is not started. */
+    @Nullable private List<SpillFile<Row>> leftSpillParts;
+
+    /** Level of partitioning of offloaded rows. */
+    private int spillLevel;
+
+    /** Partitions offloaded to disk and waiting for join. */
+    private final Deque<SpilledPartition<Row>> spilled = new ArrayDeque<>();
+
+    /** Left rows of the offloaded partition being joined, {@code null} if there is no such partition. */
+    @Nullable private SpillFile<Row> spilledLeft;
+
+    /** Reader of the left rows of the offloaded partition being joined. */
+    @Nullable private Iterator<Row> spilledLeftIt;
+
+    /**
+     * @param ctx Execution context.
+     * @param rowType Output row type.
+     * @param leftKeys Left join keys.
+     * @param rightKeys Right join keys.
+     * @param nonEquiCond Non-equi part of the join condition.
+     */
+    private HashJoinNode(
+        ExecutionContext<Row> ctx,
+        RelDataType rowType,
+        ImmutableIntList leftKeys,
+        ImmutableIntList rightKeys,
+        @Nullable BiPredicate<Row, Row> nonEquiCond
+    ) {
+        super(ctx, rowType, HASH_MAP_ROW_OVERHEAD);
+
+        assert !F.isEmpty(leftKeys) && leftKeys.size() == rightKeys.size();
+
+        this.leftKeys = leftKeys;
+        this.rightKeys = rightKeys;
+        this.nonEquiCond = nonEquiCond;
+
+        handler = ctx.rowHandler();
+    }
+
+    /**
+     * Makes the node build a bloom filter over the right side keys when all the right rows are received.
+     *
+     * @param consumer Filter consumer, accepts {@code null} if the hash table is too big to build a filter.
+     */
+    public void runtimeFilterConsumer(Consumer<long[]> consumer) {
+        runtimeFilterConsumer = consumer;
+    }
+
+    /**
+     * Allows the node to offload rows to disk if memory quota is exceeded. Rows are joined partition by partition
+     * in this case, so the order of the left input is not preserved.
+     */
+    public void allowSpill() {
+        spillAllowed = context().isSpillEnabled();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void request(int rowsCnt) throws Exception {
+        assert !F.isEmpty(sources()) && sources().size() == 2;
+        assert rowsCnt > 0 && requested == 0;
+
+        checkState();
+
+        requested = rowsCnt;
+
+        if (!inLoop)
+            context().execute(this::doJoin, this::onError);
+    }
+
+    /** */
+    private void doJoin() throws Exception {
+        checkState();
+
+        join();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void rewindInternal() {
+        requested = 0;
+        waitingLeft = 0;
+        waitingRight = 0;
+
+        hashStore.clear();
+        leftInBuf.clear();
+
+        closeSpilled();
+
+        nodeMemoryTracker.reset();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void closeInternal() {
+        closeSpilled();
+
+        super.closeInternal();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected Downstream<Row> requestDownstream(int idx) {
+        if (idx == 0)
+            return new Downstream<Row>() {
+                /** {@inheritDoc} */
+                @Override public void push(Row row) throws Exception {
+                    pushLeft(row);
+                }
+
+                /** {@inheritDoc} */
+                @Override public void end() throws Exception {
+                    endLeft();
+                }
+
+                /** {@inheritDoc} */
+                @Override public void onError(Throwable e) {
+                    HashJoinNode.this.onError(e);
+                }
+            };
+        else if (idx == 1)
+            return new Downstream<Row>() {
+                /** {@inheritDoc} */
+                @Override public void push(Row row) throws Exception {
+                    pushRight(row);
+                }
+
+                /** {@inheritDoc} */
+                @Override public void end() throws Exception {
+                    endRight();
+                }
+
+                /** {@inheritDoc} */
+                @Override public void onError(Throwable e) {
+                    HashJoinNode.this.onError(e);
+                }
+            };
+
+        throw new IndexOutOfBoundsException();
+    }
+
+    /** */
+    private void pushLeft(Row row) throws Exception {
+        assert downstream() != null;
+        assert waitingLeft > 0;
+
+        checkState();
+
+        waitingLeft--;
+
+        if (leftSpillParts == null || !spillLeft(row))
+            leftInBuf.add(row);
+
+        join();
+    }
+
+    /** */
+    private void pushRight(Row row) throws Exception {
+        assert downstream() != null;
+        assert waitingRight > 0;
+
+        checkState();
+
+        waitingRight--;
+
+        GroupKey key = key(row, rightKeys);
+
+        if (key != null)
+            addRight(key, row, 0);
+
+        if (waitingRight == 0)
+            rightSource().request(waitingRight = IN_BUFFER_SIZE);
+    }
+
+    /** */
+    private void endLeft() throws Exception {
+        assert downstream() != null;
+        assert waitingLeft > 0;
+
+        checkState();
+
+        waitingLeft = NOT_WAITING;
+
+        if (leftSpillParts != null)
+            finishSpilling();
+
+        join();
+    }
+
+    /** */
+    private void endRight() throws Exception {
+        assert downstream() != null;
+        assert waitingRight > 0;
+
+        checkState();
+
+        waitingRight = NOT_WAITING;
+
+        if (runtimeFilterConsumer != null) {
+            // The filter is sent only once, the probe side can't be rewound. Keys of the offloaded rows are not known.
+            runtimeFilterConsumer.accept(rightSpillParts == null ? RuntimeFilter.build(hashStore.keySet()) : null);
+
+            runtimeFilterConsumer = null;
+        }
+
+        join();
+    }
+
+    /** */
+    protected Node<Row> leftSource() {
+        return sources().get(0);
+    }
+
+    /** */
+    protected Node<Row> rightSource() {
+        return sources().get(1);
+    }
+
+    /**
+     * @param left Left row.
+     * @return Right rows having the same join key as the given left row.
+     */
+    protected Iterator<Row> lookup(Row left) {
+        GroupKey key = key(left, leftKeys);
+
+        if (key == null)
+            return Collections.emptyIterator();
+
+        List<Row> rightRows = hashStore.get(key);
+
+        return rightRows == null ? Collections.emptyIterator() : rightRows.iterator();
+    }
+
+    /**
+     * @return Join key of the row or {@code null} if any of key fields is NULL.
+     */
+    private @Nullable GroupKey key(Row row, ImmutableIntList keys) {
+        GroupKey.Builder b = GroupKey.builder(keys.size());
+
+        for (int i = 0; i < keys.size(); i++) {
+            Object val = handler.get(keys.getInt(i), row);
+
+            if (val == null)
+                return null;
+
+            b.add(val);
+        }
+
+        return b.build();
+    }
+
+    /** */
+    protected boolean matches(Row left, Row right) {
+        return nonEquiCond == null || nonEquiCond.test(left, right);
+    }
+
+    /**
+     * Requests more rows from sources. The left source is requested only after the hash table is built. After the
+     * left source is exhausted, the left rows of the offloaded partitions are read.
+     */
+    protected void requestMore() throws Exception {
+        if (waitingRight == 0)
+            rightSource().request(waitingRight = IN_BUFFER_SIZE);
+
+        if (waitingRight == NOT_WAITING && waitingLeft == 0 && leftInBuf.isEmpty())
+            leftSource().request(waitingLeft = IN_BUFFER_SIZE);
+
+        if (waitingLeft == NOT_WAITING && leftInBuf.isEmpty() && readSpilled() && requested > 0)
+            context().execute(this::doJoin, this::onError);
+    }
+
+    /** */
+    protected boolean leftExhausted() {
+        return waitingLeft == NOT_WAITING && waitingRight == NOT_WAITING && leftInBuf.isEmpty() &&
+            spilledLeftIt == null && spilled.isEmpty();
+    }
+
+    /**
+     * Adds the right row to the hash table or offloads it to disk.
+     *
+     * @param key Join key.
+     * @param row Right row.
+     * @param level Level of partitioning if offloading is started by this row.
+     */
+    private void addRight(GroupKey key, Row row, int level) throws IgniteCheckedException {
+        if (rightSpillParts != null) {
+            spillPartition(rightSpillParts, key).write(row);
+
+            return;
+        }
+
+        hashStore.computeIfAbsent(key, k -> new ArrayList<>()).add(row);
+
+        if (!spillAllowed)
+            nodeMemoryTracker.onRowAdded(row);
+        else if (!tryTrackRow(row))
+            startSpilling(level);
+    }
+
+    /**
+     * Offloads the left row to disk.
+     *
+     * @param row Left row.
+     * @return {@code False} if the row has NULL join key and can be joined right away.
+     */
+    private boolean spillLeft(Row row) throws IgniteCheckedException {
+        GroupKey key = key(row, leftKeys);
+
+        if (key == null)
+            return false;
+
+        spillPartition(leftSpillParts, key).write(row);
+
+        return true;
+    }
+
+    /**
+     * Starts offloading rows to disk and moves the hash table to disk.
+     *
+     * @param level Level of partitioning.
+     */
+    private void startSpilling(int level) throws IgniteCheckedException {
+        if (level > MAX_SPILL_LEVEL)
+            throw new IgniteException("Failed to offload hash join rows to disk, too many rows with equal key hash.");
+
+        spillLevel = level;
+        rightSpillParts = new ArrayList<>(Collections.nCopies(SPILL_PARTITIONS, null));
+        leftSpillParts = new ArrayList<>(Collections.nCopies(SPILL_PARTITIONS, null));
+
+        for (Map.Entry<GroupKey, List<Row>> e : hashStore.entrySet()) {
+            SpillFile<Row> file = spillPartition(rightSpillParts, e.getKey());
+
+            for (Row row : e.getValue())
+                file.write(row);
+        }
+
+        hashStore.clear();
+
+        nodeMemoryTracker.reset();
+    }
+
+    /** Completes offloading to disk and enqueues offloaded partitions for join. */
+    private void finishSpilling() throws IgniteCheckedException {
+        List<SpillFile<Row>> rightParts = rightSpillParts;
+        List<SpillFile<Row>> leftParts = leftSpillParts;
+
+        rightSpillParts = null;
+        leftSpillParts = null;
+
+        for (int i = 0; i < SPILL_PARTITIONS; i++) {
+            SpillFile<Row> right = rightParts.get(i);
+            SpillFile<Row> left = leftParts.get(i);
+
+            // Right rows without left rows never produce output, since all supported join types are driven by left.
+            if (left == null) {
+                U.closeQuiet(right);
+
+                continue;
+            }
+
+            if (right != null)
+                right.finishWrite();
+
+            left.finishWrite();
+
+            spilled.push(new SpilledPartition<>(right, left, spillLevel));
+        }
+    }
+
+    /**
+     * @param parts Partitions.
+     * @param key Join key.
+     * @return File of the partition of the given key.
+     */
+    private SpillFile<Row> spillPartition(List<SpillFile<Row>> parts, GroupKey key) {
+        int hash = key.hashCode() * 0x9E3779B9; // Spread bits of the hash.
+        int idx = (hash >>> (Integer.SIZE - SPILL_PARTITION_BITS * (spillLevel + 1))) & (SPILL_PARTITIONS - 1);
+
+        SpillFile<Row> file = parts.get(idx);
+
+        if (file == null)
+            parts.set(idx, file = context().createSpillFile());
+
+        return file;
+    }
+
+    /**
+     * Reads next left rows of the offloaded partitions to the left buffer, builds the hash table of the next
+     * partition when all left rows of the current one are read.
+     *
+     * @return {@code True} if rows were added to the left buffer.
+     */
+    private boolean readSpilled() throws IgniteCheckedException {
+        while (true) {
+            if (spilledLeftIt == null) {
+                if (spilled.isEmpty())
+                    return false;
+
+                buildSpilled(spilled.pop());
+
+                continue;
+            }
+
+            while (leftInBuf.size() < IN_BUFFER_SIZE && spilledLeftIt.hasNext())
+                leftInBuf.add(spilledLeftIt.next());
+
+            if (!leftInBuf.isEmpty())
+                return true;
+
+            U.closeQuiet(spilledLeft);
+
+            spilledLeft = null;
+            spilledLeftIt = null;
+        }
+    }
+
+    /**
+     * Builds the hash table of the offloaded partition. If the partition doesn't fit into memory, it's split into
+     * partitions of the next level.
+     *
+     * @param part Offloaded partition.
+     */
+    private void buildSpilled(SpilledPartition<Row> part) throws IgniteCheckedException {
+        hashStore.clear();
+
+        nodeMemoryTracker.reset();
+
+        if (part.right != null) {
+            try (SpillFile<Row> file = part.right) {
+                Iterator<Row> it = file.reader();
+
+                while (it.hasNext()) {
+                    Row row = it.next();
+
+                    addRight(key(row, rightKeys), row, part.level + 1);
+                }
+            }
+        }
+
+        if (leftSpillParts == null) {
+            spilledLeft = part.left;
+            spilledLeftIt = part.left.reader();
+
+            return;
+        }
+
+        try (SpillFile<Row> file = part.left) {
+            Iterator<Row> it = file.reader();
+
+            while (it.hasNext())
+                spillLeft(it.next());
+        }
+
+        finishSpilling();
+    }
+
+    /** Removes all offloaded rows. */
+    private void closeSpilled() {
+        if (rightSpillParts != null) {
+            for (int i = 0; i < SPILL_PARTITIONS; i++) {
+                U.closeQuiet(rightSpillParts.get(i));
+                U.closeQuiet(leftSpillParts.get(i));
+            }
+
+            rightSpillParts = null;
+            leftSpillParts = null;
+        }
+
+        for (SpilledPartition<Row> part : spilled) {
+            U.closeQuiet(part.right);
+            U.closeQuiet(part.left);
+        }
+
+        spilled.clear();
+
+        U.closeQuiet(spilledLeft);
+
+        spilledLeft = null;
+        spilledLeftIt = null;
+    }
+
+    /** */
+    protected abstract void join() throws Exception;
+
+    /** */
+    @NotNull public static <Row> HashJoinNode<Row> create(
+        ExecutionContext<Row> ctx,
+        RelDataType outputRowType,
+        RelDataType rightRowType,
+        JoinRelType joinType,
+        ImmutableIntList leftKeys,
+        ImmutableIntList rightKeys,
+        @Nullable BiPredicate<Row, Row> nonEquiCond
+    ) {
+        switch (joinType) {
+            case INNER:
+                return new InnerHashJoin<>(ctx, outputRowType, leftKeys, rightKeys, nonEquiCond);
+
+            case LEFT: {
+                RowHandler.RowFactory<Row> rightRowFactory = ctx.rowHandler().factory(ctx.getTypeFactory(), rightRowType);
+
+                return new LeftHashJoin<>(ctx, outputRowType, leftKeys, rightKeys, nonEquiCond, rightRowFactory);
+            }
+
+            case SEMI:
+                return new SemiHashJoin<>(ctx, outputRowType, leftKeys, rightKeys, nonEquiCond);
+
+            case ANTI:
+                return new AntiHashJoin<>(ctx, outputRowType, leftKeys, rightKeys, nonEquiCond);
+
+            default:
+                throw new IllegalStateException("Join type \"" + joinType + "\" is not supported by hash join");
+        }
+    }
+
+    /** */
+    private static class InnerHashJoin<Row> extends HashJoinNode<Row> {
+        /** */
+        private Row left;
+
+        /** */
+        private Iterator<Row> rightIt = Collections.emptyIterator();
+
+        /** */
+        private InnerHashJoin(
+            ExecutionContext<Row> ctx,
+            RelDataType rowType,
+            ImmutableIntList leftKeys,
+            ImmutableIntList rightKeys,
+            @Nullable BiPredicate<Row, Row> nonEquiCond
+        ) {
+            super(ctx, rowType, leftKeys, rightKeys, nonEquiCond);
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void rewindInternal() {
+            left = null;
+            rightIt = Collections.emptyIterator();
+
+            super.rewindInternal();
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void join() throws Exception {
+            if (waitingRight == NOT_WAITING) {
+                inLoop = true;
+                try {
+                    while (requested > 0 && (left != null || !leftInBuf.isEmpty())) {
+                        checkState();
+
+                        if (left == null) {
+                            left = leftInBuf.remove();
+
+                            rightIt = lookup(left);
+                        }
+
+                        while (requested > 0 && rightIt.hasNext()) {
+                            Row right = rightIt.next();
+
+                            if (!matches(left, right))
+                                continue;
+
+                            requested--;
+                            downstream().push(handler.concat(left, right));
+                        }
+
+                        if (!rightIt.hasNext())
+                            left = null;
+                    }
+                }
+                finally {
+                    inLoop = false;
+                }
+            }
+
+            requestMore();
+
+            if (requested > 0 && left == null && leftExhausted()) {
+                requested = 0;
+                downstream().end();
+            }
+        }
+    }
+
+    /** */
+    private static class LeftHashJoin<Row> extends HashJoinNode<Row> {
+        /** Right row factory. */
+        private final RowHandler.RowFactory<Row> rightRowFactory;
+
+        /** Whether current left row was matched or not. */
+        private boolean matched;
+
+        /** */
+        private Row left;
+
+        /** */
+        private Iterator<Row> rightIt = Collections.emptyIterator();
+
+        /** */
+        private LeftHashJoin(
+            ExecutionContext<Row> ctx,
+            RelDataType rowType,
+            ImmutableIntList leftKeys,
+            ImmutableIntList rightKeys,
+            @Nullable BiPredicate<Row, Row> nonEquiCond,
+            RowHandler.RowFactory<Row> rightRowFactory
+        ) {
+            super(ctx, rowType, leftKeys, rightKeys, nonEquiCond);
+
+            this.rightRowFactory = rightRowFactory;
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void rewindInternal() {
+            matched = false;
+            left = null;
+            rightIt = Collections.emptyIterator();
+
+            super.rewindInternal();
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void join() throws Exception {
+            if (waitingRight == NOT_WAITING) {
+                inLoop = true;
+                try {
+                    while (requested > 0 && (left != null || !leftInBuf.isEmpty())) {
+                        checkState();
+
+                        if (left == null) {
+                            left = leftInBuf.remove();
+
+                            rightIt = lookup(left);
+                            matched = false;
+                        }
+
+                        while (requested > 0 && rightIt.hasNext()) {
+                            Row right = rightIt.next();
+
+                            if (!matches(left, right))
+                                continue;
+
+                            requested--;
+                            matched = true;
+
+                            downstream().push(handler.concat(left, right));
+                        }
+
+                        if (!rightIt.hasNext()) {
+                            if (!matched) {
+                                if (requested == 0)
+                                    break;
+
+                                requested--;
+
+                                downstream().push(handler.concat(left, rightRowFactory.create()));
+                            }
+
+                            left = null;
+                        }
+                    }
+                }
+                finally {
+                    inLoop = false;
+                }
+            }
+
+            requestMore();
+
+            if (requested > 0 && left == null && leftExhausted()) {
+                requested = 0;
+                downstream().end();
+            }
+        }
+    }
+
+    /** */
+    private static class SemiHashJoin<Row> extends HashJoinNode<Row> {
+        /** */
+        private SemiHashJoin(
+            ExecutionContext<Row> ctx,
+            RelDataType rowType,
+            ImmutableIntList leftKeys,
+            ImmutableIntList rightKeys,
+            @Nullable BiPredicate<Row, Row> nonEquiCond
+        ) {
+            super(ctx, rowType, leftKeys, rightKeys, nonEquiCond);
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void join() throws Exception {
+            if (waitingRight == NOT_WAITING) {
+                inLoop = true;
+                try {
+                    while (requested > 0 && !leftInBuf.isEmpty()) {
+                        checkState();
+
+                        Row left = leftInBuf.remove();
+
+                        Iterator<Row> rightIt = lookup(left);
+
+                        while (rightIt.hasNext()) {
+                            if (matches(left, rightIt.next())) {
+                                requested--;
+                                downstream().push(left);
+
+                                break;
+                            }
+                        }
+                    }
+                }
+                finally {
+                    inLoop = false;
+                }
+            }
+
+            requestMore();
+
+            if (requested > 0 && leftExhausted()) {
+                requested = 0;
+                downstream().end();
+            }
+        }
+    }
+
+    /** */
+    private static class AntiHashJoin<Row> extends HashJoinNode<Row> {
+        /** */
+        private AntiHashJoin(
+            ExecutionContext<Row> ctx,
+            RelDataType rowType,
+            ImmutableIntList leftKeys,
+            ImmutableIntList rightKeys,
+            @Nullable BiPredicate<Row, Row> nonEquiCond
+        ) {
+            super(ctx, rowType, leftKeys, rightKeys, nonEquiCond);
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void join() throws Exception {
+            if (waitingRight == NOT_WAITING) {
+                inLoop = true;
+                try {
+                    while (requested > 0 && !leftInBuf.isEmpty()) {
+                        checkState();
+
+                        Row left = leftInBuf.remove();
+
+                        Iterator<Row> rightIt = lookup(left);
+
+                        boolean matched = false;
+
+                        while (!matched && rightIt.hasNext())
+                            matched = matches(left, rightIt.next());
+
+                        if (!matched) {
+                            requested--;
+                            downstream().push(left);
+                        }
+                    }
+                }
+                finally {
+                    inLoop = false;
+                }
+            }
+
+            requestMore();
+
+            if (requested > 0 && leftExhausted()) {
+                requested = 0;
+                downstream().end();
+            }
+        }
+    }
+
+    /** Partition of rows offloaded to disk. */
+    private static class SpilledPartition<Row> {
+        /** Right rows, {@code null} if there are no right rows in the partition. */
+        @Nullable private final SpillFile<Row> right;
+
+        /** Left rows. */
+        private final SpillFile<Row> left;
+
+        /** Level of partitioning. */
+        private final int level;
+
+        /** */
+        private SpilledPartition(@Nullable SpillFile<Row> right, SpillFile<Row> left, int level) {
+            this.right = right;
+            this.left = left;
+            this.level = level;
+        }
+    }
+}
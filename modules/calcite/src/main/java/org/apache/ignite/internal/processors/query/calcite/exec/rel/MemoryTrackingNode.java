@@ -18,6 +18,7 @@
 package org.apache.ignite.internal.processors.query.calcite.exec.rel;
 
 import org.apache.calcite.rel.type.RelDataType;
+import org.apache.ignite.IgniteException;
 import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
 import org.apache.ignite.internal.processors.query.calcite.exec.tracker.ObjectSizeCalculator;
 import org.apache.ignite.internal.processors.query.calcite.exec.tracker.RowTracker;
@@ -55,6 +56,27 @@ public abstract class MemoryTrackingNode<Row> extends AbstractNode<Row> {
         this(ctx, rowType, DFLT_ROW_OVERHEAD);
     }
 
+    /**
+     * Tracks memory consumed by the row.
+     *
+     * @param row Row.
+     * @return {@code False} if memory quota is exceeded and the node should offload rows to disk.
+     * @throws IgniteException If memory quota is exceeded and offloading to disk is disabled.
+     */
+    protected boolean tryTrackRow(Row row) {
+        try {
+            nodeMemoryTracker.onRowAdded(row);
+
+            return true;
+        }
+        catch (IgniteException e) {
+            if (!context().isSpillEnabled())
+                throw e;
+
+            return false;
+        }
+    }
+
     /** {@inheritDoc} */
     @Override protected void closeInternal() {
         nodeMemoryTracker.reset();
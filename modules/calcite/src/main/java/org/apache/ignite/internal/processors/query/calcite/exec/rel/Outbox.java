@@ -28,9 +28,11 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 import org.apache.calcite.rel.type.RelDataType;
 import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.binary.BinaryObject;
 import org.apache.ignite.internal.processors.query.calcite.exec.ExchangeService;
 import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
 import org.apache.ignite.internal.processors.query.calcite.exec.MailboxRegistry;
+import org.apache.ignite.internal.processors.query.calcite.exec.RowHandler;
 import org.apache.ignite.internal.processors.query.calcite.trait.Destination;
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.X;
@@ -40,6 +42,21 @@ import org.apache.ignite.internal.util.typedef.internal.U;
  * A part of exchange.
  */
 public class Outbox<Row> extends AbstractNode<Row> implements Mailbox<Row>, SingleNode<Row>, Downstream<Row> {
+    /** Maximum count of rows in a data message when message size is adjusted to row size. */
+    private static final int MAX_IO_BATCH_SIZE = IO_BATCH_SIZE * 4;
+
+    /** Each row with the number multiple of this value is used to estimate average row size. */
+    private static final int ROW_SIZE_SAMPLING_RATE = 16;
+
+    /** Count of sampled rows after which samples are halved, so the estimation follows changes of row size. */
+    private static final int ROW_SIZE_SAMPLES_WINDOW = 64;
+
+    /** Estimated size of a row field in a data message, used for fixed size and unknown types. */
+    private static final int FIELD_SIZE = 8;
+
+    /** Estimated overhead of a row in a data message. */
+    private static final int ROW_OVERHEAD = 16;
+
     /** */
     private final ExchangeService exchange;
 
@@ -67,6 +84,18 @@ public class Outbox<Row> extends AbstractNode<Row> implements Mailbox<Row>, Sing
     /** */
     private boolean exchangeFinished;
 
+    /** Count of rows in a data message. */
+    private int batchSize = IO_BATCH_SIZE;
+
+    /** */
+    private int rowsCnt;
+
+    /** */
+    private int sampledRows;
+
+    /** */
+    private long sampledBytes;
+
     /**
      * @param ctx Execution context.
      * @param exchange Exchange service.
@@ -136,6 +165,9 @@ public class Outbox<Row> extends AbstractNode<Row> implements Mailbox<Row>, Sing
 
         waiting--;
 
+        if (IO_BATCH_BYTES > 0 && rowsCnt++ % ROW_SIZE_SAMPLING_RATE == 0)
+            sampleRowSize(row);
+
         inBuf.add(row);
 
         flush();
@@ -200,6 +232,48 @@ public class Outbox<Row> extends AbstractNode<Row> implements Mailbox<Row>, Sing
         return this;
     }
 
+    /**
+     * Adjusts count of rows in a data message, so a message holds about {@link #IO_BATCH_BYTES} of rows:
+     * narrow rows are sent in larger batches to reduce per message overhead, wide rows are sent in smaller ones
+     * to bound the amount of data sent but not acknowledged yet.
+     */
+    private void sampleRowSize(Row row) {
+        if (sampledRows == ROW_SIZE_SAMPLES_WINDOW) {
+            sampledRows /= 2;
+            sampledBytes /= 2;
+        }
+
+        sampledRows++;
+        sampledBytes += rowSize(row);
+
+        batchSize = (int)Math.max(1, Math.min(MAX_IO_BATCH_SIZE, (long)IO_BATCH_BYTES * sampledRows / sampledBytes));
+    }
+
+    /**
+     * @param row Row.
+     * @return Estimated size of the row in a data message.
+     */
+    private long rowSize(Row row) {
+        RowHandler<Row> hnd = context().rowHandler();
+
+        long size = ROW_OVERHEAD;
+
+        for (int i = 0, cnt = hnd.columnCount(row); i < cnt; i++) {
+            Object val = hnd.get(i, row);
+
+            if (val instanceof String)
+                size += ((String)val).length();
+            else if (val instanceof byte[])
+                size += ((byte[])val).length;
+            else if (val instanceof BinaryObject)
+                size += ((BinaryObject)val).size();
+            else
+                size += FIELD_SIZE;
+        }
+
+        return size;
+    }
+
     /** */
     private void sendBatch(UUID nodeId, int batchId, boolean last, List<Row> rows) throws IgniteCheckedException {
         exchange.sendBatch(nodeId, queryId(), targetFragmentId, exchangeId, batchId, last, rows);
@@ -302,7 +376,7 @@ public class Outbox<Row> extends AbstractNode<Row> implements Mailbox<Row>, Sing
             if (hwm == Integer.MAX_VALUE)
                 return false;
 
-            return curr.size() < IO_BATCH_SIZE || hwm - lwm < IO_BATCH_CNT;
+            return curr.size() < batchSize || hwm - lwm < IO_BATCH_CNT;
         }
 
         /**
@@ -313,10 +387,10 @@ public class Outbox<Row> extends AbstractNode<Row> implements Mailbox<Row>, Sing
         public void add(Row row) throws IgniteCheckedException {
             assert ready();
 
-            if (curr.size() == IO_BATCH_SIZE) {
+            if (curr.size() >= batchSize) {
                 sendBatch(nodeId, ++hwm, false, curr);
 
-                curr = new ArrayList<>(IO_BATCH_SIZE);
+                curr = new ArrayList<>(batchSize);
             }
 
             curr.add(row);
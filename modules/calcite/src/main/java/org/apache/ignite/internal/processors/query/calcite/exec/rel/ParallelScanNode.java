@@ -0,0 +1,422 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec.rel;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.LongConsumer;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
+import org.apache.ignite.internal.processors.query.calcite.util.Commons;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Scan node, which reads several sources in parallel. Each source is read by a separate task, the tasks run in
+ * threads other than the fragment one. Read rows are handed over to the fragment thread in chunks and pushed
+ * downstream in the order of arrival.
+ */
+public class ParallelScanNode<Row> extends AbstractNode<Row> implements SingleNode<Row> {
+    /** Maximum count of read chunks per source, waiting to be pushed downstream. */
+    private static final int CHUNKS_PER_SOURCE = 2;
+
+    /** */
+    private final List<Reader> readers;
+
+    /** */
+    private final Object mux = new Object();
+
+    /** Read chunks of rows. Guarded by {@link #mux}. */
+    private final Deque<List<Row>> chunks = new ArrayDeque<>();
+
+    /** Readers waiting for the chunks to be consumed. Guarded by {@link #mux}. */
+    private final Deque<Reader> suspended = new ArrayDeque<>();
+
+    /** Count of not finished readers. Guarded by {@link #mux}. */
+    private int active;
+
+    /** Whether the fragment thread waits for a chunk. Guarded by {@link #mux}. */
+    private boolean waiting;
+
+    /** Error occurred while reading a source. Guarded by {@link #mux}. */
+    private Throwable err;
+
+    /** Incremented on rewind and close, so chunks of a previous read are dropped. Guarded by {@link #mux}. */
+    private int epoch;
+
+    /** */
+    private List<Row> curr;
+
+    /** */
+    private int currIdx;
+
+    /** */
+    private int requested;
+
+    /** */
+    private boolean inLoop;
+
+    /** */
+    private boolean started;
+
+    /** Count of rows pushed downstream. */
+    private long rowsCnt;
+
+    /** Receives the count of scanned rows when the sources are exhausted, {@code null} if the count isn't required. */
+    @Nullable private LongConsumer rowsCntConsumer;
+
+    /**
+     * @param ctx Execution context.
+     * @param rowType Row type.
+     * @param srcs Sources to read in parallel.
+     */
+    public ParallelScanNode(ExecutionContext<Row> ctx, RelDataType rowType, List<Iterable<Row>> srcs) {
+        super(ctx, rowType);
+
+        readers = new ArrayList<>(srcs.size());
+
+        for (Iterable<Row> src : srcs)
+            readers.add(new Reader(readers.size(), src));
+    }
+
+    /**
+     * Makes the node report the count of scanned rows when the sources are exhausted for the first time.
+     *
+     * @param consumer Rows count consumer.
+     */
+    public void rowsCountConsumer(LongConsumer consumer) {
+        rowsCntConsumer = consumer;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void request(int rowsCnt) throws Exception {
+        assert rowsCnt > 0 && requested == 0 : "rowsCnt=" + rowsCnt + ", requested=" + requested;
+
+        checkState();
+
+        requested = rowsCnt;
+
+        if (!started) {
+            started = true;
+
+            int ep;
+
+            synchronized (mux) {
+                active = readers.size();
+                ep = epoch;
+            }
+
+            for (Reader reader : readers)
+                reader.schedule(ep);
+        }
+
+        if (!inLoop)
+            context().execute(this::push, this::onError);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void closeInternal() {
+        super.closeInternal();
+
+        reset();
+
+        for (Reader reader : readers)
+            reader.close();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void rewindInternal() {
+        reset();
+
+        for (Reader reader : readers)
+            reader.rewind();
+
+        curr = null;
+        requested = 0;
+        started = false;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void register(List<Node<Row>> sources) {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected Downstream<Row> requestDownstream(int idx) {
+        throw new UnsupportedOperationException();
+    }
+
+    /** Drops read chunks and makes the running readers skip their results. */
+    private void reset() {
+        synchronized (mux) {
+            epoch++;
+            chunks.clear();
+            suspended.clear();
+            active = 0;
+            waiting = false;
+            err = null;
+        }
+    }
+
+    /** */
+    private void push() throws Exception {
+        if (isClosed())
+            return;
+
+        checkState();
+
+        inLoop = true;
+        try {
+            int processed = 0;
+
+            while (requested > 0) {
+                if (curr == null && !nextChunk())
+                    return;
+
+                if (curr == null) {
+                    requested = 0;
+
+                    if (rowsCntConsumer != null) {
+                        // The count is reported only once, rewound scans may read a different range.
+                        rowsCntConsumer.accept(rowsCnt);
+
+                        rowsCntConsumer = null;
+                    }
+
+                    downstream().end();
+
+                    return;
+                }
+
+                while (requested > 0 && currIdx < curr.size()) {
+                    checkState();
+
+                    requested--;
+                    processed++;
+                    rowsCnt++;
+
+                    downstream().push(curr.get(currIdx++));
+                }
+
+                if (currIdx == curr.size())
+                    curr = null;
+
+                if (processed >= IN_BUFFER_SIZE && requested > 0) {
+                    // allow others to do their job
+                    context().execute(this::push, this::onError);
+
+                    return;
+                }
+            }
+        }
+        finally {
+            inLoop = false;
+        }
+    }
+
+    /**
+     * Takes the next read chunk.
+     *
+     * @return {@code False} if there is no read chunk yet, the node is notified when one is read. {@code True} if
+     * the chunk is taken, or all the sources are exhausted and the current chunk is {@code null}.
+     */
+    private boolean nextChunk() throws Exception {
+        Reader resumed;
+        int ep;
+
+        synchronized (mux) {
+            if (err != null) {
+                Throwable e = err;
+
+                err = null;
+
+                if (e instanceof Exception)
+                    throw (Exception)e;
+
+                throw new IgniteException("Failed to read a table partitions range", e);
+            }
+
+            curr = chunks.poll();
+
+            if (curr == null) {
+                if (active == 0)
+                    return true;
+
+                waiting = true;
+
+                return false;
+            }
+
+            resumed = suspended.poll();
+            ep = epoch;
+        }
+
+        currIdx = 0;
+
+        if (resumed != null)
+            resumed.schedule(ep);
+
+        return true;
+    }
+
+    /**
+     * Called by a reader, when a chunk is read.
+     *
+     * @param reader Reader.
+     * @param ep Epoch the chunk was read in.
+     * @param chunk Read rows.
+     * @param finished Whether the source of the reader is exhausted.
+     */
+    private void onChunk(Reader reader, int ep, List<Row> chunk, boolean finished) {
+        boolean reschedule = false;
+        boolean wake;
+
+        synchronized (mux) {
+            if (ep != epoch)
+                return;
+
+            if (!chunk.isEmpty())
+                chunks.add(chunk);
+
+            if (finished)
+                active--;
+            else if (chunks.size() >= CHUNKS_PER_SOURCE * readers.size())
+                suspended.add(reader);
+            else
+                reschedule = true;
+
+            wake = waiting;
+            waiting = false;
+        }
+
+        if (reschedule)
+            reader.schedule(ep);
+
+        if (wake)
+            context().execute(this::push, this::onError);
+    }
+
+    /**
+     * Called by a reader, when reading is failed.
+     *
+     * @param ep Epoch the error occurred in.
+     * @param e Error.
+     */
+    private void onReaderError(int ep, Throwable e) {
+        boolean wake;
+
+        synchronized (mux) {
+            if (ep != epoch)
+                return;
+
+            if (err == null)
+                err = e;
+
+            wake = waiting;
+            waiting = false;
+        }
+
+        if (wake)
+            context().execute(this::push, this::onError);
+    }
+
+    /**
+     * Reads a source in chunks. Only one task of a reader runs at a time, the source is accessed under the reader
+     * monitor, so the fragment thread waits for a running task to finish a chunk to close or rewind the source.
+     */
+    private class Reader {
+        /** */
+        private final int idx;
+
+        /** */
+        private final Iterable<Row> src;
+
+        /** */
+        private Iterator<Row> it;
+
+        /** */
+        private boolean closed;
+
+        /** */
+        private Reader(int idx, Iterable<Row> src) {
+            this.idx = idx;
+            this.src = src;
+        }
+
+        /** */
+        private void schedule(int ep) {
+            context().executeParallel(idx, () -> read(ep), e -> onReaderError(ep, e));
+        }
+
+        /** */
+        private synchronized void read(int ep) {
+            if (closed)
+                return;
+
+            synchronized (mux) {
+                if (ep != epoch)
+                    return;
+            }
+
+            context().ioTracker().startTracking();
+
+            try {
+                if (it == null)
+                    it = src.iterator();
+
+                List<Row> chunk = new ArrayList<>(IN_BUFFER_SIZE);
+
+                while (chunk.size() < IN_BUFFER_SIZE && it.hasNext())
+                    chunk.add(it.next());
+
+                boolean finished = !it.hasNext();
+
+                if (finished) {
+                    Commons.closeQuiet(it);
+                    it = null;
+                }
+
+                onChunk(this, ep, chunk, finished);
+            }
+            catch (Throwable e) {
+                onReaderError(ep, e);
+            }
+            finally {
+                context().ioTracker().stopTracking();
+            }
+        }
+
+        /** */
+        private synchronized void rewind() {
+            Commons.closeQuiet(it);
+            it = null;
+        }
+
+        /** */
+        private synchronized void close() {
+            closed = true;
+
+            Commons.closeQuiet(it);
+            it = null;
+            Commons.closeQuiet(src);
+        }
+    }
+}
@@ -17,10 +17,14 @@
 
 package org.apache.ignite.internal.processors.query.calcite.exec.rel;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Function;
 import org.apache.calcite.rel.type.RelDataType;
 import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
+import org.apache.ignite.internal.processors.query.calcite.exec.exp.BatchFunction;
 import org.apache.ignite.internal.util.typedef.F;
+import org.jetbrains.annotations.Nullable;
 
 /**
  *
@@ -29,14 +33,35 @@ public class ProjectNode<Row> extends AbstractNode<Row> implements SingleNode<Ro
     /** */
     private final Function<Row, Row> prj;
 
+    /** */
+    private final BatchFunction<Row> batchPrj;
+
+    /** Output batch reused between pushes, {@code null} while it is handed to the downstream. */
+    private List<Row> outBatch;
+
     /**
      * @param ctx Execution context.
      * @param prj Projection.
      */
     public ProjectNode(ExecutionContext<Row> ctx, RelDataType rowType, Function<Row, Row> prj) {
+        this(ctx, rowType, prj, null);
+    }
+
+    /**
+     * @param ctx Execution context.
+     * @param prj Projection.
+     * @param batchPrj Projection evaluated over batches of rows, {@code null} to project batch rows one by one.
+     */
+    public ProjectNode(
+        ExecutionContext<Row> ctx,
+        RelDataType rowType,
+        Function<Row, Row> prj,
+        @Nullable BatchFunction<Row> batchPrj
+    ) {
         super(ctx, rowType);
 
         this.prj = prj;
+        this.batchPrj = batchPrj;
     }
 
     /** {@inheritDoc} */
@@ -63,6 +88,37 @@ public class ProjectNode<Row> extends AbstractNode<Row> implements SingleNode<Ro
         downstream().push(prj.apply(row));
     }
 
+    /** {@inheritDoc} */
+    @Override public void pushBatch(List<Row> batch) throws Exception {
+        assert downstream() != null;
+
+        checkState();
+
+        // The list is taken out of the field while it is pushed, so a reentrant push gets its own list.
+        List<Row> out = outBatch;
+
+        outBatch = null;
+
+        if (out == null)
+            out = new ArrayList<>(batch.size());
+
+        if (batchPrj != null)
+            batchPrj.apply(batch, out);
+        else {
+            for (int i = 0; i < batch.size(); i++)
+                out.add(prj.apply(batch.get(i)));
+        }
+
+        try {
+            downstream().pushBatch(out);
+        }
+        finally {
+            out.clear();
+
+            outBatch = out;
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public void end() throws Exception {
         assert downstream() != null;
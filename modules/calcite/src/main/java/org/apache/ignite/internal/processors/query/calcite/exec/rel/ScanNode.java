@@ -17,11 +17,14 @@
 
 package org.apache.ignite.internal.processors.query.calcite.exec.rel;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.LongConsumer;
 import org.apache.calcite.rel.type.RelDataType;
 import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
 import org.apache.ignite.internal.processors.query.calcite.util.Commons;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Scan node.
@@ -42,14 +45,47 @@ public class ScanNode<Row> extends AbstractNode<Row> implements SingleNode<Row>
     /** */
     private boolean firstReq = true;
 
+    /** Maximum count of rows pushed downstream at once. */
+    private final int batchSize;
+
+    /** Reusable batch of rows, {@code null} if rows are pushed one by one. */
+    private final List<Row> batch;
+
+    /** Count of rows pushed downstream. */
+    private long rowsCnt;
+
+    /** Receives the count of scanned rows when the source is exhausted, {@code null} if the count isn't required. */
+    @Nullable private LongConsumer rowsCntConsumer;
+
     /**
      * @param ctx Execution context.
      * @param src Source.
      */
     public ScanNode(ExecutionContext<Row> ctx, RelDataType rowType, Iterable<Row> src) {
+        this(ctx, rowType, src, EXEC_BATCH_SIZE);
+    }
+
+    /**
+     * @param ctx Execution context.
+     * @param src Source.
+     * @param batchSize Maximum count of rows pushed downstream at once, rows are pushed one by one if less than 2.
+     */
+    public ScanNode(ExecutionContext<Row> ctx, RelDataType rowType, Iterable<Row> src, int batchSize) {
         super(ctx, rowType);
 
         this.src = src;
+        this.batchSize = Math.min(batchSize, IN_BUFFER_SIZE);
+
+        batch = this.batchSize > 1 ? new ArrayList<>(this.batchSize) : null;
+    }
+
+    /**
+     * Makes the node report the count of scanned rows when the source is exhausted for the first time.
+     *
+     * @param consumer Rows count consumer.
+     */
+    public void rowsCountConsumer(LongConsumer consumer) {
+        rowsCntConsumer = consumer;
     }
 
     /** {@inheritDoc} */
@@ -119,10 +155,32 @@ public class ScanNode<Row> extends AbstractNode<Row> implements SingleNode<Row>
             while (requested > 0 && it.hasNext()) {
                 checkState();
 
-                requested--;
-                downstream().push(it.next());
+                if (batch != null) {
+                    int cnt = Math.min(Math.min(requested, batchSize), IN_BUFFER_SIZE - processed);
+
+                    while (batch.size() < cnt && it.hasNext())
+                        batch.add(it.next());
+
+                    requested -= batch.size();
+                    processed += batch.size();
+                    rowsCnt += batch.size();
+
+                    try {
+                        downstream().pushBatch(batch);
+                    }
+                    finally {
+                        batch.clear();
+                    }
+                }
+                else {
+                    requested--;
+                    downstream().push(it.next());
+
+                    processed++;
+                    rowsCnt++;
+                }
 
-                if (++processed == IN_BUFFER_SIZE && requested > 0) {
+                if (processed == IN_BUFFER_SIZE && requested > 0) {
                     // allow others to do their job
                     context().execute(this::push, this::onError);
 
@@ -142,6 +200,13 @@ public class ScanNode<Row> extends AbstractNode<Row> implements SingleNode<Row>
 
             requested = 0;
 
+            if (rowsCntConsumer != null) {
+                // The count is reported only once, rewound scans may read a different range.
+                rowsCntConsumer.accept(rowsCnt);
+
+                rowsCntConsumer = null;
+            }
+
             downstream().end();
         }
     }
@@ -18,17 +18,22 @@ package org.apache.ignite.internal.processors.query.calcite.exec.rel;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.PriorityQueue;
 import java.util.function.Supplier;
 import org.apache.calcite.rel.type.RelDataType;
 import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
+import org.apache.ignite.internal.processors.query.calcite.exec.SpillFile;
 import org.apache.ignite.internal.util.GridBoundedPriorityQueue;
 import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.U;
 import org.jetbrains.annotations.Nullable;
 
 /**
  * Sort node.
+ * If memory quota is exceeded and offloading to disk is enabled, unlimited sort writes sorted runs to spill files
+ * and merges them on output (external merge sort).
  */
 public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode<Row>, Downstream<Row> {
     /** How many rows are requested by downstream. */
@@ -49,6 +54,15 @@ public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode
     /** Reverse-ordered rows in case of limited sort. */
     private List<Row> reversed;
 
+    /** Rows comparator. */
+    private final Comparator<Row> comp;
+
+    /** Sorted runs offloaded to disk. */
+    private List<SpillFile<Row>> runs;
+
+    /** Merge of sorted runs and in-memory rows, initialized on output if there are sorted runs. */
+    private PriorityQueue<RunCursor<Row>> merge;
+
     /**
      * @param ctx Execution context.
      * @param comp Rows comparator.
@@ -68,6 +82,8 @@ public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode
 
         limit = fetch == null ? -1 : fetch.get() + (offset == null ? 0 : offset.get());
 
+        this.comp = comp == null ? (Comparator<Row>)Comparator.naturalOrder() : comp;
+
         if (limit < 0)
             rows = new PriorityQueue<>(comp);
         else {
@@ -92,9 +108,18 @@ public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode
         if (reversed != null)
             reversed.clear();
 
+        closeRuns();
+
         nodeMemoryTracker.reset();
     }
 
+    /** {@inheritDoc} */
+    @Override protected void closeInternal() {
+        closeRuns();
+
+        super.closeInternal();
+    }
+
     /** {@inheritDoc} */
     @Override protected Downstream<Row> requestDownstream(int idx) {
         if (idx != 0)
@@ -133,10 +158,17 @@ public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode
         Row top = rows.peek();
 
         if (rows.add(row)) {
-            nodeMemoryTracker.onRowAdded(row);
+            if (limit < 0) {
+                // Size of unlimited sort is not bounded, offload sorted rows to disk if there is no more memory.
+                if (!tryTrackRow(row))
+                    spillRun();
+            }
+            else {
+                nodeMemoryTracker.onRowAdded(row);
 
-            if (size == rows.size()) // Row added, but size is not changed means another (top) row is evicted.
-                nodeMemoryTracker.onRowRemoved(top);
+                if (size == rows.size()) // Row added, but size is not changed means another (top) row is evicted.
+                    nodeMemoryTracker.onRowRemoved(top);
+            }
         }
 
         if (waiting == 0)
@@ -185,14 +217,15 @@ public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode
                 processed = 0;
             }
 
-            while (requested > 0 && (reversed == null ? !rows.isEmpty() : !reversed.isEmpty())) {
+            if (runs != null && merge == null)
+                initMerge();
+
+            while (requested > 0 && hasMoreRows()) {
                 checkState();
 
                 requested--;
 
-                Row row = reversed == null ? rows.poll() : reversed.remove(reversed.size() - 1);
-
-                nodeMemoryTracker.onRowRemoved(row);
+                Row row = nextRow();
 
                 downstream().push(row);
 
@@ -204,7 +237,7 @@ public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode
                 }
             }
 
-            if (reversed == null ? rows.isEmpty() : reversed.isEmpty()) {
+            if (!hasMoreRows()) {
                 if (requested > 0)
                     downstream().end();
 
@@ -215,4 +248,120 @@ public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode
             inLoop = false;
         }
     }
+
+    /** */
+    private boolean hasMoreRows() {
+        if (merge != null)
+            return !merge.isEmpty();
+
+        return reversed == null ? !rows.isEmpty() : !reversed.isEmpty();
+    }
+
+    /** */
+    private Row nextRow() {
+        if (merge != null) {
+            RunCursor<Row> cur = merge.poll();
+
+            Row row = cur.row;
+
+            if (cur.advance())
+                merge.add(cur);
+
+            return row;
+        }
+
+        Row row = reversed == null ? rows.poll() : reversed.remove(reversed.size() - 1);
+
+        nodeMemoryTracker.onRowRemoved(row);
+
+        return row;
+    }
+
+    /** Writes all buffered rows to disk as a sorted run. */
+    private void spillRun() throws Exception {
+        SpillFile<Row> run = context().createSpillFile();
+
+        if (runs == null)
+            runs = new ArrayList<>();
+
+        runs.add(run);
+
+        while (!rows.isEmpty())
+            run.write(rows.poll());
+
+        run.finishWrite();
+
+        nodeMemoryTracker.reset();
+    }
+
+    /** Prepares merge of sorted runs and rows left in memory. */
+    private void initMerge() {
+        merge = new PriorityQueue<>(runs.size() + 1, (c1, c2) -> comp.compare(c1.row, c2.row));
+
+        for (SpillFile<Row> run : runs) {
+            RunCursor<Row> cur = new RunCursor<>(run.reader());
+
+            if (cur.advance())
+                merge.add(cur);
+        }
+
+        RunCursor<Row> cur = new RunCursor<>(new Iterator<Row>() {
+            /** {@inheritDoc} */
+            @Override public boolean hasNext() {
+                return !rows.isEmpty();
+            }
+
+            /** {@inheritDoc} */
+            @Override public Row next() {
+                Row row = rows.poll();
+
+                nodeMemoryTracker.onRowRemoved(row);
+
+                return row;
+            }
+        });
+
+        if (cur.advance())
+            merge.add(cur);
+    }
+
+    /** */
+    private void closeRuns() {
+        if (runs != null) {
+            for (SpillFile<Row> run : runs)
+                U.closeQuiet(run);
+
+            runs = null;
+        }
+
+        merge = null;
+    }
+
+    /** Current position in sorted sequence of rows. */
+    private static class RunCursor<Row> {
+        /** */
+        private final Iterator<Row> it;
+
+        /** Current row. */
+        private Row row;
+
+        /** */
+        private RunCursor(Iterator<Row> it) {
+            this.it = it;
+        }
+
+        /**
+         * Moves to the next row.
+         *
+         * @return {@code False} if there are no more rows.
+         */
+        private boolean advance() {
+            if (!it.hasNext())
+                return false;
+
+            row = it.next();
+
+            return true;
+        }
+    }
 }
@@ -21,7 +21,9 @@ import java.util.ArrayList;
 import java.util.List;
 import org.apache.calcite.rel.type.RelDataType;
 import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
+import org.apache.ignite.internal.processors.query.calcite.exec.SpillFile;
 import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.U;
 
 /**
  * Table spool node.
@@ -39,6 +41,12 @@ public class TableSpoolNode<Row> extends MemoryTrackingNode<Row> implements Sing
     /** Rows buffer. */
     private final List<Row> rows;
 
+    /** All stored rows, if rows are offloaded to disk due to memory quota is exceeded. */
+    private SpillFile<Row> spill;
+
+    /** Reader of offloaded rows, positioned at the current row. */
+    private SpillFile<Row>.Reader spillReader;
+
     /**
      * If {@code true} this spool should emit rows as soon as it stored.
      * If {@code false} the spool have to collect all rows from underlying input.
@@ -66,6 +74,19 @@ public class TableSpoolNode<Row> extends MemoryTrackingNode<Row> implements Sing
     @Override protected void rewindInternal() {
         requested = 0;
         rowIdx = 0;
+
+        if (spillReader != null) {
+            spillReader.close();
+
+            spillReader = null;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void closeInternal() {
+        U.closeQuiet(spill);
+
+        super.closeInternal();
     }
 
     /** {@inheritDoc} */
@@ -90,7 +111,7 @@ public class TableSpoolNode<Row> extends MemoryTrackingNode<Row> implements Sing
 
         requested += rowsCnt;
 
-        if ((waiting == -1 || rowIdx < rows.size()) && !inLoop)
+        if ((waiting == -1 || hasMoreRows()) && !inLoop)
             context().execute(this::doPush, this::onError);
         else if (waiting == 0)
             source().request(waiting = IN_BUFFER_SIZE);
@@ -107,8 +128,8 @@ public class TableSpoolNode<Row> extends MemoryTrackingNode<Row> implements Sing
         int processed = 0;
         inLoop = true;
         try {
-            while (requested > 0 && rowIdx < rows.size() && processed++ < IN_BUFFER_SIZE) {
-                downstream().push(rows.get(rowIdx));
+            while (requested > 0 && hasMoreRows() && processed++ < IN_BUFFER_SIZE) {
+                downstream().push(spill == null ? rows.get(rowIdx) : spilledRow());
 
                 rowIdx++;
                 requested--;
@@ -118,7 +139,7 @@ public class TableSpoolNode<Row> extends MemoryTrackingNode<Row> implements Sing
             inLoop = false;
         }
 
-        if (rowIdx >= rows.size() && waiting == -1 && requested > 0) {
+        if (!hasMoreRows() && waiting == -1 && requested > 0) {
             requested = 0;
             downstream().end();
         }
@@ -135,14 +156,19 @@ public class TableSpoolNode<Row> extends MemoryTrackingNode<Row> implements Sing
 
         waiting--;
 
-        rows.add(row);
+        if (spill != null)
+            spill.write(row);
+        else {
+            rows.add(row);
 
-        nodeMemoryTracker.onRowAdded(row);
+            if (!tryTrackRow(row))
+                spillRows();
+        }
 
         if (waiting == 0)
             source().request(waiting = IN_BUFFER_SIZE);
 
-        if (requested > 0 && rowIdx < rows.size())
+        if (requested > 0 && hasMoreRows())
             doPush();
     }
 
@@ -155,6 +181,39 @@ public class TableSpoolNode<Row> extends MemoryTrackingNode<Row> implements Sing
 
         waiting = -1;
 
+        if (spill != null)
+            spill.finishWrite();
+
         context().execute(this::doPush, this::onError);
     }
+
+    /** */
+    private boolean hasMoreRows() {
+        return rowIdx < (spill == null ? rows.size() : spill.size());
+    }
+
+    /** */
+    private Row spilledRow() {
+        if (spillReader == null) {
+            spillReader = spill.reader();
+
+            // Skip rows which have been already emitted.
+            for (int i = 0; i < rowIdx; i++)
+                spillReader.next();
+        }
+
+        return spillReader.next();
+    }
+
+    /** Moves all stored rows to disk, all subsequent rows will be written to disk too. */
+    private void spillRows() throws Exception {
+        spill = context().createSpillFile();
+
+        for (Row row : rows)
+            spill.write(row);
+
+        rows.clear();
+
+        nodeMemoryTracker.reset();
+    }
 }
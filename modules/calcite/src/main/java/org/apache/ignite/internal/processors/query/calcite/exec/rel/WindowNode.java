@@ -0,0 +1,305 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec.rel;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
+import org.apache.ignite.internal.processors.query.calcite.exec.RowHandler;
+import org.apache.ignite.internal.processors.query.calcite.exec.RowHandler.RowFactory;
+import org.apache.ignite.internal.processors.query.calcite.exec.exp.window.WindowFrame;
+import org.apache.ignite.internal.processors.query.calcite.exec.exp.window.WindowFunction;
+import org.apache.ignite.internal.processors.query.calcite.exec.exp.window.WindowPartition;
+import org.apache.ignite.internal.util.typedef.F;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Computes window functions over the input sorted by partition and order keys. Window functions are computed for
+ * a row as soon as all the rows required by the functions are received, so only a sliding range of the partition
+ * rows is buffered for ranking functions, {@code LAG} and {@code LEAD} with constant offsets and bounded
+ * {@code ROWS} frames. Functions over frames unbounded from above, {@code NTILE}, {@code PERCENT_RANK} and
+ * {@code CUME_DIST} require the whole partition to be buffered. Buffered rows are never offloaded to disk, the query
+ * fails if they exceed the memory quota.
+ */
+public class WindowNode<Row> extends MemoryTrackingNode<Row> implements SingleNode<Row>, Downstream<Row> {
+    /** Partition keys comparator, {@code null} if the whole input is a single partition. */
+    private final @Nullable Comparator<Row> partCmp;
+
+    /** Order keys comparator, {@code null} if all rows of a partition are peers. */
+    private final @Nullable Comparator<Row> peerCmp;
+
+    /** */
+    private final WindowFrame frame;
+
+    /** */
+    private final List<WindowFunction<Row>> functions;
+
+    /** */
+    private final RowFactory<Row> rowFactory;
+
+    /** Count of rows preceding the current row, which are required by the functions. */
+    private final int preceding;
+
+    /** Count of rows following the current row, which are required by the functions. */
+    private final int following;
+
+    /** Whether peers of the current row are required by the functions. */
+    private final boolean peers;
+
+    /** Rows of the current partition. */
+    private WindowPartition<Row> part;
+
+    /** Index of the next row of the current partition to compute window functions for. */
+    private int next;
+
+    /** */
+    private final Deque<Row> outBuf = new ArrayDeque<>(IN_BUFFER_SIZE);
+
+    /** */
+    private int requested;
+
+    /** */
+    private int waiting;
+
+    /**
+     * @param ctx Execution context.
+     * @param rowType Output row type.
+     * @param partCmp Partition keys comparator.
+     * @param peerCmp Order keys comparator.
+     * @param frame Window frame.
+     * @param functions Window functions.
+     * @param rowFactory Output row factory.
+     */
+    public WindowNode(
+        ExecutionContext<Row> ctx,
+        RelDataType rowType,
+        @Nullable Comparator<Row> partCmp,
+        @Nullable Comparator<Row> peerCmp,
+        WindowFrame frame,
+        List<WindowFunction<Row>> functions,
+        RowFactory<Row> rowFactory
+    ) {
+        super(ctx, rowType);
+
+        this.partCmp = partCmp;
+        this.peerCmp = peerCmp;
+        this.frame = frame;
+        this.functions = functions;
+        this.rowFactory = rowFactory;
+
+        preceding = functions.stream().mapToInt(WindowFunction::preceding).max().orElse(0);
+        following = functions.stream().mapToInt(WindowFunction::following).max().orElse(0);
+        peers = functions.stream().anyMatch(WindowFunction::peers);
+
+        part = new WindowPartition<>(peerCmp, frame);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void request(int rowsCnt) throws Exception {
+        assert !F.isEmpty(sources()) && sources().size() == 1;
+        assert rowsCnt > 0 && requested == 0;
+
+        checkState();
+
+        requested = rowsCnt;
+
+        if (!outBuf.isEmpty() || waiting < 0)
+            context().execute(this::flush, this::onError);
+        else if (waiting == 0) {
+            waiting = IN_BUFFER_SIZE;
+
+            source().request(IN_BUFFER_SIZE);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void push(Row row) throws Exception {
+        assert downstream() != null;
+        assert waiting > 0;
+
+        checkState();
+
+        waiting--;
+
+        if (part.size() > 0 && partCmp != null && partCmp.compare(part.last(), row) != 0) {
+            part.complete();
+
+            compute();
+
+            part.removeBefore(part.size(), nodeMemoryTracker::onRowRemoved);
+
+            part = new WindowPartition<>(peerCmp, frame);
+            next = 0;
+        }
+
+        trackRow(row);
+
+        part.add(row);
+
+        compute();
+
+        doPush();
+
+        if (waiting == 0 && requested > 0) {
+            waiting = IN_BUFFER_SIZE;
+
+            context().execute(() -> source().request(IN_BUFFER_SIZE), this::onError);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void end() throws Exception {
+        assert downstream() != null;
+        assert waiting > 0;
+
+        checkState();
+
+        waiting = -1;
+
+        part.complete();
+
+        compute();
+
+        doPush();
+
+        if (requested > 0 && outBuf.isEmpty()) {
+            requested = 0;
+
+            downstream().end();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void rewindInternal() {
+        requested = 0;
+        waiting = 0;
+        part = new WindowPartition<>(peerCmp, frame);
+        next = 0;
+        outBuf.clear();
+        nodeMemoryTracker.reset();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected Downstream<Row> requestDownstream(int idx) {
+        if (idx != 0)
+            throw new IndexOutOfBoundsException();
+
+        return this;
+    }
+
+    /**
+     * Computes window functions for the rows of the current partition, which have all the required rows received,
+     * moves result rows to the output buffer and removes rows, which are not required anymore.
+     */
+    private void compute() {
+        RowHandler<Row> hnd = context().rowHandler();
+
+        for (; next < part.size() && ready(next); next++) {
+            Row row = part.row(next);
+
+            int inCnt = hnd.columnCount(row);
+
+            Object[] fields = new Object[inCnt + functions.size()];
+
+            for (int j = 0; j < inCnt; j++)
+                fields[j] = hnd.get(j, row);
+
+            for (int j = 0; j < functions.size(); j++)
+                fields[inCnt + j] = functions.get(j).evaluate(part, next);
+
+            Row outRow = rowFactory.create(fields);
+
+            trackRow(outRow);
+
+            outBuf.add(outRow);
+        }
+
+        int keep = next - Math.min(next, preceding);
+
+        if (peers && part.size() > 0)
+            keep = Math.min(keep, part.peerStart(Math.min(next, part.size() - 1)));
+
+        part.removeBefore(keep, nodeMemoryTracker::onRowRemoved);
+    }
+
+    /**
+     * @param idx Row index.
+     * @return {@code True} if all the rows required to compute window functions for the row are received.
+     */
+    private boolean ready(int idx) {
+        if (part.isComplete())
+            return true;
+
+        return following < part.size() - idx && (!peers || part.peersAdded(idx));
+    }
+
+    /** */
+    private void trackRow(Row row) {
+        try {
+            nodeMemoryTracker.onRowAdded(row);
+        }
+        catch (IgniteException e) {
+            throw new IgniteException("Failed to compute window functions, rows of the window partition required " +
+                "to compute the functions exceed the memory quota [bufferedRows=" + part.kept() + ']', e);
+        }
+    }
+
+    /**
+     * Pushes buffered rows requested by the downstream, then requests more rows from the source or ends the
+     * downstream if the input is exhausted.
+     */
+    private void flush() throws Exception {
+        if (isClosed())
+            return;
+
+        checkState();
+
+        doPush();
+
+        if (requested == 0)
+            return;
+
+        if (waiting < 0) {
+            requested = 0;
+
+            downstream().end();
+        }
+        else if (waiting == 0) {
+            waiting = IN_BUFFER_SIZE;
+
+            source().request(IN_BUFFER_SIZE);
+        }
+    }
+
+    /** */
+    private void doPush() throws Exception {
+        while (requested > 0 && !outBuf.isEmpty()) {
+            requested--;
+
+            Row row = outBuf.poll();
+
+            nodeMemoryTracker.onRowRemoved(row);
+
+            downstream().push(row);
+        }
+    }
+}
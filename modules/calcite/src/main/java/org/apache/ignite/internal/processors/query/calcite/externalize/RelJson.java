@@ -648,7 +648,7 @@ class RelJson {
     }
 
     /** */
-    private RexWindowBound toRexWindowBound(RelInput input, Map<String, Object> map) {
+    RexWindowBound toRexWindowBound(RelInput input, Map<String, Object> map) {
         if (map == null)
             return null;
 
@@ -736,6 +736,7 @@ class RelJson {
         map.put("agg", toJson(node.getAggregation()));
         map.put("type", toJson(node.getType()));
         map.put("distinct", node.isDistinct());
+        map.put("approximate", node.isApproximate());
         map.put("operands", node.getArgList());
         map.put("filter", node.filterArg);
         map.put("name", node.getName());
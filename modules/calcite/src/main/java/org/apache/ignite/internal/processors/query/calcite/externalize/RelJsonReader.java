@@ -40,6 +40,7 @@ import org.apache.calcite.rel.core.AggregateCall;
 import org.apache.calcite.rel.type.RelDataType;
 import org.apache.calcite.rex.RexLiteral;
 import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexWindowBound;
 import org.apache.calcite.sql.SqlAggFunction;
 import org.apache.calcite.util.ImmutableBitSet;
 import org.apache.calcite.util.Pair;
@@ -291,6 +292,11 @@ public class RelJsonReader {
             return relJson.toSearchBoundList(this, (List<Map<String, Object>>)get(tag));
         }
 
+        /** {@inheritDoc} */
+        @Override public RexWindowBound getWindowBound(String tag) {
+            return relJson.toRexWindowBound(this, (Map<String, Object>)get(tag));
+        }
+
         /** {@inheritDoc} */
         @Override public RelDistribution getDistribution() {
             return relJson.toDistribution(get("distribution"));
@@ -329,12 +335,13 @@ public class RelJsonReader {
             Map<String, Object> aggMap = (Map)jsonAggCall.get("agg");
             SqlAggFunction aggregation = (SqlAggFunction)relJson.toOp(aggMap);
             Boolean distinct = (Boolean)jsonAggCall.get("distinct");
+            boolean approximate = Boolean.TRUE.equals(jsonAggCall.get("approximate"));
             List<Integer> operands = (List<Integer>)jsonAggCall.get("operands");
             Integer filterOperand = (Integer)jsonAggCall.get("filter");
             RelDataType type = relJson.toType(Commons.typeFactory(Commons.emptyCluster()), jsonAggCall.get("type"));
             String name = (String)jsonAggCall.get("name");
             RelCollation collation = relJson.toCollation((List<Map<String, Object>>)jsonAggCall.get("coll"));
-            return AggregateCall.create(aggregation, distinct, false, false, operands,
+            return AggregateCall.create(aggregation, distinct, approximate, false, operands,
                 filterOperand == null ? -1 : filterOperand, null, collation, type, name);
         }
     }
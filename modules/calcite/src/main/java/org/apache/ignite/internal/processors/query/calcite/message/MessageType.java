@@ -50,6 +50,12 @@ public enum MessageType {
     /** */
     GENERIC_VALUE_MESSAGE(307, GenericValueMessage::new),
 
+    /** */
+    QUERY_RUNTIME_FILTER_MESSAGE(308, RuntimeFilterMessage::new),
+
+    /** */
+    QUERY_ROW_COUNT_MESSAGE(309, QueryRowCountMessage::new),
+
     /** */
     FRAGMENT_MAPPING(350, FragmentMapping::new),
 
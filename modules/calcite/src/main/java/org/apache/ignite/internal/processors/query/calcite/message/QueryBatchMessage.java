@@ -21,9 +21,11 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.zip.Deflater;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.internal.GridDirectCollection;
 import org.apache.ignite.internal.GridDirectTransient;
+import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.plugin.extensions.communication.MessageCollectionItemType;
 import org.apache.ignite.plugin.extensions.communication.MessageReader;
 import org.apache.ignite.plugin.extensions.communication.MessageWriter;
@@ -55,18 +57,32 @@ public class QueryBatchMessage implements MarshalableMessage, ExecutionContextAw
     @GridDirectCollection(ValueMessage.class)
     private List<ValueMessage> mRows;
 
+    /** Marshalled and compressed rows, used instead of {@link #mRows} if compression is enabled. */
+    private byte[] compressedRows;
+
+    /** */
+    @GridDirectTransient
+    private boolean compress;
+
     /** */
     public QueryBatchMessage() {
     }
 
     /** */
     public QueryBatchMessage(UUID qryId, long fragmentId, long exchangeId, int batchId, boolean last, List<Object> rows) {
+        this(qryId, fragmentId, exchangeId, batchId, last, rows, false);
+    }
+
+    /** */
+    public QueryBatchMessage(UUID qryId, long fragmentId, long exchangeId, int batchId, boolean last, List<Object> rows,
+        boolean compress) {
         this.qryId = qryId;
         this.fragmentId = fragmentId;
         this.exchangeId = exchangeId;
         this.batchId = batchId;
         this.last = last;
         this.rows = rows;
+        this.compress = compress;
     }
 
     /** {@inheritDoc} */
@@ -109,9 +125,16 @@ public class QueryBatchMessage implements MarshalableMessage, ExecutionContextAw
 
     /** {@inheritDoc} */
     @Override public void prepareMarshal(MarshallingContext ctx) throws IgniteCheckedException {
-        if (mRows != null || rows == null)
+        if (mRows != null || compressedRows != null || rows == null)
             return;
 
+        if (compress && !rows.isEmpty()) {
+            // Rows are marshalled as a whole, so the compressor sees repeating values of all rows at once.
+            compressedRows = U.zip(ctx.marshal(rows), Deflater.BEST_SPEED);
+
+            return;
+        }
+
         mRows = new ArrayList<>(rows.size());
 
         for (Object row : rows) {
@@ -127,7 +150,16 @@ public class QueryBatchMessage implements MarshalableMessage, ExecutionContextAw
 
     /** {@inheritDoc} */
     @Override public void prepareUnmarshal(MarshallingContext ctx) throws IgniteCheckedException {
-        if (rows != null || mRows == null)
+        if (rows != null)
+            return;
+
+        if (compressedRows != null) {
+            rows = ctx.unmarshal(U.unzip(compressedRows));
+
+            return;
+        }
+
+        if (mRows == null)
             return;
 
         rows = new ArrayList<>(mRows.size());
@@ -160,30 +192,36 @@ public class QueryBatchMessage implements MarshalableMessage, ExecutionContextAw
                 writer.incrementState();
 
             case 1:
-                if (!writer.writeLong("exchangeId", exchangeId))
+                if (!writer.writeByteArray("compressedRows", compressedRows))
                     return false;
 
                 writer.incrementState();
 
             case 2:
-                if (!writer.writeLong("fragmentId", fragmentId))
+                if (!writer.writeLong("exchangeId", exchangeId))
                     return false;
 
                 writer.incrementState();
 
             case 3:
-                if (!writer.writeBoolean("last", last))
+                if (!writer.writeLong("fragmentId", fragmentId))
                     return false;
 
                 writer.incrementState();
 
             case 4:
-                if (!writer.writeCollection("mRows", mRows, MessageCollectionItemType.MSG))
+                if (!writer.writeBoolean("last", last))
                     return false;
 
                 writer.incrementState();
 
             case 5:
+                if (!writer.writeCollection("mRows", mRows, MessageCollectionItemType.MSG))
+                    return false;
+
+                writer.incrementState();
+
+            case 6:
                 if (!writer.writeUuid("queryId", qryId))
                     return false;
 
@@ -211,7 +249,7 @@ public class QueryBatchMessage implements MarshalableMessage, ExecutionContextAw
                 reader.incrementState();
 
             case 1:
-                exchangeId = reader.readLong("exchangeId");
+                compressedRows = reader.readByteArray("compressedRows");
 
                 if (!reader.isLastRead())
                     return false;
@@ -219,7 +257,7 @@ public class QueryBatchMessage implements MarshalableMessage, ExecutionContextAw
                 reader.incrementState();
 
             case 2:
-                fragmentId = reader.readLong("fragmentId");
+                exchangeId = reader.readLong("exchangeId");
 
                 if (!reader.isLastRead())
                     return false;
@@ -227,7 +265,7 @@ public class QueryBatchMessage implements MarshalableMessage, ExecutionContextAw
                 reader.incrementState();
 
             case 3:
-                last = reader.readBoolean("last");
+                fragmentId = reader.readLong("fragmentId");
 
                 if (!reader.isLastRead())
                     return false;
@@ -235,7 +273,7 @@ public class QueryBatchMessage implements MarshalableMessage, ExecutionContextAw
                 reader.incrementState();
 
             case 4:
-                mRows = reader.readCollection("mRows", MessageCollectionItemType.MSG);
+                last = reader.readBoolean("last");
 
                 if (!reader.isLastRead())
                     return false;
@@ -243,6 +281,14 @@ public class QueryBatchMessage implements MarshalableMessage, ExecutionContextAw
                 reader.incrementState();
 
             case 5:
+                mRows = reader.readCollection("mRows", MessageCollectionItemType.MSG);
+
+                if (!reader.isLastRead())
+                    return false;
+
+                reader.incrementState();
+
+            case 6:
                 qryId = reader.readUuid("queryId");
 
                 if (!reader.isLastRead())
@@ -262,6 +308,6 @@ public class QueryBatchMessage implements MarshalableMessage, ExecutionContextAw
 
     /** {@inheritDoc} */
     @Override public byte fieldsCount() {
-        return 6;
+        return 7;
     }
 }
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.message;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+import org.apache.ignite.plugin.extensions.communication.MessageReader;
+import org.apache.ignite.plugin.extensions.communication.MessageWriter;
+
+/**
+ * Count of rows produced by a table or index scan on a node, sent to the query initiator.
+ */
+public class QueryRowCountMessage implements CalciteMessage {
+    /** */
+    private UUID queryId;
+
+    /** */
+    private long sourceId;
+
+    /** */
+    private long rowsCnt;
+
+    /** */
+    public QueryRowCountMessage() {
+
+    }
+
+    /** */
+    public QueryRowCountMessage(UUID queryId, long sourceId, long rowsCnt) {
+        this.queryId = queryId;
+        this.sourceId = sourceId;
+        this.rowsCnt = rowsCnt;
+    }
+
+    /**
+     * @return Query ID.
+     */
+    public UUID queryId() {
+        return queryId;
+    }
+
+    /**
+     * @return Source ID of the scan.
+     */
+    public long sourceId() {
+        return sourceId;
+    }
+
+    /**
+     * @return Count of rows produced by the scan.
+     */
+    public long rowsCount() {
+        return rowsCnt;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean writeTo(ByteBuffer buf, MessageWriter writer) {
+        writer.setBuffer(buf);
+
+        if (!writer.isHeaderWritten()) {
+            if (!writer.writeHeader(directType(), fieldsCount()))
+                return false;
+
+            writer.onHeaderWritten();
+        }
+
+        switch (writer.state()) {
+            case 0:
+                if (!writer.writeUuid("queryId", queryId))
+                    return false;
+
+                writer.incrementState();
+
+            case 1:
+                if (!writer.writeLong("rowsCnt", rowsCnt))
+                    return false;
+
+                writer.incrementState();
+
+            case 2:
+                if (!writer.writeLong("sourceId", sourceId))
+                    return false;
+
+                writer.incrementState();
+
+        }
+
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean readFrom(ByteBuffer buf, MessageReader reader) {
+        reader.setBuffer(buf);
+
+        if (!reader.beforeMessageRead())
+            return false;
+
+        switch (reader.state()) {
+            case 0:
+                queryId = reader.readUuid("queryId");
+
+                if (!reader.isLastRead())
+                    return false;
+
+                reader.incrementState();
+
+            case 1:
+                rowsCnt = reader.readLong("rowsCnt");
+
+                if (!reader.isLastRead())
+                    return false;
+
+                reader.incrementState();
+
+            case 2:
+                sourceId = reader.readLong("sourceId");
+
+                if (!reader.isLastRead())
+                    return false;
+
+                reader.incrementState();
+
+        }
+
+        return reader.afterMessageRead(QueryRowCountMessage.class);
+    }
+
+    /** {@inheritDoc} */
+    @Override public MessageType type() {
+        return MessageType.QUERY_ROW_COUNT_MESSAGE;
+    }
+
+    /** {@inheritDoc} */
+    @Override public byte fieldsCount() {
+        return 3;
+    }
+}
@@ -247,6 +247,25 @@ public class ColocationGroup implements MarshalableMessage {
         return parts.array();
     }
 
+    /**
+     * Returns a group, which has only the given partitions assigned to the given node.
+     *
+     * @param nodeId Cluster node ID.
+     * @param parts Partitions to keep.
+     * @return Colocation group.
+     */
+    public ColocationGroup withPartitions(UUID nodeId, int[] parts) {
+        List<List<UUID>> assignments = new ArrayList<>(
+            Collections.nCopies(this.assignments.size(), Collections.<UUID>emptyList()));
+
+        List<UUID> assignment = Collections.singletonList(nodeId);
+
+        for (int part : parts)
+            assignments.set(part, assignment);
+
+        return new ColocationGroup(sourceIds, nodeIds, assignments);
+    }
+
     /** {@inheritDoc} */
     @Override public MessageType type() {
         return MessageType.COLOCATION_GROUP;
@@ -18,10 +18,12 @@
 package org.apache.ignite.internal.processors.query.calcite.metadata;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.math.MathContext;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import org.apache.calcite.plan.Context;
 import org.apache.calcite.plan.RelOptUtil;
 import org.apache.calcite.plan.volcano.RelSubset;
 import org.apache.calcite.rel.RelNode;
@@ -33,6 +35,7 @@ import org.apache.calcite.rel.metadata.RelMetadataProvider;
 import org.apache.calcite.rel.metadata.RelMetadataQuery;
 import org.apache.calcite.rel.type.RelDataType;
 import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexDynamicParam;
 import org.apache.calcite.rex.RexInputRef;
 import org.apache.calcite.rex.RexLiteral;
 import org.apache.calcite.rex.RexLocalRef;
@@ -49,6 +52,8 @@ import org.apache.calcite.util.DateString;
 import org.apache.calcite.util.TimeString;
 import org.apache.calcite.util.TimestampString;
 import org.apache.ignite.internal.processors.query.QueryUtils;
+import org.apache.ignite.internal.processors.query.calcite.prepare.ParametersSelectivity;
+import org.apache.ignite.internal.processors.query.calcite.prepare.PlanningContext;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteExchange;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteHashIndexSpool;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteSortedIndexSpool;
@@ -59,6 +64,7 @@ import org.apache.ignite.internal.processors.query.calcite.schema.IgniteStatisti
 import org.apache.ignite.internal.processors.query.calcite.schema.IgniteTable;
 import org.apache.ignite.internal.processors.query.calcite.util.RexUtils;
 import org.apache.ignite.internal.processors.query.stat.ColumnStatistics;
+import org.apache.ignite.internal.util.typedef.F;
 import org.jetbrains.annotations.Nullable;
 
 /** */
@@ -258,7 +264,7 @@ public class IgniteMdSelectivity extends RelMdSelectivity {
 
                 assert pred instanceof RexCall;
 
-                sel *= estimateRangeSelectivity(colStat, (RexCall)pred);
+                sel *= estimateRangeSelectivity(rel, colStat, (RexCall)pred);
             }
             else
                 sel *= .25;
@@ -357,11 +363,17 @@ public class IgniteMdSelectivity extends RelMdSelectivity {
     /**
      * Estimate range selectivity based on predicate.
      *
+     * @param rel Table scan the predicate related to.
      * @param colStat Column statistics to use.
      * @param pred  Condition.
      * @return Selectivity.
      */
-    private double estimateRangeSelectivity(ColumnStatistics colStat, RexCall pred) {
+    private double estimateRangeSelectivity(ProjectableFilterableTableScan rel, ColumnStatistics colStat, RexCall pred) {
+        RexNode operand = RexUtil.removeCast(pred.getOperands().get(1));
+
+        if (operand instanceof RexDynamicParam)
+            return estimateParameterSelectivity(rel, colStat, pred, (RexDynamicParam)operand);
+
         RexLiteral literal = null;
 
         if (pred.getOperands().get(1) instanceof RexLiteral)
@@ -375,6 +387,73 @@ public class IgniteMdSelectivity extends RelMdSelectivity {
         return estimateSelectivity(colStat, val, pred);
     }
 
+    /**
+     * Estimate range selectivity with a dynamic parameter by the parameter value the query is planned for. The
+     * estimation is registered in the planning context, so the plan is reused only for values of similar selectivity.
+     *
+     * @param rel Table scan the predicate related to.
+     * @param colStat Column statistics to use.
+     * @param pred Condition.
+     * @param param Dynamic parameter.
+     * @return Selectivity.
+     */
+    private double estimateParameterSelectivity(
+        ProjectableFilterableTableScan rel,
+        ColumnStatistics colStat,
+        RexCall pred,
+        RexDynamicParam param
+    ) {
+        Context ctx = rel.getCluster().getPlanner().getContext();
+        PlanningContext planningCtx = ctx == null ? null : ctx.unwrap(PlanningContext.class);
+        Object[] params = planningCtx == null ? null : planningCtx.parameters();
+
+        if (params == null || param.getIndex() >= params.length)
+            return guessSelectivity(pred);
+
+        BigDecimal val = toComparableValue(params[param.getIndex()]);
+
+        if (val == null)
+            return guessSelectivity(pred);
+
+        // Range selectivity depends on the comparison and the column bounds only.
+        planningCtx.parameterProbe(F.asList(param.getIndex(), pred.getKind(), colStat.min(), colStat.max()),
+            new ParametersSelectivity.Probe(param.getIndex(), v -> {
+                BigDecimal val0 = toComparableValue(v);
+
+                return val0 == null ? Double.NaN : estimateSelectivity(colStat, val0, pred);
+            }));
+
+        return estimateSelectivity(colStat, val, pred);
+    }
+
+    /**
+     * Convert specified dynamic parameter value into comparable type.
+     *
+     * @param val Parameter value.
+     * @return Comparable form of value or {@code null} if the value isn't a number or a boolean.
+     */
+    private static @Nullable BigDecimal toComparableValue(@Nullable Object val) {
+        if (val instanceof BigDecimal)
+            return (BigDecimal)val;
+
+        if (val instanceof BigInteger)
+            return new BigDecimal((BigInteger)val);
+
+        if (val instanceof Double || val instanceof Float) {
+            double d = ((Number)val).doubleValue();
+
+            return Double.isFinite(d) ? BigDecimal.valueOf(d) : null;
+        }
+
+        if (val instanceof Number)
+            return BigDecimal.valueOf(((Number)val).longValue());
+
+        if (val instanceof Boolean)
+            return (Boolean)val ? BigDecimal.ONE : BigDecimal.ZERO;
+
+        return null;
+    }
+
     /**
      * Estimate range selectivity based on predicate, condition and column statistics.
      *
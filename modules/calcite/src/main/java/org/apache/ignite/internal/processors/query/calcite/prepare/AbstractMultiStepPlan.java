@@ -17,17 +17,22 @@
 
 package org.apache.ignite.internal.processors.query.calcite.prepare;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import org.apache.calcite.plan.RelOptTable;
+import org.apache.calcite.rel.RelNode;
 import org.apache.ignite.internal.processors.query.calcite.metadata.ColocationGroup;
 import org.apache.ignite.internal.processors.query.calcite.metadata.FragmentMapping;
 import org.apache.ignite.internal.processors.query.calcite.metadata.MappingService;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteReceiver;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteSender;
+import org.apache.ignite.internal.processors.query.calcite.schema.IgniteTable;
 import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.T2;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.jetbrains.annotations.Nullable;
 
@@ -47,6 +52,9 @@ public abstract class AbstractMultiStepPlan extends AbstractQueryPlan implements
     /** */
     protected ExecutionPlan executionPlan;
 
+    /** Selectivity buckets and row count estimations of the scans the plan is built with, by scan key. */
+    protected Map<String, T2<Integer, Double>> scanEstimates = Collections.emptyMap();
+
     /** */
     protected AbstractMultiStepPlan(
         String qry,
@@ -105,11 +113,52 @@ public abstract class AbstractMultiStepPlan extends AbstractQueryPlan implements
         return res;
     }
 
+    /** {@inheritDoc} */
+    @Override public @Nullable T2<Integer, Double> scanEstimate(String scanKey) {
+        return scanEstimates.get(scanKey);
+    }
+
+    /**
+     * @param scanEstimates Selectivity buckets and row count estimations of the scans the plan is built with, by
+     * scan key.
+     */
+    public void scanEstimates(Map<String, T2<Integer, Double>> scanEstimates) {
+        this.scanEstimates = scanEstimates;
+    }
+
     /** {@inheritDoc} */
     @Override public void init(MappingService mappingService, MappingQueryContext ctx) {
         executionPlan = queryTemplate.map(mappingService, ctx);
     }
 
+    /**
+     * @param tbl Table.
+     * @return {@code True} if the plan reads or modifies the table.
+     */
+    public boolean usesTable(IgniteTable tbl) {
+        for (Fragment fragment : queryTemplate.fragments()) {
+            if (usesTable(fragment.root(), tbl))
+                return true;
+        }
+
+        return false;
+    }
+
+    /** */
+    private static boolean usesTable(RelNode rel, IgniteTable tbl) {
+        RelOptTable relTbl = rel.getTable();
+
+        if (relTbl != null && relTbl.unwrap(IgniteTable.class) == tbl)
+            return true;
+
+        for (RelNode input : rel.getInputs()) {
+            if (usesTable(input, tbl))
+                return true;
+        }
+
+        return false;
+    }
+
     /** */
     private FragmentMapping mapping(long fragmentId) {
         return Objects.requireNonNull(executionPlan).fragments().stream()
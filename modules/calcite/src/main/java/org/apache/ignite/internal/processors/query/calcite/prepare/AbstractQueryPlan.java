@@ -17,6 +17,8 @@
 
 package org.apache.ignite.internal.processors.query.calcite.prepare;
 
+import org.jetbrains.annotations.Nullable;
+
 /**
  * Abstract query plan.
  */
@@ -24,6 +26,9 @@ public abstract class AbstractQueryPlan implements QueryPlan {
     /** */
     private final String qry;
 
+    /** */
+    private ParametersSelectivity paramsSelectivity;
+
     /** */
     protected AbstractQueryPlan(String qry) {
         this.qry = qry;
@@ -33,4 +38,16 @@ public abstract class AbstractQueryPlan implements QueryPlan {
     @Override public String query() {
         return qry;
     }
+
+    /** {@inheritDoc} */
+    @Override public @Nullable ParametersSelectivity parametersSelectivity() {
+        return paramsSelectivity;
+    }
+
+    /**
+     * @param paramsSelectivity Selectivity of the parameters the plan is built for.
+     */
+    public void parametersSelectivity(@Nullable ParametersSelectivity paramsSelectivity) {
+        this.paramsSelectivity = paramsSelectivity;
+    }
 }
@@ -45,9 +45,12 @@ import org.apache.calcite.sql.SqlNode;
 import org.apache.calcite.sql.SqlNodeList;
 import org.apache.calcite.sql.SqlOperatorTable;
 import org.apache.calcite.sql.SqlSelect;
+import org.apache.calcite.sql.SqlSelectKeyword;
 import org.apache.calcite.sql.SqlUpdate;
 import org.apache.calcite.sql.SqlUtil;
+import org.apache.calcite.sql.SqlWindow;
 import org.apache.calcite.sql.dialect.CalciteSqlDialect;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
 import org.apache.calcite.sql.parser.SqlParserPos;
 import org.apache.calcite.sql.type.FamilyOperandTypeChecker;
 import org.apache.calcite.sql.type.SqlOperandTypeChecker;
@@ -63,9 +66,11 @@ import org.apache.calcite.sql.validate.SqlValidatorTable;
 import org.apache.calcite.sql.validate.SqlValidatorUtil;
 import org.apache.calcite.util.Static;
 import org.apache.ignite.internal.processors.query.QueryUtils;
+import org.apache.ignite.internal.processors.query.calcite.exec.exp.window.WindowFunctions;
 import org.apache.ignite.internal.processors.query.calcite.schema.CacheTableDescriptor;
 import org.apache.ignite.internal.processors.query.calcite.schema.IgniteCacheTable;
 import org.apache.ignite.internal.processors.query.calcite.schema.IgniteTable;
+import org.apache.ignite.internal.processors.query.calcite.sql.fun.IgniteOwnSqlOperatorTable;
 import org.apache.ignite.internal.processors.query.calcite.type.IgniteTypeFactory;
 import org.apache.ignite.internal.processors.query.calcite.util.IgniteResource;
 import org.apache.ignite.internal.util.typedef.F;
@@ -278,10 +283,91 @@ public class IgniteSqlValidator extends SqlValidatorImpl {
             if (isSystemFieldName(alias))
                 throw newValidationError(call, IgniteResource.INSTANCE.illegalAlias(alias));
         }
+        else if (call.getKind() == SqlKind.OVER && call.operand(0) instanceof SqlCall)
+            validateWindowCall(call.operand(0));
 
         super.validateCall(call, scope);
     }
 
+    /** {@inheritDoc} */
+    @Override public void validateWindow(SqlNode windowOrId, SqlValidatorScope scope, @Nullable SqlCall call) {
+        SqlWindow win = windowOrId instanceof SqlIdentifier
+            ? getWindowByName((SqlIdentifier)windowOrId, scope)
+            : (SqlWindow)windowOrId;
+
+        // Window order keys don't get the default null collation on conversion, make it explicit the same
+        // way as it's done for ORDER BY, so a window over the sorted input doesn't require one more sort.
+        if (win != null && !F.isEmpty(win.getOrderList())) {
+            SqlNodeList orderList = new SqlNodeList(win.getOrderList().getParserPosition());
+
+            for (SqlNode order : win.getOrderList()) {
+                if (order.getKind() != SqlKind.NULLS_FIRST && order.getKind() != SqlKind.NULLS_LAST) {
+                    boolean desc = order.getKind() == SqlKind.DESCENDING;
+
+                    order = (config().defaultNullCollation().last(desc)
+                        ? SqlStdOperatorTable.NULLS_LAST
+                        : SqlStdOperatorTable.NULLS_FIRST).createCall(order.getParserPosition(), order);
+                }
+
+                orderList.add(order);
+            }
+
+            win.setOrderList(orderList);
+        }
+
+        super.validateWindow(windowOrId, scope, call);
+
+        if (win != null)
+            validateWindowFrame(win);
+    }
+
+    /**
+     * Checks that the function called over a window is supported by the execution.
+     *
+     * @param call Window function call.
+     */
+    private void validateWindowCall(SqlCall call) {
+        String name = call.getOperator().getName();
+
+        if (!WindowFunctions.supported(call.getKind()))
+            throw newValidationError(call, IgniteResource.INSTANCE.unsupportedWindowFunction(name));
+
+        SqlLiteral quantifier = call.getFunctionQuantifier();
+
+        if (quantifier != null && quantifier.getValue() == SqlSelectKeyword.DISTINCT)
+            throw newValidationError(call, IgniteResource.INSTANCE.unsupportedWindowFunction("DISTINCT " + name));
+
+        // Aggregates are computed by accumulators over the input columns only.
+        if (WindowFunctions.aggregate(call.getKind())) {
+            for (SqlNode operand : call.getOperandList()) {
+                if (operand instanceof SqlLiteral)
+                    throw newValidationError(operand,
+                        IgniteResource.INSTANCE.unsupportedWindowFunction(name + " with a constant argument"));
+            }
+        }
+    }
+
+    /**
+     * Checks that the window frame is supported by the execution.
+     *
+     * @param win Window.
+     */
+    private void validateWindowFrame(SqlWindow win) {
+        for (SqlNode bound : Arrays.asList(win.getLowerBound(), win.getUpperBound())) {
+            if (bound == null || SqlWindow.isUnboundedPreceding(bound) || SqlWindow.isUnboundedFollowing(bound)
+                || SqlWindow.isCurrentRow(bound))
+                continue;
+
+            if (!win.isRows())
+                throw newValidationError(bound,
+                    IgniteResource.INSTANCE.unsupportedWindowFrame("RANGE frame with an offset"));
+
+            if (!(((SqlCall)bound).operand(0) instanceof SqlLiteral))
+                throw newValidationError(bound,
+                    IgniteResource.INSTANCE.unsupportedWindowFrame("ROWS frame with a non-literal offset"));
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public String deriveAlias(SqlNode node, int ordinal) {
         if (node.isA(HUMAN_READABLE_ALIASES_FOR)) {
@@ -308,6 +394,14 @@ public class IgniteSqlValidator extends SqlValidatorImpl {
 
     /** {@inheritDoc} */
     @Override protected SqlNode performUnconditionalRewrites(SqlNode node, boolean underFrom) {
+        // Null treatment operators aren't registered in the operator table, so they are handled before the lookup.
+        if (node != null && node.getKind() == SqlKind.IGNORE_NULLS)
+            throw newValidationError(node, IgniteResource.INSTANCE.unsupportedWindowFunction("IGNORE NULLS"));
+
+        // RESPECT NULLS is the default behaviour.
+        if (node != null && node.getKind() == SqlKind.RESPECT_NULLS)
+            node = ((SqlCall)node).operand(0);
+
         // Workaround for https://issues.apache.org/jira/browse/CALCITE-4923
         if (node instanceof SqlSelect) {
             SqlSelect select = (SqlSelect)node;
@@ -381,10 +475,6 @@ public class IgniteSqlValidator extends SqlValidatorImpl {
 
     /** */
     private void validateAggregateFunction(SqlCall call, SqlAggFunction aggFunction) {
-        if (!SqlKind.AGGREGATE.contains(aggFunction.kind))
-            throw newValidationError(call,
-                IgniteResource.INSTANCE.unsupportedAggregationFunction(aggFunction.getName()));
-
         switch (aggFunction.kind) {
             case COUNT:
                 if (call.operandCount() > 1)
@@ -401,6 +491,23 @@ public class IgniteSqlValidator extends SqlValidatorImpl {
             case GROUP_CONCAT:
             case LISTAGG:
             case STRING_AGG:
+            case ROW_NUMBER:
+            case RANK:
+            case DENSE_RANK:
+            case PERCENT_RANK:
+            case CUME_DIST:
+            case NTILE:
+            case LAG:
+            case LEAD:
+            case FIRST_VALUE:
+            case LAST_VALUE:
+            case NTH_VALUE:
+                return;
+            case OTHER_FUNCTION:
+                if (aggFunction != IgniteOwnSqlOperatorTable.APPROX_PERCENTILE)
+                    throw newValidationError(call,
+                        IgniteResource.INSTANCE.unsupportedAggregationFunction(aggFunction.getName()));
+
                 return;
             default:
                 throw newValidationError(call,
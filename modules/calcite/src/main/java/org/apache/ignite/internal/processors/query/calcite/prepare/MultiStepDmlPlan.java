@@ -42,6 +42,10 @@ public class MultiStepDmlPlan extends AbstractMultiStepPlan {
 
     /** {@inheritDoc} */
     @Override public QueryPlan copy() {
-        return new MultiStepDmlPlan(query(), queryTemplate, fieldsMetadata, paramsMetadata);
+        MultiStepDmlPlan plan = new MultiStepDmlPlan(query(), queryTemplate, fieldsMetadata, paramsMetadata);
+
+        plan.scanEstimates(scanEstimates);
+
+        return plan;
     }
 }
@@ -23,6 +23,9 @@ import java.util.UUID;
 import org.apache.ignite.internal.processors.query.calcite.metadata.ColocationGroup;
 import org.apache.ignite.internal.processors.query.calcite.metadata.FragmentMapping;
 import org.apache.ignite.internal.processors.query.calcite.metadata.MappingService;
+import org.apache.ignite.internal.processors.query.calcite.rel.ProjectableFilterableTableScan;
+import org.apache.ignite.internal.util.typedef.T2;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Regular query or DML
@@ -55,6 +58,13 @@ public interface MultiStepPlan extends QueryPlan {
     /** */
     Map<Long, List<UUID>> remotes(Fragment fragment);
 
+    /**
+     * @param scanKey Key of the scan, see {@link ProjectableFilterableTableScan#rowCountKey()}.
+     * @return Selectivity bucket of the scan condition and row count estimation the plan is built with or
+     * {@code null} if unknown.
+     */
+    @Nullable T2<Integer, Double> scanEstimate(String scanKey);
+
     /**
      * Inits query fragments.
      *
@@ -42,6 +42,10 @@ public class MultiStepQueryPlan extends AbstractMultiStepPlan {
 
     /** {@inheritDoc} */
     @Override public QueryPlan copy() {
-        return new MultiStepQueryPlan(query(), queryTemplate, fieldsMetadata, paramsMetadata);
+        MultiStepQueryPlan plan = new MultiStepQueryPlan(query(), queryTemplate, fieldsMetadata, paramsMetadata);
+
+        plan.scanEstimates(scanEstimates);
+
+        return plan;
     }
 }
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.prepare;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+/**
+ * Selectivity of the conditions with dynamic parameters a plan is built for. The cheapest plan depends on the
+ * parameter values, for example an index scan is preferred for a narrow range and a table scan for a wide one,
+ * so a cached plan is reused only for parameters of similar selectivity.
+ */
+public class ParametersSelectivity {
+    /** Upper bounds of selectivity buckets, parameters with selectivity in the same bucket share a plan. */
+    private static final double[] BUCKETS = {0.001, 0.01, 0.1, 0.5};
+
+    /** */
+    private final List<Probe> probes;
+
+    /** Buckets of the parameters the plan is built for. */
+    private final int[] buckets;
+
+    /**
+     * @param probes Selectivity estimators of the conditions with dynamic parameters.
+     * @param params Parameters the plan is built for.
+     */
+    public ParametersSelectivity(Collection<Probe> probes, Object[] params) {
+        this.probes = new ArrayList<>(probes);
+
+        buckets = new int[this.probes.size()];
+
+        for (int i = 0; i < buckets.length; i++)
+            buckets[i] = this.probes.get(i).bucket(params);
+    }
+
+    /**
+     * @param params Query parameters.
+     * @return {@code True} if selectivity of the given parameters falls into the same buckets as selectivity of the
+     * parameters the plan is built for.
+     */
+    public boolean matches(Object[] params) {
+        for (int i = 0; i < buckets.length; i++) {
+            if (probes.get(i).bucket(params) != buckets[i])
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * @param sel Selectivity.
+     * @return Bucket index.
+     */
+    public static int bucket(double sel) {
+        int bucket = 0;
+
+        while (bucket < BUCKETS.length && sel >= BUCKETS[bucket])
+            bucket++;
+
+        return bucket;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(ParametersSelectivity.class, this);
+    }
+
+    /**
+     * Selectivity estimator of a condition with a dynamic parameter.
+     */
+    public static class Probe {
+        /** */
+        private final int paramIdx;
+
+        /** Estimates selectivity by the parameter value, returns {@code NaN} if the value can't be estimated. */
+        private final ToDoubleFunction<Object> estimator;
+
+        /**
+         * @param paramIdx Parameter index.
+         * @param estimator Estimates selectivity by the parameter value, returns {@code NaN} if the value can't be
+         *      estimated.
+         */
+        public Probe(int paramIdx, ToDoubleFunction<Object> estimator) {
+            this.paramIdx = paramIdx;
+            this.estimator = estimator;
+        }
+
+        /**
+         * @param params Query parameters.
+         * @return Bucket of the parameter selectivity, {@code -1} if the selectivity is unknown.
+         */
+        private int bucket(Object[] params) {
+            if (params == null || paramIdx >= params.length)
+                return -1;
+
+            double sel = estimator.applyAsDouble(params[paramIdx]);
+
+            return Double.isNaN(sel) ? -1 : ParametersSelectivity.bucket(sel);
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return S.toString(Probe.class, this);
+        }
+    }
+}
@@ -17,6 +17,8 @@
 
 package org.apache.ignite.internal.processors.query.calcite.prepare;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import org.apache.calcite.plan.Context;
@@ -30,9 +32,12 @@ import org.apache.calcite.sql.validate.SqlConformance;
 import org.apache.calcite.tools.FrameworkConfig;
 import org.apache.calcite.tools.RuleSet;
 import org.apache.calcite.util.CancelFlag;
+import org.apache.ignite.internal.processors.query.calcite.rel.ProjectableFilterableTableScan;
 import org.apache.ignite.internal.processors.query.calcite.type.IgniteTypeFactory;
+import org.apache.ignite.internal.util.typedef.T2;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Planning context.
@@ -62,6 +67,12 @@ public final class PlanningContext implements Context {
     /** */
     private final long plannerTimeout;
 
+    /** Selectivity estimators of the conditions with dynamic parameters, by condition. */
+    private final Map<Object, ParametersSelectivity.Probe> paramProbes = new ConcurrentHashMap<>();
+
+    /** Selectivity buckets and row count estimations of the scans, by scan key. */
+    private final Map<String, T2<Integer, Double>> scanEstimates = new ConcurrentHashMap<>();
+
     /**
      * Private constructor, used by a builder.
      */
@@ -94,6 +105,43 @@ public final class PlanningContext implements Context {
         return parameters;
     }
 
+    /**
+     * Registers selectivity estimator of a condition with a dynamic parameter. The plan is reused only for parameters
+     * of the same selectivity as the parameters it's built for.
+     *
+     * @param key Condition key, an estimator is registered once per key.
+     * @param probe Selectivity estimator.
+     */
+    public void parameterProbe(Object key, ParametersSelectivity.Probe probe) {
+        paramProbes.putIfAbsent(key, probe);
+    }
+
+    /**
+     * @return Selectivity of the parameters the query is planned for or {@code null} if no plan alternative cost
+     * depends on the parameter values.
+     */
+    public @Nullable ParametersSelectivity parametersSelectivity() {
+        return paramProbes.isEmpty() ? null : new ParametersSelectivity(paramProbes.values(), parameters);
+    }
+
+    /**
+     * Registers row count estimation of a scan, so the count the scan produces at runtime can be compared with it.
+     *
+     * @param scanKey Key of the scan, see {@link ProjectableFilterableTableScan#rowCountKey()}.
+     * @param selBucket Selectivity bucket of the scan condition.
+     * @param rowCnt Estimated row count.
+     */
+    public void scanEstimate(String scanKey, int selBucket, double rowCnt) {
+        scanEstimates.put(scanKey, new T2<>(selBucket, rowCnt));
+    }
+
+    /**
+     * @return Selectivity buckets and row count estimations of the scans, by scan key.
+     */
+    public Map<String, T2<Integer, Double>> scanEstimates() {
+        return scanEstimates;
+    }
+
     // Helper methods
     /**
      * @return Sql conformance.
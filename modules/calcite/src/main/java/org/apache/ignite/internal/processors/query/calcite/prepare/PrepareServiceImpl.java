@@ -132,7 +132,11 @@ public class PrepareServiceImpl extends AbstractService implements PrepareServic
 
         String plan = RelOptUtil.toString(igniteRel, SqlExplainLevel.ALL_ATTRIBUTES);
 
-        return new ExplainPlan(ctx.query(), plan, explainFieldsMetadata(ctx));
+        ExplainPlan explainPlan = new ExplainPlan(ctx.query(), plan, explainFieldsMetadata(ctx));
+
+        explainPlan.parametersSelectivity(ctx.parametersSelectivity());
+
+        return explainPlan;
     }
 
     /** */
@@ -159,8 +163,13 @@ public class PrepareServiceImpl extends AbstractService implements PrepareServic
 
         QueryTemplate template = new QueryTemplate(fragments);
 
-        return new MultiStepQueryPlan(ctx.query(), template,
+        MultiStepQueryPlan plan = new MultiStepQueryPlan(ctx.query(), template,
             queryFieldsMetadata(ctx, validated.dataType(), validated.origins()), params);
+
+        plan.parametersSelectivity(ctx.parametersSelectivity());
+        plan.scanEstimates(ctx.scanEstimates());
+
+        return plan;
     }
 
     /** */
@@ -181,8 +190,13 @@ public class PrepareServiceImpl extends AbstractService implements PrepareServic
 
         QueryTemplate template = new QueryTemplate(fragments);
 
-        return new MultiStepDmlPlan(ctx.query(), template,
+        MultiStepDmlPlan plan = new MultiStepDmlPlan(ctx.query(), template,
             queryFieldsMetadata(ctx, igniteRel.getRowType(), null), params);
+
+        plan.parametersSelectivity(ctx.parametersSelectivity());
+        plan.scanEstimates(ctx.scanEstimates());
+
+        return plan;
     }
 
     /** */
@@ -17,6 +17,8 @@
 
 package org.apache.ignite.internal.processors.query.calcite.prepare;
 
+import org.jetbrains.annotations.Nullable;
+
 /**
  *
  */
@@ -38,4 +40,9 @@ public interface QueryPlan {
      * Source query.
      */
     String query();
+
+    /**
+     * @return Selectivity of the parameters the plan is built for or {@code null} if the plan suits any parameters.
+     */
+    @Nullable ParametersSelectivity parametersSelectivity();
 }
@@ -18,6 +18,7 @@
 package org.apache.ignite.internal.processors.query.calcite.prepare;
 
 import java.util.function.Supplier;
+import org.apache.ignite.internal.processors.query.calcite.schema.IgniteTable;
 import org.apache.ignite.internal.processors.query.calcite.util.Service;
 
 /**
@@ -26,19 +27,28 @@ import org.apache.ignite.internal.processors.query.calcite.util.Service;
 public interface QueryPlanCache extends Service {
     /**
      * @param key Cache key.
+     * @param params Query parameters, used to choose a plan variant built for parameters of similar selectivity.
      * @param planSupplier Factory method to generate a plan on cache miss.
      * @return Query plan.
      */
-    QueryPlan queryPlan(CacheKey key, Supplier<QueryPlan> planSupplier);
+    QueryPlan queryPlan(CacheKey key, Object[] params, Supplier<QueryPlan> planSupplier);
 
     /**
      * @param key Cache key.
+     * @param params Query parameters, used to choose a plan variant built for parameters of similar selectivity.
      * @return Query plan.
      */
-    QueryPlan queryPlan(CacheKey key);
+    QueryPlan queryPlan(CacheKey key, Object[] params);
 
     /**
      * Clear cache.
      */
     void clear();
+
+    /**
+     * Removes plans which use the table.
+     *
+     * @param tbl Table.
+     */
+    void invalidate(IgniteTable tbl);
 }
@@ -17,6 +17,8 @@
 
 package org.apache.ignite.internal.processors.query.calcite.prepare;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
@@ -24,11 +26,13 @@ import org.apache.ignite.internal.GridKernalContext;
 import org.apache.ignite.internal.processors.cache.GridCacheContextInfo;
 import org.apache.ignite.internal.processors.query.GridQueryTypeDescriptor;
 import org.apache.ignite.internal.processors.query.QueryField;
+import org.apache.ignite.internal.processors.query.calcite.schema.IgniteTable;
 import org.apache.ignite.internal.processors.query.calcite.util.AbstractService;
 import org.apache.ignite.internal.processors.query.schema.AbstractSchemaChangeListener;
 import org.apache.ignite.internal.processors.query.schema.management.IndexDescriptor;
 import org.apache.ignite.internal.processors.subscription.GridInternalSubscriptionProcessor;
 import org.apache.ignite.internal.util.GridBoundedConcurrentLinkedHashMap;
+import org.jetbrains.annotations.Nullable;
 
 /**
  *
@@ -37,11 +41,14 @@ public class QueryPlanCacheImpl extends AbstractService implements QueryPlanCach
     /** */
     private static final int CACHE_SIZE = 1024;
 
+    /** Maximum count of plans of a query, built for parameters of different selectivity. */
+    private static final int MAX_VARIANTS = 4;
+
     /** */
     private GridInternalSubscriptionProcessor subscriptionProcessor;
 
     /** */
-    private volatile Map<CacheKey, QueryPlan> cache;
+    private volatile Map<CacheKey, PlanVariants> cache;
 
     /**
      * @param ctx Kernal context.
@@ -73,18 +80,24 @@ public class QueryPlanCacheImpl extends AbstractService implements QueryPlanCach
     }
 
     /** {@inheritDoc} */
-    @Override public QueryPlan queryPlan(CacheKey key, Supplier<QueryPlan> planSupplier) {
-        Map<CacheKey, QueryPlan> cache = this.cache;
+    @Override public QueryPlan queryPlan(CacheKey key, Object[] params, Supplier<QueryPlan> planSupplier) {
+        Map<CacheKey, PlanVariants> cache = this.cache;
+
+        PlanVariants variants = cache.computeIfAbsent(key, k -> new PlanVariants());
+
+        QueryPlan plan = variants.get(params);
 
-        QueryPlan plan = cache.computeIfAbsent(key, k -> planSupplier.get());
+        if (plan == null)
+            plan = variants.getOrAdd(params, planSupplier);
 
         return plan.copy();
     }
 
     /** {@inheritDoc} */
-    @Override public QueryPlan queryPlan(CacheKey key) {
-        Map<CacheKey, QueryPlan> cache = this.cache;
-        QueryPlan plan = cache.get(key);
+    @Override public QueryPlan queryPlan(CacheKey key, Object[] params) {
+        Map<CacheKey, PlanVariants> cache = this.cache;
+        PlanVariants variants = cache.get(key);
+        QueryPlan plan = variants != null ? variants.get(params) : null;
         return plan != null ? plan.copy() : null;
     }
 
@@ -93,6 +106,94 @@ public class QueryPlanCacheImpl extends AbstractService implements QueryPlanCach
         cache = new GridBoundedConcurrentLinkedHashMap<>(CACHE_SIZE);
     }
 
+    /** {@inheritDoc} */
+    @Override public void invalidate(IgniteTable tbl) {
+        Map<CacheKey, PlanVariants> cache = this.cache;
+
+        for (Map.Entry<CacheKey, PlanVariants> e : cache.entrySet()) {
+            if (e.getValue().invalidate(tbl))
+                cache.remove(e.getKey(), e.getValue());
+        }
+    }
+
+    /**
+     * @param plan Plan.
+     * @param tbl Table.
+     * @return {@code True} if the plan uses the table.
+     */
+    private static boolean usesTable(QueryPlan plan, IgniteTable tbl) {
+        if (plan instanceof AbstractMultiStepPlan)
+            return ((AbstractMultiStepPlan)plan).usesTable(tbl);
+
+        // Explain plans keep the text only, so they are rebuilt as well.
+        return plan.type() == QueryPlan.Type.EXPLAIN;
+    }
+
+    /**
+     * Plans of a query built for parameters of different selectivity.
+     */
+    private static class PlanVariants {
+        /** Plans, most recently built first. */
+        private final Deque<QueryPlan> plans = new ArrayDeque<>(MAX_VARIANTS);
+
+        /** Serializes planning, so concurrent misses for parameters of the same selectivity build a single plan. */
+        private final Object planMux = new Object();
+
+        /**
+         * @param params Query parameters.
+         * @return Plan built for parameters of similar selectivity or {@code null} if there is no such plan.
+         */
+        synchronized @Nullable QueryPlan get(Object[] params) {
+            for (QueryPlan plan : plans) {
+                ParametersSelectivity paramsSel = plan.parametersSelectivity();
+
+                if (paramsSel == null || paramsSel.matches(params))
+                    return plan;
+            }
+
+            return null;
+        }
+
+        /**
+         * @param params Query parameters.
+         * @param planSupplier Plan supplier.
+         * @return Plan built for parameters of similar selectivity, planned by the supplier if there is no such plan.
+         */
+        QueryPlan getOrAdd(Object[] params, Supplier<QueryPlan> planSupplier) {
+            synchronized (planMux) {
+                QueryPlan plan = get(params);
+
+                if (plan == null) {
+                    plan = planSupplier.get();
+
+                    add(plan);
+                }
+
+                return plan;
+            }
+        }
+
+        /**
+         * @param plan Plan built for parameters no existing plan suits.
+         */
+        private synchronized void add(QueryPlan plan) {
+            if (plans.size() == MAX_VARIANTS)
+                plans.removeLast();
+
+            plans.addFirst(plan);
+        }
+
+        /**
+         * @param tbl Table.
+         * @return {@code True} if no plans are left after removal of the plans which use the table.
+         */
+        synchronized boolean invalidate(IgniteTable tbl) {
+            plans.removeIf(plan -> usesTable(plan, tbl));
+
+            return plans.isEmpty();
+        }
+    }
+
     /** Schema change listener. */
     private class SchemaListener extends AbstractSchemaChangeListener {
         /** {@inheritDoc} */
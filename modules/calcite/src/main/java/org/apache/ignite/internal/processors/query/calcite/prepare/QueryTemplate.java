@@ -52,6 +52,13 @@ public class QueryTemplate {
         this.fragments = b.build();
     }
 
+    /**
+     * @return Fragments of the query, not mapped to nodes.
+     */
+    public List<Fragment> fragments() {
+        return fragments;
+    }
+
     /** */
     public ExecutionPlan map(MappingService mappingService, MappingQueryContext ctx) {
         ExecutionPlan executionPlan = this.executionPlan.get();
@@ -24,13 +24,22 @@ import java.util.List;
 
 import com.google.common.collect.ImmutableList;
 import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexSlot;
+import org.apache.calcite.util.ImmutableIntList;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteExchange;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteFilter;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteHashJoin;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteIndexScan;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteProject;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteReceiver;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteRel;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteSender;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteTableScan;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteTrimExchange;
+import org.apache.ignite.internal.util.typedef.F;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Splits a query into a list of query fragments.
@@ -84,6 +93,23 @@ public class Splitter extends IgniteRelShuttle {
         return receiver;
     }
 
+    /** {@inheritDoc} */
+    @Override public IgniteRel visit(IgniteHashJoin rel) {
+        JoinRelType joinType = rel.getJoinType();
+
+        // Only the joins dropping unmatched probe side rows may filter them before the exchange.
+        if (!rel.runtimeFilter() && (joinType == JoinRelType.INNER || joinType == JoinRelType.SEMI)) {
+            IgniteRel left = pushRuntimeFilter((IgniteRel)rel.getLeft(), rel.analyzeCondition().leftKeys, false);
+
+            if (left != null) {
+                rel = new IgniteHashJoin(rel.getCluster(), rel.getTraitSet(), left, rel.getRight(), rel.getCondition(),
+                    rel.getVariablesSet(), joinType, true);
+            }
+        }
+
+        return processNode(rel);
+    }
+
     /** {@inheritDoc} */
     @Override public IgniteRel visit(IgniteTrimExchange rel) {
         return ((IgniteTrimExchange)processNode(rel)).clone(IdGenerator.nextId());
@@ -99,6 +125,74 @@ public class Splitter extends IgniteRelShuttle {
         return rel.clone(IdGenerator.nextId());
     }
 
+    /**
+     * Makes the scan producing the hash join probe side rows in a remote fragment filter the rows by a filter
+     * of the join build side keys.
+     *
+     * @param rel Probe side node.
+     * @param keys Join keys in terms of the node output.
+     * @param remote Whether an exchange is found between the node and the join.
+     * @return Copy of the node with the filtering scan or {@code null} if there is no suitable scan.
+     */
+    private @Nullable IgniteRel pushRuntimeFilter(IgniteRel rel, ImmutableIntList keys, boolean remote) {
+        if (rel instanceof IgniteFilter)
+            return replaceInput(rel, pushRuntimeFilter((IgniteRel)rel.getInput(0), keys, remote));
+
+        if (rel instanceof IgniteProject) {
+            ImmutableIntList inputKeys = mapKeys(keys, ((IgniteProject)rel).getProjects());
+
+            return inputKeys == null ? null :
+                replaceInput(rel, pushRuntimeFilter((IgniteRel)rel.getInput(0), inputKeys, remote));
+        }
+
+        if (rel instanceof IgniteExchange)
+            return remote ? null : replaceInput(rel, pushRuntimeFilter((IgniteRel)rel.getInput(0), keys, true));
+
+        if (!remote)
+            return null;
+
+        if (rel instanceof IgniteTableScan) {
+            IgniteTableScan scan = (IgniteTableScan)rel;
+
+            ImmutableIntList scanKeys = scan.projects() == null ? keys : mapKeys(keys, scan.projects());
+
+            return scanKeys == null ? null : scan.withRuntimeFilter(scanKeys);
+        }
+
+        if (rel instanceof IgniteIndexScan) {
+            IgniteIndexScan scan = (IgniteIndexScan)rel;
+
+            ImmutableIntList scanKeys = scan.projects() == null ? keys : mapKeys(keys, scan.projects());
+
+            return scanKeys == null ? null : scan.withRuntimeFilter(scanKeys);
+        }
+
+        return null;
+    }
+
+    /**
+     * @return Input fields the keys are projected from or {@code null} if any of the keys is not a plain field reference.
+     */
+    private static @Nullable ImmutableIntList mapKeys(ImmutableIntList keys, List<RexNode> projects) {
+        int[] res = new int[keys.size()];
+
+        for (int i = 0; i < keys.size(); i++) {
+            RexNode prj = projects.get(keys.getInt(i));
+
+            if (!(prj instanceof RexSlot))
+                return null;
+
+            res[i] = ((RexSlot)prj).getIndex();
+        }
+
+        return ImmutableIntList.of(res);
+    }
+
+    /** */
+    private static @Nullable IgniteRel replaceInput(IgniteRel rel, @Nullable IgniteRel input) {
+        return input == null ? null : rel.clone(rel.getCluster(), F.asList(input));
+    }
+
     /** */
     private static class FragmentProto {
         /** */
@@ -77,7 +77,7 @@ public abstract class IgniteAggregate extends Aggregate implements IgniteRel {
             double rows = input.estimateRowCount(mq);
 
             for (AggregateCall aggCall : aggCalls) {
-                if (aggCall.isDistinct())
+                if (aggCall.isDistinct() && !aggCall.isApproximate())
                     mem += IgniteCost.AGG_CALL_MEM_COST * rows / grps;
                 else
                     mem += IgniteCost.AGG_CALL_MEM_COST;
@@ -27,6 +27,7 @@ import org.apache.calcite.rel.RelInput;
 import org.apache.calcite.rel.RelWriter;
 import org.apache.calcite.rex.RexNode;
 import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.calcite.util.ImmutableIntList;
 import org.apache.ignite.internal.processors.query.calcite.prepare.bounds.SearchBounds;
 import org.jetbrains.annotations.Nullable;
 
@@ -39,6 +40,9 @@ public class IgniteIndexScan extends AbstractIndexScan implements SourceAwareIgn
     /** */
     private final long sourceId;
 
+    /** Columns of the scanned row filtered by a hash join runtime filter, {@code null} if there is no such filter. */
+    @Nullable private final ImmutableIntList runtimeFilterKeys;
+
     /** Index collation. Required only for rewriting index scan to table scan + sort in case of index rebuild. */
     private final RelCollation collation;
 
@@ -57,6 +61,9 @@ public class IgniteIndexScan extends AbstractIndexScan implements SourceAwareIgn
             sourceId = ((Number)srcIdObj).longValue();
         else
             sourceId = -1;
+
+        runtimeFilterKeys = input.get("runtimeFilterKeys") == null ? null :
+            ImmutableIntList.copyOf(input.getIntegerList("runtimeFilterKeys"));
     }
 
     /**
@@ -81,7 +88,7 @@ public class IgniteIndexScan extends AbstractIndexScan implements SourceAwareIgn
         @Nullable ImmutableBitSet requiredCols,
         RelCollation collation
     ) {
-        this(-1L, cluster, traits, tbl, idxName, proj, cond, searchBounds, requiredCols, collation);
+        this(-1L, cluster, traits, tbl, idxName, proj, cond, searchBounds, requiredCols, collation, null);
     }
 
     /**
@@ -94,6 +101,7 @@ public class IgniteIndexScan extends AbstractIndexScan implements SourceAwareIgn
      * @param cond Filters.
      * @param requiredCols Participating colunms.
      * @param collation Index collation.
+     * @param runtimeFilterKeys Columns filtered by a hash join runtime filter.
      */
     private IgniteIndexScan(
         long sourceId,
@@ -105,12 +113,14 @@ public class IgniteIndexScan extends AbstractIndexScan implements SourceAwareIgn
         @Nullable RexNode cond,
         @Nullable List<SearchBounds> searchBounds,
         @Nullable ImmutableBitSet requiredCols,
-        RelCollation collation
+        RelCollation collation,
+        @Nullable ImmutableIntList runtimeFilterKeys
     ) {
         super(cluster, traits, ImmutableList.of(), tbl, idxName, proj, cond, searchBounds, requiredCols);
 
         this.sourceId = sourceId;
         this.collation = collation;
+        this.runtimeFilterKeys = runtimeFilterKeys;
     }
 
     /** {@inheritDoc} */
@@ -118,11 +128,29 @@ public class IgniteIndexScan extends AbstractIndexScan implements SourceAwareIgn
         return sourceId;
     }
 
+    /**
+     * @return Columns of the scanned row (before projection) filtered by a hash join runtime filter,
+     * {@code null} if there is no such filter.
+     */
+    public @Nullable ImmutableIntList runtimeFilterKeys() {
+        return runtimeFilterKeys;
+    }
+
+    /**
+     * @param keys Columns of the scanned row (before projection) to filter by a hash join runtime filter.
+     * @return Copy of the scan filtering rows by a hash join runtime filter.
+     */
+    public IgniteIndexScan withRuntimeFilter(ImmutableIntList keys) {
+        return new IgniteIndexScan(sourceId, getCluster(), getTraitSet(), getTable(),
+            idxName, projects, condition, searchBounds, requiredColumns, collation, keys);
+    }
+
     /** {@inheritDoc} */
     @Override protected RelWriter explainTerms0(RelWriter pw) {
         return super.explainTerms0(pw)
             .itemIf("sourceId", sourceId, sourceId != -1)
-            .item("collation", collation());
+            .item("collation", collation())
+            .itemIf("runtimeFilterKeys", runtimeFilterKeys, runtimeFilterKeys != null);
     }
 
     /** {@inheritDoc} */
@@ -133,13 +161,13 @@ public class IgniteIndexScan extends AbstractIndexScan implements SourceAwareIgn
     /** {@inheritDoc} */
     @Override public IgniteRel clone(long sourceId) {
         return new IgniteIndexScan(sourceId, getCluster(), getTraitSet(), getTable(),
-            idxName, projects, condition, searchBounds, requiredColumns, collation);
+            idxName, projects, condition, searchBounds, requiredColumns, collation, runtimeFilterKeys);
     }
 
     /** {@inheritDoc} */
     @Override public IgniteRel clone(RelOptCluster cluster, List<IgniteRel> inputs) {
         return new IgniteIndexScan(sourceId, cluster, getTraitSet(), getTable(),
-            idxName, projects, condition, searchBounds, requiredColumns, collation);
+            idxName, projects, condition, searchBounds, requiredColumns, collation, runtimeFilterKeys);
     }
 
     /** {@inheritDoc} */
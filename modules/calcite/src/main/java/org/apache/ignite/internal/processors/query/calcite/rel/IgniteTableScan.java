@@ -26,6 +26,7 @@ import org.apache.calcite.rel.RelInput;
 import org.apache.calcite.rel.RelWriter;
 import org.apache.calcite.rex.RexNode;
 import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.calcite.util.ImmutableIntList;
 import org.jetbrains.annotations.Nullable;
 
 import static org.apache.ignite.internal.processors.query.calcite.trait.TraitUtils.changeTraits;
@@ -37,6 +38,9 @@ public class IgniteTableScan extends ProjectableFilterableTableScan implements S
     /** */
     private final long sourceId;
 
+    /** Columns of the scanned row filtered by a hash join runtime filter, {@code null} if there is no such filter. */
+    @Nullable private final ImmutableIntList runtimeFilterKeys;
+
     /**
      * Constructor used for deserialization.
      *
@@ -50,6 +54,9 @@ public class IgniteTableScan extends ProjectableFilterableTableScan implements S
             sourceId = ((Number)srcIdObj).longValue();
         else
             sourceId = -1;
+
+        runtimeFilterKeys = input.get("runtimeFilterKeys") == null ? null :
+            ImmutableIntList.copyOf(input.getIntegerList("runtimeFilterKeys"));
     }
 
     /**
@@ -83,7 +90,7 @@ public class IgniteTableScan extends ProjectableFilterableTableScan implements S
         @Nullable RexNode cond,
         @Nullable ImmutableBitSet requiredColunms
     ) {
-        this(-1L, cluster, traits, tbl, proj, cond, requiredColunms);
+        this(-1L, cluster, traits, tbl, proj, cond, requiredColunms, null);
     }
 
     /**
@@ -94,6 +101,7 @@ public class IgniteTableScan extends ProjectableFilterableTableScan implements S
      * @param proj Projects.
      * @param cond Filters.
      * @param requiredColunms Participating colunms.
+     * @param runtimeFilterKeys Columns filtered by a hash join runtime filter.
      */
     private IgniteTableScan(
         long sourceId,
@@ -102,10 +110,12 @@ public class IgniteTableScan extends ProjectableFilterableTableScan implements S
         RelOptTable tbl,
         @Nullable List<RexNode> proj,
         @Nullable RexNode cond,
-        @Nullable ImmutableBitSet requiredColunms
+        @Nullable ImmutableBitSet requiredColunms,
+        @Nullable ImmutableIntList runtimeFilterKeys
     ) {
         super(cluster, traits, ImmutableList.of(), tbl, proj, cond, requiredColunms);
         this.sourceId = sourceId;
+        this.runtimeFilterKeys = runtimeFilterKeys;
     }
 
     /** */
@@ -113,10 +123,28 @@ public class IgniteTableScan extends ProjectableFilterableTableScan implements S
         return sourceId;
     }
 
+    /**
+     * @return Columns of the scanned row (before projection) filtered by a hash join runtime filter,
+     * {@code null} if there is no such filter.
+     */
+    public @Nullable ImmutableIntList runtimeFilterKeys() {
+        return runtimeFilterKeys;
+    }
+
+    /**
+     * @param keys Columns of the scanned row (before projection) to filter by a hash join runtime filter.
+     * @return Copy of the scan filtering rows by a hash join runtime filter.
+     */
+    public IgniteTableScan withRuntimeFilter(ImmutableIntList keys) {
+        return new IgniteTableScan(sourceId, getCluster(), getTraitSet(), getTable(), projects, condition,
+            requiredColumns, keys);
+    }
+
     /** */
     @Override protected RelWriter explainTerms0(RelWriter pw) {
         return super.explainTerms0(pw)
-            .itemIf("sourceId", sourceId, sourceId != -1);
+            .itemIf("sourceId", sourceId, sourceId != -1)
+            .itemIf("runtimeFilterKeys", runtimeFilterKeys, runtimeFilterKeys != null);
     }
 
     /** {@inheritDoc} */
@@ -126,11 +154,13 @@ public class IgniteTableScan extends ProjectableFilterableTableScan implements S
 
     /** {@inheritDoc} */
     @Override public IgniteRel clone(long sourceId) {
-        return new IgniteTableScan(sourceId, getCluster(), getTraitSet(), getTable(), projects, condition, requiredColumns);
+        return new IgniteTableScan(sourceId, getCluster(), getTraitSet(), getTable(), projects, condition, requiredColumns,
+            runtimeFilterKeys);
     }
 
     /** {@inheritDoc} */
     @Override public IgniteRel clone(RelOptCluster cluster, List<IgniteRel> inputs) {
-        return new IgniteTableScan(sourceId, cluster, getTraitSet(), getTable(), projects, condition, requiredColumns);
+        return new IgniteTableScan(sourceId, cluster, getTraitSet(), getTable(), projects, condition, requiredColumns,
+            runtimeFilterKeys);
     }
 }
@@ -0,0 +1,297 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.rel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelCollation;
+import org.apache.calcite.rel.RelCollations;
+import org.apache.calcite.rel.RelFieldCollation;
+import org.apache.calcite.rel.RelInput;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelWriter;
+import org.apache.calcite.rel.core.Window;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.SqlAggFunction;
+import org.apache.calcite.sql.SqlExplainLevel;
+import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.calcite.util.Pair;
+import org.apache.ignite.internal.processors.query.calcite.externalize.RelInputEx;
+import org.apache.ignite.internal.processors.query.calcite.metadata.cost.IgniteCost;
+import org.apache.ignite.internal.processors.query.calcite.metadata.cost.IgniteCostFactory;
+import org.apache.ignite.internal.processors.query.calcite.trait.IgniteDistribution;
+import org.apache.ignite.internal.processors.query.calcite.trait.IgniteDistributions;
+import org.apache.ignite.internal.processors.query.calcite.trait.TraitUtils;
+import org.apache.ignite.internal.processors.query.calcite.trait.TraitsAwareIgniteRel;
+
+import static org.apache.calcite.rel.RelDistribution.Type.HASH_DISTRIBUTED;
+import static org.apache.ignite.internal.processors.query.calcite.util.Commons.maxPrefix;
+
+/**
+ * Computes window functions of a single window group over the input sorted by partition and order keys.
+ * Output row consists of all input fields followed by the window function values.
+ * <p>
+ * Rows of different partitions never affect each other, so the window may be computed on every node of
+ * a hash distributed input as long as distribution keys are a subset of partition keys.
+ */
+public class IgniteWindow extends Window implements TraitsAwareIgniteRel {
+    /** */
+    public IgniteWindow(
+        RelOptCluster cluster,
+        RelTraitSet traitSet,
+        RelNode input,
+        RelDataType rowType,
+        Group grp
+    ) {
+        super(cluster, traitSet, input, ImmutableList.of(), rowType, ImmutableList.of(grp));
+    }
+
+    /** */
+    public IgniteWindow(RelInput input) {
+        this(input.getCluster(),
+            input.getTraitSet().replace(IgniteConvention.INSTANCE),
+            input.getInput(),
+            input.getRowType("rowType"),
+            readGroup((RelInputEx)input));
+    }
+
+    /** @return Window group. */
+    public Group group() {
+        return groups.get(0);
+    }
+
+    /** @return Collation the input has to be sorted by: partition keys followed by order keys. */
+    public RelCollation requiredCollation() {
+        Group grp = group();
+
+        List<RelFieldCollation> fields = new ArrayList<>(grp.keys.cardinality() + grp.orderKeys.getFieldCollations().size());
+
+        for (int key : grp.keys)
+            fields.add(TraitUtils.createFieldCollation(key));
+
+        fields.addAll(grp.orderKeys.getFieldCollations());
+
+        return RelCollations.of(fields);
+    }
+
+    /** {@inheritDoc} */
+    @Override public RelWriter explainTerms(RelWriter pw) {
+        Group grp = group();
+
+        boolean all = pw.getDetailLevel() == SqlExplainLevel.ALL_ATTRIBUTES;
+
+        return super.explainTerms(pw)
+            .itemIf("rowType", rowType, all)
+            .itemIf("partition", grp.keys, all)
+            .itemIf("order", grp.orderKeys, all)
+            .itemIf("rows", grp.isRows, all)
+            .itemIf("lower", grp.lowerBound, all)
+            .itemIf("upper", grp.upperBound, all)
+            .itemIf("aggs", grp.aggCalls, all);
+    }
+
+    /** {@inheritDoc} */
+    @Override public RelNode copy(RelTraitSet traitSet, List<RelNode> inputs) {
+        return new IgniteWindow(getCluster(), traitSet, sole(inputs), rowType, group());
+    }
+
+    /** {@inheritDoc} */
+    @Override public <T> T accept(IgniteRelVisitor<T> visitor) {
+        return visitor.visit(this);
+    }
+
+    /** {@inheritDoc} */
+    @Override public IgniteRel clone(RelOptCluster cluster, List<IgniteRel> inputs) {
+        return new IgniteWindow(cluster, getTraitSet(), sole(inputs), rowType, group());
+    }
+
+    /** {@inheritDoc} */
+    @Override public Pair<RelTraitSet, List<RelTraitSet>> passThroughCollation(
+        RelTraitSet nodeTraits,
+        List<RelTraitSet> inputTraits
+    ) {
+        RelCollation required = TraitUtils.collation(nodeTraits);
+        RelCollation collation = requiredCollation();
+
+        // Window fields are appended to the input ones, so the input collation is kept by the output.
+        // Any required collation, which has the window collation as a prefix, may be passed to the input as is.
+        if (required.satisfies(collation) && required.getKeys().stream().allMatch(k -> k < getInput().getRowType().getFieldCount()))
+            collation = required;
+
+        return Pair.of(nodeTraits.replace(collation), ImmutableList.of(inputTraits.get(0).replace(collation)));
+    }
+
+    /** {@inheritDoc} */
+    @Override public List<Pair<RelTraitSet, List<RelTraitSet>>> deriveCollation(
+        RelTraitSet nodeTraits,
+        List<RelTraitSet> inputTraits
+    ) {
+        RelCollation inputCollation = TraitUtils.collation(inputTraits.get(0));
+        RelCollation collation = requiredCollation();
+
+        if (satisfiesCollation(inputCollation))
+            collation = inputCollation;
+
+        return ImmutableList.of(Pair.of(nodeTraits.replace(collation),
+            ImmutableList.of(inputTraits.get(0).replace(collation))));
+    }
+
+    /**
+     * Checks the input collation sorts rows by partition keys (in any order and direction) followed by the order keys.
+     */
+    private boolean satisfiesCollation(RelCollation inputCollation) {
+        Group grp = group();
+
+        List<Integer> prefix = maxPrefix(inputCollation.getKeys(), grp.keys.asSet());
+
+        if (prefix.size() < grp.keys.cardinality())
+            return false;
+
+        List<RelFieldCollation> rest = inputCollation.getFieldCollations()
+            .subList(prefix.size(), inputCollation.getFieldCollations().size());
+
+        return RelCollations.of(rest).satisfies(grp.orderKeys);
+    }
+
+    /** {@inheritDoc} */
+    @Override public Pair<RelTraitSet, List<RelTraitSet>> passThroughDistribution(
+        RelTraitSet nodeTraits,
+        List<RelTraitSet> inputTraits
+    ) {
+        IgniteDistribution distr = TraitUtils.distribution(nodeTraits);
+
+        if (distr == IgniteDistributions.single() || distr.function().correlated() || colocated(distr))
+            return Pair.of(nodeTraits, ImmutableList.of(inputTraits.get(0).replace(distr)));
+
+        return null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public List<Pair<RelTraitSet, List<RelTraitSet>>> deriveDistribution(
+        RelTraitSet nodeTraits,
+        List<RelTraitSet> inputTraits
+    ) {
+        IgniteDistribution inDistribution = TraitUtils.distribution(inputTraits.get(0));
+
+        if (inDistribution.satisfies(IgniteDistributions.single()))
+            return ImmutableList.of(Pair.of(nodeTraits.replace(IgniteDistributions.single()), inputTraits));
+
+        // Every partition is located on a single node, so the window may be computed without an exchange.
+        if (colocated(inDistribution))
+            return ImmutableList.of(Pair.of(nodeTraits.replace(inDistribution), inputTraits));
+
+        ImmutableList.Builder<Pair<RelTraitSet, List<RelTraitSet>>> b = ImmutableList.builder();
+
+        if (!group().keys.isEmpty()) {
+            IgniteDistribution hash = IgniteDistributions.hash(group().keys.asList());
+
+            b.add(Pair.of(nodeTraits.replace(hash), ImmutableList.of(inputTraits.get(0).replace(hash))));
+        }
+
+        b.add(Pair.of(nodeTraits.replace(IgniteDistributions.single()),
+            ImmutableList.of(inputTraits.get(0).replace(IgniteDistributions.single()))));
+
+        return b.build();
+    }
+
+    /**
+     * @return {@code True} if given distribution is a hash distribution by a subset of the partition keys.
+     */
+    private boolean colocated(IgniteDistribution distr) {
+        if (distr.getType() != HASH_DISTRIBUTED || group().keys.isEmpty())
+            return false;
+
+        for (int key : distr.getKeys()) {
+            if (!group().keys.get(key))
+                return false;
+        }
+
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override public List<Pair<RelTraitSet, List<RelTraitSet>>> deriveRewindability(
+        RelTraitSet nodeTraits,
+        List<RelTraitSet> inputTraits
+    ) {
+        return ImmutableList.of(Pair.of(nodeTraits.replace(TraitUtils.rewindability(inputTraits.get(0))), inputTraits));
+    }
+
+    /** {@inheritDoc} */
+    @Override public List<Pair<RelTraitSet, List<RelTraitSet>>> deriveCorrelation(
+        RelTraitSet nodeTraits,
+        List<RelTraitSet> inTraits
+    ) {
+        return ImmutableList.of(Pair.of(nodeTraits.replace(TraitUtils.correlation(inTraits.get(0))), inTraits));
+    }
+
+    /** {@inheritDoc} */
+    @Override public RelOptCost computeSelfCost(RelOptPlanner planner, RelMetadataQuery mq) {
+        IgniteCostFactory costFactory = (IgniteCostFactory)planner.getCostFactory();
+
+        double rowCount = mq.getRowCount(getInput());
+
+        int aggCnt = group().aggCalls.size();
+
+        // Rows of a partition are buffered, take into account a rough partition size estimation.
+        double partSize = group().keys.isEmpty() ? rowCount : Math.sqrt(rowCount);
+
+        RelOptCost cost = costFactory.makeCost(rowCount,
+            rowCount * (IgniteCost.ROW_PASS_THROUGH_COST + IgniteCost.ROW_COMPARISON_COST + aggCnt),
+            0,
+            partSize * getInput().getRowType().getFieldCount() * IgniteCost.AVERAGE_FIELD_SIZE,
+            0);
+
+        // Computing colocated partitions on the map side is more preferable than computing them on the single node.
+        if (!group().keys.isEmpty() && TraitUtils.distribution(traitSet).satisfies(IgniteDistributions.single()))
+            cost = cost.plus(costFactory.makeTinyCost());
+
+        return cost;
+    }
+
+    /** */
+    private static Group readGroup(RelInputEx input) {
+        List<RexNode> aggs = input.getExpressionList("aggs");
+
+        List<RexWinAggCall> calls = new ArrayList<>(aggs.size());
+
+        for (int i = 0; i < aggs.size(); i++) {
+            RexCall call = (RexCall)aggs.get(i);
+
+            calls.add(new RexWinAggCall((SqlAggFunction)call.getOperator(), call.getType(), call.getOperands(), i,
+                false, false));
+        }
+
+        return new Group(
+            input.getBitSet("partition"),
+            input.getBoolean("rows", false),
+            input.getWindowBound("lower"),
+            input.getWindowBound("upper"),
+            input.getCollation("order"),
+            calls);
+    }
+}
@@ -43,6 +43,9 @@ import org.apache.calcite.util.ControlFlowException;
 import org.apache.calcite.util.ImmutableBitSet;
 import org.apache.calcite.util.mapping.Mappings;
 import org.apache.ignite.internal.processors.query.calcite.metadata.cost.IgniteCost;
+import org.apache.ignite.internal.processors.query.calcite.prepare.ParametersSelectivity;
+import org.apache.ignite.internal.processors.query.calcite.prepare.PlanningContext;
+import org.apache.ignite.internal.processors.query.calcite.schema.IgniteCacheTable;
 import org.apache.ignite.internal.processors.query.calcite.schema.IgniteTable;
 import org.apache.ignite.internal.processors.query.calcite.type.IgniteTypeFactory;
 import org.apache.ignite.internal.processors.query.calcite.util.Commons;
@@ -140,7 +143,44 @@ public abstract class ProjectableFilterableTableScan extends TableScan {
 
     /** {@inheritDoc} */
     @Override public double estimateRowCount(RelMetadataQuery mq) {
-        return table.getRowCount() * mq.getSelectivity(this, null);
+        // Selectivity is estimated even if the count is observed, since the estimation registers the parameters
+        // the plan depends on.
+        double sel = mq.getSelectivity(this, null);
+
+        IgniteCacheTable tbl = table.unwrap(IgniteCacheTable.class);
+
+        if (tbl == null)
+            return table.getRowCount() * sel;
+
+        int selBucket = ParametersSelectivity.bucket(sel);
+
+        Double observed = tbl.observedRowCount(rowCountKey(selBucket));
+
+        double rows = observed != null ? Math.max(observed, 1d) : table.getRowCount() * sel;
+
+        PlanningContext planningCtx = getCluster().getPlanner().getContext().unwrap(PlanningContext.class);
+
+        if (planningCtx != null)
+            planningCtx.scanEstimate(rowCountKey(), selBucket, rows);
+
+        return rows;
+    }
+
+    /**
+     * @return Key of the scan. Scans of the same table with the same condition produce the same rows, regardless of
+     * the index used or projects.
+     */
+    public String rowCountKey() {
+        return requiredColumns + " " + condition;
+    }
+
+    /**
+     * @param selBucket Selectivity bucket of the condition, see {@link ParametersSelectivity}.
+     * @return Key of the scan for the row count observed at runtime. Parameters of different selectivity produce
+     * different counts, so the counts are observed per selectivity bucket.
+     */
+    public String rowCountKey(int selBucket) {
+        return rowCountKey() + " #" + selBucket;
     }
 
     /** {@inheritDoc} */
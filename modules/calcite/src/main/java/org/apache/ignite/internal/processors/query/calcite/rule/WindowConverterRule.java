@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.rule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelOptRule;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.PhysicalNode;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.Window;
+import org.apache.calcite.rel.logical.LogicalWindow;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rel.type.RelDataTypeField;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexShuttle;
+import org.apache.calcite.rex.RexWindowBound;
+import org.apache.calcite.sql.SqlAggFunction;
+import org.apache.ignite.internal.processors.query.calcite.exec.exp.window.WindowFunctions;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteConvention;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteWindow;
+import org.apache.ignite.internal.processors.query.calcite.trait.IgniteDistributions;
+import org.apache.ignite.internal.processors.query.calcite.util.Commons;
+
+/**
+ * Converts a logical window to a chain of {@link IgniteWindow} nodes, one per window group.
+ */
+public class WindowConverterRule extends AbstractIgniteConverterRule<LogicalWindow> {
+    /** */
+    public static final RelOptRule INSTANCE = new WindowConverterRule();
+
+    /**
+     * Creates a converter.
+     */
+    public WindowConverterRule() {
+        super(LogicalWindow.class, "WindowConverter");
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean matches(RelOptRuleCall call) {
+        LogicalWindow wnd = call.rel(0);
+
+        for (Window.Group grp : wnd.groups) {
+            Window.Group grp0 = inlineConstants(wnd, grp);
+
+            // RANGE frames are supported only if bounds are unbounded or the current row.
+            if (!grp0.isRows && (offset(grp0.lowerBound) || offset(grp0.upperBound)))
+                return false;
+
+            if (grp0.isRows && !(literal(grp0.lowerBound) && literal(grp0.upperBound)))
+                return false;
+
+            for (Window.RexWinAggCall aggCall : grp0.aggCalls) {
+                if (!WindowFunctions.supported(aggCall))
+                    return false;
+            }
+        }
+
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected PhysicalNode convert(RelOptPlanner planner, RelMetadataQuery mq, LogicalWindow wnd) {
+        RelOptCluster cluster = wnd.getCluster();
+
+        List<RelDataTypeField> fields = wnd.getRowType().getFieldList();
+
+        RelNode input = wnd.getInput();
+        IgniteWindow res = null;
+
+        int fieldCnt = input.getRowType().getFieldCount();
+
+        for (Window.Group grp : wnd.groups) {
+            Window.Group grp0 = inlineConstants(wnd, grp);
+
+            fieldCnt += grp0.aggCalls.size();
+
+            RelDataType rowType = cluster.getTypeFactory().createStructType(fields.subList(0, fieldCnt));
+
+            IgniteWindow igniteWnd = new IgniteWindow(cluster, cluster.traitSetOf(IgniteConvention.INSTANCE),
+                input, rowType, grp0);
+
+            RelTraitSet traits = cluster.traitSetOf(IgniteConvention.INSTANCE)
+                .replace(igniteWnd.requiredCollation())
+                .replace(IgniteDistributions.single());
+
+            res = (IgniteWindow)igniteWnd.copy(traits, ImmutableList.of(convert(input, traits)));
+
+            input = res;
+        }
+
+        return res;
+    }
+
+    /**
+     * Replaces references to the window constants with literals, so the group doesn't depend on the window
+     * constants list and on the number of input fields.
+     */
+    private static Window.Group inlineConstants(Window wnd, Window.Group grp) {
+        int inputFieldCnt = wnd.getInput().getRowType().getFieldCount();
+        List<RexLiteral> constants = wnd.getConstants();
+
+        RexShuttle shuttle = new RexShuttle() {
+            @Override public RexNode visitInputRef(RexInputRef ref) {
+                return ref.getIndex() < inputFieldCnt ? ref : constants.get(ref.getIndex() - inputFieldCnt);
+            }
+        };
+
+        List<Window.RexWinAggCall> aggCalls = new ArrayList<>(grp.aggCalls.size());
+
+        for (Window.RexWinAggCall aggCall : grp.aggCalls) {
+            aggCalls.add(new Window.RexWinAggCall((SqlAggFunction)aggCall.getOperator(),
+                aggCall.getType(), Commons.transform(aggCall.getOperands(), o -> o.accept(shuttle)), aggCall.ordinal,
+                aggCall.distinct, aggCall.ignoreNulls));
+        }
+
+        return new Window.Group(grp.keys, grp.isRows, grp.lowerBound.accept(shuttle), grp.upperBound.accept(shuttle),
+            grp.orderKeys, aggCalls);
+    }
+
+    /** */
+    private static boolean offset(RexWindowBound bound) {
+        return !bound.isUnbounded() && !bound.isCurrentRow();
+    }
+
+    /** */
+    private static boolean literal(RexWindowBound bound) {
+        return !offset(bound) || bound.getOffset() instanceof RexLiteral;
+    }
+}
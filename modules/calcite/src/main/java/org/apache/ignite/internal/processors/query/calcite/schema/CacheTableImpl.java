@@ -43,6 +43,7 @@ import org.apache.ignite.internal.processors.query.calcite.trait.IgniteDistribut
 import org.apache.ignite.internal.processors.query.calcite.type.IgniteTypeFactory;
 import org.apache.ignite.internal.processors.query.stat.ObjectStatisticsImpl;
 import org.apache.ignite.internal.processors.query.stat.StatisticsKey;
+import org.apache.ignite.internal.util.GridBoundedConcurrentLinkedHashMap;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.jetbrains.annotations.Nullable;
 
@@ -50,6 +51,9 @@ import org.jetbrains.annotations.Nullable;
  * Ignite cache-based table implementation.
  */
 public class CacheTableImpl extends AbstractTable implements IgniteCacheTable {
+    /** Maximum count of scans with observed row count, per table. */
+    private static final int OBSERVED_ROW_CNTS_SIZE = 256;
+
     /** */
     private final CacheTableDescriptor desc;
 
@@ -62,6 +66,13 @@ public class CacheTableImpl extends AbstractTable implements IgniteCacheTable {
     /** */
     private volatile boolean idxRebuildInProgress;
 
+    /** Row counts observed at runtime, by scan key. */
+    private volatile Map<String, Double> observedRowCnts =
+        new GridBoundedConcurrentLinkedHashMap<>(OBSERVED_ROW_CNTS_SIZE);
+
+    /** Statistics the row counts are observed with, the counts are dropped once the statistics are refreshed. */
+    private volatile ObjectStatisticsImpl observedStats;
+
     /**
      * @param ctx Kernal context.
      * @param desc Table descriptor.
@@ -78,11 +89,7 @@ public class CacheTableImpl extends AbstractTable implements IgniteCacheTable {
 
     /** {@inheritDoc} */
     @Override public Statistic getStatistic() {
-        final String tblName = desc.typeDescription().tableName();
-        final String schemaName = desc.typeDescription().schemaName();
-
-        ObjectStatisticsImpl statistics = (ObjectStatisticsImpl)ctx.query().statsManager().getLocalStatistics(
-            new StatisticsKey(schemaName, tblName));
+        ObjectStatisticsImpl statistics = localStatistics();
 
         if (statistics != null)
             return new IgniteStatisticsImpl(statistics);
@@ -161,6 +168,43 @@ public class CacheTableImpl extends AbstractTable implements IgniteCacheTable {
         return idxRebuildInProgress;
     }
 
+    /** {@inheritDoc} */
+    @Override public @Nullable Double observedRowCount(String scanKey) {
+        return observedRowCounts().get(scanKey);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void observedRowCount(String scanKey, double rowCnt) {
+        observedRowCounts().put(scanKey, rowCnt);
+    }
+
+    /**
+     * @return Row counts observed at runtime, dropped if the statistics are refreshed since the counts are observed,
+     * since fresh statistics are more accurate than the counts observed with the old ones.
+     */
+    private Map<String, Double> observedRowCounts() {
+        ObjectStatisticsImpl stats = localStatistics();
+
+        if (stats != observedStats) {
+            observedRowCnts = new GridBoundedConcurrentLinkedHashMap<>(OBSERVED_ROW_CNTS_SIZE);
+
+            observedStats = stats;
+        }
+
+        return observedRowCnts;
+    }
+
+    /**
+     * @return Local statistics of the table or {@code null} if not collected.
+     */
+    private @Nullable ObjectStatisticsImpl localStatistics() {
+        final String tblName = desc.typeDescription().tableName();
+        final String schemaName = desc.typeDescription().schemaName();
+
+        return (ObjectStatisticsImpl)ctx.query().statsManager().getLocalStatistics(
+            new StatisticsKey(schemaName, tblName));
+    }
+
     /** {@inheritDoc} */
     @Override public <C> C unwrap(Class<C> aCls) {
         if (aCls.isInstance(desc))
@@ -16,6 +16,9 @@
  */
 package org.apache.ignite.internal.processors.query.calcite.schema;
 
+import org.apache.ignite.internal.processors.query.calcite.rel.ProjectableFilterableTableScan;
+import org.jetbrains.annotations.Nullable;
+
 /**
  * Ignite cache-based table.
  */
@@ -29,4 +32,19 @@ public interface IgniteCacheTable extends IgniteTable {
      * Start cache context for lazy caches.
      */
     void ensureCacheStarted();
+
+    /**
+     * @param scanKey Key of the scan, see {@link ProjectableFilterableTableScan#rowCountKey(int)}.
+     * @return Count of rows the scan produced at runtime or {@code null} if it wasn't observed.
+     */
+    @Nullable Double observedRowCount(String scanKey);
+
+    /**
+     * Saves count of rows the scan produced at runtime, replacing the count saved before. Planner prefers the saved
+     * count to the estimation. Saved counts are dropped once the table statistics are refreshed.
+     *
+     * @param scanKey Key of the scan, see {@link ProjectableFilterableTableScan#rowCountKey(int)}.
+     * @param rowCnt Count of rows.
+     */
+    void observedRowCount(String scanKey, double rowCnt);
 }
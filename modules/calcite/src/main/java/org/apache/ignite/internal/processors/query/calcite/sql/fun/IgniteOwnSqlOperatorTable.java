@@ -16,6 +16,7 @@
  */
 package org.apache.ignite.internal.processors.query.calcite.sql.fun;
 
+import org.apache.calcite.sql.SqlAggFunction;
 import org.apache.calcite.sql.SqlFunction;
 import org.apache.calcite.sql.SqlFunctionCategory;
 import org.apache.calcite.sql.SqlKind;
@@ -123,6 +124,11 @@ public class IgniteOwnSqlOperatorTable extends ReflectiveSqlOperatorTable {
             OperandTypes.SAME_SAME,
             SqlFunctionCategory.SYSTEM);
 
+    /**
+     * Approximate percentile of a numeric column.
+     */
+    public static final SqlAggFunction APPROX_PERCENTILE = new SqlApproxPercentileAggFunction();
+
     /**
      * Returns the Ignite operator table, creating it if necessary.
      */
@@ -76,6 +76,7 @@ public class IgniteStdSqlOperatorTable extends ReflectiveSqlOperatorTable {
 
         // Aggregates.
         register(SqlStdOperatorTable.COUNT);
+        register(SqlStdOperatorTable.APPROX_COUNT_DISTINCT);
         register(SqlStdOperatorTable.SUM);
         register(SqlStdOperatorTable.SUM0);
         register(SqlStdOperatorTable.AVG);
@@ -92,6 +93,19 @@ public class IgniteStdSqlOperatorTable extends ReflectiveSqlOperatorTable {
         register(SqlStdOperatorTable.EVERY);
         register(SqlStdOperatorTable.SOME);
 
+        // Window functions.
+        register(SqlStdOperatorTable.ROW_NUMBER);
+        register(SqlStdOperatorTable.RANK);
+        register(SqlStdOperatorTable.DENSE_RANK);
+        register(SqlStdOperatorTable.PERCENT_RANK);
+        register(SqlStdOperatorTable.CUME_DIST);
+        register(SqlStdOperatorTable.NTILE);
+        register(SqlStdOperatorTable.LAG);
+        register(SqlStdOperatorTable.LEAD);
+        register(SqlStdOperatorTable.FIRST_VALUE);
+        register(SqlStdOperatorTable.LAST_VALUE);
+        register(SqlStdOperatorTable.NTH_VALUE);
+
         // IS ... operator.
         register(SqlStdOperatorTable.IS_NULL);
         register(SqlStdOperatorTable.IS_NOT_NULL);
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.sql.fun;
+
+import java.math.BigDecimal;
+import org.apache.calcite.sql.SqlAggFunction;
+import org.apache.calcite.sql.SqlCallBinding;
+import org.apache.calcite.sql.SqlFunctionCategory;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.type.OperandTypes;
+import org.apache.calcite.sql.type.ReturnTypes;
+import org.apache.calcite.sql.type.SqlTypeFamily;
+import org.apache.calcite.sql.type.SqlTypeTransforms;
+import org.apache.calcite.util.Optionality;
+import org.apache.ignite.internal.processors.query.calcite.util.IgniteResource;
+
+/**
+ * Definition of the "APPROX_PERCENTILE(value, fraction)" aggregate function. Unlike PERCENTILE_CONT, the result
+ * is estimated by a fixed size digest, so partial results computed on different nodes are cheap to transfer and merge.
+ */
+public class SqlApproxPercentileAggFunction extends SqlAggFunction {
+    /**
+     * Creates the SqlApproxPercentileAggFunction.
+     */
+    SqlApproxPercentileAggFunction() {
+        super(
+            "APPROX_PERCENTILE",
+            null,
+            SqlKind.OTHER_FUNCTION,
+            ReturnTypes.DOUBLE.andThen(SqlTypeTransforms.FORCE_NULLABLE),
+            null,
+            OperandTypes.family(SqlTypeFamily.NUMERIC, SqlTypeFamily.NUMERIC),
+            SqlFunctionCategory.NUMERIC,
+            false,
+            false,
+            Optionality.FORBIDDEN);
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean checkOperandTypes(SqlCallBinding callBinding, boolean throwOnFailure) {
+        if (!super.checkOperandTypes(callBinding, throwOnFailure))
+            return false;
+
+        BigDecimal fraction = callBinding.isOperandLiteral(1, false)
+            ? callBinding.getOperandLiteralValue(1, BigDecimal.class)
+            : null;
+
+        if (fraction == null || fraction.signum() < 0 || fraction.compareTo(BigDecimal.ONE) > 0) {
+            if (throwOnFailure)
+                throw callBinding.newError(IgniteResource.INSTANCE.illegalFraction(getName()));
+
+            return false;
+        }
+
+        return true;
+    }
+}
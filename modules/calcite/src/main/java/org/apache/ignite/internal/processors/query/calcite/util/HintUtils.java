@@ -55,6 +55,7 @@ public class HintUtils {
     public static boolean isExpandDistinctAggregate(LogicalAggregate rel) {
         return rel.getHints().stream()
             .anyMatch(h -> "EXPAND_DISTINCT_AGG".equals(h.hintName))
-            && rel.getAggCallList().stream().anyMatch(AggregateCall::isDistinct);
+            && rel.getAggCallList().stream().anyMatch(AggregateCall::isDistinct)
+            && rel.getAggCallList().stream().noneMatch(AggregateCall::isApproximate);
     }
 }
@@ -19,6 +19,7 @@ package org.apache.ignite.internal.processors.query.calcite.util;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.List;
 import java.util.Objects;
 import org.apache.calcite.avatica.util.ByteString;
 import org.apache.calcite.linq4j.tree.Types;
@@ -26,6 +27,7 @@ import org.apache.calcite.sql.SqlIntervalQualifier;
 import org.apache.calcite.sql.parser.SqlParserUtil;
 import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
 import org.apache.ignite.internal.processors.query.calcite.exec.RowHandler;
+import org.apache.ignite.internal.processors.query.calcite.exec.exp.BatchScalar;
 import org.apache.ignite.internal.processors.query.calcite.exec.exp.BiScalar;
 import org.apache.ignite.internal.processors.query.calcite.exec.exp.IgniteSqlFunctions;
 import org.apache.ignite.internal.processors.query.calcite.exec.exp.SingleScalar;
@@ -67,6 +69,15 @@ public enum IgniteMethod {
     /** See {@link BiScalar#execute(ExecutionContext, Object, Object, Object)} */
     BI_SCALAR_EXECUTE(BiScalar.class, "execute", ExecutionContext.class, Object.class, Object.class, Object.class),
 
+    /** See {@link BatchScalar#execute(ExecutionContext, List, Object[])} */
+    BATCH_SCALAR_EXECUTE(BatchScalar.class, "execute", ExecutionContext.class, List.class, Object[].class),
+
+    /** See {@link List#get(int)} */
+    LIST_GET(List.class, "get", int.class),
+
+    /** See {@link List#size()} */
+    LIST_SIZE(List.class, "size"),
+
     /** See {@link FragmentMappingMetadata#fragmentMapping(MappingQueryContext)} */
     FRAGMENT_MAPPING(FragmentMappingMetadata.class, "fragmentMapping", MappingQueryContext.class),
 
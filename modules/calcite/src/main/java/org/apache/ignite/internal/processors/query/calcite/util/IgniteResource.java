@@ -39,11 +39,23 @@ public interface IgniteResource {
     @Resources.BaseMessage("Illegal aggregate function. {0} is unsupported at the moment.")
     Resources.ExInst<SqlValidatorException> unsupportedAggregationFunction(String a0);
 
+    /** */
+    @Resources.BaseMessage("Illegal window function call. {0} is unsupported at the moment.")
+    Resources.ExInst<SqlValidatorException> unsupportedWindowFunction(String a0);
+
+    /** */
+    @Resources.BaseMessage("Illegal window frame. {0} is unsupported at the moment.")
+    Resources.ExInst<SqlValidatorException> unsupportedWindowFrame(String a0);
+
     /** */
     @Resources.BaseMessage("Illegal value of {0}. The value must be positive and less than Integer.MAX_VALUE " +
         "(" + Integer.MAX_VALUE + ")." )
     Resources.ExInst<SqlValidatorException> correctIntegerLimit(String a0);
 
+    /** */
+    @Resources.BaseMessage("Illegal value of {0}. The value must be a numeric literal between 0 and 1.")
+    Resources.ExInst<SqlValidatorException> illegalFraction(String a0);
+
     /** */
     @Resources.BaseMessage("Option ''{0}'' has already been defined")
     Resources.ExInst<SqlValidatorException> optionAlreadyDefined(String optName);
@@ -132,6 +132,7 @@ public class LogicalRelImplementorTest extends GridCommonAbstractTest {
             ArrayRowHandler.INSTANCE,
             NoOpMemoryTracker.INSTANCE,
             NoOpIoTracker.INSTANCE,
+            null,
             null
         ) {
             @Override public ColocationGroup group(long srcId) {
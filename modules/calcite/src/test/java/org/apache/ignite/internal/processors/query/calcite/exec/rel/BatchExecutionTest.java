@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec.rel;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.calcite.rel.RelCollations;
+import org.apache.calcite.rel.core.AggregateCall;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.calcite.util.ImmutableIntList;
+import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
+import org.apache.ignite.internal.processors.query.calcite.exec.exp.ExpressionFactory;
+import org.apache.ignite.internal.processors.query.calcite.exec.exp.agg.AggregateType;
+import org.apache.ignite.internal.processors.query.calcite.type.IgniteTypeFactory;
+import org.apache.ignite.internal.processors.query.calcite.util.TypeUtils;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks that rows passed between scan, filter, project and aggregate nodes in batches are processed the same way
+ * as rows passed one by one.
+ */
+@WithSystemProperty(key = "calcite.debug", value = "true")
+public class BatchExecutionTest extends AbstractExecutionTest {
+    /** */
+    private static final int ROWS_CNT = 5000;
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Before
+    @Override public void setup() throws Exception {
+        nodesCnt = 1;
+        super.setup();
+    }
+
+    /** */
+    @Test
+    public void testFilterProject() {
+        for (int batchSize : new int[] {0, 1, 7, 64, 512}) {
+            for (boolean compiled : new boolean[] {false, true}) {
+                List<Object[]> res = execute(batchSize, compiled, false);
+
+                // Rows with odd values are filtered out, values are multiplied by 10.
+                assertEquals("batchSize=" + batchSize, ROWS_CNT / 2, res.size());
+
+                for (int i = 0; i < res.size(); i++) {
+                    assertEquals(2 * i, res.get(i)[0]);
+                    assertEquals(20 * i, res.get(i)[1]);
+                }
+            }
+        }
+    }
+
+    /** */
+    @Test
+    public void testAggregate() {
+        for (int batchSize : new int[] {0, 7, 64, 512}) {
+            List<Object[]> res = execute(batchSize, true, true);
+
+            assertEquals(1, res.size());
+            assertEquals((long)ROWS_CNT / 2, res.get(0)[0]);
+        }
+    }
+
+    /**
+     * Builds and executes plan: scan -> filter(val % 2 = 0) -> project(id, val * 10) [-> COUNT(*)].
+     *
+     * @param batchSize Scan batch size.
+     * @param compiled Whether batch filter and projection are evaluated by compiled batch functions.
+     * @param aggregate Whether to count the rows.
+     */
+    private List<Object[]> execute(int batchSize, boolean compiled, boolean aggregate) {
+        ExecutionContext<Object[]> ctx = executionContext(F.first(nodes()), UUID.randomUUID(), 0);
+        IgniteTypeFactory tf = ctx.getTypeFactory();
+        RexBuilder rexBuilder = new RexBuilder(tf);
+        ExpressionFactory<Object[]> expFactory = ctx.expressionFactory();
+
+        RelDataType rowType = TypeUtils.createRowType(tf, int.class, int.class);
+
+        List<Object[]> data = IntStream.range(0, ROWS_CNT).mapToObj(i -> row(i, i)).collect(Collectors.toList());
+
+        ScanNode<Object[]> scan = new ScanNode<>(ctx, rowType, data, batchSize);
+
+        RexNode cond = rexBuilder.makeCall(SqlStdOperatorTable.EQUALS,
+            rexBuilder.makeCall(SqlStdOperatorTable.MOD, RexInputRef.of(1, rowType), literal(rexBuilder, tf, 2)),
+            literal(rexBuilder, tf, 0));
+
+        FilterNode<Object[]> filter = new FilterNode<>(ctx, rowType, expFactory.predicate(cond, rowType),
+            compiled ? expFactory.batchPredicate(cond, rowType) : null);
+
+        filter.register(scan);
+
+        List<RexNode> projects = ImmutableList.of(
+            RexInputRef.of(0, rowType),
+            rexBuilder.makeCall(SqlStdOperatorTable.MULTIPLY, RexInputRef.of(1, rowType),
+                literal(rexBuilder, tf, 10)));
+
+        ProjectNode<Object[]> project = new ProjectNode<>(ctx, rowType, expFactory.project(projects, rowType),
+            compiled ? expFactory.batchProject(projects, rowType) : null);
+
+        project.register(filter);
+
+        Node<Object[]> top = project;
+        RelDataType outType = rowType;
+
+        if (aggregate) {
+            AggregateCall call = AggregateCall.create(
+                SqlStdOperatorTable.COUNT,
+                false,
+                false,
+                false,
+                ImmutableIntList.of(),
+                -1,
+                RelCollations.EMPTY,
+                tf.createJavaType(long.class),
+                null);
+
+            outType = TypeUtils.createRowType(tf, long.class);
+
+            HashAggregateNode<Object[]> agg = new HashAggregateNode<>(ctx, outType, AggregateType.SINGLE,
+                ImmutableList.of(ImmutableBitSet.of()),
+                expFactory.accumulatorsFactory(AggregateType.SINGLE, F.asList(call), rowType),
+                ctx.rowHandler().factory(tf, outType));
+
+            agg.register(project);
+
+            top = agg;
+        }
+
+        RootNode<Object[]> root = new RootNode<>(ctx, outType);
+
+        root.register(top);
+
+        List<Object[]> res = new ArrayList<>();
+
+        while (root.hasNext())
+            res.add(root.next());
+
+        return res;
+    }
+
+    /** */
+    private static RexNode literal(RexBuilder rexBuilder, IgniteTypeFactory tf, int val) {
+        return rexBuilder.makeExactLiteral(BigDecimal.valueOf(val), tf.createSqlType(SqlTypeName.INTEGER));
+    }
+}
@@ -0,0 +1,455 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec.rel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiPredicate;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.util.ImmutableIntList;
+import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
+import org.apache.ignite.internal.processors.query.calcite.exec.RuntimeFilter;
+import org.apache.ignite.internal.processors.query.calcite.util.TypeUtils;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.jetbrains.annotations.Nullable;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.apache.calcite.rel.core.JoinRelType.ANTI;
+import static org.apache.calcite.rel.core.JoinRelType.INNER;
+import static org.apache.calcite.rel.core.JoinRelType.LEFT;
+import static org.apache.calcite.rel.core.JoinRelType.SEMI;
+
+/** */
+@SuppressWarnings("TypeMayBeWeakened")
+@WithSystemProperty(key = "calcite.debug", value = "true")
+public class HashJoinExecutionTest extends AbstractExecutionTest {
+    /** */
+    public static final Object[][] EMPTY = new Object[0][];
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Before
+    @Override public void setup() throws Exception {
+        nodesCnt = 1;
+        super.setup();
+    }
+
+    /** */
+    @Test
+    public void joinEmptyTables() {
+        verifyJoin(EMPTY, EMPTY, INNER, EMPTY);
+        verifyJoin(EMPTY, EMPTY, LEFT, EMPTY);
+        verifyJoin(EMPTY, EMPTY, SEMI, EMPTY);
+        verifyJoin(EMPTY, EMPTY, ANTI, EMPTY);
+    }
+
+    /** */
+    @Test
+    public void joinEmptyLeftTable() {
+        Object[][] right = {
+            {1, "Core"},
+            {1, "OLD_Core"},
+            {2, "SQL"}
+        };
+
+        verifyJoin(EMPTY, right, INNER, EMPTY);
+        verifyJoin(EMPTY, right, LEFT, EMPTY);
+        verifyJoin(EMPTY, right, SEMI, EMPTY);
+        verifyJoin(EMPTY, right, ANTI, EMPTY);
+    }
+
+    /** */
+    @Test
+    public void joinEmptyRightTable() {
+        Object[][] left = {
+            {1, "Roman", null},
+            {2, "Igor", 1},
+            {3, "Alexey", 2}
+        };
+
+        verifyJoin(left, EMPTY, INNER, EMPTY);
+        verifyJoin(left, EMPTY, LEFT, new Object[][] {
+            {1, "Roman", null},
+            {2, "Igor", null},
+            {3, "Alexey", null}
+        });
+        verifyJoin(left, EMPTY, SEMI, EMPTY);
+        verifyJoin(left, EMPTY, ANTI, new Object[][] {
+            {1, "Roman"},
+            {2, "Igor"},
+            {3, "Alexey"}
+        });
+    }
+
+    /** */
+    @Test
+    public void joinOneToMany() {
+        Object[][] left = {
+            {1, "Roman", null},
+            {2, "Igor", 1},
+            {3, "Alexey", 2}
+        };
+
+        Object[][] right = {
+            {1, "Core"},
+            {1, "OLD_Core"},
+            {2, "SQL"},
+            {3, "Arch"}
+        };
+
+        verifyJoin(left, right, INNER, new Object[][] {
+            {2, "Igor", "Core"},
+            {2, "Igor", "OLD_Core"},
+            {3, "Alexey", "SQL"}
+        });
+        verifyJoin(left, right, LEFT, new Object[][] {
+            {1, "Roman", null},
+            {2, "Igor", "Core"},
+            {2, "Igor", "OLD_Core"},
+            {3, "Alexey", "SQL"}
+        });
+        verifyJoin(left, right, SEMI, new Object[][] {
+            {2, "Igor"},
+            {3, "Alexey"}
+        });
+        verifyJoin(left, right, ANTI, new Object[][] {
+            {1, "Roman"}
+        });
+    }
+
+    /** */
+    @Test
+    public void joinOneToMany2() {
+        Object[][] left = {
+            {1, "Roman", null},
+            {2, "Igor", 1},
+            {3, "Alexey", 2},
+            {4, "Ivan", 4},
+            {5, "Taras", 5},
+            {6, "Lisa", 6}
+        };
+
+        Object[][] right = {
+            {1, "Core"},
+            {1, "OLD_Core"},
+            {2, "SQL"},
+            {3, "QA"},
+            {5, "Arch"}
+        };
+
+        verifyJoin(left, right, INNER, new Object[][] {
+            {2, "Igor", "Core"},
+            {2, "Igor", "OLD_Core"},
+            {3, "Alexey", "SQL"},
+            {5, "Taras", "Arch"}
+        });
+        verifyJoin(left, right, LEFT, new Object[][] {
+            {1, "Roman", null},
+            {2, "Igor", "Core"},
+            {2, "Igor", "OLD_Core"},
+            {3, "Alexey", "SQL"},
+            {4, "Ivan", null},
+            {5, "Taras", "Arch"},
+            {6, "Lisa", null}
+        });
+        verifyJoin(left, right, SEMI, new Object[][] {
+            {2, "Igor"},
+            {3, "Alexey"},
+            {5, "Taras"}
+        });
+        verifyJoin(left, right, ANTI, new Object[][] {
+            {1, "Roman"},
+            {4, "Ivan"},
+            {6, "Lisa"}
+        });
+    }
+
+    /** */
+    @Test
+    public void joinManyToMany() {
+        Object[][] left = {
+            {1, "Roman", null},
+            {2, "Igor", 1},
+            {3, "Taras", 1},
+            {4, "Alexey", 2},
+            {5, "Ivan", 4},
+            {6, "Andrey", 4}
+        };
+
+        Object[][] right = {
+            {1, "Core"},
+            {1, "OLD_Core"},
+            {2, "SQL"},
+            {3, "Arch"},
+            {4, "QA"},
+            {4, "OLD_QA"},
+        };
+
+        verifyJoin(left, right, INNER, new Object[][] {
+            {2, "Igor", "Core"},
+            {2, "Igor", "OLD_Core"},
+            {3, "Taras", "Core"},
+            {3, "Taras", "OLD_Core"},
+            {4, "Alexey", "SQL"},
+            {5, "Ivan", "QA"},
+            {5, "Ivan", "OLD_QA"},
+            {6, "Andrey", "QA"},
+            {6, "Andrey", "OLD_QA"}
+        });
+        verifyJoin(left, right, LEFT, new Object[][] {
+            {1, "Roman", null},
+            {2, "Igor", "Core"},
+            {2, "Igor", "OLD_Core"},
+            {3, "Taras", "Core"},
+            {3, "Taras", "OLD_Core"},
+            {4, "Alexey", "SQL"},
+            {5, "Ivan", "QA"},
+            {5, "Ivan", "OLD_QA"},
+            {6, "Andrey", "QA"},
+            {6, "Andrey", "OLD_QA"}
+        });
+        verifyJoin(left, right, SEMI, new Object[][] {
+            {2, "Igor"},
+            {3, "Taras"},
+            {4, "Alexey"},
+            {5, "Ivan"},
+            {6, "Andrey"},
+        });
+        verifyJoin(left, right, ANTI, new Object[][] {
+            {1, "Roman"}
+        });
+    }
+
+    /** */
+    @Test
+    public void joinWithNonEquiCondition() {
+        Object[][] left = {
+            {1, "Roman", null},
+            {2, "Igor", 1},
+            {4, "Alexey", 2},
+            {6, "Ivan", 1}
+        };
+
+        Object[][] right = {
+            {1, "Core"},
+            {1, "OLD_Core"},
+            {2, "SQL"}
+        };
+
+        BiPredicate<Object[], Object[]> cond = (l, r) -> ((String)r[1]).startsWith("OLD") == ((int)l[0] % 2 == 0);
+
+        verifyJoin(left, right, INNER, cond, new Object[][] {
+            {2, "Igor", "OLD_Core"},
+            {6, "Ivan", "OLD_Core"}
+        });
+        verifyJoin(left, right, LEFT, cond, new Object[][] {
+            {1, "Roman", null},
+            {2, "Igor", "OLD_Core"},
+            {4, "Alexey", null},
+            {6, "Ivan", "OLD_Core"}
+        });
+        verifyJoin(left, right, SEMI, cond, new Object[][] {
+            {2, "Igor"},
+            {6, "Ivan"}
+        });
+        verifyJoin(left, right, ANTI, cond, new Object[][] {
+            {1, "Roman"},
+            {4, "Alexey"}
+        });
+    }
+
+    /** */
+    @Test
+    public void joinBigBuildSide() {
+        int rightCnt = AbstractNode.IN_BUFFER_SIZE * 3 + 1;
+
+        Object[][] right = new Object[rightCnt][];
+
+        for (int i = 0; i < rightCnt; i++)
+            right[i] = new Object[] {i, "dep" + i};
+
+        Object[][] left = {
+            {1, "Roman", 0},
+            {2, "Igor", rightCnt - 1},
+            {3, "Alexey", rightCnt}
+        };
+
+        verifyJoin(left, right, INNER, new Object[][] {
+            {1, "Roman", "dep0"},
+            {2, "Igor", "dep" + (rightCnt - 1)}
+        });
+        verifyJoin(left, right, ANTI, new Object[][] {
+            {3, "Alexey"}
+        });
+    }
+
+    /** */
+    @Test
+    public void runtimeFilter() {
+        ExecutionContext<Object[]> ctx = executionContext(F.first(nodes()), UUID.randomUUID(), 0);
+
+        int rightCnt = 1000;
+
+        Object[][] right = new Object[rightCnt][];
+
+        for (int i = 0; i < rightCnt; i++)
+            right[i] = new Object[] {i * 2, "dep" + i};
+
+        RelDataType leftType = TypeUtils.createRowType(ctx.getTypeFactory(), int.class, String.class, Integer.class);
+        RelDataType rightType = TypeUtils.createRowType(ctx.getTypeFactory(), int.class, String.class);
+        RelDataType outType = TypeUtils.createRowType(ctx.getTypeFactory(), int.class, String.class, Integer.class,
+            int.class, String.class);
+
+        HashJoinNode<Object[]> join = HashJoinNode.create(ctx, outType, rightType, INNER, ImmutableIntList.of(2),
+            ImmutableIntList.of(0), null);
+
+        List<long[]> filters = new ArrayList<>();
+
+        join.runtimeFilterConsumer(filters::add);
+        join.register(F.asList(new ScanNode<>(ctx, leftType, Arrays.asList(EMPTY)),
+            new ScanNode<>(ctx, rightType, Arrays.asList(right))));
+
+        RootNode<Object[]> node = new RootNode<>(ctx, outType);
+        node.register(join);
+
+        assertFalse(node.hasNext());
+        assertEquals(1, filters.size());
+
+        ImmutableIntList keys = ImmutableIntList.of(2);
+
+        // All rows pass until filters from all the join instances are received.
+        RuntimeFilter filter = new RuntimeFilter(2);
+
+        filter.onFilterReceived(UUID.randomUUID(), filters.get(0));
+
+        assertTrue(filter.test(ctx.rowHandler(), new Object[] {0, "Roman", 1}, keys));
+
+        filter.onFilterReceived(UUID.randomUUID(), RuntimeFilter.build(Collections.emptyList()));
+
+        int falsePositives = 0;
+
+        for (int i = 0; i < rightCnt * 2; i++) {
+            boolean passed = filter.test(ctx.rowHandler(), new Object[] {0, "Roman", i}, keys);
+
+            if (i % 2 == 0)
+                assertTrue("Key " + i + " is filtered out", passed);
+            else if (passed)
+                falsePositives++;
+        }
+
+        assertTrue("Too many false positives: " + falsePositives, falsePositives < rightCnt / 20);
+        assertFalse(filter.test(ctx.rowHandler(), new Object[] {0, "Roman", null}, keys));
+
+        // The filter is disabled if any of the join instances has too many keys.
+        filter = new RuntimeFilter(2);
+
+        filter.onFilterReceived(UUID.randomUUID(), filters.get(0));
+        filter.onFilterReceived(UUID.randomUUID(), null);
+
+        assertTrue(filter.test(ctx.rowHandler(), new Object[] {0, "Roman", 1}, keys));
+    }
+
+    /**
+     * Creates execution tree and executes it. Then compares the result of the execution with the given one.
+     *
+     * @param left Data for left table.
+     * @param right Data for right table.
+     * @param joinType Join type.
+     * @param expRes Expected result.
+     */
+    private void verifyJoin(Object[][] left, Object[][] right, JoinRelType joinType, Object[][] expRes) {
+        verifyJoin(left, right, joinType, null, expRes);
+    }
+
+    /**
+     * Creates execution tree and executes it. Then compares the result of the execution with the given one.
+     *
+     * @param left Data for left table.
+     * @param right Data for right table.
+     * @param joinType Join type.
+     * @param nonEquiCond Non-equi part of the join condition.
+     * @param expRes Expected result.
+     */
+    private void verifyJoin(
+        Object[][] left,
+        Object[][] right,
+        JoinRelType joinType,
+        @Nullable BiPredicate<Object[], Object[]> nonEquiCond,
+        Object[][] expRes
+    ) {
+        ExecutionContext<Object[]> ctx = executionContext(F.first(nodes()), UUID.randomUUID(), 0);
+
+        RelDataType leftType = TypeUtils.createRowType(ctx.getTypeFactory(), int.class, String.class, Integer.class);
+        ScanNode<Object[]> leftNode = new ScanNode<>(ctx, leftType, Arrays.asList(left));
+
+        RelDataType rightType = TypeUtils.createRowType(ctx.getTypeFactory(), int.class, String.class);
+        ScanNode<Object[]> rightNode = new ScanNode<>(ctx, rightType, Arrays.asList(right));
+
+        RelDataType outType;
+        if (setOf(SEMI, ANTI).contains(joinType))
+            outType = TypeUtils.createRowType(ctx.getTypeFactory(), int.class, String.class, Integer.class);
+        else
+            outType = TypeUtils.createRowType(ctx.getTypeFactory(), int.class, String.class, Integer.class, int.class, String.class);
+
+        HashJoinNode<Object[]> join = HashJoinNode.create(ctx, outType, rightType, joinType, ImmutableIntList.of(2),
+            ImmutableIntList.of(0), nonEquiCond);
+        join.register(F.asList(leftNode, rightNode));
+
+        RelDataType rowType;
+        ProjectNode<Object[]> project;
+        if (setOf(SEMI, ANTI).contains(joinType)) {
+            rowType = TypeUtils.createRowType(ctx.getTypeFactory(), int.class, String.class);
+            project = new ProjectNode<>(ctx, rowType, r -> new Object[] {r[0], r[1]});
+        }
+        else {
+            rowType = TypeUtils.createRowType(ctx.getTypeFactory(), int.class, String.class, String.class);
+            project = new ProjectNode<>(ctx, rowType, r -> new Object[] {r[0], r[1], r[4]});
+        }
+        project.register(join);
+
+        RootNode<Object[]> node = new RootNode<>(ctx, rowType);
+        node.register(project);
+
+        ArrayList<Object[]> rows = new ArrayList<>();
+
+        while (node.hasNext())
+            rows.add(node.next());
+
+        Assert.assertArrayEquals(expRes, rows.toArray(EMPTY));
+    }
+
+    /**
+     * Creates {@link Set set} from provided items.
+     *
+     * @param items Items.
+     * @return New set.
+     */
+    private static <T> Set<T> setOf(T... items) {
+        return new HashSet<>(Arrays.asList(items));
+    }
+}
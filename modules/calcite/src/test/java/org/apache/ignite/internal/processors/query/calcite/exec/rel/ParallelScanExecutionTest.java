@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec.rel;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
+import org.apache.ignite.internal.processors.query.calcite.type.IgniteTypeFactory;
+import org.apache.ignite.internal.processors.query.calcite.util.TypeUtils;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+/**
+ * Tests ParallelScanNode execution.
+ */
+public class ParallelScanExecutionTest extends AbstractExecutionTest {
+    /** */
+    private static final int[] SIZES = {0, 1, 1000, 5000};
+
+    /** */
+    @Test
+    public void testScan() throws Exception {
+        ExecutionContext<Object[]> ctx = executionContext(F.first(nodes()), UUID.randomUUID(), 0);
+        RelDataType rowType = rowType(ctx);
+
+        List<TestSource> srcs = sources(-1);
+
+        RootNode<Object[]> root = new RootNode<>(ctx, rowType);
+        root.register(new ParallelScanNode<>(ctx, rowType, new ArrayList<>(srcs)));
+
+        checkRows(root);
+
+        root.close();
+
+        // Execution tree is closed asynchronously.
+        assertTrue(GridTestUtils.waitForCondition(() -> srcs.stream().allMatch(src -> src.closed.get() == 1), 5_000));
+    }
+
+    /** */
+    @Test
+    public void testRewind() {
+        ExecutionContext<Object[]> ctx = executionContext(F.first(nodes()), UUID.randomUUID(), 0);
+        RelDataType rowType = rowType(ctx);
+
+        RootRewindable<Object[]> root = new RootRewindable<>(ctx, rowType);
+        root.register(new ParallelScanNode<>(ctx, rowType, new ArrayList<>(sources(-1))));
+
+        int total = IntStream.of(SIZES).sum();
+
+        for (int i = 0; i < 3; i++)
+            assertEquals(total, root.rowsCount());
+
+        root.closeRewindableRoot();
+    }
+
+    /** */
+    @Test
+    public void testEarlyClose() throws Exception {
+        ExecutionContext<Object[]> ctx = executionContext(F.first(nodes()), UUID.randomUUID(), 0);
+        RelDataType rowType = rowType(ctx);
+
+        List<TestSource> srcs = sources(-1);
+
+        RootNode<Object[]> root = new RootNode<>(ctx, rowType);
+        root.register(new ParallelScanNode<>(ctx, rowType, new ArrayList<>(srcs)));
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(root.hasNext());
+
+            root.next();
+        }
+
+        root.close();
+
+        assertTrue(GridTestUtils.waitForCondition(() -> srcs.stream().allMatch(src -> src.closed.get() == 1), 5_000));
+    }
+
+    /** */
+    @Test
+    public void testError() {
+        ExecutionContext<Object[]> ctx = executionContext(F.first(nodes()), UUID.randomUUID(), 0);
+        RelDataType rowType = rowType(ctx);
+
+        RootNode<Object[]> root = new RootNode<>(ctx, rowType);
+        root.register(new ParallelScanNode<>(ctx, rowType, new ArrayList<>(sources(3000))));
+
+        GridTestUtils.assertThrowsWithCause(() -> {
+            while (root.hasNext())
+                root.next();
+        }, IgniteException.class);
+
+        root.close();
+    }
+
+    /** Checks every row of every source is returned exactly once. */
+    private void checkRows(RootNode<Object[]> root) {
+        List<BitSet> seen = IntStream.range(0, SIZES.length).mapToObj(i -> new BitSet()).collect(Collectors.toList());
+
+        int cnt = 0;
+
+        while (root.hasNext()) {
+            Object[] row = root.next();
+
+            BitSet srcSeen = seen.get((Integer)row[0]);
+
+            assertFalse(srcSeen.get((Integer)row[1]));
+
+            srcSeen.set((Integer)row[1]);
+
+            cnt++;
+        }
+
+        assertEquals(IntStream.of(SIZES).sum(), cnt);
+
+        for (int i = 0; i < SIZES.length; i++)
+            assertEquals(SIZES[i], seen.get(i).cardinality());
+    }
+
+    /** */
+    private RelDataType rowType(ExecutionContext<Object[]> ctx) {
+        IgniteTypeFactory tf = ctx.getTypeFactory();
+
+        return TypeUtils.createRowType(tf, int.class, int.class);
+    }
+
+    /**
+     * @param failAt Number of a row, which fails the largest source, or {@code -1}.
+     */
+    private List<TestSource> sources(int failAt) {
+        List<TestSource> srcs = new ArrayList<>(SIZES.length);
+
+        for (int i = 0; i < SIZES.length; i++)
+            srcs.add(new TestSource(i, SIZES[i], i == SIZES.length - 1 ? failAt : -1));
+
+        return srcs;
+    }
+
+    /** */
+    private static class TestSource implements Iterable<Object[]>, AutoCloseable {
+        /** */
+        private final int idx;
+
+        /** */
+        private final int size;
+
+        /** */
+        private final int failAt;
+
+        /** */
+        private final AtomicInteger closed = new AtomicInteger();
+
+        /** */
+        private TestSource(int idx, int size, int failAt) {
+            this.idx = idx;
+            this.size = size;
+            this.failAt = failAt;
+        }
+
+        /** {@inheritDoc} */
+        @NotNull @Override public Iterator<Object[]> iterator() {
+            return new Iterator<Object[]>() {
+                /** */
+                private int cur;
+
+                /** {@inheritDoc} */
+                @Override public boolean hasNext() {
+                    return cur < size;
+                }
+
+                /** {@inheritDoc} */
+                @Override public Object[] next() {
+                    if (cur == failAt)
+                        throw new IgniteException("Test error");
+
+                    return new Object[] {idx, cur++};
+                }
+            };
+        }
+
+        /** {@inheritDoc} */
+        @Override public void close() {
+            closed.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.internal.processors.query.calcite.exec.rel;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import com.google.common.collect.ImmutableList;
+import org.apache.calcite.rel.RelCollations;
+import org.apache.calcite.rel.core.Window;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rel.type.RelDataTypeFactory;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexWindowBound;
+import org.apache.calcite.rex.RexWindowBounds;
+import org.apache.calcite.sql.SqlAggFunction;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
+import org.apache.ignite.internal.processors.query.calcite.exec.exp.IgniteRexBuilder;
+import org.apache.ignite.internal.processors.query.calcite.exec.exp.window.WindowFrame;
+import org.apache.ignite.internal.processors.query.calcite.exec.exp.window.WindowFunctions;
+import org.apache.ignite.internal.processors.query.calcite.exec.exp.window.WindowPartition;
+import org.apache.ignite.internal.processors.query.calcite.type.IgniteTypeFactory;
+import org.apache.ignite.internal.processors.query.calcite.util.TypeUtils;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.junit.Test;
+
+/**
+ * Test WindowNode execution.
+ */
+public class WindowExecutionTest extends AbstractExecutionTest {
+    /**
+     * Checks that ranking functions, {@code LAG}, {@code LEAD} and aggregates over a bounded {@code ROWS} frame are
+     * computed without buffering of the whole partition.
+     */
+    @Test
+    public void testBoundedFunctions() throws Exception {
+        ExecutionContext<Object[]> ctx = executionContext(F.first(nodes()), UUID.randomUUID(), 0);
+        IgniteTypeFactory tf = ctx.getTypeFactory();
+        RexBuilder rexBuilder = new IgniteRexBuilder(tf);
+        RelDataType inType = TypeUtils.createRowType(tf, int.class, int.class);
+
+        RexNode val = rexBuilder.makeInputRef(inType, 1);
+
+        // Rows are (i / 2, i), the only partition is ordered by the first column, so each two rows are peers.
+        Window.Group grp = group(ImmutableBitSet.of(), 0, true,
+            RexWindowBounds.preceding(rexBuilder.makeExactLiteral(BigDecimal.valueOf(2))),
+            RexWindowBounds.following(rexBuilder.makeExactLiteral(BigDecimal.ONE)),
+            call(tf, SqlStdOperatorTable.ROW_NUMBER, SqlTypeName.BIGINT),
+            call(tf, SqlStdOperatorTable.RANK, SqlTypeName.BIGINT),
+            call(tf, SqlStdOperatorTable.LAG, SqlTypeName.INTEGER, val),
+            call(tf, SqlStdOperatorTable.LEAD, SqlTypeName.INTEGER, val,
+                rexBuilder.makeExactLiteral(BigDecimal.valueOf(2))),
+            call(tf, SqlStdOperatorTable.SUM, SqlTypeName.BIGINT, val));
+
+        WindowNode<Object[]> wnd = windowNode(ctx, grp, inType);
+
+        RootNode<Object[]> root = new RootNode<>(ctx, wnd.rowType());
+
+        root.register(wnd);
+
+        // The source is never exhausted.
+        wnd.register(new SourceNode(ctx, inType));
+
+        int bufSize = U.field(AbstractNode.class, "IN_BUFFER_SIZE");
+
+        for (int i = 0; i < bufSize * 10; i++) {
+            assertTrue(root.hasNext());
+
+            Object[] row = root.next();
+
+            assertEquals(i, row[1]);
+            assertEquals((long)i + 1, row[2]);
+            assertEquals((long)i / 2 * 2 + 1, row[3]);
+            assertEquals(i > 0 ? i - 1 : null, row[4]);
+            assertEquals(i + 2, row[5]);
+            assertEquals((long)i + Math.max(i - 1, 0) + Math.max(i - 2, 0) + i + 1, row[6]);
+
+            WindowPartition<Object[]> part = U.field(wnd, "part");
+
+            assertTrue("Too many buffered rows: " + part.kept(), part.kept() <= 5);
+        }
+
+        root.close();
+    }
+
+    /** Checks functions, which require the whole partition to be buffered. */
+    @Test
+    public void testUnboundedFunctions() throws Exception {
+        ExecutionContext<Object[]> ctx = executionContext(F.first(nodes()), UUID.randomUUID(), 0);
+        IgniteTypeFactory tf = ctx.getTypeFactory();
+        RexBuilder rexBuilder = new IgniteRexBuilder(tf);
+        RelDataType inType = TypeUtils.createRowType(tf, int.class, int.class);
+
+        RexNode val = rexBuilder.makeInputRef(inType, 1);
+
+        Window.Group grp = group(ImmutableBitSet.of(0), 1, false, RexWindowBounds.UNBOUNDED_PRECEDING,
+            RexWindowBounds.UNBOUNDED_FOLLOWING,
+            call(tf, SqlStdOperatorTable.SUM, SqlTypeName.BIGINT, val),
+            call(tf, SqlStdOperatorTable.CUME_DIST, SqlTypeName.DOUBLE),
+            call(tf, SqlStdOperatorTable.DENSE_RANK, SqlTypeName.BIGINT));
+
+        int bufSize = U.field(AbstractNode.class, "IN_BUFFER_SIZE");
+
+        int[] sizes = {1, 5, bufSize * 3 + 1};
+
+        List<Object[]> data = new ArrayList<>();
+
+        for (int p = 0; p < sizes.length; p++) {
+            for (int i = 0; i < sizes[p]; i++)
+                data.add(new Object[] {p, i});
+        }
+
+        WindowNode<Object[]> wnd = windowNode(ctx, grp, inType);
+
+        RootNode<Object[]> root = new RootNode<>(ctx, wnd.rowType());
+
+        root.register(wnd);
+
+        wnd.register(new ScanNode<>(ctx, inType, data));
+
+        for (int p = 0; p < sizes.length; p++) {
+            int size = sizes[p];
+
+            for (int i = 0; i < size; i++) {
+                assertTrue(root.hasNext());
+
+                Object[] row = root.next();
+
+                assertEquals(p, row[0]);
+                assertEquals(i, row[1]);
+                assertEquals((long)size * (size - 1) / 2, row[2]);
+                assertEquals((double)(i + 1) / size, row[3]);
+                assertEquals((long)i + 1, row[4]);
+            }
+        }
+
+        assertFalse(root.hasNext());
+    }
+
+    /** */
+    private static Window.Group group(
+        ImmutableBitSet keys,
+        int orderKey,
+        boolean rows,
+        RexWindowBound lower,
+        RexWindowBound upper,
+        Window.RexWinAggCall... calls
+    ) {
+        return new Window.Group(keys, rows, lower, upper, RelCollations.of(orderKey), ImmutableList.copyOf(calls));
+    }
+
+    /** */
+    private static Window.RexWinAggCall call(
+        IgniteTypeFactory tf,
+        SqlAggFunction func,
+        SqlTypeName type,
+        RexNode... operands
+    ) {
+        RelDataType retType = tf.createTypeWithNullability(tf.createSqlType(type), true);
+
+        return new Window.RexWinAggCall(func, retType, ImmutableList.copyOf(operands), 0, false);
+    }
+
+    /** */
+    private static WindowNode<Object[]> windowNode(ExecutionContext<Object[]> ctx, Window.Group grp, RelDataType inType) {
+        IgniteTypeFactory tf = ctx.getTypeFactory();
+
+        RelDataTypeFactory.Builder b = tf.builder().addAll(inType.getFieldList());
+
+        for (int i = 0; i < grp.aggCalls.size(); i++)
+            b.add("W" + i, grp.aggCalls.get(i).getType());
+
+        RelDataType rowType = b.build();
+
+        return new WindowNode<>(
+            ctx,
+            rowType,
+            grp.keys.isEmpty() ? null : ctx.expressionFactory().comparator(RelCollations.of(0)),
+            ctx.expressionFactory().comparator(grp.orderKeys),
+            WindowFrame.of(grp),
+            WindowFunctions.create(ctx, grp, inType),
+            ctx.rowHandler().factory(tf, rowType)
+        );
+    }
+
+    /** Source of the rows {@code (i / 2, i)}, which is never exhausted. */
+    private static class SourceNode extends AbstractNode<Object[]> {
+        /** */
+        private int cnt;
+
+        /** */
+        public SourceNode(ExecutionContext<Object[]> ctx, RelDataType rowType) {
+            super(ctx, rowType);
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void rewindInternal() {
+            // No-op.
+        }
+
+        /** {@inheritDoc} */
+        @Override protected Downstream<Object[]> requestDownstream(int idx) {
+            return null;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void request(int rowsCnt) {
+            context().execute(() -> {
+                for (int i = 0; i < rowsCnt; i++, cnt++)
+                    downstream().push(new Object[] {cnt / 2, cnt});
+            }, this::onError);
+        }
+    }
+}
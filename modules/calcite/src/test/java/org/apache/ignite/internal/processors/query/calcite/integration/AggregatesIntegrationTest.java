@@ -24,6 +24,7 @@ import org.apache.ignite.cache.CacheMode;
 import org.apache.ignite.cache.QueryEntity;
 import org.apache.ignite.cache.query.annotations.QuerySqlField;
 import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.internal.processors.query.IgniteSQLException;
 import org.apache.ignite.internal.processors.query.calcite.QueryChecker;
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.testframework.GridTestUtils;
@@ -328,6 +329,68 @@ public class AggregatesIntegrationTest extends AbstractBasicIntegrationTest {
         assertQuery("SELECT SOME(c1 > c2) FROM t").returns(false).check();
     }
 
+    /** */
+    @Test
+    public void testApproxCountDistinct() {
+        executeSql("CREATE TABLE t(id INT PRIMARY KEY, grp INT, val VARCHAR)");
+
+        assertQuery("SELECT APPROX_COUNT_DISTINCT(val) FROM t").returns(0L).check();
+
+        executeSql("INSERT INTO t SELECT x, x % 10, 'val' || (x % 5000) FROM TABLE(SYSTEM_RANGE(0, 9999))");
+        executeSql("INSERT INTO t VALUES (10000, 0, NULL)");
+
+        assertEstimate(5000, (Long)sql("SELECT APPROX_COUNT_DISTINCT(val) FROM t").get(0).get(0), 0.03);
+
+        List<List<?>> res = sql("SELECT grp, APPROX_COUNT_DISTINCT(val), COUNT(DISTINCT val) FROM t GROUP BY grp");
+
+        assertEquals(10, res.size());
+
+        for (List<?> row : res) {
+            assertEquals(500L, row.get(2));
+            assertEstimate(500, (Long)row.get(1), 0.03);
+        }
+
+        assertQuery("SELECT APPROX_COUNT_DISTINCT(val) FROM t WHERE val IS NULL").returns(0L).check();
+    }
+
+    /** */
+    @Test
+    public void testApproxPercentile() {
+        executeSql("CREATE TABLE t(id INT PRIMARY KEY, grp INT, val DOUBLE)");
+
+        assertQuery("SELECT APPROX_PERCENTILE(val, 0.5) FROM t").returns(new Object[] {null}).check();
+
+        executeSql("INSERT INTO t SELECT x, x % 2, x FROM TABLE(SYSTEM_RANGE(1, 10000))");
+        executeSql("INSERT INTO t VALUES (0, 0, NULL)");
+
+        List<?> row = sql("SELECT APPROX_PERCENTILE(val, 0), APPROX_PERCENTILE(val, 0.5), " +
+            "APPROX_PERCENTILE(val, 0.99), APPROX_PERCENTILE(val, 1) FROM t").get(0);
+
+        assertEquals(1d, row.get(0));
+        assertEquals(5000d, (Double)row.get(1), 50d);
+        assertEquals(9900d, (Double)row.get(2), 10d);
+        assertEquals(10000d, row.get(3));
+
+        List<List<?>> res = sql("SELECT grp, APPROX_PERCENTILE(val, 0.5) FROM t GROUP BY grp");
+
+        assertEquals(2, res.size());
+
+        for (List<?> r : res)
+            assertEquals(5000d, (Double)r.get(1), 50d);
+
+        assertThrows("SELECT APPROX_PERCENTILE(val, 2) FROM t", IgniteSQLException.class,
+            "The value must be a numeric literal between 0 and 1");
+
+        assertThrows("SELECT APPROX_PERCENTILE(val, grp) FROM t", IgniteSQLException.class,
+            "The value must be a numeric literal between 0 and 1");
+    }
+
+    /** */
+    private static void assertEstimate(long exp, long actual, double relErr) {
+        assertTrue("Unexpected estimate [exp=" + exp + ", actual=" + actual + ']',
+            Math.abs(actual - exp) <= exp * relErr);
+    }
+
     /** */
     protected void createAndPopulateIndexedTable(int backups, CacheMode cacheMode) {
         IgniteCache<Integer, IndexedEmployer> person = client.getOrCreateCache(new CacheConfiguration<Integer, IndexedEmployer>()
@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.integration;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.calcite.CalciteQueryEngineConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.configuration.SqlConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.query.calcite.QueryChecker;
+import org.apache.ignite.internal.processors.query.calcite.exec.SpillManager;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.G;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.spi.metric.LongMetric;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.query.running.RunningQueryManager.SQL_USER_QUERIES_REG_NAME;
+import static org.apache.ignite.testframework.GridTestUtils.waitForCondition;
+
+/**
+ * Tests offloading rows to disk when query memory quota is exceeded.
+ */
+public class DiskSpillIntegrationTest extends AbstractBasicIntegrationTest {
+    /** */
+    private static final long QRY_MEMORY_QUOTA = 1_000_000L;
+
+    /** {@inheritDoc} */
+    @Override protected int nodeCount() {
+        return 2;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName).setSqlConfiguration(
+            new SqlConfiguration().setQueryEnginesConfiguration(new CalciteQueryEngineConfiguration()
+                .setQueryMemoryQuota(QRY_MEMORY_QUOTA).setDiskSpillEnabled(true)));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        sql("CREATE TABLE tbl (id INT, b VARBINARY) WITH TEMPLATE=REPLICATED");
+
+        for (int i = 0; i < 1000; i++)
+            sql("INSERT INTO tbl VALUES (?, ?)", (i * 7) % 1000, new byte[1000]);
+    }
+
+    /** */
+    @Test
+    public void testSortNode() throws Exception {
+        long spilled = spilledBytes();
+
+        List<List<?>> res = sql("SELECT id, b FROM tbl ORDER BY id");
+
+        assertEquals(1000, res.size());
+
+        for (int i = 0; i < res.size(); i++)
+            assertEquals(i, res.get(i).get(0));
+
+        res = sql("SELECT id, b FROM tbl ORDER BY id DESC");
+
+        assertEquals(1000, res.size());
+
+        for (int i = 0; i < res.size(); i++)
+            assertEquals(999 - i, res.get(i).get(0));
+
+        checkSpilled(spilled);
+    }
+
+    /** */
+    @Test
+    public void testHashAggregateNode() throws Exception {
+        long spilled = spilledBytes();
+
+        // Colocated.
+        assertQuery("SELECT id, ANY_VALUE(b) FROM tbl GROUP BY id")
+            .matches(QueryChecker.containsSubPlan("IgniteColocatedHashAggregate"))
+            .resultSize(1000)
+            .check();
+
+        checkSpilled(spilled);
+
+        // Map-reduce.
+        sql("CREATE TABLE tbl2 (id INT, b VARBINARY) WITH TEMPLATE=PARTITIONED");
+
+        for (int i = 0; i < 2000; i++)
+            sql("INSERT INTO tbl2 VALUES (?, ?)", i, new byte[1000]);
+
+        spilled = spilledBytes();
+
+        String sql = "SELECT id / 2, COUNT(*), ANY_VALUE(b) FROM tbl2 GROUP BY id / 2";
+
+        assertQuery(sql)
+            .matches(QueryChecker.containsSubPlan("IgniteReduceHashAggregate"))
+            .resultSize(1000)
+            .check();
+
+        Set<Object> keys = new HashSet<>();
+
+        for (List<?> row : sql(sql)) {
+            assertTrue(keys.add(row.get(0)));
+            assertEquals(2L, row.get(1));
+        }
+
+        checkSpilled(spilled);
+    }
+
+    /** */
+    @Test
+    public void testTableSpoolNode() throws Exception {
+        sql("CREATE TABLE tbl2 (id INT, b VARBINARY) WITH TEMPLATE=PARTITIONED");
+
+        for (int i = 0; i < 1000; i++)
+            sql("INSERT INTO tbl2 VALUES (?, ?)", i, new byte[1000]);
+
+        long spilled = spilledBytes();
+
+        assertQuery("SELECT (SELECT b FROM tbl2 WHERE tbl2.id + 1 = tbl.id + 1) FROM tbl")
+            .matches(QueryChecker.containsSubPlan("IgniteTableSpool"))
+            .resultSize(1000)
+            .check();
+
+        checkSpilled(spilled);
+    }
+
+    /** */
+    @Test
+    public void testHashJoinNode() throws Exception {
+        String hint = "/*+ DISABLE_RULE('MergeJoinConverter', 'NestedLoopJoinConverter', " +
+            "'CorrelatedNestedLoopJoin') */";
+
+        long spilled = spilledBytes();
+
+        String sql = "SELECT " + hint + " t1.id, t2.id, t1.b, t2.b FROM tbl t1 JOIN tbl t2 ON t1.id = t2.id";
+
+        assertQuery(sql)
+            .matches(QueryChecker.containsSubPlan("IgniteHashJoin"))
+            .resultSize(1000)
+            .check();
+
+        Set<Object> keys = new HashSet<>();
+
+        for (List<?> row : sql(sql)) {
+            assertEquals(row.get(0), row.get(1));
+            assertTrue(keys.add(row.get(0)));
+        }
+
+        checkSpilled(spilled);
+
+        spilled = spilledBytes();
+
+        sql = "SELECT " + hint + " t1.id, t2.id, t1.b, t2.b FROM tbl t1 LEFT JOIN tbl t2 ON t1.id = t2.id + 500";
+
+        assertQuery(sql)
+            .matches(QueryChecker.containsSubPlan("IgniteHashJoin"))
+            .resultSize(1000)
+            .check();
+
+        keys.clear();
+
+        int matched = 0;
+
+        for (List<?> row : sql(sql)) {
+            assertTrue(keys.add(row.get(0)));
+
+            if (row.get(1) != null) {
+                assertEquals(row.get(0), (Integer)row.get(1) + 500);
+
+                matched++;
+            }
+        }
+
+        assertEquals(500, matched);
+
+        checkSpilled(spilled);
+    }
+
+    /** */
+    @Test
+    public void testSpillFilesRemovedOnStart() throws Exception {
+        IgniteEx ignite = grid(1);
+
+        File dir = new File(U.resolveWorkDirectory(ignite.configuration().getWorkDirectory(), SpillManager.SPILL_DIR,
+            false), ignite.context().pdsFolderResolver().resolveFolders().folderName());
+
+        stopGrid(1);
+
+        File file = new File(dir, "leftover.spill");
+
+        assertTrue(dir.isDirectory() || dir.mkdirs());
+        assertTrue(file.createNewFile());
+
+        startGrid(1);
+
+        assertFalse(file.exists());
+    }
+
+    /**
+     * Checks that rows were offloaded to disk and all spill files are removed after query completion.
+     *
+     * @param prevSpilledBytes Spilled bytes before query execution.
+     */
+    private void checkSpilled(long prevSpilledBytes) throws Exception {
+        assertTrue(spilledBytes() > prevSpilledBytes);
+
+        assertTrue(waitForCondition(() -> {
+            for (Ignite ignite : G.allGrids()) {
+                File dir = new File(((IgniteEx)ignite).context().config().getWorkDirectory(), SpillManager.SPILL_DIR);
+
+                File[] nodeDirs = dir.listFiles();
+
+                if (nodeDirs == null)
+                    continue;
+
+                for (File nodeDir : nodeDirs) {
+                    if (!F.isEmpty(nodeDir.list()))
+                        return false;
+                }
+            }
+
+            return true;
+        }, 5_000L));
+    }
+
+    /** @return Total count of bytes offloaded to disk by all nodes. */
+    private long spilledBytes() {
+        long res = 0;
+
+        for (Ignite ignite : G.allGrids()) {
+            LongMetric metric = ((IgniteEx)ignite).context().metric().registry(SQL_USER_QUERIES_REG_NAME)
+                .findMetric("spilledBytes");
+
+            res += metric.value();
+        }
+
+        return res;
+    }
+}
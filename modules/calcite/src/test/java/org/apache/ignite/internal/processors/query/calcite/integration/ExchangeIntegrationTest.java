@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.integration;
+
+import java.util.Collections;
+import java.util.List;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_CALCITE_EXEC_IO_BATCH_COMPRESSION;
+
+/**
+ * Checks rows sent between nodes in compressed batches, which size is adjusted to the size of rows.
+ */
+@WithSystemProperty(key = IGNITE_CALCITE_EXEC_IO_BATCH_COMPRESSION, value = "true")
+public class ExchangeIntegrationTest extends AbstractBasicIntegrationTest {
+    /** */
+    @Test
+    public void testNarrowRows() {
+        sql("CREATE TABLE t(id INT PRIMARY KEY, val INT)");
+        sql("INSERT INTO t SELECT x, x % 10 FROM TABLE(system_range(1, 20000))");
+
+        List<List<?>> res = sql("SELECT id, val FROM t");
+
+        assertEquals(20000, res.size());
+
+        long sum = 0;
+
+        for (List<?> row : res) {
+            assertEquals((Integer)row.get(0) % 10, row.get(1));
+
+            sum += (Integer)row.get(0);
+        }
+
+        assertEquals(20000L * 20001 / 2, sum);
+
+        assertQuery("SELECT t1.val, COUNT(*) FROM t t1 JOIN t t2 ON t1.id = t2.id + 1 GROUP BY t1.val")
+            .returns(0, 2000L).returns(1, 1999L).returns(2, 2000L).returns(3, 2000L).returns(4, 2000L)
+            .returns(5, 2000L).returns(6, 2000L).returns(7, 2000L).returns(8, 2000L).returns(9, 2000L)
+            .check();
+    }
+
+    /** */
+    @Test
+    public void testWideRows() {
+        sql("CREATE TABLE t(id INT PRIMARY KEY, val VARCHAR)");
+        sql("INSERT INTO t SELECT x, REPEAT(CAST(x AS VARCHAR), 2000) FROM TABLE(system_range(1, 500))");
+
+        List<List<?>> res = sql("SELECT id, val FROM t ORDER BY id");
+
+        assertEquals(500, res.size());
+
+        for (int i = 0; i < res.size(); i++) {
+            List<?> row = res.get(i);
+
+            assertEquals(i + 1, row.get(0));
+            assertEquals(String.join("", Collections.nCopies(2000, String.valueOf(i + 1))), row.get(1));
+        }
+    }
+}
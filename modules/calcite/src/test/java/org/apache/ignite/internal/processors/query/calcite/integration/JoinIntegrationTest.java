@@ -471,6 +471,7 @@ public class JoinIntegrationTest extends AbstractBasicIntegrationTest {
     @Test
     public void testRightJoin() {
         Assume.assumeTrue(joinType != JoinType.CORRELATED);
+        Assume.assumeTrue(joinType != JoinType.HASH);
 
         assertQuery("" +
             "select t1.c1 c11, t1.c2 c12, t2.c1 c21, t2.c2 c22, t2.c3 c23 " +
@@ -727,6 +728,7 @@ public class JoinIntegrationTest extends AbstractBasicIntegrationTest {
     @Test
     public void testFullJoin() {
         Assume.assumeTrue(joinType != JoinType.CORRELATED);
+        Assume.assumeTrue(joinType != JoinType.HASH);
 
         assertQuery("" +
             "select t1.c1 c11, t1.c2 c12, t1.c3 c13, t2.c1 c21, t2.c2 c22, t2.c3 c23 " +
@@ -823,6 +825,39 @@ public class JoinIntegrationTest extends AbstractBasicIntegrationTest {
         //    .check();
     }
 
+    /**
+     * Test verifies result of a selective join of distributed tables, the probe side rows are filtered by
+     * the build side keys before they are sent to the join.
+     */
+    @Test
+    public void testSelectiveDistributedJoin() {
+        Assume.assumeTrue(joinType == JoinType.HASH);
+
+        executeSql("create table fact (id int primary key, dim_id int, val int)");
+        executeSql("create table dim (id int primary key, name varchar)");
+
+        try {
+            executeSql("insert into fact select x, x % 100, x from table(system_range(1, 5000))");
+            executeSql("insert into dim values (1, 'a'), (7, 'b'), (42, 'c'), (1000, 'd')");
+
+            assertQuery("select d.name, count(*), sum(f.val) from fact f join dim d on f.dim_id = d.id group by d.name")
+                .returns("a", 50L, 122550L)
+                .returns("b", 50L, 122850L)
+                .returns("c", 50L, 124600L)
+                .check();
+
+            assertQuery("select f.id from fact f join dim d on f.dim_id = d.id where d.name = 'c' and f.id < 300")
+                .returns(42)
+                .returns(142)
+                .returns(242)
+                .check();
+        }
+        finally {
+            executeSql("drop table fact");
+            executeSql("drop table dim");
+        }
+    }
+
     /** {@inheritDoc} */
     @Override protected QueryChecker assertQuery(String qry) {
         return super.assertQuery(qry.replace("select", "select "
@@ -835,21 +870,32 @@ public class JoinIntegrationTest extends AbstractBasicIntegrationTest {
         NESTED_LOOP(
             "CorrelatedNestedLoopJoin",
             "JoinCommuteRule",
-            "MergeJoinConverter"
+            "MergeJoinConverter",
+            "HashJoinConverter"
         ),
 
         /** */
         MERGE(
             "CorrelatedNestedLoopJoin",
             "JoinCommuteRule",
-            "NestedLoopJoinConverter"
+            "NestedLoopJoinConverter",
+            "HashJoinConverter"
         ),
 
         /** */
         CORRELATED(
             "MergeJoinConverter",
             "JoinCommuteRule",
-            "NestedLoopJoinConverter"
+            "NestedLoopJoinConverter",
+            "HashJoinConverter"
+        ),
+
+        /** */
+        HASH(
+            "MergeJoinConverter",
+            "JoinCommuteRule",
+            "NestedLoopJoinConverter",
+            "CorrelatedNestedLoopJoin"
         );
 
         /** */
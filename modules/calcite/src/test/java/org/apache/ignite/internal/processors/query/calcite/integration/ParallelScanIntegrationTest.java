@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.integration;
+
+import java.util.List;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_CALCITE_EXEC_SCAN_PARALLELISM;
+
+/**
+ * Checks table scans split into partition ranges scanned in parallel.
+ */
+@WithSystemProperty(key = IGNITE_CALCITE_EXEC_SCAN_PARALLELISM, value = "4")
+public class ParallelScanIntegrationTest extends AbstractBasicIntegrationTest {
+    /** */
+    @Test
+    public void testScan() {
+        sql("CREATE TABLE t(id INT PRIMARY KEY, val INT)");
+        sql("INSERT INTO t SELECT x, x % 10 FROM TABLE(system_range(1, 10000))");
+
+        List<List<?>> res = sql("SELECT id, val FROM t WHERE val < 5");
+
+        assertEquals(5000, res.size());
+
+        boolean[] seen = new boolean[10001];
+
+        for (List<?> row : res) {
+            int id = (Integer)row.get(0);
+
+            assertFalse(seen[id]);
+            assertEquals(id % 10, row.get(1));
+
+            seen[id] = true;
+        }
+
+        assertQuery("SELECT COUNT(*), SUM(id) FROM t").returns(10000L, 10000L * 10001 / 2).check();
+
+        assertQuery("SELECT val, COUNT(*) FROM t GROUP BY val")
+            .returns(0, 1000L).returns(1, 1000L).returns(2, 1000L).returns(3, 1000L).returns(4, 1000L)
+            .returns(5, 1000L).returns(6, 1000L).returns(7, 1000L).returns(8, 1000L).returns(9, 1000L)
+            .check();
+
+        assertQuery("SELECT id FROM t ORDER BY id LIMIT 3").returns(1).returns(2).returns(3).check();
+    }
+
+    /** */
+    @Test
+    public void testCorrelatedScan() {
+        sql("CREATE TABLE t(id INT PRIMARY KEY, val INT)");
+        sql("INSERT INTO t SELECT x, x % 10 FROM TABLE(system_range(1, 1000))");
+
+        assertQuery("SELECT COUNT(*) FROM t t1 WHERE EXISTS (SELECT 1 FROM t t2 WHERE t2.id = t1.val + 1)")
+            .returns(1000L).check();
+    }
+}
@@ -34,12 +34,18 @@ import org.apache.ignite.internal.IgniteEx;
 import org.apache.ignite.internal.processors.query.QueryEngine;
 import org.apache.ignite.internal.processors.query.calcite.CalciteQueryProcessor;
 import org.apache.ignite.internal.processors.query.calcite.QueryChecker;
+import org.apache.ignite.internal.processors.query.calcite.prepare.CacheKey;
+import org.apache.ignite.internal.processors.query.calcite.prepare.QueryPlanCache;
+import org.apache.ignite.internal.processors.query.calcite.schema.IgniteCacheTable;
 import org.apache.ignite.internal.processors.query.calcite.util.Commons;
 import org.apache.ignite.internal.processors.query.stat.StatisticsKey;
 import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.X;
 import org.apache.ignite.testframework.GridTestUtils;
 import org.junit.Test;
 
+import static org.hamcrest.CoreMatchers.not;
+
 /**
  * Tests for server side statistics usage.
  */
@@ -415,6 +421,80 @@ public class ServerStatisticsIntegrationTest extends AbstractBasicIntegrationTes
         }
     }
 
+    /**
+     * Check that the row count produced by a scan at runtime replaces the estimation, if the estimation is wrong by
+     * an order of magnitude.
+     */
+    @Test
+    public void testObservedRowCount() throws Exception {
+        srv = ignite(0);
+
+        sql("CREATE TABLE feedback (id INT PRIMARY KEY, a INT, b INT)");
+        sql("CREATE TABLE feedback_other (id INT PRIMARY KEY, a INT)");
+        sql("INSERT INTO feedback SELECT x, 1, 1 FROM TABLE(system_range(1, 2000))");
+
+        String sql = "select * from feedback where a = 1 and b = 1";
+        String otherSql = "select * from feedback_other where a = 1";
+
+        QueryPlanCache planCache = queryProcessor(srv).queryPlanCache();
+
+        try {
+            sql(srv, otherSql);
+
+            // Checker runs the query, and the scan reports the count it produced.
+            assertQuerySrv(sql).matches(not(QueryChecker.containsResultRowCount(2000.))).check();
+
+            // Cached plan is invalidated by the observation.
+            assertTrue(GridTestUtils.waitForCondition(
+                () -> planCache.queryPlan(new CacheKey("PUBLIC", sql), X.EMPTY_OBJECT_ARRAY) == null, 5_000));
+
+            // Plans of other tables are kept.
+            assertNotNull(planCache.queryPlan(new CacheKey("PUBLIC", otherSql), X.EMPTY_OBJECT_ARRAY));
+
+            assertQuerySrv(sql).matches(QueryChecker.containsResultRowCount(2000.)).check();
+
+            assertEquals(2000, sql(srv, sql).size());
+
+            // Observed counts are dropped once the statistics are refreshed.
+            IgniteCacheTable tbl = (IgniteCacheTable)queryProcessor(srv).schemaHolder().schema("PUBLIC")
+                .getTable("FEEDBACK");
+
+            tbl.observedRowCount("scan", 1d);
+
+            collectStatistics(new StatisticsKey("PUBLIC", "FEEDBACK"));
+
+            assertNull(tbl.observedRowCount("scan"));
+
+            dropStatistics(new StatisticsKey("PUBLIC", "FEEDBACK"));
+        }
+        finally {
+            sql("DROP TABLE feedback");
+            sql("DROP TABLE feedback_other");
+        }
+    }
+
+    /**
+     * Check that a query with dynamic parameters gets a separate plan for parameters of different selectivity.
+     */
+    @Test
+    public void testPlanVariantsByParametersSelectivity() throws IgniteCheckedException {
+        StatisticsKey key = new StatisticsKey("PUBLIC", "ALL_TYPES");
+        srv = ignite(0);
+
+        collectStatistics(key);
+
+        String sql = "EXPLAIN PLAN FOR select * from all_types where int_field > ?";
+
+        String narrowPlan = (String)sql(srv, sql, 98).get(0).get(0);
+        String widePlan = (String)sql(srv, sql, 1).get(0).get(0);
+
+        assertFalse(narrowPlan.equals(widePlan));
+
+        // Cached plans are reused for parameters of similar selectivity.
+        assertEquals(narrowPlan, sql(srv, sql, 97).get(0).get(0));
+        assertEquals(widePlan, sql(srv, sql, 2).get(0).get(0));
+    }
+
     /**
      * Clear query cache in specified node.
      *
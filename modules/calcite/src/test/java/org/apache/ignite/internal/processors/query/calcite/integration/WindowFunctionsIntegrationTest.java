@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.integration;
+
+import org.apache.ignite.internal.processors.query.IgniteSQLException;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.query.calcite.QueryChecker.matches;
+import static org.apache.ignite.internal.processors.query.calcite.QueryChecker.matchesOnce;
+
+/**
+ * Window functions (OVER clause) integration test.
+ */
+public class WindowFunctionsIntegrationTest extends AbstractBasicIntegrationTest {
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        sql("CREATE TABLE emp (id INT, dept INT, salary INT, PRIMARY KEY (id, dept))");
+
+        sql("INSERT INTO emp VALUES (1, 1, 100), (2, 1, 200), (3, 1, 200), (4, 1, 300), " +
+            "(5, 2, 50), (6, 2, 150), (7, 3, NULL)");
+    }
+
+    /** */
+    @Test
+    public void testRankingFunctions() {
+        assertQuery("SELECT id, ROW_NUMBER() OVER (PARTITION BY dept ORDER BY salary, id), " +
+            "RANK() OVER (PARTITION BY dept ORDER BY salary), " +
+            "DENSE_RANK() OVER (PARTITION BY dept ORDER BY salary) FROM emp")
+            .returns(1, 1L, 1L, 1L)
+            .returns(2, 2L, 2L, 2L)
+            .returns(3, 3L, 2L, 2L)
+            .returns(4, 4L, 4L, 3L)
+            .returns(5, 1L, 1L, 1L)
+            .returns(6, 2L, 2L, 2L)
+            .returns(7, 1L, 1L, 1L)
+            .check();
+
+        assertQuery("SELECT id, PERCENT_RANK() OVER (PARTITION BY dept ORDER BY salary), " +
+            "CUME_DIST() OVER (PARTITION BY dept ORDER BY salary), " +
+            "NTILE(3) OVER (PARTITION BY dept ORDER BY id) FROM emp WHERE dept = 1")
+            .returns(1, 0d, 0.25d, 1L)
+            .returns(2, 1d / 3, 0.75d, 1L)
+            .returns(3, 1d / 3, 0.75d, 2L)
+            .returns(4, 1d, 1d, 3L)
+            .check();
+
+        assertQuery("SELECT id, ROW_NUMBER() OVER (ORDER BY id DESC) FROM emp ORDER BY id")
+            .ordered()
+            .returns(1, 7L)
+            .returns(2, 6L)
+            .returns(3, 5L)
+            .returns(4, 4L)
+            .returns(5, 3L)
+            .returns(6, 2L)
+            .returns(7, 1L)
+            .check();
+    }
+
+    /** */
+    @Test
+    public void testAggregates() {
+        // Default frame: RANGE BETWEEN UNBOUNDED PRECEDING AND CURRENT ROW, peers are included.
+        assertQuery("SELECT id, SUM(salary) OVER (PARTITION BY dept ORDER BY salary), " +
+            "COUNT(*) OVER (PARTITION BY dept), MAX(salary) OVER (PARTITION BY dept) FROM emp")
+            .returns(1, 100L, 4L, 300)
+            .returns(2, 500L, 4L, 300)
+            .returns(3, 500L, 4L, 300)
+            .returns(4, 800L, 4L, 300)
+            .returns(5, 50L, 2L, 150)
+            .returns(6, 200L, 2L, 150)
+            .returns(7, null, 1L, null)
+            .check();
+
+        // Sliding frame.
+        assertQuery("SELECT id, SUM(salary) OVER (PARTITION BY dept ORDER BY id ROWS BETWEEN 1 PRECEDING AND 1 FOLLOWING), " +
+            "MIN(salary) OVER (PARTITION BY dept ORDER BY id ROWS BETWEEN CURRENT ROW AND UNBOUNDED FOLLOWING) " +
+            "FROM emp WHERE dept = 1")
+            .returns(1, 300L, 100)
+            .returns(2, 500L, 200)
+            .returns(3, 700L, 200)
+            .returns(4, 500L, 300)
+            .check();
+
+        // Whole input is a single partition.
+        assertQuery("SELECT id, COUNT(*) OVER (), AVG(salary) OVER () FROM emp WHERE dept = 2")
+            .returns(5, 2L, 100)
+            .returns(6, 2L, 100)
+            .check();
+    }
+
+    /** */
+    @Test
+    public void testNavigationFunctions() {
+        assertQuery("SELECT id, LAG(salary) OVER (PARTITION BY dept ORDER BY id), " +
+            "LEAD(salary, 2, -1) OVER (PARTITION BY dept ORDER BY id), " +
+            "FIRST_VALUE(salary) OVER (PARTITION BY dept ORDER BY id), " +
+            "LAST_VALUE(salary) OVER (PARTITION BY dept ORDER BY id ROWS BETWEEN CURRENT ROW AND UNBOUNDED FOLLOWING) " +
+            "FROM emp WHERE dept < 3")
+            .returns(1, null, 200, 100, 300)
+            .returns(2, 100, 300, 100, 300)
+            .returns(3, 200, -1, 100, 300)
+            .returns(4, 200, -1, 100, 300)
+            .returns(5, null, -1, 50, 150)
+            .returns(6, 50, -1, 50, 150)
+            .check();
+
+        assertQuery("SELECT id, NTH_VALUE(salary, 2) OVER (PARTITION BY dept ORDER BY id) FROM emp WHERE dept < 3")
+            .returns(1, null)
+            .returns(2, 200)
+            .returns(3, 200)
+            .returns(4, 200)
+            .returns(5, null)
+            .returns(6, 150)
+            .check();
+
+        assertQuery("SELECT id, LAG(salary) RESPECT NULLS OVER (ORDER BY id) FROM emp WHERE dept = 2")
+            .returns(5, null)
+            .returns(6, 50)
+            .check();
+    }
+
+    /** */
+    @Test
+    public void testUnsupportedWindowCalls() {
+        assertThrows("SELECT COUNT(DISTINCT salary) OVER (PARTITION BY dept) FROM emp", IgniteSQLException.class,
+            "DISTINCT COUNT is unsupported");
+
+        assertThrows("SELECT LAG(salary) IGNORE NULLS OVER (ORDER BY id) FROM emp", IgniteSQLException.class,
+            "IGNORE NULLS is unsupported");
+
+        assertThrows("SELECT ARRAY_AGG(salary) OVER (PARTITION BY dept) FROM emp", IgniteSQLException.class,
+            "ARRAY_AGG is unsupported");
+
+        assertThrows("SELECT SUM(1) OVER (PARTITION BY dept) FROM emp", IgniteSQLException.class,
+            "SUM with a constant argument is unsupported");
+
+        assertThrows("SELECT SUM(salary) OVER (ORDER BY salary RANGE 10 PRECEDING) FROM emp",
+            IgniteSQLException.class, "RANGE frame with an offset is unsupported");
+
+        assertThrows("SELECT SUM(salary) OVER w FROM emp WINDOW w AS (ORDER BY salary RANGE 10 PRECEDING)",
+            IgniteSQLException.class, "RANGE frame with an offset is unsupported");
+    }
+
+    /** */
+    @Test
+    public void testWindowWithOtherOperators() {
+        // Filter over window results and several windows with different partitioning.
+        assertQuery("SELECT id, rn, cnt FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY dept ORDER BY id) AS rn, " +
+            "COUNT(*) OVER (ORDER BY id ROWS UNBOUNDED PRECEDING) AS cnt FROM emp) WHERE rn = 1")
+            .returns(1, 1L, 1L)
+            .returns(5, 1L, 5L)
+            .returns(7, 1L, 7L)
+            .check();
+
+        assertQuery("SELECT dept, MAX(rn) FROM (SELECT dept, ROW_NUMBER() OVER (PARTITION BY dept ORDER BY id) AS rn " +
+            "FROM emp) GROUP BY dept")
+            .returns(1, 4L)
+            .returns(2, 2L)
+            .returns(3, 1L)
+            .check();
+    }
+
+    /** */
+    @Test
+    public void testColocatedPartitions() {
+        // Partitions by the affinity key (the primary key columns) are computed on the map side, rows are sent
+        // to the initiator after the window.
+        assertQuery("SELECT id, ROW_NUMBER() OVER (PARTITION BY dept, id ORDER BY salary), " +
+            "COUNT(*) OVER (PARTITION BY dept, id) FROM emp")
+            .matches(matches(".*IgniteExchange\\(distribution=\\[single\\]\\).*IgniteWindow.*IgniteWindow.*"))
+            .matches(matchesOnce("IgniteExchange"))
+            .returns(1, 1L, 1L)
+            .returns(2, 1L, 1L)
+            .returns(3, 1L, 1L)
+            .returns(4, 1L, 1L)
+            .returns(5, 1L, 1L)
+            .returns(6, 1L, 1L)
+            .returns(7, 1L, 1L)
+            .check();
+    }
+}
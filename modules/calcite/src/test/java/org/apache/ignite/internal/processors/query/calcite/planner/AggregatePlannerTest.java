@@ -411,10 +411,11 @@ public class AggregatePlannerTest extends AbstractAggregatePlannerTest {
             "FROM dept " +
             "JOIN (SELECT deptid, COUNT(*) AS cnt FROM emp GROUP BY deptid) AS agg ON dept.deptid = agg.deptid";
 
+        // Hash join is disabled, the search may stop at the single distribution plan otherwise.
         assertPlan(sql, schema, hasChildThat(isInstanceOf(Join.class)
             .and(input(0, hasDistribution(IgniteDistributions.affinity(0, null, "hash"))))
             .and(input(1, hasDistribution(IgniteDistributions.affinity(0, null, "hash"))))),
-            algo.rulesToDisable);
+            F.concat(algo.rulesToDisable, "HashJoinConverter"));
     }
 
     /** */
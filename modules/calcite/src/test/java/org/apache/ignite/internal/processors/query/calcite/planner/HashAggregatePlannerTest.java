@@ -23,6 +23,7 @@ import com.google.common.collect.ImmutableList;
 import org.apache.calcite.plan.RelOptUtil;
 import org.apache.calcite.rel.RelCollation;
 import org.apache.calcite.rel.RelCollations;
+import org.apache.calcite.rel.core.AggregateCall;
 import org.apache.calcite.rel.type.RelDataTypeFactory;
 import org.apache.calcite.sql.fun.SqlAvgAggFunction;
 import org.apache.calcite.sql.fun.SqlCountAggFunction;
@@ -36,6 +37,7 @@ import org.apache.ignite.internal.processors.query.calcite.rel.IgniteRel;
 import org.apache.ignite.internal.processors.query.calcite.rel.agg.IgniteMapHashAggregate;
 import org.apache.ignite.internal.processors.query.calcite.rel.agg.IgniteReduceHashAggregate;
 import org.apache.ignite.internal.processors.query.calcite.schema.IgniteSchema;
+import org.apache.ignite.internal.processors.query.calcite.sql.fun.IgniteOwnSqlOperatorTable;
 import org.apache.ignite.internal.processors.query.calcite.trait.IgniteDistribution;
 import org.apache.ignite.internal.processors.query.calcite.trait.IgniteDistributions;
 import org.apache.ignite.internal.processors.query.calcite.type.IgniteTypeFactory;
@@ -292,4 +294,33 @@ public class HashAggregatePlannerTest extends AbstractAggregatePlannerTest {
             F.first(mapAgg.getAggCallList()).getAggregation(),
             IsInstanceOf.instanceOf(SqlCountAggFunction.class));
     }
+
+    /**
+     * Approximate aggregates are split into map and reduce phases, partial sketches are merged by the reducer.
+     */
+    @Test
+    public void approximateAggregates() throws Exception {
+        IgniteSchema publicSchema = new IgniteSchema("PUBLIC");
+
+        publicSchema.addTable("TEST", createAffinityTable());
+
+        String sql = "SELECT grp0, APPROX_COUNT_DISTINCT(val0), APPROX_PERCENTILE(val1, 0.9) FROM test GROUP BY grp0";
+
+        IgniteRel phys = physicalPlan(sql, publicSchema);
+
+        checkSplitAndSerialization(phys, publicSchema);
+
+        IgniteMapHashAggregate mapAgg = findFirstNode(phys, byClass(IgniteMapHashAggregate.class));
+        IgniteReduceHashAggregate rdcAgg = findFirstNode(phys, byClass(IgniteReduceHashAggregate.class));
+
+        assertNotNull("Invalid plan\n" + RelOptUtil.toString(phys), rdcAgg);
+        assertNotNull("Invalid plan\n" + RelOptUtil.toString(phys), mapAgg);
+
+        AggregateCall cnt = F.first(rdcAgg.getAggregateCalls());
+
+        assertTrue("Invalid plan\n" + RelOptUtil.toString(phys), cnt.isDistinct() && cnt.isApproximate());
+
+        assertEquals("Invalid plan\n" + RelOptUtil.toString(phys), IgniteOwnSqlOperatorTable.APPROX_PERCENTILE,
+            rdcAgg.getAggregateCalls().get(1).getAggregation());
+    }
 }
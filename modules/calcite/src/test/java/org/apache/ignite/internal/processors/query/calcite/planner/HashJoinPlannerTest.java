@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.planner;
+
+import java.util.List;
+import java.util.Objects;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.ignite.internal.processors.query.calcite.prepare.Cloner;
+import org.apache.ignite.internal.processors.query.calcite.prepare.Fragment;
+import org.apache.ignite.internal.processors.query.calcite.prepare.Splitter;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteHashJoin;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteRel;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteSort;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteTableScan;
+import org.apache.ignite.internal.processors.query.calcite.schema.IgniteSchema;
+import org.apache.ignite.internal.processors.query.calcite.schema.IgniteTable;
+import org.apache.ignite.internal.processors.query.calcite.trait.IgniteDistributions;
+import org.apache.ignite.internal.processors.query.calcite.util.Commons;
+import org.junit.Test;
+
+/** HashJoin planner test. */
+public class HashJoinPlannerTest extends AbstractPlannerTest {
+    /** Only HashJoin encourage. */
+    private static final String[] DISABLED_RULES = {
+        "NestedLoopJoinConverter",
+        "CorrelatedNestedLoopJoin",
+        "MergeJoinConverter",
+        "JoinCommuteRule"
+    };
+
+    /** */
+    private IgniteSchema schema() {
+        return createSchema(
+            createTable("LEFT_T", IgniteDistributions.single(), "C1", Integer.class, "C2", Integer.class,
+                "C3", Double.class),
+            createTable("RIGHT_T", IgniteDistributions.single(), "C1", Integer.class, "C2", Integer.class,
+                "C3", Double.class)
+        );
+    }
+
+    /**
+     * Checks that hash join is chosen for equi-join of unsorted inputs without sorting them.
+     *
+     * @throws Exception In case of any unexpected error.
+     */
+    @Test
+    public void testHashJoinForUnsortedInputs() throws Exception {
+        String sql = "select * from LEFT_T join RIGHT_T on LEFT_T.c1 = RIGHT_T.c1 and LEFT_T.c2 = RIGHT_T.c2";
+
+        assertPlan(sql, schema(), nodeOrAnyChild(isInstanceOf(IgniteHashJoin.class)
+            .and(j -> j.getJoinType() == JoinRelType.INNER))
+            .and(nodeOrAnyChild(isInstanceOf(IgniteSort.class)).negate()), "JoinCommuteRule");
+    }
+
+    /**
+     * Checks hash join with a non-equi part in the condition.
+     *
+     * @throws Exception In case of any unexpected error.
+     */
+    @Test
+    public void testLeftHashJoinWithNonEquiCondition() throws Exception {
+        String sql = "select * from LEFT_T left join RIGHT_T on LEFT_T.c1 = RIGHT_T.c1 and LEFT_T.c2 > RIGHT_T.c2";
+
+        assertPlan(sql, schema(), nodeOrAnyChild(isInstanceOf(IgniteHashJoin.class)
+            .and(j -> j.getJoinType() == JoinRelType.LEFT)), DISABLED_RULES);
+    }
+
+    /**
+     * Checks that hash join is not used for join types and keys it doesn't support.
+     *
+     * @throws Exception In case of any unexpected error.
+     */
+    @Test
+    public void testHashJoinNotApplicable() throws Exception {
+        // Right and full joins are not supported.
+        assertPlan("select * from LEFT_T right join RIGHT_T on LEFT_T.c1 = RIGHT_T.c1", schema(),
+            nodeOrAnyChild(isInstanceOf(IgniteHashJoin.class)).negate(), "JoinCommuteRule");
+
+        assertPlan("select * from LEFT_T full join RIGHT_T on LEFT_T.c1 = RIGHT_T.c1", schema(),
+            nodeOrAnyChild(isInstanceOf(IgniteHashJoin.class)).negate(), "JoinCommuteRule");
+
+        // No equi pairs.
+        assertPlan("select * from LEFT_T join RIGHT_T on LEFT_T.c1 > RIGHT_T.c1", schema(),
+            nodeOrAnyChild(isInstanceOf(IgniteHashJoin.class)).negate(), "JoinCommuteRule");
+
+        // Approximate numeric keys.
+        assertPlan("select * from LEFT_T join RIGHT_T on LEFT_T.c3 = RIGHT_T.c3", schema(),
+            nodeOrAnyChild(isInstanceOf(IgniteHashJoin.class)).negate(), "JoinCommuteRule");
+
+        // NULL-aware keys.
+        assertPlan("select * from LEFT_T join RIGHT_T on LEFT_T.c1 is not distinct from RIGHT_T.c1", schema(),
+            nodeOrAnyChild(isInstanceOf(IgniteHashJoin.class)).negate(), "JoinCommuteRule");
+    }
+
+    /**
+     * Checks that the probe side scan of a distributed hash join filters rows by the build side keys.
+     *
+     * @throws Exception In case of any unexpected error.
+     */
+    @Test
+    public void testRuntimeFilter() throws Exception {
+        IgniteSchema schema = createSchema(
+            createTable("FACT", 1_000_000, IgniteDistributions.affinity(0, "default", "hash"),
+                "ID", Integer.class, "DIM_ID", Integer.class, "VAL", Double.class),
+            createTable("DIM", 100, IgniteDistributions.single(),
+                "ID", Integer.class, "NAME", String.class)
+        );
+
+        String sql = "select f.val, d.name from FACT f join DIM d on f.dim_id = d.id where d.name = 'a'";
+
+        IgniteRel phys = physicalPlan(sql, schema, DISABLED_RULES);
+
+        List<Fragment> fragments = new Splitter().go(Cloner.clone(phys));
+
+        IgniteHashJoin join = fragments.stream()
+            .<IgniteHashJoin>map(f -> findFirstNode(f.root(), byClass(IgniteHashJoin.class)))
+            .filter(Objects::nonNull)
+            .findFirst()
+            .orElse(null);
+
+        String invalidPlanMsg = "Invalid plan:\n" + RelOptUtil.toString(phys);
+
+        assertNotNull(invalidPlanMsg, join);
+        assertTrue(invalidPlanMsg, join.runtimeFilter());
+
+        IgniteTableScan scan = fragments.stream()
+            .<IgniteTableScan>map(f -> findFirstNode(f.root(), byClass(IgniteTableScan.class,
+                n -> ((IgniteTableScan)n).runtimeFilterKeys() != null)))
+            .filter(Objects::nonNull)
+            .findFirst()
+            .orElse(null);
+
+        assertNotNull(invalidPlanMsg, scan);
+        assertEquals("FACT", scan.getTable().getQualifiedName().get(1));
+
+        RelDataType scanRowType = scan.getTable().unwrap(IgniteTable.class)
+            .getRowType(Commons.typeFactory(scan.getCluster()), scan.requiredColumns());
+
+        assertEquals(1, scan.runtimeFilterKeys().size());
+        assertEquals("DIM_ID", scanRowType.getFieldList().get(scan.runtimeFilterKeys().getInt(0)).getName());
+
+        checkSplitAndSerialization(phys, schema);
+
+        // Unmatched probe side rows are required by the left join.
+        phys = physicalPlan("select f.val, d.name from FACT f left join DIM d on f.dim_id = d.id", schema,
+            DISABLED_RULES);
+
+        assertTrue(new Splitter().go(Cloner.clone(phys)).stream()
+            .allMatch(f -> findFirstNode(f.root(), byClass(IgniteTableScan.class,
+                n -> ((IgniteTableScan)n).runtimeFilterKeys() != null)) == null));
+    }
+}
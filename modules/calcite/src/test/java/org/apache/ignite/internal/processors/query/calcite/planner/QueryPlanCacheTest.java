@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.planner;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.internal.processors.query.calcite.prepare.CacheKey;
+import org.apache.ignite.internal.processors.query.calcite.prepare.ParametersSelectivity;
+import org.apache.ignite.internal.processors.query.calcite.prepare.QueryPlan;
+import org.apache.ignite.internal.processors.query.calcite.prepare.QueryPlanCacheImpl;
+import org.apache.ignite.internal.util.typedef.X;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.jetbrains.annotations.Nullable;
+import org.junit.Test;
+
+/**
+ * Query plan cache test.
+ */
+public class QueryPlanCacheTest extends GridCommonAbstractTest {
+    /** */
+    private static final int THREADS = 8;
+
+    /**
+     * Checks that concurrent misses for the same query build a single plan.
+     */
+    @Test
+    public void testConcurrentMissesPlanOnce() throws Exception {
+        QueryPlanCacheImpl cache = new QueryPlanCacheImpl(newContext());
+
+        CacheKey key = new CacheKey("PUBLIC", "SELECT * FROM T WHERE A = ?");
+
+        AtomicInteger planned = new AtomicInteger();
+
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+
+        GridTestUtils.runMultiThreaded(() -> {
+            barrier.await();
+
+            return cache.queryPlan(key, X.EMPTY_OBJECT_ARRAY, () -> {
+                planned.incrementAndGet();
+
+                doSleep(100);
+
+                return new TestPlan();
+            });
+        }, THREADS, "planner");
+
+        assertEquals(1, planned.get());
+        assertNotNull(cache.queryPlan(key, X.EMPTY_OBJECT_ARRAY));
+    }
+
+    /** Plan which suits any parameters. */
+    private static class TestPlan implements QueryPlan {
+        /** {@inheritDoc} */
+        @Override public Type type() {
+            return Type.QUERY;
+        }
+
+        /** {@inheritDoc} */
+        @Override public QueryPlan copy() {
+            return this;
+        }
+
+        /** {@inheritDoc} */
+        @Override public String query() {
+            return "SELECT * FROM T WHERE A = ?";
+        }
+
+        /** {@inheritDoc} */
+        @Override public @Nullable ParametersSelectivity parametersSelectivity() {
+            return null;
+        }
+    }
+}
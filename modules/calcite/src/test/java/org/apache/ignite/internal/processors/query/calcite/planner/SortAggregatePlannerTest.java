@@ -95,7 +95,8 @@ public class SortAggregatePlannerTest extends AbstractAggregatePlannerTest {
             F.concat(HASH_AGG_RULES,
                 "NestedLoopJoinConverter",
                 "CorrelatedNestedLoopJoin",
-                "CorrelateToNestedLoopRule"
+                "CorrelateToNestedLoopRule",
+                "HashJoinConverter"
             )
         );
 
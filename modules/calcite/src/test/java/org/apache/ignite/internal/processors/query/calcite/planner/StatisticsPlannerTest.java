@@ -21,14 +21,19 @@ import java.sql.Date;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
 import org.apache.calcite.rel.type.RelDataType;
 import org.apache.calcite.rel.type.RelDataTypeFactory;
 import org.apache.calcite.rel.type.RelDataTypeField;
+import org.apache.ignite.internal.processors.query.calcite.prepare.ParametersSelectivity;
+import org.apache.ignite.internal.processors.query.calcite.prepare.PlanningContext;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteIndexScan;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteRel;
+import org.apache.ignite.internal.processors.query.calcite.rel.ProjectableFilterableTableScan;
 import org.apache.ignite.internal.processors.query.calcite.schema.CacheTableDescriptor;
 import org.apache.ignite.internal.processors.query.calcite.schema.IgniteSchema;
 import org.apache.ignite.internal.processors.query.calcite.schema.IgniteStatisticsImpl;
@@ -37,6 +42,7 @@ import org.apache.ignite.internal.processors.query.calcite.type.IgniteTypeFactor
 import org.apache.ignite.internal.processors.query.calcite.type.IgniteTypeSystem;
 import org.apache.ignite.internal.processors.query.stat.ColumnStatistics;
 import org.apache.ignite.internal.processors.query.stat.ObjectStatisticsImpl;
+import org.apache.ignite.internal.util.typedef.T2;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -427,4 +433,122 @@ public class StatisticsPlannerTest extends AbstractPlannerTest {
 
         assertEquals(getIdxName(1, "T1C7SHORT"), idxScan.indexName());
     }
+
+    /**
+     * Check that the row count observed at runtime replaces the estimation for scans with the same condition.
+     *
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void testObservedRowCount() throws Exception {
+        tbl1.setStatistics(tbl1stat);
+
+        String sql = "select * from TBL1 where t1c7short > 4500";
+
+        IgniteRel phys = physicalPlan(sql, publicSchema);
+        IgniteIndexScan idxScan = findFirstNode(phys, byClass(IgniteIndexScan.class));
+
+        assertNotNull(idxScan);
+        assertTrue(idxScan.estimateRowCount(phys.getCluster().getMetadataQuery()) < 900);
+
+        RelMetadataQuery mq = phys.getCluster().getMetadataQuery();
+
+        tbl1.observedRowCount(idxScan.rowCountKey(ParametersSelectivity.bucket(mq.getSelectivity(idxScan, null))), 900);
+
+        IgniteRel phys2 = physicalPlan(sql, publicSchema);
+        ProjectableFilterableTableScan scan = findFirstNode(phys2, byClass(ProjectableFilterableTableScan.class));
+
+        assertNotNull(scan);
+        assertEquals(900d, scan.estimateRowCount(phys2.getCluster().getMetadataQuery()));
+
+        // Other conditions are still estimated.
+        IgniteRel phys3 = physicalPlan("select * from TBL1 where t1c7short > 4000", publicSchema);
+        scan = findFirstNode(phys3, byClass(ProjectableFilterableTableScan.class));
+
+        assertTrue(scan.estimateRowCount(phys3.getCluster().getMetadataQuery()) < 900);
+    }
+
+    /**
+     * Check that the row count observed at runtime is used only for parameters of the same selectivity.
+     *
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void testObservedRowCountBySelectivity() throws Exception {
+        tbl1.setStatistics(tbl1stat);
+
+        String sql = "select * from TBL1 where t1c7short > ?";
+
+        PlanningContext ctx = plannerCtxWithParams(sql, (short)4950);
+
+        ProjectableFilterableTableScan scan = findFirstNode(physicalPlan(ctx),
+            byClass(ProjectableFilterableTableScan.class));
+
+        T2<Integer, Double> estimate = ctx.scanEstimates().get(scan.rowCountKey());
+
+        assertNotNull(estimate);
+        assertTrue(estimate.get2() < 900);
+
+        tbl1.observedRowCount(scan.rowCountKey(estimate.get1()), 900);
+
+        ctx = plannerCtxWithParams(sql, (short)4960);
+        scan = findFirstNode(physicalPlan(ctx), byClass(ProjectableFilterableTableScan.class));
+
+        assertEquals(900d, ctx.scanEstimates().get(scan.rowCountKey()).get2());
+
+        // Parameters of other selectivity are still estimated.
+        ctx = plannerCtxWithParams(sql, (short)5);
+        scan = findFirstNode(physicalPlan(ctx), byClass(ProjectableFilterableTableScan.class));
+
+        T2<Integer, Double> otherEstimate = ctx.scanEstimates().get(scan.rowCountKey());
+
+        assertFalse(estimate.get1().equals(otherEstimate.get1()));
+        assertFalse(otherEstimate.get2() == 900d);
+    }
+
+    /**
+     * Check that selectivity of conditions with dynamic parameters is estimated by the parameter values, and the plan
+     * suits only parameters of similar selectivity.
+     *
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void testParametersSelectivity() throws Exception {
+        tbl1.setStatistics(tbl1stat);
+
+        String sql = "select * from TBL1 where t1c7short > ? and t1c8long > ?";
+
+        PlanningContext ctx = plannerCtxWithParams(sql, (short)5, 55555L);
+
+        IgniteIndexScan idxScan = findFirstNode(physicalPlan(ctx), byClass(IgniteIndexScan.class));
+
+        assertNotNull(idxScan);
+        assertEquals("TBL1_T1C8LONG", idxScan.indexName());
+
+        ParametersSelectivity paramsSel = ctx.parametersSelectivity();
+
+        assertNotNull(paramsSel);
+        assertTrue(paramsSel.matches(new Object[] {(short)10, 55000L}));
+        assertFalse(paramsSel.matches(new Object[] {(short)4990, 1L}));
+
+        ctx = plannerCtxWithParams(sql, (short)4990, 1L);
+
+        idxScan = findFirstNode(physicalPlan(ctx), byClass(IgniteIndexScan.class));
+
+        assertNotNull(idxScan);
+        assertEquals("TBL1_T1C7SHORT", idxScan.indexName());
+    }
+
+    /** */
+    private PlanningContext plannerCtxWithParams(String sql, Object... params) {
+        PlanningContext ctx = PlanningContext.builder()
+            .parentContext(baseQueryContext(Collections.singleton(publicSchema)))
+            .query(sql)
+            .parameters(params)
+            .build();
+
+        assertNotNull(ctx.planner());
+
+        return ctx;
+    }
 }
@@ -25,6 +25,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -93,6 +94,9 @@ public class TestTable implements IgniteCacheTable {
     /** */
     private volatile boolean idxRebuildInProgress;
 
+    /** */
+    private final Map<String, Double> observedRowCnts = new ConcurrentHashMap<>();
+
     /** */
     protected TestTable(RelDataType type) {
         this(type, 100.0);
@@ -294,6 +298,16 @@ public class TestTable implements IgniteCacheTable {
         return idxRebuildInProgress;
     }
 
+    /** {@inheritDoc} */
+    @Override public @Nullable Double observedRowCount(String scanKey) {
+        return observedRowCnts.get(scanKey);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void observedRowCount(String scanKey, double rowCnt) {
+        observedRowCnts.put(scanKey, rowCnt);
+    }
+
     /** */
     public String name() {
         return name;
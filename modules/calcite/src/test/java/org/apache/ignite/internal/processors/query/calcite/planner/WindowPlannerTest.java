@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.planner;
+
+import org.apache.calcite.rel.RelCollation;
+import org.apache.calcite.rel.RelCollations;
+import org.apache.calcite.rel.RelFieldCollation;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteExchange;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteIndexScan;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteSort;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteWindow;
+import org.apache.ignite.internal.processors.query.calcite.schema.IgniteSchema;
+import org.apache.ignite.internal.processors.query.calcite.trait.IgniteDistributions;
+import org.apache.ignite.internal.processors.query.calcite.trait.TraitUtils;
+import org.junit.Test;
+
+/**
+ * Window functions planner test.
+ */
+public class WindowPlannerTest extends AbstractPlannerTest {
+    /** */
+    private IgniteSchema schema() {
+        return createSchema(
+            createTable(
+                "EMP", IgniteDistributions.affinity(1, "emp", "hash"),
+                "EMPID", Integer.class,
+                "DEPTID", Integer.class,
+                "NAME", String.class,
+                "SALARY", Integer.class
+            ).addIndex("IDX_DEPT_SALARY", 1, 3),
+            createTable(
+                "T", IgniteDistributions.single(),
+                "A", Integer.class,
+                "B", Integer.class,
+                "C", Integer.class
+            )
+        );
+    }
+
+    /**
+     * Checks that the window input is sorted by partition keys followed by order keys.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testInputCollation() throws Exception {
+        RelCollation expected = RelCollations.of(TraitUtils.createFieldCollation(1),
+            new RelFieldCollation(2, RelFieldCollation.Direction.DESCENDING, RelFieldCollation.NullDirection.LAST));
+
+        assertPlan("SELECT a, ROW_NUMBER() OVER (PARTITION BY b ORDER BY c DESC) FROM t", schema(),
+            hasChildThat(isInstanceOf(IgniteWindow.class)
+                .and(input(isInstanceOf(IgniteSort.class).and(s -> s.collation().equals(expected))))));
+    }
+
+    /**
+     * Checks that the sort is not required if the input is already sorted.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testSortedIndexInput() throws Exception {
+        assertPlan("SELECT empid, SUM(salary) OVER (PARTITION BY deptid ORDER BY salary) FROM emp", schema(),
+            hasChildThat(isInstanceOf(IgniteWindow.class)
+                .and(input(isInstanceOf(IgniteIndexScan.class))))
+                .and(nodeOrAnyChild(isInstanceOf(IgniteSort.class)).negate()));
+    }
+
+    /**
+     * Checks that partitions by the affinity key are computed without an exchange below the window.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testColocatedPartitions() throws Exception {
+        assertPlan("SELECT empid, ROW_NUMBER() OVER (PARTITION BY deptid ORDER BY empid) FROM emp", schema(),
+            nodeOrAnyChild(isInstanceOf(IgniteExchange.class)
+                .and(hasChildThat(isInstanceOf(IgniteWindow.class)
+                    .and(hasDistribution(IgniteDistributions.affinity(1, null, "hash")))
+                    .and(nodeOrAnyChild(isInstanceOf(IgniteExchange.class)).negate())))));
+
+        // Partition keys are not colocated, rows have to be collected before the window.
+        assertPlan("SELECT empid, ROW_NUMBER() OVER (PARTITION BY name ORDER BY empid) FROM emp", schema(),
+            hasChildThat(isInstanceOf(IgniteWindow.class)
+                .and(hasChildThat(isInstanceOf(IgniteExchange.class)))));
+    }
+
+    /**
+     * Checks that window groups with different partitioning are chained.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testSeveralWindows() throws Exception {
+        assertPlan("SELECT ROW_NUMBER() OVER (PARTITION BY a ORDER BY b), SUM(c) OVER (PARTITION BY b) FROM t", schema(),
+            hasChildThat(isInstanceOf(IgniteWindow.class)
+                .and(hasChildThat(isInstanceOf(IgniteWindow.class)))));
+    }
+}
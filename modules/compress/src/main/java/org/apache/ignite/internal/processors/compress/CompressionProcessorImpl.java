@@ -21,8 +21,10 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.file.Path;
+import java.util.Arrays;
 import com.github.luben.zstd.Zstd;
 import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
 import net.jpountz.lz4.LZ4Factory;
 import net.jpountz.lz4.LZ4FastDecompressor;
 import org.apache.ignite.IgniteCheckedException;
@@ -414,6 +416,102 @@ public class CompressionProcessorImpl extends CompressionProcessor {
         setCompressionInfo(page, DiskPageCompression.DISABLED, 0, 0);
     }
 
+    /** {@inheritDoc} */
+    @Override public byte[] compress(
+        byte[] src,
+        int off,
+        int len,
+        DiskPageCompression compression,
+        int compressLevel
+    ) throws IgniteCheckedException {
+        switch (compression) {
+            case ZSTD: {
+                byte[] dst = new byte[(int)Zstd.compressBound(len)];
+
+                long size = Zstd.compressByteArray(dst, 0, dst.length, src, off, len, compressLevel);
+
+                if (Zstd.isError(size))
+                    throw new IgniteCheckedException("Failed to compress data with Zstd: " + Zstd.getErrorName(size));
+
+                return Arrays.copyOf(dst, (int)size);
+            }
+
+            case LZ4: {
+                LZ4Compressor compressor = Lz4.getCompressor(compressLevel);
+
+                byte[] dst = new byte[compressor.maxCompressedLength(len)];
+
+                return Arrays.copyOf(dst, compressor.compress(src, off, len, dst, 0, dst.length));
+            }
+
+            case SNAPPY: {
+                byte[] dst = new byte[Snappy.maxCompressedLength(len)];
+
+                try {
+                    return Arrays.copyOf(dst, Snappy.compress(src, off, len, dst, 0));
+                }
+                catch (IOException e) {
+                    throw new IgniteCheckedException("Failed to compress data with Snappy.", e);
+                }
+            }
+        }
+
+        throw new IllegalArgumentException("Unsupported compression: " + compression);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void decompress(byte[] src, byte[] dst, DiskPageCompression compression)
+        throws IgniteCheckedException {
+        switch (compression) {
+            case ZSTD: {
+                long size = Zstd.decompressByteArray(dst, 0, dst.length, src, 0, src.length);
+
+                if (Zstd.isError(size))
+                    throw new IgniteCheckedException("Failed to decompress data with Zstd: " + Zstd.getErrorName(size));
+
+                if (size != dst.length)
+                    throw new IgniteCheckedException("Unexpected size of decompressed data [exp=" + dst.length +
+                        ", actual=" + size + ']');
+
+                return;
+            }
+
+            case LZ4: {
+                int read;
+
+                try {
+                    read = Lz4.decompressor.decompress(src, 0, dst, 0, dst.length);
+                }
+                catch (LZ4Exception e) {
+                    throw new IgniteCheckedException("Failed to decompress data with LZ4.", e);
+                }
+
+                if (read != src.length)
+                    throw new IgniteCheckedException("Unexpected size of compressed data [exp=" + src.length +
+                        ", actual=" + read + ']');
+
+                return;
+            }
+
+            case SNAPPY: {
+                try {
+                    int size = Snappy.uncompress(src, 0, src.length, dst, 0);
+
+                    if (size != dst.length)
+                        throw new IgniteCheckedException("Unexpected size of decompressed data [exp=" + dst.length +
+                            ", actual=" + size + ']');
+                }
+                catch (IOException e) {
+                    throw new IgniteCheckedException("Failed to decompress data with Snappy.", e);
+                }
+
+                return;
+            }
+        }
+
+        throw new IllegalArgumentException("Unsupported compression: " + compression);
+    }
+
     /** */
     private static int maxCompressedBufferSize(int baseSz) {
         int lz4Sz = Lz4.fastCompressor.maxCompressedLength(baseSz);
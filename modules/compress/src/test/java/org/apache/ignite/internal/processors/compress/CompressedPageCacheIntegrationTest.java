@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.internal.processors.compress;
+
+import java.util.Arrays;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.cache.persistence.DataRegionMetricsImpl.DATAREGION_METRICS_PREFIX;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
+
+/**
+ * Checks that pages replaced from a data region with the compressed page cache are read back correctly.
+ */
+public class CompressedPageCacheIntegrationTest extends GridCommonAbstractTest {
+    /** */
+    private static final String REGION = "region";
+
+    /** Entries count, the data doesn't fit the data region. */
+    private static final int ENTRY_CNT = 30_000;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                    .setName(REGION)
+                    .setPersistenceEnabled(true)
+                    .setMetricsEnabled(true)
+                    .setMaxSize(20L * 1024 * 1024)
+                    .setCompressedPageCacheSize(64L * 1024 * 1024)));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testReplacedPagesAreRestored() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Integer, byte[]> cache = ignite.getOrCreateCache(DEFAULT_CACHE_NAME);
+
+        try (IgniteDataStreamer<Integer, byte[]> streamer = ignite.dataStreamer(DEFAULT_CACHE_NAME)) {
+            for (int i = 0; i < ENTRY_CNT; i++)
+                streamer.addData(i, value(i));
+        }
+
+        forceCheckpoint();
+
+        for (int i = 0; i < ENTRY_CNT; i++)
+            assertTrue(Arrays.equals(value(i), cache.get(i)));
+
+        MetricRegistry mreg = ignite.context().metric().registry(metricName(DATAREGION_METRICS_PREFIX, REGION));
+
+        assertTrue(mreg.<LongAdderMetric>findMetric("CompressedPageCacheHits").value() > 0);
+        assertTrue(mreg.<LongAdderMetric>findMetric("CompressedPageCacheSize").value() > 0);
+
+        // Copies of pages of a destroyed cache must not be returned for the recreated one.
+        ignite.destroyCache(DEFAULT_CACHE_NAME);
+
+        cache = ignite.getOrCreateCache(new CacheConfiguration<>(DEFAULT_CACHE_NAME));
+
+        for (int i = 0; i < ENTRY_CNT; i += 100)
+            assertNull(cache.get(i));
+    }
+
+    /**
+     * @param i Key.
+     * @return Well compressible value.
+     */
+    private static byte[] value(int i) {
+        byte[] val = new byte[1024];
+
+        Arrays.fill(val, (byte)i);
+
+        return val;
+    }
+}
@@ -57,6 +57,7 @@ import static org.apache.ignite.internal.processors.compress.CompressionProcesso
 import static org.apache.ignite.internal.processors.compress.CompressionProcessor.ZSTD_MAX_LEVEL;
 import static org.apache.ignite.internal.util.GridUnsafe.NATIVE_BYTE_ORDER;
 import static org.apache.ignite.internal.util.GridUnsafe.bufferAddress;
+import static org.junit.Assume.assumeTrue;
 
 /**
  */
@@ -214,6 +215,36 @@ public class CompressionProcessorTest extends GridCommonAbstractTest {
         doTestBTreePage(leafIo);
     }
 
+    /**
+     * Checks compression of a block of WAL records in a compacted segment.
+     *
+     * @throws IgniteCheckedException If failed.
+     */
+    @Test
+    public void testBlock() throws IgniteCheckedException {
+        assumeTrue(compression != SKIP_GARBAGE);
+
+        Random rnd = ThreadLocalRandom.current();
+
+        byte[] src = new byte[pageSize + 2 * blockSize];
+
+        // Compressible data surrounded by random bytes which must not be compressed.
+        rnd.nextBytes(src);
+
+        for (int i = blockSize; i < blockSize + pageSize; i++)
+            src[i] = (byte)(i % blockSize);
+
+        byte[] compressed = p.compress(src, blockSize, pageSize, compression, compressLevel);
+
+        assertTrue(compressed.length < pageSize);
+
+        byte[] dst = new byte[pageSize];
+
+        p.decompress(compressed, dst, compression);
+
+        assertTrue(Arrays.equals(Arrays.copyOfRange(src, blockSize, blockSize + pageSize), dst));
+    }
+
     /**
      * @param io Page IO.
      * @throws IgniteCheckedException If failed.
@@ -27,6 +27,7 @@ import org.apache.ignite.internal.processors.cache.persistence.db.wal.WalRecover
 import org.apache.ignite.internal.processors.cache.persistence.snapshot.EncryptedSnapshotTest;
 import org.apache.ignite.internal.processors.cache.persistence.snapshot.PlainSnapshotTest;
 import org.apache.ignite.internal.processors.cache.persistence.snapshot.SnapshotCompressionBasicTest;
+import org.apache.ignite.internal.processors.compress.CompressedPageCacheIntegrationTest;
 import org.apache.ignite.internal.processors.compress.CompressionConfigurationTest;
 import org.apache.ignite.internal.processors.compress.CompressionProcessorTest;
 import org.apache.ignite.internal.processors.compress.DiskPageCompressionConfigValidationTest;
@@ -56,6 +57,7 @@ public class IgnitePdsCompressionTestSuite {
         suite.add(DiskPageCompressionIntegrationTest.class);
         suite.add(DiskPageCompressionConfigValidationTest.class);
         suite.add(DiskPageCompressionIntegrationAsyncTest.class);
+        suite.add(CompressedPageCacheIntegrationTest.class);
 
         // WAL page records compression.
         suite.add(WalPageCompressionIntegrationTest.class);
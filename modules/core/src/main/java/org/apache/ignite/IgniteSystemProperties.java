@@ -25,6 +25,7 @@ import java.util.Map;
 import java.util.Properties;
 import javax.net.ssl.HostnameVerifier;
 import org.apache.ignite.cache.CacheEntryProcessor;
+import org.apache.ignite.cdc.CdcConfiguration;
 import org.apache.ignite.cluster.ClusterGroup;
 import org.apache.ignite.configuration.CacheConfiguration;
 import org.apache.ignite.configuration.CheckpointWriteOrder;
@@ -38,7 +39,10 @@ import org.apache.ignite.internal.client.GridClient;
 import org.apache.ignite.internal.marshaller.optimized.OptimizedMarshaller;
 import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointEntry;
 import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointMarkersStorage;
+import org.apache.ignite.internal.processors.cache.persistence.snapshot.ChangedPagesTracker;
 import org.apache.ignite.internal.processors.cache.persistence.snapshot.IgniteSnapshotManager;
+import org.apache.ignite.internal.processors.cache.persistence.snapshot.SnapshotRestoreProcess;
+import org.apache.ignite.internal.processors.cache.persistence.wal.FileWriteAheadLogManager;
 import org.apache.ignite.internal.processors.metastorage.DistributedMetaStorage;
 import org.apache.ignite.internal.processors.performancestatistics.FilePerformanceStatisticsWriter;
 import org.apache.ignite.internal.processors.query.schema.SchemaIndexCachePartitionWorker;
@@ -63,8 +67,12 @@ import static org.apache.ignite.internal.LongJVMPauseDetector.DFLT_JVM_PAUSE_DET
 import static org.apache.ignite.internal.binary.BinaryArray.DFLT_IGNITE_USE_BINARY_ARRAYS;
 import static org.apache.ignite.internal.binary.streams.BinaryMemoryAllocator.DFLT_MARSHAL_BUFFERS_PER_THREAD_POOL_SIZE;
 import static org.apache.ignite.internal.binary.streams.BinaryMemoryAllocator.DFLT_MARSHAL_BUFFERS_RECHECK;
+import static org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexBulkBuild.DFLT_INDEX_BULK_BUILD;
+import static org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexBulkBuild.DFLT_INDEX_BULK_BUILD_SORT_BUFFER_SIZE;
+import static org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexTree.DFLT_INDEX_PREFIX_COMPRESSION;
 import static org.apache.ignite.internal.cache.query.index.sorted.inline.InlineRecommender.DFLT_THROTTLE_INLINE_SIZE_CALCULATION;
 import static org.apache.ignite.internal.managers.discovery.GridDiscoveryManager.DFLT_DISCOVERY_HISTORY_SIZE;
+import static org.apache.ignite.internal.mem.NumaPlacement.DFLT_NUMA_AWARE_PLACEMENT;
 import static org.apache.ignite.internal.processors.affinity.AffinityAssignment.DFLT_AFFINITY_BACKUPS_THRESHOLD;
 import static org.apache.ignite.internal.processors.affinity.GridAffinityAssignmentCache.DFLT_AFFINITY_HISTORY_SIZE;
 import static org.apache.ignite.internal.processors.affinity.GridAffinityAssignmentCache.DFLT_PART_DISTRIBUTION_WARN_THRESHOLD;
@@ -95,18 +103,26 @@ import static org.apache.ignite.internal.processors.cache.persistence.GridCacheD
 import static org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager.DFLT_PDS_WAL_REBALANCE_THRESHOLD;
 import static org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointHistory.DFLT_PDS_MAX_CHECKPOINT_MEMORY_HISTORY_SIZE;
 import static org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointMarkersStorage.DFLT_IGNITE_CHECKPOINT_MAP_SNAPSHOT_THRESHOLD;
+import static org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointPagesWriter.DFLT_CHECKPOINT_WRITE_RUN_PAGES;
 import static org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointWorkflow.DFLT_CHECKPOINT_PARALLEL_SORT_THRESHOLD;
 import static org.apache.ignite.internal.processors.cache.persistence.diagnostic.pagelocktracker.PageLockTrackerFactory.DFLT_PAGE_LOCK_TRACKER_CAPACITY;
 import static org.apache.ignite.internal.processors.cache.persistence.diagnostic.pagelocktracker.PageLockTrackerFactory.HEAP_LOG;
 import static org.apache.ignite.internal.processors.cache.persistence.diagnostic.pagelocktracker.SharedPageLockTracker.DFLT_PAGE_LOCK_TRACKER_CHECK_INTERVAL;
+import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStore.DFLT_PDS_SCAN_READ_AHEAD_PAGES;
 import static org.apache.ignite.internal.processors.cache.persistence.pagemem.FullPageIdTable.DFLT_LONG_LONG_HASH_MAP_LOAD_FACTOR;
 import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.DFLT_DELAYED_REPLACED_PAGE_WRITE;
 import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.DFLT_LOADED_PAGES_BACKWARD_SHIFT_MAP;
 import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PagesWriteThrottlePolicy.DFLT_THROTTLE_LOG_THRESHOLD;
+import static org.apache.ignite.internal.processors.cache.persistence.snapshot.ChangedPagesTracker.DFLT_SNAPSHOT_TRACK_CHANGED_PAGES;
 import static org.apache.ignite.internal.processors.cache.persistence.snapshot.IgniteSnapshotManager.DFLT_IGNITE_SNAPSHOT_SEQUENTIAL_WRITE;
+import static org.apache.ignite.internal.processors.cache.persistence.snapshot.SnapshotRestoreProcess.DFLT_SNAPSHOT_RESTORE_STREAMING;
+import static org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree.DFLT_BPLUS_TREE_BULK_LOAD_FILL_FACTOR;
+import static org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree.DFLT_BPLUS_TREE_OPTIMISTIC_READS;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree.IGNITE_BPLUS_TREE_LOCK_RETRIES_DEFAULT;
+import static org.apache.ignite.internal.processors.cache.persistence.wal.FileWriteAheadLogManager.DFLT_CDC_WAL_POSITION_UPDATE_FREQUENCY;
 import static org.apache.ignite.internal.processors.cache.persistence.wal.FileWriteAheadLogManager.DFLT_CHECKPOINT_TRIGGER_ARCHIVE_SIZE_PERCENTAGE;
 import static org.apache.ignite.internal.processors.cache.persistence.wal.FileWriteAheadLogManager.DFLT_THRESHOLD_WAIT_TIME_NEXT_WAL_SEGMENT;
+import static org.apache.ignite.internal.processors.cache.persistence.wal.FileWriteAheadLogManager.DFLT_WAL_COMPRESSION_BLOCK_SIZE;
 import static org.apache.ignite.internal.processors.cache.persistence.wal.FileWriteAheadLogManager.DFLT_WAL_COMPRESSOR_WORKER_THREAD_CNT;
 import static org.apache.ignite.internal.processors.cache.persistence.wal.FileWriteAheadLogManager.DFLT_WAL_MMAP;
 import static org.apache.ignite.internal.processors.cache.persistence.wal.filehandle.FileHandleManagerImpl.DFLT_WAL_SEGMENT_SYNC_TIMEOUT;
@@ -120,6 +136,7 @@ import static org.apache.ignite.internal.processors.cache.transactions.IgniteTxM
 import static org.apache.ignite.internal.processors.cache.transactions.IgniteTxManager.DFLT_TX_DEADLOCK_DETECTION_MAX_ITERS;
 import static org.apache.ignite.internal.processors.cache.transactions.IgniteTxManager.DFLT_TX_OWNER_DUMP_REQUESTS_ALLOWED;
 import static org.apache.ignite.internal.processors.cache.transactions.TxDeadlockDetection.DFLT_TX_DEADLOCK_DETECTION_TIMEOUT;
+import static org.apache.ignite.internal.processors.cache.tree.SequentialScanCursor.DFLT_PDS_SEQUENTIAL_SCAN_WINDOW;
 import static org.apache.ignite.internal.processors.cluster.ClusterProcessor.DFLT_DIAGNOSTIC_ENABLED;
 import static org.apache.ignite.internal.processors.cluster.ClusterProcessor.DFLT_UPDATE_NOTIFIER;
 import static org.apache.ignite.internal.processors.cluster.baseline.autoadjust.BaselineTopologyUpdater.DFLT_BASELINE_AUTO_ADJUST_LOG_INTERVAL;
@@ -1073,6 +1090,14 @@ public final class IgniteSystemProperties {
         "0 means that inline index store is disabled", type = Integer.class, defaults = "64")
     public static final String IGNITE_MAX_INDEX_PAYLOAD_SIZE = "IGNITE_MAX_INDEX_PAYLOAD_SIZE";
 
+    /**
+     * Enables compression of the common prefix of inlined keys in leaf pages of newly created indexes. Existing indexes
+     * keep the format they were created with. Not applied to indexes of MVCC caches and indexes without inlined keys.
+     */
+    @SystemProperty(value = "Enables compression of the common prefix of inlined keys in leaf pages of newly " +
+        "created indexes", defaults = "" + DFLT_INDEX_PREFIX_COMPRESSION)
+    public static final String IGNITE_INDEX_PREFIX_COMPRESSION = "IGNITE_INDEX_PREFIX_COMPRESSION";
+
     /**
      * Time interval for calculating rebalance rate statistics, in milliseconds. Defaults to 60000.
      * @deprecated Use {@link MetricsMxBean#configureHitRateMetric(String, long)} instead.
@@ -1322,6 +1347,34 @@ public final class IgniteSystemProperties {
         defaults = "" + DFLT_PDS_MAX_CHECKPOINT_MEMORY_HISTORY_SIZE)
     public static final String IGNITE_PDS_MAX_CHECKPOINT_MEMORY_HISTORY_SIZE = "IGNITE_PDS_MAX_CHECKPOINT_MEMORY_HISTORY_SIZE";
 
+    /**
+     * Maximum number of data rows whose pages are loaded in file order ahead of a full partition scan
+     * (scan query, SQL table scan, index rebuild, rebalance). Sequential scan mode is disabled if less than 2.
+     */
+    @SystemProperty(value = "Maximum number of data rows whose pages are loaded in file order ahead of " +
+        "a full partition scan. Sequential scan mode is disabled if less than 2", type = Integer.class,
+        defaults = "" + DFLT_PDS_SEQUENTIAL_SCAN_WINDOW)
+    public static final String IGNITE_PDS_SEQUENTIAL_SCAN_WINDOW = "IGNITE_PDS_SEQUENTIAL_SCAN_WINDOW";
+
+    /**
+     * Number of pages read from a page store by a single read request issued in sequential scan mode.
+     * Read-ahead is disabled if less than 2.
+     */
+    @SystemProperty(value = "Number of pages read from a page store by a single read request issued in " +
+        "sequential scan mode. Read-ahead is disabled if less than 2", type = Integer.class,
+        defaults = "" + DFLT_PDS_SCAN_READ_AHEAD_PAGES)
+    public static final String IGNITE_PDS_SCAN_READ_AHEAD_PAGES = "IGNITE_PDS_SCAN_READ_AHEAD_PAGES";
+
+    /**
+     * Enables NUMA aware placement of page memory segments and striped pool threads for data regions configured with
+     * {@link org.apache.ignite.mem.NumaAwareMemoryAllocator}. Segments are allocated on NUMA nodes in round-robin
+     * manner, pages of partition {@code p} are stored in segments of node {@code p % nodes} and striped pool threads
+     * processing the partition are bound to the same node.
+     */
+    @SystemProperty(value = "Enables NUMA aware placement of page memory segments and striped pool threads for " +
+        "data regions configured with NUMA aware memory allocator", defaults = "" + DFLT_NUMA_AWARE_PLACEMENT)
+    public static final String IGNITE_NUMA_AWARE_PLACEMENT = "IGNITE_NUMA_AWARE_PLACEMENT";
+
     /**
      * If this property is set to {@code true} enable logging in {@link GridClient}.
      */
@@ -1416,6 +1469,15 @@ public final class IgniteSystemProperties {
         defaults = "" + DFLT_WAL_COMPRESSOR_WORKER_THREAD_CNT)
     public static final String IGNITE_WAL_COMPRESSOR_WORKER_THREAD_CNT = "IGNITE_WAL_COMPRESSOR_WORKER_THREAD_CNT";
 
+    /**
+     * Size in bytes of a block of records a compressed WAL archive segment is split into. Blocks are compressed
+     * independently, so reading of a compressed segment from a given WAL pointer starts from the block containing it.
+     * Default value is 1 MB.
+     */
+    @SystemProperty(value = "Size in bytes of a block of records a compressed WAL archive segment is split into",
+        type = Integer.class, defaults = "" + DFLT_WAL_COMPRESSION_BLOCK_SIZE)
+    public static final String IGNITE_WAL_COMPRESSION_BLOCK_SIZE = "IGNITE_WAL_COMPRESSION_BLOCK_SIZE";
+
     /**
      * Whenever read load balancing is enabled, that means 'get' requests will be distributed between primary and backup
      * nodes if it is possible and {@link CacheConfiguration#isReadFromBackup()} is {@code true}.
@@ -1436,6 +1498,40 @@ public final class IgniteSystemProperties {
         defaults = "" + IGNITE_BPLUS_TREE_LOCK_RETRIES_DEFAULT)
     public static final String IGNITE_BPLUS_TREE_LOCK_RETRIES = "IGNITE_BPLUS_TREE_LOCK_RETRIES";
 
+    /**
+     * Enables optimistic reads of inner B+Tree pages on lookups: an inner page is searched without taking its read
+     * lock and the search result is validated against the page write version afterwards. The page is read under the
+     * lock only if it was concurrently modified.
+     */
+    @SystemProperty(value = "Enables optimistic (lock-free, version-validated) reads of inner B+Tree pages on lookups",
+        defaults = "" + DFLT_BPLUS_TREE_OPTIMISTIC_READS)
+    public static final String IGNITE_BPLUS_TREE_OPTIMISTIC_READS = "IGNITE_BPLUS_TREE_OPTIMISTIC_READS";
+
+    /**
+     * Fill factor of B+Tree pages built by bottom-up bulk loading of sorted rows, e.g. by index defragmentation.
+     * Value must be in range {@code (0, 1]}, bigger values produce more compact trees, but make the following
+     * inserts split pages more often.
+     */
+    @SystemProperty(value = "Fill factor of B+Tree pages built by bottom-up bulk loading of sorted rows",
+        type = Float.class, defaults = "" + DFLT_BPLUS_TREE_BULK_LOAD_FILL_FACTOR)
+    public static final String IGNITE_BPLUS_TREE_BULK_LOAD_FILL_FACTOR = "IGNITE_BPLUS_TREE_BULK_LOAD_FILL_FACTOR";
+
+    /**
+     * Builds empty indexes on index creation and rebuild by bulk loading of the cache rows sorted by partitions,
+     * instead of inserting the rows one by one.
+     */
+    @SystemProperty(value = "Builds empty indexes on index creation and rebuild by bulk loading of the sorted " +
+        "cache rows", defaults = "" + DFLT_INDEX_BULK_BUILD)
+    public static final String IGNITE_INDEX_BULK_BUILD = "IGNITE_INDEX_BULK_BUILD";
+
+    /**
+     * Size of the cache rows in bytes, sorted in memory by the index bulk build before they are written to
+     * a temporary file in the work directory.
+     */
+    @SystemProperty(value = "Size of the cache rows in bytes, sorted in memory by the index bulk build before they " +
+        "are written to a temporary file", type = Integer.class, defaults = "" + DFLT_INDEX_BULK_BUILD_SORT_BUFFER_SIZE)
+    public static final String IGNITE_INDEX_BULK_BUILD_SORT_BUFFER_SIZE = "IGNITE_INDEX_BULK_BUILD_SORT_BUFFER_SIZE";
+
     /**
      * Amount of memory reserved in the heap at node start, which can be dropped to increase the chances of success when
      * handling OutOfMemoryError.
@@ -1775,6 +1871,15 @@ public final class IgniteSystemProperties {
         type = Integer.class, defaults = "" + DFLT_CHECKPOINT_PARALLEL_SORT_THRESHOLD)
     public static final String CHECKPOINT_PARALLEL_SORT_THRESHOLD = "CHECKPOINT_PARALLEL_SORT_THRESHOLD";
 
+    /**
+     * Maximum number of checkpoint pages with consecutive indexes in the same partition file which are written
+     * to the page store with a single gathering write. Coalescing is disabled if less than 2.
+     */
+    @SystemProperty(value = "Maximum number of checkpoint pages with consecutive indexes in the same partition " +
+        "file which are written to the page store with a single gathering write. Coalescing is disabled if less than 2",
+        type = Integer.class, defaults = "" + DFLT_CHECKPOINT_WRITE_RUN_PAGES)
+    public static final String IGNITE_CHECKPOINT_WRITE_RUN_PAGES = "IGNITE_CHECKPOINT_WRITE_RUN_PAGES";
+
     /**
      * Keep static cache configuration even if stored cache data differs from the static config. When this property
      * is set, static cache configuration will override persisted configuration. DDL operations are not allowed
@@ -2058,6 +2163,41 @@ public final class IgniteSystemProperties {
         type = Integer.class)
     public static final String IGNITE_CALCITE_EXEC_IO_BATCH_CNT = "IGNITE_CALCITE_EXEC_IO_BATCH_CNT";
 
+    /**
+     * Calcite-based SQL engine. Target size in bytes of a data message. Count of rows in a message is adjusted to the
+     * estimated row size, but doesn't exceed four times {@link #IGNITE_CALCITE_EXEC_IO_BATCH_SIZE}. Messages have a
+     * fixed count of rows if the value is less or equal to {@code 0}.
+     */
+    @SystemProperty(value = "Calcite-based SQL engine. Target size in bytes of a data message. Count of rows in " +
+        "a message is adjusted to the estimated row size. Messages have a fixed count of rows if the value is less " +
+        "or equal to 0", type = Integer.class, defaults = "65536")
+    public static final String IGNITE_CALCITE_EXEC_IO_BATCH_BYTES = "IGNITE_CALCITE_EXEC_IO_BATCH_BYTES";
+
+    /**
+     * Calcite-based SQL engine. Compress rows of data messages sent to remote nodes.
+     */
+    @SystemProperty(value = "Calcite-based SQL engine. Compress rows of data messages sent to remote nodes")
+    public static final String IGNITE_CALCITE_EXEC_IO_BATCH_COMPRESSION = "IGNITE_CALCITE_EXEC_IO_BATCH_COMPRESSION";
+
+    /**
+     * Calcite-based SQL engine. Maximum count of rows passed between scan, filter, project and aggregate execution
+     * nodes at once. Batch execution is disabled if the value is less or equal to {@code 1}.
+     */
+    @SystemProperty(value = "Calcite-based SQL engine. Maximum count of rows passed between scan, filter, " +
+        "project and aggregate execution nodes at once. Batch execution is disabled if the value is less or equal to 1",
+        type = Integer.class, defaults = "0")
+    public static final String IGNITE_CALCITE_EXEC_BATCH_SIZE = "IGNITE_CALCITE_EXEC_BATCH_SIZE";
+
+    /**
+     * Calcite-based SQL engine. Maximum count of partition ranges a table scan of a query fragment is split into.
+     * The ranges are scanned by different threads of the query task executor in parallel. Parallel scan is disabled
+     * if the value is less or equal to {@code 1}.
+     */
+    @SystemProperty(value = "Calcite-based SQL engine. Maximum count of partition ranges a table scan of a query " +
+        "fragment is split into and scanned in parallel. Parallel scan is disabled if the value is less or equal to 1",
+        type = Integer.class, defaults = "1")
+    public static final String IGNITE_CALCITE_EXEC_SCAN_PARALLELISM = "IGNITE_CALCITE_EXEC_SCAN_PARALLELISM";
+
     /**
      * Calcite-based SQL engine. Pretty print serialized to JSON plan, when sending it to remote nodes.
      */
@@ -2099,6 +2239,39 @@ public final class IgniteSystemProperties {
     @IgniteExperimental
     public static final String IGNITE_SNAPSHOT_SEQUENTIAL_WRITE = "IGNITE_SNAPSHOT_SEQUENTIAL_WRITE";
 
+    /**
+     * Flag to track pages changed since the last cluster snapshot, so a differential snapshot, which copies only
+     * changed pages of partitions, can be created over it.
+     * The default value is {@link ChangedPagesTracker#DFLT_SNAPSHOT_TRACK_CHANGED_PAGES}.
+     */
+    @SystemProperty(value = "Flag to track pages changed since the last cluster snapshot, so a differential snapshot " +
+        "can be created over it", defaults = "" + DFLT_SNAPSHOT_TRACK_CHANGED_PAGES)
+    @IgniteExperimental
+    public static final String IGNITE_SNAPSHOT_TRACK_CHANGED_PAGES = "IGNITE_SNAPSHOT_TRACK_CHANGED_PAGES";
+
+    /**
+     * Flag to start caches restored from a snapshot before their partition files are copied. Partitions are swapped
+     * into the started caches as their files arrive, reads and updates of a partition wait for its file. The flag of
+     * the node which starts the restore operation is used by all nodes.
+     * The default value is {@link SnapshotRestoreProcess#DFLT_SNAPSHOT_RESTORE_STREAMING}.
+     */
+    @SystemProperty(value = "Flag to start caches restored from a snapshot before their partition files are copied",
+        defaults = "" + DFLT_SNAPSHOT_RESTORE_STREAMING)
+    @IgniteExperimental
+    public static final String IGNITE_SNAPSHOT_RESTORE_STREAMING = "IGNITE_SNAPSHOT_RESTORE_STREAMING";
+
+    /**
+     * Frequency in milliseconds of publishing the position of the last completely written record of the current
+     * WAL segment to the CDC directory. The position allows the CDC application to consume records of the segment
+     * before it is archived, see {@link CdcConfiguration#isTailActiveSegment()}. Zero or negative value disables
+     * publishing. The default value is {@link FileWriteAheadLogManager#DFLT_CDC_WAL_POSITION_UPDATE_FREQUENCY}.
+     */
+    @SystemProperty(value = "Frequency in milliseconds of publishing the position of the last completely written " +
+        "record of the current WAL segment for CDC. Zero or negative value disables publishing", type = Long.class,
+        defaults = "" + DFLT_CDC_WAL_POSITION_UPDATE_FREQUENCY)
+    @IgniteExperimental
+    public static final String IGNITE_CDC_WAL_POSITION_UPDATE_FREQUENCY = "IGNITE_CDC_WAL_POSITION_UPDATE_FREQUENCY";
+
     /**
      * Comma separated packages list to expose in configuration view.
      * The default value is null.
@@ -17,6 +17,7 @@
 
 package org.apache.ignite.cdc;
 
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.configuration.DataStorageConfiguration;
 import org.apache.ignite.internal.cdc.CdcMain;
 import org.apache.ignite.lang.IgniteExperimental;
@@ -38,6 +39,9 @@ public class CdcConfiguration {
     /** */
     private static final boolean DFLT_KEEP_BINARY = true;
 
+    /** */
+    private static final boolean DFLT_TAIL_ACTIVE_SEGMENT = false;
+
     /** Change Data Capture consumer. */
     private CdcConsumer consumer;
 
@@ -61,6 +65,13 @@ public class CdcConfiguration {
      */
     private long checkFreq = DFLT_CHECK_FREQ;
 
+    /**
+     * If {@code true} then CDC application consumes records of the WAL segment which is currently written by the node,
+     * without waiting for the segment to be archived.<br>
+     * Default is {@code false}.
+     */
+    private boolean tailActiveSegment = DFLT_TAIL_ACTIVE_SEGMENT;
+
     /** @return CDC consumer. */
     public CdcConsumer getConsumer() {
         return consumer;
@@ -124,4 +135,27 @@ public class CdcConfiguration {
     public void setCheckFrequency(long checkFreq) {
         this.checkFreq = checkFreq;
     }
+
+    /** @return {@code True} if CDC application consumes records of the WAL segment which is not archived yet. */
+    public boolean isTailActiveSegment() {
+        return tailActiveSegment;
+    }
+
+    /**
+     * Enables consumption of records of the WAL segment which is currently written by the node. Records are read
+     * up to the position published by the node,
+     * see {@link IgniteSystemProperties#IGNITE_CDC_WAL_POSITION_UPDATE_FREQUENCY}.
+     * Consumption of the active segment starts after the first archived segment is consumed or from the saved state.
+     * <p>
+     * The published position doesn't guarantee that records are synced to the disk, so on OS crash the consumer
+     * may receive events which are lost by the node.
+     * <p>
+     * Active segment is checked with {@link #getCheckFrequency()}, so the check frequency should be lowered
+     * (e.g. to {@code 10 ms}) to deliver events with low latency.
+     *
+     * @param tailActiveSegment {@code True} to consume records of the WAL segment which is not archived yet.
+     */
+    public void setTailActiveSegment(boolean tailActiveSegment) {
+        this.tailActiveSegment = tailActiveSegment;
+    }
 }
@@ -84,6 +84,9 @@ public final class DataRegionConfiguration implements Serializable {
     /** Default page replacement mode. */
     public static final PageReplacementMode DFLT_PAGE_REPLACEMENT_MODE = PageReplacementMode.CLOCK;
 
+    /** Default compression algorithm of the compressed page cache. */
+    public static final DiskPageCompression DFLT_COMPRESSED_PAGE_CACHE_COMPRESSION = DiskPageCompression.LZ4;
+
     /** Data region name. */
     private String name = DFLT_DATA_REG_DEFAULT_NAME;
 
@@ -160,6 +163,14 @@ public final class DataRegionConfiguration implements Serializable {
     @IgniteExperimental
     private boolean cdcEnabled;
 
+    /** Compressed page cache size in bytes. */
+    @IgniteExperimental
+    private long compressedPageCacheSize;
+
+    /** Compression algorithm of the compressed page cache. */
+    @IgniteExperimental
+    private DiskPageCompression compressedPageCacheCompression = DFLT_COMPRESSED_PAGE_CACHE_COMPRESSION;
+
     /**
      * Gets data region name.
      *
@@ -584,6 +595,61 @@ public final class DataRegionConfiguration implements Serializable {
         return cdcEnabled;
     }
 
+    /**
+     * Gets compressed page cache size. If persistence is enabled, pages replaced from the data region memory are
+     * kept in an off-heap cache in compressed form, up to this size. The size includes on-heap index of the cache,
+     * about 100 bytes per page. A page fault for such a page is served by decompression instead of a disk read.
+     * Requires {@code ignite-compress} module in classpath.
+     * <p>
+     * Default value is {@code 0} which means the compressed page cache is disabled.
+     *
+     * @return Compressed page cache size in bytes.
+     */
+    @IgniteExperimental
+    public long getCompressedPageCacheSize() {
+        return compressedPageCacheSize;
+    }
+
+    /**
+     * Sets compressed page cache size.
+     *
+     * @param compressedPageCacheSize Compressed page cache size in bytes, {@code 0} disables the cache.
+     * @return {@code this} for chaining.
+     * @see #getCompressedPageCacheSize()
+     */
+    @IgniteExperimental
+    public DataRegionConfiguration setCompressedPageCacheSize(long compressedPageCacheSize) {
+        this.compressedPageCacheSize = compressedPageCacheSize;
+
+        return this;
+    }
+
+    /**
+     * Gets compression algorithm of the compressed page cache.
+     * Default value is {@link #DFLT_COMPRESSED_PAGE_CACHE_COMPRESSION}.
+     *
+     * @return Compression algorithm.
+     */
+    @IgniteExperimental
+    public DiskPageCompression getCompressedPageCacheCompression() {
+        return compressedPageCacheCompression;
+    }
+
+    /**
+     * Sets compression algorithm of the compressed page cache.
+     *
+     * @param compressedPageCacheCompression Compression algorithm.
+     * @return {@code this} for chaining.
+     */
+    @IgniteExperimental
+    public DataRegionConfiguration setCompressedPageCacheCompression(
+        DiskPageCompression compressedPageCacheCompression
+    ) {
+        this.compressedPageCacheCompression = compressedPageCacheCompression;
+
+        return this;
+    }
+
     /** {@inheritDoc} */
     @Override public String toString() {
         return S.toString(DataRegionConfiguration.class, this);
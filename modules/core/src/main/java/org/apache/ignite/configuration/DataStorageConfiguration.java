@@ -1245,6 +1245,11 @@ public class DataStorageConfiguration implements Serializable {
 
     /**
      * Gets compression algorithm for WAL page snapshot records.
+     * <p>
+     * If WAL compaction is enabled, {@link DiskPageCompression#ZSTD ZSTD}, {@link DiskPageCompression#LZ4 LZ4} and
+     * {@link DiskPageCompression#SNAPPY SNAPPY} are also used to compress archived segments with the
+     * {@link #getWalPageCompressionLevel() WAL page compression level}, otherwise the segments are deflated with the
+     * {@link #getWalCompactionLevel() WAL compaction level}.
      *
      * @return Page compression algorithm.
      */
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.configuration;
+
+import org.apache.ignite.internal.util.typedef.internal.A;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+/**
+ * "Hot pages" warm-up configuration. While the node is running, IDs of pages resident in the persistent data region
+ * are periodically recorded to the node's storage directory along with their hotness estimated by the page
+ * replacement policy. On restart, the recorded pages are loaded back into the data region before the node joins the
+ * topology, hottest partitions first.
+ * <p>
+ * Pages are recorded every {@link #getRecordFrequency()} milliseconds and once more on node stop or cluster
+ * deactivation, so the most recent hot set is loaded after a graceful restart. If there is no recorded hot set yet
+ * (e.g. on the first start with this configuration), nothing is loaded.
+ */
+public class HotPagesWarmUpConfiguration implements WarmUpConfiguration {
+    /** Serial version uid. */
+    private static final long serialVersionUID = 0L;
+
+    /** Default frequency of the hot pages recording in milliseconds. */
+    public static final long DFLT_RECORD_FREQ = 5 * 60 * 1000L;
+
+    /** Default number of threads loading pages in parallel. */
+    public static final int DFLT_LOAD_THREADS = 4;
+
+    /** Frequency of the hot pages recording in milliseconds. */
+    private long recordFreq = DFLT_RECORD_FREQ;
+
+    /** Number of threads loading pages in parallel. */
+    private int loadThreads = DFLT_LOAD_THREADS;
+
+    /**
+     * Gets frequency of the hot pages recording.
+     *
+     * @return Frequency of the hot pages recording in milliseconds.
+     */
+    public long getRecordFrequency() {
+        return recordFreq;
+    }
+
+    /**
+     * Sets frequency of the hot pages recording. Default is {@link #DFLT_RECORD_FREQ}.
+     *
+     * @param recordFreq Frequency of the hot pages recording in milliseconds.
+     * @return {@code this} for chaining.
+     */
+    public HotPagesWarmUpConfiguration setRecordFrequency(long recordFreq) {
+        A.ensure(recordFreq > 0, "recordFreq must be positive.");
+
+        this.recordFreq = recordFreq;
+
+        return this;
+    }
+
+    /**
+     * Gets number of threads loading pages of different partitions in parallel during warm-up.
+     *
+     * @return Number of threads.
+     */
+    public int getLoadThreads() {
+        return loadThreads;
+    }
+
+    /**
+     * Sets number of threads loading pages of different partitions in parallel during warm-up.
+     * Default is {@link #DFLT_LOAD_THREADS}.
+     *
+     * @param loadThreads Number of threads.
+     * @return {@code this} for chaining.
+     */
+    public HotPagesWarmUpConfiguration setLoadThreads(int loadThreads) {
+        A.ensure(loadThreads > 0, "loadThreads must be positive.");
+
+        this.loadThreads = loadThreads;
+
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(HotPagesWarmUpConfiguration.class, this);
+    }
+}
@@ -27,6 +27,7 @@ import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
 import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.internal.GridKernalContext;
 import org.apache.ignite.internal.IgniteInternalFuture;
@@ -37,6 +38,7 @@ import org.apache.ignite.internal.cache.query.index.sorted.IndexRowCacheRegistry
 import org.apache.ignite.internal.cache.query.index.sorted.MetaPageInfo;
 import org.apache.ignite.internal.cache.query.index.sorted.defragmentation.IndexingDefragmentation;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndex;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexImpl;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.JavaObjectKeySerializer;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.io.AbstractInlineInnerIO;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.io.AbstractInlineLeafIO;
@@ -66,6 +68,8 @@ import org.apache.ignite.internal.processors.query.IgniteSQLException;
 import org.apache.ignite.internal.processors.query.QueryUtils;
 import org.apache.ignite.internal.processors.query.schema.IndexRebuildCancelToken;
 import org.apache.ignite.internal.processors.query.schema.SchemaIndexCacheVisitor;
+import org.apache.ignite.internal.processors.query.schema.SchemaIndexCacheVisitorClosure;
+import org.apache.ignite.internal.processors.query.schema.SchemaIndexCacheVisitorImpl;
 import org.apache.ignite.internal.util.GridAtomicLong;
 import org.apache.ignite.internal.util.collection.IntMap;
 import org.apache.ignite.internal.util.typedef.F;
@@ -217,12 +221,19 @@ public class IndexProcessor extends GridProcessorAdapter {
     public Index createIndexDynamically(GridCacheContext cctx, IndexFactory factory, IndexDefinition definition,
         SchemaIndexCacheVisitor cacheVisitor) {
 
-        Index idx = createIndex(cctx, factory, definition);
+        // The default visitor takes the bulk build of the closure indexes before it visits the rows.
+        Index idx = createIndex(cctx, factory, definition, cacheVisitor instanceof SchemaIndexCacheVisitorImpl);
 
         // Populate index with cache rows.
-        cacheVisitor.visit(row -> {
-            if (idx.canHandle(row))
-                idx.onUpdate(null, row, false);
+        cacheVisitor.visit(new SchemaIndexCacheVisitorClosure() {
+            @Override public void apply(CacheDataRow row) throws IgniteCheckedException {
+                if (idx.canHandle(row))
+                    idx.onUpdate(null, row, false);
+            }
+
+            @Override public Collection<Index> indexes() {
+                return Collections.singletonList(idx);
+            }
         });
 
         return idx;
@@ -236,6 +247,19 @@ public class IndexProcessor extends GridProcessorAdapter {
      * @param definition Description of an index to create.
      */
     public Index createIndex(GridCacheContext<?, ?> cctx, IndexFactory factory, IndexDefinition definition) {
+        return createIndex(cctx, factory, definition, false);
+    }
+
+    /**
+     * Creates a new index.
+     *
+     * @param cctx Cache context.
+     * @param factory Index factory.
+     * @param definition Description of an index to create.
+     * @param bulkBuild Whether to start bulk build of the index before it receives the updates.
+     */
+    private Index createIndex(GridCacheContext<?, ?> cctx, IndexFactory factory, IndexDefinition definition,
+        boolean bulkBuild) {
         ddlLock.writeLock().lock();
 
         try {
@@ -250,6 +274,15 @@ public class IndexProcessor extends GridProcessorAdapter {
 
             Index idx = factory.createIndex(cctx, definition);
 
+            if (bulkBuild && idx instanceof InlineIndexImpl) {
+                try {
+                    ((InlineIndexImpl)idx).reserveBulkBuild();
+                }
+                catch (IgniteCheckedException e) {
+                    throw new IgniteException("Failed to start bulk build of the index: " + uniqIdxName, e);
+                }
+            }
+
             cacheToIdx.get(cacheName).put(uniqIdxName, idx);
 
             idxDefs.put(idx.id(), definition);
@@ -25,6 +25,7 @@ import org.apache.ignite.internal.cache.query.index.sorted.IndexRow;
 import org.apache.ignite.internal.cache.query.index.sorted.IndexRowComparator;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexKeyType;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexTree;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.io.InlineIO;
 import org.apache.ignite.internal.cache.query.index.sorted.keys.IndexKey;
 import org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusIO;
@@ -73,11 +74,11 @@ class IndexQueryCriteriaClosure implements BPlusTree.TreeRowClosure<IndexRow, In
         IndexRow low,
         IndexRow high
     ) throws IgniteCheckedException {
-        int off = io.offset(idx);
+        long keysAddr = ((InlineIO)io).inlineKeysAddress(pageAddr, idx);
 
         int fieldOff = 0;
 
-        InlineIndexRow currRow = new InlineIndexRow(tree, io, pageAddr, idx);
+        InlineIndexRow currRow = new InlineIndexRow(tree, io, pageAddr, keysAddr, idx);
 
         List<InlineIndexKeyType> keyTypes = tree.rowHandler().inlineIndexKeyTypes();
 
@@ -100,8 +101,8 @@ class IndexQueryCriteriaClosure implements BPlusTree.TreeRowClosure<IndexRow, In
                 IndexKey key = null;
 
                 if (keyType != null && keyType.type() != JAVA_OBJECT
-                    && keyType.inlinedFullValue(pageAddr, off + fieldOff, maxSize))
-                    key = keyType.get(pageAddr, off + fieldOff, maxSize);
+                    && keyType.inlinedFullValue(keysAddr, fieldOff, maxSize))
+                    key = keyType.get(keysAddr, fieldOff, maxSize);
 
                 if (key == null) {
                     IndexRow row = io.getLookupRow(tree, pageAddr, idx);
@@ -114,7 +115,7 @@ class IndexQueryCriteriaClosure implements BPlusTree.TreeRowClosure<IndexRow, In
             }
 
             if (low != null && low.key(keyIdx) != null) {
-                int cmp = currRow.compare(rowCmp, low, keyIdx, off + fieldOff, maxSize, keyType);
+                int cmp = currRow.compare(rowCmp, low, keyIdx, fieldOff, maxSize, keyType);
 
                 if (cmp == 0) {
                     if (!c.lowerIncl())
@@ -125,7 +126,7 @@ class IndexQueryCriteriaClosure implements BPlusTree.TreeRowClosure<IndexRow, In
             }
 
             if (high != null && high.key(keyIdx) != null) {
-                int cmp = currRow.compare(rowCmp, high, keyIdx, off + fieldOff, maxSize, keyType);
+                int cmp = currRow.compare(rowCmp, high, keyIdx, fieldOff, maxSize, keyType);
 
                 if (cmp == 0) {
                     if (!c.upperIncl())
@@ -136,7 +137,7 @@ class IndexQueryCriteriaClosure implements BPlusTree.TreeRowClosure<IndexRow, In
             }
 
             if (keyType != null)
-                fieldOff += keyType.inlineSize(pageAddr, off + fieldOff);
+                fieldOff += keyType.inlineSize(keysAddr, fieldOff);
         }
 
         return true;
@@ -150,6 +151,9 @@ class IndexQueryCriteriaClosure implements BPlusTree.TreeRowClosure<IndexRow, In
         /** */
         private final long pageAddr;
 
+        /** Address of the inlined keys. */
+        private final long keysAddr;
+
         /** */
         private final int idx;
 
@@ -163,8 +167,9 @@ class IndexQueryCriteriaClosure implements BPlusTree.TreeRowClosure<IndexRow, In
         private IndexRow currRow;
 
         /** */
-        private InlineIndexRow(InlineIndexTree tree, BPlusIO<IndexRow> io, long addr, int idx) {
+        private InlineIndexRow(InlineIndexTree tree, BPlusIO<IndexRow> io, long addr, long keysAddr, int idx) {
             pageAddr = addr;
+            this.keysAddr = keysAddr;
             this.idx = idx;
             this.tree = tree;
             this.io = io;
@@ -183,7 +188,7 @@ class IndexQueryCriteriaClosure implements BPlusTree.TreeRowClosure<IndexRow, In
                 int cmp = COMPARE_UNSUPPORTED;
 
                 if (keyType != null)
-                    cmp = rowCmp.compareKey(pageAddr, off, maxSize, o.key(keyIdx), keyType);
+                    cmp = rowCmp.compareKey(keysAddr, off, maxSize, o.key(keyIdx), keyType);
 
                 if (cmp == COMPARE_UNSUPPORTED || cmp == CANT_BE_COMPARE)
                     currRow = tree.getRow(io, pageAddr, idx);
@@ -42,6 +42,9 @@ public class MetaPageInfo {
     /** Whether inlinining of java objects as hash is supported. */
     private boolean inlineObjHash;
 
+    /** Whether leaf pages compress the common prefix of inlined keys. */
+    private boolean prefixCompression;
+
     /** Version of Ignite. */
     private final IgniteProductVersion createdVer;
 
@@ -57,6 +60,7 @@ public class MetaPageInfo {
         if (flagsSupported) {
             inlineObjSupported = io.inlineObjectSupported(pageAddr);
             inlineObjHash = io.inlineObjectHash(pageAddr);
+            prefixCompression = io.prefixCompression(pageAddr);
         }
 
         createdVer = io.createdVersion(pageAddr);
@@ -97,6 +101,13 @@ public class MetaPageInfo {
         return inlineObjHash;
     }
 
+    /**
+     * @return {@code true} In case leaf pages compress the common prefix of inlined keys.
+     */
+    public boolean prefixCompression() {
+        return prefixCompression;
+    }
+
     /**
      * Reads meta page info from page memory.
      *
@@ -34,6 +34,7 @@ import org.apache.ignite.internal.cache.query.index.sorted.inline.io.IORowHandle
 import org.apache.ignite.internal.cache.query.index.sorted.inline.io.InlineIO;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.io.InnerIO;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.io.LeafIO;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.io.PrefixInlineLeafIO;
 import org.apache.ignite.internal.metric.IoStatisticsHolder;
 import org.apache.ignite.internal.pagemem.PageIdUtils;
 import org.apache.ignite.internal.pagemem.PageMemory;
@@ -103,7 +104,9 @@ public class DefragIndexFactory extends InlineIndexFactory {
             null,
             stats,
             rowHndFactory,
-            null
+            null,
+            // IO wrappers below support only the plain layout of the leaf items.
+            false
         );
 
         final MetaPageInfo oldInfo = oldIdx.segment(segmentNum).metaInfo();
@@ -151,6 +154,7 @@ public class DefragIndexFactory extends InlineIndexFactory {
         }
         else {
             assert io instanceof AbstractInlineLeafIO
+                || io instanceof PrefixInlineLeafIO
                 || io instanceof LeafIO;
 
             return new BPlusLeafIoDelegate((BPlusLeafIO<IndexRow>)io, rowHnd);
@@ -190,8 +194,6 @@ public class DefragIndexFactory extends InlineIndexFactory {
     ) {
         long link = io.link(pageAddr, idx);
 
-        int off = io.offset(idx);
-
         int inlineSize = io.inlineSize();
 
         byte[] values;
@@ -199,7 +201,7 @@ public class DefragIndexFactory extends InlineIndexFactory {
         if (rowHnd.inlineIndexKeyTypes().isEmpty())
             values = EMPTY_BYTES;
         else
-            values = PageUtils.getBytes(pageAddr, off, inlineSize);
+            values = PageUtils.getBytes(io.inlineKeysAddress(pageAddr, idx), 0, inlineSize);
 
         if (io.storeMvccInfo()) {
             long mvccCrdVer = io.mvccCoordinatorVersion(pageAddr, idx);
@@ -269,6 +271,11 @@ public class DefragIndexFactory extends InlineIndexFactory {
             return io.inlineSize();
         }
 
+        /** {@inheritDoc} */
+        @Override public long inlineKeysAddress(long pageAddr, int idx) {
+            return io.inlineKeysAddress(pageAddr, idx);
+        }
+
         /** {@inheritDoc} */
         @Override public long mvccCoordinatorVersion(long pageAddr, int idx) {
             return io.mvccCoordinatorVersion(pageAddr, idx);
@@ -335,6 +342,11 @@ public class DefragIndexFactory extends InlineIndexFactory {
             return io.inlineSize();
         }
 
+        /** {@inheritDoc} */
+        @Override public long inlineKeysAddress(long pageAddr, int idx) {
+            return io.inlineKeysAddress(pageAddr, idx);
+        }
+
         /** {@inheritDoc} */
         @Override public long mvccCoordinatorVersion(long pageAddr, int idx) {
             return io.mvccCoordinatorVersion(pageAddr, idx);
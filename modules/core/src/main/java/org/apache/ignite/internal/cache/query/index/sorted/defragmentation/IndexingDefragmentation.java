@@ -30,10 +30,13 @@ import org.apache.ignite.internal.cache.query.index.IndexProcessor;
 import org.apache.ignite.internal.cache.query.index.sorted.IndexRow;
 import org.apache.ignite.internal.cache.query.index.sorted.InlineIndexRowHandler;
 import org.apache.ignite.internal.cache.query.index.sorted.SortedIndexDefinition;
+import org.apache.ignite.internal.cache.query.index.sorted.ThreadLocalRowHandlerHolder;
 import org.apache.ignite.internal.cache.query.index.sorted.defragmentation.DefragIndexFactory.DefragIndexRowImpl;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndex;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexImpl;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexTree;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.io.MvccIO;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.io.PrefixInlineLeafIO;
 import org.apache.ignite.internal.pagemem.PageMemory;
 import org.apache.ignite.internal.processors.cache.CacheGroupContext;
 import org.apache.ignite.internal.processors.cache.GridCacheContext;
@@ -42,6 +45,7 @@ import org.apache.ignite.internal.processors.cache.persistence.checkpoint.Checkp
 import org.apache.ignite.internal.processors.cache.persistence.defragmentation.LinkMap;
 import org.apache.ignite.internal.processors.cache.persistence.defragmentation.TreeIterator;
 import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryEx;
+import org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusIO;
 import org.apache.ignite.internal.util.IgniteUtils;
 import org.apache.ignite.internal.util.collection.IntMap;
@@ -155,51 +159,68 @@ public class IndexingDefragmentation {
                 int segments = oldIdx.segmentsCount();
 
                 for (int i = 0; i < segments; ++i) {
-                    treeIterator.iterate(oldIdx.segment(i), oldCachePageMem, (theTree, io, pageAddr, idx) -> {
-                        cancellationChecker.run();
+                    int segment = i;
 
-                        if (System.currentTimeMillis() - lastCpLockTs.get() >= cpLockThreshold) {
-                            cpLock.checkpointReadUnlock();
+                    InlineIndexTree newTree = newIdx.segment(segment);
 
-                            cpLock.checkpointReadLock();
+                    // Rows of the old segment are iterated in the index order, so the new segment is built bottom-up.
+                    BPlusTree<IndexRow, IndexRow>.BulkLoad bulkLoad = newTree.bulkLoad();
 
-                            lastCpLockTs.set(System.currentTimeMillis());
-                        }
+                    ThreadLocalRowHandlerHolder.rowHandler(newTree.rowHandler());
 
-                        assert 1 == io.getVersion()
-                            : "IO version " + io.getVersion() + " is not supported by current defragmentation algorithm." +
-                            " Please implement copying of tree in a new format.";
+                    try {
+                        treeIterator.iterate(oldIdx.segment(segment), oldCachePageMem, (theTree, io, pageAddr, idx) -> {
+                            cancellationChecker.run();
 
-                        BPlusIO<IndexRow> h2IO = DefragIndexFactory.wrap(io, oldRowHnd);
+                            if (System.currentTimeMillis() - lastCpLockTs.get() >= cpLockThreshold) {
+                                cpLock.checkpointReadUnlock();
 
-                        IndexRow row = theTree.getRow(h2IO, pageAddr, idx);
+                                cpLock.checkpointReadLock();
 
-                        if (row instanceof DefragIndexRowImpl) {
-                            DefragIndexRowImpl r = (DefragIndexRowImpl)row;
+                                lastCpLockTs.set(System.currentTimeMillis());
+                            }
 
-                            CacheDataRow cacheDataRow = r.cacheDataRow();
+                            // Prefix compressed leaf items are restored by the IO and copied in the plain format.
+                            assert 1 == io.getVersion() || io instanceof PrefixInlineLeafIO
+                                : "IO version " + io.getVersion() + " is not supported by current defragmentation " +
+                                "algorithm. Please implement copying of tree in a new format.";
 
-                            int partition = cacheDataRow.partition();
+                            BPlusIO<IndexRow> h2IO = DefragIndexFactory.wrap(io, oldRowHnd);
 
-                            long link = r.link();
+                            IndexRow row = theTree.getRow(h2IO, pageAddr, idx);
 
-                            LinkMap map = mappingByPartition.get(partition);
+                            if (row instanceof DefragIndexRowImpl) {
+                                DefragIndexRowImpl r = (DefragIndexRowImpl)row;
 
-                            long newLink = map.get(link);
+                                CacheDataRow cacheDataRow = r.cacheDataRow();
 
-                            // Use old row handler, as MetaInfo is copied from old tree.
-                            DefragIndexRowImpl newRow = DefragIndexRowImpl.create(
-                                oldRowHnd,
-                                newLink,
-                                r,
-                                ((MvccIO)io).storeMvccInfo()
-                            );
+                                int partition = cacheDataRow.partition();
 
-                            newIdx.putIndexRow(newRow);
-                        }
+                                long link = r.link();
 
-                        return true;
-                    });
+                                LinkMap map = mappingByPartition.get(partition);
+
+                                long newLink = map.get(link);
+
+                                // Use old row handler, as MetaInfo is copied from old tree.
+                                DefragIndexRowImpl newRow = DefragIndexRowImpl.create(
+                                    oldRowHnd,
+                                    newLink,
+                                    r,
+                                    ((MvccIO)io).storeMvccInfo()
+                                );
+
+                                assert newIdx.segmentForRow(cacheDataRow) == segment;
+
+                                bulkLoad.add(newRow);
+                            }
+
+                            return true;
+                        });
+                    }
+                    finally {
+                        ThreadLocalRowHandlerHolder.clearRowHandler();
+                    }
                 }
             }
 
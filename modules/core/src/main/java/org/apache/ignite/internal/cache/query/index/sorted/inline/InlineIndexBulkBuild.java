@@ -0,0 +1,1048 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.cache.query.index.sorted.inline;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.IgniteSystemProperties;
+import org.apache.ignite.internal.cache.query.index.sorted.IndexRow;
+import org.apache.ignite.internal.cache.query.index.sorted.IndexRowImpl;
+import org.apache.ignite.internal.cache.query.index.sorted.InlineIndexRowHandler;
+import org.apache.ignite.internal.cache.query.index.sorted.ThreadLocalRowHandlerHolder;
+import org.apache.ignite.internal.cache.query.index.sorted.keys.IndexKey;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRowAdapter;
+import org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree;
+import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
+import org.apache.ignite.internal.util.GridUnsafe;
+import org.apache.ignite.internal.util.lang.GridCursor;
+import org.apache.ignite.internal.util.lang.IgniteThrowableRunner;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_INDEX_BULK_BUILD_SORT_BUFFER_SIZE;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_INDEX_REBUILD_BATCH_SIZE;
+import static org.apache.ignite.IgniteSystemProperties.getInteger;
+import static org.apache.ignite.internal.cache.query.index.sorted.IndexKeyType.JAVA_OBJECT;
+import static org.apache.ignite.internal.processors.query.schema.SchemaIndexCachePartitionWorker.DFLT_IGNITE_INDEX_REBUILD_BATCH_SIZE;
+
+/**
+ * Bulk build of an empty index on the index creation or rebuild.
+ * <p>
+ * The rows of the visited partitions are sorted externally. Each partition is sorted in memory in runs of
+ * {@link IgniteSystemProperties#IGNITE_INDEX_BULK_BUILD_SORT_BUFFER_SIZE} bytes, which are written to temporary files.
+ * The last run of a partition is kept in memory, while the runs kept in memory fit the same size. When all the
+ * partitions are visited, the runs of each index segment are merged and appended to the segment tree by
+ * {@link BPlusTree#bulkLoad()} in batches.
+ * <p>
+ * A temporary file holds the link, the version and the inlined keys of each row, as they are stored in the tree. The
+ * keys which are not inlined in full are read from the row by the link during the merge, the rows changed since the
+ * visit of their partitions are skipped, they are replaced by the buffered updates.
+ * <p>
+ * Concurrent updates of the rows greater than the last row appended to the segment tree are buffered in memory and
+ * merged with the sorted rows, a buffered row replaces the sorted one with the same keys. Other updates are applied
+ * to the tree directly between the batches.
+ */
+public class InlineIndexBulkBuild {
+    /** Default value of {@link IgniteSystemProperties#IGNITE_INDEX_BULK_BUILD}. */
+    public static final boolean DFLT_INDEX_BULK_BUILD = true;
+
+    /** Default value of {@link IgniteSystemProperties#IGNITE_INDEX_BULK_BUILD_SORT_BUFFER_SIZE}. */
+    public static final int DFLT_INDEX_BULK_BUILD_SORT_BUFFER_SIZE = 8 * 1024 * 1024;
+
+    /** Name of the directory of the temporary files in the work directory. */
+    public static final String BULK_BUILD_DIR = "index_build";
+
+    /** Maximum count of the runs merged at once. */
+    private static final int MERGE_FACTOR = 64;
+
+    /** Estimated heap size of a sorted row besides its key and value. */
+    private static final int ROW_OVERHEAD = 128;
+
+    /** Buffer size of the temporary files. */
+    private static final int IO_BUF_SIZE = 64 * 1024;
+
+    /** Marker of a removed row in the buffered updates. */
+    private static final IndexRowImpl REMOVED = new IndexRowImpl(null, null);
+
+    /** Size of the rows in bytes, sorted in memory before they are written to a temporary file. */
+    private final int sortBufSize =
+        getInteger(IGNITE_INDEX_BULK_BUILD_SORT_BUFFER_SIZE, DFLT_INDEX_BULK_BUILD_SORT_BUFFER_SIZE);
+
+    /** Count of rows appended to a segment tree within a single lock. */
+    private final int batchSize = getInteger(IGNITE_INDEX_REBUILD_BATCH_SIZE, DFLT_IGNITE_INDEX_REBUILD_BATCH_SIZE);
+
+    /** Index. */
+    private final InlineIndexImpl idx;
+
+    /** Cache context. */
+    private final GridCacheContext<?, ?> cctx;
+
+    /** Row handler. */
+    private final InlineIndexRowHandler rowHnd;
+
+    /** Comparator of the rows in the order of the index. */
+    private final Comparator<IndexRow> rowCmp;
+
+    /** Size of the inlined keys. */
+    private final int inlineSize;
+
+    /** Segments. */
+    private final Segment[] segments;
+
+    /** Links of the rows removed during the build, the data pages may reuse them for other rows. */
+    private final Set<Long> removedLinks = ConcurrentHashMap.newKeySet();
+
+    /** Sorters of the partitions being visited. */
+    private final ConcurrentMap<Integer, PartitionSorter> sorters = new ConcurrentHashMap<>();
+
+    /** Size of the runs kept in memory. */
+    private final AtomicLong memRunsSize = new AtomicLong();
+
+    /** Count of the segments not loaded yet. */
+    private final AtomicInteger segmentsLeft;
+
+    /** Build is cancelled. */
+    private volatile boolean cancelled;
+
+    /**
+     * @param idx Index.
+     * @param cctx Cache context.
+     * @param trees Segment trees, must be empty.
+     * @param rowHnd Row handler.
+     * @throws IgniteCheckedException If failed.
+     */
+    InlineIndexBulkBuild(
+        InlineIndexImpl idx,
+        GridCacheContext<?, ?> cctx,
+        InlineIndexTree[] trees,
+        InlineIndexRowHandler rowHnd
+    ) throws IgniteCheckedException {
+        this.idx = idx;
+        this.cctx = cctx;
+        this.rowHnd = rowHnd;
+
+        InlineIndexTree tree = trees[0];
+
+        inlineSize = tree.inlineSize();
+
+        rowCmp = (r1, r2) -> {
+            try {
+                return tree.compareRows(r1, r2);
+            }
+            catch (IgniteCheckedException e) {
+                throw new IgniteException("Failed to compare index rows", e);
+            }
+        };
+
+        segments = new Segment[trees.length];
+
+        for (int i = 0; i < trees.length; i++)
+            segments[i] = new Segment(trees[i].bulkLoad(), rowCmp);
+
+        segmentsLeft = new AtomicInteger(trees.length);
+    }
+
+    /**
+     * @return Count of the index segments.
+     */
+    public int segmentsCount() {
+        return segments.length;
+    }
+
+    /**
+     * Adds the row of the visited partition. Must be called under the index read lock.
+     *
+     * @param row Row.
+     * @throws IgniteCheckedException If failed.
+     */
+    void add(IndexRowImpl row) throws IgniteCheckedException {
+        CacheDataRow dataRow = row.cacheDataRow();
+
+        PartitionSorter sorter = sorters.computeIfAbsent(dataRow.partition(),
+            part -> new PartitionSorter(segments[idx.segmentForRow(dataRow)]));
+
+        sorter.add(row);
+    }
+
+    /**
+     * Buffers the update of the row, if the row is greater than the last row appended to the segment tree. Must be
+     * called under the index read lock.
+     *
+     * @param segment Segment.
+     * @param row Row.
+     * @param remove {@code True} if the row is removed.
+     * @return {@code True} if the update is buffered, {@code false} if it must be applied to the tree.
+     */
+    boolean offer(int segment, IndexRowImpl row, boolean remove) {
+        Segment seg = segments[segment];
+
+        if (seg.loaded)
+            return false;
+
+        if (seg.last != null && rowCmp.compare(row, seg.last) <= 0) {
+            seg.modified = true;
+
+            return false;
+        }
+
+        seg.pending.put(row, remove ? REMOVED : row);
+
+        return true;
+    }
+
+    /**
+     * Registers the link of a row removed from the data pages. Must be called before the row is removed.
+     *
+     * @param link Link.
+     */
+    void onRowRemoved(long link) {
+        if (segmentsLeft.get() > 0)
+            removedLinks.add(link);
+    }
+
+    /**
+     * Writes the sorted rows of the partition being visited to a temporary file, if they exceed the sort buffer.
+     * Must be called without the checkpoint read lock.
+     *
+     * @param part Partition.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void onBatchVisited(int part) throws IgniteCheckedException {
+        PartitionSorter sorter = sorters.get(part);
+
+        if (sorter == null || sorter.size < sortBufSize)
+            return;
+
+        ThreadLocalRowHandlerHolder.rowHandler(rowHnd);
+
+        try {
+            sorter.spill();
+        }
+        finally {
+            ThreadLocalRowHandlerHolder.clearRowHandler();
+        }
+    }
+
+    /**
+     * Sorts the rest of the rows of the visited partition. Must be called without the checkpoint read lock.
+     *
+     * @param part Partition.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void onPartitionVisited(int part) throws IgniteCheckedException {
+        PartitionSorter sorter = sorters.remove(part);
+
+        if (sorter == null)
+            return;
+
+        ThreadLocalRowHandlerHolder.rowHandler(rowHnd);
+
+        try {
+            sorter.finish();
+        }
+        finally {
+            ThreadLocalRowHandlerHolder.clearRowHandler();
+        }
+    }
+
+    /**
+     * Appends the sorted rows of the visited partitions and the buffered updates to the segment tree. Must be called
+     * once for each segment, when all the partitions are visited. The build is finished, when all the segments are
+     * loaded.
+     *
+     * @param segment Segment.
+     * @param checkCancelled Cancellation check, called between the batches of rows.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void load(int segment, IgniteThrowableRunner checkCancelled) throws IgniteCheckedException {
+        Segment seg = segments[segment];
+
+        List<Run> runs = seg.takeRuns();
+
+        ThreadLocalRowHandlerHolder.rowHandler(rowHnd);
+
+        try {
+            while (runs.size() > MERGE_FACTOR) {
+                checkCancelled.run();
+
+                List<Run> merged = runs.subList(0, MERGE_FACTOR);
+
+                Run run;
+
+                try (RunCursor rows = new MergeCursor(merged)) {
+                    run = write(rows);
+                }
+
+                merged.forEach(Run::delete);
+                merged.clear();
+
+                runs.add(run);
+            }
+
+            try (RunCursor rows = new MergeCursor(runs)) {
+                Deque<IndexRow> batch = new ArrayDeque<>(batchSize);
+
+                boolean eof = false;
+
+                do {
+                    checkCancelled.run();
+
+                    // Rows are read and deserialized without the locks.
+                    while (!eof && batch.size() < batchSize) {
+                        if (rows.next())
+                            batch.add(rows.get());
+                        else
+                            eof = true;
+                    }
+                }
+                while (!appendBatch(seg, batch, eof));
+            }
+        }
+        finally {
+            ThreadLocalRowHandlerHolder.clearRowHandler();
+
+            runs.forEach(Run::delete);
+        }
+
+        if (segmentsLeft.decrementAndGet() == 0) {
+            removedLinks.clear();
+
+            idx.lock.writeLock().lock();
+
+            try {
+                idx.onBulkBuildFinished(this);
+            }
+            finally {
+                idx.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Appends the sorted rows of the batch merged with the buffered updates.
+     *
+     * @param seg Segment.
+     * @param batch Sorted rows.
+     * @param eof {@code True} if the batch contains the last sorted rows.
+     * @return {@code True} if the segment is loaded.
+     * @throws IgniteCheckedException If failed.
+     */
+    private boolean appendBatch(Segment seg, Deque<IndexRow> batch, boolean eof) throws IgniteCheckedException {
+        cctx.shared().database().checkpointReadLock();
+
+        try {
+            idx.lock.writeLock().lock();
+
+            try {
+                // Cancelled.
+                if (seg.loaded)
+                    return true;
+
+                if (seg.modified) {
+                    seg.bulkLoad.reset();
+
+                    seg.modified = false;
+                }
+
+                for (int cnt = 0; cnt < batchSize; cnt++) {
+                    IndexRow row = batch.peekFirst();
+
+                    if (row == null && !eof)
+                        return false;
+
+                    Map.Entry<IndexRow, IndexRow> upd = seg.pending.firstEntry();
+
+                    if (row == null && upd == null) {
+                        seg.loaded = true;
+
+                        return true;
+                    }
+
+                    int cmp = row == null ? 1 : upd == null ? -1 : rowCmp.compare(row, upd.getKey());
+
+                    if (cmp >= 0) {
+                        seg.pending.pollFirstEntry();
+
+                        // The buffered update replaces the sorted row.
+                        if (cmp == 0)
+                            batch.pollFirst();
+
+                        row = upd.getValue() == REMOVED ? null : upd.getValue();
+                    }
+                    else
+                        batch.pollFirst();
+
+                    if (row != null) {
+                        seg.bulkLoad.add(row);
+
+                        seg.last = row;
+                    }
+                }
+
+                return false;
+            }
+            finally {
+                idx.lock.writeLock().unlock();
+            }
+        }
+        finally {
+            cctx.shared().database().checkpointReadUnlock();
+        }
+    }
+
+    /**
+     * Cancels the build, the following updates are applied to the trees directly.
+     */
+    public void cancel() {
+        cancelled = true;
+
+        idx.lock.writeLock().lock();
+
+        try {
+            for (Segment seg : segments) {
+                seg.loaded = true;
+
+                seg.pending.clear();
+            }
+
+            idx.onBulkBuildFinished(this);
+        }
+        finally {
+            idx.lock.writeLock().unlock();
+        }
+
+        sorters.clear();
+
+        for (Segment seg : segments)
+            seg.takeRuns().forEach(Run::delete);
+
+        removedLinks.clear();
+    }
+
+    /**
+     * Writes the rows to a temporary file.
+     *
+     * @param rows Sorted rows.
+     * @return Run of the written rows.
+     * @throws IgniteCheckedException If failed.
+     */
+    private Run write(RunCursor rows) throws IgniteCheckedException {
+        File dir = U.resolveWorkDirectory(cctx.kernalContext().config().getWorkDirectory(), BULK_BUILD_DIR, false);
+
+        File file;
+
+        try {
+            file = File.createTempFile("idx-", ".run", dir);
+        }
+        catch (IOException e) {
+            throw new IgniteCheckedException("Failed to create a file of sorted index rows: " + dir, e);
+        }
+
+        long cnt = 0;
+
+        boolean written = false;
+
+        ByteBuffer keysBuf = GridUnsafe.allocateBuffer(Math.max(inlineSize, 1));
+
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file), IO_BUF_SIZE))) {
+                byte[] keys = new byte[inlineSize];
+
+                while (rows.next()) {
+                    writeRow(out, rows.get(), GridUnsafe.bufferAddress(keysBuf), keys);
+
+                    cnt++;
+                }
+            }
+
+            written = true;
+        }
+        catch (IOException e) {
+            throw new IgniteCheckedException("Failed to write sorted index rows: " + file, e);
+        }
+        finally {
+            GridUnsafe.freeBuffer(keysBuf);
+
+            if (!written)
+                U.delete(file);
+        }
+
+        return new FileRun(file, cnt);
+    }
+
+    /**
+     * Writes the link, the version and the inlined keys of the row.
+     *
+     * @param out Output.
+     * @param row Row.
+     * @param keysAddr Address of the buffer of the inlined keys.
+     * @param keys Array of the inlined keys.
+     * @throws IOException If failed.
+     */
+    private void writeRow(DataOutput out, IndexRow row, long keysAddr, byte[] keys) throws IOException {
+        GridCacheVersion ver = row instanceof FileRow ? ((FileRow)row).ver : row.cacheDataRow().version();
+
+        out.writeLong(row.link());
+        out.writeInt(ver.topologyVersion());
+        out.writeInt(ver.nodeOrderAndDrIdRaw());
+        out.writeLong(ver.order());
+
+        List<InlineIndexKeyType> keyTypes = rowHnd.inlineIndexKeyTypes();
+
+        int size = 0;
+
+        for (int i = 0; i < keyTypes.size(); i++) {
+            int keySize = keyTypes.get(i).put(keysAddr, size, row.key(i), inlineSize - size);
+
+            // Inline size has exceeded.
+            if (keySize == 0)
+                break;
+
+            size += keySize;
+        }
+
+        GridUnsafe.copyOffheapHeap(keysAddr, keys, GridUnsafe.BYTE_ARR_OFF, size);
+
+        out.writeShort(size);
+        out.write(keys, 0, size);
+    }
+
+    /**
+     * Reads the row written by {@link #writeRow(DataOutput, IndexRow, long, byte[])}.
+     *
+     * @param in Input.
+     * @param keysAddr Address of the buffer of the inlined keys.
+     * @param keys Array of the inlined keys.
+     * @return Row or {@code null} if the row is changed since the visit of its partition.
+     * @throws IOException If failed.
+     * @throws IgniteCheckedException If failed.
+     */
+    @Nullable private IndexRow readRow(DataInput in, long keysAddr, byte[] keys)
+        throws IOException, IgniteCheckedException {
+        long link = in.readLong();
+
+        GridCacheVersion ver = new GridCacheVersion(in.readInt(), in.readInt(), in.readLong());
+
+        int size = in.readShort();
+
+        in.readFully(keys, 0, size);
+
+        GridUnsafe.copyHeapOffheap(keys, GridUnsafe.BYTE_ARR_OFF, keysAddr, size);
+
+        List<InlineIndexKeyType> keyTypes = rowHnd.inlineIndexKeyTypes();
+
+        IndexKey[] rowKeys = new IndexKey[rowHnd.indexKeyDefinitions().size()];
+
+        int off = 0;
+        int keyIdx = 0;
+
+        for (; keyIdx < keyTypes.size(); keyIdx++) {
+            InlineIndexKeyType keyType = keyTypes.get(keyIdx);
+
+            // Inlined hash of an object is not the key.
+            if (off == size || keyType.type() == JAVA_OBJECT || !keyType.inlinedFullValue(keysAddr, off, size - off))
+                break;
+
+            rowKeys[keyIdx] = keyType.get(keysAddr, off, size - off);
+
+            if (rowKeys[keyIdx] == null)
+                break;
+
+            off += keyType.inlineSize(keysAddr, off);
+        }
+
+        if (keyIdx == rowKeys.length)
+            return new FileRow(link, ver, rowKeys, null);
+
+        CacheDataRowAdapter dataRow = new CacheDataRowAdapter(link);
+
+        try {
+            dataRow.initFromLink(cctx.group(), CacheDataRowAdapter.RowData.FULL);
+        }
+        catch (IgniteCheckedException | RuntimeException e) {
+            // Link of the removed row doesn't point to a row anymore.
+            if (removedLinks.contains(link))
+                return null;
+
+            throw e;
+        }
+
+        // The row is updated or removed and its link is reused by another row.
+        if (!ver.equals(dataRow.version()))
+            return null;
+
+        return new FileRow(link, ver, rowKeys, new IndexRowImpl(rowHnd, dataRow));
+    }
+
+    /** Index segment being built. */
+    private static class Segment {
+        /** Bulk load of the tree. */
+        private final BPlusTree<IndexRow, IndexRow>.BulkLoad bulkLoad;
+
+        /** Sorted runs of the visited partitions. */
+        private final List<Run> runs = new ArrayList<>();
+
+        /** Updates of the rows greater than the last appended one, {@link #REMOVED} for the removed rows. */
+        private final ConcurrentSkipListMap<IndexRow, IndexRow> pending;
+
+        /** Last row appended to the tree. Guarded by the index lock. */
+        private IndexRow last;
+
+        /** All the rows are appended to the tree. Guarded by the index lock. */
+        private boolean loaded;
+
+        /** Tree is modified by the updates since the last appended row. */
+        private volatile boolean modified;
+
+        /**
+         * @param bulkLoad Bulk load of the tree.
+         * @param rowCmp Row comparator.
+         */
+        private Segment(BPlusTree<IndexRow, IndexRow>.BulkLoad bulkLoad, Comparator<IndexRow> rowCmp) {
+            this.bulkLoad = bulkLoad;
+
+            pending = new ConcurrentSkipListMap<>(rowCmp);
+        }
+
+        /**
+         * @param run Sorted run.
+         */
+        private synchronized void addRun(Run run) {
+            runs.add(run);
+        }
+
+        /**
+         * @return Sorted runs, removed from the segment.
+         */
+        private synchronized List<Run> takeRuns() {
+            List<Run> res = new ArrayList<>(runs);
+
+            runs.clear();
+
+            return res;
+        }
+    }
+
+    /** Sorter of the rows of a partition. */
+    private class PartitionSorter {
+        /** Segment. */
+        private final Segment seg;
+
+        /** Rows. */
+        private final List<IndexRowImpl> rows = new ArrayList<>();
+
+        /** Estimated size of the rows. */
+        private long size;
+
+        /**
+         * @param seg Segment.
+         */
+        private PartitionSorter(Segment seg) {
+            this.seg = seg;
+        }
+
+        /**
+         * @param row Row.
+         * @throws IgniteCheckedException If failed.
+         */
+        private void add(IndexRowImpl row) throws IgniteCheckedException {
+            rows.add(row);
+
+            size += row.cacheDataRow().size() + ROW_OVERHEAD;
+        }
+
+        /**
+         * Writes the sorted rows to a temporary file.
+         *
+         * @throws IgniteCheckedException If failed.
+         */
+        private void spill() throws IgniteCheckedException {
+            rows.sort(rowCmp);
+
+            addRun(write(new ListCursor(rows)));
+
+            rows.clear();
+
+            size = 0;
+        }
+
+        /**
+         * Sorts the rest of the rows.
+         *
+         * @throws IgniteCheckedException If failed.
+         */
+        private void finish() throws IgniteCheckedException {
+            if (rows.isEmpty())
+                return;
+
+            rows.sort(rowCmp);
+
+            if (memRunsSize.addAndGet(size) <= sortBufSize)
+                addRun(new MemoryRun(rows, size));
+            else {
+                memRunsSize.addAndGet(-size);
+
+                addRun(write(new ListCursor(rows)));
+            }
+        }
+
+        /**
+         * @param run Sorted run.
+         */
+        private void addRun(Run run) {
+            seg.addRun(run);
+
+            // Runs of the cancelled build are not loaded.
+            if (cancelled)
+                seg.takeRuns().forEach(Run::delete);
+        }
+    }
+
+    /** Sorted run of rows. */
+    private interface Run {
+        /**
+         * @return Cursor over the rows.
+         * @throws IgniteCheckedException If failed.
+         */
+        public RunCursor cursor() throws IgniteCheckedException;
+
+        /**
+         * Releases the rows.
+         */
+        public void delete();
+    }
+
+    /** Cursor over sorted rows. */
+    private interface RunCursor extends GridCursor<IndexRow>, AutoCloseable {
+        /** {@inheritDoc} */
+        @Override public IndexRow get();
+
+        /** {@inheritDoc} */
+        @Override public void close();
+    }
+
+    /** Run kept in memory. */
+    private class MemoryRun implements Run {
+        /** Rows. */
+        private final List<IndexRowImpl> rows;
+
+        /** Estimated size of the rows. */
+        private final long size;
+
+        /**
+         * @param rows Rows.
+         * @param size Estimated size of the rows.
+         */
+        private MemoryRun(List<IndexRowImpl> rows, long size) {
+            this.rows = rows;
+            this.size = size;
+        }
+
+        /** {@inheritDoc} */
+        @Override public RunCursor cursor() {
+            return new ListCursor(rows);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void delete() {
+            memRunsSize.addAndGet(-size);
+        }
+    }
+
+    /** Run written to a temporary file. */
+    private class FileRun implements Run {
+        /** File. */
+        private final File file;
+
+        /** Count of rows. */
+        private final long cnt;
+
+        /**
+         * @param file File.
+         * @param cnt Count of rows.
+         */
+        private FileRun(File file, long cnt) {
+            this.file = file;
+            this.cnt = cnt;
+        }
+
+        /** {@inheritDoc} */
+        @Override public RunCursor cursor() throws IgniteCheckedException {
+            return new FileCursor(file, cnt);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void delete() {
+            U.delete(file);
+        }
+    }
+
+    /** Cursor over a list of rows. */
+    private static class ListCursor implements RunCursor {
+        /** Rows. */
+        private final Iterator<? extends IndexRow> it;
+
+        /** Current row. */
+        private IndexRow row;
+
+        /**
+         * @param rows Rows.
+         */
+        private ListCursor(List<? extends IndexRow> rows) {
+            it = rows.iterator();
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean next() {
+            if (!it.hasNext())
+                return false;
+
+            row = it.next();
+
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override public IndexRow get() {
+            return row;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void close() {
+            // No-op.
+        }
+    }
+
+    /** Cursor over the rows of a temporary file. */
+    private class FileCursor implements RunCursor {
+        /** File. */
+        private final File file;
+
+        /** Input. */
+        private final DataInputStream in;
+
+        /** Buffer of the inlined keys. */
+        private final ByteBuffer keysBuf;
+
+        /** Array of the inlined keys. */
+        private final byte[] keys = new byte[inlineSize];
+
+        /** Count of rows left. */
+        private long left;
+
+        /** Current row. */
+        private IndexRow row;
+
+        /**
+         * @param file File.
+         * @param cnt Count of rows.
+         * @throws IgniteCheckedException If failed.
+         */
+        private FileCursor(File file, long cnt) throws IgniteCheckedException {
+            this.file = file;
+
+            try {
+                in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), IO_BUF_SIZE));
+            }
+            catch (IOException e) {
+                throw new IgniteCheckedException("Failed to read sorted index rows: " + file, e);
+            }
+
+            keysBuf = GridUnsafe.allocateBuffer(Math.max(inlineSize, 1));
+
+            left = cnt;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean next() throws IgniteCheckedException {
+            row = null;
+
+            try {
+                while (row == null && left > 0) {
+                    row = readRow(in, GridUnsafe.bufferAddress(keysBuf), keys);
+
+                    left--;
+                }
+            }
+            catch (IOException e) {
+                throw new IgniteCheckedException("Failed to read sorted index rows: " + file, e);
+            }
+
+            return row != null;
+        }
+
+        /** {@inheritDoc} */
+        @Override public IndexRow get() {
+            return row;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void close() {
+            U.closeQuiet(in);
+
+            GridUnsafe.freeBuffer(keysBuf);
+        }
+    }
+
+    /** Cursor merging sorted runs. */
+    private class MergeCursor implements RunCursor {
+        /** Cursors of the runs. */
+        private final List<RunCursor> cursors = new ArrayList<>();
+
+        /** Cursors ordered by their current rows. */
+        private final PriorityQueue<RunCursor> queue;
+
+        /** Current row. */
+        private IndexRow row;
+
+        /**
+         * @param runs Runs.
+         * @throws IgniteCheckedException If failed.
+         */
+        private MergeCursor(List<Run> runs) throws IgniteCheckedException {
+            queue = new PriorityQueue<>(Math.max(runs.size(), 1), (c1, c2) -> rowCmp.compare(c1.get(), c2.get()));
+
+            try {
+                for (Run run : runs) {
+                    RunCursor cursor = run.cursor();
+
+                    cursors.add(cursor);
+
+                    if (cursor.next())
+                        queue.add(cursor);
+                }
+            }
+            catch (IgniteCheckedException | RuntimeException e) {
+                close();
+
+                throw e;
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean next() throws IgniteCheckedException {
+            RunCursor cursor = queue.poll();
+
+            if (cursor == null)
+                return false;
+
+            row = cursor.get();
+
+            if (cursor.next())
+                queue.add(cursor);
+
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override public IndexRow get() {
+            return row;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void close() {
+            cursors.forEach(RunCursor::close);
+        }
+    }
+
+    /** Row read from a temporary file. */
+    private class FileRow implements IndexRow {
+        /** Link. */
+        private final long link;
+
+        /** Version of the cache row. */
+        private final GridCacheVersion ver;
+
+        /** Keys inlined in full, followed by {@code null}s for the other keys. */
+        private final IndexKey[] keys;
+
+        /** Row read by the link, {@code null} if all the keys are inlined in full. */
+        @Nullable private final IndexRowImpl row;
+
+        /**
+         * @param link Link.
+         * @param ver Version of the cache row.
+         * @param keys Keys inlined in full, followed by {@code null}s for the other keys.
+         * @param row Row read by the link, {@code null} if all the keys are inlined in full.
+         */
+        private FileRow(long link, GridCacheVersion ver, IndexKey[] keys, @Nullable IndexRowImpl row) {
+            this.link = link;
+            this.ver = ver;
+            this.keys = keys;
+            this.row = row;
+        }
+
+        /** {@inheritDoc} */
+        @Override public IndexKey key(int idx) {
+            return keys[idx] != null ? keys[idx] : row.key(idx);
+        }
+
+        /** {@inheritDoc} */
+        @Override public int keysCount() {
+            return keys.length;
+        }
+
+        /** {@inheritDoc} */
+        @Override public long link() {
+            return link;
+        }
+
+        /** {@inheritDoc} */
+        @Override public InlineIndexRowHandler rowHandler() {
+            return rowHnd;
+        }
+
+        /** {@inheritDoc} */
+        @Override public CacheDataRow cacheDataRow() {
+            return row == null ? null : row.cacheDataRow();
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean indexPlainRow() {
+            return false;
+        }
+    }
+}
@@ -28,6 +28,7 @@ import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.failure.FailureContext;
 import org.apache.ignite.internal.cache.query.index.AbstractIndex;
 import org.apache.ignite.internal.cache.query.index.SingleCursor;
@@ -52,8 +53,11 @@ import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.spi.indexing.IndexingQueryCacheFilter;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_INDEX_BULK_BUILD;
+import static org.apache.ignite.IgniteSystemProperties.getBoolean;
 import static org.apache.ignite.cluster.ClusterState.INACTIVE;
 import static org.apache.ignite.failure.FailureType.CRITICAL_ERROR;
+import static org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexBulkBuild.DFLT_INDEX_BULK_BUILD;
 
 /**
  * Sorted index implementation.
@@ -80,8 +84,14 @@ public class InlineIndexImpl extends AbstractIndex implements InlineIndex {
     /** Row handler. */
     private final InlineIndexRowHandler rowHnd;
 
-    /** */
-    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /** Lock of the trees, the write lock is held by the bulk build while it appends the rows. */
+    final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Bulk build of the index, {@code null} if the index is not built in bulk. Guarded by {@link #lock}. */
+    private InlineIndexBulkBuild bulkBuild;
+
+    /** Bulk build is started before the index receives the updates and is not taken yet. Guarded by {@link #lock}. */
+    private boolean bulkBuildReserved;
 
     /** Constructor. */
     public InlineIndexImpl(GridCacheContext<?, ?> cctx, SortedIndexDefinition def, InlineIndexTree[] segments,
@@ -333,33 +343,156 @@ public class InlineIndexImpl extends AbstractIndex implements InlineIndex {
 
             ThreadLocalRowHandlerHolder.rowHandler(rowHnd);
 
-            boolean replaced = false;
+            // Bulk build is started and finished under the write lock, so it is not changed during the update.
+            lock.readLock().lock();
 
-            // Create or Update.
-            if (newRow != null) {
-                int segment = segmentForRow(newRow);
+            try {
+                InlineIndexBulkBuild bulkBuild0 = bulkBuild;
 
-                IndexRowImpl row0 = new IndexRowImpl(rowHnd, newRow);
+                // The row is removed from the data pages after the index update.
+                if (bulkBuild0 != null && oldRow != null && (newRow == null || newRow.link() != oldRow.link()))
+                    bulkBuild0.onRowRemoved(oldRow.link());
 
-                row0.prepareCache();
+                boolean replaced = false;
 
-                // Validate all keys before an actual put. User may specify wrong data types for an insert query.
-                for (int i = 0; i < def.indexKeyDefinitions().size(); ++i)
-                    row0.key(i);
+                // Create or Update.
+                if (newRow != null) {
+                    int segment = segmentForRow(newRow);
 
-                replaced = putx(row0, segment, prevRowAvailable && !rebuildInProgress());
-            }
+                    IndexRowImpl row0 = new IndexRowImpl(rowHnd, newRow);
 
-            // Delete.
-            if (!replaced && oldRow != null)
-                remove(oldRow);
+                    row0.prepareCache();
 
+                    // Validate all keys before an actual put. User may specify wrong data types for an insert query.
+                    for (int i = 0; i < def.indexKeyDefinitions().size(); ++i)
+                        row0.key(i);
+
+                    if (bulkBuild0 == null)
+                        replaced = putx(row0, segment, prevRowAvailable && !rebuildInProgress());
+                    else if (oldRow == null && !prevRowAvailable) {
+                        // Only the index build visitor passes the rows without the previous ones.
+                        bulkBuild0.add(row0);
+
+                        return;
+                    }
+                    else if (bulkBuild0.offer(segment, row0, false)) {
+                        // The buffered row replaces the previous one with the same keys.
+                        replaced = oldRow != null && segments[segment].compareRows(row0, indexRow(oldRow)) == 0;
+                    }
+                    else
+                        replaced = putx(row0, segment, prevRowAvailable && !rebuildInProgress());
+                }
+
+                // Delete.
+                if (!replaced && oldRow != null) {
+                    if (bulkBuild0 == null || !bulkBuild0.offer(segmentForRow(oldRow), indexRow(oldRow), true))
+                        remove(oldRow);
+                }
+            }
+            finally {
+                lock.readLock().unlock();
+            }
         }
         finally {
             ThreadLocalRowHandlerHolder.clearRowHandler();
         }
     }
 
+    /**
+     * @param row Cache row.
+     * @return Index row with the cached keys.
+     */
+    private IndexRowImpl indexRow(CacheDataRow row) {
+        IndexRowImpl idxRow = new IndexRowImpl(rowHnd, row);
+
+        idxRow.prepareCache();
+
+        return idxRow;
+    }
+
+    /**
+     * Starts bulk build of the index, if the index is empty. The index build visitor must pass the rows to
+     * {@link #onUpdate(CacheDataRow, CacheDataRow, boolean)} without the previous ones, other updates must pass
+     * the previous rows or set {@code prevRowAvailable}.
+     *
+     * @return Bulk build or {@code null} if the index can't be built in bulk.
+     * @throws IgniteCheckedException If failed.
+     * @see IgniteSystemProperties#IGNITE_INDEX_BULK_BUILD
+     */
+    @Nullable public InlineIndexBulkBuild startBulkBuild() throws IgniteCheckedException {
+        lock.writeLock().lock();
+
+        try {
+            if (destroyed.get())
+                return null;
+
+            if (bulkBuild != null) {
+                if (!bulkBuildReserved)
+                    return null;
+
+                bulkBuildReserved = false;
+
+                return bulkBuild;
+            }
+
+            return bulkBuild = createBulkBuild();
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Starts bulk build of the new index, before the index receives the updates. Otherwise the concurrent updates may
+     * reach the tree before the index build visitor starts and the index is built row by row. The build is taken by
+     * the following {@link #startBulkBuild()}.
+     *
+     * @throws IgniteCheckedException If failed.
+     */
+    public void reserveBulkBuild() throws IgniteCheckedException {
+        lock.writeLock().lock();
+
+        try {
+            if (bulkBuild == null && !destroyed.get()) {
+                bulkBuild = createBulkBuild();
+
+                bulkBuildReserved = bulkBuild != null;
+            }
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return Bulk build or {@code null} if the index can't be built in bulk.
+     * @throws IgniteCheckedException If failed.
+     */
+    @Nullable private InlineIndexBulkBuild createBulkBuild() throws IgniteCheckedException {
+        if (!getBoolean(IGNITE_INDEX_BULK_BUILD, DFLT_INDEX_BULK_BUILD) || cctx.mvccEnabled() || !cctx.affinityNode())
+            return null;
+
+        for (InlineIndexTree segment : segments) {
+            if (segment.rootLevel() != 0 || !segment.isEmpty())
+                return null;
+        }
+
+        return new InlineIndexBulkBuild(this, cctx, segments, rowHnd);
+    }
+
+    /**
+     * Finishes the bulk build, the following updates are applied to the trees. Must be called under the write lock.
+     *
+     * @param bulkBuild0 Finished bulk build.
+     */
+    void onBulkBuildFinished(InlineIndexBulkBuild bulkBuild0) {
+        if (bulkBuild == bulkBuild0) {
+            bulkBuild = null;
+
+            bulkBuildReserved = false;
+        }
+    }
+
     /** */
     private boolean putx(IndexRowImpl idxRow, int segment, boolean flag) throws IgniteCheckedException {
         lock.readLock().lock();
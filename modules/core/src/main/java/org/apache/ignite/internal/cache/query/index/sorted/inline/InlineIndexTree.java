@@ -37,6 +37,7 @@ import org.apache.ignite.internal.cache.query.index.sorted.SortedIndexDefinition
 import org.apache.ignite.internal.cache.query.index.sorted.ThreadLocalRowHandlerHolder;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.io.AbstractInlineInnerIO;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.io.AbstractInlineLeafIO;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.io.InlineIO;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.io.MvccIO;
 import org.apache.ignite.internal.metric.IoStatisticsHolder;
 import org.apache.ignite.internal.pagemem.PageIdAllocator;
@@ -61,6 +62,7 @@ import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.maintenance.MaintenanceTask;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_INDEX_PREFIX_COMPRESSION;
 import static org.apache.ignite.internal.cache.query.index.sorted.inline.types.NullableInlineIndexKeyType.CANT_BE_COMPARE;
 import static org.apache.ignite.internal.cache.query.index.sorted.inline.types.NullableInlineIndexKeyType.COMPARE_UNSUPPORTED;
 import static org.apache.ignite.internal.cache.query.index.sorted.maintenance.MaintenanceRebuildIndexUtils.mergeTasks;
@@ -76,6 +78,9 @@ public class InlineIndexTree extends BPlusTree<IndexRow, IndexRow> {
      */
     public static final int IGNITE_VARIABLE_TYPE_DEFAULT_INLINE_SIZE = 10;
 
+    /** @see IgniteSystemProperties#IGNITE_INDEX_PREFIX_COMPRESSION */
+    public static final boolean DFLT_INDEX_PREFIX_COMPRESSION = false;
+
     /** Amount of bytes to store inlined index keys. */
     private final int inlineSize;
 
@@ -106,6 +111,9 @@ public class InlineIndexTree extends BPlusTree<IndexRow, IndexRow> {
     /** Whether MVCC is enabled. */
     private final boolean mvccEnabled;
 
+    /** Whether leaf pages compress the common prefix of inlined keys. */
+    private final boolean prefixCompression;
+
     /**
      * Constructor.
      */
@@ -126,6 +134,52 @@ public class InlineIndexTree extends BPlusTree<IndexRow, IndexRow> {
         @Nullable IoStatisticsHolder stats,
         InlineIndexRowHandlerFactory rowHndFactory,
         InlineRecommender recommender
+    ) throws IgniteCheckedException {
+        this(
+            def,
+            grpCtx,
+            treeName,
+            offheap,
+            reuseList,
+            pageMemory,
+            pageIoResolver,
+            metaPageId,
+            initNew,
+            configuredInlineSize,
+            maxInlineSize,
+            keyTypeSettings,
+            idxRowCache,
+            stats,
+            rowHndFactory,
+            recommender,
+            IgniteSystemProperties.getBoolean(IGNITE_INDEX_PREFIX_COMPRESSION, DFLT_INDEX_PREFIX_COMPRESSION)
+        );
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param prefixCompression Whether leaf pages of a new tree compress the common prefix of inlined keys. It is
+     * ignored for MVCC caches and trees without inlined keys. Existing tree keeps the format it was created with.
+     */
+    public InlineIndexTree(
+        SortedIndexDefinition def,
+        CacheGroupContext grpCtx,
+        String treeName,
+        IgniteCacheOffheapManager offheap,
+        ReuseList reuseList,
+        PageMemory pageMemory,
+        PageIoResolver pageIoResolver,
+        long metaPageId,
+        boolean initNew,
+        int configuredInlineSize,
+        int maxInlineSize,
+        IndexKeyTypeSettings keyTypeSettings,
+        @Nullable IndexRowCache idxRowCache,
+        @Nullable IoStatisticsHolder stats,
+        InlineIndexRowHandlerFactory rowHndFactory,
+        InlineRecommender recommender,
+        boolean prefixCompression
     ) throws IgniteCheckedException {
         super(
             treeName,
@@ -162,7 +216,8 @@ public class InlineIndexTree extends BPlusTree<IndexRow, IndexRow> {
             MetaPageInfo metaInfo = metaInfo();
 
             inlineSize = metaInfo.inlineSize();
-            setIos(inlineSize, mvccEnabled);
+            this.prefixCompression = metaInfo.flagsSupported() && metaInfo.prefixCompression();
+            setIos(inlineSize, mvccEnabled, this.prefixCompression);
 
             boolean inlineObjSupported = inlineObjectSupported(def, metaInfo, rowHndFactory);
 
@@ -187,7 +242,8 @@ public class InlineIndexTree extends BPlusTree<IndexRow, IndexRow> {
                 log
             );
 
-            setIos(inlineSize, mvccEnabled);
+            this.prefixCompression = prefixCompression && !mvccEnabled && inlineSize > 0;
+            setIos(inlineSize, mvccEnabled, this.prefixCompression);
         }
 
         initTree(initNew, inlineSize);
@@ -196,13 +252,18 @@ public class InlineIndexTree extends BPlusTree<IndexRow, IndexRow> {
     }
 
     /** */
-    private void setIos(int inlineSize, boolean mvccEnabled) {
+    private void setIos(int inlineSize, boolean mvccEnabled, boolean prefixCompression) {
         setIos(
             AbstractInlineInnerIO.versions(inlineSize, mvccEnabled),
-            AbstractInlineLeafIO.versions(inlineSize, mvccEnabled)
+            AbstractInlineLeafIO.versions(inlineSize, mvccEnabled, prefixCompression)
         );
     }
 
+    /** {@inheritDoc} */
+    @Override protected long metaFlags() {
+        return prefixCompression ? BPlusMetaIO.DEFAULT_FLAGS | BPlusMetaIO.FLAG_PREFIX_COMPRESSION : super.metaFlags();
+    }
+
     /**
      * Find whether tree supports inlining objects or not.
      *
@@ -252,8 +313,35 @@ public class InlineIndexTree extends BPlusTree<IndexRow, IndexRow> {
     /** {@inheritDoc} */
     @Override protected int compare(BPlusIO<IndexRow> io, long pageAddr, int idx, IndexRow row)
         throws IgniteCheckedException {
+        return compare(io, pageAddr, idx, row, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected int compareOptimistic(BPlusIO<IndexRow> io, long pageAddr, int idx, IndexRow row)
+        throws IgniteCheckedException {
+        return compare(io, pageAddr, idx, row, true);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected boolean optimisticReads() {
+        return OPTIMISTIC_READS;
+    }
 
+    /**
+     * @param io IO.
+     * @param pageAddr Page address.
+     * @param idx Index of row in the given buffer.
+     * @param row Lookup row.
+     * @param optimistic {@code True} if the page is read optimistically and only inlined keys can be compared.
+     * @return Comparison result.
+     * @throws IgniteCheckedException If failed.
+     */
+    private int compare(BPlusIO<IndexRow> io, long pageAddr, int idx, IndexRow row, boolean optimistic)
+        throws IgniteCheckedException {
         if (inlineSize == 0) {
+            if (optimistic)
+                return OPTIMISTIC_COMPARE_UNSUPPORTED;
+
             IndexRow currRow = getRow(io, pageAddr, idx);
 
             int cmp = compareFullRows(currRow, row, 0);
@@ -268,7 +356,7 @@ public class InlineIndexTree extends BPlusTree<IndexRow, IndexRow> {
 
         IndexRow currRow = null;
 
-        int off = io.offset(idx);
+        long keysAddr = ((InlineIO)io).inlineKeysAddress(pageAddr, idx);
 
         List<IndexKeyDefinition> keyDefs = rowHnd.indexKeyDefinitions();
         List<InlineIndexKeyType> keyTypes = rowHnd.inlineIndexKeyTypes();
@@ -284,12 +372,12 @@ public class InlineIndexTree extends BPlusTree<IndexRow, IndexRow> {
 
                 InlineIndexKeyType keyType = keyTypes.get(keyIdx);
 
-                int cmp = def.rowComparator().compareKey(pageAddr, off + fieldOff, maxSize, row.key(keyIdx), keyType);
+                int cmp = def.rowComparator().compareKey(keysAddr, fieldOff, maxSize, row.key(keyIdx), keyType);
 
                 if (cmp == CANT_BE_COMPARE || cmp == COMPARE_UNSUPPORTED)
                     break;
                 else
-                    fieldOff += keyType.inlineSize(pageAddr, off + fieldOff);
+                    fieldOff += keyType.inlineSize(keysAddr, fieldOff);
 
                 if (cmp != 0) {
                     IndexKeyDefinition keyDef = keyDefs.get(keyIdx);
@@ -303,6 +391,10 @@ public class InlineIndexTree extends BPlusTree<IndexRow, IndexRow> {
         }
 
         if (keyIdx < keyDefs.size()) {
+            // Rows of the stored items can't be reached from a torn page.
+            if (optimistic)
+                return OPTIMISTIC_COMPARE_UNSUPPORTED;
+
             recommender.recommend(row, inlineSize);
 
             if (currRow == null)
@@ -337,6 +429,18 @@ public class InlineIndexTree extends BPlusTree<IndexRow, IndexRow> {
         return 0;
     }
 
+    /**
+     * Compares full rows without reading the tree pages.
+     *
+     * @param r1 First row.
+     * @param r2 Second row.
+     * @return Comparison result in the order of the tree.
+     * @throws IgniteCheckedException If failed.
+     */
+    public int compareRows(IndexRow r1, IndexRow r2) throws IgniteCheckedException {
+        return compareFullRows(r1, r2, 0);
+    }
+
     /**
      * Perform sort order correction.
      *
@@ -410,6 +514,13 @@ public class InlineIndexTree extends BPlusTree<IndexRow, IndexRow> {
         return inlineSize;
     }
 
+    /**
+     * @return {@code True} if leaf pages compress the common prefix of inlined keys.
+     */
+    public boolean prefixCompression() {
+        return prefixCompression;
+    }
+
     /**
      * @param name Index name.
      * @param keyTypes Index key types.
@@ -133,9 +133,9 @@ public abstract class AbstractInlineInnerIO extends BPlusInnerIO<IndexRow> imple
     @Override public final void store(long dstPageAddr, int dstIdx, BPlusIO<IndexRow> srcIo, long srcPageAddr, int srcIdx) {
         assertPageType(dstPageAddr);
 
-        int srcOff = srcIo.offset(srcIdx);
+        long srcKeysAddr = ((InlineIO)srcIo).inlineKeysAddress(srcPageAddr, srcIdx);
 
-        byte[] payload = PageUtils.getBytes(srcPageAddr, srcOff, inlineSize);
+        byte[] payload = PageUtils.getBytes(srcKeysAddr, 0, inlineSize);
 
         int dstOff = offset(dstIdx);
 
@@ -154,6 +154,11 @@ public abstract class AbstractInlineInnerIO extends BPlusInnerIO<IndexRow> imple
         return inlineSize;
     }
 
+    /** {@inheritDoc} */
+    @Override public long inlineKeysAddress(long pageAddr, int idx) {
+        return pageAddr + offset(idx);
+    }
+
     /**
      * @param payload Payload size.
      * @param mvccEnabled Whether MVCC is enabled.
@@ -57,7 +57,8 @@ public abstract class AbstractInlineLeafIO extends BPlusLeafIO<IndexRow> impleme
     }
 
     /**
-     * Register IOs for every available {@link #inlineSize} for MVCC and not.
+     * Register IOs for every available {@link #inlineSize} for MVCC and not. Non MVCC leaf pages can also be stored
+     * in the prefix compressed format of {@link PrefixInlineLeafIO}.
      */
     public static void register() {
         register(false);
@@ -71,9 +72,12 @@ public abstract class AbstractInlineLeafIO extends BPlusLeafIO<IndexRow> impleme
         for (short payload = 1; payload <= PageIO.MAX_PAYLOAD_SIZE; payload++) {
             short ioType = (short)(type + payload - 1);
 
-            AbstractInlineLeafIO io = mvcc ? new MvccInlineLeafIO(ioType, payload) : new InlineLeafIO(ioType, payload);
-
-            IOVersions<? extends AbstractInlineLeafIO> versions = new IOVersions<>(io);
+            IOVersions<? extends BPlusLeafIO<IndexRow>> versions = mvcc ?
+                new IOVersions<>(new MvccInlineLeafIO(ioType, payload)) :
+                new IOVersions<BPlusLeafIO<IndexRow>>(
+                    new InlineLeafIO(ioType, payload),
+                    new PrefixInlineLeafIO(ioType, payload)
+                );
 
             PageIO.registerH2ExtraLeaf(versions, mvcc);
         }
@@ -133,9 +137,9 @@ public abstract class AbstractInlineLeafIO extends BPlusLeafIO<IndexRow> impleme
     @Override public final void store(long dstPageAddr, int dstIdx, BPlusIO<IndexRow> srcIo, long srcPageAddr, int srcIdx) {
         assertPageType(dstPageAddr);
 
-        int srcOff = srcIo.offset(srcIdx);
+        long srcKeysAddr = ((InlineIO)srcIo).inlineKeysAddress(srcPageAddr, srcIdx);
 
-        byte[] payload = PageUtils.getBytes(srcPageAddr, srcOff, inlineSize);
+        byte[] payload = PageUtils.getBytes(srcKeysAddr, 0, inlineSize);
 
         int dstOff = offset(dstIdx);
 
@@ -154,6 +158,33 @@ public abstract class AbstractInlineLeafIO extends BPlusLeafIO<IndexRow> impleme
         return inlineSize;
     }
 
+    /** {@inheritDoc} */
+    @Override public long inlineKeysAddress(long pageAddr, int idx) {
+        return pageAddr + offset(idx);
+    }
+
+    /**
+     * @param payload Payload size.
+     * @param mvccEnabled Whether MVCC is enabled.
+     * @param prefixCompression Whether leaf pages compress the common prefix of inlined keys.
+     * @return IOVersions for given payload, tree pages are created with the latest one.
+     */
+    public static IOVersions<? extends BPlusLeafIO<IndexRow>> versions(
+        int payload,
+        boolean mvccEnabled,
+        boolean prefixCompression
+    ) {
+        IOVersions<? extends BPlusLeafIO<IndexRow>> vers = versions(payload, mvccEnabled);
+
+        if (prefixCompression) {
+            assert vers.latest() instanceof PrefixInlineLeafIO : vers.latest();
+
+            return vers;
+        }
+
+        return vers.latest().getVersion() == 1 ? vers : new IOVersions<>(vers.forVersion(1));
+    }
+
     /**
      * @param payload Payload size.
      * @param mvccEnabled Whether MVCC is enabled.
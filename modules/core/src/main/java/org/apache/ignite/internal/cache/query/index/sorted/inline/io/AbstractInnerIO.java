@@ -81,4 +81,9 @@ public abstract class AbstractInnerIO extends BPlusInnerIO<IndexRow> implements
     @Override public int inlineSize() {
         return 0;
     }
+
+    /** {@inheritDoc} */
+    @Override public long inlineKeysAddress(long pageAddr, int idx) {
+        return pageAddr + offset(idx);
+    }
 }
@@ -32,4 +32,12 @@ public interface InlineIO extends MvccIO {
      * @return Number of bytes stored in the inline payload.
      */
     public int inlineSize();
+
+    /**
+     * @param pageAddr Page address.
+     * @param idx Index.
+     * @return Address of the inlined index keys of the item. If items of the page are stored compressed, keys are
+     * restored to a thread local buffer, which is valid until the next call of this method in the same thread.
+     */
+    public long inlineKeysAddress(long pageAddr, int idx);
 }
@@ -0,0 +1,569 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.cache.query.index.sorted.inline.io;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.internal.cache.query.index.sorted.IndexRow;
+import org.apache.ignite.internal.cache.query.index.sorted.InlineIndexRowHandler;
+import org.apache.ignite.internal.cache.query.index.sorted.ThreadLocalRowHandlerHolder;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexKeyType;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexTree;
+import org.apache.ignite.internal.pagemem.PageUtils;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMetrics;
+import org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusLeafIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.util.PageHandler;
+import org.apache.ignite.internal.util.GridUnsafe;
+
+/**
+ * Leaf page to store index rows with inlined keys, the common prefix of the inlined keys is stored once per page.
+ * <p/>
+ * Page layout:
+ * <pre><code>
+ *     | HEADER | count | forwardId | removeId | prefixLength | prefix | items... |
+ * </code></pre>
+ * Every item is a suffix of the inlined keys followed by the row link. Inlined keys of an item are restored by
+ * concatenation of the page prefix and the item suffix, so the prefix is independent of the key types. All items of
+ * the page have the same size, so binary search over the items works the same way as for {@link InlineLeafIO}.
+ * <p/>
+ * The prefix is taken from the first row inserted to an empty page and shortened when a row with a different prefix
+ * is inserted. On split both pages extend the prefix to the longest common prefix of their items. Count of items is
+ * limited by twice the count of the uncompressed page, so after a split a row with any inlined keys fits both halves.
+ */
+public class PrefixInlineLeafIO extends BPlusLeafIO<IndexRow> implements InlineIO {
+    /** Page format version. */
+    public static final int VERSION = 2;
+
+    /** */
+    private static final int PREFIX_LEN_OFF = ITEMS_OFF;
+
+    /** */
+    private static final int PREFIX_OFF = PREFIX_LEN_OFF + 2;
+
+    /** Size of the row link. */
+    private static final int LINK_SIZE = 8;
+
+    /** Buffer to restore inlined keys of an item. */
+    private static final ThreadLocal<ByteBuffer> KEYS_BUF = ThreadLocal.withInitial(PrefixInlineLeafIO::allocateBuffer);
+
+    /** Buffer to build or restore a whole item. */
+    private static final ThreadLocal<ByteBuffer> ITEM_BUF = ThreadLocal.withInitial(PrefixInlineLeafIO::allocateBuffer);
+
+    /** Amount of bytes to store inlined index keys. */
+    private final int inlineSize;
+
+    /**
+     * @param type Page type.
+     * @param inlineSize Size of inlined index keys.
+     */
+    public PrefixInlineLeafIO(short type, int inlineSize) {
+        super(type, VERSION, inlineSize + LINK_SIZE);
+
+        this.inlineSize = inlineSize;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void initNewPage(long pageAddr, long pageId, int pageSize, PageMetrics metrics) {
+        super.initNewPage(pageAddr, pageId, pageSize, metrics);
+
+        setPrefixLength(pageAddr, 0);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getMaxCount(long pageAddr, int pageSize) {
+        return maxCount(pageSize, prefixLength(pageAddr));
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getMaxCount(long pageAddr, IndexRow row, int pageSize) {
+        int prefixLen = prefixLength(pageAddr);
+
+        if (getCount(pageAddr) > 0)
+            prefixLen = commonPrefix(pageAddr, prefixLen, buildItem(row));
+
+        return maxCount(pageSize, prefixLen);
+    }
+
+    /**
+     * Stores the whole item, that is the inlined keys and the row link, without compression. Unused bytes of the
+     * inlined keys are zeroed, so they do not shorten the common prefix.
+     */
+    @SuppressWarnings("ForLoopReplaceableByForEach")
+    @Override public void storeByOffset(long pageAddr, int off, IndexRow row) {
+        assert row.link() != 0 : row;
+
+        GridUnsafe.zeroMemory(pageAddr + off, inlineSize);
+
+        int fieldOff = 0;
+
+        InlineIndexRowHandler rowHnd = ThreadLocalRowHandlerHolder.rowHandler();
+
+        for (int i = 0; i < rowHnd.inlineIndexKeyTypes().size(); i++) {
+            try {
+                InlineIndexKeyType keyType = rowHnd.inlineIndexKeyTypes().get(i);
+
+                int size = keyType.put(pageAddr, off + fieldOff, row.key(i), inlineSize - fieldOff);
+
+                // Inline size has exceeded.
+                if (size == 0)
+                    break;
+
+                fieldOff += size;
+            }
+            catch (Exception e) {
+                throw new IgniteException("Failed to store new index row.", e);
+            }
+        }
+
+        IORowHandler.store(pageAddr, off + inlineSize, row, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override public byte[] insert(long pageAddr, int idx, IndexRow row, byte[] rowBytes, long rightId,
+        boolean needRowBytes) {
+        assertPageType(pageAddr);
+
+        if (rowBytes == null)
+            rowBytes = PageUtils.getBytes(buildItem(row), 0, getItemSize());
+
+        int cnt = getCount(pageAddr);
+
+        if (cnt == 0) {
+            PageUtils.putBytes(pageAddr, PREFIX_OFF, rowBytes, 0, inlineSize);
+
+            setPrefixLength(pageAddr, inlineSize);
+        }
+        else {
+            int commonLen = commonPrefix(pageAddr, prefixLength(pageAddr), rowBytes);
+
+            if (commonLen < prefixLength(pageAddr))
+                shrinkPrefix(pageAddr, cnt, commonLen);
+        }
+
+        int prefixLen = prefixLength(pageAddr);
+        int slotSize = getItemSize() - prefixLen;
+        int off = offset(pageAddr, idx);
+
+        // Move right all the greater elements to make a free slot for a new row.
+        PageHandler.copyMemory(pageAddr, off, pageAddr, off + slotSize, (long)(cnt - idx) * slotSize);
+
+        PageUtils.putBytes(pageAddr, off, rowBytes, prefixLen, slotSize);
+
+        setCount(pageAddr, cnt + 1);
+
+        return rowBytes;
+    }
+
+    /** {@inheritDoc} */
+    @Override public byte[] store(long pageAddr, int idx, IndexRow row, byte[] rowBytes, boolean needRowBytes) {
+        assertPageType(pageAddr);
+
+        if (rowBytes == null)
+            rowBytes = PageUtils.getBytes(buildItem(row), 0, getItemSize());
+
+        int prefixLen = prefixLength(pageAddr);
+        int off = offset(pageAddr, idx);
+
+        if (commonPrefix(pageAddr, prefixLen, rowBytes) == prefixLen)
+            PageUtils.putBytes(pageAddr, off, rowBytes, prefixLen, getItemSize() - prefixLen);
+        else {
+            // The row is replaced with an equal one, so it is enough to keep the inlined keys and update the link.
+            PageUtils.putBytes(pageAddr, off + inlineSize - prefixLen, rowBytes, inlineSize, LINK_SIZE);
+        }
+
+        return rowBytes;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void store(long dstPageAddr, int dstIdx, BPlusIO<IndexRow> srcIo, long srcPageAddr, int srcIdx) {
+        InlineIO src = (InlineIO)srcIo;
+
+        long itemAddr = GridUnsafe.bufferAddress(ITEM_BUF.get());
+
+        GridUnsafe.copyMemory(src.inlineKeysAddress(srcPageAddr, srcIdx), itemAddr, inlineSize);
+        GridUnsafe.putLong(itemAddr + inlineSize, src.link(srcPageAddr, srcIdx));
+
+        store(dstPageAddr, dstIdx, null, PageUtils.getBytes(itemAddr, 0, getItemSize()), false);
+    }
+
+    /** {@inheritDoc} */
+    @Override public IndexRow getLookupRow(BPlusTree<IndexRow, ?> tree, long pageAddr, int idx)
+        throws IgniteCheckedException {
+        long link = link(pageAddr, idx);
+
+        assert link != 0;
+
+        return ((InlineIndexTree)tree).createIndexRow(link);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void copyItems(long srcPageAddr, long dstPageAddr, int srcIdx, int dstIdx, int cnt,
+        boolean cpLeft) {
+        assert srcIdx != dstIdx || srcPageAddr != dstPageAddr;
+        assertPageType(dstPageAddr);
+
+        int dstPrefixLen = prefixLength(dstPageAddr);
+        int dstSlotSize = getItemSize() - dstPrefixLen;
+
+        if (srcPageAddr == dstPageAddr || samePrefix(srcPageAddr, dstPageAddr)) {
+            PageHandler.copyMemory(srcPageAddr, offset(srcPageAddr, srcIdx), dstPageAddr,
+                offset(dstPageAddr, dstIdx), (long)cnt * dstSlotSize);
+
+            return;
+        }
+
+        // Items are encoded with the prefix of the destination page, which must be common for all of them.
+        for (int i = 0; i < cnt; i++) {
+            long itemAddr = restoreItem(srcPageAddr, srcIdx + i);
+
+            assert commonPrefix(dstPageAddr, dstPrefixLen, itemAddr) == dstPrefixLen;
+
+            GridUnsafe.copyMemory(itemAddr + dstPrefixLen, dstPageAddr + offset(dstPageAddr, dstIdx + i), dstSlotSize);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void splitForwardPage(
+        long pageAddr,
+        long fwdId,
+        long fwdPageAddr,
+        int mid,
+        int cnt,
+        int pageSize,
+        PageMetrics metrics
+    ) {
+        assertPageType(pageAddr);
+
+        initNewPage(fwdPageAddr, fwdId, pageSize, metrics);
+
+        int prefixLen = prefixLength(pageAddr);
+
+        PageHandler.copyMemory(pageAddr, PREFIX_OFF, fwdPageAddr, PREFIX_OFF, prefixLen);
+        setPrefixLength(fwdPageAddr, prefixLen);
+
+        cnt -= mid;
+
+        copyItems(pageAddr, fwdPageAddr, mid, 0, cnt, true);
+
+        setCount(fwdPageAddr, cnt);
+        setForward(fwdPageAddr, getForward(pageAddr));
+
+        // Copy remove ID to make sure that if inner remove touched this page, then retry
+        // will happen even for newly allocated forward page.
+        setRemoveId(fwdPageAddr, getRemoveId(pageAddr));
+
+        extendPrefix(fwdPageAddr);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void splitExistingPage(long pageAddr, int mid, long fwdId) {
+        super.splitExistingPage(pageAddr, mid, fwdId);
+
+        extendPrefix(pageAddr);
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean merge(
+        BPlusIO<IndexRow> prntIo,
+        long prntPageAddr,
+        int prntIdx,
+        long leftPageAddr,
+        long rightPageAddr,
+        boolean emptyBranch,
+        int pageSize
+    ) {
+        assertPageType(leftPageAddr);
+
+        int leftCnt = getCount(leftPageAddr);
+        int rightCnt = getCount(rightPageAddr);
+
+        int leftPrefixLen = prefixLength(leftPageAddr);
+        int rightPrefixLen = prefixLength(rightPageAddr);
+
+        int prefixLen;
+
+        if (rightCnt == 0)
+            prefixLen = leftPrefixLen;
+        else if (leftCnt == 0)
+            prefixLen = rightPrefixLen;
+        else
+            prefixLen = commonPrefix(leftPageAddr, Math.min(leftPrefixLen, rightPrefixLen), rightPageAddr + PREFIX_OFF);
+
+        if (leftCnt + rightCnt > maxCount(pageSize, prefixLen)) {
+            assert !emptyBranch;
+
+            return false;
+        }
+
+        if (leftCnt == 0) {
+            PageHandler.copyMemory(rightPageAddr, PREFIX_OFF, leftPageAddr, PREFIX_OFF, prefixLen);
+            setPrefixLength(leftPageAddr, prefixLen);
+        }
+        else if (prefixLen < leftPrefixLen)
+            shrinkPrefix(leftPageAddr, leftCnt, prefixLen);
+
+        copyItems(rightPageAddr, leftPageAddr, 0, leftCnt, rightCnt, !emptyBranch);
+
+        setCount(leftPageAddr, leftCnt + rightCnt);
+        setForward(leftPageAddr, getForward(rightPageAddr));
+
+        long rmvId = getRemoveId(rightPageAddr);
+
+        // Need to have maximum remove ID.
+        if (rmvId > getRemoveId(leftPageAddr))
+            setRemoveId(leftPageAddr, rmvId);
+
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int offset(int idx) {
+        throw new UnsupportedOperationException("Offset of the item depends on the page prefix length.");
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getItemsEnd(long pageAddr) {
+        return offset(pageAddr, getCount(pageAddr));
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getFreeSpace(int pageSize, long pageAddr) {
+        return (getMaxCount(pageAddr, pageSize) - getCount(pageAddr)) * (getItemSize() - prefixLength(pageAddr));
+    }
+
+    /** {@inheritDoc} */
+    @Override public long link(long pageAddr, int idx) {
+        return PageUtils.getLong(pageAddr, offset(pageAddr, idx) + inlineSize - prefixLength(pageAddr));
+    }
+
+    /** {@inheritDoc} */
+    @Override public int inlineSize() {
+        return inlineSize;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long inlineKeysAddress(long pageAddr, int idx) {
+        int prefixLen = prefixLength(pageAddr);
+
+        if (prefixLen == 0)
+            return pageAddr + offset(pageAddr, idx);
+
+        long keysAddr = GridUnsafe.bufferAddress(KEYS_BUF.get());
+
+        GridUnsafe.copyMemory(pageAddr + PREFIX_OFF, keysAddr, prefixLen);
+        GridUnsafe.copyMemory(pageAddr + offset(pageAddr, idx), keysAddr + prefixLen, inlineSize - prefixLen);
+
+        return keysAddr;
+    }
+
+    /**
+     * @param pageAddr Page address.
+     * @return Length of the common prefix of the page items.
+     */
+    public int prefixLength(long pageAddr) {
+        return PageUtils.getShort(pageAddr, PREFIX_LEN_OFF) & 0xFFFF;
+    }
+
+    /**
+     * @param pageAddr Page address.
+     * @param prefixLen Length of the common prefix of the page items.
+     */
+    private static void setPrefixLength(long pageAddr, int prefixLen) {
+        PageUtils.putShort(pageAddr, PREFIX_LEN_OFF, (short)prefixLen);
+    }
+
+    /**
+     * @param pageAddr Page address.
+     * @param idx Index.
+     * @return Offset of the item.
+     */
+    private int offset(long pageAddr, int idx) {
+        assert idx >= 0 : idx;
+
+        int prefixLen = prefixLength(pageAddr);
+
+        return PREFIX_OFF + prefixLen + idx * (getItemSize() - prefixLen);
+    }
+
+    /**
+     * @param pageSize Page size.
+     * @param prefixLen Prefix length.
+     * @return Max count of items of the page with the given prefix length.
+     */
+    private int maxCount(int pageSize, int prefixLen) {
+        int plainCnt = (pageSize - PREFIX_OFF) / getItemSize();
+
+        int cnt = (pageSize - PREFIX_OFF - prefixLen) / (getItemSize() - prefixLen);
+
+        // Each half of the split page must be able to take a row which doesn't share the prefix.
+        return Math.min(cnt, Math.max(plainCnt, 2 * plainCnt - 2));
+    }
+
+    /**
+     * @param pageAddr Page address.
+     * @param prefixLen Length of the page prefix to compare.
+     * @param bytes Whole item bytes.
+     * @return Length of the common prefix of the page and the item.
+     */
+    private static int commonPrefix(long pageAddr, int prefixLen, byte[] bytes) {
+        for (int i = 0; i < prefixLen; i++) {
+            if (PageUtils.getByte(pageAddr, PREFIX_OFF + i) != bytes[i])
+                return i;
+        }
+
+        return prefixLen;
+    }
+
+    /**
+     * @param pageAddr Page address.
+     * @param prefixLen Length of the page prefix to compare.
+     * @param addr Address of the whole item or of another prefix.
+     * @return Length of the common prefix of the page and the item.
+     */
+    private static int commonPrefix(long pageAddr, int prefixLen, long addr) {
+        for (int i = 0; i < prefixLen; i++) {
+            if (PageUtils.getByte(pageAddr, PREFIX_OFF + i) != GridUnsafe.getByte(addr + i))
+                return i;
+        }
+
+        return prefixLen;
+    }
+
+    /**
+     * @param pageAddr Page address.
+     * @param otherPageAddr Other page address.
+     * @return {@code True} if pages have the same prefix.
+     */
+    private boolean samePrefix(long pageAddr, long otherPageAddr) {
+        int prefixLen = prefixLength(pageAddr);
+
+        return prefixLen == prefixLength(otherPageAddr) &&
+            commonPrefix(pageAddr, prefixLen, otherPageAddr + PREFIX_OFF) == prefixLen;
+    }
+
+    /**
+     * Shortens the prefix of the page, the cut off part of the prefix is prepended to every item.
+     * The page must have enough free space for the grown items.
+     *
+     * @param pageAddr Page address.
+     * @param cnt Items count.
+     * @param newPrefixLen New prefix length.
+     */
+    private void shrinkPrefix(long pageAddr, int cnt, int newPrefixLen) {
+        int prefixLen = prefixLength(pageAddr);
+
+        assert newPrefixLen < prefixLen : newPrefixLen;
+
+        int delta = prefixLen - newPrefixLen;
+        int slotSize = getItemSize() - prefixLen;
+        int itemsOff = PREFIX_OFF + prefixLen;
+        int newItemsOff = PREFIX_OFF + newPrefixLen;
+
+        // The cut off part of the prefix is already in place for the first item. Others are moved right starting
+        // from the last one, so sources are never overwritten before they are moved.
+        for (int i = cnt - 1; i > 0; i--) {
+            int newOff = newItemsOff + i * (slotSize + delta);
+
+            PageHandler.copyMemory(pageAddr, itemsOff + i * slotSize, pageAddr, newOff + delta, slotSize);
+            PageHandler.copyMemory(pageAddr, newItemsOff, pageAddr, newOff, delta);
+        }
+
+        setPrefixLength(pageAddr, newPrefixLen);
+    }
+
+    /**
+     * Extends the prefix of the page to the longest common prefix of its items.
+     *
+     * @param pageAddr Page address.
+     */
+    private void extendPrefix(long pageAddr) {
+        int cnt = getCount(pageAddr);
+
+        if (cnt == 0)
+            return;
+
+        int prefixLen = prefixLength(pageAddr);
+        int slotSize = getItemSize() - prefixLen;
+        int itemsOff = PREFIX_OFF + prefixLen;
+
+        int delta = inlineSize - prefixLen;
+
+        for (int i = 1; i < cnt && delta > 0; i++) {
+            int off = itemsOff + i * slotSize;
+
+            int j = 0;
+
+            while (j < delta && PageUtils.getByte(pageAddr, itemsOff + j) == PageUtils.getByte(pageAddr, off + j))
+                j++;
+
+            delta = j;
+        }
+
+        if (delta == 0)
+            return;
+
+        // The first bytes of the first item directly follow the prefix and become its part. Others are moved left
+        // starting from the second one, so sources are never overwritten before they are moved.
+        for (int i = 1; i < cnt; i++) {
+            PageHandler.copyMemory(pageAddr, itemsOff + i * slotSize + delta, pageAddr,
+                itemsOff + delta + i * (slotSize - delta), slotSize - delta);
+        }
+
+        setPrefixLength(pageAddr, prefixLen + delta);
+    }
+
+    /**
+     * @param row Row.
+     * @return Address of the whole item of the row in the thread local buffer.
+     */
+    private long buildItem(IndexRow row) {
+        long itemAddr = GridUnsafe.bufferAddress(ITEM_BUF.get());
+
+        storeByOffset(itemAddr, 0, row);
+
+        return itemAddr;
+    }
+
+    /**
+     * @param pageAddr Page address.
+     * @param idx Index.
+     * @return Address of the restored whole item in the thread local buffer.
+     */
+    private long restoreItem(long pageAddr, int idx) {
+        long itemAddr = GridUnsafe.bufferAddress(ITEM_BUF.get());
+
+        int prefixLen = prefixLength(pageAddr);
+
+        GridUnsafe.copyMemory(pageAddr + PREFIX_OFF, itemAddr, prefixLen);
+        GridUnsafe.copyMemory(pageAddr + offset(pageAddr, idx), itemAddr + prefixLen, getItemSize() - prefixLen);
+
+        return itemAddr;
+    }
+
+    /**
+     * @return Buffer to store the whole item of the max inline size.
+     */
+    private static ByteBuffer allocateBuffer() {
+        return ByteBuffer.allocateDirect(PageIO.MAX_PAYLOAD_SIZE + LINK_SIZE).order(ByteOrder.nativeOrder());
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.cdc;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.OpenOption;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIODecorator;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
+
+/**
+ * File I/O factory which restricts reading of files to the given number of bytes. Used to read the WAL segment which
+ * is currently written by the node up to the position of the last completely written record.
+ */
+class BoundedFileIOFactory implements FileIOFactory {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Delegate factory. */
+    private final FileIOFactory delegate;
+
+    /** Number of bytes available for reading. */
+    private final long bound;
+
+    /**
+     * @param delegate Delegate factory.
+     * @param bound Number of bytes available for reading.
+     */
+    BoundedFileIOFactory(FileIOFactory delegate, long bound) {
+        this.delegate = delegate;
+        this.bound = bound;
+    }
+
+    /** {@inheritDoc} */
+    @Override public FileIO create(File file, OpenOption... modes) throws IOException {
+        return new BoundedFileIO(delegate.create(file, modes));
+    }
+
+    /** File I/O which reads no more than {@link #bound} bytes. */
+    private class BoundedFileIO extends FileIODecorator {
+        /** @param delegate File I/O delegate. */
+        BoundedFileIO(FileIO delegate) {
+            super(delegate);
+        }
+
+        /** {@inheritDoc} */
+        @Override public int read(ByteBuffer destBuf) throws IOException {
+            int len = available(position(), destBuf.remaining());
+
+            if (len < 0)
+                return -1;
+
+            int lim = destBuf.limit();
+
+            destBuf.limit(destBuf.position() + len);
+
+            try {
+                return super.read(destBuf);
+            }
+            finally {
+                destBuf.limit(lim);
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override public int read(ByteBuffer destBuf, long position) throws IOException {
+            int len = available(position, destBuf.remaining());
+
+            if (len < 0)
+                return -1;
+
+            int lim = destBuf.limit();
+
+            destBuf.limit(destBuf.position() + len);
+
+            try {
+                return super.read(destBuf, position);
+            }
+            finally {
+                destBuf.limit(lim);
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override public int read(byte[] buf, int off, int len) throws IOException {
+            len = available(position(), len);
+
+            return len < 0 ? -1 : super.read(buf, off, len);
+        }
+
+        /** {@inheritDoc} */
+        @Override public long size() throws IOException {
+            return Math.min(super.size(), bound);
+        }
+
+        /**
+         * @param pos Position to read from.
+         * @param len Requested number of bytes.
+         * @return Number of bytes which can be read or {@code -1} if the bound is reached.
+         */
+        private int available(long pos, int len) {
+            if (pos >= bound)
+                return len == 0 ? 0 : -1;
+
+            return (int)Math.min(len, bound - pos);
+        }
+    }
+}
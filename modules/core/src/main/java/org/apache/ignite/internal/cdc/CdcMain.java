@@ -35,6 +35,7 @@ import java.util.stream.Stream;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.binary.BinaryType;
 import org.apache.ignite.cdc.CdcCacheEvent;
 import org.apache.ignite.cdc.CdcConfiguration;
@@ -54,8 +55,10 @@ import org.apache.ignite.internal.processors.cache.GridLocalConfigManager;
 import org.apache.ignite.internal.processors.cache.binary.CacheObjectBinaryProcessorImpl;
 import org.apache.ignite.internal.processors.cache.persistence.filename.PdsFolderResolver;
 import org.apache.ignite.internal.processors.cache.persistence.filename.PdsFolderSettings;
+import org.apache.ignite.internal.processors.cache.persistence.wal.FileDescriptor;
 import org.apache.ignite.internal.processors.cache.persistence.wal.FileWriteAheadLogManager;
 import org.apache.ignite.internal.processors.cache.persistence.wal.WALPointer;
+import org.apache.ignite.internal.processors.cache.persistence.wal.WalPositionMarker;
 import org.apache.ignite.internal.processors.cache.persistence.wal.reader.IgniteWalIteratorFactory;
 import org.apache.ignite.internal.processors.cache.persistence.wal.reader.StandaloneGridKernalContext;
 import org.apache.ignite.internal.processors.metric.MetricRegistry;
@@ -71,6 +74,7 @@ import org.apache.ignite.platform.PlatformType;
 import org.apache.ignite.spi.metric.jmx.JmxMetricExporterSpi;
 import org.apache.ignite.spi.metric.noop.NoopMetricExporterSpi;
 import org.apache.ignite.startup.cmdline.CdcCommandLineStartup;
+import org.jetbrains.annotations.Nullable;
 
 import static org.apache.ignite.internal.IgniteKernal.NL;
 import static org.apache.ignite.internal.IgniteKernal.SITE;
@@ -82,6 +86,7 @@ import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType
 import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.DATA_RECORD_V2;
 import static org.apache.ignite.internal.processors.cache.persistence.wal.FileWriteAheadLogManager.WAL_SEGMENT_FILE_FILTER;
 import static org.apache.ignite.internal.processors.cache.persistence.wal.FileWriteAheadLogManager.segmentIndex;
+import static org.apache.ignite.internal.processors.cache.persistence.wal.WalPositionMarker.WAL_POSITION_FILE_NAME;
 import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
 
 /**
@@ -97,6 +102,8 @@ import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metr
  *     to store WAL segments for CDC.</li>
  *     <li>Optional: Set {@link DataStorageConfiguration#setWalForceArchiveTimeout(long)} to configure timeout for
  *     force WAL rollover, so new events will be available for consumptions with the predicted time.</li>
+ *     <li>Optional: Set {@link IgniteSystemProperties#IGNITE_CDC_WAL_POSITION_UPDATE_FREQUENCY} on the node and
+ *     {@link CdcConfiguration#setTailActiveSegment(boolean)} to consume events before WAL segment rollover.</li>
  * </ol>
  *
  * When {@link DataStorageConfiguration#getCdcWalPath()} is true then Ignite node on each WAL segment
@@ -196,6 +203,9 @@ public class CdcMain implements Runnable {
     /** Database directory. */
     private File dbDir;
 
+    /** WAL work directory of the node. */
+    private File walWorkDir;
+
     /** Binary meta directory. */
     private File binaryMeta;
 
@@ -463,6 +473,9 @@ public class CdcMain implements Runnable {
                         updateMetadata();
                 }
 
+                if (cdcCfg.isTailActiveSegment() && !stopped)
+                    consumeActiveSegment(lastSgmnt.get());
+
                 if (!stopped)
                     U.sleep(cdcCfg.getCheckFrequency());
             }
@@ -531,54 +544,154 @@ public class CdcMain implements Runnable {
                 walState = null;
             }
 
-            boolean interrupted = false;
+            consumeRecords(iter, segment);
+
+            processedSegments.add(segment);
+        }
+        catch (IgniteCheckedException | IOException e) {
+            throw new IgniteException(e);
+        }
+    }
+
+    /**
+     * Reads records of the WAL segment which is currently written by the node. Records are read up to the position
+     * published by the node, see {@link WalPositionMarker}. Read position is kept in {@link #walState}, so the
+     * segment is consumed from it after archiving.
+     *
+     * @param lastSgmnt Index of the last consumed archived segment or {@code -1} if no segments consumed.
+     */
+    private void consumeActiveSegment(long lastSgmnt) {
+        long segmentIdx;
+
+        if (walState != null)
+            segmentIdx = walState.get1().index();
+        else if (lastSgmnt != -1)
+            segmentIdx = lastSgmnt + 1;
+        else
+            return; // Active segment is unknown until some segment consumed, can't rely on the node archiver progress.
 
-            do {
-                boolean commit = consumer.onRecords(iter);
+        try {
+            WALPointer pos = WalPositionMarker.read(cdcDir.resolve(WAL_POSITION_FILE_NAME));
 
-                if (commit) {
-                    T2<WALPointer, Integer> curState = iter.state();
+            if (pos == null || pos.index() != segmentIdx)
+                return;
 
-                    if (curState == null)
-                        continue;
+            if (walState != null && walState.get1().fileOffset() >= pos.fileOffset())
+                return;
 
-                    if (log.isDebugEnabled())
-                        log.debug("Saving state [curState=" + curState + ']');
+            DataStorageConfiguration dsCfg = igniteCfg.getDataStorageConfiguration();
 
-                    state.saveWal(curState);
+            if (walWorkDir == null) {
+                File walRoot = new File(dsCfg.getWalPath());
 
-                    committedSegmentIdx.value(curState.get1().index());
-                    committedSegmentOffset.value(curState.get1().fileOffset());
+                if (!walRoot.isAbsolute())
+                    walRoot = new File(igniteCfg.getWorkDirectory(), dsCfg.getWalPath());
 
-                    // Can delete after new file state save.
-                    if (!processedSegments.isEmpty()) {
-                        // WAL segment is a hard link to a segment file in a specifal Change Data Capture folder.
-                        // So we can safely delete it after success processing.
-                        for (Path processedSegment : processedSegments) {
-                            // Can't delete current segment, because state points to it.
-                            if (processedSegment.equals(segment))
-                                continue;
+                walWorkDir = new File(walRoot, dbDir.getName());
+            }
 
-                            Files.delete(processedSegment);
-                        }
+            // Work files are named by the absolute segment index if the WAL archiver is disabled.
+            boolean archiverEnabled = !new File(dsCfg.getWalArchivePath()).equals(new File(dsCfg.getWalPath()));
 
-                        processedSegments.clear();
-                    }
-                }
+            File segment = new File(walWorkDir,
+                FileDescriptor.fileName(archiverEnabled ? segmentIdx % dsCfg.getWalSegments() : segmentIdx));
 
-                interrupted = Thread.interrupted();
-            } while (iter.hasNext() && !interrupted);
+            if (!segment.exists())
+                return;
 
-            if (interrupted)
-                throw new IgniteException("Change Data Capture Application interrupted");
+            updateMetadata();
 
-            processedSegments.add(segment);
+            if (log.isDebugEnabled())
+                log.debug("Processing active WAL segment [segment=" + segment + ", pos=" + pos + ']');
+
+            IgniteWalIteratorFactory.IteratorParametersBuilder builder =
+                new IgniteWalIteratorFactory.IteratorParametersBuilder()
+                    .log(log)
+                    .binaryMetadataFileStoreDir(binaryMeta)
+                    .marshallerMappingFileStoreDir(marshaller)
+                    .keepBinary(cdcCfg.isKeepBinary())
+                    .filesOrDirs(segment)
+                    // Work file may be reused by the next segments, bounds filter out records of them.
+                    .from(walState != null ? walState.get1() : new WALPointer(segmentIdx, 0, 0))
+                    .to(pos)
+                    .ioFactory(new BoundedFileIOFactory(dsCfg.getFileIOFactory(), pos.fileOffset()))
+                    .addFilter((type, ptr) -> type == DATA_RECORD_V2 || type == CDC_DATA_RECORD);
+
+            if (dsCfg.getPageSize() != 0)
+                builder.pageSize(dsCfg.getPageSize());
+
+            curSegmentIdx.value(segmentIdx);
+
+            try (DataEntryIterator iter = new DataEntryIterator(new IgniteWalIteratorFactory(log).iterator(builder))) {
+                if (walState != null)
+                    iter.init(walState.get2());
+
+                if (!iter.hasNext())
+                    return;
+
+                consumeRecords(iter, null);
+
+                T2<WALPointer, Integer> curState = iter.state();
+
+                if (curState != null)
+                    walState = curState;
+            }
         }
         catch (IgniteCheckedException | IOException e) {
             throw new IgniteException(e);
         }
     }
 
+    /**
+     * Passes records to the consumer and saves the consumption state on commit.
+     *
+     * @param iter Iterator over records.
+     * @param segment Current segment or {@code null} if records are read from the active segment.
+     * @throws IOException If failed.
+     */
+    private void consumeRecords(DataEntryIterator iter, @Nullable Path segment) throws IOException {
+        boolean interrupted = false;
+
+        do {
+            boolean commit = consumer.onRecords(iter);
+
+            if (commit) {
+                T2<WALPointer, Integer> curState = iter.state();
+
+                if (curState == null)
+                    continue;
+
+                if (log.isDebugEnabled())
+                    log.debug("Saving state [curState=" + curState + ']');
+
+                state.saveWal(curState);
+
+                committedSegmentIdx.value(curState.get1().index());
+                committedSegmentOffset.value(curState.get1().fileOffset());
+
+                // Can delete after new file state save.
+                if (!processedSegments.isEmpty()) {
+                    // WAL segment is a hard link to a segment file in a specifal Change Data Capture folder.
+                    // So we can safely delete it after success processing.
+                    for (Path processedSegment : processedSegments) {
+                        // Can't delete current segment, because state points to it.
+                        if (processedSegment.equals(segment))
+                            continue;
+
+                        Files.delete(processedSegment);
+                    }
+
+                    processedSegments.clear();
+                }
+            }
+
+            interrupted = Thread.interrupted();
+        } while (iter.hasNext() && !interrupted);
+
+        if (interrupted)
+            throw new IgniteException("Change Data Capture Application interrupted");
+    }
+
     /** Metadata update. */
     private void updateMetadata() {
         long start = System.currentTimeMillis();
@@ -27,6 +27,7 @@ import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndex;
 import org.apache.ignite.internal.pagemem.store.IgnitePageStoreManager;
 import org.apache.ignite.internal.processors.cache.GridCacheContext;
 import org.apache.ignite.internal.processors.cache.GridCacheContextInfo;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
 import org.apache.ignite.internal.processors.query.schema.IndexRebuildCancelToken;
 import org.apache.ignite.internal.processors.query.schema.SchemaIndexCacheFuture;
 import org.apache.ignite.internal.processors.query.schema.SchemaIndexCacheVisitorClosure;
@@ -74,7 +75,15 @@ public class IndexesRebuildTask {
             boolean mvccEnabled = cctx.mvccEnabled();
 
             // If there are no index store, rebuild all indexes.
-            clo = row -> cctx.queries().store(row, null, mvccEnabled);
+            clo = new SchemaIndexCacheVisitorClosure() {
+                @Override public void apply(CacheDataRow row) throws IgniteCheckedException {
+                    cctx.queries().store(row, null, mvccEnabled);
+                }
+
+                @Override public Collection<InlineIndex> indexes() {
+                    return cctx.kernalContext().indexProcessor().treeIndexes(cacheName, false);
+                }
+            };
         }
         else {
             Collection<InlineIndex> toRebuild = cctx.kernalContext().indexProcessor().treeIndexes(cctx.name(), !force);
@@ -82,7 +91,15 @@ public class IndexesRebuildTask {
             if (F.isEmpty(toRebuild))
                 return null;
 
-            clo = row -> cctx.kernalContext().indexProcessor().store(toRebuild, row, null, false);
+            clo = new SchemaIndexCacheVisitorClosure() {
+                @Override public void apply(CacheDataRow row) throws IgniteCheckedException {
+                    cctx.kernalContext().indexProcessor().store(toRebuild, row, null, false);
+                }
+
+                @Override public Collection<InlineIndex> indexes() {
+                    return toRebuild;
+                }
+            };
         }
 
         // Closure prepared, do rebuild.
@@ -38,4 +38,11 @@ public interface DirectMemoryRegion {
      * @return Sub-region.
      */
     public DirectMemoryRegion slice(long offset);
+
+    /**
+     * @return NUMA node the region is allocated on or {@code -1} if the region is not bound to a node.
+     */
+    public default int numaNode() {
+        return -1;
+    }
 }
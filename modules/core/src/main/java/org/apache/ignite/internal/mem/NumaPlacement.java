@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.mem;
+
+import org.apache.ignite.IgniteSystemProperties;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.mem.MemoryAllocator;
+import org.apache.ignite.mem.NumaAwareMemoryAllocator;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_NUMA_AWARE_PLACEMENT;
+
+/**
+ * NUMA aware placement of page memory segments and striped pool threads. Enabled by
+ * {@link IgniteSystemProperties#IGNITE_NUMA_AWARE_PLACEMENT} for data regions configured with
+ * {@link NumaAwareMemoryAllocator} on hosts with more than one NUMA node.
+ * <p>
+ * Partition {@code p} is mapped to NUMA node {@code p % nodes}:
+ * <ul>
+ *     <li>count of page memory segments is rounded up to a multiple of nodes count, segments are allocated on NUMA
+ *     nodes in round-robin manner and pages of a partition are stored in segments allocated on the node of the
+ *     partition, index pages are stored in all the segments;</li>
+ *     <li>striped pool size is rounded up to a multiple of nodes count and stripe {@code s} is bound to node
+ *     {@code s % nodes}, so messages of partition {@code p}, which are processed by stripe {@code p % stripes},
+ *     are processed by threads running on the node of the partition.</li>
+ * </ul>
+ */
+public class NumaPlacement {
+    /** @see IgniteSystemProperties#IGNITE_NUMA_AWARE_PLACEMENT */
+    public static final boolean DFLT_NUMA_AWARE_PLACEMENT = false;
+
+    /** */
+    private NumaPlacement() {
+        // No-op.
+    }
+
+    /**
+     * @param allocator Memory allocator of a data region.
+     * @return Allocator to place page memory segments with or {@code null} if NUMA aware placement is disabled.
+     */
+    @Nullable public static NumaAwareMemoryAllocator allocator(@Nullable MemoryAllocator allocator) {
+        if (!(allocator instanceof NumaAwareMemoryAllocator)
+            || !IgniteSystemProperties.getBoolean(IGNITE_NUMA_AWARE_PLACEMENT, DFLT_NUMA_AWARE_PLACEMENT))
+            return null;
+
+        NumaAwareMemoryAllocator numaAllocator = (NumaAwareMemoryAllocator)allocator;
+
+        return numaAllocator.numaNodes() > 1 ? numaAllocator : null;
+    }
+
+    /**
+     * @param cfg Ignite configuration.
+     * @return Allocator to bind striped pool threads with or {@code null} if NUMA aware placement is disabled or
+     *      no data region is configured with {@link NumaAwareMemoryAllocator}.
+     */
+    @Nullable public static NumaAwareMemoryAllocator allocator(IgniteConfiguration cfg) {
+        DataStorageConfiguration dsCfg = cfg.getDataStorageConfiguration();
+
+        if (dsCfg == null)
+            return null;
+
+        NumaAwareMemoryAllocator res = allocator(dsCfg.getMemoryAllocator());
+
+        if (res == null && dsCfg.getDefaultDataRegionConfiguration() != null)
+            res = allocator(dsCfg.getDefaultDataRegionConfiguration().getMemoryAllocator());
+
+        if (res == null && dsCfg.getDataRegionConfigurations() != null) {
+            for (DataRegionConfiguration regCfg : dsCfg.getDataRegionConfigurations()) {
+                if ((res = allocator(regCfg.getMemoryAllocator())) != null)
+                    break;
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * @param partId Partition ID.
+     * @param nodes Count of NUMA nodes.
+     * @return NUMA node of the partition.
+     */
+    public static int node(int partId, int nodes) {
+        return partId % nodes;
+    }
+
+    /**
+     * @param cnt Count of page memory segments or striped pool threads.
+     * @param nodes Count of NUMA nodes.
+     * @return Count rounded up to a multiple of nodes count, so that all the nodes get the same share.
+     */
+    public static int roundUp(int cnt, int nodes) {
+        return (cnt + nodes - 1) / nodes * nodes;
+    }
+}
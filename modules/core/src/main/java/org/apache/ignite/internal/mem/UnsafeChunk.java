@@ -30,13 +30,26 @@ public class UnsafeChunk implements DirectMemoryRegion {
     /** */
     private long len;
 
+    /** NUMA node the memory is allocated on or {@code -1} if the memory is not bound to a node. */
+    private int numaNode;
+
     /**
      * @param ptr Pointer to the memory start.
      * @param len Memory length.
      */
     public UnsafeChunk(long ptr, long len) {
+        this(ptr, len, -1);
+    }
+
+    /**
+     * @param ptr Pointer to the memory start.
+     * @param len Memory length.
+     * @param numaNode NUMA node the memory is allocated on or {@code -1} if the memory is not bound to a node.
+     */
+    public UnsafeChunk(long ptr, long len, int numaNode) {
         this.ptr = ptr;
         this.len = len;
+        this.numaNode = numaNode;
     }
 
     /** {@inheritDoc} */
@@ -55,7 +68,12 @@ public class UnsafeChunk implements DirectMemoryRegion {
             throw new IllegalArgumentException("Failed to create a memory region slice [ptr=" + U.hexLong(ptr) +
                 ", len=" + len + ", offset=" + offset + ']');
 
-        return new UnsafeChunk(ptr + offset, len - offset);
+        return new UnsafeChunk(ptr + offset, len - offset, numaNode);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int numaNode() {
+        return numaNode;
     }
 
     /** {@inheritDoc} */
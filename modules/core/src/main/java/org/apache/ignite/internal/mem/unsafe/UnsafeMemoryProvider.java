@@ -24,9 +24,11 @@ import org.apache.ignite.IgniteException;
 import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.internal.mem.DirectMemoryProvider;
 import org.apache.ignite.internal.mem.DirectMemoryRegion;
+import org.apache.ignite.internal.mem.NumaPlacement;
 import org.apache.ignite.internal.mem.UnsafeChunk;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.mem.MemoryAllocator;
+import org.apache.ignite.mem.NumaAwareMemoryAllocator;
 import org.jetbrains.annotations.Nullable;
 
 /**
@@ -53,6 +55,12 @@ public class UnsafeMemoryProvider implements DirectMemoryProvider {
     /** */
     private final MemoryAllocator allocator;
 
+    /** Whether chunks except the last one are page memory segments, which can be bound to NUMA nodes. */
+    private final boolean segmented;
+
+    /** Allocator to bind chunks to NUMA nodes with, {@code null} if chunks are not bound to nodes. */
+    @Nullable private NumaAwareMemoryAllocator numaAllocator;
+
     /**
      * @param log Ignite logger to use.
      */
@@ -65,8 +73,19 @@ public class UnsafeMemoryProvider implements DirectMemoryProvider {
      * @param allocator Memory allocator. If {@code null}, default {@link UnsafeMemoryAllocator} will be used.
      */
     public UnsafeMemoryProvider(@Nullable IgniteLogger log, @Nullable MemoryAllocator allocator) {
+        this(log, allocator, false);
+    }
+
+    /**
+     * @param log Ignite logger to use.
+     * @param allocator Memory allocator. If {@code null}, default {@link UnsafeMemoryAllocator} will be used.
+     * @param segmented Whether all the chunks except the last one (checkpoint buffer) are segments of persistent page
+     *      memory. Segments are allocated on NUMA nodes in round-robin manner if {@link NumaPlacement} is enabled.
+     */
+    public UnsafeMemoryProvider(@Nullable IgniteLogger log, @Nullable MemoryAllocator allocator, boolean segmented) {
         this.allocator = allocator == null ? new UnsafeMemoryAllocator() : allocator;
         this.log = log;
+        this.segmented = segmented;
     }
 
     /** {@inheritDoc} */
@@ -78,6 +97,19 @@ public class UnsafeMemoryProvider implements DirectMemoryProvider {
 
         regions = new ArrayList<>();
 
+        if (segmented) {
+            numaAllocator = NumaPlacement.allocator(allocator);
+
+            // Each NUMA node must have at least one segment.
+            if (numaAllocator != null && sizes.length - 1 < numaAllocator.numaNodes()) {
+                U.warn(log, "NUMA aware placement of page memory segments is disabled, segments count is less " +
+                    "than NUMA nodes count [segments=" + (sizes.length - 1) +
+                    ", nodes=" + numaAllocator.numaNodes() + ']');
+
+                numaAllocator = null;
+            }
+        }
+
         isInit = true;
     }
 
@@ -111,10 +143,15 @@ public class UnsafeMemoryProvider implements DirectMemoryProvider {
 
         long chunkSize = sizes[regions.size()];
 
+        int numaNode = numaAllocator != null && regions.size() < sizes.length - 1 ?
+            regions.size() % numaAllocator.numaNodes() : -1;
+
         long ptr;
 
         try {
-            ptr = allocator.allocateMemory(chunkSize);
+            ptr = numaNode >= 0 ?
+                numaAllocator.allocateMemory(chunkSize, numaNode) :
+                allocator.allocateMemory(chunkSize);
         }
         catch (IllegalArgumentException e) {
             String msg = "Failed to allocate next memory chunk: " + U.readableSize(chunkSize, true) +
@@ -134,7 +171,7 @@ public class UnsafeMemoryProvider implements DirectMemoryProvider {
             return null;
         }
 
-        DirectMemoryRegion region = new UnsafeChunk(ptr, chunkSize);
+        DirectMemoryRegion region = new UnsafeChunk(ptr, chunkSize, numaNode);
 
         regions.add(region);
 
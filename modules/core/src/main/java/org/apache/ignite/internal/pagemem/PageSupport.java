@@ -85,6 +85,42 @@ public interface PageSupport {
      */
     public void readUnlock(int grpId, long pageId, long page);
 
+    /**
+     * Starts an optimistic read of the page. The page content can be read at {@link #optimisticReadAddress(long)}
+     * without a lock, but it is consistent only if {@link #validateOptimisticRead(int, long, long, long)} succeeds
+     * after the read. The page must be acquired.
+     *
+     * @param grpId Cache group ID.
+     * @param pageId Page ID.
+     * @param page Page pointer.
+     * @return Stamp to validate the read with or {@code 0L} if the page is write locked, has been recycled or
+     *      optimistic reads are not supported.
+     */
+    public default long tryOptimisticRead(int grpId, long pageId, long page) {
+        return 0L;
+    }
+
+    /**
+     * @param page Page pointer.
+     * @return Pointer for reading the page after {@link #tryOptimisticRead(int, long, long)} succeeded.
+     */
+    public default long optimisticReadAddress(long page) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Validates an optimistic read of the page.
+     *
+     * @param grpId Cache group ID.
+     * @param pageId Page ID.
+     * @param page Page pointer.
+     * @param stamp Stamp returned by {@link #tryOptimisticRead(int, long, long)}.
+     * @return {@code True} if the page has not been write locked since the stamp was issued.
+     */
+    public default boolean validateOptimisticRead(int grpId, long pageId, long page, long stamp) {
+        return false;
+    }
+
     /**
      *
      * @param grpId Cache group ID.
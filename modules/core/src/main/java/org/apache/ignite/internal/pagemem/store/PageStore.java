@@ -95,6 +95,42 @@ public interface PageStore extends Closeable {
      */
     public void write(long pageId, ByteBuffer pageBuf, int tag, boolean calculateCrc) throws IgniteCheckedException;
 
+    /**
+     * Writes pages with consecutive indexes. The store may write them with a single request.
+     *
+     * @param pageIds IDs of pages with consecutive indexes.
+     * @param pagesBuf Buffer with {@code cnt} pages one after another, starting from position {@code 0}.
+     * @param cnt Number of pages to write.
+     * @param tag Partition file version, for outdated pages {@code tag} has lower value, and write does nothing.
+     * @param calculateCrc if {@code False} crc calculation will be forcibly skipped.
+     * @throws IgniteCheckedException If page writing failed (IO error occurred).
+     */
+    public default void write(
+        long[] pageIds,
+        ByteBuffer pagesBuf,
+        int cnt,
+        int tag,
+        boolean calculateCrc
+    ) throws IgniteCheckedException {
+        for (int i = 0; i < cnt; i++)
+            write(pageIds[i], pageBuffer(pagesBuf, i, getPageSize()), tag, calculateCrc);
+    }
+
+    /**
+     * @param pagesBuf Buffer with pages one after another, starting from position {@code 0}.
+     * @param idx Index of the page in the buffer.
+     * @param pageSize Page size.
+     * @return Buffer of the page sharing content with {@code pagesBuf}.
+     */
+    public static ByteBuffer pageBuffer(ByteBuffer pagesBuf, int idx, int pageSize) {
+        ByteBuffer buf = pagesBuf.duplicate();
+
+        buf.limit((idx + 1) * pageSize);
+        buf.position(idx * pageSize);
+
+        return buf.slice().order(pagesBuf.order());
+    }
+
     /**
      * Gets page offset within the store file.
      *
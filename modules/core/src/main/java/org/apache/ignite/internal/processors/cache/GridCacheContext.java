@@ -2154,7 +2154,9 @@ public class GridCacheContext<K, V> implements Externalizable {
                 boolean canRead = true;
 
                 try {
-                    canRead = locPart.state() == OWNING;
+                    // Partitions restored from a snapshot are read through the regular path, which waits for them.
+                    canRead = locPart.state() == OWNING && (sharedCtx.snapshotMgr() == null ||
+                        !sharedCtx.snapshotMgr().isRestoringPartition(groupId(), part));
 
                     return canRead;
                 }
@@ -2799,6 +2799,12 @@ public class GridCacheProcessor extends GridProcessorAdapter {
 
             grpsToStop.forEach(g -> g.get1().prepareToStop());
 
+            // Stopped caches may be cleared without WAL logging, so they can't be defragmented online anymore.
+            if (sharedCtx.database() instanceof GridCacheDatabaseSharedManager) {
+                ((GridCacheDatabaseSharedManager)sharedCtx.database()).onlineDefragmentationManager()
+                    .onCacheGroupsStopping(cachesToStop.keySet());
+            }
+
             if (!exchActions.cacheStopRequests().isEmpty())
                 removeOffheapListenerAfterCheckpoint(grpsToStop);
 
@@ -78,6 +78,7 @@ import org.apache.ignite.internal.processors.cache.persistence.metastorage.MetaS
 import org.apache.ignite.internal.processors.cache.transactions.IgniteInternalTx;
 import org.apache.ignite.internal.processors.cache.transactions.IgniteTxEntry;
 import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
+import org.apache.ignite.internal.processors.cache.warmup.HotPagesWarmUpStrategy;
 import org.apache.ignite.internal.processors.cache.warmup.LoadAllWarmUpStrategy;
 import org.apache.ignite.internal.processors.cache.warmup.NoOpWarmUpStrategy;
 import org.apache.ignite.internal.processors.cache.warmup.WarmUpStrategy;
@@ -2233,7 +2234,8 @@ public class GridCacheUtils {
             new LoadAllWarmUpStrategy(
                 kernalCtx.log(LoadAllWarmUpStrategy.class),
                 () -> kernalCtx.cache().cacheGroups()
-            )
+            ),
+            new HotPagesWarmUpStrategy(kernalCtx)
         };
 
         for (WarmUpStrategy<?> strategy : defStrats)
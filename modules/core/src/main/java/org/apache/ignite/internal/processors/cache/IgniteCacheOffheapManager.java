@@ -24,6 +24,7 @@ import java.util.Map;
 import javax.cache.Cache;
 import javax.cache.processor.EntryProcessor;
 import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
 import org.apache.ignite.internal.processors.cache.distributed.dht.preloader.IgniteDhtDemandedPartitionsMap;
 import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
@@ -155,6 +156,26 @@ public interface IgniteCacheOffheapManager {
      */
     public void destroyCacheDataStore(CacheDataStore store) throws IgniteCheckedException;
 
+    /**
+     * @return {@code True} if updates of some local partitions of the group are blocked, see
+     *      {@link #partitionsUnblockFuture(GridCacheContext, Iterable)}.
+     */
+    public boolean partitionUpdatesBlocked();
+
+    /**
+     * Gets a future which operations on the keys must wait for before they take the checkpoint read lock, since
+     * local partitions which files are being swapped or restored from a snapshot can't be updated under the lock.
+     *
+     * @param cctx Cache context.
+     * @param keys Keys.
+     * @return Future completed when updates of the local partitions of the keys are unblocked, {@code null} if none
+     *      of them is blocked.
+     */
+    @Nullable public IgniteInternalFuture<?> partitionsUnblockFuture(
+        GridCacheContext<?, ?> cctx,
+        Iterable<? extends KeyCacheObject> keys
+    );
+
     /**
      * TODO: GG-10884, used on only from initialValue.
      */
@@ -1063,6 +1084,18 @@ public interface IgniteCacheOffheapManager {
         public GridCursor<? extends CacheDataRow> cursor(int cacheId, KeyCacheObject lower,
             KeyCacheObject upper, Object x, MvccSnapshot snapshot) throws IgniteCheckedException;
 
+        /**
+         * Cursor for a full scan of the partition. Rows are returned in the same order as by {@link #cursor(Object)},
+         * but data pages of a persistent partition are loaded in file order and don't pollute the page replacement
+         * policy.
+         *
+         * @param cacheId Cache ID or {@code CU.UNDEFINED_CACHE_ID} to scan rows of all caches of the group.
+         * @param x Implementation specific argument, {@code null} always means that we need to return full detached data row.
+         * @return Data cursor.
+         * @throws IgniteCheckedException If failed.
+         */
+        public GridCursor<? extends CacheDataRow> scanCursor(int cacheId, Object x) throws IgniteCheckedException;
+
         /**
          * Destroys the tree associated with the store.
          *
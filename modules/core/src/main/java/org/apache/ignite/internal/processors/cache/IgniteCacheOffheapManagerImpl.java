@@ -41,6 +41,7 @@ import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.failure.FailureContext;
 import org.apache.ignite.failure.FailureType;
+import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.NodeStoppingException;
 import org.apache.ignite.internal.metric.IoStatisticsHolder;
 import org.apache.ignite.internal.pagemem.FullPageId;
@@ -84,6 +85,7 @@ import org.apache.ignite.internal.processors.cache.tree.PendingEntriesTree;
 import org.apache.ignite.internal.processors.cache.tree.PendingRow;
 import org.apache.ignite.internal.processors.cache.tree.RowLinkIO;
 import org.apache.ignite.internal.processors.cache.tree.SearchRow;
+import org.apache.ignite.internal.processors.cache.tree.SequentialScanCursor;
 import org.apache.ignite.internal.processors.cache.tree.mvcc.data.MvccDataRow;
 import org.apache.ignite.internal.processors.cache.tree.mvcc.data.MvccUpdateDataRow;
 import org.apache.ignite.internal.processors.cache.tree.mvcc.data.MvccUpdateResult;
@@ -896,7 +898,7 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
 
                                 try {
                                     if (mvccSnapshot == null)
-                                        cur = cacheId == CU.UNDEFINED_CACHE_ID ? ds.cursor() : ds.cursor(cacheId);
+                                        cur = ds.scanCursor(cacheId, null);
                                     else {
                                         cur = cacheId == CU.UNDEFINED_CACHE_ID ?
                                             ds.cursor(mvccSnapshot) : ds.cursor(cacheId, mvccSnapshot);
@@ -1140,7 +1142,7 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
 
             @Override protected boolean onHasNext() throws IgniteCheckedException {
                 if (cur == null)
-                    cur = data.cursor(CacheDataRowAdapter.RowData.FULL_WITH_HINTS);
+                    cur = data.scanCursor(CU.UNDEFINED_CACHE_ID, CacheDataRowAdapter.RowData.FULL_WITH_HINTS);
 
                 if (next != null)
                     return true;
@@ -1318,6 +1320,19 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
         return BPlusTree.treeName("p-" + p, "CacheData");
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean partitionUpdatesBlocked() {
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override public @Nullable IgniteInternalFuture<?> partitionsUnblockFuture(
+        GridCacheContext<?, ?> cctx,
+        Iterable<? extends KeyCacheObject> keys
+    ) {
+        return null;
+    }
+
     /** {@inheritDoc} */
     @Override public boolean expire(
         GridCacheContext cctx,
@@ -1458,6 +1473,26 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
             GridSpinBusyLock busyLock,
             IgniteLogger log,
             @Nullable Supplier<GridQueryRowCacheCleaner> cleaner
+        ) {
+            this(partId, rowStore, dataTree, pendingEntries, grp, busyLock, log, cleaner, null);
+        }
+
+        /**
+         * @param partId Partition number.
+         * @param rowStore Row store.
+         * @param dataTree Data tree.
+         * @param pCntr Update counter to share with another store of the same partition, {@code null} to create new.
+         */
+        public CacheDataStoreImpl(
+            int partId,
+            CacheDataRowStore rowStore,
+            CacheDataTree dataTree,
+            Supplier<PendingEntriesTree> pendingEntries,
+            CacheGroupContext grp,
+            GridSpinBusyLock busyLock,
+            IgniteLogger log,
+            @Nullable Supplier<GridQueryRowCacheCleaner> cleaner,
+            @Nullable PartitionUpdateCounter pCntr
         ) {
             this.partId = partId;
             this.rowStore = rowStore;
@@ -1467,12 +1502,17 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
             this.busyLock = busyLock;
             this.log = log;
 
-            PartitionUpdateCounter delegate = grp.mvccEnabled() ? new PartitionUpdateCounterMvccImpl(grp) :
-                !grp.persistenceEnabled() || grp.hasAtomicCaches() ? new PartitionUpdateCounterVolatileImpl(grp) :
-                    new PartitionUpdateCounterTrackingImpl(grp);
+            if (pCntr == null) {
+                PartitionUpdateCounter delegate = grp.mvccEnabled() ? new PartitionUpdateCounterMvccImpl(grp) :
+                    !grp.persistenceEnabled() || grp.hasAtomicCaches() ? new PartitionUpdateCounterVolatileImpl(grp) :
+                        new PartitionUpdateCounterTrackingImpl(grp);
+
+                pCntr = grp.shared().logger(PartitionUpdateCounterDebugWrapper.class).isDebugEnabled() ?
+                    new PartitionUpdateCounterDebugWrapper(partId, delegate) :
+                    new PartitionUpdateCounterErrorWrapper(partId, delegate);
+            }
 
-            pCntr = grp.shared().logger(PartitionUpdateCounterDebugWrapper.class).isDebugEnabled() ?
-                new PartitionUpdateCounterDebugWrapper(partId, delegate) : new PartitionUpdateCounterErrorWrapper(partId, delegate);
+            this.pCntr = pCntr;
 
             updateValSizeThreshold = grp.shared().database().pageSize() / 2;
 
@@ -2948,6 +2988,23 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
             return cursor;
         }
 
+        /** {@inheritDoc} */
+        @Override public GridCursor<? extends CacheDataRow> scanCursor(int cacheId, Object x)
+            throws IgniteCheckedException {
+            GridCursor<? extends CacheDataRow> cur = cacheId == CU.UNDEFINED_CACHE_ID ?
+                dataTree.find(null, null, x) : cursor(cacheId, null, null, x, null);
+
+            if (!grp.persistenceEnabled() || grp.mvccEnabled() || SequentialScanCursor.WINDOW < 2)
+                return cur;
+
+            GridCursor<? extends CacheDataRow> lookAhead = cacheId == CU.UNDEFINED_CACHE_ID ?
+                dataTree.find(null, null, CacheDataRowAdapter.RowData.LINK_ONLY) :
+                cursor(cacheId, null, null, CacheDataRowAdapter.RowData.LINK_ONLY, null);
+
+            return new SequentialScanCursor<>(cur, lookAhead, grp.dataRegion().pageMemory(), grp.groupId(),
+                grp.statisticsHolderData());
+        }
+
         /** {@inheritDoc} */
         @Override public void destroy() throws IgniteCheckedException {
             AtomicReference<IgniteCheckedException> exception = new AtomicReference<>();
@@ -3065,6 +3122,25 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
             }
         }
 
+        /**
+         * Copies partition and cache sizes from another store of the same partition.
+         *
+         * @param src Source store.
+         */
+        public void copySizes(CacheDataStore src) {
+            storageSize.reset();
+            storageSize.add(src.fullSize());
+
+            cacheSizes.clear();
+
+            Map<Integer, Long> srcCacheSizes = src.cacheSizes();
+
+            if (srcCacheSizes != null) {
+                for (Map.Entry<Integer, Long> e : srcCacheSizes.entrySet())
+                    cacheSizes.put(e.getKey(), new AtomicLong(e.getValue()));
+            }
+        }
+
         /** {@inheritDoc} */
         @Override public PendingEntriesTree pendingTree() {
             return pendingEntries.get();
@@ -25,6 +25,7 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
@@ -47,6 +48,7 @@ import org.apache.ignite.internal.processors.cache.persistence.metastorage.Metas
 import org.apache.ignite.internal.processors.cache.persistence.metastorage.ReadOnlyMetastorage;
 import org.apache.ignite.internal.processors.cache.persistence.metastorage.ReadWriteMetastorage;
 import org.apache.ignite.internal.util.GridBoundedConcurrentLinkedHashSet;
+import org.apache.ignite.internal.util.GridConcurrentHashSet;
 import org.apache.ignite.internal.util.future.GridFinishedFuture;
 import org.apache.ignite.internal.util.future.GridFutureAdapter;
 import org.apache.ignite.internal.util.typedef.F;
@@ -132,6 +134,9 @@ public class WalStateManager extends GridCacheSharedManagerAdapter {
     /** Denies or allows WAL disabling. */
     private volatile boolean prohibitDisabling;
 
+    /** Temporary cache groups which are not registered in cache processor and never write to WAL. */
+    private final Set<Integer> tmpGrps = new GridConcurrentHashSet<>();
+
     /**
      * Constructor.
      *
@@ -1021,8 +1026,27 @@ public class WalStateManager extends GridCacheSharedManagerAdapter {
     public boolean isDisabled(int grpId, long pageId) {
         CacheGroupContext ctx = cctx.cache().cacheGroup(grpId);
 
-        return ctx != null && (!ctx.walEnabled()
-            || (!ctx.indexWalEnabled() && PageIdUtils.partId(pageId) == INDEX_PARTITION));
+        if (ctx == null)
+            return !tmpGrps.isEmpty() && tmpGrps.contains(grpId);
+
+        return !ctx.walEnabled() || (!ctx.indexWalEnabled() && PageIdUtils.partId(pageId) == INDEX_PARTITION);
+    }
+
+    /**
+     * Disables WAL for a temporary cache group, which is not registered in cache processor.
+     *
+     * @param grpId Temporary cache group id.
+     */
+    public void onTemporaryGroupStart(int grpId) {
+        tmpGrps.add(grpId);
+    }
+
+    /**
+     * @param grpId Temporary cache group id.
+     * @see #onTemporaryGroupStart(int)
+     */
+    public void onTemporaryGroupStop(int grpId) {
+        tmpGrps.remove(grpId);
     }
 
     /**
@@ -1708,6 +1708,32 @@ public class GridDhtAtomicCache<K, V> extends GridDhtCacheAdapter<K, V> {
         }
     }
 
+    /**
+     * Re-queues an update of partitions which updates are blocked, since such partitions can't be updated under the
+     * checkpoint read lock. Must be called under the checkpoint read lock: updates are blocked under the checkpoint
+     * write lock, so the check can't race with blocking.
+     *
+     * @param keys Keys to update.
+     * @param part Partition to pick the stripe to re-queue the update to.
+     * @param update Update to re-queue.
+     * @return {@code True} if the update is re-queued.
+     */
+    private boolean deferUpdate(Collection<KeyCacheObject> keys, int part, Runnable update) {
+        assert ctx.shared().database().checkpointLockIsHeldByThread();
+
+        if (!ctx.group().offheap().partitionUpdatesBlocked())
+            return false;
+
+        IgniteInternalFuture<?> unblockFut = ctx.group().offheap().partitionsUnblockFuture(ctx, keys);
+
+        if (unblockFut == null || unblockFut.isDone())
+            return false;
+
+        unblockFut.listen(f -> ctx.kernalContext().pools().getStripedExecutorService().execute(part, update));
+
+        return true;
+    }
+
     /**
      * @param nodeId Node ID.
      * @param req Update request.
@@ -1765,6 +1791,9 @@ public class GridDhtAtomicCache<K, V> extends GridDhtCacheAdapter<K, V> {
         ctx.shared().database().checkpointReadLock();
 
         try {
+            if (deferUpdate(req.keys(), req.partition(), () -> updateAllAsyncInternal(node, req, completionCb)))
+                return;
+
             ctx.shared().database().ensureFreeSpace(ctx.dataRegion());
 
             // If batch store update is enabled, we need to lock all entries.
@@ -3264,6 +3293,16 @@ public class GridDhtAtomicCache<K, V> extends GridDhtCacheAdapter<K, V> {
         ctx.shared().database().checkpointReadLock();
 
         try {
+            if (req.size() > 0 && ctx.group().offheap().partitionUpdatesBlocked()) {
+                List<KeyCacheObject> keys = new ArrayList<>(req.size());
+
+                for (int i = 0; i < req.size(); i++)
+                    keys.add(req.key(i));
+
+                if (deferUpdate(keys, req.partition(), () -> processDhtAtomicUpdateRequest(nodeId, req)))
+                    return;
+            }
+
             for (int i = 0; i < req.size(); i++) {
                 KeyCacheObject key = req.key(i);
 
@@ -34,6 +34,7 @@ import org.apache.ignite.internal.processors.cache.CacheGroupContext;
 import org.apache.ignite.internal.processors.cache.GridCacheContext;
 import org.apache.ignite.internal.processors.cache.GridCachePreloaderAdapter;
 import org.apache.ignite.internal.processors.cache.KeyCacheObject;
+import org.apache.ignite.internal.processors.cache.distributed.dht.GridDhtEmbeddedFuture;
 import org.apache.ignite.internal.processors.cache.distributed.dht.GridDhtFuture;
 import org.apache.ignite.internal.processors.cache.distributed.dht.atomic.GridNearAtomicAbstractUpdateRequest;
 import org.apache.ignite.internal.processors.cache.distributed.dht.preloader.GridDhtPartitionDemander.RebalanceFuture;
@@ -450,6 +451,10 @@ public class GridDhtPreloader extends GridCachePreloaderAdapter {
         if (grp.mvccEnabled())
             return false;
 
+        // Partitions which updates are blocked are awaited by the force key request, see request0().
+        if (grp.offheap().partitionUpdatesBlocked())
+            return true;
+
         if (grp.rebalanceEnabled()) {
             IgniteInternalFuture<Boolean> rebalanceFut = rebalanceFuture();
 
@@ -484,17 +489,41 @@ public class GridDhtPreloader extends GridCachePreloaderAdapter {
     }
 
     /**
+     * Requests the keys after updates of the local partitions of the keys are unblocked, since operations on the
+     * keys can't update such partitions under the checkpoint read lock.
+     *
      * @param cctx Cache context.
      * @param keys Keys to request.
      * @param topVer Topology version.
      * @return Future for request.
      */
-    @SuppressWarnings({"unchecked", "RedundantCast"})
+    @SuppressWarnings("unchecked")
     private GridDhtFuture<Object> request0(GridCacheContext cctx, Collection<KeyCacheObject> keys,
         AffinityTopologyVersion topVer) {
         if (cctx.isNear())
             cctx = cctx.near().dht().context();
 
+        IgniteInternalFuture<Object> unblockFut =
+            (IgniteInternalFuture<Object>)grp.offheap().partitionsUnblockFuture(cctx, keys);
+
+        if (unblockFut == null || unblockFut.isDone())
+            return forceKeys(cctx, keys, topVer);
+
+        GridCacheContext cctx0 = cctx;
+
+        return new GridDhtEmbeddedFuture<>(unblockFut,
+            (res, err) -> err != null ? new GridFinishedFuture<>(err) : forceKeys(cctx0, keys, topVer));
+    }
+
+    /**
+     * @param cctx Cache context.
+     * @param keys Keys to request.
+     * @param topVer Topology version.
+     * @return Future for request.
+     */
+    @SuppressWarnings({"unchecked", "RedundantCast"})
+    private GridDhtFuture<Object> forceKeys(GridCacheContext cctx, Collection<KeyCacheObject> keys,
+        AffinityTopologyVersion topVer) {
         final GridDhtForceKeysFuture<?, ?> fut = new GridDhtForceKeysFuture<>(cctx, topVer, keys);
 
         IgniteInternalFuture<?> topReadyFut = cctx.affinity().affinityReadyFuturex(topVer);
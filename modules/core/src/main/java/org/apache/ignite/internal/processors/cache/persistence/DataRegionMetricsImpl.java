@@ -130,6 +130,21 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
     /** */
     private final LongAdderMetric pageReplaceTime;
 
+    /** Number of page faults served from the compressed page cache. */
+    private final LongAdderMetric compressedPageCacheHits;
+
+    /** Number of page faults read from the disk while the compressed page cache is enabled. */
+    private final LongAdderMetric compressedPageCacheMisses;
+
+    /** Size of pages stored in the compressed page cache. */
+    private final LongAdderMetric compressedPageCacheSize;
+
+    /** Number of page accesses by threads bound to the NUMA node the page segment is allocated on. */
+    private final LongAdderMetric numaLocalPageAccesses;
+
+    /** Number of page accesses by threads bound to a NUMA node other than the node of the page segment. */
+    private final LongAdderMetric numaRemotePageAccesses;
+
     /** */
     private final AtomicLongMetric offHeapSize;
 
@@ -259,6 +274,21 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
         pageReplaceTime = mreg.longAdderMetric("PagesReplaceTime",
             "Total pages replace time in nanoseconds since last restart.");
 
+        compressedPageCacheHits = mreg.longAdderMetric("CompressedPageCacheHits",
+            "Number of page faults served from the compressed page cache.");
+
+        compressedPageCacheMisses = mreg.longAdderMetric("CompressedPageCacheMisses",
+            "Number of page faults read from the disk while the compressed page cache is enabled.");
+
+        compressedPageCacheSize = mreg.longAdderMetric("CompressedPageCacheSize",
+            "Size of pages stored in the compressed page cache and of its index in bytes.");
+
+        numaLocalPageAccesses = mreg.longAdderMetric("NumaLocalPageAccesses",
+            "Number of page accesses by threads bound to the NUMA node the page memory segment is allocated on.");
+
+        numaRemotePageAccesses = mreg.longAdderMetric("NumaRemotePageAccesses",
+            "Number of page accesses by threads bound to a NUMA node other than the node of the page memory segment.");
+
         offHeapSize = mreg.longMetric("OffHeapSize",
             "Offheap size in bytes.");
 
@@ -557,6 +587,43 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
         }
     }
 
+    /**
+     * Updates compressed page cache hits or misses.
+     *
+     * @param hit {@code True} if a page fault is served from the compressed page cache.
+     */
+    public void onCompressedPageCacheAccess(boolean hit) {
+        if (metricsEnabled) {
+            if (hit)
+                compressedPageCacheHits.increment();
+            else
+                compressedPageCacheMisses.increment();
+        }
+    }
+
+    /**
+     * Updates NUMA local or remote page accesses.
+     *
+     * @param local {@code True} if the accessing thread is bound to the NUMA node the page segment is allocated on.
+     */
+    public void onNumaPageAccess(boolean local) {
+        if (metricsEnabled) {
+            if (local)
+                numaLocalPageAccesses.increment();
+            else
+                numaRemotePageAccesses.increment();
+        }
+    }
+
+    /**
+     * Updates size of the compressed page cache.
+     *
+     * @param delta Size change in bytes.
+     */
+    public void onCompressedPageCacheSizeChanged(long delta) {
+        compressedPageCacheSize.add(delta);
+    }
+
     /**
      * Updates page written.
      */
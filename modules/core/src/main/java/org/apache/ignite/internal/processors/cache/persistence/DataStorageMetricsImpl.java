@@ -68,6 +68,9 @@ public class DataStorageMetricsImpl {
     /** */
     private final AtomicLongMetric lastCpLockHoldDuration;
 
+    /** */
+    private final AtomicLongMetric lastCpLockHoldDurationMicros;
+
     /** */
     private final AtomicLongMetric lastCpPagesWriteDuration;
 
@@ -140,6 +143,9 @@ public class DataStorageMetricsImpl {
     /** */
     private final HistogramMetricImpl cpLockHoldHistogram;
 
+    /** */
+    private final HistogramMetricImpl cpLockHoldMicrosHistogram;
+
     /** */
     private final HistogramMetricImpl cpPagesWriteHistogram;
 
@@ -224,6 +230,9 @@ public class DataStorageMetricsImpl {
         lastCpLockHoldDuration = mreg.longMetric("LastCheckpointLockHoldDuration",
             "Duration of the checkpoint lock hold in milliseconds.");
 
+        lastCpLockHoldDurationMicros = mreg.longMetric("LastCheckpointLockHoldDurationMicros",
+            "Duration of the checkpoint lock hold in microseconds.");
+
         lastCpPagesWriteDuration = mreg.longMetric("LastCheckpointPagesWriteDuration",
             "Duration of the checkpoint pages write in milliseconds.");
 
@@ -292,6 +301,10 @@ public class DataStorageMetricsImpl {
         cpLockHoldHistogram = mreg.histogram("CheckpointLockHoldHistogram", cpBounds,
                 "Histogram of checkpoint lock hold duration in milliseconds.");
 
+        cpLockHoldMicrosHistogram = mreg.histogram("CheckpointLockHoldMicrosHistogram",
+                new long[] {100, 1_000, 10_000, 100_000, 1_000_000},
+                "Histogram of checkpoint lock hold duration in microseconds.");
+
         cpPagesWriteHistogram = mreg.histogram("CheckpointPagesWriteHistogram", cpBounds,
                 "Histogram of checkpoint pages write duration in milliseconds.");
 
@@ -653,6 +666,7 @@ public class DataStorageMetricsImpl {
      * @param listenersExecuteDuration Execution listeners under write lock duration.
      * @param markDuration Mark duration.
      * @param lockHoldDuration Lock hold duration.
+     * @param lockHoldDurationMicros Lock hold duration in microseconds.
      * @param pagesWriteDuration Pages write duration.
      * @param fsyncDuration Total checkpoint fsync duration.
      * @param walRecordFsyncDuration Duration of WAL fsync after logging {@link CheckpointRecord} on checkpoint begin.
@@ -672,6 +686,7 @@ public class DataStorageMetricsImpl {
         long listenersExecuteDuration,
         long markDuration,
         long lockHoldDuration,
+        long lockHoldDurationMicros,
         long pagesWriteDuration,
         long fsyncDuration,
         long walRecordFsyncDuration,
@@ -693,6 +708,7 @@ public class DataStorageMetricsImpl {
         lastCpListenersExecuteDuration.value(listenersExecuteDuration);
         lastCpMarkDuration.value(markDuration);
         lastCpLockHoldDuration.value(lockHoldDuration);
+        lastCpLockHoldDurationMicros.value(lockHoldDurationMicros);
         lastCpPagesWriteDuration.value(pagesWriteDuration);
         lastCpFsyncDuration.value(fsyncDuration);
         lastCpWalRecordFsyncDuration.value(walRecordFsyncDuration);
@@ -713,6 +729,7 @@ public class DataStorageMetricsImpl {
         cpListenersExecuteHistogram.value(listenersExecuteDuration);
         cpMarkHistogram.value(markDuration);
         cpLockHoldHistogram.value(lockHoldDuration);
+        cpLockHoldMicrosHistogram.value(lockHoldDurationMicros);
         cpPagesWriteHistogram.value(pagesWriteDuration);
         cpFsyncHistogram.value(fsyncDuration);
         cpWalRecordFsyncHistogram.value(walRecordFsyncDuration);
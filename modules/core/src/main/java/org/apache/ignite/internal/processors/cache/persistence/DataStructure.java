@@ -416,6 +416,31 @@ public abstract class DataStructure {
             arg, intArg, lockFailed, statHolder, pageIoRslvr);
     }
 
+    /**
+     * Reads the page without taking the read lock, see {@link PageHandler#readPageOptimistic}.
+     *
+     * @param pageId Page ID.
+     * @param page Page pointer.
+     * @param h Handler.
+     * @param arg Argument.
+     * @param intArg Argument of type {@code int}.
+     * @param lockFailed Result in case the page is write locked, has been recycled or concurrently modified.
+     * @param statHolder Statistics holder to track IO operations.
+     * @return Handler result.
+     * @throws IgniteCheckedException If failed.
+     */
+    protected final <X, R> R readOptimistic(
+        long pageId,
+        long page,
+        PageHandler<X, R> h,
+        X arg,
+        int intArg,
+        R lockFailed,
+        IoStatisticsHolder statHolder) throws IgniteCheckedException {
+        return PageHandler.readPageOptimistic(pageMem, grpId, pageId, page, h, arg, intArg, lockFailed, statHolder,
+            pageIoRslvr);
+    }
+
     /**
      * @param pageId Page ID.
      * @param init IO for new page initialization.
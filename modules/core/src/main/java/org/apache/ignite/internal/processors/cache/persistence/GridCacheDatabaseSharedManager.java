@@ -65,6 +65,7 @@ import org.apache.ignite.internal.managers.discovery.GridDiscoveryManager;
 import org.apache.ignite.internal.managers.systemview.walker.MetastorageViewWalker;
 import org.apache.ignite.internal.mem.DirectMemoryProvider;
 import org.apache.ignite.internal.mem.DirectMemoryRegion;
+import org.apache.ignite.internal.mem.NumaPlacement;
 import org.apache.ignite.internal.metric.IoStatisticsHolderNoOp;
 import org.apache.ignite.internal.pagemem.FullPageId;
 import org.apache.ignite.internal.pagemem.PageIdAllocator;
@@ -116,6 +117,7 @@ import org.apache.ignite.internal.processors.cache.persistence.checkpoint.Checkp
 import org.apache.ignite.internal.processors.cache.persistence.checkpoint.LightweightCheckpointManager;
 import org.apache.ignite.internal.processors.cache.persistence.checkpoint.ReservationReason;
 import org.apache.ignite.internal.processors.cache.persistence.defragmentation.CachePartitionDefragmentationManager;
+import org.apache.ignite.internal.processors.cache.persistence.defragmentation.OnlineDefragmentationManager;
 import org.apache.ignite.internal.processors.cache.persistence.defragmentation.DefragmentationPageReadWriteManager;
 import org.apache.ignite.internal.processors.cache.persistence.defragmentation.maintenance.DefragmentationWorkflowCallback;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
@@ -134,6 +136,7 @@ import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageParti
 import org.apache.ignite.internal.processors.cache.persistence.wal.WALPointer;
 import org.apache.ignite.internal.processors.cache.persistence.wal.crc.IgniteDataIntegrityViolationException;
 import org.apache.ignite.internal.processors.cache.transactions.IgniteTxManager;
+import org.apache.ignite.internal.processors.cache.warmup.HotPagesRecorder;
 import org.apache.ignite.internal.processors.compress.CompressionProcessor;
 import org.apache.ignite.internal.processors.configuration.distributed.DistributedConfigurationLifecycleListener;
 import org.apache.ignite.internal.processors.configuration.distributed.DistributedPropertyDispatcher;
@@ -161,6 +164,8 @@ import org.apache.ignite.lang.IgniteOutClosure;
 import org.apache.ignite.lang.IgnitePredicate;
 import org.apache.ignite.maintenance.MaintenanceRegistry;
 import org.apache.ignite.maintenance.MaintenanceTask;
+import org.apache.ignite.mem.MemoryAllocator;
+import org.apache.ignite.mem.NumaAwareMemoryAllocator;
 import org.apache.ignite.spi.systemview.view.MetastorageView;
 import org.apache.ignite.transactions.TransactionState;
 import org.jetbrains.annotations.NotNull;
@@ -359,6 +364,12 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
     /** */
     private CachePartitionDefragmentationManager defrgMgr;
 
+    /** Online defragmentation manager. */
+    private OnlineDefragmentationManager onlineDefrgMgr;
+
+    /** Recorder of hot pages for warm-up on node restart. */
+    private HotPagesRecorder hotPagesRecorder;
+
     /** Data regions which should be checkpointed. */
     protected final Set<DataRegion> checkpointedDataRegions = new GridConcurrentHashSet<>();
 
@@ -588,6 +599,10 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
             cleanupTempCheckpointDirectory();
 
             dsMetrics.wal(cctx.wal());
+
+            onlineDefrgMgr = new OnlineDefragmentationManager(cctx, this, storeMgr);
+
+            hotPagesRecorder = new HotPagesRecorder(kernalCtx);
         }
     }
 
@@ -842,6 +857,13 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
         return defrgMgr;
     }
 
+    /**
+     * @return Online defragmentation manager.
+     */
+    public OnlineDefragmentationManager onlineDefragmentationManager() {
+        return onlineDefrgMgr;
+    }
+
     /** {@inheritDoc} */
     @Override public DataRegion addDataRegion(DataStorageConfiguration dataStorageCfg, DataRegionConfiguration dataRegionCfg,
         boolean trackable, PageReadWriteManager pmPageMgr) throws IgniteCheckedException {
@@ -1143,6 +1165,13 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
         if (defrgMgr != null)
             defrgMgr.cancel();
 
+        if (onlineDefrgMgr != null)
+            onlineDefrgMgr.cancel();
+
+        // Page memory is released on stop and deactivation, so the hot pages have to be recorded before.
+        if (hotPagesRecorder != null)
+            hotPagesRecorder.stop();
+
         checkpointManager.stop(cancel);
 
         super.onKernalStop0(cancel);
@@ -1161,10 +1190,22 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
     }
 
     /** */
-    private long[] calculateFragmentSizes(String regionName, int concLvl, long cacheSize, long chpBufSize) {
+    private long[] calculateFragmentSizes(
+        String regionName,
+        int concLvl,
+        long cacheSize,
+        long chpBufSize,
+        @Nullable MemoryAllocator allocator
+    ) {
         if (concLvl < 2)
             concLvl = Runtime.getRuntime().availableProcessors();
 
+        NumaAwareMemoryAllocator numaAllocator = NumaPlacement.allocator(allocator);
+
+        // Each NUMA node must get the same share of the region.
+        if (numaAllocator != null)
+            concLvl = NumaPlacement.roundUp(concLvl, numaAllocator.numaNodes());
+
         long fragmentSize = cacheSize / concLvl;
 
         if (fragmentSize < U.MB) {
@@ -1237,7 +1278,8 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
                 plcCfg.getName(),
                 memCfg.getConcurrencyLevel(),
                 cacheSize,
-                chpBufSize
+                chpBufSize,
+                plcCfg.getMemoryAllocator()
             ),
             cctx,
             pmPageMgr,
@@ -2093,6 +2135,10 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
 
         if (chp != null)
             chp.futureFor(LOCK_RELEASED).get();
+
+        // Pages touched in maintenance mode are not the ones the node will need after restart.
+        if (hotPagesRecorder != null && !cctx.kernalContext().maintenanceRegistry().isMaintenanceMode())
+            hotPagesRecorder.start();
     }
 
     /**
@@ -17,6 +17,7 @@
 
 package org.apache.ignite.internal.processors.cache.persistence;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -32,7 +33,10 @@ import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 import java.util.stream.Stream;
 import javax.cache.processor.EntryProcessor;
 import org.apache.ignite.IgniteCheckedException;
@@ -41,6 +45,8 @@ import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.SystemProperty;
 import org.apache.ignite.failure.FailureContext;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.IgniteInterruptedCheckedException;
 import org.apache.ignite.internal.managers.encryption.GridEncryptionManager;
 import org.apache.ignite.internal.managers.encryption.ReencryptStateUtils;
 import org.apache.ignite.internal.pagemem.FullPageId;
@@ -80,8 +86,11 @@ import org.apache.ignite.internal.processors.cache.distributed.dht.topology.Grid
 import org.apache.ignite.internal.processors.cache.mvcc.MvccSnapshot;
 import org.apache.ignite.internal.processors.cache.mvcc.MvccVersion;
 import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointListener;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStore;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
 import org.apache.ignite.internal.processors.cache.persistence.freelist.AbstractFreeList;
 import org.apache.ignite.internal.processors.cache.persistence.freelist.CacheFreeList;
+import org.apache.ignite.internal.processors.cache.persistence.freelist.FreeList;
 import org.apache.ignite.internal.processors.cache.persistence.freelist.SimpleDataRow;
 import org.apache.ignite.internal.processors.cache.persistence.migration.UpgradePendingTreeToPerPartitionTask;
 import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryEx;
@@ -103,15 +112,19 @@ import org.apache.ignite.internal.processors.cache.persistence.tree.reuse.ReuseL
 import org.apache.ignite.internal.processors.cache.persistence.tree.util.PageHandler;
 import org.apache.ignite.internal.processors.cache.persistence.wal.WALPointer;
 import org.apache.ignite.internal.processors.cache.tree.CacheDataRowStore;
+import org.apache.ignite.internal.processors.cache.tree.DataRow;
 import org.apache.ignite.internal.processors.cache.tree.CacheDataTree;
 import org.apache.ignite.internal.processors.cache.tree.PendingEntriesTree;
 import org.apache.ignite.internal.processors.cache.tree.PendingRow;
+import org.apache.ignite.internal.processors.cache.tree.SearchRow;
 import org.apache.ignite.internal.processors.cache.tree.mvcc.data.MvccUpdateResult;
 import org.apache.ignite.internal.processors.cache.tree.mvcc.search.MvccLinkAwareSearchRow;
 import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
 import org.apache.ignite.internal.processors.query.GridQueryRowCacheCleaner;
 import org.apache.ignite.internal.util.GridLongList;
 import org.apache.ignite.internal.util.GridSpinBusyLock;
+import org.apache.ignite.internal.util.future.GridCompoundFuture;
+import org.apache.ignite.internal.util.future.GridFutureAdapter;
 import org.apache.ignite.internal.util.lang.GridCursor;
 import org.apache.ignite.internal.util.lang.IgniteInClosure2X;
 import org.apache.ignite.internal.util.lang.IgnitePredicateX;
@@ -175,6 +188,9 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
     /** Flag indicates that all group partitions have restored their state from page memory / disk. */
     private volatile boolean partitionStatesRestored;
 
+    /** Number of partition stores of the group which updates are blocked, see {@link GridCacheDataStore}. */
+    private final AtomicInteger blockedStores = new AtomicInteger();
+
     /** {@inheritDoc} */
     @Override protected void initPendingTree(GridCacheContext cctx) throws IgniteCheckedException {
         // No-op. Per-partition PendingTree should be used.
@@ -249,7 +265,12 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
 
         boolean exists = ctx.pageStore() != null && ctx.pageStore().exists(grp.groupId(), p);
 
-        return createGridCacheDataStore(grp, p, exists, log);
+        GridCacheDataStore store = createGridCacheDataStore(grp, p, exists, log);
+
+        if (ctx.snapshotMgr() != null && ctx.snapshotMgr().isRestoringPartition(grp.groupId(), p))
+            store.blockUntilRestored();
+
+        return store;
     }
 
     /** {@inheritDoc} */
@@ -1189,6 +1210,49 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean partitionUpdatesBlocked() {
+        return blockedStores.get() != 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override public @Nullable IgniteInternalFuture<?> partitionsUnblockFuture(
+        GridCacheContext<?, ?> cctx,
+        Iterable<? extends KeyCacheObject> keys
+    ) {
+        if (!partitionUpdatesBlocked())
+            return null;
+
+        Set<Integer> parts = new HashSet<>();
+
+        GridCompoundFuture<Void, Void> res = null;
+
+        for (KeyCacheObject key : keys) {
+            int part = cctx.affinity().partition(key);
+
+            if (!parts.add(part))
+                continue;
+
+            GridDhtLocalPartition locPart = grp.topology().localPartition(part);
+
+            IgniteInternalFuture<Void> fut = locPart == null ? null :
+                ((GridCacheDataStore)locPart.dataStore()).unblockFuture();
+
+            if (fut == null)
+                continue;
+
+            if (res == null)
+                res = new GridCompoundFuture<>();
+
+            res.add(fut);
+        }
+
+        if (res != null)
+            res.markInitialized();
+
+        return res;
+    }
+
     /** {@inheritDoc} */
     @Override public boolean expire(
         GridCacheContext cctx,
@@ -1827,6 +1891,18 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
      *
      */
     public static class GridCacheDataStore implements CacheDataStore {
+        /** Partition file swap is not in progress. */
+        private static final int SWAP_NONE = 0;
+
+        /** Updates are blocked until the partition file is swapped. */
+        private static final int SWAP_UPDATES_BLOCKED = 1;
+
+        /** Both reads and updates are blocked while the partition file is swapped. */
+        private static final int SWAP_ALL_BLOCKED = 2;
+
+        /** Partition file is being restored from a snapshot, accesses under the checkpoint read lock fail. */
+        private static final int SWAP_RESTORING = 3;
+
         /** */
         private final int partId;
 
@@ -1861,7 +1937,7 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
         private PartitionMetaStorageImpl<SimpleDataRow> partStorage;
 
         /** */
-        private final boolean exists;
+        private volatile boolean exists;
 
         /** */
         private final GridSpinBusyLock busyLock;
@@ -1878,6 +1954,21 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
         /** */
         private CacheDataTree dataTree;
 
+        /** Partition file swap state. */
+        private volatile int swapState = SWAP_NONE;
+
+        /** Future completed when the partition file swap is finished or cancelled. */
+        private volatile GridFutureAdapter<Void> swapFut;
+
+        /** Number of partition file swaps of this store, used by cursors to detect the swap. */
+        private volatile int swapCnt;
+
+        /** Reads in progress, a partition file swap waits for them to finish. */
+        private final LongAdder activeReads = new LongAdder();
+
+        /** Future completed when the partition file is restored from a snapshot or the restore is cancelled. */
+        private volatile GridFutureAdapter<Void> restoreFut;
+
         /**
          * @param partId Partition.
          * @param exists {@code True} if store exists.
@@ -1945,235 +2036,262 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
 
             GridCacheSharedContext ctx = grp.shared();
 
-            AtomicLong pageListCacheLimit = ((GridCacheDatabaseSharedManager)ctx.database()).pageListCacheLimitHolder(grp.dataRegion());
-
             IgniteCacheDatabaseSharedManager dbMgr = ctx.database();
 
             dbMgr.checkpointReadLock();
 
             if (init.compareAndSet(false, true)) {
                 try {
-                    Metas metas = getOrAllocatePartitionMetas();
-
-                    if (PageIdUtils.partId(metas.reuseListRoot.pageId().pageId()) != partId ||
-                        PageIdUtils.partId(metas.treeRoot.pageId().pageId()) != partId ||
-                        PageIdUtils.partId(metas.pendingTreeRoot.pageId().pageId()) != partId ||
-                        PageIdUtils.partId(metas.partMetastoreReuseListRoot.pageId().pageId()) != partId
-                    ) {
-                        throw new IgniteCheckedException("Invalid meta root allocated [" +
-                            "cacheOrGroupName=" + grp.cacheOrGroupName() +
-                            ", partId=" + partId +
-                            ", metas=" + metas + ']');
-                    }
+                    delegate0 = createDelegate(null);
 
-                    String freeListName = freeListName();
+                    delegate = delegate0;
+                }
+                catch (Throwable ex) {
+                    U.error(log, "Unhandled exception during page store initialization. All further operations will " +
+                        "be failed and local node will be stopped.", ex);
 
-                    RootPage reuseRoot = metas.reuseListRoot;
+                    ctx.kernalContext().failure().process(new FailureContext(CRITICAL_ERROR, ex));
 
-                    freeList = new CacheFreeList(
-                        grp.groupId(),
-                        freeListName,
-                        grp.dataRegion(),
-                        ctx.wal(),
-                        reuseRoot.pageId().pageId(),
-                        reuseRoot.isAllocated(),
-                        ctx.diagnostic().pageLockTracker(),
-                        ctx.kernalContext(),
-                        pageListCacheLimit,
-                        PageIdAllocator.FLAG_AUX
-                    ) {
-                        /** {@inheritDoc} */
-                        @Override protected long allocatePageNoReuse() throws IgniteCheckedException {
-                            assert grp.shared().database().checkpointLockIsHeldByThread();
-
-                            return pageMem.allocatePage(grpId, partId, PageIdAllocator.FLAG_AUX);
-                        }
-                    };
+                    throw ex;
+                }
+                finally {
+                    latch.countDown();
 
-                    RootPage partMetastoreReuseListRoot = metas.partMetastoreReuseListRoot;
+                    dbMgr.checkpointReadUnlock();
+                }
+            }
+            else {
+                dbMgr.checkpointReadUnlock();
 
-                    String partMetastoreName = partitionMetaStoreName();
+                U.await(latch);
 
-                    partStorage = new PartitionMetaStorageImpl<SimpleDataRow>(
-                        grp.groupId(),
-                        partMetastoreName,
-                        grp.dataRegion(),
-                        freeList,
-                        ctx.wal(),
-                        partMetastoreReuseListRoot.pageId().pageId(),
-                        partMetastoreReuseListRoot.isAllocated(),
-                        ctx.diagnostic().pageLockTracker(),
-                        ctx.kernalContext(),
-                        pageListCacheLimit,
-                        PageIdAllocator.FLAG_AUX
-                    ) {
-                        /** {@inheritDoc} */
-                        @Override protected long allocatePageNoReuse() throws IgniteCheckedException {
-                            assert ctx.database().checkpointLockIsHeldByThread();
-
-                            return pageMem.allocatePage(grpId, partId, PageIdAllocator.FLAG_AUX);
-                        }
-                    };
+                delegate0 = delegate;
 
-                    String dataTreeName = dataTreeName();
+                if (delegate0 == null)
+                    throw new IgniteCheckedException("Cache store initialization failed.");
+            }
 
-                    CacheDataRowStore rowStore = new CacheDataRowStore(grp, freeList, partId);
+            return delegate0;
+        }
 
-                    RootPage treeRoot = metas.treeRoot;
+        /**
+         * Creates data structures of the partition over its current page store and a store delegate on top of them.
+         *
+         * @param prev Delegate over the previous partition file, its update counter and sizes are kept by the new
+         *      delegate. If {@code null}, they are restored from the partition meta page.
+         * @return Store delegate.
+         * @throws IgniteCheckedException If failed.
+         */
+        private CacheDataStoreImpl createDelegate(@Nullable CacheDataStoreImpl prev) throws IgniteCheckedException {
+            GridCacheSharedContext ctx = grp.shared();
 
-                    dataTree = new CacheDataTree(
-                        grp,
-                        dataTreeName,
-                        freeList,
-                        rowStore,
-                        treeRoot.pageId().pageId(),
-                        treeRoot.isAllocated(),
-                        ctx.diagnostic().pageLockTracker(),
-                        PageIdAllocator.FLAG_AUX
-                    ) {
-                        /** {@inheritDoc} */
-                        @Override protected long allocatePageNoReuse() throws IgniteCheckedException {
-                            assert ctx.database().checkpointLockIsHeldByThread();
+            AtomicLong pageListCacheLimit = ((GridCacheDatabaseSharedManager)ctx.database()).pageListCacheLimitHolder(grp.dataRegion());
 
-                            return pageMem.allocatePage(grpId, partId, PageIdAllocator.FLAG_AUX);
-                        }
-                    };
+            Metas metas = getOrAllocatePartitionMetas();
 
-                    String pendingEntriesTreeName = pendingEntriesTreeName();
+            if (PageIdUtils.partId(metas.reuseListRoot.pageId().pageId()) != partId ||
+                PageIdUtils.partId(metas.treeRoot.pageId().pageId()) != partId ||
+                PageIdUtils.partId(metas.pendingTreeRoot.pageId().pageId()) != partId ||
+                PageIdUtils.partId(metas.partMetastoreReuseListRoot.pageId().pageId()) != partId
+            ) {
+                throw new IgniteCheckedException("Invalid meta root allocated [" +
+                    "cacheOrGroupName=" + grp.cacheOrGroupName() +
+                    ", partId=" + partId +
+                    ", metas=" + metas + ']');
+            }
+
+            String freeListName = freeListName();
+
+            RootPage reuseRoot = metas.reuseListRoot;
+
+            freeList = new CacheFreeList(
+                grp.groupId(),
+                freeListName,
+                grp.dataRegion(),
+                ctx.wal(),
+                reuseRoot.pageId().pageId(),
+                reuseRoot.isAllocated(),
+                ctx.diagnostic().pageLockTracker(),
+                ctx.kernalContext(),
+                pageListCacheLimit,
+                PageIdAllocator.FLAG_AUX
+            ) {
+                /** {@inheritDoc} */
+                @Override protected long allocatePageNoReuse() throws IgniteCheckedException {
+                    assert grp.shared().database().checkpointLockIsHeldByThread();
+
+                    return pageMem.allocatePage(grpId, partId, PageIdAllocator.FLAG_AUX);
+                }
+            };
+
+            RootPage partMetastoreReuseListRoot = metas.partMetastoreReuseListRoot;
+
+            String partMetastoreName = partitionMetaStoreName();
+
+            partStorage = new PartitionMetaStorageImpl<SimpleDataRow>(
+                grp.groupId(),
+                partMetastoreName,
+                grp.dataRegion(),
+                freeList,
+                ctx.wal(),
+                partMetastoreReuseListRoot.pageId().pageId(),
+                partMetastoreReuseListRoot.isAllocated(),
+                ctx.diagnostic().pageLockTracker(),
+                ctx.kernalContext(),
+                pageListCacheLimit,
+                PageIdAllocator.FLAG_AUX
+            ) {
+                /** {@inheritDoc} */
+                @Override protected long allocatePageNoReuse() throws IgniteCheckedException {
+                    assert ctx.database().checkpointLockIsHeldByThread();
+
+                    return pageMem.allocatePage(grpId, partId, PageIdAllocator.FLAG_AUX);
+                }
+            };
 
-                    RootPage pendingTreeRoot = metas.pendingTreeRoot;
+            String dataTreeName = dataTreeName();
 
-                    PendingEntriesTree pendingTree0 = new PendingEntriesTree(
-                        grp,
-                        pendingEntriesTreeName,
-                        grp.dataRegion().pageMemory(),
-                        pendingTreeRoot.pageId().pageId(),
-                        freeList,
-                        pendingTreeRoot.isAllocated(),
-                        ctx.diagnostic().pageLockTracker(),
-                        PageIdAllocator.FLAG_AUX
-                    ) {
-                        /** {@inheritDoc} */
-                        @Override protected long allocatePageNoReuse() throws IgniteCheckedException {
-                            assert ctx.database().checkpointLockIsHeldByThread();
-
-                            return pageMem.allocatePage(grpId, partId, PageIdAllocator.FLAG_AUX);
-                        }
-                    };
-
-                    PageMemoryEx pageMem = (PageMemoryEx)grp.dataRegion().pageMemory();
-
-                    int grpId = grp.groupId();
-
-                    delegate0 = new CacheDataStoreImpl(partId,
-                        rowStore,
-                        dataTree,
-                        () -> pendingTree0,
-                        grp,
-                        busyLock,
-                        log,
-                        () -> rowCacheCleaner
-                    ) {
-                        /** {@inheritDoc} */
-                        @Override public PendingEntriesTree pendingTree() {
-                            return pendingTree0;
-                        }
+            int swapCnt0 = swapCnt;
 
-                        /** {@inheritDoc} */
-                        @Override public void preload() throws IgniteCheckedException {
-                            IgnitePageStoreManager pageStoreMgr = ctx.pageStore();
+            CacheDataRowStore rowStore = swapCnt0 == 0
+                ? new CacheDataRowStore(grp, freeList, partId)
+                : new SwappedCacheDataRowStore(grp, freeList, partId, swapCnt0);
 
-                            if (pageStoreMgr == null)
-                                return;
+            RootPage treeRoot = metas.treeRoot;
 
-                            int pages = pageStoreMgr.pages(grpId, partId);
+            dataTree = new CacheDataTree(
+                grp,
+                dataTreeName,
+                freeList,
+                rowStore,
+                treeRoot.pageId().pageId(),
+                treeRoot.isAllocated(),
+                ctx.diagnostic().pageLockTracker(),
+                PageIdAllocator.FLAG_AUX
+            ) {
+                /** {@inheritDoc} */
+                @Override protected long allocatePageNoReuse() throws IgniteCheckedException {
+                    assert ctx.database().checkpointLockIsHeldByThread();
 
-                            long pageId = pageMem.partitionMetaPageId(grpId, partId);
+                    return pageMem.allocatePage(grpId, partId, PageIdAllocator.FLAG_AUX);
+                }
+            };
+
+            String pendingEntriesTreeName = pendingEntriesTreeName();
+
+            RootPage pendingTreeRoot = metas.pendingTreeRoot;
+
+            PendingEntriesTree pendingTree0 = new PendingEntriesTree(
+                grp,
+                pendingEntriesTreeName,
+                grp.dataRegion().pageMemory(),
+                pendingTreeRoot.pageId().pageId(),
+                freeList,
+                pendingTreeRoot.isAllocated(),
+                ctx.diagnostic().pageLockTracker(),
+                PageIdAllocator.FLAG_AUX
+            ) {
+                /** {@inheritDoc} */
+                @Override protected long allocatePageNoReuse() throws IgniteCheckedException {
+                    assert ctx.database().checkpointLockIsHeldByThread();
+
+                    return pageMem.allocatePage(grpId, partId, PageIdAllocator.FLAG_AUX);
+                }
+            };
 
-                            // For each page sequentially pin/unpin.
-                            for (int pageNo = 0; pageNo < pages; pageId++, pageNo++) {
-                                long pagePointer = -1;
+            PageMemoryEx pageMem = (PageMemoryEx)grp.dataRegion().pageMemory();
 
-                                try {
-                                    pagePointer = pageMem.acquirePage(grpId, pageId);
-                                }
-                                finally {
-                                    if (pagePointer != -1)
-                                        pageMem.releasePage(grpId, pageId, pagePointer);
-                                }
-                            }
-                        }
-                    };
+            int grpId = grp.groupId();
 
-                    pendingTree = pendingTree0;
+            CacheDataStoreImpl delegate0 = new CacheDataStoreImpl(partId,
+                rowStore,
+                dataTree,
+                () -> pendingTree0,
+                grp,
+                busyLock,
+                log,
+                () -> rowCacheCleaner,
+                prev == null ? null : prev.partUpdateCounter()
+            ) {
+                /** {@inheritDoc} */
+                @Override public PendingEntriesTree pendingTree() {
+                    return pendingTree0;
+                }
 
-                    if (!pendingTree0.isEmpty())
-                        grp.caches().forEach(cctx -> cctx.ttl().hasPendingEntries(true));
+                /** {@inheritDoc} */
+                @Override public void preload() throws IgniteCheckedException {
+                    IgnitePageStoreManager pageStoreMgr = ctx.pageStore();
 
-                    long partMetaId = pageMem.partitionMetaPageId(grpId, partId);
-                    long partMetaPage = pageMem.acquirePage(grpId, partMetaId);
+                    if (pageStoreMgr == null)
+                        return;
 
-                    try {
-                        long pageAddr = pageMem.readLock(grpId, partMetaId, partMetaPage);
+                    int pages = pageStoreMgr.pages(grpId, partId);
+
+                    long pageId = pageMem.partitionMetaPageId(grpId, partId);
+
+                    // For each page sequentially pin/unpin.
+                    for (int pageNo = 0; pageNo < pages; pageId++, pageNo++) {
+                        long pagePointer = -1;
 
                         try {
-                            if (PageIO.getType(pageAddr) != 0) {
-                                PagePartitionMetaIOV3 io = (PagePartitionMetaIOV3)PagePartitionMetaIO.VERSIONS.latest();
+                            pagePointer = pageMem.acquirePage(grpId, pageId);
+                        }
+                        finally {
+                            if (pagePointer != -1)
+                                pageMem.releasePage(grpId, pageId, pagePointer);
+                        }
+                    }
+                }
+            };
 
-                                Map<Integer, Long> cacheSizes = null;
+            pendingTree = pendingTree0;
 
-                                if (grp.sharedGroup())
-                                    cacheSizes = readSharedGroupCacheSizes(pageMem, grpId, io.getCountersPageId(pageAddr));
+            if (!pendingTree0.isEmpty())
+                grp.caches().forEach(cctx -> cctx.ttl().hasPendingEntries(true));
 
-                                long link = io.getGapsLink(pageAddr);
+            if (prev != null) {
+                delegate0.copySizes(prev);
 
-                                byte[] data = link == 0 ? null : partStorage.readRow(link);
+                return delegate0;
+            }
 
-                                delegate0.restoreState(io.getSize(pageAddr), io.getUpdateCounter(pageAddr), cacheSizes, data);
+            long partMetaId = pageMem.partitionMetaPageId(grpId, partId);
+            long partMetaPage = pageMem.acquirePage(grpId, partMetaId);
 
-                                int encrPageCnt = io.getEncryptedPageCount(pageAddr);
+            try {
+                long pageAddr = pageMem.readLock(grpId, partMetaId, partMetaPage);
 
-                                if (encrPageCnt > 0) {
-                                    ctx.kernalContext().encryption().setEncryptionState(
-                                        grp, partId, io.getEncryptedPageIndex(pageAddr), encrPageCnt);
-                                }
+                try {
+                    if (PageIO.getType(pageAddr) != 0) {
+                        PagePartitionMetaIOV3 io = (PagePartitionMetaIOV3)PagePartitionMetaIO.VERSIONS.latest();
 
-                                grp.offheap().globalRemoveId().setIfGreater(io.getGlobalRemoveId(pageAddr));
-                            }
-                        }
-                        finally {
-                            pageMem.readUnlock(grpId, partMetaId, partMetaPage);
-                        }
-                    }
-                    finally {
-                        pageMem.releasePage(grpId, partMetaId, partMetaPage);
-                    }
+                        Map<Integer, Long> cacheSizes = null;
 
-                    delegate = delegate0;
-                }
-                catch (Throwable ex) {
-                    U.error(log, "Unhandled exception during page store initialization. All further operations will " +
-                        "be failed and local node will be stopped.", ex);
+                        if (grp.sharedGroup())
+                            cacheSizes = readSharedGroupCacheSizes(pageMem, grpId, io.getCountersPageId(pageAddr));
 
-                    ctx.kernalContext().failure().process(new FailureContext(CRITICAL_ERROR, ex));
+                        long link = io.getGapsLink(pageAddr);
 
-                    throw ex;
-                }
-                finally {
-                    latch.countDown();
+                        byte[] data = link == 0 ? null : partStorage.readRow(link);
 
-                    dbMgr.checkpointReadUnlock();
-                }
-            }
-            else {
-                dbMgr.checkpointReadUnlock();
+                        delegate0.restoreState(io.getSize(pageAddr), io.getUpdateCounter(pageAddr), cacheSizes, data);
 
-                U.await(latch);
+                        int encrPageCnt = io.getEncryptedPageCount(pageAddr);
 
-                delegate0 = delegate;
+                        if (encrPageCnt > 0) {
+                            ctx.kernalContext().encryption().setEncryptionState(
+                                grp, partId, io.getEncryptedPageIndex(pageAddr), encrPageCnt);
+                        }
 
-                if (delegate0 == null)
-                    throw new IgniteCheckedException("Cache store initialization failed.");
+                        grp.offheap().globalRemoveId().setIfGreater(io.getGlobalRemoveId(pageAddr));
+                    }
+                }
+                finally {
+                    pageMem.readUnlock(grpId, partMetaId, partMetaPage);
+                }
+            }
+            finally {
+                pageMem.releasePage(grpId, partMetaId, partMetaPage);
             }
 
             return delegate0;
@@ -2346,6 +2464,365 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
             }
         }
 
+        /**
+         * Blocks updates of the partition until its file is swapped by {@link #swapPartitionFile(Path)} or updates
+         * are unblocked by {@link #unblockUpdates()}. Reads are not blocked.
+         * <p>
+         * Must be called under the checkpoint write lock: updates are always performed under the checkpoint read lock,
+         * so none of them is in progress and nothing is logged to WAL for the partition until it is unblocked.
+         * Updates are not parked under the lock meanwhile, they fail. Cache operations wait for
+         * {@link #unblockFuture()} before they take the lock.
+         */
+        public void blockUpdates() {
+            assert swapState == SWAP_NONE : swapState;
+
+            swapFut = new GridFutureAdapter<>();
+
+            onBlocked();
+
+            swapState = SWAP_UPDATES_BLOCKED;
+        }
+
+        /**
+         * Unblocks updates blocked by {@link #blockUpdates()}.
+         */
+        public void unblockUpdates() {
+            if (swapState == SWAP_NONE)
+                return;
+
+            GridFutureAdapter<Void> fut = swapFut;
+
+            swapState = SWAP_NONE;
+
+            ((GridCacheOffheapManager)grp.offheap()).blockedStores.decrementAndGet();
+
+            if (fut != null)
+                fut.onDone();
+        }
+
+        /**
+         * Registers the store as blocked in the cache group, so cache operations look for the future to wait for.
+         */
+        private void onBlocked() {
+            ((GridCacheOffheapManager)grp.offheap()).blockedStores.incrementAndGet();
+        }
+
+        /**
+         * Atomically replaces the partition file with the given one and re-creates partition data structures over it.
+         * Update counter and sizes are kept as is, so the new file must contain the same data as the current one.
+         * <p>
+         * Updates must be blocked by {@link #blockUpdates()} and all pages of the current file must be checkpointed.
+         * Must be called under the checkpoint read lock. Reads in progress are awaited and new ones wait for the swap
+         * to finish. Updates are unblocked afterwards.
+         * Rows obtained from the raw {@link #tree()} or {@link #rowStore()} before the swap must not be used after it.
+         *
+         * @param src New partition file.
+         * @throws IgniteCheckedException If failed.
+         */
+        public void swapPartitionFile(Path src) throws IgniteCheckedException {
+            assert swapState == SWAP_UPDATES_BLOCKED : swapState;
+
+            CacheDataStoreImpl prev = delegate;
+
+            assert prev != null : "Partition data store was not initialized.";
+
+            swapState = SWAP_ALL_BLOCKED;
+
+            try {
+                while (activeReads.sum() != 0)
+                    LockSupport.parkNanos(1_000L);
+
+                replaceFile(src);
+
+                Stream.of(freeList, partStorage, dataTree, pendingTree)
+                    .filter(Objects::nonNull)
+                    .forEach(DataStructure::close);
+
+                swapCnt++;
+
+                delegate = createDelegate(prev);
+            }
+            catch (Throwable ex) {
+                U.error(log, "Failed to swap partition file. All further operations will be failed and local node " +
+                    "will be stopped.", ex);
+
+                grp.shared().kernalContext().failure().process(new FailureContext(CRITICAL_ERROR, ex));
+
+                throw ex;
+            }
+            finally {
+                unblockUpdates();
+            }
+        }
+
+        /**
+         * Replaces the partition file. Pages of the current file are invalidated and evicted from page memory, so
+         * they are read from the new file on the next access. Nobody must access the partition pages meanwhile.
+         *
+         * @param src New partition file.
+         * @throws IgniteCheckedException If failed.
+         */
+        private void replaceFile(Path src) throws IgniteCheckedException {
+            PageMemoryEx pageMem = (PageMemoryEx)grp.dataRegion().pageMemory();
+
+            int grpId = grp.groupId();
+
+            int tag = pageMem.invalidate(grpId, partId);
+
+            ((FilePageStore)((FilePageStoreManager)grp.shared().pageStore()).getStore(grpId, partId)).replace(src, tag);
+
+            // Outdated pages are re-created empty on access instead of being read from the store.
+            pageMem.clearAsync((grpId0, pageId) -> grpId0 == grpId && PageIdUtils.partId(pageId) == partId, true)
+                .get();
+
+            grp.shared().snapshotMgr().changedPagesTracker().invalidate(grpId, partId);
+        }
+
+        /**
+         * Blocks reads and updates of the partition until its file is restored from a snapshot by
+         * {@link #restorePartitionFile(Path)}. Must be called before the store is accessed by other threads.
+         */
+        public void blockUntilRestored() {
+            assert swapState == SWAP_NONE : swapState;
+
+            restoreFut = new GridFutureAdapter<>();
+
+            onBlocked();
+
+            swapState = SWAP_RESTORING;
+        }
+
+        /**
+         * Operations which are about to take the checkpoint read lock to update the partition must wait for this
+         * future first, since the partition can't be updated under the lock while its file is swapped or restored
+         * from a snapshot.
+         *
+         * @return Future completed when updates of the partition are unblocked, {@code null} if they are not blocked.
+         */
+        @Nullable public IgniteInternalFuture<Void> unblockFuture() {
+            switch (swapState) {
+                case SWAP_NONE:
+                    return null;
+
+                case SWAP_RESTORING:
+                    return restoreFut;
+
+                default:
+                    return swapFut;
+            }
+        }
+
+        /**
+         * Replaces the partition file with the file restored from a snapshot and re-creates partition data structures
+         * over it. Update counter and sizes are read from the new file. Unblocks reads and updates of the partition.
+         *
+         * @param src Restored partition file.
+         * @throws IgniteCheckedException If failed.
+         * @see #blockUntilRestored()
+         */
+        public void restorePartitionFile(Path src) throws IgniteCheckedException {
+            assert swapState == SWAP_RESTORING : swapState;
+
+            try {
+                replaceFile(src);
+
+                exists = true;
+
+                // The store is re-created lazily on the first access if it has not been initialized yet.
+                if (delegate != null) {
+                    Stream.of(freeList, partStorage, dataTree, pendingTree)
+                        .filter(Objects::nonNull)
+                        .forEach(DataStructure::close);
+
+                    IgniteCacheDatabaseSharedManager dbMgr = grp.shared().database();
+
+                    dbMgr.checkpointReadLock();
+
+                    try {
+                        swapCnt++;
+
+                        delegate = createDelegate(null);
+                    }
+                    finally {
+                        dbMgr.checkpointReadUnlock();
+                    }
+                }
+                else
+                    swapCnt++;
+            }
+            catch (Throwable ex) {
+                cancelRestore(ex);
+
+                throw ex;
+            }
+
+            unblockUpdates();
+
+            restoreFut.onDone();
+        }
+
+        /**
+         * Cancels the restore of the partition file from a snapshot. Reads and updates waiting for the file and all
+         * further ones are failed.
+         *
+         * @param err Cancellation reason.
+         */
+        public void cancelRestore(Throwable err) {
+            if (swapState != SWAP_RESTORING)
+                return;
+
+            restoreFut.onDone(err);
+        }
+
+        /**
+         * @return {@code True} if the partition file is being restored from a snapshot.
+         */
+        private boolean restoring() {
+            return swapState == SWAP_RESTORING;
+        }
+
+        /**
+         * Waits for the partition file to be restored from a snapshot. An operation holding the checkpoint read lock
+         * is failed instead, since waiting would block checkpoints until the file is copied. Such operations have to
+         * wait for {@link #unblockFuture()} before they take the lock.
+         *
+         * @throws IgniteCheckedException If the partition file can't be restored, can't be awaited or interrupted.
+         */
+        private void awaitRestored() throws IgniteCheckedException {
+            GridFutureAdapter<Void> fut = restoreFut;
+
+            if (!fut.isDone() && grp.shared().database().checkpointLockIsHeldByThread()) {
+                throw new IgniteCheckedException("Partition is being restored from a snapshot, it can't be " +
+                    "accessed under the checkpoint read lock [grp=" + grp.cacheOrGroupName() +
+                    ", partId=" + partId + ']');
+            }
+
+            try {
+                fut.get();
+            }
+            catch (IgniteInterruptedCheckedException e) {
+                throw e;
+            }
+            catch (IgniteCheckedException e) {
+                throw new IgniteCheckedException("Failed to restore partition from the snapshot [grp=" +
+                    grp.cacheOrGroupName() + ", partId=" + partId + ']', e);
+            }
+        }
+
+        /**
+         * Starts a read of the partition data. Waits while the partition file is being swapped or restored from a
+         * snapshot.
+         *
+         * @throws IgniteCheckedException If the partition can't be read or interrupted.
+         */
+        private void enterRead() throws IgniteCheckedException {
+            while (true) {
+                activeReads.increment();
+
+                int state = swapState;
+
+                if (state != SWAP_ALL_BLOCKED && state != SWAP_RESTORING)
+                    break;
+
+                activeReads.decrement();
+
+                if (state == SWAP_RESTORING)
+                    awaitRestored();
+                else
+                    awaitSwap(false);
+            }
+        }
+
+        /**
+         * Finishes a read of the partition data.
+         */
+        private void exitRead() {
+            activeReads.decrement();
+        }
+
+        /**
+         * Checks that updates of the partition are not blocked. Updates are not counted, see {@link #blockUpdates()}.
+         *
+         * @throws IgniteCheckedException If the partition can't be updated now.
+         */
+        private void enterUpdate() throws IgniteCheckedException {
+            int state;
+
+            while ((state = swapState) != SWAP_NONE) {
+                if (state == SWAP_RESTORING)
+                    awaitRestored();
+                else
+                    awaitSwap(true);
+            }
+        }
+
+        /**
+         * Waits for the partition file swap to finish. Reads are blocked only while the file is replaced. An update
+         * holding the checkpoint read lock is failed instead, since it would keep a thread of a striped pool parked
+         * until the swap checkpoint ends.
+         *
+         * @param update {@code True} if an update waits for the swap.
+         * @throws IgniteCheckedException If the partition file is being swapped and can't be awaited or interrupted.
+         */
+        private void awaitSwap(boolean update) throws IgniteCheckedException {
+            GridFutureAdapter<Void> fut = swapFut;
+
+            if (fut == null || fut.isDone())
+                return;
+
+            if (update && grp.shared().database().checkpointLockIsHeldByThread()) {
+                throw new IgniteCheckedException("Partition file is being swapped by online defragmentation, the " +
+                    "partition can't be updated under the checkpoint read lock [grp=" + grp.cacheOrGroupName() +
+                    ", partId=" + partId + ']');
+            }
+
+            fut.get();
+        }
+
+        /**
+         * Checks that the old row passed to an update was read after the last partition file swap and re-reads it
+         * otherwise, since the link of the row is not valid anymore. Rows read after a swap are tagged with the
+         * number of swaps, see {@link SwappedDataRow}.
+         *
+         * @param delegate Store delegate.
+         * @param cctx Cache context.
+         * @param key Key.
+         * @param row Row read by the current thread.
+         * @return Actual row.
+         * @throws IgniteCheckedException If failed.
+         */
+        @Nullable private CacheDataRow actualRow(
+            CacheDataStore delegate,
+            GridCacheContext cctx,
+            KeyCacheObject key,
+            @Nullable CacheDataRow row
+        ) throws IgniteCheckedException {
+            int cnt = swapCnt;
+
+            if (row == null || cnt == 0 || (row instanceof SwappedDataRow && ((SwappedDataRow)row).swapCnt == cnt))
+                return row;
+
+            return delegate.find(cctx, key);
+        }
+
+        /**
+         * @param row Row.
+         * @return Search row for the key of the given row.
+         */
+        private static SearchRow searchRow(CacheDataRow row) {
+            return new SearchRow(row.cacheId(), row.key());
+        }
+
+        /**
+         * @param factory Cursor factory.
+         * @return Cursor which survives the partition file swap.
+         * @throws IgniteCheckedException If failed.
+         */
+        private GridCursor<? extends CacheDataRow> swapAwareCursor(CursorFactory factory)
+            throws IgniteCheckedException {
+            return new SwapAwareCursor(factory);
+        }
+
         /** {@inheritDoc} */
         @Override public CacheDataTree tree() {
             return dataTree;
@@ -2424,6 +2901,8 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
         /** {@inheritDoc} */
         @Override public void updateSize(int cacheId, long delta) {
             try {
+                enterUpdate();
+
                 CacheDataStore delegate0 = init0(false);
 
                 if (delegate0 != null)
@@ -2602,9 +3081,11 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
         ) throws IgniteCheckedException {
             assert grp.shared().database().checkpointLockIsHeldByThread();
 
+            enterUpdate();
+
             CacheDataStore delegate = init0(false);
 
-            delegate.update(cctx, key, val, ver, expireTime, oldRow);
+            delegate.update(cctx, key, val, ver, expireTime, actualRow(delegate, cctx, key, oldRow));
         }
 
         /** {@inheritDoc} */
@@ -2731,14 +3212,18 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
             @Nullable CacheDataRow oldRow) throws IgniteCheckedException {
             assert grp.shared().database().checkpointLockIsHeldByThread();
 
+            enterUpdate();
+
             CacheDataStore delegate = init0(false);
 
-            return delegate.createRow(cctx, key, val, ver, expireTime, oldRow);
+            return delegate.createRow(cctx, key, val, ver, expireTime, actualRow(delegate, cctx, key, oldRow));
         }
 
         /** {@inheritDoc} */
         @Override public void insertRows(Collection<DataRowCacheAware> rows,
             IgnitePredicateX<CacheDataRow> initPred) throws IgniteCheckedException {
+            enterUpdate();
+
             CacheDataStore delegate = init0(false);
 
             delegate.insertRows(rows, initPred);
@@ -2747,6 +3232,8 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
         /** {@inheritDoc} */
         @Override public int cleanup(GridCacheContext cctx,
             @Nullable List<MvccLinkAwareSearchRow> cleanupRows) throws IgniteCheckedException {
+            enterUpdate();
+
             CacheDataStore delegate = init0(false);
 
             return delegate.cleanup(cctx, cleanupRows);
@@ -2754,6 +3241,8 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
 
         /** {@inheritDoc} */
         @Override public void updateTxState(GridCacheContext cctx, CacheSearchRow row) throws IgniteCheckedException {
+            enterUpdate();
+
             CacheDataStore delegate = init0(false);
 
             delegate.updateTxState(cctx, row);
@@ -2764,6 +3253,8 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
             throws IgniteCheckedException {
             assert grp.shared().database().checkpointLockIsHeldByThread();
 
+            enterUpdate();
+
             CacheDataStore delegate = init0(false);
 
             delegate.invoke(cctx, key, c);
@@ -2774,6 +3265,8 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
             throws IgniteCheckedException {
             assert grp.shared().database().checkpointLockIsHeldByThread();
 
+            enterUpdate();
+
             CacheDataStore delegate = init0(false);
 
             delegate.remove(cctx, key, partId);
@@ -2781,12 +3274,19 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
 
         /** {@inheritDoc} */
         @Override public CacheDataRow find(GridCacheContext cctx, KeyCacheObject key) throws IgniteCheckedException {
-            CacheDataStore delegate = init0(true);
+            enterRead();
 
-            if (delegate != null)
-                return delegate.find(cctx, key);
+            try {
+                CacheDataStore delegate = init0(true);
 
-            return null;
+                if (delegate != null)
+                    return delegate.find(cctx, key);
+
+                return null;
+            }
+            finally {
+                exitRead();
+            }
         }
 
         /** {@inheritDoc} */
@@ -2828,7 +3328,7 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
             CacheDataStore delegate = init0(true);
 
             if (delegate != null)
-                return delegate.cursor();
+                return swapAwareCursor((d, from) -> from == null ? d.cursor() : d.tree().find(searchRow(from), null));
 
             return EMPTY_CURSOR;
         }
@@ -2837,8 +3337,10 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
         @Override public GridCursor<? extends CacheDataRow> cursor(Object x) throws IgniteCheckedException {
             CacheDataStore delegate = init0(true);
 
-            if (delegate != null)
-                return delegate.cursor(x);
+            if (delegate != null) {
+                return swapAwareCursor((d, from) ->
+                    from == null ? d.cursor(x) : d.tree().find(searchRow(from), null, x));
+            }
 
             return EMPTY_CURSOR;
         }
@@ -2848,10 +3350,14 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
             throws IgniteCheckedException {
             CacheDataStore delegate = init0(true);
 
-            if (delegate != null)
+            if (delegate == null)
+                return EMPTY_CURSOR;
+
+            // Groups with MVCC are never defragmented online.
+            if (mvccSnapshot != null)
                 return delegate.cursor(mvccSnapshot);
 
-            return EMPTY_CURSOR;
+            return swapAwareCursor((d, from) -> from == null ? d.cursor() : d.tree().find(searchRow(from), null));
         }
 
         /** {@inheritDoc} */
@@ -2862,7 +3368,7 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
             CacheDataStore delegate = init0(true);
 
             if (delegate != null)
-                return delegate.cursor(cacheId, lower, upper);
+                return swapAwareCursor((d, from) -> d.cursor(cacheId, from == null ? lower : from.key(), upper));
 
             return EMPTY_CURSOR;
         }
@@ -2876,7 +3382,7 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
             CacheDataStore delegate = init0(true);
 
             if (delegate != null)
-                return delegate.cursor(cacheId, lower, upper, x);
+                return swapAwareCursor((d, from) -> d.cursor(cacheId, from == null ? lower : from.key(), upper, x));
 
             return EMPTY_CURSOR;
         }
@@ -2890,10 +3396,14 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
             throws IgniteCheckedException {
             CacheDataStore delegate = init0(true);
 
-            if (delegate != null)
+            if (delegate == null)
+                return EMPTY_CURSOR;
+
+            // Groups with MVCC are never defragmented online.
+            if (mvccSnapshot != null)
                 return delegate.cursor(cacheId, lower, upper, x, mvccSnapshot);
 
-            return EMPTY_CURSOR;
+            return swapAwareCursor((d, from) -> d.cursor(cacheId, from == null ? lower : from.key(), upper, x, null));
         }
 
         /** {@inheritDoc} */
@@ -2932,8 +3442,10 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
         @Override public GridCursor<? extends CacheDataRow> cursor(int cacheId) throws IgniteCheckedException {
             CacheDataStore delegate = init0(true);
 
-            if (delegate != null)
-                return delegate.cursor(cacheId);
+            if (delegate != null) {
+                return swapAwareCursor((d, from) ->
+                    from == null ? d.cursor(cacheId) : d.cursor(cacheId, from.key(), null, null, null));
+            }
 
             return EMPTY_CURSOR;
         }
@@ -2943,9 +3455,31 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
             MvccSnapshot mvccSnapshot) throws IgniteCheckedException {
             CacheDataStore delegate = init0(true);
 
-            if (delegate != null)
+            if (delegate == null)
+                return EMPTY_CURSOR;
+
+            if (mvccSnapshot != null)
                 return delegate.cursor(cacheId, mvccSnapshot);
 
+            return swapAwareCursor((d, from) ->
+                from == null ? d.cursor(cacheId) : d.cursor(cacheId, from.key(), null, null, null));
+        }
+
+        /** {@inheritDoc} */
+        @Override public GridCursor<? extends CacheDataRow> scanCursor(int cacheId, Object x)
+            throws IgniteCheckedException {
+            CacheDataStore delegate = init0(true);
+
+            if (delegate != null) {
+                return swapAwareCursor((d, from) -> {
+                    if (from == null)
+                        return d.scanCursor(cacheId, x);
+
+                    return cacheId == CU.UNDEFINED_CACHE_ID ?
+                        d.tree().find(searchRow(from), null, x) : d.cursor(cacheId, from.key(), null, x, null);
+                });
+            }
+
             return EMPTY_CURSOR;
         }
 
@@ -2953,6 +3487,8 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
         @Override public void clear(int cacheId) throws IgniteCheckedException {
             assert grp.shared().database().checkpointLockIsHeldByThread();
 
+            enterUpdate();
+
             CacheDataStore delegate0 = init0(true);
 
             if (delegate0 == null)
@@ -2985,9 +3521,19 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
          * @throws IgniteCheckedException If failed to get number of pending entries.
          */
         public long expiredSize() throws IgniteCheckedException {
-            CacheDataStore delegate0 = init0(true);
+            if (restoring())
+                return 0;
+
+            enterRead();
+
+            try {
+                CacheDataStore delegate0 = init0(true);
 
-            return delegate0 == null ? 0 : pendingTree.size();
+                return delegate0 == null ? 0 : pendingTree.size();
+            }
+            finally {
+                exitRead();
+            }
         }
 
         /**
@@ -3005,6 +3551,9 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
             long throttlingTimeout,
             int amount
         ) throws IgniteCheckedException {
+            if (restoring())
+                return 0;
+
             CacheDataStore delegate0 = init0(true);
 
             long nowNanos = System.nanoTime();
@@ -3048,9 +3597,15 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
             if (part == null || part.state() != OWNING || !cctx.topology().initialized())
                 return 0;
 
+            // Skip partitions which updates are blocked, they can't be awaited under the checkpoint read lock.
+            if (swapState != SWAP_NONE)
+                return 0;
+
             cctx.shared().database().checkpointReadLock();
 
             try {
+                enterUpdate();
+
                 if (part != null && !part.reserve())
                     return 0;
 
@@ -3124,10 +3679,17 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
 
         /** {@inheritDoc} */
         @Override public void preload() throws IgniteCheckedException {
-            CacheDataStore delegate0 = init0(true);
+            enterRead();
 
-            if (delegate0 != null)
-                delegate0.preload();
+            try {
+                CacheDataStore delegate0 = init0(true);
+
+                if (delegate0 != null)
+                    delegate0.preload();
+            }
+            finally {
+                exitRead();
+            }
         }
 
         /** {@inheritDoc} */
@@ -3164,6 +3726,156 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
         @Override public PartitionMetaStorage<SimpleDataRow> partStorage() {
             return partStorage;
         }
+
+        /**
+         * Opens a cursor over the store delegate.
+         */
+        @FunctionalInterface
+        private interface CursorFactory {
+            /**
+             * @param delegate Store delegate.
+             * @param from Row to start from inclusive, {@code null} to start from the lower bound of the cursor.
+             * @return Cursor.
+             * @throws IgniteCheckedException If failed.
+             */
+            public GridCursor<? extends CacheDataRow> open(CacheDataStore delegate, @Nullable CacheDataRow from)
+                throws IgniteCheckedException;
+        }
+
+        /**
+         * Cursor which is re-opened from the last returned row after the partition file swap.
+         */
+        private class SwapAwareCursor implements GridCursor<CacheDataRow> {
+            /** */
+            private final CursorFactory factory;
+
+            /** */
+            private GridCursor<? extends CacheDataRow> cur;
+
+            /** Number of partition file swaps at the moment the current cursor was opened. */
+            private int cnt;
+
+            /** */
+            private CacheDataRow last;
+
+            /**
+             * @param factory Cursor factory.
+             * @throws IgniteCheckedException If failed.
+             */
+            private SwapAwareCursor(CursorFactory factory) throws IgniteCheckedException {
+                this.factory = factory;
+
+                enterRead();
+
+                try {
+                    cnt = swapCnt;
+
+                    cur = factory.open(delegate, null);
+                }
+                finally {
+                    exitRead();
+                }
+            }
+
+            /** {@inheritDoc} */
+            @Override public boolean next() throws IgniteCheckedException {
+                enterRead();
+
+                try {
+                    boolean reopened = false;
+
+                    if (cnt != swapCnt) {
+                        cnt = swapCnt;
+
+                        cur = factory.open(delegate, last);
+
+                        reopened = last != null;
+                    }
+
+                    if (!cur.next())
+                        return false;
+
+                    if (reopened) {
+                        CacheDataRow row = cur.get();
+
+                        if (row.cacheId() == last.cacheId() && row.key().equals(last.key()) && !cur.next())
+                            return false;
+                    }
+
+                    last = cur.get();
+
+                    return true;
+                }
+                finally {
+                    exitRead();
+                }
+            }
+
+            /** {@inheritDoc} */
+            @Override public CacheDataRow get() {
+                return last;
+            }
+        }
+
+        /** Row store of a partition which file was swapped, tags rows read from the tree with the swap number. */
+        private static class SwappedCacheDataRowStore extends CacheDataRowStore {
+            /** Number of partition file swaps. */
+            private final int swapCnt;
+
+            /**
+             * @param grp Cache group.
+             * @param freeList Free list.
+             * @param partId Partition number.
+             * @param swapCnt Number of partition file swaps.
+             */
+            private SwappedCacheDataRowStore(CacheGroupContext grp, FreeList freeList, int partId, int swapCnt) {
+                super(grp, freeList, partId);
+
+                this.swapCnt = swapCnt;
+            }
+
+            /** {@inheritDoc} */
+            @Override protected CacheDataRow dataRow(
+                int cacheId,
+                int hash,
+                long link,
+                CacheDataRowAdapter.RowData rowData
+            ) {
+                SwappedDataRow row = new SwappedDataRow(grp, hash, link, getPartitionId(), rowData, swapCnt);
+
+                if (row.cacheId() == CU.UNDEFINED_CACHE_ID && grp.sharedGroup())
+                    row.cacheId(cacheId);
+
+                return row;
+            }
+        }
+
+        /** Data row read from the partition file after the given number of swaps. */
+        private static class SwappedDataRow extends DataRow {
+            /** Number of partition file swaps. */
+            private final int swapCnt;
+
+            /**
+             * @param grp Cache group.
+             * @param hash Hash code.
+             * @param link Link.
+             * @param part Partition.
+             * @param rowData Required row data.
+             * @param swapCnt Number of partition file swaps.
+             */
+            private SwappedDataRow(
+                CacheGroupContext grp,
+                int hash,
+                long link,
+                int part,
+                RowData rowData,
+                int swapCnt
+            ) {
+                super(grp, hash, link, part, rowData, CacheDataRowStore.getSkipVersion());
+
+                this.swapCnt = swapCnt;
+            }
+        }
     }
 
     /**
@@ -38,6 +38,7 @@ import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.configuration.DataPageEvictionMode;
 import org.apache.ignite.configuration.DataRegionConfiguration;
 import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.DiskPageCompression;
 import org.apache.ignite.configuration.WarmUpConfiguration;
 import org.apache.ignite.failure.FailureContext;
 import org.apache.ignite.failure.FailureType;
@@ -667,6 +668,8 @@ public class IgniteCacheDatabaseSharedManager extends GridCacheSharedManagerAdap
         checkRegionMemoryStorageType(regCfg);
 
         checkRegionWarmUpConfiguration(regCfg, warmUpStrategies);
+
+        checkRegionCompressedPageCache(regCfg);
     }
 
     /**
@@ -1308,7 +1311,7 @@ public class IgniteCacheDatabaseSharedManager extends GridCacheSharedManagerAdap
         File allocPath = buildAllocPath(plcCfg);
 
         return allocPath == null ?
-            new UnsafeMemoryProvider(log, plcCfg.getMemoryAllocator()) :
+            new UnsafeMemoryProvider(log, plcCfg.getMemoryAllocator(), plcCfg.isPersistenceEnabled()) :
             new MappedFileMemoryProvider(
                 log,
                 allocPath);
@@ -1646,6 +1649,37 @@ public class IgniteCacheDatabaseSharedManager extends GridCacheSharedManagerAdap
         );
     }
 
+    /**
+     * Checking data region compressed page cache configuration.
+     *
+     * @param regCfg DataRegionConfiguration to validate.
+     * @throws IgniteCheckedException If config is invalid.
+     */
+    private void checkRegionCompressedPageCache(DataRegionConfiguration regCfg) throws IgniteCheckedException {
+        long size = regCfg.getCompressedPageCacheSize();
+
+        if (size == 0)
+            return;
+
+        Supplier<String> errPostfix = () -> "[name=" + regCfg.getName() + ", compressedPageCacheSize=" + size +
+            ", compressedPageCacheCompression=" + regCfg.getCompressedPageCacheCompression() + ']';
+
+        if (size < 0)
+            throw new IgniteCheckedException("Compressed page cache size must not be negative: " + errPostfix.get());
+
+        if (!regCfg.isPersistenceEnabled()) {
+            throw new IgniteCheckedException("Compressed page cache is not expected for a non-persistent data " +
+                "region: " + errPostfix.get());
+        }
+
+        DiskPageCompression compression = regCfg.getCompressedPageCacheCompression();
+
+        if (compression == null || compression == DiskPageCompression.DISABLED)
+            throw new IgniteCheckedException("Compressed page cache compression must be set: " + errPostfix.get());
+
+        cctx.kernalContext().compress().checkPageCompressionSupported();
+    }
+
     /**
      * Wal truncate callback.
      *
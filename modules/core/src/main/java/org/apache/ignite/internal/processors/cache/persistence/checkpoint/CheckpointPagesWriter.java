@@ -18,6 +18,7 @@
 package org.apache.ignite.internal.processors.cache.persistence.checkpoint;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -26,7 +27,9 @@ import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BooleanSupplier;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
 import org.apache.ignite.internal.pagemem.store.PageStore;
 import org.apache.ignite.internal.processors.cache.persistence.DataStorageMetricsImpl;
 import org.apache.ignite.internal.processors.cache.persistence.PageStoreWriter;
@@ -40,6 +43,7 @@ import org.apache.ignite.internal.util.future.CountDownFuture;
 import org.apache.ignite.internal.util.lang.IgniteThrowableFunction;
 import org.jsr166.ConcurrentLinkedHashMap;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_CHECKPOINT_WRITE_RUN_PAGES;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO.getType;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO.getVersion;
 import static org.apache.ignite.internal.util.IgniteUtils.hexLong;
@@ -48,6 +52,16 @@ import static org.apache.ignite.internal.util.IgniteUtils.hexLong;
  * Implementation of page writer which able to store pages to disk during checkpoint.
  */
 public class CheckpointPagesWriter implements Runnable {
+    /** Default maximum number of pages with consecutive indexes written with a single request. */
+    public static final int DFLT_CHECKPOINT_WRITE_RUN_PAGES = 64;
+
+    /** Maximum number of pages with consecutive indexes written with a single request. */
+    private static final int WRITE_RUN_PAGES =
+        IgniteSystemProperties.getInteger(IGNITE_CHECKPOINT_WRITE_RUN_PAGES, DFLT_CHECKPOINT_WRITE_RUN_PAGES);
+
+    /** Buffers of the checkpoint threads to collect runs of pages with consecutive indexes. */
+    private static final ThreadLocal<ByteBuffer> threadRunBuf = new ThreadLocal<>();
+
     /** Logger. */
     private final IgniteLogger log;
 
@@ -188,39 +202,50 @@ public class CheckpointPagesWriter implements Runnable {
         GridConcurrentMultiPairQueue.Result<PageMemoryEx, FullPageId> res =
             new GridConcurrentMultiPairQueue.Result<>();
 
-        while (writePageIds.next(res)) {
-            if (shutdownNow.getAsBoolean())
-                break;
+        PageRun run = WRITE_RUN_PAGES > 1 ? new PageRun(runBuffer(tmpWriteBuf.capacity()), tmpWriteBuf.capacity()) : null;
+
+        try {
+            while (writePageIds.next(res)) {
+                if (shutdownNow.getAsBoolean())
+                    break;
 
-            beforePageWrite.run();
+                beforePageWrite.run();
 
-            FullPageId fullId = res.getValue();
+                FullPageId fullId = res.getValue();
 
-            PageMemoryEx pageMem = res.getKey();
+                PageMemoryEx pageMem = res.getKey();
 
-            snapshotMgr.beforePageWrite(fullId);
+                snapshotMgr.beforePageWrite(fullId);
 
-            tmpWriteBuf.rewind();
+                tmpWriteBuf.rewind();
 
-            PageStoreWriter pageStoreWriter =
-                pageStoreWriters.computeIfAbsent(pageMem, pageMemEx -> createPageStoreWriter(pageMemEx, pagesToRetry));
+                PageStoreWriter pageStoreWriter = pageStoreWriters.computeIfAbsent(pageMem,
+                    pageMemEx -> createPageStoreWriter(pageMemEx, pagesToRetry, run));
 
-            pageMem.checkpointWritePage(fullId, tmpWriteBuf, pageStoreWriter, tracker);
+                pageMem.checkpointWritePage(fullId, tmpWriteBuf, pageStoreWriter, tracker);
 
-            if (throttlingEnabled) {
-                while (pageMem.isCpBufferOverflowThresholdExceeded()) {
-                    FullPageId cpPageId = pageMem.pullPageFromCpBuffer();
+                if (throttlingEnabled) {
+                    while (pageMem.isCpBufferOverflowThresholdExceeded()) {
+                        FullPageId cpPageId = pageMem.pullPageFromCpBuffer();
 
-                    if (cpPageId.equals(FullPageId.NULL_PAGE))
-                        break;
+                        if (cpPageId.equals(FullPageId.NULL_PAGE))
+                            break;
 
-                    snapshotMgr.beforePageWrite(cpPageId);
+                        snapshotMgr.beforePageWrite(cpPageId);
 
-                    tmpWriteBuf.rewind();
+                        tmpWriteBuf.rewind();
 
-                    pageMem.checkpointWritePage(cpPageId, tmpWriteBuf, pageStoreWriter, tracker);
+                        pageMem.checkpointWritePage(cpPageId, tmpWriteBuf, pageStoreWriter, tracker);
+                    }
                 }
             }
+
+            if (run != null)
+                run.flush();
+        }
+        finally {
+            if (run != null)
+                run.release();
         }
 
         return pagesToRetry.isEmpty() ?
@@ -233,11 +258,13 @@ public class CheckpointPagesWriter implements Runnable {
      *
      * @param pageMemEx
      * @param pagesToRetry List pages for retry.
+     * @param run Run of pages with consecutive indexes or {@code null} if pages are written one by one.
      * @return Checkpoint page write context.
      */
     private PageStoreWriter createPageStoreWriter(
         PageMemoryEx pageMemEx,
-        Map<PageMemoryEx, List<FullPageId>> pagesToRetry
+        Map<PageMemoryEx, List<FullPageId>> pagesToRetry,
+        PageRun run
     ) {
         return new PageStoreWriter() {
             /** {@inheritDoc} */
@@ -261,6 +288,12 @@ public class CheckpointPagesWriter implements Runnable {
                         tracker.onDataPageWritten();
                 }
 
+                if (run != null) {
+                    run.add(pageMemEx, fullPageId, buf, tag);
+
+                    return;
+                }
+
                 curCpProgress.updateWrittenPages(1);
 
                 PageStore store = pageWriter.write(pageMemEx, fullPageId, buf, tag);
@@ -270,6 +303,134 @@ public class CheckpointPagesWriter implements Runnable {
         };
     }
 
+    /**
+     * @param pageSize Page size.
+     * @return Buffer of the current thread to collect a run of pages.
+     */
+    private static ByteBuffer runBuffer(int pageSize) {
+        ByteBuffer buf = threadRunBuf.get();
+
+        if (buf == null || buf.capacity() != WRITE_RUN_PAGES * pageSize) {
+            buf = ByteBuffer.allocateDirect(WRITE_RUN_PAGES * pageSize).order(ByteOrder.nativeOrder());
+
+            threadRunBuf.set(buf);
+        }
+
+        return buf;
+    }
+
+    /**
+     * Run of copied pages with consecutive indexes of the same partition, which is written with a single request.
+     * Pages of the run are kept acquired until the run is written, otherwise a clean page could be replaced and read
+     * back from the page store before its checkpointed content gets there.
+     */
+    private class PageRun {
+        /** Buffer with the pages of the run one after another. */
+        private final ByteBuffer runBuf;
+
+        /** Page size. */
+        private final int pageSize;
+
+        /** Page IDs. */
+        private final long[] pageIds;
+
+        /** Absolute pointers of the acquired pages. */
+        private final long[] pages;
+
+        /** Page memory of the run. */
+        private PageMemoryEx pageMem;
+
+        /** Cache group ID of the run. */
+        private int grpId;
+
+        /** Partition file version of the run. */
+        private int tag;
+
+        /** Number of pages in the run. */
+        private int cnt;
+
+        /**
+         * @param runBuf Buffer for {@link #WRITE_RUN_PAGES} pages.
+         * @param pageSize Page size.
+         */
+        PageRun(ByteBuffer runBuf, int pageSize) {
+            this.runBuf = runBuf;
+            this.pageSize = pageSize;
+
+            pageIds = new long[WRITE_RUN_PAGES];
+            pages = new long[WRITE_RUN_PAGES];
+        }
+
+        /**
+         * Adds a copy of the page to the run, the run is written first if the page doesn't continue it.
+         *
+         * @param pageMem Page memory.
+         * @param fullId Full page ID.
+         * @param buf Page content.
+         * @param tag Partition file version.
+         * @throws IgniteCheckedException If failed.
+         */
+        void add(PageMemoryEx pageMem, FullPageId fullId, ByteBuffer buf, int tag) throws IgniteCheckedException {
+            long pageId = fullId.pageId();
+
+            if (cnt > 0 && (cnt == WRITE_RUN_PAGES || this.pageMem != pageMem || grpId != fullId.groupId() ||
+                this.tag != tag || PageIdUtils.partId(pageIds[cnt - 1]) != PageIdUtils.partId(pageId) ||
+                PageIdUtils.pageIndex(pageIds[cnt - 1]) + 1 != PageIdUtils.pageIndex(pageId)))
+                flush();
+
+            pages[cnt] = pageMem.acquirePage(fullId.groupId(), pageId);
+
+            if (cnt == 0) {
+                this.pageMem = pageMem;
+                this.tag = tag;
+
+                grpId = fullId.groupId();
+            }
+
+            pageIds[cnt] = pageId;
+
+            runBuf.limit((cnt + 1) * pageSize);
+            runBuf.position(cnt * pageSize);
+            runBuf.put(buf);
+
+            buf.rewind();
+
+            cnt++;
+        }
+
+        /**
+         * Writes the run to the page store.
+         *
+         * @throws IgniteCheckedException If failed.
+         */
+        void flush() throws IgniteCheckedException {
+            if (cnt == 0)
+                return;
+
+            try {
+                curCpProgress.updateWrittenPages(cnt);
+
+                runBuf.limit(cnt * pageSize);
+                runBuf.position(0);
+
+                PageStore store = pageWriter.write(pageMem, grpId, pageIds, runBuf, cnt, tag);
+
+                updStores.computeIfAbsent(store, k -> new LongAdder()).add(cnt);
+            }
+            finally {
+                release();
+            }
+        }
+
+        /** Releases pages of the run. */
+        void release() {
+            for (int i = 0; i < cnt; i++)
+                pageMem.releasePage(grpId, pageIds[i], pages[i]);
+
+            cnt = 0;
+        }
+    }
+
     /** Interface which allows to write one page to page store. */
     public interface CheckpointPageWriter {
         /**
@@ -283,5 +444,18 @@ public class CheckpointPagesWriter implements Runnable {
          */
         PageStore write(PageMemoryEx pageMemEx, FullPageId fullPageId, ByteBuffer buf, int tag)
             throws IgniteCheckedException;
+
+        /**
+         * @param pageMemEx Page memory from which pages should be written.
+         * @param grpId Cache group ID.
+         * @param pageIds IDs of pages with consecutive indexes of the same partition.
+         * @param buf Buffer with {@code cnt} pages one after another, starting from position {@code 0}.
+         * @param cnt Number of pages to write.
+         * @param tag Page tag.
+         * @return {@link PageStore} which was used to write.
+         * @throws IgniteCheckedException if fail.
+         */
+        PageStore write(PageMemoryEx pageMemEx, int grpId, long[] pageIds, ByteBuffer buf, int cnt, int tag)
+            throws IgniteCheckedException;
     }
 }
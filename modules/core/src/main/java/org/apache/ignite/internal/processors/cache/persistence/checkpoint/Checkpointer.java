@@ -630,6 +630,7 @@ public class Checkpointer extends GridWorker {
                 tracker.listenersExecuteDuration(),
                 tracker.markDuration(),
                 tracker.lockHoldDuration(),
+                tracker.lockHoldDurationMicros(),
                 tracker.pagesWriteDuration(),
                 tracker.fsyncDuration(),
                 tracker.walCpRecordFsyncDuration(),
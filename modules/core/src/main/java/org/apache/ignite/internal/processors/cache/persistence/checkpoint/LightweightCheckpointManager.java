@@ -30,6 +30,8 @@ import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.configuration.DataStorageConfiguration;
 import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.LongJVMPauseDetector;
+import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.pagemem.store.PageStore;
 import org.apache.ignite.internal.processors.cache.CacheGroupContext;
 import org.apache.ignite.internal.processors.cache.GridCacheProcessor;
 import org.apache.ignite.internal.processors.cache.persistence.DataRegion;
@@ -135,8 +137,19 @@ public class LightweightCheckpointManager {
         checkpointPagesWriterFactory = new CheckpointPagesWriterFactory(
             logger,
             snapshotMgr,
-            (pageMemEx, fullPage, buf, tag) ->
-                pageMemEx.pageManager().write(fullPage.groupId(), fullPage.pageId(), buf, tag, true),
+            new CheckpointPagesWriter.CheckpointPageWriter() {
+                /** {@inheritDoc} */
+                @Override public PageStore write(PageMemoryEx pageMemEx, FullPageId fullPageId, ByteBuffer buf, int tag)
+                    throws IgniteCheckedException {
+                    return pageMemEx.pageManager().write(fullPageId.groupId(), fullPageId.pageId(), buf, tag, true);
+                }
+
+                /** {@inheritDoc} */
+                @Override public PageStore write(PageMemoryEx pageMemEx, int grpId, long[] pageIds, ByteBuffer buf,
+                    int cnt, int tag) throws IgniteCheckedException {
+                    return pageMemEx.pageManager().write(grpId, pageIds, buf, cnt, tag, true);
+                }
+            },
             persStoreMetrics,
             throttlingPolicy,
             threadBuf,
@@ -67,6 +67,16 @@ public class DefragmentationFileUtils {
     /** Defragmented partition temp file template. */
     private static final String DFRG_PARTITION_TMP_FILE_TEMPLATE = DFRG_PARTITION_FILE_TEMPLATE + TMP_SUFFIX;
 
+    /** Prefix for files of online defragmentation. */
+    private static final String ONLINE_DFRG_FILE_PREFIX = "online-dfrg-";
+
+    /** Online defragmented partition file template. */
+    private static final String ONLINE_DFRG_PARTITION_FILE_TEMPLATE =
+        ONLINE_DFRG_FILE_PREFIX + PART_FILE_TEMPLATE + TMP_SUFFIX;
+
+    /** Name of index partition file of online defragmentation. */
+    private static final String ONLINE_DFRG_INDEX_FILE_NAME = ONLINE_DFRG_FILE_PREFIX + INDEX_FILE_NAME + TMP_SUFFIX;
+
     /**
      * Performs cleanup of work dir before initializing file page stores.
      * Will finish batch renaming if defragmentation was completed or delete garbage if it wasn't.
@@ -101,6 +111,7 @@ public class DefragmentationFileUtils {
                 fileName.startsWith(DFRG_PARTITION_FILE_PREFIX)
                     || fileName.startsWith(DFRG_INDEX_FILE_NAME)
                     || fileName.startsWith(DFRG_LINK_MAPPING_FILE_PREFIX)
+                    || fileName.startsWith(ONLINE_DFRG_FILE_PREFIX)
             )
                 U.delete(file);
         }
@@ -370,6 +381,29 @@ public class DefragmentationFileUtils {
         return new File(workDir, String.format(DFRG_LINK_MAPPING_FILE_TEMPLATE, partId));
     }
 
+    /**
+     * Return file named {@code online-dfrg-part-%d.bin.tmp} in given folder. It will be used for storing partition copy
+     * during online defragmentation until it replaces the original partition file.
+     *
+     * @param workDir Cache group working directory.
+     * @param partId Partition index, will be substituted into file name.
+     * @return File.
+     */
+    public static File onlineDefragmentedPartFile(File workDir, int partId) {
+        return new File(workDir, String.format(ONLINE_DFRG_PARTITION_FILE_TEMPLATE, partId));
+    }
+
+    /**
+     * Return file named {@code online-dfrg-index.bin.tmp} in given folder. It is an index partition of temporary cache
+     * group used by online defragmentation and is deleted after each partition.
+     *
+     * @param workDir Cache group working directory.
+     * @return File.
+     */
+    public static File onlineDefragmentationIndexFile(File workDir) {
+        return new File(workDir, ONLINE_DFRG_INDEX_FILE_NAME);
+    }
+
     /**
      * Return defragmentation completion marker file. This file can only be created when all partitions and index are
      * defragmented and renamed from their original {@code *.tmp} versions. Presence of this file signals that no data
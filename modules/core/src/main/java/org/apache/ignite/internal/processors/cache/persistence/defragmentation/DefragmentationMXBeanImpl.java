@@ -52,6 +52,22 @@ public class DefragmentationMXBeanImpl implements DefragmentationMXBean {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean scheduleOnline(String cacheNames) {
+        final List<String> caches = Arrays.stream(cacheNames.split(","))
+            .filter(s -> !s.isEmpty())
+            .collect(Collectors.toList());
+
+        try {
+            defragmentation.startOnline(caches);
+
+            return true;
+        }
+        catch (IgniteCheckedException e) {
+            return false;
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public boolean cancel() {
         try {
@@ -83,4 +99,24 @@ public class DefragmentationMXBeanImpl implements DefragmentationMXBean {
     @Override public long startTime() {
         return defragmentation.startTime();
     }
+
+    /** {@inheritDoc} */
+    @Override public boolean cancelOnline() {
+        try {
+            return defragmentation.cancelOnline() == IgniteDefragmentation.CancelResult.CANCELLED;
+        }
+        catch (IgniteCheckedException e) {
+            return false;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public double getOnlineRateLimit() {
+        return defragmentation.onlineRateLimit();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void setOnlineRateLimit(double mbPerSec) {
+        defragmentation.onlineRateLimit(mbPerSec);
+    }
 }
@@ -52,6 +52,35 @@ public interface IgniteDefragmentation {
      */
     DefragmentationStatus status() throws IgniteCheckedException;
 
+    /**
+     * Start online defragmentation of the node. Partitions are defragmented one by one while they stay available
+     * for reads and updates, except for a short period around the swap of a partition file, when operations on the
+     * partition wait for the swap. Partitions which are updated too intensively are skipped.
+     *
+     * @param cacheNames Names of caches to run defragmentation on, all user caches if empty.
+     * @return Result of the start.
+     * @throws IgniteCheckedException If failed.
+     */
+    ScheduleResult startOnline(List<String> cacheNames) throws IgniteCheckedException;
+
+    /**
+     * Cancel ongoing online defragmentation. Partition in progress is rolled back.
+     *
+     * @return Result of the cancellation.
+     * @throws IgniteCheckedException If failed.
+     */
+    CancelResult cancelOnline() throws IgniteCheckedException;
+
+    /**
+     * @return Rate limit of online defragmentation in megabytes per second, {@code 0} if unlimited.
+     */
+    double onlineRateLimit();
+
+    /**
+     * @param mbPerSec Rate limit of online defragmentation in megabytes per second, {@code 0} if unlimited.
+     */
+    void onlineRateLimit(double mbPerSec);
+
     /**
      * @return {@code true} if there is an ongoing defragmentation.
      */
@@ -31,6 +31,7 @@ import org.apache.ignite.internal.processors.cache.persistence.defragmentation.C
 import org.apache.ignite.maintenance.MaintenanceAction;
 import org.apache.ignite.maintenance.MaintenanceRegistry;
 import org.apache.ignite.maintenance.MaintenanceTask;
+import org.jetbrains.annotations.Nullable;
 
 import static org.apache.ignite.internal.processors.cache.persistence.defragmentation.CachePartitionDefragmentationManager.DEFRAGMENTATION_MNTC_TASK_NAME;
 import static org.apache.ignite.internal.processors.cache.persistence.defragmentation.maintenance.DefragmentationParameters.toStore;
@@ -101,12 +102,59 @@ public class IgniteDefragmentationImpl implements IgniteDefragmentation {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public ScheduleResult startOnline(List<String> cacheNames) throws IgniteCheckedException {
+        if (ctx.maintenanceRegistry().isMaintenanceMode())
+            throw new IgniteCheckedException("Online defragmentation is not available in maintenance mode.");
+
+        OnlineDefragmentationManager onlineMgr = onlineManager();
+
+        if (onlineMgr == null)
+            throw new IgniteCheckedException("Online defragmentation requires persistence to be enabled.");
+
+        onlineMgr.start(cacheNames != null ? cacheNames : Collections.emptyList());
+
+        return ScheduleResult.SUCCESS;
+    }
+
+    /** {@inheritDoc} */
+    @Override public CancelResult cancelOnline() {
+        OnlineDefragmentationManager onlineMgr = onlineManager();
+
+        return onlineMgr != null && onlineMgr.cancel() ? CancelResult.CANCELLED : CancelResult.COMPLETED_OR_CANCELLED;
+    }
+
+    /** {@inheritDoc} */
+    @Override public double onlineRateLimit() {
+        OnlineDefragmentationManager onlineMgr = onlineManager();
+
+        return onlineMgr == null ? 0 : onlineMgr.rateLimit();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onlineRateLimit(double mbPerSec) {
+        OnlineDefragmentationManager onlineMgr = onlineManager();
+
+        if (onlineMgr == null)
+            throw new IgniteException("Online defragmentation requires persistence to be enabled.");
+
+        onlineMgr.rateLimit(mbPerSec);
+    }
+
     /** {@inheritDoc} */
     @Override public DefragmentationStatus status() throws IgniteCheckedException {
         final MaintenanceRegistry maintenanceRegistry = ctx.maintenanceRegistry();
 
-        if (!maintenanceRegistry.isMaintenanceMode())
-            throw new IgniteCheckedException("Node is not in maintenance mode.");
+        if (!maintenanceRegistry.isMaintenanceMode()) {
+            OnlineDefragmentationManager onlineMgr = onlineManager();
+
+            DefragmentationStatus onlineStatus = onlineMgr == null ? null : onlineMgr.status();
+
+            if (onlineStatus == null)
+                throw new IgniteCheckedException("Node is not in maintenance mode.");
+
+            return onlineStatus;
+        }
 
         IgniteCacheDatabaseSharedManager dbMgr = ctx.cache().context().database();
 
@@ -165,15 +213,21 @@ public class IgniteDefragmentationImpl implements IgniteDefragmentation {
     @Override public boolean inProgress() {
         final Status status = getStatus();
 
-        return status != null && status.getFinishTs() == 0;
+        if (status == null)
+            return onlineStatus() != null;
+
+        return status.getFinishTs() == 0;
     }
 
     /** {@inheritDoc} */
     @Override public int processedPartitions() {
         final Status status = getStatus();
 
-        if (status == null)
-            return 0;
+        if (status == null) {
+            DefragmentationStatus onlineStatus = onlineStatus();
+
+            return onlineStatus == null ? 0 : onlineStatus.getProcessedPartitions();
+        }
 
         return status.getDefragmentedPartitionCount();
     }
@@ -182,8 +236,11 @@ public class IgniteDefragmentationImpl implements IgniteDefragmentation {
     @Override public int totalPartitions() {
         final CachePartitionDefragmentationManager.Status status = getStatus();
 
-        if (status == null)
-            return 0;
+        if (status == null) {
+            DefragmentationStatus onlineStatus = onlineStatus();
+
+            return onlineStatus == null ? 0 : onlineStatus.getTotalPartitions();
+        }
 
         return status.getTotalPartitionCount();
     }
@@ -192,8 +249,11 @@ public class IgniteDefragmentationImpl implements IgniteDefragmentation {
     @Override public long startTime() {
         final CachePartitionDefragmentationManager.Status status = getStatus();
 
-        if (status == null)
-            return 0;
+        if (status == null) {
+            DefragmentationStatus onlineStatus = onlineStatus();
+
+            return onlineStatus == null ? 0 : onlineStatus.getStartTs();
+        }
 
         return status.getStartTs();
     }
@@ -221,4 +281,24 @@ public class IgniteDefragmentationImpl implements IgniteDefragmentation {
         return defrgMgr.status();
     }
 
+    /**
+     * @return Online defragmentation manager or {@code null} if persistence is disabled.
+     */
+    @Nullable private OnlineDefragmentationManager onlineManager() {
+        IgniteCacheDatabaseSharedManager dbMgr = ctx.cache().context().database();
+
+        return dbMgr instanceof GridCacheDatabaseSharedManager
+            ? ((GridCacheDatabaseSharedManager)dbMgr).onlineDefragmentationManager()
+            : null;
+    }
+
+    /**
+     * @return Status of ongoing online defragmentation or {@code null} if there is none.
+     */
+    @Nullable private DefragmentationStatus onlineStatus() {
+        OnlineDefragmentationManager onlineMgr = onlineManager();
+
+        return onlineMgr != null && onlineMgr.inProgress() ? onlineMgr.status() : null;
+    }
+
 }
@@ -0,0 +1,1264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.defragmentation;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.internal.IgniteFutureTimeoutCheckedException;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.metric.IoStatisticsHolderNoOp;
+import org.apache.ignite.internal.pagemem.wal.IgniteWriteAheadLogManager;
+import org.apache.ignite.internal.pagemem.wal.WALIterator;
+import org.apache.ignite.internal.pagemem.wal.record.DataEntry;
+import org.apache.ignite.internal.pagemem.wal.record.DataRecord;
+import org.apache.ignite.internal.pagemem.wal.record.WALRecord;
+import org.apache.ignite.internal.processors.cache.CacheGroupContext;
+import org.apache.ignite.internal.processors.cache.CacheType;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
+import org.apache.ignite.internal.processors.cache.persistence.DataRegion;
+import org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager;
+import org.apache.ignite.internal.processors.cache.persistence.GridCacheOffheapManager;
+import org.apache.ignite.internal.processors.cache.persistence.GridCacheOffheapManager.GridCacheDataStore;
+import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointListener;
+import org.apache.ignite.internal.processors.cache.persistence.defragmentation.CachePartitionDefragmentationManager.DefragmentationCacheGroupProgress;
+import org.apache.ignite.internal.processors.cache.persistence.defragmentation.IgniteDefragmentation.CompletedDefragmentationInfo;
+import org.apache.ignite.internal.processors.cache.persistence.defragmentation.IgniteDefragmentation.DefragmentationStatus;
+import org.apache.ignite.internal.processors.cache.persistence.defragmentation.IgniteDefragmentation.InProgressDefragmentationInfo;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
+import org.apache.ignite.internal.processors.cache.persistence.freelist.AbstractFreeList;
+import org.apache.ignite.internal.processors.cache.persistence.freelist.SimpleDataRow;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryEx;
+import org.apache.ignite.internal.processors.cache.persistence.partstorage.PartitionMetaStorage;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.PagePartitionMetaIOV3;
+import org.apache.ignite.internal.processors.cache.persistence.wal.WALPointer;
+import org.apache.ignite.internal.processors.cache.tree.CacheDataTree;
+import org.apache.ignite.internal.processors.cache.tree.DataRow;
+import org.apache.ignite.internal.processors.cache.tree.PendingEntriesTree;
+import org.apache.ignite.internal.processors.cache.transactions.IgniteInternalTx;
+import org.apache.ignite.internal.processors.cache.transactions.IgniteTxEntry;
+import org.apache.ignite.internal.processors.cache.tree.PendingRow;
+import org.apache.ignite.internal.util.BasicRateLimiter;
+import org.apache.ignite.internal.util.GridConcurrentHashSet;
+import org.apache.ignite.internal.util.future.GridFutureAdapter;
+import org.apache.ignite.internal.util.lang.GridCursor;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.A;
+import org.apache.ignite.internal.util.typedef.internal.CU;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.internal.util.worker.GridWorker;
+import org.apache.ignite.lang.IgniteBiTuple;
+import org.apache.ignite.thread.IgniteThread;
+import org.apache.ignite.transactions.TransactionState;
+import org.jetbrains.annotations.Nullable;
+
+import static java.util.Comparator.comparing;
+import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.DATA_RECORD;
+import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.DATA_RECORD_V2;
+import static org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState.OWNING;
+import static org.apache.ignite.internal.processors.cache.persistence.defragmentation.DefragmentationFileUtils.onlineDefragmentationIndexFile;
+import static org.apache.ignite.internal.processors.cache.persistence.defragmentation.DefragmentationFileUtils.onlineDefragmentedPartFile;
+import static org.apache.ignite.transactions.TransactionState.COMMITTING;
+import static org.apache.ignite.transactions.TransactionState.PREPARED;
+import static org.apache.ignite.transactions.TransactionState.PREPARING;
+
+/**
+ * Online defragmentation of cache groups which does not require the node to be in maintenance mode.
+ * <p>
+ * Partitions are defragmented one by one. The live partition stays readable and writable while its data is copied
+ * into a fresh partition file of a temporary cache group. Updates made during the copy are caught up from WAL
+ * starting from the checkpoint that preceded the copy. Once a catch up round applies less than
+ * {@link #SWAP_THRESHOLD} updates, the swap is requested. At the next checkpoint the rest of updates are applied under
+ * the checkpoint write lock, partition meta is copied and updates of the partition are blocked. When the checkpoint
+ * ends, the new file atomically replaces the original one and partition data structures are re-created over it.
+ * <p>
+ * Limitations:
+ * <ul>
+ *     <li>Only user cache groups with persistence and WAL enabled are supported. Groups with SQL indexes, MVCC or
+ *     encryption are skipped.</li>
+ *     <li>Updates of the partition are blocked from the begin of the swap checkpoint until the file is swapped after
+ *     the checkpoint ends. Cache operations wait for the swap before they take the checkpoint read lock, updates
+ *     which already hold the lock fail. Reads are blocked only while the file is replaced.</li>
+ *     <li>A partition is skipped if a catch up round doesn't apply less than {@link #SWAP_THRESHOLD} updates within
+ *     {@link #MAX_CATCH_UP_ROUNDS} rounds, or if the checkpoint declines the swap {@link #MAX_SWAP_ATTEMPTS} times.
+ *     The swap is declined if the rest of updates can't be applied within {@link #CP_LOCK_THRESHOLD} or if
+ *     transactions updating the partition are being prepared or committed.</li>
+ *     <li>Entries expired during the copy may be copied back, they are expired again by TTL cleanup.</li>
+ * </ul>
+ */
+public class OnlineDefragmentationManager {
+    /** Prefix of the name of the temporary cache group. */
+    private static final String TMP_GRP_NAME_PREFIX = "online-dfrg-";
+
+    /**
+     * Checkpoint read lock is released with this period while the partition is copied, in milliseconds. Updates left
+     * for the swap are applied under the checkpoint write lock for no longer than this.
+     */
+    private static final long CP_LOCK_THRESHOLD = 150L;
+
+    /**
+     * Number of caught up updates below which the partition file swap is requested. No more updates are applied under
+     * the checkpoint write lock.
+     */
+    private static final int SWAP_THRESHOLD = 1_000;
+
+    /** Maximum number of catch up rounds to get below {@link #SWAP_THRESHOLD}, the partition is skipped otherwise. */
+    private static final int MAX_CATCH_UP_ROUNDS = 10;
+
+    /** Maximum number of swap requests declined by the checkpoint, the partition is skipped afterwards. */
+    private static final int MAX_SWAP_ATTEMPTS = 5;
+
+    /** Timeout of a single wait for checkpoint related futures, in milliseconds. */
+    private static final long WAIT_TIMEOUT = 1_000L;
+
+    /** Cache shared context. */
+    private final GridCacheSharedContext<?, ?> cctx;
+
+    /** Database manager. */
+    private final GridCacheDatabaseSharedManager dbMgr;
+
+    /** File page store manager. */
+    private final FilePageStoreManager filePageStoreMgr;
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /** Copy speed limiter, permits are bytes. */
+    private final BasicRateLimiter limiter = new BasicRateLimiter(0);
+
+    /** Mutex. */
+    private final Object mux = new Object();
+
+    /** Current or last defragmentation. */
+    private volatile Worker worker;
+
+    /**
+     * @param cctx Cache shared context.
+     * @param dbMgr Database manager.
+     * @param filePageStoreMgr File page store manager.
+     */
+    public OnlineDefragmentationManager(
+        GridCacheSharedContext<?, ?> cctx,
+        GridCacheDatabaseSharedManager dbMgr,
+        FilePageStoreManager filePageStoreMgr
+    ) {
+        this.cctx = cctx;
+        this.dbMgr = dbMgr;
+        this.filePageStoreMgr = filePageStoreMgr;
+
+        log = cctx.logger(getClass());
+    }
+
+    /**
+     * Starts online defragmentation of given caches.
+     *
+     * @param cacheNames Names of caches to defragment, all user caches if empty.
+     * @throws IgniteCheckedException If defragmentation is already in progress.
+     */
+    public void start(Collection<String> cacheNames) throws IgniteCheckedException {
+        synchronized (mux) {
+            Worker w = worker;
+
+            if (w != null && w.finishTs == 0)
+                throw new IgniteCheckedException("Online defragmentation is already in progress.");
+
+            Set<String> names = new HashSet<>(cacheNames);
+
+            List<CacheGroupContext> grps = new ArrayList<>();
+            Set<String> skipped = new TreeSet<>();
+
+            for (CacheGroupContext grp : cctx.cache().cacheGroups()) {
+                if (!grp.userCache())
+                    continue;
+
+                if (!names.isEmpty() && grp.caches().stream().noneMatch(c -> names.contains(c.name())))
+                    continue;
+
+                if (supported(grp))
+                    grps.add(grp);
+                else
+                    skipped.add(grp.cacheOrGroupName());
+            }
+
+            grps.sort(comparing(CacheGroupContext::cacheOrGroupName));
+
+            worker = w = new Worker(grps, skipped);
+
+            new IgniteThread(w).start();
+        }
+    }
+
+    /**
+     * Cancels online defragmentation and waits for the partition in progress to be finished or rolled back.
+     *
+     * @return {@code True} if defragmentation was in progress.
+     */
+    public boolean cancel() {
+        Worker w;
+
+        synchronized (mux) {
+            w = worker;
+
+            if (w == null || w.finishTs != 0)
+                return false;
+
+            w.stop = true;
+        }
+
+        try {
+            w.doneFut.get();
+        }
+        catch (IgniteCheckedException e) {
+            U.warn(log, "Online defragmentation failed to stop gracefully.", e);
+        }
+
+        return true;
+    }
+
+    /**
+     * Rolls back defragmentation of partitions of cache groups which are going to be stopped and waits for it.
+     * Caches may be cleared on stop without logging removals to WAL.
+     *
+     * @param grpIds Ids of stopping cache groups.
+     */
+    public void onCacheGroupsStopping(Collection<Integer> grpIds) {
+        Worker w = worker;
+
+        if (w == null || w.finishTs != 0)
+            return;
+
+        w.stoppingGrps.addAll(grpIds);
+
+        PartitionDefragmentation cur = w.cur;
+
+        if (cur != null && grpIds.contains(cur.grp.groupId())) {
+            try {
+                cur.doneFut.get();
+            }
+            catch (IgniteCheckedException e) {
+                U.warn(log, "Online defragmentation of stopping cache group failed [grp=" +
+                    cur.grp.cacheOrGroupName() + ']', e);
+            }
+        }
+    }
+
+    /**
+     * @return Rate limit of the partition copying in megabytes per second, {@code 0} if unlimited.
+     */
+    public double rateLimit() {
+        return limiter.getRate() / U.MB;
+    }
+
+    /**
+     * @param mbPerSec Rate limit of the partition copying in megabytes per second, {@code 0} if unlimited.
+     */
+    public void rateLimit(double mbPerSec) {
+        A.ensure(mbPerSec >= 0, "Rate limit must be non-negative.");
+
+        limiter.setRate(mbPerSec * U.MB);
+    }
+
+    /**
+     * @return {@code True} if online defragmentation is in progress.
+     */
+    public boolean inProgress() {
+        Worker w = worker;
+
+        return w != null && w.finishTs == 0;
+    }
+
+    /**
+     * @return Status of the current or last online defragmentation or {@code null} if it has never been started.
+     */
+    @Nullable public DefragmentationStatus status() {
+        Worker w = worker;
+
+        return w == null ? null : w.status();
+    }
+
+    /**
+     * @param grp Cache group.
+     * @return {@code True} if the group can be defragmented online.
+     */
+    private boolean supported(CacheGroupContext grp) {
+        if (!grp.persistenceEnabled() || !grp.walEnabled() || grp.mvccEnabled() || grp.config().isEncryptionEnabled())
+            return false;
+
+        // Indexes can't be caught up from WAL, so they would reference links of the old partition file.
+        for (GridCacheContext<?, ?> cacheCtx : grp.caches()) {
+            if (!F.isEmpty(cacheCtx.config().getQueryEntities()) || !F.isEmpty(cacheCtx.config().getIndexedTypes()))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Waits for the future without interruption of the thread, since interruption closes page store channels.
+     *
+     * @param fut Future.
+     * @param w Worker.
+     * @return {@code False} if the node is stopping and the future is not done.
+     * @throws IgniteCheckedException If the future failed.
+     */
+    private boolean await(IgniteInternalFuture<?> fut, Worker w) throws IgniteCheckedException {
+        while (true) {
+            try {
+                fut.get(WAIT_TIMEOUT);
+
+                return true;
+            }
+            catch (IgniteFutureTimeoutCheckedException ignored) {
+                if (cctx.kernalContext().isStopping() && w.stop)
+                    return false;
+            }
+        }
+    }
+
+    /** Online defragmentation worker. */
+    private class Worker extends GridWorker {
+        /** Cache groups to defragment. */
+        private final List<CacheGroupContext> grps;
+
+        /** Ids of cache groups which are going to be stopped. */
+        private final Set<Integer> stoppingGrps = new GridConcurrentHashSet<>();
+
+        /** Completion future. */
+        private final GridFutureAdapter<Void> doneFut = new GridFutureAdapter<>();
+
+        /** Stop flag. The thread is never interrupted since interruption closes page store channels. */
+        private volatile boolean stop;
+
+        /** Partition in progress. */
+        private volatile PartitionDefragmentation cur;
+
+        /** Start timestamp. */
+        private final long startTs = System.currentTimeMillis();
+
+        /** Finish timestamp. */
+        private volatile long finishTs;
+
+        /** Scheduled cache groups. */
+        private final Set<String> scheduledGrps = new TreeSet<>();
+
+        /** Skipped cache groups. */
+        private final Set<String> skippedGrps;
+
+        /** Progress of cache groups in progress. */
+        private final Map<CacheGroupContext, DefragmentationCacheGroupProgress> progressGrps =
+            new TreeMap<>(comparing(CacheGroupContext::cacheOrGroupName));
+
+        /** Progress of finished cache groups. */
+        private final Map<CacheGroupContext, DefragmentationCacheGroupProgress> finishedGrps =
+            new TreeMap<>(comparing(CacheGroupContext::cacheOrGroupName));
+
+        /** Owning partitions of scheduled groups. */
+        private final Map<CacheGroupContext, List<GridDhtLocalPartition>> parts = new LinkedHashMap<>();
+
+        /** Total count of partitions. */
+        private int totalParts;
+
+        /** Processed partitions. */
+        private int processedParts;
+
+        /**
+         * @param grps Cache groups to defragment.
+         * @param skippedGrps Names of skipped cache groups.
+         */
+        private Worker(List<CacheGroupContext> grps, Set<String> skippedGrps) {
+            super(cctx.igniteInstanceName(), "online-defragmentation", OnlineDefragmentationManager.this.log);
+
+            this.grps = grps;
+            this.skippedGrps = skippedGrps;
+
+            for (CacheGroupContext grp : grps) {
+                List<GridDhtLocalPartition> grpParts = new ArrayList<>();
+
+                for (GridDhtLocalPartition part : grp.topology().currentLocalPartitions()) {
+                    if (part.state() == OWNING)
+                        grpParts.add(part);
+                }
+
+                parts.put(grp, grpParts);
+
+                scheduledGrps.add(grp.cacheOrGroupName());
+
+                totalParts += grpParts.size();
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void body() {
+            log.info("Online defragmentation started [grps=" + scheduledGrps + ", skipped=" + skippedGrps + ']');
+
+            try {
+                for (CacheGroupContext grp : grps) {
+                    if (stop)
+                        break;
+
+                    List<GridDhtLocalPartition> grpParts = parts.get(grp);
+
+                    synchronized (this) {
+                        scheduledGrps.remove(grp.cacheOrGroupName());
+
+                        progressGrps.put(grp, new DefragmentationCacheGroupProgress(grpParts.size()));
+                    }
+
+                    for (GridDhtLocalPartition part : grpParts) {
+                        if (stop || stoppingGrps.contains(grp.groupId()))
+                            break;
+
+                        long[] sizes = defragmentPartition(grp, part);
+
+                        synchronized (this) {
+                            if (sizes != null)
+                                progressGrps.get(grp).onPartitionDefragmented(sizes[0], sizes[1]);
+
+                            processedParts++;
+                        }
+                    }
+
+                    synchronized (this) {
+                        DefragmentationCacheGroupProgress progress = progressGrps.remove(grp);
+
+                        progress.onFinish();
+
+                        finishedGrps.put(grp, progress);
+                    }
+                }
+
+                doneFut.onDone();
+            }
+            catch (Throwable e) {
+                U.error(log, "Online defragmentation failed.", e);
+
+                doneFut.onDone(e);
+            }
+            finally {
+                synchronized (this) {
+                    finishTs = System.currentTimeMillis();
+
+                    progressGrps.clear();
+
+                    scheduledGrps.clear();
+                }
+
+                log.info("Online defragmentation " + (stop ? "cancelled" : "completed") +
+                    ". Time: " + (finishTs - startTs) * 1e-3 + "s.");
+            }
+        }
+
+        /**
+         * @param grp Cache group.
+         * @param part Partition.
+         * @return Partition file sizes before and after defragmentation, {@code null} if it was not defragmented.
+         * @throws IgniteCheckedException If failed.
+         */
+        @Nullable private long[] defragmentPartition(
+            CacheGroupContext grp,
+            GridDhtLocalPartition part
+        ) throws IgniteCheckedException {
+            if (cctx.cache().cacheGroup(grp.groupId()) != grp || !part.reserve())
+                return null;
+
+            PartitionDefragmentation partDfrg = new PartitionDefragmentation(grp, part, this);
+
+            cur = partDfrg;
+
+            try {
+                return partDfrg.defragment();
+            }
+            finally {
+                cur = null;
+
+                part.release();
+
+                partDfrg.doneFut.onDone();
+            }
+        }
+
+        /**
+         * @return Defragmentation status.
+         */
+        private synchronized DefragmentationStatus status() {
+            long now = System.currentTimeMillis();
+
+            Map<String, CompletedDefragmentationInfo> completed = new HashMap<>();
+            Map<String, InProgressDefragmentationInfo> inProgress = new HashMap<>();
+
+            finishedGrps.forEach((grp, progress) -> completed.put(
+                grp.cacheOrGroupName(),
+                new CompletedDefragmentationInfo(
+                    progress.getFinishTs() - progress.getStartTs(),
+                    progress.getOldSize(),
+                    progress.getNewSize()
+                )
+            ));
+
+            progressGrps.forEach((grp, progress) -> inProgress.put(
+                grp.cacheOrGroupName(),
+                new InProgressDefragmentationInfo(
+                    now - progress.getStartTs(),
+                    progress.getPartsCompleted(),
+                    progress.getPartsTotal()
+                )
+            ));
+
+            return new DefragmentationStatus(
+                completed,
+                inProgress,
+                new HashSet<>(scheduledGrps),
+                new HashSet<>(skippedGrps),
+                totalParts,
+                processedParts,
+                startTs,
+                (finishTs != 0 ? finishTs : now) - startTs
+            );
+        }
+
+        /**
+         * @param grp Cache group.
+         * @return {@code True} if defragmentation of the group must be stopped.
+         */
+        private boolean cancelled(CacheGroupContext grp) {
+            return stop || stoppingGrps.contains(grp.groupId());
+        }
+    }
+
+    /**
+     * Online defragmentation of a single partition.
+     * <p>
+     * Temporary cache group pages are only written by the worker before the finish is marked, so after the
+     * checkpoint which marks it they are all clean and the group can be dropped without waiting for anything. Updates
+     * of the partition are blocked at the beginning of that checkpoint, so no page of the partition can be dirty after
+     * its end. Both the partition file swap and the rollback are done by the worker once the checkpoint is finished.
+     * A declined swap request is not marked, the worker catches up updates and requests the swap again.
+     */
+    private class PartitionDefragmentation implements CheckpointListener {
+        /** Finish is not requested. */
+        private static final int FINISH_NONE = 0;
+
+        /** Swap of the partition file is requested. */
+        private static final int FINISH_SWAP = 1;
+
+        /** Rollback is requested. */
+        private static final int FINISH_ROLLBACK = 2;
+
+        /** Cache group. */
+        private final CacheGroupContext grp;
+
+        /** Partition. */
+        private final GridDhtLocalPartition part;
+
+        /** Partition data store. */
+        private final GridCacheDataStore liveStore;
+
+        /** Worker. */
+        private final Worker w;
+
+        /** Cache group work directory. */
+        private final File workDir;
+
+        /** Temporary cache group id. */
+        private final int tmpGrpId;
+
+        /** Temporary cache group. */
+        private CacheGroupContext tmpGrp;
+
+        /** Partition data store in the temporary cache group. */
+        private GridCacheDataStore tmpStore;
+
+        /** Start of the copy is requested. */
+        private volatile boolean startReq;
+
+        /** WAL pointer starting from which updates are caught up, reserved until the end. */
+        private volatile WALPointer startPtr;
+
+        /** WAL pointer up to which updates are already caught up. */
+        private WALPointer lastPtr;
+
+        /** Start future, completed at the first checkpoint after start request. */
+        private final GridFutureAdapter<Void> startFut = new GridFutureAdapter<>();
+
+        /** Requested finish. */
+        private volatile int finishReq = FINISH_NONE;
+
+        /** {@code True} if finish of the partition was prepared at checkpoint begin. */
+        private volatile boolean finishMarked;
+
+        /** {@code True} if updates of the partition are blocked for the swap. */
+        private volatile boolean swapReady;
+
+        /**
+         * Future of the last finish request, completed at checkpoint begin with {@code true} if the finish is marked
+         * or with {@code false} if the swap is declined.
+         */
+        private volatile GridFutureAdapter<Boolean> finishMarkFut = new GridFutureAdapter<>();
+
+        /** Finish checkpoint future, completed when the checkpoint which prepared the finish ends. */
+        private final GridFutureAdapter<Void> finishCpFut = new GridFutureAdapter<>();
+
+        /** Done future. */
+        private final GridFutureAdapter<Void> doneFut = new GridFutureAdapter<>();
+
+        /** Partition file size before swap. */
+        private long oldSize;
+
+        /** Partition file size after swap. */
+        private long newSize;
+
+        /**
+         * @param grp Cache group.
+         * @param part Partition.
+         * @param w Worker.
+         */
+        private PartitionDefragmentation(CacheGroupContext grp, GridDhtLocalPartition part, Worker w) {
+            this.grp = grp;
+            this.part = part;
+            this.w = w;
+
+            liveStore = (GridCacheDataStore)grp.offheap().dataStore(part);
+            workDir = filePageStoreMgr.cacheWorkDir(grp.sharedGroup(), grp.cacheOrGroupName());
+            tmpGrpId = CU.cacheId(TMP_GRP_NAME_PREFIX + grp.cacheOrGroupName());
+        }
+
+        /**
+         * @return Partition file sizes before and after defragmentation, {@code null} if it was not defragmented.
+         * @throws IgniteCheckedException If failed.
+         */
+        @Nullable private long[] defragment() throws IgniteCheckedException {
+            boolean collides = cctx.cache().cacheGroup(tmpGrpId) != null
+                || cctx.cache().cacheGroupDescriptors().containsKey(tmpGrpId);
+
+            if (collides) {
+                throw new IgniteCheckedException("Temporary cache group id collides with an existing cache group: " +
+                    grp.cacheOrGroupName());
+            }
+
+            long startTs = System.currentTimeMillis();
+
+            boolean swapped = false;
+
+            // False if the node is stopping and the finish is not awaited.
+            boolean awaited = true;
+
+            dbMgr.addCheckpointListener(this, grp.dataRegion());
+
+            try {
+                startTemporaryGroup();
+
+                startReq = true;
+
+                dbMgr.forceCheckpoint("online defragmentation of partition started");
+
+                if (!await(startFut, w))
+                    return null;
+
+                copy();
+
+                int attempts = 0;
+
+                while (awaited && !finishMarked && !w.cancelled(grp)) {
+                    if (attempts++ == MAX_SWAP_ATTEMPTS) {
+                        if (log.isInfoEnabled()) {
+                            log.info("Swap of defragmented partition file is declined too many times, skipped [grp=" +
+                                grp.cacheOrGroupName() + ", partId=" + part.id() + ']');
+                        }
+
+                        break;
+                    }
+
+                    if (!catchUpRounds()) {
+                        if (!w.cancelled(grp) && log.isInfoEnabled()) {
+                            log.info("Partition is updated too intensively to be defragmented online, skipped [grp=" +
+                                grp.cacheOrGroupName() + ", partId=" + part.id() + ']');
+                        }
+
+                        break;
+                    }
+
+                    awaited = requestFinish(FINISH_SWAP);
+                }
+            }
+            finally {
+                if (awaited && !finishMarked)
+                    awaited = requestFinish(FINISH_ROLLBACK);
+
+                if (awaited)
+                    swapped = finish();
+                else
+                    abandon();
+            }
+
+            if (!swapped)
+                return null;
+
+            if (log.isInfoEnabled()) {
+                log.info("Partition defragmented online [grp=" + grp.cacheOrGroupName() + ", partId=" + part.id() +
+                    ", oldSize=" + oldSize + ", newSize=" + newSize +
+                    ", time=" + (System.currentTimeMillis() - startTs) + "ms]");
+            }
+
+            return new long[] {oldSize, newSize};
+        }
+
+        /**
+         * Starts the temporary cache group with page stores next to the partition files of the cache group.
+         *
+         * @throws IgniteCheckedException If failed.
+         */
+        private void startTemporaryGroup() throws IgniteCheckedException {
+            U.delete(onlineDefragmentedPartFile(workDir, part.id()));
+            U.delete(onlineDefragmentationIndexFile(workDir));
+
+            // Another name keeps metrics of the cache group intact.
+            CacheConfiguration<?, ?> ccfg = new CacheConfiguration<>(grp.config());
+
+            if (grp.sharedGroup())
+                ccfg.setGroupName(TMP_GRP_NAME_PREFIX + grp.cacheOrGroupName());
+            else
+                ccfg.setName(TMP_GRP_NAME_PREFIX + grp.cacheOrGroupName());
+
+            DataRegion region = grp.dataRegion();
+
+            cctx.walState().onTemporaryGroupStart(tmpGrpId);
+
+            filePageStoreMgr.initializeForTemporaryGroup(
+                tmpGrpId,
+                grp.affinity().partitions(),
+                onlineDefragmentationIndexFile(workDir),
+                p -> onlineDefragmentedPartFile(workDir, p),
+                region.metrics().cacheGrpPageMetrics(tmpGrpId)
+            );
+
+            tmpGrp = new CacheGroupContext(
+                cctx,
+                tmpGrpId,
+                grp.receivedFrom(),
+                CacheType.USER,
+                ccfg,
+                grp.affinityNode(),
+                region,
+                grp.cacheObjectContext(),
+                null,
+                null,
+                grp.localStartVersion(),
+                true,
+                false,
+                true,
+                grp.compressionHandler()
+            );
+
+            dbMgr.checkpointReadLock();
+
+            try {
+                tmpGrp.start();
+
+                GridCacheOffheapManager offheap = (GridCacheOffheapManager)grp.offheap();
+
+                tmpStore = offheap.createGridCacheDataStore(tmpGrp, part.id(), true, log);
+
+                tmpStore.init();
+            }
+            finally {
+                dbMgr.checkpointReadUnlock();
+            }
+        }
+
+        /**
+         * Copies rows of the partition into the temporary partition.
+         *
+         * @throws IgniteCheckedException If failed.
+         */
+        private void copy() throws IgniteCheckedException {
+            CacheDataTree newTree = tmpStore.tree();
+            PendingEntriesTree newPendingTree = tmpStore.pendingTree();
+            AbstractFreeList<CacheDataRow> freeList = tmpStore.getCacheStoreFreeList();
+
+            newTree.enableSequentialWriteMode();
+
+            long bytes = 0;
+
+            dbMgr.checkpointReadLock();
+
+            try {
+                long lastCpLockTs = System.currentTimeMillis();
+
+                GridCursor<? extends CacheDataRow> cur = liveStore.cursor();
+
+                while (cur.next()) {
+                    if (w.cancelled(grp))
+                        return;
+
+                    if (System.currentTimeMillis() - lastCpLockTs >= CP_LOCK_THRESHOLD) {
+                        dbMgr.checkpointReadUnlock();
+
+                        limiter.acquire(Math.max(bytes, 1));
+
+                        bytes = 0;
+
+                        dbMgr.checkpointReadLock();
+
+                        lastCpLockTs = System.currentTimeMillis();
+                    }
+
+                    CacheDataRow row = cur.get();
+
+                    int cacheId = row.cacheId();
+
+                    // Reuse row that we just read.
+                    row.link(0);
+
+                    // "insertDataRow" will corrupt page memory if we don't do this.
+                    if (row instanceof DataRow && !grp.storeCacheIdInDataPage())
+                        ((DataRow)row).cacheId(CU.UNDEFINED_CACHE_ID);
+
+                    freeList.insertDataRow(row, IoStatisticsHolderNoOp.INSTANCE);
+
+                    // Put it back.
+                    if (row instanceof DataRow)
+                        ((DataRow)row).cacheId(cacheId);
+
+                    newTree.putx(row);
+
+                    if (row.expireTime() != 0)
+                        newPendingTree.putx(new PendingRow(cacheId, row.expireTime(), row.link()));
+
+                    bytes += row.size();
+                }
+            }
+            finally {
+                dbMgr.checkpointReadUnlock();
+
+                // Caught up updates are applied at random positions.
+                newTree.disableSequentialWriteMode();
+            }
+        }
+
+        /**
+         * Catches up updates until a round applies less than {@link #SWAP_THRESHOLD} of them.
+         *
+         * @return {@code True} if few enough updates are left to request the swap.
+         * @throws IgniteCheckedException If failed.
+         */
+        private boolean catchUpRounds() throws IgniteCheckedException {
+            for (int i = 0; i < MAX_CATCH_UP_ROUNDS && !w.cancelled(grp); i++) {
+                if (catchUp(false) < SWAP_THRESHOLD)
+                    return true;
+            }
+
+            return false;
+        }
+
+        /**
+         * Requests finish of the partition at the next checkpoint and waits for the checkpoint to mark it.
+         *
+         * @param req Requested finish.
+         * @return {@code False} if the node is stopping and the request is not awaited.
+         * @throws IgniteCheckedException If failed.
+         */
+        private boolean requestFinish(int req) throws IgniteCheckedException {
+            GridFutureAdapter<Boolean> markFut = new GridFutureAdapter<>();
+
+            // The checkpointer reads the request first, so it sees the future of the request.
+            finishMarkFut = markFut;
+            finishReq = req;
+
+            dbMgr.forceCheckpoint(req == FINISH_SWAP ? "online defragmentation of partition finished" :
+                "online defragmentation of partition rolled back");
+
+            return await(markFut, w);
+        }
+
+        /**
+         * Applies to the temporary partition updates logged to WAL since the last catch up.
+         * <p>
+         * Under the checkpoint write lock no more than {@link #SWAP_THRESHOLD} updates are applied within
+         * {@link #CP_LOCK_THRESHOLD}. Otherwise the caught up position is kept, so the updates are applied again by the
+         * next catch up. Replay of the same updates is idempotent since every update sets the entry as a whole.
+         *
+         * @param cpWriteLock {@code True} if called under the checkpoint write lock.
+         * @return Number of applied updates, {@code -1} if the bound of updates applied under the checkpoint write
+         *      lock is exceeded.
+         * @throws IgniteCheckedException If failed.
+         */
+        private int catchUp(boolean cpWriteLock) throws IgniteCheckedException {
+            IgniteWriteAheadLogManager wal = cctx.wal();
+
+            WALPointer endPtr = wal.flush(null, true);
+
+            if (endPtr == null || lastPtr.compareTo(endPtr) >= 0)
+                return 0;
+
+            int applied = 0;
+
+            if (!cpWriteLock)
+                dbMgr.checkpointReadLock();
+
+            try (WALIterator it = wal.replay(lastPtr, (type, ptr) -> type == DATA_RECORD || type == DATA_RECORD_V2)) {
+                long startTs = System.currentTimeMillis();
+                long lastCpLockTs = startTs;
+
+                while (it.hasNextX()) {
+                    if (cpWriteLock &&
+                        (applied > SWAP_THRESHOLD || System.currentTimeMillis() - startTs >= CP_LOCK_THRESHOLD))
+                        return -1;
+
+                    IgniteBiTuple<WALPointer, WALRecord> tup = it.nextX();
+
+                    if (tup.get1().compareTo(endPtr) >= 0)
+                        break;
+
+                    if (!(tup.get2() instanceof DataRecord))
+                        continue;
+
+                    if (!cpWriteLock && System.currentTimeMillis() - lastCpLockTs >= CP_LOCK_THRESHOLD) {
+                        dbMgr.checkpointReadUnlock();
+
+                        dbMgr.checkpointReadLock();
+
+                        lastCpLockTs = System.currentTimeMillis();
+                    }
+
+                    DataRecord rec = (DataRecord)tup.get2();
+
+                    for (int i = 0; i < rec.entryCount(); i++) {
+                        if (apply(rec.get(i)))
+                            applied++;
+                    }
+                }
+            }
+            finally {
+                if (!cpWriteLock)
+                    dbMgr.checkpointReadUnlock();
+            }
+
+            lastPtr = endPtr;
+
+            return applied;
+        }
+
+        /**
+         * @param entry Data entry.
+         * @return {@code True} if the entry belongs to the partition and was applied.
+         * @throws IgniteCheckedException If failed.
+         */
+        private boolean apply(DataEntry entry) throws IgniteCheckedException {
+            GridCacheContext<?, ?> cacheCtx = cctx.cacheContext(entry.cacheId());
+
+            if (cacheCtx == null || cacheCtx.groupId() != grp.groupId())
+                return false;
+
+            int partId = entry.partitionId();
+
+            if (partId == -1)
+                partId = cacheCtx.affinity().partition(entry.key());
+
+            if (partId != part.id())
+                return false;
+
+            switch (entry.op()) {
+                case CREATE:
+                case UPDATE:
+                    tmpStore.update(
+                        cacheCtx, entry.key(), entry.value(), entry.writeVersion(), entry.expireTime(), null);
+
+                    return true;
+
+                case DELETE:
+                    tmpStore.remove(cacheCtx, entry.key(), partId);
+
+                    return true;
+
+                default:
+                    return false;
+            }
+        }
+
+        /**
+         * Copies partition meta of the live partition into the temporary one.
+         *
+         * @throws IgniteCheckedException If failed.
+         */
+        private void copyMetadata() throws IgniteCheckedException {
+            PageMemoryEx pageMem = (PageMemoryEx)grp.dataRegion().pageMemory();
+            PartitionMetaStorage<SimpleDataRow> partStorage = tmpStore.partStorage();
+
+            int partId = part.id();
+            long partMetaPageId = pageMem.partitionMetaPageId(tmpGrpId, partId);
+            long partMetaPage = pageMem.acquirePage(tmpGrpId, partMetaPageId);
+
+            try {
+                long pageAddr = pageMem.writeLock(tmpGrpId, partMetaPageId, partMetaPage);
+
+                try {
+                    PagePartitionMetaIOV3 io = PageIO.getPageIO(pageAddr);
+
+                    io.setPartitionState(pageAddr, (byte)part.state().ordinal());
+                    io.setSize(pageAddr, liveStore.fullSize());
+                    io.setUpdateCounter(pageAddr, liveStore.updateCounter());
+                    io.setGlobalRemoveId(pageAddr, grp.offheap().globalRemoveId().get());
+
+                    if (grp.sharedGroup()) {
+                        long cntrsPageId = GridCacheOffheapManager.writeSharedGroupCacheSizes(
+                            pageMem,
+                            tmpGrpId,
+                            io.getCountersPageId(pageAddr),
+                            partId,
+                            liveStore.cacheSizes()
+                        );
+
+                        io.setCountersPageId(pageAddr, cntrsPageId);
+                    }
+
+                    long gapsLink = io.getGapsLink(pageAddr);
+
+                    if (gapsLink != 0) {
+                        partStorage.removeDataRowByLink(gapsLink, IoStatisticsHolderNoOp.INSTANCE);
+
+                        io.setGapsLink(pageAddr, 0);
+                    }
+
+                    byte[] gaps = liveStore.partUpdateCounter().getBytes();
+
+                    if (gaps != null) {
+                        SimpleDataRow gapsRow = new SimpleDataRow(partId, gaps);
+
+                        partStorage.insertDataRow(gapsRow, IoStatisticsHolderNoOp.INSTANCE);
+
+                        io.setGapsLink(pageAddr, gapsRow.link());
+                    }
+
+                    io.setEncryptedPageCount(pageAddr, 0);
+                    io.setEncryptedPageIndex(pageAddr, 0);
+                }
+                finally {
+                    pageMem.writeUnlock(tmpGrpId, partMetaPageId, partMetaPage, null, true);
+                }
+            }
+            finally {
+                pageMem.releasePage(tmpGrpId, partMetaPageId, partMetaPage);
+            }
+
+            partStorage.saveMetadata(IoStatisticsHolderNoOp.INSTANCE);
+
+            tmpStore.getCacheStoreFreeList().saveMetadata(IoStatisticsHolderNoOp.INSTANCE);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void onMarkCheckpointBegin(Context ctx) {
+            if (startReq && !startFut.isDone()) {
+                WALPointer ptr = cctx.wal().lastWritePointer();
+
+                if (cctx.wal().reserve(ptr)) {
+                    lastPtr = startPtr = ptr;
+
+                    startFut.onDone();
+                }
+                else
+                    startFut.onDone(new IgniteCheckedException("Failed to reserve WAL [ptr=" + ptr + ']'));
+            }
+
+            GridFutureAdapter<Boolean> markFut = finishMarkFut;
+
+            if (finishReq != FINISH_NONE && !markFut.isDone()) {
+                boolean marked = finishReq != FINISH_SWAP || prepareSwap();
+
+                if (marked)
+                    finishMarked = true;
+                else
+                    finishReq = FINISH_NONE;
+
+                markFut.onDone(marked);
+            }
+        }
+
+        /**
+         * Applies updates left since the last catch up, copies partition meta and blocks updates of the partition.
+         * Called under the checkpoint write lock. The finish is rolled back if the partition can't be swapped.
+         *
+         * @return {@code False} if the swap is declined and has to be requested again.
+         */
+        private boolean prepareSwap() {
+            if (w.cancelled(grp) || part.state() != OWNING || !grp.walEnabled())
+                return true;
+
+            try {
+                // Updates of such transactions are done under the checkpoint read lock and would fail.
+                if (hasPreparedTransactions() || catchUp(true) < 0)
+                    return false;
+
+                copyMetadata();
+
+                liveStore.blockUpdates();
+
+                swapReady = true;
+            }
+            catch (Throwable e) {
+                U.error(log, "Failed to prepare swap of defragmented partition file [grp=" +
+                    grp.cacheOrGroupName() + ", partId=" + part.id() + ']', e);
+            }
+
+            return true;
+        }
+
+        /**
+         * @return {@code True} if a transaction which updates the partition is being prepared or committed.
+         */
+        private boolean hasPreparedTransactions() {
+            for (IgniteInternalTx tx : cctx.tm().activeTransactions()) {
+                TransactionState state = tx.state();
+
+                if (state != PREPARING && state != PREPARED && state != COMMITTING)
+                    continue;
+
+                for (IgniteTxEntry e : tx.writeEntries()) {
+                    GridCacheContext<?, ?> cacheCtx = e.context();
+
+                    if (cacheCtx != null && cacheCtx.groupId() == grp.groupId() &&
+                        cacheCtx.affinity().partition(e.key()) == part.id())
+                        return true;
+                }
+            }
+
+            return false;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void onCheckpointBegin(Context ctx) {
+            // No-op.
+        }
+
+        /** {@inheritDoc} */
+        @Override public void beforeCheckpointBegin(Context ctx) {
+            // No-op.
+        }
+
+        /** {@inheritDoc} */
+        @Override public void afterCheckpointEnd(Context ctx) {
+            // The swap waits for reads of the partition, so it is done by the worker rather than the checkpointer.
+            if (finishMarked)
+                finishCpFut.onDone();
+        }
+
+        /**
+         * Swaps the partition file or rolls back defragmentation of the partition after the finish checkpoint.
+         * <p>
+         * The checkpoint read lock is taken as soon as the finish checkpoint releases the write lock and is held until
+         * the swap is done, so the next checkpoint can't begin before the swap. The lock also keeps the checkpoint
+         * from saving metadata of the partition while its data structures are re-created.
+         *
+         * @return {@code True} if the partition file was swapped.
+         * @throws IgniteCheckedException If failed.
+         */
+        private boolean finish() throws IgniteCheckedException {
+            dbMgr.checkpointReadLock();
+
+            try {
+                if (!await(finishCpFut, w)) {
+                    abandon();
+
+                    return false;
+                }
+
+                File newFile = onlineDefragmentedPartFile(workDir, part.id());
+
+                if (swapReady) {
+                    oldSize = filePageStoreMgr.getStore(grp.groupId(), part.id()).size();
+                    newSize = newFile.length();
+                }
+
+                stopTemporaryGroup();
+
+                if (!swapReady) {
+                    U.delete(newFile);
+
+                    return false;
+                }
+
+                liveStore.swapPartitionFile(newFile.toPath());
+
+                return true;
+            }
+            catch (Throwable e) {
+                if (swapReady)
+                    liveStore.unblockUpdates();
+
+                throw e;
+            }
+            finally {
+                dbMgr.checkpointReadUnlock();
+            }
+        }
+
+        /**
+         * Releases resources if the node is stopped before the partition is finished.
+         */
+        private void abandon() {
+            if (swapReady)
+                liveStore.unblockUpdates();
+        }
+
+        /**
+         * Stops the temporary cache group. All its pages must be clean.
+         *
+         * @throws IgniteCheckedException If failed.
+         */
+        private void stopTemporaryGroup() throws IgniteCheckedException {
+            dbMgr.removeCheckpointListener(this);
+
+            if (tmpGrp != null && tmpGrp.offheap() != null)
+                tmpGrp.offheap().stop();
+
+            PageMemoryEx pageMem = (PageMemoryEx)grp.dataRegion().pageMemory();
+
+            pageMem.clearAsync((grpId, pageId) -> grpId == tmpGrpId, true).get();
+
+            pageMem.onCacheGroupDestroyed(tmpGrpId);
+
+            filePageStoreMgr.shutdownForTemporaryGroup(tmpGrpId);
+
+            cctx.walState().onTemporaryGroupStop(tmpGrpId);
+
+            if (tmpGrp != null)
+                tmpGrp.metrics().remove(false);
+
+            grp.dataRegion().metrics().removeCacheGrpPageMetrics(tmpGrpId);
+
+            U.delete(onlineDefragmentationIndexFile(workDir));
+
+            if (startPtr != null)
+                cctx.wal().release(startPtr);
+        }
+    }
+}
@@ -44,10 +44,14 @@ import org.apache.ignite.internal.processors.cache.persistence.wal.crc.FastCrc;
 import org.apache.ignite.internal.processors.cache.persistence.wal.crc.IgniteDataIntegrityViolationException;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.lang.IgniteOutClosure;
+import org.apache.ignite.thread.IgniteThread;
 
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import static java.nio.file.StandardOpenOption.CREATE;
 import static java.nio.file.StandardOpenOption.READ;
 import static java.nio.file.StandardOpenOption.WRITE;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_PDS_SCAN_READ_AHEAD_PAGES;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_PDS_SKIP_CRC;
 
 /**
@@ -75,6 +79,16 @@ public class FilePageStore implements PageStore {
     /** Allocated field offset. */
     public static final int HEADER_SIZE = 8/*SIGNATURE*/ + 4/*VERSION*/ + 1/*type*/ + 4/*page size*/;
 
+    /** Default number of pages read from a file with a single request during a sequential scan. */
+    public static final int DFLT_PDS_SCAN_READ_AHEAD_PAGES = 32;
+
+    /** Number of pages read from a file with a single request during a sequential scan. */
+    private static final int READ_AHEAD_PAGES =
+        IgniteSystemProperties.getInteger(IGNITE_PDS_SCAN_READ_AHEAD_PAGES, DFLT_PDS_SCAN_READ_AHEAD_PAGES);
+
+    /** Read-ahead window of the current thread. */
+    private static final ThreadLocal<ReadAheadWindow> readAheadWin = ThreadLocal.withInitial(ReadAheadWindow::new);
+
     /** */
     private final IgniteOutClosure<Path> pathProvider;
 
@@ -123,6 +137,12 @@ public class FilePageStore implements PageStore {
     /** */
     private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
+    /** Read-ahead is possible only if pages are stored as is, encrypted pages are decrypted one by one. */
+    private final boolean readAhead;
+
+    /** Counter of changes of the file content, a read-ahead window filled before a change is discarded. */
+    private final AtomicLong changes = new AtomicLong();
+
     /**
      * @param type Type of stored pages.
      * @param pathProvider Store path.
@@ -145,6 +165,8 @@ public class FilePageStore implements PageStore {
         this.allocated = new AtomicLong();
         this.pageSize = pageSize;
         this.allocatedTracker = allocatedTracker;
+
+        readAhead = READ_AHEAD_PAGES > 1 && !(factory instanceof EncryptedFileIOFactory);
     }
 
     /** {@inheritDoc} */
@@ -398,6 +420,8 @@ public class FilePageStore implements PageStore {
         try {
             this.tag = tag;
 
+            changes.incrementAndGet();
+
             fileIO.clear();
 
             fileIO.close();
@@ -420,6 +444,50 @@ public class FilePageStore implements PageStore {
         }
     }
 
+    /**
+     * Atomically replaces the file of this store with the given one. The store is closed and will be lazily
+     * re-initialized from the new file on the next access. Pages of the store must be invalidated in page memory
+     * before calling this method.
+     *
+     * @param src File to move over the current store file.
+     * @param tag Partition generation.
+     * @throws StorageException If failed.
+     */
+    public void replace(Path src, int tag) throws StorageException {
+        Path filePath = pathProvider.apply();
+
+        lock.writeLock().lock();
+
+        try {
+            this.tag = tag;
+
+            changes.incrementAndGet();
+
+            if (fileIO != null) {
+                fileIO.force();
+
+                fileIO.close();
+
+                fileIO = null;
+            }
+
+            Files.move(src, filePath, ATOMIC_MOVE, REPLACE_EXISTING);
+
+            fileExists = true;
+        }
+        catch (IOException e) {
+            throw new StorageException("Failed to replace partition file [file=" + filePath.toAbsolutePath() +
+                ", src=" + src.toAbsolutePath() + "]", e);
+        }
+        finally {
+            allocatedTracker.accept(-1L * allocated.getAndSet(0) / pageSize);
+
+            inited = false;
+
+            lock.writeLock().unlock();
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public void beginRecover() {
         lock.writeLock().lock();
@@ -509,7 +577,8 @@ public class FilePageStore implements PageStore {
                 ", allocated=" + allocated.get() + ", headerSize=" + headerSize() + ", cfgFile=" +
                 pathProvider.apply().toAbsolutePath();
 
-            int n = readWithFailover(pageBuf, off);
+            int n = readAhead && IgniteThread.currentThreadInSequentialScan() ?
+                readAhead(pageBuf, off) : readWithFailover(pageBuf, off);
 
             // If page was not written yet, nothing to read.
             if (n < 0) {
@@ -721,33 +790,113 @@ public class FilePageStore implements PageStore {
                         "off=" + U.hexLong(off) + ", allocated=" + U.hexLong(allocated.get()) +
                             ", pageId=" + U.hexLong(pageId) + ", file=" + getFileAbsolutePath();
 
-                    assert pageBuf.position() == 0;
-                    assert pageBuf.order() == ByteOrder.nativeOrder() : "Page buffer order " + pageBuf.order()
-                        + " should be same with " + ByteOrder.nativeOrder();
-                    assert PageIO.getType(pageBuf) != 0 : "Invalid state. Type is 0! pageId = " + U.hexLong(pageId);
-                    assert PageIO.getVersion(pageBuf) != 0 : "Invalid state. Version is 0! pageId = " + U.hexLong(pageId);
+                    beforeWrite(pageId, pageBuf, calculateCrc);
 
-                    if (calculateCrc && !skipCrc) {
-                        assert PageIO.getCrc(pageBuf) == 0 : U.hexLong(pageId);
+                    fileIO.writeFully(pageBuf, off);
+
+                    if (readAhead)
+                        changes.incrementAndGet();
 
-                        PageIO.setCrc(pageBuf, calcCrc32(pageBuf, getCrcSize(pageId, pageBuf)));
+                    PageIO.setCrc(pageBuf, 0);
+
+                    if (interrupted)
+                        Thread.currentThread().interrupt();
+
+                    return;
+                }
+                finally {
+                    lock.readLock().unlock();
+                }
+            }
+            catch (IOException e) {
+                if (e instanceof ClosedChannelException) {
+                    try {
+                        if (e instanceof ClosedByInterruptException) {
+                            interrupted = true;
+
+                            Thread.interrupted();
+                        }
+
+                        reinit(fileIO);
+
+                        pageBuf.position(0);
+
+                        PageIO.setCrc(pageBuf, 0);
+
+                        continue;
+                    }
+                    catch (IOException e0) {
+                        e0.addSuppressed(e);
+
+                        e = e0;
                     }
+                }
+
+                throw new StorageException("Failed to write page [file=" + getFileAbsolutePath()
+                    + ", pageId=" + pageId + ", tag=" + tag + "]", e);
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void write(
+        long[] pageIds,
+        ByteBuffer pagesBuf,
+        int cnt,
+        int tag,
+        boolean calculateCrc
+    ) throws IgniteCheckedException {
+        if (cnt == 1) {
+            write(pageIds[0], PageStore.pageBuffer(pagesBuf, 0, pageSize), tag, calculateCrc);
+
+            return;
+        }
+
+        init();
 
-                    // Check whether crc was calculated somewhere above the stack if it is forcibly skipped.
-                    assert skipCrc || PageIO.getCrc(pageBuf) != 0 || calcCrc32(pageBuf, getCrcSize(pageId, pageBuf)) == 0 :
-                        "CRC hasn't been calculated, crc=0";
+        ByteBuffer[] pageBufs = new ByteBuffer[cnt];
 
-                    assert pageBuf.position() == 0 : pageBuf.position();
+        for (int i = 0; i < cnt; i++)
+            pageBufs[i] = PageStore.pageBuffer(pagesBuf, i, pageSize);
 
-                    for (PageWriteListener lsnr : lsnrs) {
-                        lsnr.accept(pageId, pageBuf);
+        ByteBuffer writeBuf = pagesBuf.duplicate();
+
+        writeBuf.limit(cnt * pageSize);
+
+        boolean interrupted = false;
 
-                        pageBuf.rewind();
+        while (true) {
+            FileIO fileIO = this.fileIO;
+
+            try {
+                lock.readLock().lock();
+
+                try {
+                    if (tag < this.tag)
+                        return;
+
+                    long off = pageOffset(pageIds[0]);
+
+                    assert (off >= 0 && pageOffset(pageIds[cnt - 1]) <= allocated.get()) || recover :
+                        "off=" + U.hexLong(off) + ", allocated=" + U.hexLong(allocated.get()) +
+                            ", pageId=" + U.hexLong(pageIds[0]) + ", cnt=" + cnt + ", file=" + getFileAbsolutePath();
+
+                    for (int i = 0; i < cnt; i++) {
+                        assert pageOffset(pageIds[i]) == off + (long)i * pageSize : "Page indexes are not consecutive " +
+                            "[first=" + U.hexLong(pageIds[0]) + ", pageId=" + U.hexLong(pageIds[i]) + ']';
+
+                        beforeWrite(pageIds[i], pageBufs[i], calculateCrc);
                     }
 
-                    fileIO.writeFully(pageBuf, off);
+                    writeBuf.position(0);
 
-                    PageIO.setCrc(pageBuf, 0);
+                    fileIO.writeFully(writeBuf, off);
+
+                    if (readAhead)
+                        changes.incrementAndGet();
+
+                    for (int i = 0; i < cnt; i++)
+                        PageIO.setCrc(pageBufs[i], 0);
 
                     if (interrupted)
                         Thread.currentThread().interrupt();
@@ -769,9 +918,11 @@ public class FilePageStore implements PageStore {
 
                         reinit(fileIO);
 
-                        pageBuf.position(0);
+                        for (int i = 0; i < cnt; i++) {
+                            pageBufs[i].position(0);
 
-                        PageIO.setCrc(pageBuf, 0);
+                            PageIO.setCrc(pageBufs[i], 0);
+                        }
 
                         continue;
                     }
@@ -782,12 +933,45 @@ public class FilePageStore implements PageStore {
                     }
                 }
 
-                throw new StorageException("Failed to write page [file=" + getFileAbsolutePath()
-                    + ", pageId=" + pageId + ", tag=" + tag + "]", e);
+                throw new StorageException("Failed to write pages [file=" + getFileAbsolutePath()
+                    + ", pageId=" + pageIds[0] + ", cnt=" + cnt + ", tag=" + tag + "]", e);
             }
         }
     }
 
+    /**
+     * Calculates CRC of the page if required and notifies the write listeners.
+     *
+     * @param pageId Page ID.
+     * @param pageBuf Page buffer.
+     * @param calculateCrc if {@code False} crc calculation will be forcibly skipped.
+     */
+    private void beforeWrite(long pageId, ByteBuffer pageBuf, boolean calculateCrc) throws IOException {
+        assert pageBuf.position() == 0;
+        assert pageBuf.order() == ByteOrder.nativeOrder() : "Page buffer order " + pageBuf.order()
+            + " should be same with " + ByteOrder.nativeOrder();
+        assert PageIO.getType(pageBuf) != 0 : "Invalid state. Type is 0! pageId = " + U.hexLong(pageId);
+        assert PageIO.getVersion(pageBuf) != 0 : "Invalid state. Version is 0! pageId = " + U.hexLong(pageId);
+
+        if (calculateCrc && !skipCrc) {
+            assert PageIO.getCrc(pageBuf) == 0 : U.hexLong(pageId);
+
+            PageIO.setCrc(pageBuf, calcCrc32(pageBuf, getCrcSize(pageId, pageBuf)));
+        }
+
+        // Check whether crc was calculated somewhere above the stack if it is forcibly skipped.
+        assert skipCrc || PageIO.getCrc(pageBuf) != 0 || calcCrc32(pageBuf, getCrcSize(pageId, pageBuf)) == 0 :
+            "CRC hasn't been calculated, crc=0";
+
+        assert pageBuf.position() == 0 : pageBuf.position();
+
+        for (PageWriteListener lsnr : lsnrs) {
+            lsnr.accept(pageId, pageBuf);
+
+            pageBuf.rewind();
+        }
+    }
+
     /**
      * @param pageBuf Page buffer.
      * @param pageSize Page size.
@@ -875,6 +1059,46 @@ public class FilePageStore implements PageStore {
         return (int)(allocated.get() / pageSize);
     }
 
+    /**
+     * Reads a page through the read-ahead window of the current thread. If the page is out of the window,
+     * the window is refilled with a single request starting from the page.
+     *
+     * @param pageBuf Page buffer.
+     * @param off Page offset.
+     * @return Number of read bytes.
+     */
+    private int readAhead(ByteBuffer pageBuf, long off) throws IOException {
+        ReadAheadWindow win = readAheadWin.get();
+
+        if (!win.contains(this, off)) {
+            long ver = changes.get();
+
+            ByteBuffer buf = win.buffer(READ_AHEAD_PAGES * pageSize);
+
+            buf.limit((int)Math.min(buf.capacity(), Math.max(pageSize, allocated.get() - off)));
+
+            int n = readWithFailover(buf, off);
+
+            // Page isn't fully written yet, let the regular read deal with it.
+            if (n < pageSize) {
+                win.reset();
+
+                return readWithFailover(pageBuf, off);
+            }
+
+            win.fill(this, ver, off, n);
+        }
+
+        ByteBuffer src = win.buf.duplicate();
+
+        src.position((int)(off - win.off));
+        src.limit(src.position() + pageSize);
+
+        pageBuf.put(src);
+
+        return pageSize;
+    }
+
     /**
      * @param destBuf Destination buffer.
      * @param position Position.
@@ -914,4 +1138,63 @@ public class FilePageStore implements PageStore {
             }
         }
     }
+
+    /** Pages read ahead from a page store. */
+    private static class ReadAheadWindow {
+        /** Buffer. */
+        private ByteBuffer buf;
+
+        /** Page store the window is filled from. */
+        private FilePageStore store;
+
+        /** Value of the store changes counter before the window was filled. */
+        private long changes;
+
+        /** File offset of the window. */
+        private long off;
+
+        /** Length of the window in bytes. */
+        private int len;
+
+        /**
+         * @param size Required size.
+         * @return Buffer of at least the required size.
+         */
+        ByteBuffer buffer(int size) {
+            if (buf == null || buf.capacity() < size)
+                buf = ByteBuffer.allocateDirect(size).order(ByteOrder.nativeOrder());
+
+            buf.clear();
+
+            return buf;
+        }
+
+        /**
+         * @param store Page store.
+         * @param changes Value of the store changes counter before the read.
+         * @param off File offset.
+         * @param len Number of read bytes.
+         */
+        void fill(FilePageStore store, long changes, long off, int len) {
+            this.store = store;
+            this.changes = changes;
+            this.off = off;
+            this.len = len;
+        }
+
+        /** Invalidates the window. */
+        void reset() {
+            store = null;
+        }
+
+        /**
+         * @param store Page store.
+         * @param pageOff Page offset.
+         * @return {@code True} if the page has been read ahead and the file hasn't been changed since then.
+         */
+        boolean contains(FilePageStore store, long pageOff) {
+            return this.store == store && pageOff >= off && pageOff + store.pageSize <= off + len &&
+                changes == store.changes.get();
+        }
+    }
 }
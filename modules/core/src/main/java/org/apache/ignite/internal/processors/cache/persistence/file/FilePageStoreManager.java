@@ -40,6 +40,7 @@ import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import org.apache.ignite.IgniteCheckedException;
@@ -58,6 +59,7 @@ import org.apache.ignite.internal.pagemem.PageIdUtils;
 import org.apache.ignite.internal.pagemem.store.IgnitePageStoreManager;
 import org.apache.ignite.internal.pagemem.store.PageStore;
 import org.apache.ignite.internal.pagemem.store.PageStoreCollection;
+import org.apache.ignite.internal.pagemem.store.PageWriteListener;
 import org.apache.ignite.internal.processors.cache.CacheGroupContext;
 import org.apache.ignite.internal.processors.cache.CacheGroupDescriptor;
 import org.apache.ignite.internal.processors.cache.GridCacheContext;
@@ -508,6 +510,9 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
     @Override public void shutdownForCacheGroup(CacheGroupContext grp, boolean destroy) throws IgniteCheckedException {
         grpsWithoutIdx.remove(grp.groupId());
 
+        if (destroy && cctx.snapshotMgr() != null)
+            cctx.snapshotMgr().changedPagesTracker().invalidate(grp.groupId());
+
         CacheStoreHolder old = idxCacheStores.remove(grp.groupId());
 
         if (old != null) {
@@ -518,6 +523,61 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
         }
     }
 
+    /**
+     * Initializes page stores of a temporary cache group. Such a group is not registered in the cache processor,
+     * its files live next to the files of an existing cache group and are never created until first page write.
+     *
+     * @param tmpGrpId Temporary cache group id.
+     * @param partitions Number of partitions.
+     * @param idxFile Index partition file.
+     * @param partFile Partition file by partition id.
+     * @param pageMetrics Page metrics.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void initializeForTemporaryGroup(
+        int tmpGrpId,
+        int partitions,
+        File idxFile,
+        IntFunction<File> partFile,
+        PageMetrics pageMetrics
+    ) throws IgniteCheckedException {
+        FileVersionCheckingFactory pageStoreFactory = getPageStoreFactory(tmpGrpId, false);
+
+        PageStore idxStore =
+            pageStoreFactory.createPageStore(PageStore.TYPE_IDX, idxFile, pageMetrics.totalPages()::add);
+
+        PageStore[] partStores = new PageStore[partitions];
+
+        for (int partId = 0; partId < partStores.length; partId++) {
+            partStores[partId] = pageStoreFactory.createPageStore(
+                PageStore.TYPE_DATA,
+                partFile.apply(partId),
+                pageMetrics.totalPages()::add);
+        }
+
+        CacheStoreHolder old = idxCacheStores.put(tmpGrpId, new CacheStoreHolder(idxStore, partStores));
+
+        assert old == null : "Non-null old store holder for temporary group: " + tmpGrpId;
+    }
+
+    /**
+     * Closes page stores of a temporary cache group without removing their files.
+     *
+     * @param tmpGrpId Temporary cache group id.
+     * @throws IgniteCheckedException If failed.
+     * @see #initializeForTemporaryGroup(int, int, File, IntFunction, PageMetrics)
+     */
+    public void shutdownForTemporaryGroup(int tmpGrpId) throws IgniteCheckedException {
+        CacheStoreHolder old = idxCacheStores.remove(tmpGrpId);
+
+        if (old != null) {
+            IgniteCheckedException ex = shutdown(old, false, null);
+
+            if (ex != null)
+                throw ex;
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public void truncate(int grpId, int partId, int tag) throws IgniteCheckedException {
         assert partId <= MAX_PARTITION_ID;
@@ -525,6 +585,9 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
         PageStore store = getStore(grpId, partId);
 
         store.truncate(tag);
+
+        if (cctx.snapshotMgr() != null)
+            cctx.snapshotMgr().changedPagesTracker().invalidate(grpId, partId);
     }
 
     /** {@inheritDoc} */
@@ -564,6 +627,18 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
         return pmPageMgr.write(grpId, pageId, pageBuf, tag, calculateCrc);
     }
 
+    /** {@inheritDoc} */
+    @Override public PageStore write(
+        int grpId,
+        long[] pageIds,
+        ByteBuffer pagesBuf,
+        int cnt,
+        int tag,
+        boolean calculateCrc
+    ) throws IgniteCheckedException {
+        return pmPageMgr.write(grpId, pageIds, pagesBuf, cnt, tag, calculateCrc);
+    }
+
     /** {@inheritDoc} */
     @Override public long pageOffset(int grpId, long pageId) throws IgniteCheckedException {
         PageStore store = getStore(grpId, PageIdUtils.partId(pageId));
@@ -725,6 +800,8 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
                     idxFile,
                     pageMetrics.totalPages()::add);
 
+            addChangedPagesListener(idxStore, grpId, INDEX_PARTITION);
+
             PageStore[] partStores = new PageStore[partitions];
 
             for (int partId = 0; partId < partStores.length; partId++) {
@@ -736,6 +813,8 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
                         () -> getPartitionFilePath(cacheWorkDir, p),
                         pageMetrics.totalPages()::add);
 
+                addChangedPagesListener(partStore, grpId, partId);
+
                 partStores[partId] = partStore;
             }
 
@@ -749,6 +828,23 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
         }
     }
 
+    /**
+     * Registers the listener tracking pages changed since the last snapshot, if enabled.
+     *
+     * @param store Page store.
+     * @param grpId Cache group id.
+     * @param partId Partition id.
+     */
+    private void addChangedPagesListener(PageStore store, int grpId, int partId) {
+        if (cctx.snapshotMgr() == null)
+            return;
+
+        PageWriteListener lsnr = cctx.snapshotMgr().changedPagesTracker().listener(grpId, partId);
+
+        if (lsnr != null)
+            store.addWriteListener(lsnr);
+    }
+
     /**
      * @param cacheWorkDir Cache work directory.
      * @param partId Partition id.
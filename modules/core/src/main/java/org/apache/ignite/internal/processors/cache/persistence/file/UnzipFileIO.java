@@ -16,23 +16,79 @@
 */
 package org.apache.ignite.internal.processors.cache.persistence.file;
 
-import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.configuration.DiskPageCompression;
+import org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordV1Serializer;
+import org.apache.ignite.internal.processors.compress.CompressionProcessor;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.jetbrains.annotations.Nullable;
 
 /**
- * {@link FileIO} that allows to work with ZIP compressed file.
- * Doesn't allow random access and setting {@link FileIO#position()} backwards.
- * Allows sequential reads including setting {@link FileIO#position()} forward.
+ * {@link FileIO} that allows to work with ZIP compressed WAL segment.
+ * <p>
+ * A segment is compressed as a sequence of entries, each one holds a block of whole records and is named after
+ * the WAL pointer offset of the first record of the block and the size of the block, see
+ * {@link #blockEntryName(long, int)}. Blocks are compressed independently, so the central directory of the archive
+ * is an index of the blocks and reading can be started from any of them.
+ * <p>
+ * The first entry of the archive marks the format and names the compression algorithm of the blocks, see
+ * {@link #writeFormatEntry(ZipOutputStream, DiskPageCompression)}. Blocks are deflated by the archive itself if the
+ * algorithm is {@link DiskPageCompression#DISABLED}, otherwise they are compressed by {@link CompressionProcessor}
+ * and stored as is. The marker is not a valid WAL record, so readers which don't know the format fail to read the
+ * segment header. A segment without the marker is compressed as a single deflated entry and is read as one block.
+ * <p>
+ * Allows sequential reads and setting {@link FileIO#position()} to any position, a backward or a far forward seek
+ * restarts decompressing from the beginning of the block containing the new position.
  */
 public class UnzipFileIO extends AbstractFileIO {
-    /** Zip input stream. */
-    private final ZipInputStream zis;
+    /** Name of the entry marking the format of a compressed segment. */
+    public static final String FORMAT_ENTRY_NAME = "format";
+
+    /** First byte of the format entry, it is not a valid WAL record type. */
+    private static final int FORMAT_MARKER = 0xFF;
+
+    /** Version of the format. */
+    private static final int FORMAT_VER = 1;
+
+    /** Suffix of an entry name holding a block of records. */
+    private static final String BLOCK_SUFFIX = ".blk";
+
+    /** Separator of the WAL pointer offset and the size of a block in an entry name. */
+    private static final char SIZE_SEPARATOR = '_';
+
+    /** Zip file. */
+    private final ZipFile zip;
+
+    /** Compression algorithm of the blocks, {@code null} if blocks are deflated by the archive. */
+    @Nullable private final DiskPageCompression compression;
+
+    /** Compression processor, {@code null} if not available. */
+    @Nullable private final CompressionProcessor compressProc;
+
+    /** Block entries. */
+    private final ZipEntry[] entries;
+
+    /** Positions of the blocks in uncompressed data. */
+    private final long[] positions;
+
+    /** WAL pointer offsets of the first records of the blocks. */
+    private final long[] walOffsets;
 
     /** Byte array for draining data. */
     private final byte[] arr = new byte[128 * 1024];
@@ -40,17 +96,222 @@ public class UnzipFileIO extends AbstractFileIO {
     /** Size of uncompressed data. */
     private final long size;
 
+    /** Index of the current block. */
+    private int blockIdx = -1;
+
+    /** Input stream of the current block, {@code null} if the block is not opened or fully read. */
+    private InputStream in;
+
     /** Total bytes read counter. */
-    private long totalBytesRead = 0;
+    private long totalBytesRead;
+
+    /** Sizes of the blocks in uncompressed data. */
+    private final long[] sizes;
 
     /**
      * @param zip Compressed file.
+     * @throws IOException If failed.
      */
     public UnzipFileIO(File zip) throws IOException {
-        zis = new ZipInputStream(new BufferedInputStream(new FileInputStream(zip)));
+        this(zip, null);
+    }
+
+    /**
+     * @param zip Compressed file.
+     * @param compressProc Compression processor, required to read blocks compressed by it.
+     * @throws IOException If failed.
+     */
+    public UnzipFileIO(File zip, @Nullable CompressionProcessor compressProc) throws IOException {
+        this.zip = new ZipFile(zip);
+        this.compressProc = compressProc;
+
+        try {
+            List<? extends ZipEntry> list = Collections.list(this.zip.entries());
+
+            boolean formatted = !list.isEmpty() && FORMAT_ENTRY_NAME.equals(list.get(0).getName());
+
+            compression = formatted ? readFormatEntry(list.get(0)) : null;
+
+            entries = list.subList(formatted ? 1 : 0, list.size()).toArray(new ZipEntry[0]);
+            positions = new long[entries.length];
+            sizes = new long[entries.length];
+            walOffsets = new long[entries.length];
+
+            long size = 0;
+
+            for (int i = 0; i < entries.length; i++) {
+                String name = entries[i].getName();
+
+                positions[i] = size;
+
+                if (formatted) {
+                    int sep = name.indexOf(SIZE_SEPARATOR);
+
+                    if (sep < 0 || !name.endsWith(BLOCK_SUFFIX))
+                        throw new IOException("Unexpected entry of compressed WAL segment [file=" + zip +
+                            ", entry=" + name + ']');
+
+                    walOffsets[i] = Long.parseLong(name.substring(0, sep));
+                    sizes[i] = Long.parseLong(name.substring(sep + 1, name.length() - BLOCK_SUFFIX.length()));
+                }
+                else {
+                    // Segment compressed as a single entry.
+                    walOffsets[i] = i == 0 ? 0 : walOffsets[i - 1];
+                    sizes[i] = entries[i].getSize();
+                }
+
+                size += sizes[i];
+            }
+
+            this.size = size;
+        }
+        catch (IOException | RuntimeException e) {
+            U.closeQuiet(this.zip);
+
+            throw e;
+        }
+    }
+
+    /**
+     * @param walOff WAL pointer offset of the first record of a block.
+     * @param size Size of the block.
+     * @return Name of the archive entry holding the block.
+     */
+    public static String blockEntryName(long walOff, int size) {
+        return String.valueOf(walOff) + SIZE_SEPARATOR + size + BLOCK_SUFFIX;
+    }
+
+    /**
+     * Writes the entry marking the format of a compressed segment, it must be the first entry of the archive.
+     *
+     * @param zos Output stream of the archive.
+     * @param compression Compression algorithm of the blocks, {@link DiskPageCompression#DISABLED} if the blocks are
+     *      deflated by the archive.
+     * @throws IOException If failed.
+     */
+    public static void writeFormatEntry(ZipOutputStream zos, DiskPageCompression compression) throws IOException {
+        byte[] name = compression.name().getBytes(StandardCharsets.US_ASCII);
+
+        // Readers which don't know the format read the entry as the segment header, make it long enough for them.
+        byte[] data = new byte[Math.max(RecordV1Serializer.HEADER_RECORD_SIZE, 3 + name.length)];
+
+        data[0] = (byte)FORMAT_MARKER;
+        data[1] = FORMAT_VER;
+        data[2] = (byte)name.length;
+
+        System.arraycopy(name, 0, data, 3, name.length);
+
+        writeStoredEntry(zos, FORMAT_ENTRY_NAME, data, data.length);
+    }
+
+    /**
+     * Writes a block of records.
+     *
+     * @param zos Output stream of the archive.
+     * @param walOff WAL pointer offset of the first record of the block.
+     * @param buf Block data.
+     * @param len Length of the block data.
+     * @param compression Compression algorithm of the blocks, {@link DiskPageCompression#DISABLED} if the blocks are
+     *      deflated by the archive.
+     * @param compressLevel Compression level.
+     * @param compressProc Compression processor.
+     * @throws IOException If failed.
+     * @throws IgniteCheckedException If failed to compress the block.
+     */
+    public static void writeBlock(
+        ZipOutputStream zos,
+        long walOff,
+        byte[] buf,
+        int len,
+        DiskPageCompression compression,
+        int compressLevel,
+        CompressionProcessor compressProc
+    ) throws IOException, IgniteCheckedException {
+        String name = blockEntryName(walOff, len);
+
+        if (compression == DiskPageCompression.DISABLED) {
+            zos.putNextEntry(new ZipEntry(name));
+            zos.write(buf, 0, len);
+            zos.closeEntry();
+        }
+        else {
+            byte[] compressed = compressProc.compress(buf, 0, len, compression, compressLevel);
+
+            writeStoredEntry(zos, name, compressed, compressed.length);
+        }
+    }
+
+    /**
+     * @param zos Output stream of the archive.
+     * @param name Entry name.
+     * @param data Entry data.
+     * @param len Length of the entry data.
+     * @throws IOException If failed.
+     */
+    private static void writeStoredEntry(ZipOutputStream zos, String name, byte[] data, int len) throws IOException {
+        CRC32 crc = new CRC32();
+
+        crc.update(data, 0, len);
+
+        ZipEntry entry = new ZipEntry(name);
+
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(len);
+        entry.setCompressedSize(len);
+        entry.setCrc(crc.getValue());
+
+        zos.putNextEntry(entry);
+        zos.write(data, 0, len);
+        zos.closeEntry();
+    }
+
+    /**
+     * @param entry Format entry.
+     * @return Compression algorithm of the blocks, {@link DiskPageCompression#DISABLED} if the blocks are deflated by
+     *      the archive.
+     * @throws IOException If the format is not supported.
+     */
+    private DiskPageCompression readFormatEntry(ZipEntry entry) throws IOException {
+        byte[] data = readEntry(entry);
+
+        if (data.length < 3 || (data[0] & 0xFF) != FORMAT_MARKER || data[1] != FORMAT_VER || data.length < 3 + data[2])
+            throw new IOException("Unsupported format of compressed WAL segment [file=" + zip.getName() + ']');
+
+        String name = new String(data, 3, data[2], StandardCharsets.US_ASCII);
+
+        try {
+            return DiskPageCompression.valueOf(name);
+        }
+        catch (IllegalArgumentException e) {
+            throw new IOException("Unsupported compression of WAL segment [file=" + zip.getName() +
+                ", compression=" + name + ']', e);
+        }
+    }
+
+    /**
+     * @param entry Entry.
+     * @return Entry data as stored in the archive.
+     * @throws IOException If failed.
+     */
+    private byte[] readEntry(ZipEntry entry) throws IOException {
+        byte[] data = new byte[(int)entry.getSize()];
+
+        try (DataInputStream in = new DataInputStream(zip.getInputStream(entry))) {
+            in.readFully(data);
+        }
+
+        return data;
+    }
+
+    /**
+     * @param walOff WAL pointer offset of a record.
+     * @return Position of the block the record belongs to, reading from this position reaches the record without
+     *      inflating preceding blocks.
+     */
+    public long blockPosition(long walOff) {
+        int idx = floorIndex(walOffsets, walOff);
 
-        ZipEntry entry = zis.getNextEntry();
-        size = entry.getSize();
+        return idx < 0 ? 0 : positions[idx];
     }
 
     /** {@inheritDoc} */
@@ -78,30 +339,117 @@ public class UnzipFileIO extends AbstractFileIO {
         if (newPosition == totalBytesRead)
             return;
 
-        if (newPosition < totalBytesRead)
-            throw new UnsupportedOperationException("Seeking backwards is not supported.");
+        if (newPosition >= size) {
+            closeBlock();
+
+            blockIdx = entries.length - 1;
+            totalBytesRead = newPosition;
+
+            return;
+        }
+
+        if (newPosition < totalBytesRead || in == null ||
+            newPosition >= positions[blockIdx] + sizes[blockIdx])
+            openBlock(floorIndex(positions, newPosition));
 
         long bytesRemaining = newPosition - totalBytesRead;
 
         while (bytesRemaining > 0) {
-            int bytesToRead = bytesRemaining > arr.length ? arr.length : (int)bytesRemaining;
+            int bytesRead = in.read(arr, 0, (int)Math.min(bytesRemaining, arr.length));
 
-            bytesRemaining -= zis.read(arr, 0, bytesToRead);
+            if (bytesRead == -1)
+                throw new EOFException("Unexpected end of compressed block [pos=" + totalBytesRead + ']');
+
+            bytesRemaining -= bytesRead;
+            totalBytesRead += bytesRead;
         }
     }
 
     /** {@inheritDoc} */
     @Override public int read(ByteBuffer dstBuf) throws IOException {
-        int bytesRead = zis.read(arr, 0, Math.min(dstBuf.remaining(), arr.length));
+        while (true) {
+            if (in == null) {
+                if (blockIdx + 1 >= entries.length)
+                    return -1;
+
+                openBlock(blockIdx + 1);
+            }
+
+            int bytesRead = in.read(arr, 0, Math.min(dstBuf.remaining(), arr.length));
+
+            if (bytesRead == -1) {
+                closeBlock();
+
+                continue;
+            }
 
-        if (bytesRead == -1)
-            return -1;
+            dstBuf.put(arr, 0, bytesRead);
 
-        dstBuf.put(arr, 0, bytesRead);
+            totalBytesRead += bytesRead;
 
-        totalBytesRead += bytesRead;
+            return bytesRead;
+        }
+    }
 
-        return bytesRead;
+    /**
+     * Opens the block for reading from its beginning.
+     *
+     * @param idx Block index.
+     * @throws IOException If failed.
+     */
+    private void openBlock(int idx) throws IOException {
+        closeBlock();
+
+        if (compression == null || compression == DiskPageCompression.DISABLED)
+            in = zip.getInputStream(entries[idx]);
+        else {
+            if (compressProc == null) {
+                throw new IOException("WAL segment is compressed with " + compression + ", make sure that " +
+                    "ignite-compress module is in classpath [file=" + zip.getName() + ']');
+            }
+
+            byte[] block = new byte[(int)sizes[idx]];
+
+            try {
+                compressProc.decompress(readEntry(entries[idx]), block, compression);
+            }
+            catch (IgniteCheckedException e) {
+                throw new IOException("Failed to decompress block of WAL segment [file=" + zip.getName() +
+                    ", block=" + entries[idx].getName() + ']', e);
+            }
+
+            in = new ByteArrayInputStream(block);
+        }
+
+        blockIdx = idx;
+        totalBytesRead = positions[idx];
+    }
+
+    /**
+     * Closes input stream of the current block.
+     */
+    private void closeBlock() {
+        U.closeQuiet(in);
+
+        in = null;
+    }
+
+    /**
+     * @param arr Sorted array.
+     * @param val Value.
+     * @return Index of the last element which is less than or equal to the value, {@code -1} if there is no such one.
+     */
+    private static int floorIndex(long[] arr, long val) {
+        int idx = Arrays.binarySearch(arr, val);
+
+        if (idx < 0)
+            return -idx - 2;
+
+        // Skip empty blocks starting at the same position.
+        while (idx + 1 < arr.length && arr[idx + 1] == val)
+            idx++;
+
+        return idx;
     }
 
     /** {@inheritDoc} */
@@ -111,7 +459,7 @@ public class UnzipFileIO extends AbstractFileIO {
 
     /** {@inheritDoc} */
     @Override public int read(byte[] buf, int off, int len) throws IOException {
-        throw new UnsupportedOperationException();
+        return read(ByteBuffer.wrap(buf, off, len));
     }
 
     /** {@inheritDoc} */
@@ -156,6 +504,8 @@ public class UnzipFileIO extends AbstractFileIO {
 
     /** {@inheritDoc} */
     @Override public void close() throws IOException {
-        zis.close();
+        closeBlock();
+
+        zip.close();
     }
 }
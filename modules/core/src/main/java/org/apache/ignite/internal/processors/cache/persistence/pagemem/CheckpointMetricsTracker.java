@@ -18,6 +18,7 @@
 package org.apache.ignite.internal.processors.cache.persistence.pagemem;
 
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import org.apache.ignite.internal.pagemem.wal.record.CheckpointRecord;
 import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointEntryType;
@@ -65,6 +66,12 @@ public class CheckpointMetricsTracker {
     /** */
     private long cpLockRelease;
 
+    /** Mark start, in nanoseconds. */
+    private long cpMarkStartNanos;
+
+    /** Lock release, in nanoseconds. */
+    private long cpLockReleaseNanos;
+
     /** */
     private long cpPagesWriteStart;
 
@@ -123,11 +130,13 @@ public class CheckpointMetricsTracker {
     /** */
     public void onMarkStart() {
         cpMarkStart = System.currentTimeMillis();
+        cpMarkStartNanos = System.nanoTime();
     }
 
     /** */
     public void onLockRelease() {
         cpLockRelease = System.currentTimeMillis();
+        cpLockReleaseNanos = System.nanoTime();
     }
 
     /** */
@@ -212,6 +221,13 @@ public class CheckpointMetricsTracker {
         return cpLockRelease - cpMarkStart;
     }
 
+    /**
+     * @return Checkpoint lock hold duration in microseconds.
+     */
+    public long lockHoldDurationMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(cpLockReleaseNanos - cpMarkStartNanos);
+    }
+
     /**
      * @return Pages write duration.
      */
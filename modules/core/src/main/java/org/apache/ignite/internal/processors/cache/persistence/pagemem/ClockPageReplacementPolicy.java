@@ -59,6 +59,13 @@ public class ClockPageReplacementPolicy extends PageReplacementPolicy {
         flags.clearFlag(pageIdx);
     }
 
+    /** {@inheritDoc} */
+    @Override public long hotness(long relPtr) {
+        int pageIdx = (int)seg.pageIndex(relPtr);
+
+        return hotness(relPtr, flags.getFlag(pageIdx) ? 1 : 0);
+    }
+
     /** {@inheritDoc} */
     @Override public long replace() throws IgniteCheckedException {
         LoadedPagesMap loadedPages = seg.loadedPages();
@@ -0,0 +1,398 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.configuration.DiskPageCompression;
+import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.processors.cache.persistence.DataRegionMetricsImpl;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
+import org.apache.ignite.internal.processors.compress.CompressionProcessor;
+import org.apache.ignite.internal.util.GridUnsafe;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Off-heap cache of compressed pages replaced from a {@link PageMemoryImpl} segment.
+ * <p>
+ * A page removed for replacement is compressed with {@link CompressionProcessor} and kept here, so the next fault of
+ * this page is served by decompression instead of a disk read. The cache is exclusive: a page is taken out of it once
+ * loaded back to the page memory, so a cached copy can't become stale while the page is modified in memory. Copies of
+ * pages of invalidated partitions are recognized by the partition generation. When the size budget is exceeded the
+ * oldest copies are dropped.
+ * <p>
+ * The page is compressed without the segment lock held: {@link #onPageReplaced(FullPageId, int, ByteBuffer, int)}
+ * reserves an entry and copies the page to a thread local buffer, {@link #finishReplacement()} compresses the copy
+ * after the lock is released. The copy is dropped if the reserved entry has been removed meanwhile, e.g. the page has
+ * been loaded back.
+ */
+class CompressedPageCache {
+    /** Block size passed to the compression, copies are stored with byte granularity. */
+    private static final int BLOCK_SIZE = 1;
+
+    /**
+     * Estimated on-heap size of an entry: the linked map entry, the {@link FullPageId} key and the {@link CachedPage}.
+     * It is counted in the size budget along with the compressed page.
+     */
+    static final int ENTRY_OVERHEAD = 96;
+
+    /** Page replaced by the current thread, which is waiting for compression. */
+    private static final ThreadLocal<Replacement> REPLACEMENT = ThreadLocal.withInitial(Replacement::new);
+
+    /** Compression processor. */
+    private final CompressionProcessor comprProc;
+
+    /** Compression algorithm. */
+    private final DiskPageCompression compression;
+
+    /** Compression level. */
+    private final int compressLevel;
+
+    /** Size budget in bytes. */
+    private final long maxSize;
+
+    /** Data region metrics. */
+    private final DataRegionMetricsImpl metrics;
+
+    /** Cached pages in the order of insertion. */
+    private final LinkedHashMap<FullPageId, CachedPage> entries = new LinkedHashMap<>();
+
+    /** Size of cached pages and entries in bytes. */
+    private long size;
+
+    /**
+     * @param comprProc Compression processor.
+     * @param compression Compression algorithm.
+     * @param maxSize Size budget in bytes.
+     * @param metrics Data region metrics.
+     */
+    CompressedPageCache(
+        CompressionProcessor comprProc,
+        DiskPageCompression compression,
+        long maxSize,
+        DataRegionMetricsImpl metrics
+    ) {
+        this.comprProc = comprProc;
+        this.compression = compression;
+        this.maxSize = maxSize;
+        this.metrics = metrics;
+
+        compressLevel = CompressionProcessor.getDefaultCompressionLevel(compression);
+    }
+
+    /**
+     * Reserves an entry for the page replaced under the segment write lock and copies the page, so that it is
+     * compressed and cached by {@link #finishReplacement()} once the lock is released. A previous copy of the page is
+     * removed.
+     *
+     * @param fullId Full page ID.
+     * @param partGen Generation of the partition the page belongs to.
+     * @param page Page buffer, it is not modified.
+     * @param pageSize Real page size.
+     */
+    void onPageReplaced(FullPageId fullId, int partGen, ByteBuffer page, int pageSize) {
+        Replacement r = REPLACEMENT.get();
+
+        // Drop a copy which was not finished because of an error.
+        r.reset();
+
+        CachedPage reserved;
+
+        synchronized (this) {
+            remove(fullId);
+
+            // Nothing to keep for a page which has never been initialized.
+            if (PageIO.getType(page) == 0 || pageSize + ENTRY_OVERHEAD > maxSize)
+                return;
+
+            reserved = new CachedPage(partGen);
+
+            evict(ENTRY_OVERHEAD);
+
+            entries.put(fullId, reserved);
+
+            onSizeChanged(ENTRY_OVERHEAD);
+        }
+
+        r.init(this, fullId, reserved, page, pageSize);
+    }
+
+    /**
+     * Compresses and caches the page replaced by the current thread, if any. Must be called without the segment lock
+     * held after {@link #onPageReplaced(FullPageId, int, ByteBuffer, int)}.
+     *
+     * @throws IgniteCheckedException If failed.
+     */
+    static void finishReplacement() throws IgniteCheckedException {
+        Replacement r = REPLACEMENT.get();
+
+        if (r.cache == null)
+            return;
+
+        try {
+            r.cache.complete(r.fullId, r.reserved, r.buf, r.pageSize);
+        }
+        finally {
+            r.reset();
+        }
+    }
+
+    /**
+     * @param fullId Full page ID.
+     * @param reserved Reserved entry.
+     * @param page Copy of the page.
+     * @param pageSize Real page size.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void complete(FullPageId fullId, CachedPage reserved, ByteBuffer page, int pageSize)
+        throws IgniteCheckedException {
+        ByteBuffer compressed = comprProc.compressPage(page, pageSize, BLOCK_SIZE, compression, compressLevel);
+
+        int len = compressed == page ? pageSize : PageIO.getCompressedSize(compressed);
+
+        long ptr = GridUnsafe.allocateMemory(len);
+
+        GridUnsafe.copyMemory(GridUnsafe.bufferAddress(compressed), ptr, len);
+
+        synchronized (this) {
+            // Otherwise the page has been loaded back, invalidated or evicted while compressed.
+            if (entries.remove(fullId, reserved)) {
+                onSizeChanged(-ENTRY_OVERHEAD);
+
+                evict(len + ENTRY_OVERHEAD);
+
+                reserved.ptr = ptr;
+                reserved.len = len;
+
+                entries.put(fullId, reserved);
+
+                onSizeChanged(len + ENTRY_OVERHEAD);
+
+                return;
+            }
+        }
+
+        GridUnsafe.freeMemory(ptr);
+    }
+
+    /**
+     * Takes the page out of the cache. A taken entry must be passed to {@link #restore(CachedPage, ByteBuffer, int)}
+     * which releases its memory.
+     *
+     * @param fullId Full page ID.
+     * @param partGen Current generation of the partition the page belongs to.
+     * @return Cached copy of the page or {@code null} if there is no valid one.
+     */
+    @Nullable synchronized CachedPage take(FullPageId fullId, int partGen) {
+        CachedPage e = entries.remove(fullId);
+
+        if (e == null)
+            return null;
+
+        // Not compressed yet or belongs to an invalidated partition.
+        if (e.ptr == 0 || e.partGen != partGen) {
+            onRemoved(e);
+
+            return null;
+        }
+
+        onSizeChanged(-e.len - ENTRY_OVERHEAD);
+
+        return e;
+    }
+
+    /**
+     * Decompresses the taken copy of a page to the buffer and releases the copy.
+     *
+     * @param e Page taken out of the cache.
+     * @param page Page buffer.
+     * @param pageSize Real page size.
+     * @throws IgniteCheckedException If failed.
+     */
+    void restore(CachedPage e, ByteBuffer page, int pageSize) throws IgniteCheckedException {
+        try {
+            long pageAddr = GridUnsafe.bufferAddress(page);
+
+            GridUnsafe.zeroMemory(pageAddr, page.capacity());
+            GridUnsafe.copyMemory(e.ptr, pageAddr, e.len);
+
+            comprProc.decompressPage(page, pageSize);
+        }
+        finally {
+            e.free();
+        }
+    }
+
+    /**
+     * @param fullId Full page ID.
+     */
+    synchronized void remove(FullPageId fullId) {
+        CachedPage e = entries.remove(fullId);
+
+        if (e != null)
+            onRemoved(e);
+    }
+
+    /**
+     * Removes all pages of the cache group.
+     *
+     * @param grpId Cache group ID.
+     */
+    synchronized void removeGroup(int grpId) {
+        Iterator<Map.Entry<FullPageId, CachedPage>> it = entries.entrySet().iterator();
+
+        while (it.hasNext()) {
+            Map.Entry<FullPageId, CachedPage> e = it.next();
+
+            if (e.getKey().groupId() == grpId) {
+                it.remove();
+
+                onRemoved(e.getValue());
+            }
+        }
+    }
+
+    /**
+     * Removes all pages.
+     */
+    synchronized void clear() {
+        for (CachedPage e : entries.values())
+            onRemoved(e);
+
+        entries.clear();
+    }
+
+    /**
+     * Drops the oldest pages until there is enough space in the budget.
+     *
+     * @param len Size to be added.
+     */
+    private void evict(int len) {
+        Iterator<CachedPage> it = entries.values().iterator();
+
+        while (size + len > maxSize) {
+            CachedPage eldest = it.next();
+
+            it.remove();
+
+            onRemoved(eldest);
+        }
+    }
+
+    /**
+     * @param e Page removed from the cache.
+     */
+    private void onRemoved(CachedPage e) {
+        onSizeChanged(-e.len - ENTRY_OVERHEAD);
+
+        e.free();
+    }
+
+    /**
+     * @param delta Size delta.
+     */
+    private void onSizeChanged(long delta) {
+        size += delta;
+
+        metrics.onCompressedPageCacheSizeChanged(delta);
+    }
+
+    /**
+     * Compressed copy of a page.
+     */
+    static class CachedPage {
+        /** Generation of the partition the page belongs to. */
+        private final int partGen;
+
+        /** Address of the compressed page, {@code 0} if the page is not compressed yet. */
+        private long ptr;
+
+        /** Length of the compressed page. */
+        private int len;
+
+        /**
+         * @param partGen Generation of the partition the page belongs to.
+         */
+        private CachedPage(int partGen) {
+            this.partGen = partGen;
+        }
+
+        /** */
+        private void free() {
+            if (ptr != 0)
+                GridUnsafe.freeMemory(ptr);
+        }
+    }
+
+    /**
+     * Page replaced by a thread, which is waiting for compression.
+     */
+    private static class Replacement {
+        /** Cache the page is reserved in, {@code null} if there is no page waiting for compression. */
+        @Nullable private CompressedPageCache cache;
+
+        /** Full page ID. */
+        private FullPageId fullId;
+
+        /** Reserved entry. */
+        private CachedPage reserved;
+
+        /** Real page size. */
+        private int pageSize;
+
+        /** Copy of the page. */
+        private ByteBuffer buf;
+
+        /**
+         * @param cache Cache the page is reserved in.
+         * @param fullId Full page ID.
+         * @param reserved Reserved entry.
+         * @param page Page buffer.
+         * @param pageSize Real page size.
+         */
+        private void init(CompressedPageCache cache, FullPageId fullId, CachedPage reserved, ByteBuffer page,
+            int pageSize) {
+            if (buf == null || buf.capacity() < page.capacity()) {
+                buf = ByteBuffer.allocateDirect(page.capacity());
+
+                buf.order(ByteOrder.nativeOrder());
+            }
+
+            GridUnsafe.copyMemory(GridUnsafe.bufferAddress(page), GridUnsafe.bufferAddress(buf), page.capacity());
+
+            buf.clear();
+            buf.limit(page.capacity());
+
+            this.cache = cache;
+            this.fullId = fullId;
+            this.reserved = reserved;
+            this.pageSize = pageSize;
+        }
+
+        /** */
+        private void reset() {
+            cache = null;
+            fullId = null;
+            reserved = null;
+        }
+    }
+}
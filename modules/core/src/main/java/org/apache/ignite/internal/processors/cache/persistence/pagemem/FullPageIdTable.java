@@ -544,8 +544,8 @@ public class FullPageIdTable implements LoadedPagesMap {
     }
 
     /** {@inheritDoc} */
-    @Override public void forEach(BiConsumer<FullPageId, Long> act) {
-        for (int i = 0; i < capacity; i++) {
+    @Override public void forEach(int startIdx, int endIdx, BiConsumer<FullPageId, Long> act) {
+        for (int i = startIdx; i < endIdx; i++) {
             if (isValuePresentAt(i)) {
                 long base = entryBase(i);
 
@@ -112,12 +112,23 @@ public interface LoadedPagesMap {
         return removeIf(0, capacity(), keyPred);
     }
 
+    /**
+     * Scans the elements at specified mapping range.
+     *
+     * @param startIdx Index to start scan from, inclusive. Bounded with {@link #capacity()}.
+     * @param endIdx Index to end scan at, exclusive. Bounded with {@link #capacity()}.
+     * @param act Visitor/action to be applied to each not empty cell.
+     */
+    public void forEach(int startIdx, int endIdx, BiConsumer<FullPageId, Long> act);
+
     /**
      * Scans all the elements in this table.
      *
      * @param act Visitor/action to be applied to each not empty cell.
      */
-    public void forEach(BiConsumer<FullPageId, Long> act);
+    default void forEach(BiConsumer<FullPageId, Long> act) {
+        forEach(0, capacity(), act);
+    }
 
     /**
      * Interface describing a predicate for Key (cache group ID, page ID). Usage of this predicate prevents odd object
@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import org.apache.ignite.configuration.PageReplacementMode;
+import org.apache.ignite.internal.util.GridUnsafe;
+import org.apache.ignite.internal.util.typedef.internal.U;
+
+/**
+ * Count-min sketch with 4-bit counters, used to estimate page access frequency.
+ *
+ * Each page hash is mapped to one counter in each of the {@link #DEPTH} rows, estimated frequency is the minimum of
+ * these counters. Counters of the row are packed by 16 into a {@code long} word. To keep estimations relevant for the
+ * recent history all counters are halved when count of increments reaches the sample size.
+ *
+ * @see PageReplacementMode#TINY_LFU
+ */
+public class PageFrequencySketch {
+    /** Count of hash functions (rows). */
+    static final int DEPTH = 4;
+
+    /** Max counter value. */
+    static final int MAX_FREQ = 15;
+
+    /** Count of increments per page after which counters are halved. */
+    private static final int SAMPLE_SIZE_PER_PAGE = 10;
+
+    /** Mask to halve all counters of the word. */
+    private static final long HALVE_MASK = 0x7777777777777777L;
+
+    /** Hash functions seeds. */
+    private static final long[] SEEDS = {
+        0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+
+    /** Pointer to memory region to store counters. */
+    private final long tablePtr;
+
+    /** Mask of the table word index. */
+    private final int tableMask;
+
+    /** Count of increments after which counters are halved. */
+    private final int sampleSize;
+
+    /**
+     * Count of increments since the last halving. Updated without synchronization, so some increments can be lost
+     * under concurrent access, which is acceptable for an estimation.
+     */
+    private int size;
+
+    /**
+     * @param totalPagesCnt Total pages count.
+     * @param memPtr Pointer to memory region.
+     */
+    public PageFrequencySketch(int totalPagesCnt, long memPtr) {
+        int tableLen = tableLength(totalPagesCnt);
+
+        tablePtr = memPtr;
+        tableMask = tableLen - 1;
+        sampleSize = (int)Math.min(Integer.MAX_VALUE, (long)totalPagesCnt * SAMPLE_SIZE_PER_PAGE);
+
+        GridUnsafe.zeroMemory(tablePtr, ((long)tableLen) << 3);
+    }
+
+    /**
+     * Increments counters of the page.
+     *
+     * Note: This method can be invoked concurrently with other increments, but not with {@link #ageIfNeeded()}.
+     *
+     * @param hash Page hash.
+     */
+    public void increment(int hash) {
+        boolean added = false;
+
+        for (int i = 0; i < DEPTH; i++)
+            added |= incrementAt(wordIndex(hash, i), counterOffset(hash, i));
+
+        if (added)
+            size++;
+    }
+
+    /**
+     * Gets estimated frequency of the page.
+     *
+     * @param hash Page hash.
+     * @return Estimated frequency, value between {@code 0} and {@link #MAX_FREQ}.
+     */
+    public int frequency(int hash) {
+        int freq = MAX_FREQ;
+
+        for (int i = 0; i < DEPTH; i++) {
+            long word = GridUnsafe.getLongVolatile(null, tablePtr + (((long)wordIndex(hash, i)) << 3));
+
+            freq = Math.min(freq, (int)(word >>> counterOffset(hash, i)) & MAX_FREQ);
+        }
+
+        return freq;
+    }
+
+    /**
+     * Halves all counters if sample size is reached.
+     *
+     * Note: This method must be invoked under exclusive lock.
+     */
+    public void ageIfNeeded() {
+        if (size < sampleSize)
+            return;
+
+        for (long ptr = tablePtr, end = tablePtr + (((long)tableMask + 1) << 3); ptr < end; ptr += 8)
+            GridUnsafe.putLong(ptr, (GridUnsafe.getLong(ptr) >>> 1) & HALVE_MASK);
+
+        size >>>= 1;
+    }
+
+    /**
+     * @param wordIdx Index of the word.
+     * @param off Counter offset inside the word in bits.
+     * @return {@code True} if counter was incremented, {@code false} if it has already reached max value.
+     */
+    private boolean incrementAt(int wordIdx, int off) {
+        long ptr = tablePtr + (((long)wordIdx) << 3);
+        long mask = ((long)MAX_FREQ) << off;
+
+        while (true) {
+            long word = GridUnsafe.getLongVolatile(null, ptr);
+
+            if ((word & mask) == mask)
+                return false;
+
+            if (GridUnsafe.compareAndSwapLong(null, ptr, word, word + (1L << off)))
+                return true;
+        }
+    }
+
+    /**
+     * @param hash Page hash.
+     * @param row Row.
+     * @return Index of the word in the table.
+     */
+    private int wordIndex(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+
+        h += h >>> 32;
+
+        return (int)h & tableMask;
+    }
+
+    /**
+     * @param hash Page hash.
+     * @param row Row.
+     * @return Counter offset inside the word in bits.
+     */
+    private static int counterOffset(int hash, int row) {
+        return ((hash >>> (row << 3)) & 15) << 2;
+    }
+
+    /**
+     * @param pagesCnt Pages count.
+     * @return Count of the table words, 16 counters per 4 pages.
+     */
+    private static int tableLength(int pagesCnt) {
+        return Math.max(8, U.ceilPow2(Math.max(pagesCnt, 1)) >>> 2);
+    }
+
+    /**
+     * Memory required to service {@code pagesCnt} pages.
+     *
+     * @param pagesCnt Pages count.
+     */
+    public static long requiredMemory(int pagesCnt) {
+        return ((long)tableLength(pagesCnt)) << 3;
+    }
+}
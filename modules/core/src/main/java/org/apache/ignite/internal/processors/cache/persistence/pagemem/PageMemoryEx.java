@@ -190,4 +190,26 @@ public interface PageMemoryEx extends PageMemory {
      * Total pages can be placed to memory.
      */
     public long totalPages();
+
+    /**
+     * Visits pages loaded to the memory segment by segment. The loaded pages table of a segment is visited in chunks,
+     * each chunk under the segment read lock, so a page moved within the table between chunks may be missed or
+     * visited twice.
+     *
+     * @param visitor Loaded pages visitor.
+     */
+    public void forEachLoadedPage(LoadedPageVisitor visitor);
+
+    /**
+     * Visitor of pages loaded to the memory.
+     */
+    @FunctionalInterface
+    public interface LoadedPageVisitor {
+        /**
+         * @param grpId Cache group ID.
+         * @param pageId Effective page ID.
+         * @param hotness Page hotness estimated by the page replacement policy.
+         */
+        public void visit(int grpId, long pageId, long hotness);
+    }
 }
@@ -41,6 +41,7 @@ import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.configuration.DataRegionConfiguration;
 import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.DiskPageCompression;
 import org.apache.ignite.configuration.PageReplacementMode;
 import org.apache.ignite.events.EventType;
 import org.apache.ignite.events.PageReplacementStartedEvent;
@@ -51,6 +52,7 @@ import org.apache.ignite.internal.managers.encryption.GridEncryptionManager;
 import org.apache.ignite.internal.mem.DirectMemoryProvider;
 import org.apache.ignite.internal.mem.DirectMemoryRegion;
 import org.apache.ignite.internal.mem.IgniteOutOfMemoryException;
+import org.apache.ignite.internal.mem.NumaPlacement;
 import org.apache.ignite.internal.metric.IoStatisticsHolder;
 import org.apache.ignite.internal.metric.IoStatisticsHolderNoOp;
 import org.apache.ignite.internal.pagemem.FullPageId;
@@ -79,6 +81,7 @@ import org.apache.ignite.internal.processors.cache.persistence.wal.crc.IgniteDat
 import org.apache.ignite.internal.processors.compress.CompressionProcessor;
 import org.apache.ignite.internal.processors.query.GridQueryRowCacheCleaner;
 import org.apache.ignite.internal.util.GridConcurrentHashSet;
+import org.apache.ignite.internal.util.GridIntList;
 import org.apache.ignite.internal.util.GridLongList;
 import org.apache.ignite.internal.util.GridMultiCollectionWrapper;
 import org.apache.ignite.internal.util.GridUnsafe;
@@ -91,6 +94,7 @@ import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.lang.IgniteBiTuple;
 import org.apache.ignite.lang.IgniteOutClosure;
 import org.apache.ignite.spi.encryption.noop.NoopEncryptionSpi;
+import org.apache.ignite.thread.IgniteThread;
 import org.apache.ignite.thread.IgniteThreadFactory;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -163,6 +167,9 @@ public class PageMemoryImpl implements PageMemoryEx {
     /** @see IgniteSystemProperties#IGNITE_LOADED_PAGES_BACKWARD_SHIFT_MAP */
     public static final boolean DFLT_LOADED_PAGES_BACKWARD_SHIFT_MAP = true;
 
+    /** Count of loaded pages table cells visited under one hold of a segment read lock. */
+    private static final int LOADED_PAGES_VISIT_CHUNK = 4096;
+
     /** Tracking io. */
     private static final TrackingPageIO trackingIO = TrackingPageIO.VERSIONS.latest();
 
@@ -189,6 +196,12 @@ public class PageMemoryImpl implements PageMemoryEx {
     /** Page replacement policy factory. */
     private final PageReplacementPolicyFactory pageReplacementPolicyFactory;
 
+    /** Size of the compressed page cache in bytes, {@code 0} if the cache is disabled. */
+    private final long compressedPageCacheSize;
+
+    /** Compression algorithm of the compressed page cache. */
+    private final DiskPageCompression compressedPageCacheCompression;
+
     /** */
     private final ExecutorService asyncRunner;
 
@@ -213,6 +226,14 @@ public class PageMemoryImpl implements PageMemoryEx {
     /** Segments array. */
     private volatile Segment[] segments;
 
+    /**
+     * Indexes of segments by NUMA nodes the segments are allocated on or {@code null} if segments are not bound to
+     * NUMA nodes. Pages of a partition are stored in segments of the partition NUMA node.
+     *
+     * @see NumaPlacement
+     */
+    @Nullable private volatile int[][] numaSegments;
+
     /** @see #safeToUpdate() */
     private final AtomicBoolean safeToUpdate = new AtomicBoolean(true);
 
@@ -355,10 +376,17 @@ public class PageMemoryImpl implements PageMemoryEx {
             case CLOCK:
                 pageReplacementPolicyFactory = new ClockPageReplacementPolicyFactory();
 
+                break;
+            case TINY_LFU:
+                pageReplacementPolicyFactory = new TinyLfuPageReplacementPolicyFactory();
+
                 break;
             default:
                 throw new IgniteException("Unexpected page replacement mode: " + pageReplacementMode);
         }
+
+        compressedPageCacheSize = memCfg == null ? 0 : memCfg.getCompressedPageCacheSize();
+        compressedPageCacheCompression = memCfg == null ? null : memCfg.getCompressedPageCacheCompression();
     }
 
     /** {@inheritDoc} */
@@ -413,6 +441,8 @@ public class PageMemoryImpl implements PageMemoryEx {
 
             initWriteThrottle();
 
+            numaSegments = numaSegments(segments);
+
             this.segments = segments;
 
             if (log.isInfoEnabled()) {
@@ -421,11 +451,49 @@ public class PageMemoryImpl implements PageMemoryEx {
                     ", tableSize=" + U.readableSize(totalTblSize, false) +
                     ", replacementSize=" + U.readableSize(totalReplSize, false) +
                     ", checkpointBuffer=" + U.readableSize(checkpointBuf, false) +
+                    (numaSegments != null ? ", numaNodes=" + numaSegments.length : "") +
                     ']');
             }
         }
     }
 
+    /**
+     * @param segments Segments.
+     * @return Indexes of segments by NUMA nodes or {@code null} if some segment or NUMA node is not bound.
+     */
+    @Nullable private static int[][] numaSegments(Segment[] segments) {
+        int nodes = 0;
+
+        for (Segment seg : segments) {
+            if (seg.numaNode < 0)
+                return null;
+
+            nodes = Math.max(nodes, seg.numaNode + 1);
+        }
+
+        GridIntList[] idxs = new GridIntList[nodes];
+
+        for (int i = 0; i < segments.length; i++) {
+            int node = segments[i].numaNode;
+
+            if (idxs[node] == null)
+                idxs[node] = new GridIntList();
+
+            idxs[node].add(i);
+        }
+
+        int[][] res = new int[nodes][];
+
+        for (int node = 0; node < nodes; node++) {
+            if (idxs[node] == null)
+                return null;
+
+            res[node] = idxs[node].array();
+        }
+
+        return res;
+    }
+
     /**
      * Resolves instance of {@link PagesWriteThrottlePolicy} according to chosen throttle policy.
      */
@@ -669,6 +737,9 @@ public class PageMemoryImpl implements PageMemoryEx {
         if (delayedPageReplacementTracker != null)
             delayedPageReplacementTracker.delayedPageWrite().finishReplacement();
 
+        if (seg.compressedPages != null)
+            CompressedPageCache.finishReplacement();
+
         //we have allocated 'tracking' page, we need to allocate regular one
         return isTrackingPage ? allocatePage(grpId, partId, flags) : pageId;
     }
@@ -756,6 +827,13 @@ public class PageMemoryImpl implements PageMemoryEx {
 
         Segment seg = segment(grpId, pageId);
 
+        if (seg.numaNode >= 0) {
+            int threadNode = IgniteThread.currentThreadNumaNode();
+
+            if (threadNode >= 0)
+                dataRegionMetrics.onNumaPageAccess(threadNode == seg.numaNode);
+        }
+
         seg.readLock().lock();
 
         try {
@@ -773,7 +851,9 @@ public class PageMemoryImpl implements PageMemoryEx {
 
                 seg.acquirePage(absPtr);
 
-                seg.pageReplacementPolicy.onHit(relPtr);
+                // Pages touched by a sequential scan are not promoted to keep the hot set intact.
+                if (!IgniteThread.currentThreadInSequentialScan())
+                    seg.pageReplacementPolicy.onHit(relPtr);
 
                 statHolder.trackLogicalRead(absPtr + PAGE_OVERHEAD);
 
@@ -790,6 +870,7 @@ public class PageMemoryImpl implements PageMemoryEx {
 
         long lockedPageAbsPtr = -1;
         boolean readPageFromStore = false;
+        CompressedPageCache.CachedPage cachedPage = null;
 
         try {
             // Double-check.
@@ -821,7 +902,8 @@ public class PageMemoryImpl implements PageMemoryEx {
 
                 PageHeader.fullPageId(absPtr, fullId);
 
-                touchPage(absPtr, pageReplaced);
+                // Pages loaded by a sequential scan are the first candidates for replacement.
+                touchPage(absPtr, pageReplaced, IgniteThread.currentThreadInSequentialScan() ? 0 : U.currentTimeMillis());
 
                 assert !PageHeader.isAcquired(absPtr) :
                     "Pin counter must be 0 for a new page [relPtr=" + U.hexLong(relPtr) +
@@ -846,8 +928,14 @@ public class PageMemoryImpl implements PageMemoryEx {
                         delayedPageReplacementTracker.waitUnlock(fullId);
 
                     readPageFromStore = true;
+
+                    if (seg.compressedPages != null)
+                        cachedPage = seg.compressedPages.take(fullId, seg.partGeneration(grpId, partId));
                 }
                 else {
+                    if (seg.compressedPages != null)
+                        seg.compressedPages.remove(fullId);
+
                     GridUnsafe.zeroMemory(absPtr + PAGE_OVERHEAD, pageSize());
 
                     // Must init page ID in order to ensure RWLock tag consistency.
@@ -893,7 +981,8 @@ public class PageMemoryImpl implements PageMemoryEx {
             else {
                 absPtr = seg.absolute(relPtr);
 
-                seg.pageReplacementPolicy.onHit(relPtr);
+                if (!IgniteThread.currentThreadInSequentialScan())
+                    seg.pageReplacementPolicy.onHit(relPtr);
             }
 
             seg.acquirePage(absPtr);
@@ -914,6 +1003,9 @@ public class PageMemoryImpl implements PageMemoryEx {
             if (delayedPageReplacementTracker != null)
                 delayedPageReplacementTracker.delayedPageWrite().finishReplacement();
 
+            if (seg.compressedPages != null)
+                CompressedPageCache.finishReplacement();
+
             if (readPageFromStore) {
                 assert lockedPageAbsPtr != -1 : "Page is expected to have a valid address [pageId=" + fullId +
                     ", lockedPageAbsPtr=" + U.hexLong(lockedPageAbsPtr) + ']';
@@ -929,13 +1021,25 @@ public class PageMemoryImpl implements PageMemoryEx {
                 long startReadTs = System.nanoTime();
 
                 try {
-                    pmPageMgr.read(grpId, pageId, buf, false);
+                    if (cachedPage != null) {
+                        seg.compressedPages.restore(cachedPage, buf, realPageSize(grpId));
 
-                    statHolder.trackPhysicalAndLogicalRead(pageAddr);
+                        statHolder.trackLogicalRead(pageAddr);
 
-                    actualPageId = PageIO.getPageId(buf);
+                        dataRegionMetrics.onCompressedPageCacheAccess(true);
+                    }
+                    else {
+                        pmPageMgr.read(grpId, pageId, buf, false);
 
-                    dataRegionMetrics.onPageRead(System.nanoTime() - startReadTs);
+                        statHolder.trackPhysicalAndLogicalRead(pageAddr);
+
+                        dataRegionMetrics.onPageRead(System.nanoTime() - startReadTs);
+
+                        if (seg.compressedPages != null)
+                            dataRegionMetrics.onCompressedPageCacheAccess(false);
+                    }
+
+                    actualPageId = PageIO.getPageId(buf);
 
                     if (PageIO.isIndexPage(PageIO.getType(buf)))
                         dataRegionMetrics.cacheGrpPageMetrics(grpId).indexPages().increment();
@@ -1154,6 +1258,8 @@ public class PageMemoryImpl implements PageMemoryEx {
             if (seg.checkpointPages != null)
                 throw new IgniteException("Failed to begin checkpoint (it is already in progress).");
 
+            // The dirty pages collection is handed over as is and replaced with a new generation, so this is called
+            // under the checkpoint write lock at O(segments) cost. Pages are split and sorted after the lock release.
             Collection<FullPageId> dirtyPages = seg.dirtyPages;
             collections[i] = dirtyPages;
 
@@ -1470,6 +1576,9 @@ public class PageMemoryImpl implements PageMemoryEx {
 
             try {
                 seg.resetGroupPartitionsGeneration(grpId);
+
+                if (seg.compressedPages != null)
+                    seg.compressedPages.removeGroup(grpId);
             }
             finally {
                 seg.writeLock().unlock();
@@ -1526,6 +1635,41 @@ public class PageMemoryImpl implements PageMemoryEx {
         return total;
     }
 
+    /** {@inheritDoc} */
+    @Override public void forEachLoadedPage(LoadedPageVisitor visitor) {
+        Segment[] segments = this.segments;
+
+        if (segments == null)
+            return;
+
+        for (Segment seg : segments) {
+            if (seg == null)
+                break;
+
+            int cap = seg.loadedPages.capacity();
+
+            // Page faults and replacements of the segment wait for the read lock release.
+            for (int start = 0; start < cap; start += LOADED_PAGES_VISIT_CHUNK) {
+                int end = Math.min(start + LOADED_PAGES_VISIT_CHUNK, cap);
+
+                seg.readLock().lock();
+
+                try {
+                    if (seg.closed)
+                        break;
+
+                    seg.loadedPages.forEach(start, end, (fullId, relPtr) -> {
+                        if (relPtr != OUTDATED_REL_PTR)
+                            visitor.visit(fullId.groupId(), fullId.pageId(), seg.pageReplacementPolicy.hotness(relPtr));
+                    });
+                }
+                finally {
+                    seg.readLock().unlock();
+                }
+            }
+        }
+    }
+
     /**
      * @return Total number of acquired pages.
      */
@@ -1583,7 +1727,7 @@ public class PageMemoryImpl implements PageMemoryEx {
      * @return Pointer to the page read buffer.
      */
     private long readLock(long absPtr, long pageId, boolean force) {
-        return readLock(absPtr, pageId, force, true);
+        return readLock(absPtr, pageId, force, !IgniteThread.currentThreadInSequentialScan());
     }
 
     /** {@inheritDoc} */
@@ -1605,6 +1749,28 @@ public class PageMemoryImpl implements PageMemoryEx {
         return absPtr + PAGE_OVERHEAD;
     }
 
+    /** {@inheritDoc} */
+    @Override public long tryOptimisticRead(int grpId, long pageId, long page) {
+        assert started;
+
+        long stamp = rwLock.tryOptimisticRead(page + PAGE_LOCK_OFFSET, PageIdUtils.tag(pageId));
+
+        if (stamp != 0L)
+            touchPage(page, true);
+
+        return stamp;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long optimisticReadAddress(long page) {
+        return page + PAGE_OVERHEAD;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean validateOptimisticRead(int grpId, long pageId, long page, long stamp) {
+        return rwLock.validate(page + PAGE_LOCK_OFFSET, stamp);
+    }
+
     /** {@inheritDoc} */
     @Override public long readLockForce(int grpId, long pageId, long page) {
         assert started;
@@ -1908,11 +2074,29 @@ public class PageMemoryImpl implements PageMemoryEx {
      * @return Segment.
      */
     private Segment segment(int grpId, long pageId) {
-        int idx = segmentIndex(grpId, pageId, segments.length);
+        int idx = segmentIndex(grpId, pageId, segments.length, numaSegments);
 
         return segments[idx];
     }
 
+    /**
+     * @param pageId Page ID.
+     * @param segments Count of segments.
+     * @param numaSegs Indexes of segments by NUMA nodes or {@code null} if segments are not bound to NUMA nodes.
+     * @return Segment index.
+     */
+    static int segmentIndex(int grpId, long pageId, int segments, @Nullable int[][] numaSegs) {
+        int partId = PageIdUtils.partId(pageId);
+
+        // Index pages are shared by all the partitions, so they are spread over all the segments.
+        if (numaSegs == null || partId == PageIdAllocator.INDEX_PARTITION)
+            return segmentIndex(grpId, pageId, segments);
+
+        int[] nodeSegs = numaSegs[NumaPlacement.node(partId, numaSegs.length)];
+
+        return nodeSegs[segmentIndex(grpId, pageId, nodeSegs.length)];
+    }
+
     /**
      * @param pageId Page ID.
      * @return Segment index.
@@ -2035,6 +2219,12 @@ public class PageMemoryImpl implements PageMemoryEx {
         /** */
         private boolean closed;
 
+        /** Compressed copies of pages replaced from this segment, {@code null} if the cache is disabled. */
+        @Nullable private final CompressedPageCache compressedPages;
+
+        /** NUMA node the segment is allocated on or {@code -1} if the segment is not bound to a node. */
+        private final int numaNode;
+
         /**
          * @param region Memory region.
          * @param throttlingPlc policy determine if write throttling enabled and its type.
@@ -2042,6 +2232,8 @@ public class PageMemoryImpl implements PageMemoryEx {
         private Segment(int idx, DirectMemoryRegion region, int cpPoolPages, ThrottlingPolicy throttlingPlc) {
             long totalMemory = region.size();
 
+            numaNode = region.numaNode();
+
             int pages = (int)(totalMemory / sysPageSize);
 
             acquiredPagesPtr = region.address();
@@ -2074,6 +2266,11 @@ public class PageMemoryImpl implements PageMemoryEx {
             maxDirtyPages = throttlingPlc != ThrottlingPolicy.DISABLED
                 ? pool.pages() * 3L / 4
                 : Math.min(pool.pages() * 2L / 3, cpPoolPages);
+
+            compressedPages = compressedPageCacheSize > 0
+                ? new CompressedPageCache(ctx.kernalContext().compress(), compressedPageCacheCompression,
+                    compressedPageCacheSize / (sizes.length - 1), dataRegionMetrics)
+                : null;
         }
 
         /**
@@ -2084,6 +2281,9 @@ public class PageMemoryImpl implements PageMemoryEx {
 
             try {
                 closed = true;
+
+                if (compressedPages != null)
+                    compressedPages.clear();
             }
             finally {
                 writeLock().unlock();
@@ -2215,6 +2415,17 @@ public class PageMemoryImpl implements PageMemoryEx {
 
             loadedPages.remove(fullPageId.groupId(), fullPageId.effectivePageId());
 
+            // The page on disk is up to date at this point (or is going to be by the delayed write), keep a copy.
+            // It is compressed after the segment lock is released.
+            if (compressedPages != null) {
+                compressedPages.onPageReplaced(
+                    fullPageId,
+                    partGeneration(fullPageId.groupId(), PageIdUtils.partId(fullPageId.pageId())),
+                    wrapPointer(absPtr + PAGE_OVERHEAD, pageSize()),
+                    realPageSize(fullPageId.groupId())
+                );
+            }
+
             if (PageIO.isIndexPage(PageIO.getType(absPtr + PAGE_OVERHEAD))) {
                 int grpId = fullPageId.groupId();
                 dataRegionMetrics.cacheGrpPageMetrics(grpId).indexPages().decrement();
@@ -2526,8 +2737,17 @@ public class PageMemoryImpl implements PageMemoryEx {
      * @param pageExists Page already exists in page memory (histogram for old timestamp should be changed).
      */
     private void touchPage(long absPtr, boolean pageExists) {
-        long newTs = U.currentTimeMillis();
+        touchPage(absPtr, pageExists, U.currentTimeMillis());
+    }
 
+    /**
+     * Update timestamp for the page and reflect this change to the hot/cold pages histogram.
+     *
+     * @param absPtr Absolute pointer.
+     * @param pageExists Page already exists in page memory (histogram for old timestamp should be changed).
+     * @param newTs New timestamp.
+     */
+    private void touchPage(long absPtr, boolean pageExists, long newTs) {
         long oldTs = PageHeader.writeTimestamp(absPtr, newTs);
 
         if (pageExists)
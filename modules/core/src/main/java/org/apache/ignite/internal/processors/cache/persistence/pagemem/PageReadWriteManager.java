@@ -45,6 +45,34 @@ public interface PageReadWriteManager {
      */
     public PageStore write(int grpId, long pageId, ByteBuffer pageBuf, int tag, boolean calculateCrc) throws IgniteCheckedException;
 
+    /**
+     * Writes pages with consecutive indexes of the same partition, the pages may be written with a single request.
+     *
+     * @param grpId Cache group ID.
+     * @param pageIds IDs of pages with consecutive indexes.
+     * @param pagesBuf Buffer with {@code cnt} pages one after another, starting from position {@code 0}.
+     * @param cnt Number of pages to write.
+     * @return Page store the pages were written to.
+     * @throws IgniteCheckedException If failed to write pages.
+     */
+    public default PageStore write(
+        int grpId,
+        long[] pageIds,
+        ByteBuffer pagesBuf,
+        int cnt,
+        int tag,
+        boolean calculateCrc
+    ) throws IgniteCheckedException {
+        PageStore store = null;
+
+        int pageSize = pagesBuf.limit() / cnt;
+
+        for (int i = 0; i < cnt; i++)
+            store = write(grpId, pageIds[i], PageStore.pageBuffer(pagesBuf, i, pageSize), tag, calculateCrc);
+
+        return store;
+    }
+
     /**
      * Allocates a page for the given page space.
      *
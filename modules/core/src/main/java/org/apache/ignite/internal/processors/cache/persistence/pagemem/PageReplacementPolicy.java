@@ -58,6 +58,30 @@ public abstract class PageReplacementPolicy {
         // No-op.
     }
 
+    /**
+     * Estimates how hot the page is. Hotter pages are preferred when the resident pages are recorded to warm up the
+     * data region on node restart.
+     *
+     * Note: This method can be invoked under segment read lock.
+     *
+     * @return Page hotness, comparable between pages of the same policy.
+     */
+    public long hotness(long relPtr) {
+        return hotness(relPtr, 0);
+    }
+
+    /**
+     * @param relPtr Relative pointer to page.
+     * @param rank Policy specific rank of the page, takes precedence over the last access time.
+     * @return Page hotness.
+     */
+    protected final long hotness(long relPtr, int rank) {
+        assert rank >= 0 && rank < (1 << 22) : rank;
+
+        // Timestamp has low byte cleared, so it fits 41 bits after shift for many years ahead.
+        return ((long)rank << 41) | (PageHeader.readTimestamp(seg.absolute(relPtr)) >>> 8);
+    }
+
     /**
      * Finds page to replace.
      *
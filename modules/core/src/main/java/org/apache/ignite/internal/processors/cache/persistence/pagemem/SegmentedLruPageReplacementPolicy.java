@@ -64,6 +64,13 @@ public class SegmentedLruPageReplacementPolicy extends PageReplacementPolicy {
         lruList.remove(pageIdx);
     }
 
+    /** {@inheritDoc} */
+    @Override public long hotness(long relPtr) {
+        int pageIdx = (int)seg.pageIndex(relPtr);
+
+        return hotness(relPtr, lruList.protectedPage(pageIdx) ? 1 : 0);
+    }
+
     /** {@inheritDoc} */
     @Override public long replace() throws IgniteCheckedException {
         LoadedPagesMap loadedPages = seg.loadedPages();
@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.configuration.PageReplacementMode;
+import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+import org.apache.ignite.internal.util.GridUnsafe;
+
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.INVALID_REL_PTR;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.OUTDATED_REL_PTR;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.SegmentedLruPageList.NULL_IDX;
+
+/**
+ * Window TinyLFU page replacement policy implementation.
+ *
+ * @see PageReplacementMode#TINY_LFU
+ */
+public class TinyLfuPageReplacementPolicy extends PageReplacementPolicy {
+    /** Ratio to limit count of pages in the admission window. */
+    private static final double WINDOW_TO_TOTAL_PAGES_RATIO = 0.01;
+
+    /** Admission window list, new pages are added here. */
+    private final SegmentedLruPageList windowList;
+
+    /** Main segmented-LRU list, contains pages admitted from the window. */
+    private final SegmentedLruPageList mainList;
+
+    /** Pointer to memory region to store window membership flags. */
+    private final long windowFlagsPtr;
+
+    /** Page access frequency sketch. */
+    private final PageFrequencySketch sketch;
+
+    /** Window pages limit. */
+    private final int windowPagesLimit;
+
+    /** Count of pages in the window. */
+    private int windowPagesCnt;
+
+    /**
+     * @param seg Page memory segment.
+     * @param ptr Pointer to memory region.
+     * @param pagesCnt Pages count.
+     */
+    protected TinyLfuPageReplacementPolicy(PageMemoryImpl.Segment seg, long ptr, int pagesCnt) {
+        super(seg);
+
+        long listMem = SegmentedLruPageList.requiredMemory(pagesCnt);
+
+        windowList = new SegmentedLruPageList(pagesCnt, ptr);
+        mainList = new SegmentedLruPageList(pagesCnt, ptr + listMem);
+
+        windowFlagsPtr = ptr + 2 * listMem;
+
+        GridUnsafe.zeroMemory(windowFlagsPtr, flagsMemory(pagesCnt));
+
+        sketch = new PageFrequencySketch(pagesCnt, windowFlagsPtr + flagsMemory(pagesCnt));
+
+        windowPagesLimit = Math.max(1, (int)(pagesCnt * WINDOW_TO_TOTAL_PAGES_RATIO));
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onHit(long relPtr) {
+        int pageIdx = (int)seg.pageIndex(relPtr);
+
+        sketch.increment(pageHash(pageIdx));
+
+        // Window is a FIFO queue, only pages of the main list are reordered.
+        if (!inWindow(pageIdx))
+            mainList.moveToTail(pageIdx);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onMiss(long relPtr) {
+        int pageIdx = (int)seg.pageIndex(relPtr);
+
+        sketch.increment(pageHash(pageIdx));
+
+        windowList.addToTail(pageIdx, false);
+
+        inWindow(pageIdx, true);
+
+        windowPagesCnt++;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onRemove(long relPtr) {
+        int pageIdx = (int)seg.pageIndex(relPtr);
+
+        if (inWindow(pageIdx)) {
+            windowList.remove(pageIdx);
+
+            inWindow(pageIdx, false);
+
+            windowPagesCnt--;
+        }
+        else
+            mainList.remove(pageIdx);
+    }
+
+    /** {@inheritDoc} */
+    @Override public long hotness(long relPtr) {
+        int pageIdx = (int)seg.pageIndex(relPtr);
+
+        return hotness(relPtr, frequency(pageIdx));
+    }
+
+    /** {@inheritDoc} */
+    @Override public long replace() throws IgniteCheckedException {
+        LoadedPagesMap loadedPages = seg.loadedPages();
+
+        sketch.ageIfNeeded();
+
+        for (int i = 0; i < loadedPages.size(); i++) {
+            int pageIdx = nextVictim();
+
+            long relPtr = seg.relative(pageIdx);
+            long absPtr = seg.absolute(relPtr);
+
+            FullPageId fullId = PageHeader.fullPageId(absPtr);
+
+            // Check loaded pages map for outdated page.
+            relPtr = loadedPages.get(
+                fullId.groupId(),
+                fullId.effectivePageId(),
+                seg.partGeneration(fullId.groupId(), PageIdUtils.partId(fullId.pageId())),
+                INVALID_REL_PTR,
+                OUTDATED_REL_PTR
+            );
+
+            assert relPtr != INVALID_REL_PTR;
+
+            if (relPtr == OUTDATED_REL_PTR)
+                return seg.refreshOutdatedPage(fullId.groupId(), fullId.pageId(), true);
+
+            if (seg.tryToRemovePage(fullId, absPtr))
+                return relPtr;
+
+            // Page is in use, return it to the main list.
+            mainList.addToTail(pageIdx, true);
+        }
+
+        throw seg.oomException("no pages to replace");
+    }
+
+    /**
+     * Chooses the next page to replace and removes it from the lists. If the window is overflown, the oldest window
+     * page competes with the head of the main list: the page with the higher estimated frequency is kept in the main
+     * list and the other one is replaced. Otherwise, the head of the main list is replaced.
+     *
+     * @return Page index.
+     */
+    private int nextVictim() {
+        int victimIdx = mainList.headIdx();
+
+        if (windowPagesCnt > windowPagesLimit || victimIdx == NULL_IDX) {
+            int candidateIdx = windowList.poll();
+
+            if (candidateIdx == NULL_IDX)
+                return mainList.poll();
+
+            inWindow(candidateIdx, false);
+
+            windowPagesCnt--;
+
+            if (victimIdx == NULL_IDX || frequency(candidateIdx) <= frequency(victimIdx))
+                return candidateIdx;
+
+            mainList.remove(victimIdx);
+            mainList.addToTail(candidateIdx, false);
+
+            return victimIdx;
+        }
+
+        return mainList.poll();
+    }
+
+    /**
+     * @param pageIdx Page index.
+     * @return Estimated access frequency of the page.
+     */
+    private int frequency(int pageIdx) {
+        return sketch.frequency(pageHash(pageIdx));
+    }
+
+    /**
+     * @param pageIdx Page index.
+     * @return Hash of the page, which is currently stored in the page slot.
+     */
+    private int pageHash(int pageIdx) {
+        long absPtr = seg.absolute(seg.relative(pageIdx));
+
+        return FullPageId.hashCode(PageHeader.readPageGroupId(absPtr), PageHeader.readPageId(absPtr));
+    }
+
+    /**
+     * @param pageIdx Page index.
+     * @return {@code True} if the page is in the admission window.
+     */
+    private boolean inWindow(int pageIdx) {
+        return (GridUnsafe.getLong(windowFlagsPtr + ((pageIdx >> 3) & (~7L))) & (1L << pageIdx)) != 0L;
+    }
+
+    /**
+     * Window membership flags are only changed under segment write lock, no CAS required.
+     *
+     * @param pageIdx Page index.
+     * @param flag Flag value.
+     */
+    private void inWindow(int pageIdx, boolean flag) {
+        long ptr = windowFlagsPtr + ((pageIdx >> 3) & (~7L));
+
+        long flags = GridUnsafe.getLong(ptr);
+
+        GridUnsafe.putLong(ptr, flag ? flags | (1L << pageIdx) : flags & ~(1L << pageIdx));
+    }
+
+    /**
+     * @param pagesCnt Pages count.
+     * @return Memory required for window membership flags, 1 bit per page + 8 byte align.
+     */
+    private static long flagsMemory(int pagesCnt) {
+        return ((pagesCnt + 63L) / 8) & (~7L);
+    }
+
+    /**
+     * Memory required to service {@code pagesCnt} pages.
+     *
+     * @param pagesCnt Pages count.
+     */
+    public static long requiredMemory(int pagesCnt) {
+        return 2 * SegmentedLruPageList.requiredMemory(pagesCnt) + flagsMemory(pagesCnt) +
+            PageFrequencySketch.requiredMemory(pagesCnt);
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.snapshot;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.apache.ignite.IgniteSystemProperties;
+import org.apache.ignite.internal.pagemem.store.PageWriteListener;
+import org.apache.ignite.internal.processors.cache.persistence.partstate.GroupPartitionId;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.internal.pagemem.PageIdUtils.pageIndex;
+
+/**
+ * Tracks indexes of pages written to partition files since the last cluster snapshot, so the next snapshot can be
+ * created as a differential one: only pages changed since its base snapshot are copied for tracked partitions.
+ * <p>
+ * A new tracking epoch is started for the partitions of a cluster snapshot under the checkpoint write lock, when
+ * partition files are not written, the same way snapshot delta writers are registered. Pages are marked by
+ * {@link PageWriteListener}s of partition page stores, so both checkpoint and page replacement writes are tracked.
+ * A partition stops being tracked when its file is truncated or replaced, such partitions and partitions created
+ * after the base snapshot are copied in full.
+ * <p>
+ * Changed pages are kept in memory only, so the first snapshot after node restart copies all partitions in full.
+ */
+public class ChangedPagesTracker {
+    /** Default value of {@link IgniteSystemProperties#IGNITE_SNAPSHOT_TRACK_CHANGED_PAGES}. */
+    public static final boolean DFLT_SNAPSHOT_TRACK_CHANGED_PAGES = false;
+
+    /** {@code True} if changed pages are tracked. */
+    private final boolean enabled;
+
+    /** Current tracking epoch, {@code null} until the first snapshot. */
+    private volatile @Nullable Epoch epoch;
+
+    /**
+     * @param enabled {@code True} if changed pages are tracked.
+     */
+    public ChangedPagesTracker(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return {@code True} if changed pages are tracked.
+     */
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * @param grpId Cache group ID.
+     * @param partId Partition ID.
+     * @return Listener marking pages written to the partition store or {@code null} if tracking is disabled.
+     */
+    public @Nullable PageWriteListener listener(int grpId, int partId) {
+        if (!enabled)
+            return null;
+
+        GroupPartitionId pair = new GroupPartitionId(grpId, partId);
+
+        return (pageId, buf) -> {
+            Epoch epoch0 = epoch;
+
+            if (epoch0 == null)
+                return;
+
+            ChangedPages pages = epoch0.parts.get(pair);
+
+            if (pages != null)
+                pages.set(pageIndex(pageId));
+        };
+    }
+
+    /**
+     * Stops tracking of the partition, e.g. if its file has been truncated or replaced.
+     *
+     * @param grpId Cache group ID.
+     * @param partId Partition ID.
+     */
+    public void invalidate(int grpId, int partId) {
+        Epoch epoch0 = epoch;
+
+        if (epoch0 != null)
+            epoch0.parts.remove(new GroupPartitionId(grpId, partId));
+    }
+
+    /**
+     * Stops tracking of all partitions of the cache group, e.g. if the cache group has been destroyed.
+     *
+     * @param grpId Cache group ID.
+     */
+    public void invalidate(int grpId) {
+        Epoch epoch0 = epoch;
+
+        if (epoch0 != null)
+            epoch0.parts.keySet().removeIf(pair -> pair.getGroupId() == grpId);
+    }
+
+    /**
+     * Starts a new tracking epoch. Must be called under the checkpoint write lock.
+     *
+     * @param snpName Name of the snapshot which starts the epoch.
+     * @param parts Partitions of the snapshot by cache group IDs.
+     * @return Previous epoch or {@code null} if there is no one or tracking is disabled.
+     */
+    @Nullable Epoch reset(String snpName, Map<Integer, Set<Integer>> parts) {
+        if (!enabled)
+            return null;
+
+        Map<GroupPartitionId, ChangedPages> tracked = new ConcurrentHashMap<>();
+
+        parts.forEach((grpId, grpParts) -> grpParts.forEach(partId ->
+            tracked.put(new GroupPartitionId(grpId, partId), new ChangedPages())));
+
+        Epoch prev = epoch;
+
+        epoch = new Epoch(snpName, tracked);
+
+        return prev;
+    }
+
+    /**
+     * Stops tracking if the current epoch has been started by the given snapshot, which has failed. Changes of the
+     * previous epoch are not restored, so the next snapshot copies all partitions in full.
+     *
+     * @param snpName Snapshot name.
+     */
+    void onSnapshotFailed(String snpName) {
+        Epoch epoch0 = epoch;
+
+        if (epoch0 != null && epoch0.snpName.equals(snpName))
+            epoch = null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(ChangedPagesTracker.class, this);
+    }
+
+    /**
+     * Pages changed since a snapshot.
+     */
+    static class Epoch {
+        /** Name of the snapshot which started the epoch. */
+        private final String snpName;
+
+        /** Changed pages of tracked partitions. */
+        private final Map<GroupPartitionId, ChangedPages> parts;
+
+        /**
+         * @param snpName Name of the snapshot which started the epoch.
+         * @param parts Changed pages of tracked partitions.
+         */
+        Epoch(String snpName, Map<GroupPartitionId, ChangedPages> parts) {
+            this.snpName = snpName;
+            this.parts = parts;
+        }
+
+        /**
+         * @return Name of the snapshot which started the epoch.
+         */
+        String snapshotName() {
+            return snpName;
+        }
+
+        /**
+         * @param pair Cache group and partition IDs.
+         * @return Changed pages of the partition or {@code null} if the partition is not tracked.
+         */
+        @Nullable ChangedPages pages(GroupPartitionId pair) {
+            return parts.get(pair);
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return S.toString(Epoch.class, this, "partCnt", parts.size());
+        }
+    }
+
+    /**
+     * Concurrent growable bitmap of page indexes. Bits are allocated by chunks, so pages of a large partition file
+     * written in a small range don't take memory for the whole file.
+     */
+    static class ChangedPages {
+        /** Shift of a chunk index in a page index. */
+        private static final int CHUNK_SHIFT = 16;
+
+        /** Count of words in a chunk. */
+        private static final int CHUNK_WORDS = (1 << CHUNK_SHIFT) / Long.SIZE;
+
+        /** Chunks of bits, elements are {@code null} for chunks with no pages marked. */
+        private volatile AtomicLongArray[] chunks = new AtomicLongArray[0];
+
+        /**
+         * @param pageIdx Page index.
+         */
+        void set(int pageIdx) {
+            int chunkIdx = pageIdx >>> CHUNK_SHIFT;
+
+            AtomicLongArray[] chunks0 = chunks;
+
+            AtomicLongArray chunk = chunkIdx < chunks0.length ? chunks0[chunkIdx] : null;
+
+            if (chunk == null)
+                chunk = chunk(chunkIdx);
+
+            int wordIdx = (pageIdx & ((1 << CHUNK_SHIFT) - 1)) >>> 6;
+            long mask = 1L << pageIdx;
+
+            long word;
+
+            do {
+                word = chunk.get(wordIdx);
+            }
+            while ((word & mask) == 0 && !chunk.compareAndSet(wordIdx, word, word | mask));
+        }
+
+        /**
+         * @param chunkIdx Chunk index.
+         * @return Chunk, allocated if absent.
+         */
+        private synchronized AtomicLongArray chunk(int chunkIdx) {
+            AtomicLongArray[] chunks0 = chunks;
+
+            if (chunkIdx < chunks0.length && chunks0[chunkIdx] != null)
+                return chunks0[chunkIdx];
+
+            chunks0 = Arrays.copyOf(chunks0, Math.max(chunks0.length, chunkIdx + 1));
+
+            AtomicLongArray chunk = new AtomicLongArray(CHUNK_WORDS);
+
+            chunks0[chunkIdx] = chunk;
+
+            chunks = chunks0;
+
+            return chunk;
+        }
+
+        /**
+         * @return Snapshot of marked page indexes.
+         */
+        BitSet toBitSet() {
+            AtomicLongArray[] chunks0 = chunks;
+
+            long[] words = new long[chunks0.length * CHUNK_WORDS];
+
+            for (int i = 0; i < chunks0.length; i++) {
+                AtomicLongArray chunk = chunks0[i];
+
+                if (chunk == null)
+                    continue;
+
+                for (int j = 0; j < CHUNK_WORDS; j++)
+                    words[i * CHUNK_WORDS + j] = chunk.get(j);
+            }
+
+            return BitSet.valueOf(words);
+        }
+    }
+}
@@ -194,6 +194,7 @@ import org.jetbrains.annotations.Nullable;
 
 import static java.nio.file.StandardOpenOption.READ;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_SNAPSHOT_SEQUENTIAL_WRITE;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SNAPSHOT_TRACK_CHANGED_PAGES;
 import static org.apache.ignite.configuration.DataStorageConfiguration.DFLT_BINARY_METADATA_PATH;
 import static org.apache.ignite.configuration.DataStorageConfiguration.DFLT_MARSHALLER_PATH;
 import static org.apache.ignite.configuration.DataStorageConfiguration.DFLT_WAL_PATH;
@@ -230,6 +231,7 @@ import static org.apache.ignite.internal.processors.cache.persistence.filename.P
 import static org.apache.ignite.internal.processors.cache.persistence.metastorage.MetaStorage.METASTORAGE_CACHE_ID;
 import static org.apache.ignite.internal.processors.cache.persistence.metastorage.MetaStorage.METASTORAGE_CACHE_NAME;
 import static org.apache.ignite.internal.processors.cache.persistence.partstate.GroupPartitionId.getTypeByPartId;
+import static org.apache.ignite.internal.processors.cache.persistence.snapshot.ChangedPagesTracker.DFLT_SNAPSHOT_TRACK_CHANGED_PAGES;
 import static org.apache.ignite.internal.processors.cache.persistence.snapshot.SnapshotRestoreProcess.formatTmpDirName;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO.T_DATA;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO.getPageIO;
@@ -464,6 +466,10 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
     private final boolean sequentialWrite =
         IgniteSystemProperties.getBoolean(IGNITE_SNAPSHOT_SEQUENTIAL_WRITE, DFLT_IGNITE_SNAPSHOT_SEQUENTIAL_WRITE);
 
+    /** Tracker of pages changed since the last cluster snapshot. */
+    private final ChangedPagesTracker changedPagesTracker = new ChangedPagesTracker(
+        IgniteSystemProperties.getBoolean(IGNITE_SNAPSHOT_TRACK_CHANGED_PAGES, DFLT_SNAPSHOT_TRACK_CHANGED_PAGES));
+
     /**
      * @param ctx Kernal context.
      */
@@ -742,12 +748,34 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
      * @param folderName Local node folder name (see {@link U#maskForFileName} with consistent id).
      */
     public void deleteSnapshot(File snpDir, String folderName) {
+        deleteSnapshot(snpDir, folderName, false);
+    }
+
+    /**
+     * @param snpDir Snapshot dir.
+     * @param folderName Local node folder name (see {@link U#maskForFileName} with consistent id).
+     * @param cascade If {@code true}, differential snapshots based on the snapshot are deleted with it. Otherwise,
+     *      the snapshot is not deleted if it is the base of a differential snapshot.
+     */
+    public void deleteSnapshot(File snpDir, String folderName, boolean cascade) {
         if (!snpDir.exists())
             return;
 
         if (!snpDir.isDirectory())
             return;
 
+        Collection<File> diffSnpDirs = differentialSnapshotDirectories(snpDir, folderName);
+
+        if (!diffSnpDirs.isEmpty()) {
+            if (!cascade) {
+                throw new IgniteException("Snapshot can't be deleted, it is the base of differential snapshots " +
+                    "[snpName=" + snpDir.getName() + ", diffSnps=" + F.viewReadOnly(diffSnpDirs, File::getName) + ']');
+            }
+
+            for (File diffSnpDir : diffSnpDirs)
+                deleteSnapshot(diffSnpDir, folderName, true);
+        }
+
         try {
             File binDir = binaryWorkDir(snpDir.getAbsolutePath(), folderName);
             File nodeDbDir = new File(snpDir.getAbsolutePath(), databaseRelativePath(folderName));
@@ -777,6 +805,38 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
         }
     }
 
+    /**
+     * @param snpDir Snapshot dir.
+     * @param folderName Local node folder name (see {@link U#maskForFileName} with consistent id).
+     * @return Directories of the local differential snapshots which base is the given snapshot.
+     */
+    private Collection<File> differentialSnapshotDirectories(File snpDir, String folderName) {
+        File[] dirs = snpDir.getParentFile() == null ? null : snpDir.getParentFile().listFiles(File::isDirectory);
+
+        if (dirs == null)
+            return Collections.emptyList();
+
+        Collection<File> res = new ArrayList<>();
+
+        for (File dir : dirs) {
+            File smf = new File(dir, snapshotMetaFileName(folderName));
+
+            if (dir.equals(snpDir) || !smf.exists())
+                continue;
+
+            try {
+                if (snpDir.getName().equals(readSnapshotMetadata(smf).baseSnapshot()))
+                    res.add(dir);
+            }
+            catch (IgniteCheckedException | IOException e) {
+                U.warn(log, "Failed to read snapshot metadata, the snapshot is not checked to be differential " +
+                    "[smf=" + smf + ", err=" + e.getMessage() + ']');
+            }
+        }
+
+        return res;
+    }
+
     /** Concurrently traverse the directory and delete all files. */
     private void deleteDirectory(File dir) throws IOException {
         Files.walkFileTree(dir.toPath(), new SimpleFileVisitor<Path>() {
@@ -1149,6 +1209,8 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
                 req.requestId(),
                 parts,
                 withMetaStorage,
+                true,
+                req.baseSnapshot(),
                 locSndrFactory.apply(req.snapshotName(), req.snapshotPath()));
 
             if (withMetaStorage && task0 instanceof SnapshotFutureTask) {
@@ -1186,6 +1248,8 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
                     req.onlyPrimary()
                 );
 
+                meta.baseSnapshot(req.baseSnapshot());
+
                 SnapshotHandlerContext ctx = new SnapshotHandlerContext(meta, req.groups(), cctx.localNode(), snpDir,
                     req.streamerWarning(), true);
 
@@ -1566,6 +1630,17 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
         return restoreCacheGrpProc.isRestoring(ccfg);
     }
 
+    /**
+     * Check if the partition file is being copied from the snapshot to the already started cache group.
+     *
+     * @param grpId Cache group ID.
+     * @param partId Partition ID.
+     * @return {@code True} if the partition file is being restored from the snapshot.
+     */
+    public boolean isRestoringPartition(int grpId, int partId) {
+        return restoreCacheGrpProc.isRestoringPartition(grpId, partId);
+    }
+
     /**
      * Status of the restore operation cluster-wide.
      *
@@ -1583,6 +1658,11 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
         return sequentialWrite;
     }
 
+    /** @return Tracker of pages changed since the last cluster snapshot. */
+    public ChangedPagesTracker changedPagesTracker() {
+        return changedPagesTracker;
+    }
+
     /**
      * @param restoreId Restore process ID.
      * @return Server nodes on which a successful start of the cache(s) is required, if any of these nodes fails when
@@ -2128,10 +2208,48 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
         @Nullable String snpPath,
         boolean incremental,
         boolean onlyPrimary
+    ) {
+        return createSnapshot(name, snpPath, incremental, onlyPrimary, null);
+    }
+
+    /**
+     * Create a consistent copy of all persistence cache groups from the whole cluster, which stores only pages changed
+     * since the base snapshot for partitions tracked on the local node. Other partitions are copied in full.
+     * Tracking of changed pages must be enabled by {@link IgniteSystemProperties#IGNITE_SNAPSHOT_TRACK_CHANGED_PAGES}
+     * and the base snapshot must be the last one created on the nodes. The base snapshot, as well as all snapshots
+     * it is based on, must not be deleted while the differential snapshot is used.
+     *
+     * @param name Snapshot unique name which satisfies the following name pattern [a-zA-Z0-9_].
+     * @param baseSnpName Base snapshot name.
+     * @return Future which will be completed when a process ends.
+     */
+    public IgniteFutureImpl<Void> createDifferentialSnapshot(String name, String baseSnpName) {
+        A.notNullOrEmpty(baseSnpName, "Base snapshot name cannot be null or empty.");
+
+        return createSnapshot(name, null, false, false, baseSnpName);
+    }
+
+    /**
+     * Create a consistent copy of all persistence cache groups from the whole cluster.
+     *
+     * @param name Snapshot unique name which satisfies the following name pattern [a-zA-Z0-9_].
+     * @param snpPath Snapshot directory path.
+     * @param incremental Incremental snapshot flag.
+     * @param onlyPrimary If {@code true} snapshot only primary copies of partitions.
+     * @param baseSnpName Base snapshot name if only pages changed since the base snapshot must be copied.
+     * @return Future which will be completed when a process ends.
+     */
+    public IgniteFutureImpl<Void> createSnapshot(
+        String name,
+        @Nullable String snpPath,
+        boolean incremental,
+        boolean onlyPrimary,
+        @Nullable String baseSnpName
     ) {
         A.notNullOrEmpty(name, "Snapshot name cannot be null or empty.");
         A.ensure(U.alphanumericUnderscore(name), "Snapshot name must satisfy the following name pattern: a-zA-Z0-9_");
         A.ensure(!(incremental && onlyPrimary), "Only primary not supported for incremental snapshots");
+        A.ensure(!(incremental && baseSnpName != null), "Base snapshot not supported for incremental snapshots");
 
         try {
             cctx.kernalContext().security().authorize(ADMIN_SNAPSHOT);
@@ -2156,7 +2274,7 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
                 return new IgniteSnapshotFutureImpl(cctx.kernalContext().closure()
                     .callAsync(
                         BALANCE,
-                        new CreateSnapshotCallable(name, incremental, onlyPrimary),
+                        new CreateSnapshotCallable(name, incremental, onlyPrimary, baseSnpName),
                         options(Collections.singletonList(crd)).withFailoverDisabled()
                     ));
             }
@@ -2200,6 +2318,19 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
                     incIdx = maxLocalIncrementSnapshot(name, snpPath) + 1;
                 }
 
+                if (baseSnpName != null) {
+                    if (!changedPagesTracker.enabled()) {
+                        throw new IgniteException("Create differential snapshot request has been rejected. " +
+                            "Tracking of changed pages is disabled [property=" + IGNITE_SNAPSHOT_TRACK_CHANGED_PAGES +
+                            ']');
+                    }
+
+                    if (!localSnapshotNames(snpPath).contains(baseSnpName)) {
+                        throw new IgniteException("Create differential snapshot request has been rejected. " +
+                            "Base snapshot with given name doesn't exist on local node.");
+                    }
+                }
+
                 if (isRestoring()) {
                     throw new IgniteException(
                         "Snapshot operation has been rejected. Cache group restore operation is currently in progress."
@@ -2248,12 +2379,15 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
                 bltNodeIds,
                 incremental,
                 incIdx,
-                onlyPrimary
+                onlyPrimary,
+                baseSnpName,
+                false
             ));
 
             String msg =
                 "Cluster-wide snapshot operation started [snpName=" + name + ", grps=" + grps +
                     (incremental ? "" : (", incremental=true, incrementIndex=" + incIdx)) +
+                    (baseSnpName == null ? "" : (", baseSnapshot=" + baseSnpName)) +
                 ']';
 
             recordSnapshotEvent(name, msg, EVT_CLUSTER_SNAPSHOT_STARTED);
@@ -2635,9 +2769,33 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
         Map<Integer, Set<Integer>> parts,
         boolean withMetaStorage,
         SnapshotSender snpSndr
+    ) {
+        return registerSnapshotTask(snpName, srcNodeId, requestId, parts, withMetaStorage, false, null, snpSndr);
+    }
+
+    /**
+     * @param snpName Unique snapshot name.
+     * @param srcNodeId Node id which cause snapshot operation.
+     * @param requestId Snapshot operation request ID.
+     * @param parts Collection of pairs group and appropriate cache partition to be snapshot.
+     * @param withMetaStorage {@code true} if all metastorage data must be also included into snapshot.
+     * @param trackChanges {@code true} if pages changed since this snapshot must be tracked.
+     * @param baseSnpName Base snapshot name if only pages changed since the base snapshot must be copied.
+     * @param snpSndr Factory which produces snapshot receiver instance.
+     * @return Snapshot operation task which should be registered on checkpoint to run.
+     */
+    AbstractSnapshotFutureTask<?> registerSnapshotTask(
+        String snpName,
+        UUID srcNodeId,
+        UUID requestId,
+        Map<Integer, Set<Integer>> parts,
+        boolean withMetaStorage,
+        boolean trackChanges,
+        @Nullable String baseSnpName,
+        SnapshotSender snpSndr
     ) {
         AbstractSnapshotFutureTask<?> task = registerTask(snpName, new SnapshotFutureTask(cctx, srcNodeId, requestId,
-            snpName, tmpWorkDir, ioFactory, snpSndr, parts, withMetaStorage, locBuff));
+            snpName, tmpWorkDir, ioFactory, snpSndr, parts, withMetaStorage, trackChanges, baseSnpName, locBuff));
 
         if (!withMetaStorage) {
             for (Integer grpId : parts.keySet()) {
@@ -2863,6 +3021,13 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
         return ioFactory;
     }
 
+    /**
+     * @return Snapshot files transfer rate limiter.
+     */
+    BasicRateLimiter transferRateLimiter() {
+        return transferRateLimiter;
+    }
+
     /**
      * @param nodeId Remote node id on which requests has been registered.
      * @return Snapshot future related to given node id.
@@ -4165,6 +4330,44 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
             }
         }
 
+        /** {@inheritDoc} */
+        @Override protected void sendPartChanges0(
+            File part,
+            String cacheDirName,
+            GroupPartitionId pair,
+            Long len,
+            String baseSnpName,
+            BitSet pages
+        ) {
+            try {
+                if (len == 0)
+                    return;
+
+                File cacheDir = U.resolveWorkDirectory(dbDir.getAbsolutePath(), cacheDirName, false);
+
+                File snpPart = new File(cacheDir, part.getName());
+
+                if (snpPart.exists() && !snpPart.delete())
+                    throw new IOException("Failed to delete snapshot partition file: " + snpPart.getAbsolutePath());
+
+                FilePageStore store = (FilePageStore)storeMgr.getStore(pair.getGroupId(), pair.getPartitionId());
+
+                PartitionChanges changes = new PartitionChanges(baseSnpName, pageSize, store.headerSize(), len, pages);
+
+                changes.copy(ioFactory, part, snpPart, transferRateLimiter);
+
+                changes.write(snpPart);
+
+                if (log.isDebugEnabled()) {
+                    log.debug("Partition changes have been snapshot [snapshotDir=" + dbDir.getAbsolutePath() +
+                        ", cacheDirName=" + cacheDirName + ", part=" + part.getName() + ", changes=" + changes + ']');
+                }
+            }
+            catch (IOException | IgniteCheckedException ex) {
+                throw new IgniteException(ex);
+            }
+        }
+
         /** {@inheritDoc} */
         @Override public void sendDelta0(File delta, String cacheDirName, GroupPartitionId pair) {
             File snpPart = getPartitionFile(dbDir, cacheDirName, pair.getPartitionId());
@@ -4184,6 +4387,9 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
                  FilePageStore pageStore = (FilePageStore)storeMgr.getPageStoreFactory(pair.getGroupId(), encrypted)
                      .createPageStore(getTypeByPartId(pair.getPartitionId()), snpPart::toPath, v -> {})
             ) {
+                // Pages written by the snapshot checkpoint are not tracked as changed since the base snapshot.
+                PartitionChanges changes = PartitionChanges.read(snpPart);
+
                 pageStore.beginRecover();
 
                 while (deltaIter.hasNext()) {
@@ -4193,9 +4399,15 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
                     long pageId = PageIO.getPageId(page);
 
                     pageStore.write(pageId, page, 0, false);
+
+                    if (changes != null)
+                        changes.add(PageIdUtils.pageIndex(pageId));
                 }
 
                 pageStore.finishRecover();
+
+                if (changes != null)
+                    changes.write(snpPart);
             }
             catch (IOException | IgniteCheckedException e) {
                 throw new IgniteException(e);
@@ -4527,6 +4739,9 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
         /** If {@code true} snapshot only primary copies of partitions. */
         private final boolean onlyPrimary;
 
+        /** Base snapshot name if only pages changed since the base snapshot must be copied. */
+        private final @Nullable String baseSnpName;
+
         /** Auto-injected grid instance. */
         @IgniteInstanceResource
         private transient IgniteEx ignite;
@@ -4534,18 +4749,26 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
         /**
          * @param snpName Snapshot name.
          */
-        public CreateSnapshotCallable(String snpName, boolean incremental, boolean onlyPrimary) {
+        public CreateSnapshotCallable(
+            String snpName,
+            boolean incremental,
+            boolean onlyPrimary,
+            @Nullable String baseSnpName
+        ) {
             this.snpName = snpName;
             this.incremental = incremental;
             this.onlyPrimary = onlyPrimary;
+            this.baseSnpName = baseSnpName;
         }
 
         /** {@inheritDoc} */
         @Override public Void call() throws Exception {
             if (incremental)
                 ignite.snapshot().createIncrementalSnapshot(snpName).get();
-            else
-                ignite.context().cache().context().snapshotMgr().createSnapshot(snpName, null, false, onlyPrimary).get();
+            else {
+                ignite.context().cache().context().snapshotMgr()
+                    .createSnapshot(snpName, null, false, onlyPrimary, baseSnpName).get();
+            }
 
             return null;
         }
@@ -0,0 +1,345 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.snapshot;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.BitSet;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.internal.IgniteInterruptedCheckedException;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
+import org.apache.ignite.internal.util.BasicRateLimiter;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.jetbrains.annotations.Nullable;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.apache.ignite.internal.processors.cache.persistence.snapshot.IgniteSnapshotManager.databaseRelativePath;
+
+/**
+ * Pages of a partition stored by a differential snapshot. The snapshot partition file is a sparse copy of the
+ * partition file: the file header and the pages changed since the base snapshot are stored at their own offsets,
+ * other pages are read from the base snapshot on restore. Changed pages are listed in a file next to the partition
+ * file, partitions copied in full have no such file.
+ * <p>
+ * File format: magic, version, base snapshot name, page size, header size and length of the partition file, followed
+ * by count and words of the changed pages bitmap.
+ */
+class PartitionChanges {
+    /** Extension of the file with changed pages of a snapshot partition. */
+    static final String CHANGES_FILE_EXT = ".changes";
+
+    /** Temporary file extension. */
+    private static final String TMP_FILE_EXT = ".tmp";
+
+    /** File magic. */
+    private static final int MAGIC = 0x50434847;
+
+    /** File format version. */
+    private static final int VERSION = 1;
+
+    /** Base snapshot name. */
+    private final String baseSnpName;
+
+    /** Page size. */
+    private final int pageSize;
+
+    /** Partition file header size. */
+    private final int hdrSize;
+
+    /** Partition file length. */
+    private final long len;
+
+    /** Indexes of changed pages. */
+    private final BitSet pages;
+
+    /**
+     * @param baseSnpName Base snapshot name.
+     * @param pageSize Page size.
+     * @param hdrSize Partition file header size.
+     * @param len Partition file length.
+     * @param pages Indexes of changed pages.
+     */
+    PartitionChanges(String baseSnpName, int pageSize, int hdrSize, long len, BitSet pages) {
+        this.baseSnpName = baseSnpName;
+        this.pageSize = pageSize;
+        this.hdrSize = hdrSize;
+        this.len = len;
+        this.pages = pages;
+    }
+
+    /**
+     * @return Base snapshot name.
+     */
+    String baseSnapshot() {
+        return baseSnpName;
+    }
+
+    /**
+     * @return Count of changed pages within the partition file.
+     */
+    int pages() {
+        return pages.get(0, pageCount()).cardinality();
+    }
+
+    /**
+     * @param pageIdx Index of a page changed since the base snapshot.
+     */
+    void add(int pageIdx) {
+        pages.set(pageIdx);
+    }
+
+    /**
+     * @param part Snapshot partition file.
+     * @return File with changed pages of the snapshot partition.
+     */
+    static File file(File part) {
+        return new File(part.getParentFile(), part.getName() + CHANGES_FILE_EXT);
+    }
+
+    /**
+     * @param part Snapshot partition file.
+     * @param baseSnpName Base snapshot name.
+     * @return The same partition file of the base snapshot.
+     */
+    static File basePartitionFile(File part, String baseSnpName) {
+        File cacheDir = part.getParentFile();
+        File folderDir = cacheDir.getParentFile();
+        File snpDir = folderDir.getParentFile().getParentFile();
+
+        File baseSnpDir = new File(snpDir.getParentFile(), baseSnpName);
+        File baseDbDir = new File(baseSnpDir, databaseRelativePath(folderDir.getName()));
+
+        return new File(new File(baseDbDir, cacheDir.getName()), part.getName());
+    }
+
+    /**
+     * Copies the file header and changed pages of the partition file to the snapshot partition file and sets its
+     * length to the partition file length.
+     *
+     * @param factory Factory to read the partition file.
+     * @param from Partition file.
+     * @param to Snapshot partition file.
+     * @param rateLimiter Transfer rate limiter.
+     * @throws IOException If failed.
+     */
+    void copy(FileIOFactory factory, File from, File to, @Nullable BasicRateLimiter rateLimiter) throws IOException {
+        try (FileIO src = factory.create(from, READ);
+             FileChannel dest = FileChannel.open(to.toPath(), CREATE, WRITE)) {
+            if (src.size() < len) {
+                throw new IOException("The source file to copy is not long enough " +
+                    "[file=" + from + ", expected=" + len + ", actual=" + src.size() + ']');
+            }
+
+            transfer(src, dest, 0, hdrSize, rateLimiter);
+
+            int pageCnt = pageCount();
+
+            int idx = pages.nextSetBit(0);
+
+            // Ranges of subsequent changed pages are transferred at once.
+            while (idx >= 0 && idx < pageCnt) {
+                int end = Math.min(pages.nextClearBit(idx), pageCnt);
+
+                transfer(src, dest, hdrSize + (long)idx * pageSize, (long)(end - idx) * pageSize, rateLimiter);
+
+                idx = pages.nextSetBit(end);
+            }
+
+            if (dest.size() > len)
+                dest.truncate(len);
+            else if (dest.size() < len)
+                dest.write(ByteBuffer.allocate(1), len - 1);
+        }
+    }
+
+    /**
+     * @return Count of pages in the partition file.
+     */
+    private int pageCount() {
+        return len <= hdrSize ? 0 : (int)((len - hdrSize) / pageSize);
+    }
+
+    /**
+     * @param src Source file.
+     * @param dest Destination file.
+     * @param pos Position to transfer bytes from and to.
+     * @param cnt Count of bytes to transfer.
+     * @param rateLimiter Transfer rate limiter.
+     * @throws IOException If failed.
+     */
+    private static void transfer(
+        FileIO src,
+        FileChannel dest,
+        long pos,
+        long cnt,
+        @Nullable BasicRateLimiter rateLimiter
+    ) throws IOException {
+        if (rateLimiter != null && !rateLimiter.isUnlimited()) {
+            try {
+                rateLimiter.acquire(cnt);
+            }
+            catch (IgniteInterruptedCheckedException e) {
+                throw new IgniteException(e);
+            }
+        }
+
+        dest.position(pos);
+
+        long written = 0;
+
+        while (written < cnt)
+            written += src.transferTo(pos + written, cnt - written, dest);
+    }
+
+    /**
+     * Restores the full partition file from the snapshot partition file. Changed pages of a differential snapshot
+     * partition are applied over the partition of its base snapshot, restored the same way.
+     *
+     * @param factory Factory to read snapshot files.
+     * @param part Snapshot partition file.
+     * @param to Restored partition file.
+     * @throws IOException If failed.
+     */
+    static void restore(FileIOFactory factory, File part, File to) throws IOException {
+        restore(factory, part, to, null);
+    }
+
+    /**
+     * Restores the full partition file from the snapshot partition file. Changed pages of a differential snapshot
+     * partition are applied over the partition of its base snapshot, restored the same way.
+     *
+     * @param factory Factory to read snapshot files.
+     * @param part Snapshot partition file.
+     * @param to Restored partition file.
+     * @param rateLimiter Transfer rate limiter.
+     * @throws IOException If failed.
+     */
+    static void restore(
+        FileIOFactory factory,
+        File part,
+        File to,
+        @Nullable BasicRateLimiter rateLimiter
+    ) throws IOException {
+        PartitionChanges changes = read(part);
+
+        if (changes == null) {
+            IgniteSnapshotManager.copy(factory, part, to, part.length(), rateLimiter);
+
+            return;
+        }
+
+        File basePart = basePartitionFile(part, changes.baseSnpName);
+
+        if (!basePart.exists()) {
+            throw new IOException("Partition file of the base snapshot doesn't exist [part=" + part.getAbsolutePath() +
+                ", basePart=" + basePart.getAbsolutePath() + ']');
+        }
+
+        restore(factory, basePart, to, rateLimiter);
+
+        changes.copy(factory, part, to, rateLimiter);
+    }
+
+    /**
+     * Atomically writes changed pages of the snapshot partition.
+     *
+     * @param part Snapshot partition file.
+     * @throws IOException If failed.
+     */
+    void write(File part) throws IOException {
+        File file = file(part);
+        File tmp = new File(file.getParentFile(), file.getName() + TMP_FILE_EXT);
+
+        try (FileOutputStream fos = new FileOutputStream(tmp)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos));
+
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(baseSnpName);
+            out.writeInt(pageSize);
+            out.writeInt(hdrSize);
+            out.writeLong(len);
+
+            long[] words = pages.toLongArray();
+
+            out.writeInt(words.length);
+
+            for (long word : words)
+                out.writeLong(word);
+
+            out.flush();
+
+            fos.getFD().sync();
+        }
+
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * @param part Snapshot partition file.
+     * @return Changed pages of the snapshot partition or {@code null} if the partition is stored in full.
+     * @throws IOException If failed.
+     */
+    static @Nullable PartitionChanges read(File part) throws IOException {
+        File file = file(part);
+
+        if (!file.exists())
+            return null;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC)
+                throw new IOException("Invalid partition changes file: " + file);
+
+            int ver = in.readInt();
+
+            if (ver != VERSION)
+                throw new IOException("Unsupported partition changes file version [file=" + file +
+                    ", ver=" + ver + ']');
+
+            String baseSnpName = in.readUTF();
+            int pageSize = in.readInt();
+            int hdrSize = in.readInt();
+            long len = in.readLong();
+
+            long[] words = new long[in.readInt()];
+
+            for (int i = 0; i < words.length; i++)
+                words[i] = in.readLong();
+
+            return new PartitionChanges(baseSnpName, pageSize, hdrSize, len, BitSet.valueOf(words));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(PartitionChanges.class, this, "pages", pages());
+    }
+}
@@ -23,6 +23,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -130,6 +131,15 @@ class SnapshotFutureTask extends AbstractSnapshotFutureTask<SnapshotFutureTaskRe
     /** {@code true} if all metastorage data must be also included into snapshot. */
     private final boolean withMetaStorage;
 
+    /** {@code true} if pages changed since this snapshot must be tracked. */
+    private final boolean trackChanges;
+
+    /** Base snapshot name if only pages changed since the base snapshot must be copied. */
+    private final @Nullable String baseSnpName;
+
+    /** Pages changed since the previous snapshot, collected under the checkpoint write lock. */
+    private @Nullable ChangedPagesTracker.Epoch prevChanges;
+
     /** Cache group and corresponding partitions collected under the checkpoint write lock. */
     private final Map<Integer, Set<Integer>> processed = new HashMap<>();
 
@@ -171,6 +181,10 @@ class SnapshotFutureTask extends AbstractSnapshotFutureTask<SnapshotFutureTaskRe
      * @param snpSndr Factory which produces snapshot receiver instance.
      * @param parts Map of cache groups and its partitions to include into snapshot, if set of partitions
      * is {@code null} than all OWNING partitions for given cache groups will be included into snapshot.
+     * @param withMetaStorage {@code true} if all metastorage data must be also included into snapshot.
+     * @param trackChanges {@code true} if pages changed since this snapshot must be tracked.
+     * @param baseSnpName Base snapshot name if only pages changed since the base snapshot must be copied.
+     * @param locBuff Local buffer to perform copy-on-write operations.
      */
     public SnapshotFutureTask(
         GridCacheSharedContext<?, ?> cctx,
@@ -182,6 +196,8 @@ class SnapshotFutureTask extends AbstractSnapshotFutureTask<SnapshotFutureTaskRe
         SnapshotSender snpSndr,
         Map<Integer, Set<Integer>> parts,
         boolean withMetaStorage,
+        boolean trackChanges,
+        @Nullable String baseSnpName,
         ThreadLocal<ByteBuffer> locBuff
     ) {
         super(cctx, srcNodeId, reqId, snpName, tmpWorkDir, ioFactory, snpSndr, parts);
@@ -193,6 +209,8 @@ class SnapshotFutureTask extends AbstractSnapshotFutureTask<SnapshotFutureTaskRe
         assert !parts.containsKey(MetaStorage.METASTORAGE_CACHE_ID) : "The withMetaStorage must be used instead.";
 
         this.withMetaStorage = withMetaStorage;
+        this.trackChanges = trackChanges;
+        this.baseSnpName = baseSnpName;
         this.pageStore = (FilePageStoreManager)cctx.pageStore();
         this.locBuff = locBuff;
     }
@@ -235,9 +253,13 @@ class SnapshotFutureTask extends AbstractSnapshotFutureTask<SnapshotFutureTaskRe
             log.error("Snapshot directory doesn't exist [snpName=" + snpName + ", dir=" + tmpSnpWorkDir + ']');
         }
 
-        if (err != null)
+        if (err != null) {
             startedFut.onDone(err);
 
+            if (trackChanges)
+                cctx.snapshotMgr().changedPagesTracker().onSnapshotFailed(snpName);
+        }
+
         return super.onDone(res, err);
     }
 
@@ -434,6 +456,15 @@ class SnapshotFutureTask extends AbstractSnapshotFutureTask<SnapshotFutureTaskRe
                 addPartitionWriters(grpId, e.getValue(), FilePageStoreManager.cacheDirName(gctx.config()));
             }
 
+            if (trackChanges)
+                prevChanges = cctx.snapshotMgr().changedPagesTracker().reset(snpName, processed);
+
+            if (baseSnpName != null && (prevChanges == null || !baseSnpName.equals(prevChanges.snapshotName()))) {
+                log.warning("Pages changed since the base snapshot are not tracked on the local node, partitions " +
+                    "will be copied in full [snpName=" + snpName + ", baseSnpName=" + baseSnpName +
+                    ", trackedSnpName=" + (prevChanges == null ? null : prevChanges.snapshotName()) + ']');
+            }
+
             if (withMetaStorage) {
                 processed.put(MetaStorage.METASTORAGE_CACHE_ID, MetaStorage.METASTORAGE_PARTITIONS);
 
@@ -512,11 +543,14 @@ class SnapshotFutureTask extends AbstractSnapshotFutureTask<SnapshotFutureTaskRe
 
                     CompletableFuture<Void> fut0 = CompletableFuture.runAsync(
                         wrapExceptionIfStarted(() -> {
-                            snpSndr.sendPart(
-                                getPartitionFile(pageStore.workDir(), cacheDirName, partId),
-                                cacheDirName,
-                                pair,
-                                partLen);
+                            File part = getPartitionFile(pageStore.workDir(), cacheDirName, partId);
+
+                            BitSet changes = changedPages(pair);
+
+                            if (changes == null)
+                                snpSndr.sendPart(part, cacheDirName, pair, partLen);
+                            else
+                                snpSndr.sendPartChanges(part, cacheDirName, pair, partLen, baseSnpName, changes);
 
                             // Stop partition writer.
                             partDeltaWriters.get(pair).markPartitionProcessed();
@@ -600,6 +634,22 @@ class SnapshotFutureTask extends AbstractSnapshotFutureTask<SnapshotFutureTaskRe
         }
     }
 
+    /**
+     * @param pair Cache group and partition IDs.
+     * @return Pages of the partition changed since the base snapshot or {@code null} if the partition must be copied
+     * in full.
+     */
+    private @Nullable BitSet changedPages(GroupPartitionId pair) {
+        ChangedPagesTracker.Epoch prevChanges0 = prevChanges;
+
+        if (baseSnpName == null || prevChanges0 == null || !baseSnpName.equals(prevChanges0.snapshotName()))
+            return null;
+
+        ChangedPagesTracker.ChangedPages pages = prevChanges0.pages(pair);
+
+        return pages == null ? null : pages.toBitSet();
+    }
+
     /**
      * @param exec Runnable task to execute.
      * @return Wrapped task.
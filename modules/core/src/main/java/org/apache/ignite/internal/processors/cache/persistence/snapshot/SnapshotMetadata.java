@@ -101,6 +101,10 @@ public class SnapshotMetadata implements Serializable {
     /** If {@code true} snapshot only primary copies of partitions. */
     private boolean onlyPrimary;
 
+    /** Base snapshot name if only pages changed since the base snapshot have been copied. */
+    @GridToStringInclude
+    @Nullable private String baseSnpName;
+
     /**
      * @param rqId Unique request id.
      * @param snpName Snapshot name.
@@ -228,6 +232,18 @@ public class SnapshotMetadata implements Serializable {
         return onlyPrimary;
     }
 
+    /** @return Base snapshot name if only pages changed since the base snapshot have been copied. */
+    public @Nullable String baseSnapshot() {
+        return baseSnpName;
+    }
+
+    /**
+     * @param baseSnpName Base snapshot name if only pages changed since the base snapshot have been copied.
+     */
+    public void baseSnapshot(@Nullable String baseSnpName) {
+        this.baseSnpName = baseSnpName;
+    }
+
     /** Save the state of this <tt>HashMap</tt> partitions and cache groups to a stream. */
     private void writeObject(java.io.ObjectOutputStream s)
         throws java.io.IOException {
@@ -294,7 +310,8 @@ public class SnapshotMetadata implements Serializable {
             Objects.equals(cacheGroupIds(), compare.cacheGroupIds()) &&
             Arrays.equals(masterKeyDigest, compare.masterKeyDigest) &&
             Objects.equals(baselineNodes(), compare.baselineNodes()) &&
-            onlyPrimary == compare.onlyPrimary;
+            onlyPrimary == compare.onlyPrimary &&
+            Objects.equals(baseSnpName, compare.baseSnpName);
     }
 
     /**
@@ -339,7 +356,8 @@ public class SnapshotMetadata implements Serializable {
             Objects.equals(warnings, meta.warnings) &&
             Objects.equals(hasComprGrps, meta.hasComprGrps) &&
             Objects.equals(comprGrpIds, meta.comprGrpIds) &&
-            onlyPrimary == meta.onlyPrimary;
+            onlyPrimary == meta.onlyPrimary &&
+            Objects.equals(baseSnpName, meta.baseSnpName);
     }
 
     /** {@inheritDoc} */
@@ -91,6 +91,12 @@ public class SnapshotOperationRequest implements Serializable {
     /** If {@code true} snapshot only primary copies of partitions. */
     private final boolean onlyPrimary;
 
+    /** Base snapshot name if only pages changed since the base snapshot must be copied. */
+    private final @Nullable String baseSnpName;
+
+    /** If {@code true} restored caches are started before their partition files are copied. */
+    private final boolean streaming;
+
     /**
      * @param reqId Request ID.
      * @param opNodeId Operational node ID.
@@ -101,6 +107,8 @@ public class SnapshotOperationRequest implements Serializable {
      * @param incremental {@code True} if incremental snapshot requested.
      * @param incIdx Incremental snapshot index.
      * @param onlyPrimary If {@code true} snapshot only primary copies of partitions.
+     * @param baseSnpName Base snapshot name if only pages changed since the base snapshot must be copied.
+     * @param streaming If {@code true} restored caches are started before their partition files are copied.
      */
     public SnapshotOperationRequest(
         UUID reqId,
@@ -111,7 +119,9 @@ public class SnapshotOperationRequest implements Serializable {
         Set<UUID> nodes,
         boolean incremental,
         int incIdx,
-        boolean onlyPrimary
+        boolean onlyPrimary,
+        @Nullable String baseSnpName,
+        boolean streaming
     ) {
         this.reqId = reqId;
         this.opNodeId = opNodeId;
@@ -122,6 +132,8 @@ public class SnapshotOperationRequest implements Serializable {
         this.incremental = incremental;
         this.incIdx = incIdx;
         this.onlyPrimary = onlyPrimary;
+        this.baseSnpName = baseSnpName;
+        this.streaming = streaming;
         startTime = U.currentTimeMillis();
     }
 
@@ -196,6 +208,16 @@ public class SnapshotOperationRequest implements Serializable {
         return onlyPrimary;
     }
 
+    /** @return Base snapshot name if only pages changed since the base snapshot must be copied. */
+    public @Nullable String baseSnapshot() {
+        return baseSnpName;
+    }
+
+    /** @return If {@code true} restored caches are started before their partition files are copied. */
+    public boolean streaming() {
+        return streaming;
+    }
+
     /** @return Start time. */
     public long startTime() {
         return startTime;
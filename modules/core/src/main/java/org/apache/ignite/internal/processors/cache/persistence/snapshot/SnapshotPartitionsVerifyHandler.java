@@ -128,6 +128,10 @@ public class SnapshotPartitionsVerifyHandler implements SnapshotHandler<Map<Part
                 if (!parts.remove(partId))
                     continue;
 
+                // Differential snapshot partition contains changed pages only, it can't be verified by itself.
+                if (PartitionChanges.file(part).exists())
+                    continue;
+
                 partFiles.add(part);
             }
 
@@ -18,6 +18,7 @@
 package org.apache.ignite.internal.processors.cache.persistence.snapshot;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -31,6 +32,7 @@ import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
 import org.apache.ignite.internal.processors.cache.persistence.partstate.GroupPartitionId;
 import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.U;
 import org.jetbrains.annotations.Nullable;
 
 import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.cacheDirectory;
@@ -129,7 +131,30 @@ public class SnapshotResponseRemoteFutureTask extends AbstractSnapshotFutureTask
                         ", pair=" + gp + ']');
                 }
 
-                snpSndr.sendPart(snpPart, cacheDir.getName(), gp, snpPart.length());
+                if (!PartitionChanges.file(snpPart).exists()) {
+                    snpSndr.sendPart(snpPart, cacheDir.getName(), gp, snpPart.length());
+
+                    return;
+                }
+
+                // Pages of a differential snapshot partition are merged with its base snapshots before sending.
+                File merged = null;
+
+                try {
+                    merged = File.createTempFile(snpPart.getName(), null, tmpSnpWorkDir.getParentFile());
+
+                    PartitionChanges.restore(ioFactory, snpPart, merged);
+
+                    snpSndr.sendPart(merged, cacheDir.getName(), gp, merged.length());
+                }
+                catch (IOException e) {
+                    throw new IgniteException("Unable to merge differential snapshot partition [snpPart=" + snpPart +
+                        ", pair=" + gp + ']', e);
+                }
+                finally {
+                    if (merged != null)
+                        U.delete(merged);
+                }
             }), snpSndr.executor())
                 .whenComplete((r, t) -> {
                     if (t != null)
@@ -38,6 +38,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -51,6 +52,7 @@ import org.apache.ignite.IgniteException;
 import org.apache.ignite.IgniteIllegalStateException;
 import org.apache.ignite.IgniteInterruptedException;
 import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.cluster.ClusterState;
 import org.apache.ignite.configuration.CacheConfiguration;
@@ -76,10 +78,12 @@ import org.apache.ignite.internal.processors.cache.binary.CacheObjectBinaryProce
 import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
 import org.apache.ignite.internal.processors.cache.persistence.CacheStripedExecutor;
 import org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager;
+import org.apache.ignite.internal.processors.cache.persistence.GridCacheOffheapManager.GridCacheDataStore;
 import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointProgress;
 import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStore;
 import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileVersionCheckingFactory;
+import org.apache.ignite.internal.processors.cache.persistence.partstate.GroupPartitionId;
 import org.apache.ignite.internal.processors.cache.persistence.snapshot.IgniteSnapshotManager.ClusterSnapshotFuture;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
 import org.apache.ignite.internal.processors.cluster.DiscoveryDataClusterState;
@@ -99,6 +103,7 @@ import org.apache.ignite.lang.IgniteUuid;
 import org.jetbrains.annotations.Nullable;
 
 import static java.util.Optional.ofNullable;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SNAPSHOT_RESTORE_STREAMING;
 import static org.apache.ignite.internal.IgniteFeatures.SNAPSHOT_RESTORE_CACHE_GROUP;
 import static org.apache.ignite.internal.MarshallerContextImpl.mappingFileStoreWorkDir;
 import static org.apache.ignite.internal.pagemem.PageIdAllocator.INDEX_PARTITION;
@@ -114,12 +119,21 @@ import static org.apache.ignite.internal.util.distributed.DistributedProcess.Dis
 import static org.apache.ignite.internal.util.distributed.DistributedProcess.DistributedProcessType.RESTORE_CACHE_GROUP_SNAPSHOT_ROLLBACK;
 import static org.apache.ignite.internal.util.distributed.DistributedProcess.DistributedProcessType.RESTORE_CACHE_GROUP_SNAPSHOT_START;
 import static org.apache.ignite.internal.util.distributed.DistributedProcess.DistributedProcessType.RESTORE_CACHE_GROUP_SNAPSHOT_STOP;
+import static org.apache.ignite.internal.util.distributed.DistributedProcess.DistributedProcessType.RESTORE_CACHE_GROUP_SNAPSHOT_STREAM;
 import static org.apache.ignite.internal.util.distributed.DistributedProcess.DistributedProcessType.RESTORE_INCREMENTAL_SNAPSHOT_START;
 
 /**
  * Distributed process to restore cache group from the snapshot.
+ * <p>
+ * If {@link IgniteSystemProperties#IGNITE_SNAPSHOT_RESTORE_STREAMING} is enabled on the node initiating the restore,
+ * caches are started before their partition files are copied. Cache operations on a partition wait until its file is
+ * swapped in before they take the checkpoint read lock, accesses to the partition under the lock fail meanwhile.
+ * Indexes are rebuilt when all partition files are swapped in.
  */
 public class SnapshotRestoreProcess {
+    /** Default value of {@link IgniteSystemProperties#IGNITE_SNAPSHOT_RESTORE_STREAMING}. */
+    public static final boolean DFLT_SNAPSHOT_RESTORE_STREAMING = false;
+
     /** Temporary cache directory prefix. */
     public static final String TMP_CACHE_DIR_PREFIX = "_tmp_snp_restore_";
 
@@ -153,6 +167,9 @@ public class SnapshotRestoreProcess {
     /** Incremental snapshot restore phase. */
     private final DistributedProcess<UUID, Boolean> incSnpRestoreProc;
 
+    /** Cache group restore phase awaiting partition files of started caches. */
+    private final DistributedProcess<UUID, Boolean> streamProc;
+
     /** Cache group restore rollback phase. */
     private final DistributedProcess<UUID, Boolean> rollbackRestoreProc;
 
@@ -197,6 +214,9 @@ public class SnapshotRestoreProcess {
         incSnpRestoreProc = new DistributedProcess<>(
             ctx, RESTORE_INCREMENTAL_SNAPSHOT_START, this::incrementalSnapshotRestore, this::finishIncrementalSnapshotRestore);
 
+        streamProc = new DistributedProcess<>(
+            ctx, RESTORE_CACHE_GROUP_SNAPSHOT_STREAM, this::streamPartitions, this::finishStreamPartitions);
+
         rollbackRestoreProc = new DistributedProcess<>(
             ctx, RESTORE_CACHE_GROUP_SNAPSHOT_ROLLBACK, this::rollback, this::finishRollback);
     }
@@ -420,7 +440,10 @@ public class SnapshotRestoreProcess {
                 new HashSet<>(bltNodes),
                 false,
                 incIdx,
-                onlyPrimary
+                onlyPrimary,
+                null,
+                incIdx == 0 && IgniteSystemProperties.getBoolean(IGNITE_SNAPSHOT_RESTORE_STREAMING,
+                    DFLT_SNAPSHOT_RESTORE_STREAMING)
             );
 
             prepareRestoreProc.start(req.requestId(), req);
@@ -487,6 +510,18 @@ public class SnapshotRestoreProcess {
         return false;
     }
 
+    /**
+     * @param grpId Cache group ID.
+     * @param partId Partition ID.
+     * @return {@code True} if the partition file is being copied from the snapshot to the already started cache group.
+     */
+    public boolean isRestoringPartition(int grpId, int partId) {
+        SnapshotRestoreContext opCtx0 = opCtx;
+
+        return opCtx0 != null && opCtx0.streaming &&
+            opCtx0.streamParts.containsKey(new GroupPartitionId(grpId, partId));
+    }
+
     /**
      * @param reqId Request ID.
      * @return Server nodes on which a successful start of the cache(s) is required, if any of these nodes fails when
@@ -1083,7 +1118,8 @@ public class SnapshotRestoreProcess {
                         return doCopy;
                     });
 
-                    if (meta == full) {
+                    // Indexes of caches started before their partitions are copied are rebuilt.
+                    if (meta == full && !opCtx0.streaming) {
                         assert leftParts.isEmpty() : leftParts;
 
                         if (log.isInfoEnabled()) {
@@ -1106,6 +1142,11 @@ public class SnapshotRestoreProcess {
                 }
             }
 
+            if (opCtx0.streaming) {
+                allParts.forEach((grpId, partFuts) -> partFuts.forEach(partFut ->
+                    opCtx0.streamParts.put(new GroupPartitionId(grpId, partFut.partId), partFut)));
+            }
+
             // Load other partitions from remote nodes.
             List<PartitionRestoreFuture> rmtAwaitParts = rmtLoadParts.values().stream()
                 .flatMap(Collection::stream)
@@ -1198,12 +1239,19 @@ public class SnapshotRestoreProcess {
 
             opCtx0.totalParts = size;
 
-            CompletableFuture.allOf(allPartFuts.toArray(new CompletableFuture[size]))
+            // Partition files of caches started before they are copied are swapped in from the temporary directory.
+            CompletableFuture<Void> partsFut = opCtx0.streaming ? CompletableFuture.completedFuture(null) :
+                CompletableFuture.allOf(allPartFuts.toArray(new CompletableFuture[size]));
+
+            partsFut
                 .runAfterBothAsync(metaFut, () -> {
                     try {
                         if (opCtx0.stopChecker.getAsBoolean())
                             throw new IgniteInterruptedException("The operation has been stopped on temporary directory switch.");
 
+                        if (opCtx0.streaming)
+                            return;
+
                         for (File src : opCtx0.dirs)
                             Files.move(formatTmpDirName(src).toPath(), src.toPath(), StandardCopyOption.ATOMIC_MOVE);
                     }
@@ -1340,6 +1388,184 @@ public class SnapshotRestoreProcess {
                 return;
             }
 
+            if (opCtx0.streaming) {
+                if (U.isLocalNodeCoordinator(ctx.discovery()))
+                    streamProc.start(reqId, reqId);
+
+                return;
+            }
+
+            finishProcess(reqId, null);
+
+            return;
+        }
+
+        opCtx0.err.compareAndSet(null, failure);
+
+        cancelStreaming(opCtx0, failure);
+
+        if (U.isLocalNodeCoordinator(ctx.discovery()))
+            cacheStopProc.start(reqId, reqId);
+    }
+
+    /**
+     * Swaps partition files into the caches started before the files are copied. Local WAL of restored cache groups
+     * is disabled until the swapped partitions are checkpointed, so a node failure in the middle of the process leaves
+     * the groups in an inconsistent state which is cleaned up on the node restart.
+     *
+     * @param reqId Request ID.
+     * @return Result future.
+     */
+    private IgniteInternalFuture<Boolean> streamPartitions(UUID reqId) {
+        if (ctx.clientNode())
+            return new GridFinishedFuture<>();
+
+        SnapshotRestoreContext opCtx0 = opCtx;
+
+        if (opCtx0 == null || opCtx0.streamParts.isEmpty())
+            return new GridFinishedFuture<>();
+
+        Throwable err = opCtx0.err.get();
+
+        if (err != null)
+            return new GridFinishedFuture<>(err);
+
+        GridFutureAdapter<Boolean> retFut = new GridFutureAdapter<>();
+
+        synchronized (this) {
+            opCtx0.stopFut = new IgniteFutureImpl<>(retFut.chain(f -> null));
+        }
+
+        if (log.isInfoEnabled()) {
+            log.info("Starting to swap partition files into the restored caches [reqId=" + reqId +
+                ", snapshot=" + opCtx0.snpName + ", parts=" + opCtx0.streamParts.size() + ']');
+        }
+
+        IgniteSnapshotManager snpMgr = ctx.cache().context().snapshotMgr();
+
+        Set<Integer> cacheIds = opCtx0.cfgs.keySet();
+
+        try {
+            walEnabled(false, true, cacheIds);
+
+            List<CompletableFuture<Void>> swapFuts = new ArrayList<>();
+
+            for (Map.Entry<GroupPartitionId, PartitionRestoreFuture> e : opCtx0.streamParts.entrySet()) {
+                GroupPartitionId pair = e.getKey();
+
+                swapFuts.add(e.getValue().thenAcceptAsync(path -> {
+                    if (opCtx0.stopChecker.getAsBoolean())
+                        throw new IgniteInterruptedException("The operation has been stopped on partition file swap.");
+
+                    try {
+                        restoringDataStore(pair).restorePartitionFile(path);
+                    }
+                    catch (IgniteCheckedException ex) {
+                        throw new IgniteException(ex);
+                    }
+
+                    opCtx0.streamParts.remove(pair);
+                }, snpMgr.snapshotExecutorService()));
+            }
+
+            CompletableFuture.allOf(swapFuts.toArray(new CompletableFuture[0])).whenComplete((r, t) -> {
+                if (t != null) {
+                    opCtx0.errHnd.accept(t);
+
+                    cancelStreaming(opCtx0, t);
+
+                    retFut.onDone(t);
+
+                    return;
+                }
+
+                CheckpointProgress cp = ctx.cache().context().database()
+                    .forceNewCheckpoint("Snapshot partition files restored.", fut -> {
+                        if (fut.error() != null) {
+                            retFut.onDone(fut.error());
+
+                            return;
+                        }
+
+                        try {
+                            snpMgr.snapshotExecutorService().execute(() -> {
+                                try {
+                                    finishStreaming(opCtx0);
+
+                                    retFut.onDone(true);
+                                }
+                                catch (Throwable e) {
+                                    retFut.onDone(e);
+                                }
+                            });
+                        }
+                        catch (RejectedExecutionException e) {
+                            retFut.onDone(e);
+                        }
+                    });
+
+                if (cp == null)
+                    retFut.onDone(new IgniteCheckedException("Node is stopping."));
+            });
+        }
+        catch (Throwable e) {
+            opCtx0.errHnd.accept(e);
+
+            cancelStreaming(opCtx0, e);
+
+            retFut.onDone(e);
+        }
+
+        return retFut;
+    }
+
+    /**
+     * Enables local WAL of cache groups restored by streaming, starts the rebuild of their indexes and removes
+     * temporary directories. Must be called after the swapped partition files are checkpointed.
+     *
+     * @param opCtx0 Snapshot restore operation context.
+     */
+    private void finishStreaming(SnapshotRestoreContext opCtx0) {
+        Set<Integer> cacheIds = opCtx0.cfgs.keySet();
+
+        walEnabled(true, true, cacheIds);
+
+        List<GridCacheContext> cctxs = new ArrayList<>();
+
+        for (Integer cacheId : cacheIds) {
+            GridCacheContext<?, ?> cctx = ctx.cache().context().cacheContext(cacheId);
+
+            if (cctx != null)
+                cctxs.add(cctx);
+        }
+
+        ctx.cache().context().database().forceRebuildIndexes(cctxs);
+
+        for (File dir : opCtx0.dirs) {
+            File tmpCacheDir = formatTmpDirName(dir);
+
+            if (tmpCacheDir.exists() && !U.delete(tmpCacheDir)) {
+                log.warning("Unable to remove temporary directory of the restored cache group " +
+                    "[reqId=" + opCtx0.reqId + ", snapshot=" + opCtx0.snpName + ", dir=" + tmpCacheDir + ']');
+            }
+        }
+    }
+
+    /**
+     * @param reqId Request ID.
+     * @param res Results.
+     * @param errs Errors.
+     */
+    private void finishStreamPartitions(UUID reqId, Map<UUID, Boolean> res, Map<UUID, Throwable> errs) {
+        if (ctx.clientNode())
+            return;
+
+        SnapshotRestoreContext opCtx0 = opCtx;
+
+        Throwable failure = errs.values().stream().findFirst().
+            orElse(checkNodeLeft(opCtx0.nodes(), res.keySet()));
+
+        if (failure == null) {
             finishProcess(reqId, null);
 
             return;
@@ -1347,10 +1573,50 @@ public class SnapshotRestoreProcess {
 
         opCtx0.err.compareAndSet(null, failure);
 
+        cancelStreaming(opCtx0, failure);
+
         if (U.isLocalNodeCoordinator(ctx.discovery()))
             cacheStopProc.start(reqId, reqId);
     }
 
+    /**
+     * @param pair Cache group and partition IDs.
+     * @return Data store of the local partition awaiting its file from the snapshot.
+     * @throws IgniteCheckedException If the partition doesn't exist on the local node.
+     */
+    private GridCacheDataStore restoringDataStore(GroupPartitionId pair) throws IgniteCheckedException {
+        CacheGroupContext grp = ctx.cache().cacheGroup(pair.getGroupId());
+
+        GridDhtLocalPartition part = grp == null ? null : grp.topology().localPartition(pair.getPartitionId());
+
+        if (part == null) {
+            throw new IgniteCheckedException("Partition of the restored cache group doesn't exist on the local node " +
+                "[grpId=" + pair.getGroupId() + ", partId=" + pair.getPartitionId() + ']');
+        }
+
+        return (GridCacheDataStore)part.dataStore();
+    }
+
+    /**
+     * Fails reads of partitions awaiting their files from the snapshot.
+     *
+     * @param opCtx0 Snapshot restore operation context.
+     * @param err Cancellation reason.
+     */
+    private void cancelStreaming(SnapshotRestoreContext opCtx0, Throwable err) {
+        if (!opCtx0.streaming)
+            return;
+
+        for (GroupPartitionId pair : opCtx0.streamParts.keySet()) {
+            try {
+                restoringDataStore(pair).cancelRestore(err);
+            }
+            catch (IgniteCheckedException ignored) {
+                // The partition has not been created, nothing to cancel.
+            }
+        }
+    }
+
     /**
      * @param reqId Request ID.
      * @return Result future.
@@ -1422,11 +1688,11 @@ public class SnapshotRestoreProcess {
             try {
                 Set<Integer> cacheIds = opCtx0.cfgs.keySet();
 
-                walEnabled(false, cacheIds);
+                walEnabled(false, false, cacheIds);
 
                 restoreIncrementalSnapshot(cacheIds);
 
-                walEnabled(true, cacheIds);
+                walEnabled(true, false, cacheIds);
 
                 CheckpointProgress cp = ctx.cache().context().database()
                     .forceNewCheckpoint("Incremental snapshot restored.", (fut) -> {
@@ -1517,12 +1783,13 @@ public class SnapshotRestoreProcess {
     }
 
     /**
-     * Enable or disable WAL while restoring incremental snapshot.
+     * Enable or disable WAL while restoring incremental snapshot or partition files of started caches.
      *
      * @param enabled Enable or disable WAL for caches.
+     * @param persist If {@code true} then WAL state is persisted, so the groups are cleaned up if the node fails.
      * @param cacheIds Restoring cache IDs.
      */
-    private void walEnabled(boolean enabled, Set<Integer> cacheIds) {
+    private void walEnabled(boolean enabled, boolean persist, Set<Integer> cacheIds) {
         for (Integer cacheId: cacheIds) {
             int grpId = ctx.cache().cacheDescriptor(cacheId).groupId();
 
@@ -1530,7 +1797,7 @@ public class SnapshotRestoreProcess {
 
             assert grp != null : "cacheId=" + cacheId + " grpId=" + grpId;
 
-            grp.localWalEnabled(enabled, false);
+            grp.localWalEnabled(enabled, persist);
 
             if (!enabled)
                 ctx.cache().context().database().lastCheckpointInapplicableForWalRebalance(grpId);
@@ -1774,7 +2041,13 @@ public class SnapshotRestoreProcess {
                     ", snpDir=" + snpFile.getAbsolutePath() + ", name=" + snpFile.getName() + ']');
             }
 
-            IgniteSnapshotManager.copy(snapMgr.ioFactory(), snpFile, partFile.toFile(), snpFile.length());
+            try {
+                PartitionChanges.restore(snapMgr.ioFactory(), snpFile, partFile.toFile(),
+                    snapMgr.transferRateLimiter());
+            }
+            catch (IOException e) {
+                throw new IgniteException(e);
+            }
 
             return partFile;
         }, snapMgr.snapshotExecutorService());
@@ -1887,6 +2160,12 @@ public class SnapshotRestoreProcess {
         /** Index of incremental snapshot, {@code 0} if no incremental snapshot to restore. */
         private final int incIdx;
 
+        /** {@code True} if caches are started before their partition files are copied. */
+        private final boolean streaming;
+
+        /** Partitions awaiting their files to be swapped into the started caches. */
+        private final Map<GroupPartitionId, PartitionRestoreFuture> streamParts = new ConcurrentHashMap<>();
+
         /**
          * Set of restored cache groups path on local node. Collected when all cache configurations received
          * from the <tt>prepare</tt> distributed process.
@@ -1944,6 +2223,7 @@ public class SnapshotRestoreProcess {
             nodes = null;
             snpPath = null;
             incIdx = 0;
+            streaming = false;
         }
 
         /**
@@ -1955,6 +2235,7 @@ public class SnapshotRestoreProcess {
             snpPath = req.snapshotPath();
             opNodeId = req.operationalNodeId();
             incIdx = req.incrementIndex();
+            streaming = req.streaming() && incIdx == 0;
             startTime = U.currentTimeMillis();
             nodes = req.nodes();
         }
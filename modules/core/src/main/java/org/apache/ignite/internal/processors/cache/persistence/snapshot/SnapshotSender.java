@@ -18,6 +18,7 @@
 package org.apache.ignite.internal.processors.cache.persistence.snapshot;
 
 import java.io.File;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -143,6 +144,36 @@ abstract class SnapshotSender {
         }
     }
 
+    /**
+     * @param part Partition file to send.
+     * @param cacheDirName Cache group directory name.
+     * @param pair Group id with partition id pair.
+     * @param length Partition length.
+     * @param baseSnpName Base snapshot name.
+     * @param pages Indexes of pages changed since the base snapshot.
+     */
+    public final void sendPartChanges(
+        File part,
+        String cacheDirName,
+        GroupPartitionId pair,
+        Long length,
+        String baseSnpName,
+        BitSet pages
+    ) {
+        if (!lock.readLock().tryLock())
+            return;
+
+        try {
+            if (closed)
+                return;
+
+            sendPartChanges0(part, cacheDirName, pair, length, baseSnpName, pages);
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
     /**
      * @param delta Delta pages file.
      * @param cacheDirName Cache group directory name.
@@ -202,6 +233,27 @@ abstract class SnapshotSender {
      */
     protected abstract void sendDelta0(File delta, String cacheDirName, GroupPartitionId pair);
 
+    /**
+     * Sends pages of the partition changed since the base snapshot. The whole partition is sent by default.
+     *
+     * @param part Partition file to send.
+     * @param cacheDirName Cache group directory name.
+     * @param pair Group id with partition id pair.
+     * @param length Partition length.
+     * @param baseSnpName Base snapshot name.
+     * @param pages Indexes of pages changed since the base snapshot.
+     */
+    protected void sendPartChanges0(
+        File part,
+        String cacheDirName,
+        GroupPartitionId pair,
+        Long length,
+        String baseSnpName,
+        BitSet pages
+    ) {
+        sendPart0(part, cacheDirName, pair, length);
+    }
+
     /**
      * @param mappings Local node marshaller mappings.
      */
@@ -80,7 +80,9 @@ import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.lang.IgniteInClosure;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_BPLUS_TREE_BULK_LOAD_FILL_FACTOR;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_BPLUS_TREE_LOCK_RETRIES;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_BPLUS_TREE_OPTIMISTIC_READS;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree.Bool.DONE;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree.Bool.FALSE;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree.Bool.READY;
@@ -235,6 +237,26 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
     private static final int LOCK_RETRIES = IgniteSystemProperties.getInteger(
         IGNITE_BPLUS_TREE_LOCK_RETRIES, IGNITE_BPLUS_TREE_LOCK_RETRIES_DEFAULT);
 
+    /** Default value of {@link IgniteSystemProperties#IGNITE_BPLUS_TREE_OPTIMISTIC_READS}. */
+    public static final boolean DFLT_BPLUS_TREE_OPTIMISTIC_READS = true;
+
+    /** Value of {@link IgniteSystemProperties#IGNITE_BPLUS_TREE_OPTIMISTIC_READS}. */
+    protected static final boolean OPTIMISTIC_READS = IgniteSystemProperties.getBoolean(
+        IGNITE_BPLUS_TREE_OPTIMISTIC_READS, DFLT_BPLUS_TREE_OPTIMISTIC_READS);
+
+    /**
+     * Result of {@link #compareOptimistic(BPlusIO, long, int, Object)} meaning that the item can't be compared without
+     * reading its row.
+     */
+    protected static final int OPTIMISTIC_COMPARE_UNSUPPORTED = Integer.MIN_VALUE;
+
+    /** Default value of {@link IgniteSystemProperties#IGNITE_BPLUS_TREE_BULK_LOAD_FILL_FACTOR}. */
+    public static final float DFLT_BPLUS_TREE_BULK_LOAD_FILL_FACTOR = 0.9f;
+
+    /** */
+    private static final float BULK_LOAD_FILL_FACTOR = IgniteSystemProperties.getFloat(
+        IGNITE_BPLUS_TREE_BULK_LOAD_FILL_FACTOR, DFLT_BPLUS_TREE_BULK_LOAD_FILL_FACTOR);
+
     /** */
     private final AtomicBoolean destroyed = new AtomicBoolean(false);
 
@@ -413,19 +435,31 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
 
             int cnt = io.getCount(pageAddr);
 
+            // Optimistically read page may be torn, do not read beyond its items.
+            if (g.optimistic && cnt > io.getMaxCount(pageAddr, pageSize()))
+                return RETRY;
+
             int idx;
 
             if (g.findLast)
                 idx = io.isLeaf() ? cnt - 1 : -cnt - 1; // (-cnt - 1) mimics not_found result of findInsertionPoint
                 // in case of cnt = 0 we end up in 'not found' branch below with idx being 0 after fix() adjustment
-            else
-                idx = findInsertionPoint(lvl, io, pageAddr, 0, cnt, g.row, g.shift);
+            else {
+                idx = findInsertionPoint(lvl, io, pageAddr, 0, cnt, g.row, g.shift, g.optimistic);
+
+                if (idx == OPTIMISTIC_COMPARE_UNSUPPORTED)
+                    return RETRY;
+            }
 
             boolean found = idx >= 0;
 
             if (found) { // Found exact match.
                 assert g.getClass() != GetCursor.class;
 
+                // Rows must not be materialized from an optimistically read page.
+                if (g.optimistic && canGetRowFromInner)
+                    return RETRY;
+
                 if (g.found(io, pageAddr, idx, lvl))
                     return FOUND;
 
@@ -930,10 +964,14 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
 
             io.initRoot(pageAddr, rootId, pageSize());
             io.setInlineSize(pageAddr, inlineSize);
-            io.initFlagsAndVersion(pageAddr, BPlusMetaIO.DEFAULT_FLAGS, IgniteVersionUtils.VER);
+            long flags = metaFlags();
 
-            if (needWalDeltaRecord(metaId, metaPage, walPlc))
-                wal.log(new MetaPageInitRootInlineFlagsCreatedVersionRecord(cacheId, metaId, rootId, inlineSize));
+            io.initFlagsAndVersion(pageAddr, flags, IgniteVersionUtils.VER);
+
+            if (needWalDeltaRecord(metaId, metaPage, walPlc)) {
+                wal.log(new MetaPageInitRootInlineFlagsCreatedVersionRecord(cacheId, metaId, rootId, inlineSize,
+                    flags, IgniteVersionUtils.VER));
+            }
 
             assert io.getRootLevel(pageAddr) == 0;
             assert io.getFirstPageId(pageAddr, 0) == rootId;
@@ -1080,6 +1118,45 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
         sequentialWriteOptsEnabled = true;
     }
 
+    /** Disables the mode enabled by {@link #enableSequentialWriteMode()}, so the tree can be updated at random. */
+    public void disableSequentialWriteMode() {
+        sequentialWriteOptsEnabled = false;
+    }
+
+    /**
+     * Starts bottom-up bulk loading of the tree with the default fill factor.
+     *
+     * @return Bulk load.
+     * @throws IgniteCheckedException If failed.
+     * @see IgniteSystemProperties#IGNITE_BPLUS_TREE_BULK_LOAD_FILL_FACTOR
+     */
+    public final BulkLoad bulkLoad() throws IgniteCheckedException {
+        return bulkLoad(BULK_LOAD_FILL_FACTOR);
+    }
+
+    /**
+     * Starts bottom-up bulk loading of the tree. The tree must be empty. Other operations may modify the tree only
+     * between the added rows, only with rows less than the last added one, and must be followed by
+     * {@link BulkLoad#reset()}.
+     *
+     * @param fillFactor Fill factor of the pages, value in range {@code (0, 1]}.
+     * @return Bulk load.
+     * @throws IgniteCheckedException If failed.
+     */
+    public final BulkLoad bulkLoad(float fillFactor) throws IgniteCheckedException {
+        checkDestroyed();
+
+        if (!(fillFactor > 0f && fillFactor <= 1f))
+            throw new IllegalArgumentException("Fill factor must be in range (0, 1]: " + fillFactor);
+
+        TreeMetaData meta = treeMeta();
+
+        if (meta.rootLvl != 0 || !isEmpty())
+            throw new IgniteCheckedException("Bulk load is supported only for an empty tree: " + name());
+
+        return new BulkLoad(meta.rootId, fillFactor);
+    }
+
     /**
      * Initialize new tree.
      *
@@ -1114,6 +1191,13 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
         }
     }
 
+    /**
+     * @return Feature flags to write to the meta page of a new tree.
+     */
+    protected long metaFlags() {
+        return BPlusMetaIO.DEFAULT_FLAGS;
+    }
+
     /**
      * @return Tree meta data.
      * @throws IgniteCheckedException If failed.
@@ -1679,7 +1763,10 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
                 g.pageId = pageId;
                 g.fwdId = fwdId;
 
-                Result res = read(pageId, page, search, g, lvl, RETRY);
+                Result res = lvl > 0 && optimisticReads() ? searchOptimistic(g, pageId, page, fwdId, lvl) : null;
+
+                if (res == null)
+                    res = read(pageId, page, search, g, lvl, RETRY);
 
                 switch (res) {
                     case GO_DOWN:
@@ -1718,6 +1805,44 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
         }
     }
 
+    /**
+     * Searches an inner page without taking its read lock. Only going down is accepted from the optimistic read,
+     * any other result is obtained by reading the page under the lock.
+     *
+     * @param g Get.
+     * @param pageId Page ID.
+     * @param page Page pointer.
+     * @param fwdId Expected forward page ID.
+     * @param lvl Level.
+     * @return Result code or {@code null} if the page must be read under the lock.
+     * @throws IgniteCheckedException If failed.
+     */
+    @Nullable private Result searchOptimistic(Get g, long pageId, long page, long fwdId, int lvl)
+        throws IgniteCheckedException {
+        long backId = g.backId;
+
+        Result res;
+
+        g.optimistic = true;
+
+        try {
+            res = readOptimistic(pageId, page, search, g, lvl, RETRY, statisticsHolder());
+        }
+        finally {
+            g.optimistic = false;
+        }
+
+        if (res == GO_DOWN || res == GO_DOWN_X)
+            return res;
+
+        // Restore arguments changed by the search.
+        g.pageId = pageId;
+        g.fwdId = fwdId;
+        g.backId = backId;
+
+        return null;
+    }
+
     /**
      * @param instance Instance name.
      * @param type Tree type.
@@ -3267,6 +3392,9 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
         /** Number of repetitions to capture a lock in the B+Tree (countdown). */
         int lockRetriesCnt = getLockRetries();
 
+        /** {@code True} while the current page is read optimistically, without a lock. */
+        boolean optimistic;
+
         /**
          * @param row Row.
          * @param findLast find last row.
@@ -3997,10 +4125,10 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
          */
         private L insert(long pageId, long page, long pageAddr, BPlusIO<L> io, int idx, int lvl)
             throws IgniteCheckedException {
-            int maxCnt = io.getMaxCount(pageAddr, pageSize());
+            int maxCnt = io.getMaxCount(pageAddr, row, pageSize());
             int cnt = io.getCount(pageAddr);
 
-            if (cnt == maxCnt) // Need to split page.
+            if (cnt >= maxCnt) // Need to split page.
                 return insertWithSplit(pageId, page, pageAddr, io, idx, lvl);
 
             insertSimple(pageId, page, pageAddr, io, idx, null);
@@ -5536,6 +5664,282 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
         }
     }
 
+    /**
+     * Bottom-up bulk load of rows sorted in ascending order.
+     *
+     * Rows are appended to the rightmost leaf page. When the page reaches the fill factor, a forward page is allocated
+     * and a separator is appended to the rightmost page of the upper level in the same way, the root is added on top
+     * when the upper level does not exist. So the pages are filled sequentially, each page is written once and the
+     * tree is valid after each added row.
+     *
+     * Pages are not kept locked between the rows, so the checkpoint read lock can be released between them.
+     */
+    public final class BulkLoad {
+        /** Fill factor. */
+        private final float fillFactor;
+
+        /** Rightmost page IDs of the levels, starting from the bottom one. */
+        private long[] rightmost;
+
+        /** Row to append to the current level. */
+        private L row;
+
+        /** Right child page ID of the row to append to an inner level. */
+        private long rightId;
+
+        /**
+         * @param rootId Root page ID.
+         * @param fillFactor Fill factor.
+         */
+        private BulkLoad(long rootId, float fillFactor) {
+            this.fillFactor = fillFactor;
+
+            rightmost = new long[] {rootId};
+        }
+
+        /**
+         * @param row Row, must be greater than all the previously added rows.
+         * @throws IgniteCheckedException If failed.
+         */
+        public void add(L row) throws IgniteCheckedException {
+            assert row != null;
+
+            checkDestroyed();
+
+            this.row = row;
+            rightId = 0L;
+
+            for (int lvl = 0; this.row != null; lvl++)
+                append(lvl);
+        }
+
+        /**
+         * Finds the rightmost pages of the levels again. Must be called before the next row is added, if the tree was
+         * modified by other operations after the previous one.
+         *
+         * @throws IgniteCheckedException If failed.
+         */
+        public void reset() throws IgniteCheckedException {
+            checkDestroyed();
+
+            TreeMetaData meta = treeMeta();
+
+            long[] rightmost0 = new long[meta.rootLvl + 1];
+
+            long pageId = meta.rootId;
+
+            for (int lvl = meta.rootLvl; lvl > 0; lvl--) {
+                rightmost0[lvl] = pageId;
+
+                pageId = rightmostChild(pageId);
+            }
+
+            rightmost0[0] = pageId;
+
+            rightmost = rightmost0;
+        }
+
+        /**
+         * @param pageId Inner page ID.
+         * @return Rightmost child page ID.
+         * @throws IgniteCheckedException If failed.
+         */
+        private long rightmostChild(long pageId) throws IgniteCheckedException {
+            long page = acquirePage(pageId);
+
+            try {
+                long pageAddr = readLock(pageId, page); // The tree is not modified concurrently.
+
+                assert pageAddr != 0L;
+
+                try {
+                    BPlusInnerIO<L> io = inner(io(pageAddr));
+
+                    int cnt = io.getCount(pageAddr);
+
+                    // Inner page may have no items, but it still has a child.
+                    return cnt == 0 ? io.getLeft(pageAddr, 0) : io.getRight(pageAddr, cnt - 1);
+                }
+                finally {
+                    readUnlock(pageId, page, pageAddr);
+                }
+            }
+            finally {
+                releasePage(pageId, page);
+            }
+        }
+
+        /**
+         * Appends the row to the rightmost page of the level. If the page is filled, the row is placed to a new
+         * forward page and a separator of these pages is left to be appended to the upper level.
+         *
+         * @param lvl Level.
+         * @throws IgniteCheckedException If failed.
+         */
+        private void append(int lvl) throws IgniteCheckedException {
+            long pageId = rightmost[lvl];
+            long page = acquirePage(pageId);
+
+            try {
+                long pageAddr = writeLock(pageId, page); // The tree is not modified concurrently.
+
+                assert pageAddr != 0L;
+
+                try {
+                    BPlusIO<L> io = io(pageAddr);
+
+                    int cnt = io.getCount(pageAddr);
+
+                    assert !io.isLeaf() || cnt == 0 || compare(io, pageAddr, cnt - 1, row) < 0 :
+                        "Rows must be added in ascending order [tree=" + name() + ", row=" + row + ']';
+
+                    if (cnt < capacity(io, pageAddr)) {
+                        boolean needWal = needWalDeltaRecord(pageId, page, null);
+
+                        byte[] rowBytes = io.insert(pageAddr, cnt, row, null, rightId, needWal);
+
+                        if (needWal)
+                            wal.log(new InsertRecord<>(grpId, pageId, io, cnt, rowBytes, rightId));
+
+                        row = null;
+
+                        return;
+                    }
+
+                    // Leaf pages keep all the rows, so the last one is just copied up. The last item of an inner page
+                    // is moved up and its right child becomes the leftmost child of the forward page.
+                    L moveUpRow = io.getLookupRow(BPlusTree.this, pageAddr, cnt - 1);
+
+                    long leftId = 0L;
+
+                    if (!io.isLeaf())
+                        leftId = inner(io).getRight(pageAddr, --cnt);
+
+                    long fwdId = allocatePage(null);
+
+                    initForward(fwdId, io, leftId);
+
+                    io.splitExistingPage(pageAddr, cnt, fwdId);
+
+                    if (needWalDeltaRecord(pageId, page, null))
+                        wal.log(new SplitExistingPageRecord(grpId, pageId, cnt, fwdId));
+
+                    rightmost[lvl] = fwdId;
+
+                    row = moveUpRow;
+                    rightId = fwdId;
+
+                    if (lvl == rightmost.length - 1) {
+                        addNewRoot(pageId, lvl + 1);
+
+                        row = null;
+                    }
+                }
+                finally {
+                    writeUnlock(pageId, page, pageAddr, null, true);
+                }
+            }
+            finally {
+                releasePage(pageId, page);
+            }
+        }
+
+        /**
+         * Initializes forward page with the current row.
+         *
+         * @param fwdId Forward page ID.
+         * @param io IO.
+         * @param leftId Leftmost child page ID for an inner page.
+         * @throws IgniteCheckedException If failed.
+         */
+        private void initForward(long fwdId, BPlusIO<L> io, long leftId) throws IgniteCheckedException {
+            long fwdPage = acquirePage(fwdId);
+
+            try {
+                long fwdPageAddr = writeLock(fwdId, fwdPage); // Initial write.
+
+                assert fwdPageAddr != 0L;
+
+                try {
+                    io.initNewPage(fwdPageAddr, fwdId, pageSize(), metrics);
+
+                    if (!io.isLeaf())
+                        inner(io).setLeft(fwdPageAddr, 0, leftId);
+
+                    io.insert(fwdPageAddr, 0, row, null, rightId, false);
+                }
+                finally {
+                    // Always write full forward page, because it is known to be new.
+                    writeUnlock(fwdId, fwdPage, fwdPageAddr, Boolean.TRUE, true);
+                }
+            }
+            finally {
+                releasePage(fwdId, fwdPage);
+            }
+        }
+
+        /**
+         * Adds new root with the current row as a single item.
+         *
+         * @param leftId Left child page ID.
+         * @param lvl Root level.
+         * @throws IgniteCheckedException If failed.
+         */
+        private void addNewRoot(long leftId, int lvl) throws IgniteCheckedException {
+            long newRootId = allocatePage(null);
+            long newRootPage = acquirePage(newRootId);
+
+            try {
+                long newRootAddr = writeLock(newRootId, newRootPage); // Initial write.
+
+                assert newRootAddr != 0L;
+
+                // Never write full new root page, because it is known to be new.
+                final Boolean newRootPageWalPlc = Boolean.FALSE;
+
+                try {
+                    boolean needWal = needWalDeltaRecord(newRootId, newRootPage, newRootPageWalPlc);
+
+                    BPlusInnerIO<L> io = latestInnerIO();
+
+                    byte[] rowBytes = io.initNewRoot(newRootAddr, newRootId, leftId, row, null, rightId, pageSize(),
+                        needWal, metrics);
+
+                    if (needWal)
+                        wal.log(new NewRootInitRecord<>(grpId, newRootId, newRootId, io, leftId, rowBytes, rightId));
+                }
+                finally {
+                    writeUnlock(newRootId, newRootPage, newRootAddr, newRootPageWalPlc, true);
+                }
+            }
+            finally {
+                releasePage(newRootId, newRootPage);
+            }
+
+            Bool res = write(metaPageId, addRoot, newRootId, lvl, FALSE, statisticsHolder());
+
+            assert res == TRUE : res;
+
+            rightmost = Arrays.copyOf(rightmost, lvl + 1);
+            rightmost[lvl] = newRootId;
+        }
+
+        /**
+         * @param io IO.
+         * @param pageAddr Page address.
+         * @return Count of items to keep in the page.
+         * @throws IgniteCheckedException If failed.
+         */
+        private int capacity(BPlusIO<L> io, long pageAddr) throws IgniteCheckedException {
+            int maxCnt = io.getMaxCount(pageAddr, row, pageSize());
+
+            assert io.isLeaf() || maxCnt > 1 : maxCnt;
+
+            // Inner page must keep at least one item after the last one is moved up.
+            return Math.min(maxCnt, Math.max(io.isLeaf() ? 1 : 2, (int)(maxCnt * fillFactor)));
+        }
+    }
+
     /**
      * Tail for remove.
      */
@@ -5646,6 +6050,32 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
      */
     private int findInsertionPoint(int lvl, BPlusIO<L> io, long buf, int low, int cnt, L row, int shift)
         throws IgniteCheckedException {
+        return findInsertionPoint(lvl, io, buf, low, cnt, row, shift, false);
+    }
+
+    /**
+     * @param io IO.
+     * @param buf Buffer.
+     * @param low Start index.
+     * @param cnt Row count.
+     * @param row Lookup row.
+     * @param shift Shift if equal.
+     * @param optimistic {@code True} if the page is read optimistically, see
+     *      {@link #compareOptimistic(BPlusIO, long, int, Object)}.
+     * @return Insertion point as in {@link Arrays#binarySearch(Object[], Object, Comparator)} or
+     *      {@link #OPTIMISTIC_COMPARE_UNSUPPORTED} if the page must be read under the lock.
+     * @throws IgniteCheckedException If failed.
+     */
+    private int findInsertionPoint(
+        int lvl,
+        BPlusIO<L> io,
+        long buf,
+        int low,
+        int cnt,
+        L row,
+        int shift,
+        boolean optimistic
+    ) throws IgniteCheckedException {
         assert row != null;
 
         if (sequentialWriteOptsEnabled) {
@@ -5659,7 +6089,10 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
         while (low <= high) {
             int mid = (low + high) >>> 1;
 
-            int cmp = compare(lvl, io, buf, mid, row);
+            int cmp = optimistic ? compareOptimistic(io, buf, mid, row) : compare(lvl, io, buf, mid, row);
+
+            if (cmp == OPTIMISTIC_COMPARE_UNSUPPORTED)
+                return cmp;
 
             if (cmp == 0)
                 cmp = -shift; // We need to fix the case when search row matches multiple data rows.
@@ -5742,6 +6175,23 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
         return compare(io, pageAddr, idx, row);
     }
 
+    /**
+     * Compares the lookup row with an item of a page read optimistically, without a lock. The page may be torn, so
+     * unlike {@link #compare(BPlusIO, long, int, Object)} the comparison must not read anything but the page itself,
+     * links to the stored rows must not be followed.
+     *
+     * @param io IO.
+     * @param pageAddr Page address.
+     * @param idx Index of row in the given buffer.
+     * @param row Lookup row.
+     * @return Comparison result as in {@link Comparator#compare(Object, Object)} or
+     *      {@link #OPTIMISTIC_COMPARE_UNSUPPORTED} if the item can't be compared without reading its row.
+     * @throws IgniteCheckedException If failed.
+     */
+    protected int compareOptimistic(BPlusIO<L> io, long pageAddr, int idx, L row) throws IgniteCheckedException {
+        return OPTIMISTIC_COMPARE_UNSUPPORTED;
+    }
+
     /**
      * Get a full detached data row.
      *
@@ -6452,6 +6902,16 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
         return LOCK_RETRIES;
     }
 
+    /**
+     * Trees which implement {@link #compareOptimistic(BPlusIO, long, int, Object)} enable optimistic reads by returning
+     * {@link #OPTIMISTIC_READS}.
+     *
+     * @return {@code True} if inner pages are searched optimistically, without taking read locks.
+     */
+    protected boolean optimisticReads() {
+        return false;
+    }
+
     /**
      * @param pageId Page ID.
      * @return Page absolute pointer.
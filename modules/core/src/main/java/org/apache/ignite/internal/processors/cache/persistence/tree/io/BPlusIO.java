@@ -207,6 +207,20 @@ public abstract class BPlusIO<L> extends PageIO implements CompactablePageIO {
      */
     public abstract int getMaxCount(long pageAddr, int pageSize);
 
+    /**
+     * Gets max items count of the page taking into account the row to be inserted. Differs from
+     * {@link #getMaxCount(long, int)} only for IOs with item size depending on the page content.
+     *
+     * @param pageAddr Page address.
+     * @param row Row to insert.
+     * @param pageSize Page size without encryption overhead.
+     * @return Max items count, the page must be split if it already contains this or greater number of items.
+     * @throws IgniteCheckedException If failed.
+     */
+    public int getMaxCount(long pageAddr, L row, int pageSize) throws IgniteCheckedException {
+        return getMaxCount(pageAddr, pageSize);
+    }
+
     /**
      * Store the needed info about the row in the page. Leaf and inner pages can store different info.
      *
@@ -218,7 +232,7 @@ public abstract class BPlusIO<L> extends PageIO implements CompactablePageIO {
      * @return Stored row bytes.
      * @throws IgniteCheckedException If failed.
      */
-    public final byte[] store(long pageAddr, int idx, L row, byte[] rowBytes, boolean needRowBytes)
+    public byte[] store(long pageAddr, int idx, L row, byte[] rowBytes, boolean needRowBytes)
         throws IgniteCheckedException {
         assertPageType(pageAddr);
 
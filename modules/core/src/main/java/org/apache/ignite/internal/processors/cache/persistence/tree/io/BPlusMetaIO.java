@@ -64,6 +64,9 @@ public class BPlusMetaIO extends PageIO {
     /** */
     private static final long FLAG_INLINE_OBJECT_HASH = 4L;
 
+    /** Leaf pages of the tree compress the common prefix of inlined keys. */
+    public static final long FLAG_PREFIX_COMPRESSION = 8L;
+
     /** */
     public static final long DEFAULT_FLAGS = FLAG_UNWRAPPED_PK | FLAG_INLINE_OBJECT_SUPPORTED | FLAG_INLINE_OBJECT_HASH;
 
@@ -255,6 +258,16 @@ public class BPlusMetaIO extends PageIO {
         return (flags(pageAddr) & FLAG_INLINE_OBJECT_HASH) != 0L;
     }
 
+    /**
+     * @param pageAddr Page address.
+     * @return {@code true} In case leaf pages of the tree compress the common prefix of inlined keys.
+     */
+    public boolean prefixCompression(long pageAddr) {
+        assert supportFlags();
+
+        return (flags(pageAddr) & FLAG_PREFIX_COMPRESSION) != 0L;
+    }
+
     /**
      * @return {@code true} If flags are supported.
      */
@@ -179,6 +179,60 @@ public abstract class PageHandler<X, R> {
         }
     }
 
+    /**
+     * Runs the handler on the page read optimistically, without taking the page read lock. The handler may observe
+     * inconsistent page content, so it must not have side effects other than on its argument.
+     *
+     * @param pageMem Page memory.
+     * @param cacheId Cache ID.
+     * @param pageId Page ID.
+     * @param page Page pointer.
+     * @param h Handler.
+     * @param arg Argument.
+     * @param intArg Argument of type {@code int}.
+     * @param lockFailed Result in case the page is write locked, has been recycled or concurrently modified.
+     * @param statHolder Statistics holder to track IO operations.
+     * @param pageIoRslvr Page IO resolver.
+     * @return Handler result.
+     * @throws IgniteCheckedException If failed.
+     */
+    public static <X, R> R readPageOptimistic(
+        PageMemory pageMem,
+        int cacheId,
+        long pageId,
+        long page,
+        PageHandler<X, R> h,
+        X arg,
+        int intArg,
+        R lockFailed,
+        IoStatisticsHolder statHolder,
+        PageIoResolver pageIoRslvr
+    ) throws IgniteCheckedException {
+        long stamp = pageMem.tryOptimisticRead(cacheId, pageId, page);
+
+        if (stamp == 0L)
+            return lockFailed;
+
+        long pageAddr = pageMem.optimisticReadAddress(page);
+
+        R res;
+
+        try {
+            PageIO io = pageIoRslvr.resolve(pageAddr);
+
+            res = h.run(cacheId, pageId, page, pageAddr, io, null, arg, intArg, statHolder);
+        }
+        catch (IgniteCheckedException | RuntimeException | AssertionError e) {
+            // The failure may be caused by a concurrent modification of the page.
+            if (!pageMem.validateOptimisticRead(cacheId, pageId, page, stamp))
+                return lockFailed;
+
+            throw e;
+        }
+
+        return pageMem.validateOptimisticRead(cacheId, pageId, page, stamp) ? res : lockFailed;
+    }
+
     /**
      * @param pageMem Page memory.
      * @param cacheId Cache ID.
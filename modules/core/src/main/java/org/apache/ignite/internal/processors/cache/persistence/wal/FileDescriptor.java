@@ -24,6 +24,7 @@ import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactor
 import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
 import org.apache.ignite.internal.processors.cache.persistence.file.UnzipFileIO;
 import org.apache.ignite.internal.processors.cache.persistence.wal.io.SegmentIO;
+import org.apache.ignite.internal.processors.compress.CompressionProcessor;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.jetbrains.annotations.Nullable;
 
@@ -134,8 +135,11 @@ public class FileDescriptor implements Comparable<FileDescriptor>, AbstractWalRe
     }
 
     /** {@inheritDoc} */
-    @Override public SegmentIO toReadOnlyIO(FileIOFactory fileIOFactory) throws IOException {
-        FileIO fileIO = isCompressed() ? new UnzipFileIO(file()) : fileIOFactory.create(file(), READ);
+    @Override public SegmentIO toReadOnlyIO(
+        FileIOFactory fileIOFactory,
+        @Nullable CompressionProcessor compressProc
+    ) throws IOException {
+        FileIO fileIO = isCompressed() ? new UnzipFileIO(file(), compressProc) : fileIOFactory.create(file(), READ);
 
         return new SegmentIO(idx, fileIO);
     }
@@ -17,13 +17,11 @@
 
 package org.apache.ignite.internal.processors.cache.persistence.wal;
 
-import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.DataInput;
 import java.io.EOFException;
 import java.io.File;
 import java.io.FileFilter;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -51,8 +49,6 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.regex.Pattern;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteLogger;
@@ -90,6 +86,7 @@ import org.apache.ignite.internal.processors.cache.persistence.StorageException;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
 import org.apache.ignite.internal.processors.cache.persistence.file.RandomAccessFileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.file.UnzipFileIO;
 import org.apache.ignite.internal.processors.cache.persistence.filename.PdsFolderSettings;
 import org.apache.ignite.internal.processors.cache.persistence.wal.aware.SegmentAware;
 import org.apache.ignite.internal.processors.cache.persistence.wal.crc.FastCrc;
@@ -108,6 +105,7 @@ import org.apache.ignite.internal.processors.cache.persistence.wal.serializer.Re
 import org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordSerializerFactory;
 import org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordSerializerFactoryImpl;
 import org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordV1Serializer;
+import org.apache.ignite.internal.processors.compress.CompressionProcessor;
 import org.apache.ignite.internal.processors.configuration.distributed.DistributedBooleanProperty;
 import org.apache.ignite.internal.processors.failure.FailureProcessor;
 import org.apache.ignite.internal.processors.timeout.GridTimeoutObject;
@@ -115,6 +113,7 @@ import org.apache.ignite.internal.processors.timeout.GridTimeoutProcessor;
 import org.apache.ignite.internal.util.GridUnsafe;
 import org.apache.ignite.internal.util.future.GridFinishedFuture;
 import org.apache.ignite.internal.util.future.GridFutureAdapter;
+import org.apache.ignite.internal.util.io.GridByteArrayOutputStream;
 import org.apache.ignite.internal.util.io.GridFileUtils;
 import org.apache.ignite.internal.util.typedef.CI1;
 import org.apache.ignite.internal.util.typedef.CIX1;
@@ -139,9 +138,11 @@ import static java.nio.file.StandardOpenOption.CREATE;
 import static java.nio.file.StandardOpenOption.READ;
 import static java.nio.file.StandardOpenOption.WRITE;
 import static java.util.stream.Collectors.toList;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_CDC_WAL_POSITION_UPDATE_FREQUENCY;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_CHECKPOINT_TRIGGER_ARCHIVE_SIZE_PERCENTAGE;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_THRESHOLD_WAIT_TIME_NEXT_WAL_SEGMENT;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_THRESHOLD_WAL_ARCHIVE_SIZE_PERCENTAGE;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_WAL_COMPRESSION_BLOCK_SIZE;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_WAL_COMPRESSOR_WORKER_THREAD_CNT;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_WAL_MMAP;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_WAL_SERIALIZER_VERSION;
@@ -219,12 +220,18 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
     /** @see IgniteSystemProperties#IGNITE_WAL_COMPRESSOR_WORKER_THREAD_CNT */
     public static final int DFLT_WAL_COMPRESSOR_WORKER_THREAD_CNT = 4;
 
+    /** @see IgniteSystemProperties#IGNITE_WAL_COMPRESSION_BLOCK_SIZE */
+    public static final int DFLT_WAL_COMPRESSION_BLOCK_SIZE = 1024 * 1024;
+
     /** @see IgniteSystemProperties#IGNITE_CHECKPOINT_TRIGGER_ARCHIVE_SIZE_PERCENTAGE */
     public static final double DFLT_CHECKPOINT_TRIGGER_ARCHIVE_SIZE_PERCENTAGE = 0.25;
 
     /** @see IgniteSystemProperties#IGNITE_THRESHOLD_WAIT_TIME_NEXT_WAL_SEGMENT */
     public static final long DFLT_THRESHOLD_WAIT_TIME_NEXT_WAL_SEGMENT = 1000L;
 
+    /** @see IgniteSystemProperties#IGNITE_CDC_WAL_POSITION_UPDATE_FREQUENCY */
+    public static final long DFLT_CDC_WAL_POSITION_UPDATE_FREQUENCY = 0L;
+
     /** CDC disabled distributed property name. */
     public static final String CDC_DISABLED = "cdc.disabled";
 
@@ -238,6 +245,14 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
             IgniteSystemProperties.getInteger(IGNITE_WAL_COMPRESSOR_WORKER_THREAD_CNT,
                 DFLT_WAL_COMPRESSOR_WORKER_THREAD_CNT);
 
+    /** Frequency of publishing the current WAL position for CDC. */
+    private final long cdcWalPosUpdateFreq = IgniteSystemProperties.getLong(IGNITE_CDC_WAL_POSITION_UPDATE_FREQUENCY,
+        DFLT_CDC_WAL_POSITION_UPDATE_FREQUENCY);
+
+    /** Size of a block of records a compressed segment is split into. */
+    private final int walCompressionBlockSize =
+        IgniteSystemProperties.getInteger(IGNITE_WAL_COMPRESSION_BLOCK_SIZE, DFLT_WAL_COMPRESSION_BLOCK_SIZE);
+
     /**
      * Threshold time to print warning to log if awaiting for next wal segment took too long (exceeded this threshold).
      */
@@ -376,6 +391,18 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
      */
     @Nullable private volatile GridTimeoutProcessor.CancelableTask backgroundFlushSchedule;
 
+    /**
+     * Cancellable task publishing the current WAL position for CDC, should be cancelled at shutdown.
+     * Null if publishing is disabled.
+     */
+    @Nullable private volatile GridTimeoutProcessor.CancelableTask cdcWalPosSchedule;
+
+    /** Marker of the current WAL position for CDC. Null if publishing is disabled. */
+    @Nullable private volatile WalPositionMarker cdcWalPosMarker;
+
+    /** Last published WAL position for CDC. */
+    @Nullable private WALPointer lastCdcWalPos;
+
     /** Reference to the last added next timeout rollover object. */
     @Nullable private TimeoutRollover timeoutRollover;
 
@@ -587,7 +614,8 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
             lockedSegmentFileInputFactory = new LockedSegmentFileInputFactory(
                 segmentAware,
                 segmentRouter,
-                ioFactory
+                ioFactory,
+                cctx.kernalContext().compress()
             );
 
             pageCompression = dsCfg.getWalPageCompression();
@@ -728,6 +756,19 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
         if (schedule != null)
             schedule.close();
 
+        final GridTimeoutProcessor.CancelableTask cdcSchedule = cdcWalPosSchedule;
+
+        if (cdcSchedule != null)
+            cdcSchedule.close();
+
+        final WalPositionMarker marker = cdcWalPosMarker;
+
+        if (marker != null) {
+            cdcWalPosMarker = null;
+
+            U.closeQuiet(marker);
+        }
+
         stopAutoRollover();
 
         try {
@@ -830,6 +871,19 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
         if (mode == WALMode.BACKGROUND)
             backgroundFlushSchedule = cctx.time().schedule(this::doFlush, flushFreq, flushFreq);
 
+        if (walCdcDir != null && cdcWalPosUpdateFreq > 0) {
+            try {
+                cdcWalPosMarker = new WalPositionMarker(walCdcDir.toPath());
+                lastCdcWalPos = null;
+            }
+            catch (IOException e) {
+                throw new IgniteCheckedException("Failed to create WAL position marker for CDC: " + walCdcDir, e);
+            }
+
+            cdcWalPosSchedule = cctx.time().schedule(this::updateCdcWalPosition, cdcWalPosUpdateFreq,
+                cdcWalPosUpdateFreq);
+        }
+
         if (walAutoArchiveAfterInactivity > 0 || walForceArchiveTimeout > 0)
             scheduleNextRolloverCheck();
     }
@@ -1302,7 +1356,7 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
     @Nullable private FileDescriptor readFileDescriptor(File file, FileIOFactory ioFactory) {
         FileDescriptor ds = new FileDescriptor(file);
 
-        try (SegmentIO fileIO = ds.toReadOnlyIO(ioFactory)) {
+        try (SegmentIO fileIO = ds.toReadOnlyIO(ioFactory, cctx.kernalContext().compress())) {
             // File may be empty when LOG_ONLY mode is enabled and mmap is disabled.
             if (fileIO.size() == 0)
                 return null;
@@ -2481,21 +2535,44 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
                     .getSerializerVersion();
             }
 
+            // Blocks are compressed with the codec of WAL page snapshots if it's a general purpose one.
+            DiskPageCompression compression = pageCompression == DiskPageCompression.ZSTD ||
+                pageCompression == DiskPageCompression.LZ4 || pageCompression == DiskPageCompression.SNAPPY ?
+                pageCompression : DiskPageCompression.DISABLED;
+
+            CompressionProcessor compressProc = cctx.kernalContext().compress();
+
             try (ZipOutputStream zos = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(zip)))) {
                 zos.setLevel(dsCfg.getWalCompactionLevel());
-                zos.putNextEntry(new ZipEntry(idx + ".wal"));
+
+                UnzipFileIO.writeFormatEntry(zos, compression);
+
+                GridByteArrayOutputStream block = new GridByteArrayOutputStream(walCompressionBlockSize + BUF_SIZE);
 
                 ByteBuffer buf = ByteBuffer.allocate(HEADER_RECORD_SIZE);
                 buf.order(ByteOrder.nativeOrder());
 
-                zos.write(prepareSerializerVersionBuffer(idx, serializerVer, true, buf).array());
+                block.write(prepareSerializerVersionBuffer(idx, serializerVer, true, buf).array());
+
+                // WAL pointer offset of the first record of the current block.
+                final long[] blockOff = new long[1];
 
+                // Records are split into independently compressed blocks, so a reader can start from any of them.
                 final CIX1<WALRecord> appendToZipC = new CIX1<WALRecord>() {
                     @Override public void applyx(WALRecord record) throws IgniteCheckedException {
                         final MarshalledRecord marshRec = (MarshalledRecord)record;
 
                         try {
-                            zos.write(marshRec.buffer().array(), 0, marshRec.buffer().remaining());
+                            if (block.size() >= walCompressionBlockSize) {
+                                UnzipFileIO.writeBlock(zos, blockOff[0], block.internalArray(), block.size(),
+                                    compression, pageCompressionLevel, compressProc);
+
+                                block.reset();
+
+                                blockOff[0] = marshRec.position().fileOffset();
+                            }
+
+                            block.write(marshRec.buffer().array(), 0, marshRec.buffer().remaining());
                         }
                         catch (IOException e) {
                             throw new IgniteCheckedException(e);
@@ -2514,7 +2591,10 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
 
                 ByteBuffer heapBuf = prepareSwitchSegmentRecordBuffer(idx, ser);
 
-                zos.write(heapBuf.array());
+                block.write(heapBuf.array());
+
+                UnzipFileIO.writeBlock(zos, blockOff[0], block.internalArray(), block.size(),
+                    compression, pageCompressionLevel, compressProc);
             }
         }
 
@@ -2649,7 +2729,11 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
                     File unzip = archiveSegment(segmentToDecompress, null);
 
                     long currSize = 0;
-                    long reservedSize = U.uncompressedSize(zip);
+                    long reservedSize;
+
+                    try (UnzipFileIO zipIO = new UnzipFileIO(zip, cctx.kernalContext().compress())) {
+                        reservedSize = zipIO.size();
+                    }
 
                     segmentAware.addSize(segmentToDecompress, reservedSize);
 
@@ -2659,12 +2743,15 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
                         if (unzip.exists())
                             throw new FileAlreadyExistsException(unzip.getAbsolutePath());
 
-                        try (ZipInputStream zis = new ZipInputStream(new BufferedInputStream(new FileInputStream(zip)));
+                        try (UnzipFileIO zipIO = new UnzipFileIO(zip, cctx.kernalContext().compress());
                              FileIO io = ioFactory.create(unzipTmp)) {
-                            zis.getNextEntry();
+                            int read;
+
+                            while ((read = zipIO.read(arr, 0, arr.length)) > 0) {
+                                io.writeFully(arr, 0, read);
 
-                            while (io.writeFully(arr, 0, zis.read(arr)) > 0)
                                 updateHeartbeat();
+                            }
                         }
 
                         Files.move(unzipTmp.toPath(), unzip.toPath());
@@ -3260,6 +3347,36 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
         }
     }
 
+    /**
+     * Publishes position of the last completely written record of the current segment for CDC.
+     * Called periodically from scheduler.
+     */
+    private void updateCdcWalPosition() {
+        WalPositionMarker marker = cdcWalPosMarker;
+
+        if (marker == null || cdcDisabled.getOrDefault(false))
+            return;
+
+        FileWriteHandle hnd = currentHandle();
+
+        try {
+            // Writes buffered records to the file without fsync, so they become visible to the CDC application.
+            hnd.flushAll();
+
+            WALPointer ptr = hnd.readablePosition();
+
+            if (ptr.equals(lastCdcWalPos))
+                return;
+
+            marker.write(ptr);
+
+            lastCdcWalPos = ptr;
+        }
+        catch (Exception e) {
+            U.warn(log, "Failed to update WAL position for CDC", e);
+        }
+    }
+
     /**
      * Scans provided folder for a WAL segment files
      * @param walFilesDir directory to scan
@@ -375,6 +375,31 @@ public class SegmentedRingByteBuffer {
             return Collections.singletonList(new ReadSegment(slice(headIdx, (int)(tail - head), true), head, tail));
     }
 
+    /**
+     * Returns the position up to which all data offered to the buffer has been written by producers. New producers
+     * are blocked until in-progress ones release their segments, the same way as {@link #poll(long)} does.
+     * <p>
+     * This method can be invoked only by the consumer thread or under the same lock as {@link #poll(long)}.
+     *
+     * @return Position up to which data is completely written.
+     */
+    public long releasedTail() {
+        waitForConsumer = true;
+
+        for (;;) {
+            if (PRODUCERS_CNT_UPD.compareAndSet(this, 0, -1))
+                break;
+        }
+
+        long tail = this.tail & OPEN_MASK;
+
+        producersCnt = 0;
+
+        waitForConsumer = false;
+
+        return tail;
+    }
+
     /**
      * Frees allocated memory in case of direct byte buffer.
      */
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.wal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import org.apache.ignite.internal.processors.cache.persistence.wal.crc.FastCrc;
+import org.jetbrains.annotations.Nullable;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Marker file holding the position in the current WAL segment up to which records are completely written.
+ * The file is updated by the node and read by the CDC application to consume records of the segment
+ * which is not archived yet.
+ * <p>
+ * Marker layout: segment index (8 bytes), file offset (4 bytes), CRC of the previous fields (4 bytes).
+ * Marker is written without fsync, so the reader must ignore the marker if CRC doesn't match.
+ */
+public class WalPositionMarker implements AutoCloseable {
+    /** Name of the marker file. */
+    public static final String WAL_POSITION_FILE_NAME = "wal-position.bin";
+
+    /** Size of the marker data without CRC. */
+    private static final int DATA_SIZE = 8 + 4;
+
+    /** Size of the marker. */
+    private static final int SIZE = DATA_SIZE + 4;
+
+    /** Marker file channel. */
+    private final FileChannel ch;
+
+    /** Write buffer. */
+    private final ByteBuffer buf = ByteBuffer.allocate(SIZE).order(ByteOrder.nativeOrder());
+
+    /**
+     * @param dir Directory to create marker file in.
+     * @throws IOException If failed.
+     */
+    public WalPositionMarker(Path dir) throws IOException {
+        ch = FileChannel.open(dir.resolve(WAL_POSITION_FILE_NAME), CREATE, WRITE);
+    }
+
+    /**
+     * Writes position to the marker file.
+     *
+     * @param ptr WAL pointer.
+     * @throws IOException If failed.
+     */
+    public void write(WALPointer ptr) throws IOException {
+        buf.clear();
+
+        buf.putLong(ptr.index());
+        buf.putInt(ptr.fileOffset());
+
+        buf.flip();
+
+        int crc = FastCrc.calcCrc(buf, DATA_SIZE);
+
+        buf.limit(SIZE);
+        buf.putInt(crc);
+
+        buf.flip();
+
+        long pos = 0;
+
+        while (buf.hasRemaining())
+            pos += ch.write(buf, pos);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() throws IOException {
+        ch.close();
+    }
+
+    /**
+     * Reads position from the marker file.
+     *
+     * @param file Marker file.
+     * @return WAL pointer or {@code null} if marker doesn't exist or is partially written.
+     * @throws IOException If failed.
+     */
+    public static @Nullable WALPointer read(Path file) throws IOException {
+        if (!Files.exists(file))
+            return null;
+
+        ByteBuffer buf = ByteBuffer.allocate(SIZE).order(ByteOrder.nativeOrder());
+
+        try (FileChannel ch = FileChannel.open(file, READ)) {
+            while (buf.hasRemaining()) {
+                if (ch.read(buf, buf.position()) < 0)
+                    return null;
+            }
+        }
+        catch (NoSuchFileException ignored) {
+            return null;
+        }
+
+        buf.flip();
+
+        int crc = FastCrc.calcCrc(buf, DATA_SIZE);
+
+        if (crc != buf.getInt())
+            return null;
+
+        return new WALPointer(buf.getLong(0), buf.getInt(8), 0);
+    }
+}
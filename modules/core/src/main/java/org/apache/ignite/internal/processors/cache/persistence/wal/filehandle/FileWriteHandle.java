@@ -71,6 +71,12 @@ public interface FileWriteHandle {
      */
     WALPointer position();
 
+    /**
+     * @return Pointer to the end of records which can be read from the segment file by other processes: all records
+     *      before it are completely written to the file (probably not fsync-ed).
+     */
+    WALPointer readablePosition();
+
     /**
      * Do fsync.
      *
@@ -361,6 +361,23 @@ class FileWriteHandleImpl extends AbstractFileHandle implements FileWriteHandle
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public WALPointer readablePosition() {
+        if (!mmap)
+            return position();
+
+        lock.lock();
+
+        try {
+            // Records are serialized to the mapped buffer concurrently, so the written position may be ahead of some
+            // records which are not completely serialized yet.
+            return new WALPointer(getSegmentId(), (int)buf.releasedTail(), 0);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
     /**
      * @param ptr Pointer to sync.
      * @throws StorageException If failed.
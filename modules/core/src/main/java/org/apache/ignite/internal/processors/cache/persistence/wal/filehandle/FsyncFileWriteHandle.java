@@ -550,6 +550,12 @@ class FsyncFileWriteHandle extends AbstractFileHandle implements FileWriteHandle
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public WALPointer readablePosition() {
+        // Records are written to the file sequentially.
+        return position();
+    }
+
     /** {@inheritDoc} */
     @Override public void fsync(WALPointer ptr) throws StorageException, IgniteCheckedException {
         fsync(ptr, false);
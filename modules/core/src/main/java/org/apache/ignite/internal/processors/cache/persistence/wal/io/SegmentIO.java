@@ -19,6 +19,7 @@ package org.apache.ignite.internal.processors.cache.persistence.wal.io;
 
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIODecorator;
+import org.apache.ignite.internal.processors.cache.persistence.file.UnzipFileIO;
 
 /**
  * Implementation of {@link FileIO} specified for WAL segment file.
@@ -42,4 +43,14 @@ public class SegmentIO extends FileIODecorator {
     public long getSegmentId() {
         return segmentId;
     }
+
+    /**
+     * @param walOff WAL pointer offset of a record.
+     * @return Position to start reading of a compacted segment from to reach the record, {@code 0} if the segment
+     *      can be read from the beginning only.
+     * @see UnzipFileIO#blockPosition(long)
+     */
+    public long blockPosition(long walOff) {
+        return delegate instanceof UnzipFileIO ? ((UnzipFileIO)delegate).blockPosition(walOff) : 0;
+    }
 }
@@ -46,6 +46,7 @@ import org.apache.ignite.internal.processors.cache.persistence.wal.WALPointer;
 import org.apache.ignite.internal.processors.cache.persistence.wal.io.SegmentFileInputFactory;
 import org.apache.ignite.internal.processors.cache.persistence.wal.io.SegmentIO;
 import org.apache.ignite.internal.processors.cache.persistence.wal.io.SimpleSegmentFileInputFactory;
+import org.apache.ignite.internal.processors.compress.CompressionProcessor;
 import org.apache.ignite.internal.util.typedef.T2;
 import org.apache.ignite.internal.util.typedef.internal.A;
 import org.apache.ignite.internal.util.typedef.internal.U;
@@ -55,6 +56,7 @@ import org.jetbrains.annotations.Nullable;
 
 import static java.lang.System.arraycopy;
 import static java.nio.file.Files.walkFileTree;
+import static org.apache.ignite.internal.IgniteComponentType.COMPRESSION;
 import static org.apache.ignite.internal.processors.cache.persistence.wal.FileWriteAheadLogManager.WAL_NAME_PATTERN;
 import static org.apache.ignite.internal.processors.cache.persistence.wal.FileWriteAheadLogManager.WAL_SEGMENT_FILE_COMPACTED_PATTERN;
 import static org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordV1Serializer.HEADER_RECORD_SIZE;
@@ -183,7 +185,7 @@ public class IgniteWalIteratorFactory {
                 iteratorParametersBuilder.log == null ? log : iteratorParametersBuilder.log,
                 sctx,
                 iteratorParametersBuilder.ioFactory,
-                resolveWalFiles(iteratorParametersBuilder),
+                resolveWalFiles(iteratorParametersBuilder, sctx.kernalContext().compress()),
                 iteratorParametersBuilder.filter,
                 iteratorParametersBuilder.lowBound,
                 iteratorParametersBuilder.highBound,
@@ -297,6 +299,20 @@ public class IgniteWalIteratorFactory {
      */
     public List<FileDescriptor> resolveWalFiles(
         IteratorParametersBuilder iteratorParametersBuilder
+    ) {
+        GridCacheSharedContext<?, ?> sctx = iteratorParametersBuilder.sharedCtx;
+
+        return resolveWalFiles(iteratorParametersBuilder, sctx == null ? null : sctx.kernalContext().compress());
+    }
+
+    /**
+     * @param iteratorParametersBuilder IteratorParametersBuilder.
+     * @param compressProc Compression processor, required to read segments compressed by it.
+     * @return list of file descriptors with checked header records, having correct file index is set
+     */
+    private List<FileDescriptor> resolveWalFiles(
+        IteratorParametersBuilder iteratorParametersBuilder,
+        @Nullable CompressionProcessor compressProc
     ) {
         File[] filesOrDirs = iteratorParametersBuilder.filesOrDirs;
 
@@ -312,7 +328,7 @@ public class IgniteWalIteratorFactory {
                 try {
                     walkFileTree(file.toPath(), new SimpleFileVisitor<Path>() {
                         @Override public FileVisitResult visitFile(Path path, BasicFileAttributes attrs) {
-                            addFileDescriptor(path.toFile(), ioFactory, descriptors);
+                            addFileDescriptor(path.toFile(), ioFactory, compressProc, descriptors);
 
                             return FileVisitResult.CONTINUE;
                         }
@@ -325,7 +341,7 @@ public class IgniteWalIteratorFactory {
                 continue;
             }
 
-            addFileDescriptor(file, ioFactory, descriptors);
+            addFileDescriptor(file, ioFactory, compressProc, descriptors);
         }
 
         return new ArrayList<>(descriptors);
@@ -334,9 +350,15 @@ public class IgniteWalIteratorFactory {
     /**
      * @param file File.
      * @param ioFactory IO factory.
+     * @param compressProc Compression processor.
      * @param descriptors List of descriptors.
      */
-    private void addFileDescriptor(File file, FileIOFactory ioFactory, TreeSet<FileDescriptor> descriptors) {
+    private void addFileDescriptor(
+        File file,
+        FileIOFactory ioFactory,
+        @Nullable CompressionProcessor compressProc,
+        TreeSet<FileDescriptor> descriptors
+    ) {
         if (file.length() < HEADER_RECORD_SIZE)
             return; // Filter out this segment as it is too short.
 
@@ -346,7 +368,7 @@ public class IgniteWalIteratorFactory {
             !WAL_SEGMENT_FILE_COMPACTED_PATTERN.matcher(fileName).matches())
             return;  // Filter out this because it is not segment file.
 
-        FileDescriptor desc = readFileDescriptor(file, ioFactory);
+        FileDescriptor desc = readFileDescriptor(file, ioFactory, compressProc);
 
         if (desc != null)
             descriptors.add(desc);
@@ -355,12 +377,17 @@ public class IgniteWalIteratorFactory {
     /**
      * @param file File to read.
      * @param ioFactory IO factory.
+     * @param compressProc Compression processor.
      */
-    private FileDescriptor readFileDescriptor(File file, FileIOFactory ioFactory) {
+    private FileDescriptor readFileDescriptor(
+        File file,
+        FileIOFactory ioFactory,
+        @Nullable CompressionProcessor compressProc
+    ) {
         FileDescriptor ds = new FileDescriptor(file);
 
         try (
-            SegmentIO fileIO = ds.toReadOnlyIO(ioFactory);
+            SegmentIO fileIO = ds.toReadOnlyIO(ioFactory, compressProc);
             ByteBufferExpander buf = new ByteBufferExpander(HEADER_RECORD_SIZE, ByteOrder.nativeOrder())
         ) {
             final DataInput in = segmentFileInputFactory.createFileInput(fileIO, buf);
@@ -395,7 +422,15 @@ public class IgniteWalIteratorFactory {
         GridKernalContext kernalCtx = new StandaloneGridKernalContext(log,
             iteratorParametersBuilder.binaryMetadataFileStoreDir,
             iteratorParametersBuilder.marshallerMappingFileStoreDir
-        );
+        ) {
+            /** Compression processor, required to read segments compressed by it. */
+            private final CompressionProcessor compressProc = COMPRESSION.createOptional(this);
+
+            /** {@inheritDoc} */
+            @Override public CompressionProcessor compress() {
+                return compressProc;
+            }
+        };
 
         StandaloneIgniteCacheDatabaseSharedManager dbMgr = new StandaloneIgniteCacheDatabaseSharedManager(kernalCtx);
 
@@ -330,7 +330,7 @@ class StandaloneWalRecordsIterator extends AbstractWalRecordsIterator {
         SegmentHeader segmentHeader;
         while (true) {
             try {
-                fileIO = fd.toReadOnlyIO(ioFactory);
+                fileIO = fd.toReadOnlyIO(ioFactory, sharedCtx.kernalContext().compress());
 
                 segmentHeader = readSegmentHeader(fileIO, FILE_INPUT_FACTORY);
 
@@ -19,6 +19,7 @@ package org.apache.ignite.internal.processors.cache.transactions;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -46,6 +47,7 @@ import org.apache.ignite.internal.processors.cache.GridCacheMessage;
 import org.apache.ignite.internal.processors.cache.GridCacheReturnCompletableWrapper;
 import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
 import org.apache.ignite.internal.processors.cache.GridCacheUpdateTxResult;
+import org.apache.ignite.internal.processors.cache.IgniteCacheOffheapManager;
 import org.apache.ignite.internal.processors.cache.KeyCacheObject;
 import org.apache.ignite.internal.processors.cache.distributed.GridCacheTxRecoveryFuture;
 import org.apache.ignite.internal.processors.cache.distributed.GridCacheTxRecoveryRequest;
@@ -90,6 +92,7 @@ import org.apache.ignite.internal.transactions.IgniteTxOptimisticCheckedExceptio
 import org.apache.ignite.internal.transactions.IgniteTxRollbackCheckedException;
 import org.apache.ignite.internal.transactions.IgniteTxTimeoutCheckedException;
 import org.apache.ignite.internal.util.future.GridCompoundFuture;
+import org.apache.ignite.internal.util.future.GridEmbeddedFuture;
 import org.apache.ignite.internal.util.future.GridFinishedFuture;
 import org.apache.ignite.internal.util.typedef.C1;
 import org.apache.ignite.internal.util.typedef.CI1;
@@ -369,6 +372,12 @@ public class IgniteTxHandler {
         final GridNearTxLocal locTx,
         final GridNearTxPrepareRequest req
     ) {
+        IgniteInternalFuture<?> unblockFut = partitionsUnblockFuture(F.concat(false, req.writes(), req.reads()));
+
+        // Partitions which updates are blocked can't be updated under the checkpoint read lock.
+        if (unblockFut != null && !unblockFut.isDone())
+            return new GridEmbeddedFuture<>(unblockFut, (res, err) -> prepareColocatedTx(locTx, req));
+
         req.txState(locTx.txState());
 
         IgniteInternalFuture<GridNearTxPrepareResponse> fut = locTx.prepareAsyncLocal(req);
@@ -472,6 +481,17 @@ public class IgniteTxHandler {
             return new GridFinishedFuture<>(e);
         }
 
+        IgniteInternalFuture<?> unblockFut = partitionsUnblockFuture(F.concat(false, req.writes(), req.reads()));
+
+        // Partitions which updates are blocked can't be updated under the checkpoint read lock.
+        if (unblockFut != null && !unblockFut.isDone()) {
+            return new GridEmbeddedFuture<>(unblockFut, (res, err) -> {
+                IgniteInternalFuture<GridNearTxPrepareResponse> fut = prepareNearTx(originTx, nearNode, req);
+
+                return fut != null ? fut : processNearTxPrepareRequest0(nearNode, req);
+            });
+        }
+
         GridDhtTxLocal tx = null;
 
         GridCacheVersion mappedVer = ctx.tm().mappedVersion(req.version());
@@ -1226,6 +1246,16 @@ public class IgniteTxHandler {
      * @param req Request.
      */
     private void processDhtTxPrepareRequest(final UUID nodeId, final GridDhtTxPrepareRequest req) {
+        IgniteInternalFuture<?> unblockFut = partitionsUnblockFuture(req.writes());
+
+        // Backup partitions which updates are blocked can't be updated under the checkpoint read lock.
+        if (unblockFut != null && !unblockFut.isDone()) {
+            unblockFut.listen(f -> ctx.kernalContext().pools().getStripedExecutorService().execute(req.partition(),
+                () -> processDhtTxPrepareRequest(nodeId, req)));
+
+            return;
+        }
+
         try (TraceSurroundings ignored =
                  MTC.support(ctx.kernalContext().tracing().create(TX_PROCESS_DHT_PREPARE_REQ, MTC.span()))) {
             if (txPrepareMsgLog.isDebugEnabled()) {
@@ -1368,6 +1398,43 @@ public class IgniteTxHandler {
         }
     }
 
+    /**
+     * @param entries Transaction entries.
+     * @return Future completed when updates of the local partitions of the entries are unblocked, {@code null} if
+     *      none of them is blocked.
+     * @see IgniteCacheOffheapManager#partitionsUnblockFuture(GridCacheContext, Iterable)
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable private IgniteInternalFuture<?> partitionsUnblockFuture(@Nullable Collection<IgniteTxEntry> entries) {
+        if (F.isEmpty(entries))
+            return null;
+
+        GridCompoundFuture<Object, Object> res = null;
+
+        for (IgniteTxEntry e : entries) {
+            GridCacheContext<?, ?> cacheCtx = e.context();
+
+            if (cacheCtx == null || !cacheCtx.group().offheap().partitionUpdatesBlocked())
+                continue;
+
+            IgniteInternalFuture<Object> fut = (IgniteInternalFuture<Object>)cacheCtx.group().offheap()
+                .partitionsUnblockFuture(cacheCtx, Collections.singleton(e.key()));
+
+            if (fut == null)
+                continue;
+
+            if (res == null)
+                res = new GridCompoundFuture<>();
+
+            res.add(fut);
+        }
+
+        if (res != null)
+            res.markInitialized();
+
+        return res;
+    }
+
     /**
      * @param nodeId Node ID.
      * @param req Request.
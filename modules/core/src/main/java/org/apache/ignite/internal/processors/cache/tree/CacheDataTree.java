@@ -350,6 +350,40 @@ public class CacheDataTree extends BPlusTree<CacheSearchRow, CacheDataRow> {
     /** {@inheritDoc} */
     @Override protected int compare(BPlusIO<CacheSearchRow> iox, long pageAddr, int idx, CacheSearchRow row)
         throws IgniteCheckedException {
+        return compare(iox, pageAddr, idx, row, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected int compareOptimistic(
+        BPlusIO<CacheSearchRow> iox,
+        long pageAddr,
+        int idx,
+        CacheSearchRow row
+    ) throws IgniteCheckedException {
+        return compare(iox, pageAddr, idx, row, true);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected boolean optimisticReads() {
+        return OPTIMISTIC_READS;
+    }
+
+    /**
+     * @param iox IO.
+     * @param pageAddr Page address.
+     * @param idx Index of row in the given buffer.
+     * @param row Lookup row.
+     * @param optimistic {@code True} if the page is read optimistically and keys of the stored rows can't be read.
+     * @return Comparison result.
+     * @throws IgniteCheckedException If failed.
+     */
+    private int compare(
+        BPlusIO<CacheSearchRow> iox,
+        long pageAddr,
+        int idx,
+        CacheSearchRow row,
+        boolean optimistic
+    ) throws IgniteCheckedException {
         assert !grp.mvccEnabled() || row.mvccCoordinatorVersion() != MvccUtils.MVCC_CRD_COUNTER_NA
             || (row.getClass() == SearchRow.class && row.key() == null) : row;
 
@@ -384,6 +418,10 @@ public class CacheDataTree extends BPlusTree<CacheSearchRow, CacheDataRow> {
         if (cmp != 0)
             return cmp;
 
+        // Keys with equal hashes are compared by the stored rows, which can't be reached from a torn page.
+        if (optimistic)
+            return OPTIMISTIC_COMPARE_UNSUPPORTED;
+
         long link = io.getLink(pageAddr, idx);
 
         assert row.key() != null : row;
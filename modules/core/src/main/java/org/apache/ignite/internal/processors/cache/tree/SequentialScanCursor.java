@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.tree;
+
+import java.util.Arrays;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteSystemProperties;
+import org.apache.ignite.internal.metric.IoStatisticsHolder;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+import org.apache.ignite.internal.pagemem.PageMemory;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
+import org.apache.ignite.internal.util.lang.GridCursor;
+import org.apache.ignite.internal.util.tostring.GridToStringExclude;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.thread.IgniteThread;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_PDS_SEQUENTIAL_SCAN_WINDOW;
+
+/**
+ * Cursor for a full scan of a persistent partition.
+ * <p>
+ * Rows are returned in the order of the underlying data tree cursor, but the data pages are loaded in file order:
+ * a look-ahead cursor over the same tree collects links of the next window of rows, the data pages of the window
+ * are sorted and acquired before the rows are read. Thus cold pages are fetched from the page store sequentially
+ * with read-ahead requests rather than with a random read per row.
+ * <p>
+ * Pages accessed while the cursor is advanced are not promoted by the page replacement policy.
+ */
+public class SequentialScanCursor<T extends CacheDataRow> implements GridCursor<T> {
+    /** Default count of rows which data pages are loaded at once. */
+    public static final int DFLT_PDS_SEQUENTIAL_SCAN_WINDOW = 4096;
+
+    /** Count of rows which data pages are loaded at once. */
+    public static final int WINDOW = IgniteSystemProperties.getInteger(IGNITE_PDS_SEQUENTIAL_SCAN_WINDOW,
+        DFLT_PDS_SEQUENTIAL_SCAN_WINDOW);
+
+    /** Rows cursor. */
+    private final GridCursor<T> cur;
+
+    /** Look-ahead cursor, only links are required. */
+    private final GridCursor<? extends CacheDataRow> lookAhead;
+
+    /** Page memory. */
+    private final PageMemory pageMem;
+
+    /** Cache group ID. */
+    private final int grpId;
+
+    /** Statistics holder to track IO operations. */
+    private final IoStatisticsHolder statHolder;
+
+    /** Page IDs of the current window. */
+    @GridToStringExclude
+    private long[] pageIds;
+
+    /** Count of rows the look-ahead cursor is ahead of the rows cursor. */
+    private int ahead;
+
+    /** Look-ahead cursor is exhausted. */
+    private boolean lookAheadDone;
+
+    /**
+     * @param cur Rows cursor.
+     * @param lookAhead Look-ahead cursor over the same rows.
+     * @param pageMem Page memory.
+     * @param grpId Cache group ID.
+     * @param statHolder Statistics holder to track IO operations.
+     */
+    public SequentialScanCursor(
+        GridCursor<T> cur,
+        GridCursor<? extends CacheDataRow> lookAhead,
+        PageMemory pageMem,
+        int grpId,
+        IoStatisticsHolder statHolder
+    ) {
+        this.cur = cur;
+        this.lookAhead = lookAhead;
+        this.pageMem = pageMem;
+        this.grpId = grpId;
+        this.statHolder = statHolder;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean next() throws IgniteCheckedException {
+        IgniteThread.onSequentialScanEntered();
+
+        try {
+            if (ahead == 0 && !lookAheadDone)
+                loadWindow();
+
+            if (!cur.next())
+                return false;
+
+            if (ahead > 0)
+                ahead--;
+
+            return true;
+        }
+        finally {
+            IgniteThread.onSequentialScanLeft();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public T get() throws IgniteCheckedException {
+        return cur.get();
+    }
+
+    /**
+     * Loads data pages of the next window of rows in file order.
+     */
+    private void loadWindow() throws IgniteCheckedException {
+        if (pageIds == null)
+            pageIds = new long[WINDOW];
+
+        int cnt = 0;
+
+        while (cnt < pageIds.length && lookAhead.next())
+            pageIds[cnt++] = PageIdUtils.pageId(lookAhead.get().link());
+
+        lookAheadDone = cnt < pageIds.length;
+        ahead = cnt;
+
+        // Page index takes the lowest bits of a page ID, so the sorted IDs of a partition follow the file order.
+        Arrays.sort(pageIds, 0, cnt);
+
+        for (int i = 0; i < cnt; i++) {
+            long pageId = pageIds[i];
+
+            if (i > 0 && pageId == pageIds[i - 1])
+                continue;
+
+            long page = pageMem.acquirePage(grpId, pageId, statHolder);
+
+            pageMem.releasePage(grpId, pageId, page);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(SequentialScanCursor.class, this);
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.warmup;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.HotPagesWarmUpConfiguration;
+import org.apache.ignite.configuration.WarmUpConfiguration;
+import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.processors.cache.persistence.DataRegion;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryEx;
+import org.apache.ignite.internal.processors.timeout.GridTimeoutProcessor.CancelableTask;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.jetbrains.annotations.Nullable;
+
+import static java.util.Arrays.asList;
+import static java.util.Objects.nonNull;
+
+/**
+ * Periodically records pages resident in persistent data regions configured with
+ * {@link HotPagesWarmUpConfiguration}, so they can be loaded by {@link HotPagesWarmUpStrategy} on node restart.
+ */
+public class HotPagesRecorder {
+    /** Kernal context. */
+    private final GridKernalContext ctx;
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /** Scheduled recording tasks. */
+    private final List<CancelableTask> tasks = new ArrayList<>();
+
+    /** Started flag, guarded by {@code this}. */
+    private boolean started;
+
+    /**
+     * @param ctx Kernal context.
+     */
+    public HotPagesRecorder(GridKernalContext ctx) {
+        this.ctx = ctx;
+
+        log = ctx.log(HotPagesRecorder.class);
+    }
+
+    /**
+     * Schedules recording of hot pages for data regions configured with {@link HotPagesWarmUpConfiguration}.
+     */
+    public synchronized void start() {
+        if (started)
+            return;
+
+        Map<String, HotPagesWarmUpConfiguration> cfgs = configurations();
+
+        if (cfgs.isEmpty())
+            return;
+
+        started = true;
+
+        cfgs.forEach((regName, cfg) -> tasks.add(ctx.timeout().schedule(
+            () -> {
+                try {
+                    ctx.pools().getSystemExecutorService().execute(() -> record(regName));
+                }
+                catch (RejectedExecutionException ignore) {
+                    // Node is stopping, pages are recorded on stop.
+                }
+            },
+            cfg.getRecordFrequency(),
+            cfg.getRecordFrequency()
+        )));
+
+        if (log.isInfoEnabled())
+            log.info("Hot pages recording started [regions=" + cfgs.keySet() + ']');
+    }
+
+    /**
+     * Cancels scheduled recording and records hot pages for the last time, since page memory is about to be released.
+     */
+    public synchronized void stop() {
+        if (!started)
+            return;
+
+        tasks.forEach(CancelableTask::close);
+        tasks.clear();
+
+        configurations().keySet().forEach(this::record0);
+
+        started = false;
+    }
+
+    /**
+     * Records hot pages of the data region.
+     *
+     * @param regName Data region name.
+     */
+    synchronized void record(String regName) {
+        if (started)
+            record0(regName);
+    }
+
+    /**
+     * @param regName Data region name.
+     */
+    private void record0(String regName) {
+        File storeWorkDir = storeWorkDir(ctx);
+
+        if (storeWorkDir == null)
+            return;
+
+        try {
+            DataRegion region = ctx.cache().context().database().dataRegion(regName);
+
+            if (region == null || !(region.pageMemory() instanceof PageMemoryEx))
+                return;
+
+            long start = U.currentTimeMillis();
+
+            HotPagesSnapshot snapshot = HotPagesSnapshot.collect((PageMemoryEx)region.pageMemory());
+
+            File file = HotPagesSnapshot.file(storeWorkDir, regName);
+
+            snapshot.write(file);
+
+            if (log.isDebugEnabled()) {
+                log.debug("Hot pages recorded [region=" + regName + ", partCnt=" + snapshot.partitions().size()
+                    + ", pageCnt=" + snapshot.pages() + ", file=" + file.getAbsolutePath()
+                    + ", duration=" + (U.currentTimeMillis() - start) + "ms]");
+            }
+        }
+        catch (Exception e) {
+            U.warn(log, "Failed to record hot pages of data region [region=" + regName + ']', e);
+        }
+    }
+
+    /**
+     * @return Hot pages warm-up configurations of persistent data regions by region names.
+     */
+    private Map<String, HotPagesWarmUpConfiguration> configurations() {
+        DataStorageConfiguration dsCfg = ctx.config().getDataStorageConfiguration();
+
+        Map<String, HotPagesWarmUpConfiguration> res = new LinkedHashMap<>();
+
+        if (dsCfg == null)
+            return res;
+
+        List<DataRegionConfiguration> regCfgs = new ArrayList<>(asList(dsCfg.getDefaultDataRegionConfiguration()));
+
+        if (nonNull(dsCfg.getDataRegionConfigurations()))
+            regCfgs.addAll(asList(dsCfg.getDataRegionConfigurations()));
+
+        for (DataRegionConfiguration regCfg : regCfgs) {
+            if (!regCfg.isPersistenceEnabled())
+                continue;
+
+            WarmUpConfiguration warmUpCfg = nonNull(regCfg.getWarmUpConfiguration()) ?
+                regCfg.getWarmUpConfiguration() : dsCfg.getDefaultWarmUpConfiguration();
+
+            if (warmUpCfg instanceof HotPagesWarmUpConfiguration)
+                res.put(regCfg.getName(), (HotPagesWarmUpConfiguration)warmUpCfg);
+        }
+
+        return res;
+    }
+
+    /**
+     * @param ctx Kernal context.
+     * @return Node storage directory or {@code null} if file page store is not used.
+     */
+    @Nullable static File storeWorkDir(GridKernalContext ctx) {
+        if (!(ctx.cache().context().pageStore() instanceof FilePageStoreManager))
+            return null;
+
+        return ((FilePageStoreManager)ctx.cache().context().pageStore()).workDir();
+    }
+}
@@ -0,0 +1,352 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.warmup;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryEx;
+import org.apache.ignite.internal.util.GridLongList;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+
+import static java.util.Comparator.comparingDouble;
+import static org.apache.ignite.internal.pagemem.PageIdUtils.partId;
+
+/**
+ * Pages resident in a data region grouped by partitions, which are ordered by descending average page hotness.
+ * Page IDs of a partition are sorted, so loading them in this order reads the partition file sequentially.
+ * <p>
+ * File format: magic, version and count of partitions, followed by group ID, partition ID, hotness and count of
+ * pages for each partition. Sorted page IDs of the partition are delta-encoded as variable length longs.
+ */
+class HotPagesSnapshot {
+    /** Name of the directory with hot pages files in the node storage directory. */
+    static final String HOT_PAGES_DIR = "hot-pages";
+
+    /** Hot pages file extension. */
+    static final String HOT_PAGES_FILE_EXT = ".bin";
+
+    /** Temporary file extension. */
+    private static final String TMP_FILE_EXT = ".tmp";
+
+    /** File magic. */
+    private static final int MAGIC = 0x484F5450;
+
+    /** File format version. */
+    private static final int VERSION = 1;
+
+    /** Partitions ordered by descending hotness. */
+    private final List<Partition> parts;
+
+    /**
+     * @param parts Partitions ordered by descending hotness.
+     */
+    HotPagesSnapshot(List<Partition> parts) {
+        this.parts = parts;
+    }
+
+    /**
+     * @return Partitions ordered by descending hotness.
+     */
+    List<Partition> partitions() {
+        return parts;
+    }
+
+    /**
+     * @return Total count of pages.
+     */
+    long pages() {
+        return parts.stream().mapToLong(p -> p.pageIds().length).sum();
+    }
+
+    /**
+     * Collects pages currently loaded to the page memory.
+     *
+     * @param pageMem Page memory.
+     * @return Hot pages.
+     */
+    static HotPagesSnapshot collect(PageMemoryEx pageMem) {
+        Map<Long, PartitionBuilder> builders = new HashMap<>();
+
+        pageMem.forEachLoadedPage((grpId, pageId, hotness) -> builders
+            .computeIfAbsent(((long)grpId << 32) | partId(pageId), k -> new PartitionBuilder())
+            .add(pageId, hotness));
+
+        List<Partition> parts = new ArrayList<>(builders.size());
+
+        builders.forEach((k, b) -> parts.add(b.build((int)(k >>> 32), (int)(long)k)));
+
+        parts.sort(comparingDouble(Partition::hotness).reversed());
+
+        return new HotPagesSnapshot(parts);
+    }
+
+    /**
+     * @param storeWorkDir Node storage directory.
+     * @param regionName Data region name.
+     * @return Hot pages file of the data region.
+     */
+    static File file(File storeWorkDir, String regionName) {
+        return new File(new File(storeWorkDir, HOT_PAGES_DIR), U.maskForFileName(regionName) + HOT_PAGES_FILE_EXT);
+    }
+
+    /**
+     * Atomically replaces the file with hot pages.
+     *
+     * @param file Hot pages file.
+     * @throws IOException If failed.
+     */
+    void write(File file) throws IOException {
+        File dir = file.getParentFile();
+
+        if (!U.mkdirs(dir))
+            throw new IOException("Failed to create directory: " + dir);
+
+        File tmp = new File(dir, file.getName() + TMP_FILE_EXT);
+
+        try (FileOutputStream fos = new FileOutputStream(tmp)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos));
+
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(parts.size());
+
+            for (Partition part : parts) {
+                out.writeInt(part.groupId());
+                out.writeInt(part.partition());
+                out.writeDouble(part.hotness());
+                out.writeInt(part.pageIds().length);
+
+                long prev = 0;
+
+                for (long pageId : part.pageIds()) {
+                    writeVarLong(out, pageId - prev);
+
+                    prev = pageId;
+                }
+            }
+
+            out.flush();
+
+            fos.getFD().sync();
+        }
+
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * @param file Hot pages file.
+     * @return Hot pages.
+     * @throws IOException If failed.
+     */
+    static HotPagesSnapshot read(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC)
+                throw new IOException("Invalid hot pages file: " + file);
+
+            int ver = in.readInt();
+
+            if (ver != VERSION)
+                throw new IOException("Unsupported hot pages file version [file=" + file + ", ver=" + ver + ']');
+
+            int cnt = in.readInt();
+
+            List<Partition> parts = new ArrayList<>(cnt);
+
+            for (int i = 0; i < cnt; i++) {
+                int grpId = in.readInt();
+                int partId = in.readInt();
+                double hotness = in.readDouble();
+
+                long[] pageIds = new long[in.readInt()];
+
+                long prev = 0;
+
+                for (int j = 0; j < pageIds.length; j++)
+                    pageIds[j] = prev = prev + readVarLong(in);
+
+                parts.add(new Partition(grpId, partId, hotness, pageIds));
+            }
+
+            return new HotPagesSnapshot(Collections.unmodifiableList(parts));
+        }
+    }
+
+    /**
+     * @param out Output.
+     * @param val Non-negative value.
+     * @throws IOException If failed.
+     */
+    private static void writeVarLong(DataOutputStream out, long val) throws IOException {
+        assert val >= 0 : val;
+
+        while ((val & ~0x7FL) != 0) {
+            out.writeByte((int)((val & 0x7F) | 0x80));
+
+            val >>>= 7;
+        }
+
+        out.writeByte((int)val);
+    }
+
+    /**
+     * @param in Input.
+     * @return Value.
+     * @throws IOException If failed.
+     */
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long val = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+
+            val |= (long)(b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0)
+                return val;
+        }
+
+        throw new IOException("Malformed variable length long.");
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(HotPagesSnapshot.class, this, "partCnt", parts.size());
+    }
+
+    /**
+     * Hot pages of a partition.
+     */
+    static class Partition {
+        /** Cache group ID. */
+        private final int grpId;
+
+        /** Partition ID. */
+        private final int partId;
+
+        /** Average hotness of the pages. */
+        private final double hotness;
+
+        /** Sorted effective page IDs. */
+        private final long[] pageIds;
+
+        /**
+         * @param grpId Cache group ID.
+         * @param partId Partition ID.
+         * @param hotness Average hotness of the pages.
+         * @param pageIds Sorted effective page IDs.
+         */
+        Partition(int grpId, int partId, double hotness, long[] pageIds) {
+            this.grpId = grpId;
+            this.partId = partId;
+            this.hotness = hotness;
+            this.pageIds = pageIds;
+        }
+
+        /**
+         * @return Cache group ID.
+         */
+        int groupId() {
+            return grpId;
+        }
+
+        /**
+         * @return Partition ID.
+         */
+        int partition() {
+            return partId;
+        }
+
+        /**
+         * @return Average hotness of the pages.
+         */
+        double hotness() {
+            return hotness;
+        }
+
+        /**
+         * @return Sorted effective page IDs.
+         */
+        long[] pageIds() {
+            return pageIds;
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return S.toString(Partition.class, this, "pageCnt", pageIds.length);
+        }
+    }
+
+    /**
+     * Accumulates pages of a partition.
+     */
+    private static class PartitionBuilder {
+        /** Page IDs. */
+        private final GridLongList pageIds = new GridLongList();
+
+        /** Sum of page hotness. */
+        private double hotnessSum;
+
+        /**
+         * @param pageId Effective page ID.
+         * @param hotness Page hotness.
+         */
+        void add(long pageId, long hotness) {
+            pageIds.add(pageId);
+
+            hotnessSum += hotness;
+        }
+
+        /**
+         * @param grpId Cache group ID.
+         * @param partId Partition ID.
+         * @return Partition.
+         */
+        Partition build(int grpId, int partId) {
+            long[] ids = pageIds.array();
+
+            Arrays.sort(ids);
+
+            // A page moved within the loaded pages table while the table was visited may be reported twice.
+            int cnt = 0;
+
+            for (int i = 0; i < ids.length; i++) {
+                if (i == 0 || ids[i] != ids[i - 1])
+                    ids[cnt++] = ids[i];
+            }
+
+            double hotness = hotnessSum / ids.length;
+
+            return new Partition(grpId, partId, hotness, cnt == ids.length ? ids : Arrays.copyOf(ids, cnt));
+        }
+    }
+}
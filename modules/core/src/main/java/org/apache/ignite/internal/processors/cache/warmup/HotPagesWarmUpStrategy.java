@@ -0,0 +1,242 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.configuration.HotPagesWarmUpConfiguration;
+import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.processors.cache.CacheGroupContext;
+import org.apache.ignite.internal.processors.cache.persistence.DataRegion;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryEx;
+import org.apache.ignite.internal.processors.cache.warmup.HotPagesSnapshot.Partition;
+import org.apache.ignite.internal.util.tostring.GridToStringExclude;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.thread.IgniteThread;
+
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+import static org.apache.ignite.internal.pagemem.PageIdAllocator.INDEX_PARTITION;
+import static org.apache.ignite.internal.pagemem.PageIdUtils.pageIndex;
+
+/**
+ * "Hot pages" warm-up strategy, which loads pages recorded by {@link HotPagesRecorder} before the node stop back to
+ * persistent data region. Partitions are loaded in parallel, hottest first, and pages of each partition are loaded
+ * in ascending order, so the partition file is read sequentially.
+ */
+public class HotPagesWarmUpStrategy implements WarmUpStrategy<HotPagesWarmUpConfiguration> {
+    /** Kernal context. */
+    @GridToStringExclude
+    private final GridKernalContext ctx;
+
+    /** Logger. */
+    @GridToStringExclude
+    private final IgniteLogger log;
+
+    /** Stop flag. */
+    private volatile boolean stop;
+
+    /**
+     * Constructor.
+     *
+     * @param ctx Kernal context.
+     */
+    public HotPagesWarmUpStrategy(GridKernalContext ctx) {
+        this.ctx = ctx;
+
+        log = ctx.log(HotPagesWarmUpStrategy.class);
+    }
+
+    /** {@inheritDoc} */
+    @Override public Class<HotPagesWarmUpConfiguration> configClass() {
+        return HotPagesWarmUpConfiguration.class;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void warmUp(
+        HotPagesWarmUpConfiguration cfg,
+        DataRegion region
+    ) throws IgniteCheckedException {
+        if (stop)
+            return;
+
+        assert region.config().isPersistenceEnabled();
+
+        File storeWorkDir = HotPagesRecorder.storeWorkDir(ctx);
+
+        File file = storeWorkDir == null ? null : HotPagesSnapshot.file(storeWorkDir, region.config().getName());
+
+        if (file == null || !file.exists()) {
+            if (log.isInfoEnabled())
+                log.info("No hot pages recorded for data region [name=" + region.config().getName() + ']');
+
+            return;
+        }
+
+        HotPagesSnapshot snapshot;
+
+        try {
+            snapshot = HotPagesSnapshot.read(file);
+        }
+        catch (IOException e) {
+            U.warn(log, "Failed to read hot pages, warm-up of data region is skipped [name="
+                + region.config().getName() + ", file=" + file.getAbsolutePath() + ']', e);
+
+            return;
+        }
+
+        List<Partition> parts = loadablePartitions(snapshot, region);
+
+        if (log.isInfoEnabled()) {
+            log.info("Hot pages to load into data region [name=" + region.config().getName()
+                + ", partCnt=" + parts.size() + ", pageCnt=" + parts.stream().mapToLong(p -> p.pageIds().length).sum()
+                + ", recordedPageCnt=" + snapshot.pages() + ", threads=" + cfg.getLoadThreads() + ']');
+        }
+
+        PageMemoryEx pageMemEx = (PageMemoryEx)region.pageMemory();
+
+        LongAdder loadedPageCnt = new LongAdder();
+
+        U.doInParallel(
+            cfg.getLoadThreads(),
+            ctx.pools().getSystemExecutorService(),
+            parts,
+            part -> {
+                // Page IDs are sorted, so the pages are read ahead from the partition file. Loaded pages are not
+                // promoted by the page replacement policy until they are really accessed.
+                IgniteThread.onSequentialScanEntered();
+
+                try {
+                    // Recorded IDs are effective ones, page flags are taken from the partition meta page ID.
+                    long metaPageId = pageMemEx.partitionMetaPageId(part.groupId(), part.partition());
+
+                    for (long effectivePageId : part.pageIds()) {
+                        if (stop)
+                            break;
+
+                        long pageId = metaPageId + pageIndex(effectivePageId);
+
+                        long pagePtr = -1;
+
+                        try {
+                            pagePtr = pageMemEx.acquirePage(part.groupId(), pageId);
+                        }
+                        finally {
+                            if (pagePtr != -1)
+                                pageMemEx.releasePage(part.groupId(), pageId, pagePtr);
+                        }
+
+                        loadedPageCnt.increment();
+                    }
+                }
+                finally {
+                    IgniteThread.onSequentialScanLeft();
+                }
+
+                return null;
+            }
+        );
+
+        if (log.isInfoEnabled()) {
+            log.info((stop ? "Stop" : "Finish") + " loading hot pages into data region [name="
+                + region.config().getName() + ", pageCnt=" + loadedPageCnt.sum() + ']');
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void stop() throws IgniteCheckedException {
+        stop = true;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(HotPagesWarmUpStrategy.class, this);
+    }
+
+    /**
+     * Filters out pages of cache groups and partitions that no longer exist locally and pages beyond the end of
+     * partition files, limiting total count of pages to the free space of the data region.
+     *
+     * @param snapshot Recorded hot pages.
+     * @param region Data region.
+     * @return Partitions to load, hottest first.
+     * @throws IgniteCheckedException If failed.
+     */
+    private List<Partition> loadablePartitions(
+        HotPagesSnapshot snapshot,
+        DataRegion region
+    ) throws IgniteCheckedException {
+        Map<Integer, CacheGroupContext> grps = ctx.cache().cacheGroups().stream()
+            .filter(grp -> region.equals(grp.dataRegion()))
+            .collect(toMap(CacheGroupContext::groupId, identity()));
+
+        long availableLoadPageCnt = availableLoadPageCount(region);
+
+        List<Partition> res = new ArrayList<>();
+
+        for (Partition part : snapshot.partitions()) {
+            if (availableLoadPageCnt <= 0)
+                break;
+
+            CacheGroupContext grp = grps.get(part.groupId());
+
+            if (grp == null)
+                continue;
+
+            if (part.partition() != INDEX_PARTITION && grp.topology().localPartition(part.partition()) == null)
+                continue;
+
+            int partPageCnt = ctx.cache().context().pageStore().pages(part.groupId(), part.partition());
+
+            long[] pageIds = Arrays.stream(part.pageIds())
+                .filter(pageId -> pageIndex(pageId) < partPageCnt)
+                .limit(availableLoadPageCnt)
+                .toArray();
+
+            if (pageIds.length == 0)
+                continue;
+
+            availableLoadPageCnt -= pageIds.length;
+
+            res.add(new Partition(part.groupId(), part.partition(), part.hotness(), pageIds));
+        }
+
+        return res;
+    }
+
+    /**
+     * Getting count of pages available for loading into data region.
+     *
+     * @param region Data region.
+     * @return Count(non-negative) of pages available for loading into data region.
+     */
+    private long availableLoadPageCount(DataRegion region) {
+        long maxSize = region.config().getMaxSize();
+        long curSize = region.pageMemory().loadedPages() * region.pageMemory().systemPageSize();
+
+        return Math.max(0, (maxSize - curSize) / region.pageMemory().systemPageSize());
+    }
+}
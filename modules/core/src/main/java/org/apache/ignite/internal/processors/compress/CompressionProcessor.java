@@ -179,4 +179,35 @@ public class CompressionProcessor extends GridProcessorAdapter {
         if (PageIO.getCompressionType(page) != UNCOMPRESSED_PAGE)
             fail();
     }
+
+    /**
+     * Compresses a block of arbitrary data, for example a block of WAL records.
+     *
+     * @param src Source array.
+     * @param off Offset of the data in the source array.
+     * @param len Length of the data.
+     * @param compression Compression algorithm, {@link DiskPageCompression#SKIP_GARBAGE} is not supported.
+     * @param compressLevel Compression level.
+     * @return Compressed data.
+     * @throws IgniteCheckedException If failed.
+     */
+    public byte[] compress(
+        byte[] src,
+        int off,
+        int len,
+        DiskPageCompression compression,
+        int compressLevel
+    ) throws IgniteCheckedException {
+        return fail();
+    }
+
+    /**
+     * @param src Data compressed by {@link #compress(byte[], int, int, DiskPageCompression, int)}.
+     * @param dst Destination array, its length must be equal to the length of uncompressed data.
+     * @param compression Compression algorithm the data is compressed with.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void decompress(byte[] src, byte[] dst, DiskPageCompression compression) throws IgniteCheckedException {
+        fail();
+    }
 }
@@ -40,6 +40,7 @@ import org.apache.ignite.internal.GridKernalContext;
 import org.apache.ignite.internal.IgniteComponentType;
 import org.apache.ignite.internal.managers.communication.GridIoPolicy;
 import org.apache.ignite.internal.managers.systemview.walker.StripedExecutorTaskViewWalker;
+import org.apache.ignite.internal.mem.NumaPlacement;
 import org.apache.ignite.internal.processors.GridProcessorAdapter;
 import org.apache.ignite.internal.processors.metric.MetricRegistry;
 import org.apache.ignite.internal.processors.plugin.IgnitePluginProcessor;
@@ -56,9 +57,11 @@ import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.internal.util.worker.GridWorkerListener;
 import org.apache.ignite.internal.worker.WorkersRegistry;
 import org.apache.ignite.lang.IgniteInClosure;
+import org.apache.ignite.mem.NumaAwareMemoryAllocator;
 import org.apache.ignite.plugin.extensions.communication.IoPool;
 import org.apache.ignite.spi.systemview.view.StripedExecutorTaskView;
 import org.apache.ignite.thread.IgniteStripedThreadPoolExecutor;
+import org.apache.ignite.thread.IgniteThread;
 import org.apache.ignite.thread.IgniteThreadPoolExecutor;
 import org.apache.ignite.thread.SameThreadExecutor;
 import org.jetbrains.annotations.Nullable;
@@ -324,8 +327,22 @@ public class PoolProcessor extends GridProcessorAdapter {
 
         WorkersRegistry workerRegistry = ctx.workersRegistry();
 
+        NumaAwareMemoryAllocator numaAllocator = NumaPlacement.allocator(cfg);
+
+        int stripedPoolSize = cfg.getStripedPoolSize();
+
+        // Stripe of a partition must be bound to the NUMA node of the partition.
+        if (numaAllocator != null && stripedPoolSize % numaAllocator.numaNodes() != 0) {
+            stripedPoolSize = NumaPlacement.roundUp(stripedPoolSize, numaAllocator.numaNodes());
+
+            if (log.isInfoEnabled()) {
+                log.info("Striped pool size is rounded up to a multiple of NUMA nodes count [size=" +
+                    stripedPoolSize + ", nodes=" + numaAllocator.numaNodes() + ']');
+            }
+        }
+
         stripedExecSvc = createStripedExecutor(
-            cfg.getStripedPoolSize(),
+            stripedPoolSize,
             cfg.getIgniteInstanceName(),
             "sys",
             log,
@@ -338,6 +355,9 @@ public class PoolProcessor extends GridProcessorAdapter {
             workerRegistry,
             cfg.getFailureDetectionTimeout());
 
+        if (numaAllocator != null)
+            bindToNumaNodes(stripedExecSvc, numaAllocator);
+
         // Note that since we use 'LinkedBlockingQueue', number of
         // maximum threads has no effect.
         // Note, that we do not pre-start threads here as management pool may
@@ -1052,6 +1072,29 @@ public class PoolProcessor extends GridProcessorAdapter {
         }
     }
 
+    /**
+     * Binds stripe {@code s} to NUMA node {@code s % nodes}. Stripes are bound by the first tasks they execute.
+     *
+     * @param execSvc Striped executor.
+     * @param allocator NUMA aware memory allocator.
+     */
+    private void bindToNumaNodes(StripedExecutor execSvc, NumaAwareMemoryAllocator allocator) {
+        for (int i = 0; i < execSvc.stripesCount(); i++) {
+            int node = NumaPlacement.node(i, allocator.numaNodes());
+
+            execSvc.execute(i, () -> {
+                if (!allocator.runOnNode(node)) {
+                    U.warn(log, "Failed to bind striped pool thread to NUMA node [thread=" +
+                        Thread.currentThread().getName() + ", node=" + node + ']');
+
+                    return;
+                }
+
+                IgniteThread.onBoundToNumaNode(node);
+            });
+        }
+    }
+
     /**
      * @param poolSize an actual value in the configuration.
      * @param poolName a name of the pool like 'management'.
@@ -17,11 +17,13 @@
 
 package org.apache.ignite.internal.processors.query.schema;
 
+import java.util.Collection;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.internal.IgniteInterruptedCheckedException;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexBulkBuild;
 import org.apache.ignite.internal.processors.cache.GridCacheContext;
 import org.apache.ignite.internal.processors.cache.GridCacheEntryEx;
 import org.apache.ignite.internal.processors.cache.GridCacheEntryRemovedException;
@@ -72,6 +74,9 @@ public class SchemaIndexCachePartitionWorker extends GridWorker {
     /** Index closure. */
     private final SchemaIndexCacheVisitorClosureWrapper wrappedClo;
 
+    /** Bulk builds of the indexes filled by the closure. */
+    private final Collection<InlineIndexBulkBuild> bulkBuilds;
+
     /** Partition. */
     private final GridDhtLocalPartition locPart;
 
@@ -89,6 +94,7 @@ public class SchemaIndexCachePartitionWorker extends GridWorker {
      * @param stop Stop flag between all workers for one cache.
      * @param cancelTok Cancellation token between all workers for all caches.
      * @param clo Index closure.
+     * @param bulkBuilds Bulk builds of the indexes filled by the closure.
      * @param fut Worker future.
      * @param partsCnt Count of partitions to be processed.
      */
@@ -98,6 +104,7 @@ public class SchemaIndexCachePartitionWorker extends GridWorker {
         AtomicBoolean stop,
         IndexRebuildCancelToken cancelTok,
         SchemaIndexCacheVisitorClosure clo,
+        Collection<InlineIndexBulkBuild> bulkBuilds,
         GridFutureAdapter<SchemaIndexCacheStat> fut,
         AtomicInteger partsCnt
     ) {
@@ -113,11 +120,13 @@ public class SchemaIndexCachePartitionWorker extends GridWorker {
 
         assert nonNull(stop);
         assert nonNull(clo);
+        assert nonNull(bulkBuilds);
         assert nonNull(fut);
         assert nonNull(partsCnt);
 
         this.stop = stop;
         wrappedClo = new SchemaIndexCacheVisitorClosureWrapper(clo);
+        this.bulkBuilds = bulkBuilds;
         this.fut = fut;
         this.partsCnt = partsCnt;
     }
@@ -155,7 +164,7 @@ public class SchemaIndexCachePartitionWorker extends GridWorker {
         if (stop())
             return;
 
-        checkCancelled();
+        checkCancelled(cancelTok);
 
         boolean reserved = false;
 
@@ -167,12 +176,7 @@ public class SchemaIndexCachePartitionWorker extends GridWorker {
             return;
 
         try {
-            GridCursor<? extends CacheDataRow> cursor = locPart.dataStore().cursor(
-                cctx.cacheId(),
-                null,
-                null,
-                KEY_ONLY
-            );
+            GridCursor<? extends CacheDataRow> cursor = locPart.dataStore().scanCursor(cctx.cacheId(), KEY_ONLY);
 
             boolean locked = false;
 
@@ -194,6 +198,9 @@ public class SchemaIndexCachePartitionWorker extends GridWorker {
                         cctx.shared().database().checkpointReadUnlock();
 
                         locked = false;
+
+                        for (InlineIndexBulkBuild bulkBuild : bulkBuilds)
+                            bulkBuild.onBatchVisited(locPart.id());
                     }
 
                     cctx.cache().metrics0().addIndexRebuildKeyProcessed(1);
@@ -208,6 +215,9 @@ public class SchemaIndexCachePartitionWorker extends GridWorker {
                 if (locked)
                     cctx.shared().database().checkpointReadUnlock();
             }
+
+            for (InlineIndexBulkBuild bulkBuild : bulkBuilds)
+                bulkBuild.onPartitionVisited(locPart.id());
         }
         finally {
             locPart.release();
@@ -228,7 +238,7 @@ public class SchemaIndexCachePartitionWorker extends GridWorker {
 
         while (!stop()) {
             try {
-                checkCancelled();
+                checkCancelled(cancelTok);
 
                 GridCacheEntryEx entry = cctx.cache().entryEx(key);
 
@@ -253,9 +263,10 @@ public class SchemaIndexCachePartitionWorker extends GridWorker {
     /**
      * Check if visit process is not cancelled.
      *
+     * @param cancelTok Cancellation token.
      * @throws IgniteCheckedException If cancelled.
      */
-    private void checkCancelled() throws IgniteCheckedException {
+    static void checkCancelled(IndexRebuildCancelToken cancelTok) throws IgniteCheckedException {
         Throwable e = cancelTok.cancelException();
 
         if (e instanceof SchemaIndexOperationCancellationException)
@@ -17,7 +17,10 @@
 
 package org.apache.ignite.internal.processors.query.schema;
 
+import java.util.Collection;
+import java.util.Collections;
 import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.cache.query.index.Index;
 import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
 
 /**
@@ -31,4 +34,13 @@ public interface SchemaIndexCacheVisitorClosure {
      * @throws IgniteCheckedException If failed.
      */
     public void apply(CacheDataRow row) throws IgniteCheckedException;
+
+    /**
+     * Indexes filled by the closure. The empty ones are built in bulk from the sorted rows of the visited partitions.
+     *
+     * @return Indexes filled by the closure.
+     */
+    public default Collection<? extends Index> indexes() {
+        return Collections.emptyList();
+    }
 }
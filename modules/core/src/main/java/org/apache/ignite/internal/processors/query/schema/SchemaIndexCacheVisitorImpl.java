@@ -17,6 +17,7 @@
 
 package org.apache.ignite.internal.processors.query.schema;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -24,9 +25,13 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.NodeStoppingException;
+import org.apache.ignite.internal.cache.query.index.Index;
 import org.apache.ignite.internal.cache.query.index.IndexName;
 import org.apache.ignite.internal.cache.query.index.IndexProcessor;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndex;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexBulkBuild;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexImpl;
 import org.apache.ignite.internal.processors.cache.GridCacheContext;
 import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
 import org.apache.ignite.internal.processors.cache.distributed.near.GridNearCacheAdapter;
@@ -95,10 +100,21 @@ public class SchemaIndexCacheVisitorImpl implements SchemaIndexCacheVisitor {
     @Override public void visit(SchemaIndexCacheVisitorClosure clo) {
         assert nonNull(clo);
 
+        List<InlineIndexBulkBuild> bulkBuilds;
+
+        try {
+            bulkBuilds = startBulkBuilds(clo);
+        }
+        catch (IgniteCheckedException e) {
+            buildIdxFut.onDone(e);
+
+            return;
+        }
+
         List<GridDhtLocalPartition> locParts = cctx.topology().localPartitions();
 
         if (locParts.isEmpty()) {
-            buildIdxFut.onDone();
+            loadBulkBuilds(bulkBuilds);
 
             return;
         }
@@ -120,7 +136,8 @@ public class SchemaIndexCacheVisitorImpl implements SchemaIndexCacheVisitor {
             GridWorkerFuture<SchemaIndexCacheStat> workerFut = new GridWorkerFuture<>();
 
             GridWorker worker =
-                new SchemaIndexCachePartitionWorker(cctx, locPart, stop, cancelTok, clo, workerFut, partsCnt);
+                new SchemaIndexCachePartitionWorker(
+                    cctx, locPart, stop, cancelTok, clo, bulkBuilds, workerFut, partsCnt);
 
             workerFut.setWorker(worker);
             buildIdxCompoundFut.add(workerFut);
@@ -151,12 +168,106 @@ public class SchemaIndexCacheVisitorImpl implements SchemaIndexCacheVisitor {
                 }
             }
 
-            buildIdxFut.onDone(err);
+            if (isNull(err))
+                loadBulkBuilds(bulkBuilds);
+            else {
+                bulkBuilds.forEach(InlineIndexBulkBuild::cancel);
+
+                buildIdxFut.onDone(err);
+            }
         });
 
         buildIdxCompoundFut.markInitialized();
     }
 
+    /**
+     * Starts bulk builds of the empty indexes filled by the closure.
+     *
+     * @param clo Index closure.
+     * @return Bulk builds.
+     * @throws IgniteCheckedException If failed.
+     */
+    private List<InlineIndexBulkBuild> startBulkBuilds(SchemaIndexCacheVisitorClosure clo)
+        throws IgniteCheckedException {
+        List<InlineIndexBulkBuild> bulkBuilds = new ArrayList<>();
+
+        try {
+            for (Index idx : clo.indexes()) {
+                if (idx instanceof InlineIndexImpl) {
+                    InlineIndexBulkBuild bulkBuild = ((InlineIndexImpl)idx).startBulkBuild();
+
+                    if (bulkBuild != null)
+                        bulkBuilds.add(bulkBuild);
+                }
+            }
+        }
+        catch (IgniteCheckedException e) {
+            bulkBuilds.forEach(InlineIndexBulkBuild::cancel);
+
+            throw e;
+        }
+
+        return bulkBuilds;
+    }
+
+    /**
+     * Loads the sorted rows of the visited partitions to the indexes built in bulk, segments are loaded in parallel.
+     * Completes the build future, when all the indexes are loaded.
+     *
+     * @param bulkBuilds Bulk builds.
+     */
+    private void loadBulkBuilds(List<InlineIndexBulkBuild> bulkBuilds) {
+        if (bulkBuilds.isEmpty()) {
+            buildIdxFut.onDone();
+
+            return;
+        }
+
+        GridCompoundFuture<Void, Void> loadFut = new GridCompoundFuture<>();
+
+        for (InlineIndexBulkBuild bulkBuild : bulkBuilds) {
+            for (int i = 0; i < bulkBuild.segmentsCount(); i++) {
+                int segment = i;
+
+                GridFutureAdapter<Void> segmentFut = new GridFutureAdapter<>();
+
+                loadFut.add(segmentFut);
+
+                cctx.kernalContext().pools().buildIndexExecutorService().execute(() -> {
+                    try {
+                        bulkBuild.load(segment, this::checkLoadCancelled);
+
+                        segmentFut.onDone();
+                    }
+                    catch (Throwable e) {
+                        U.error(log, "Error during bulk load of index segment [cacheName=" + cctx.name() +
+                            ", segment=" + segment + ']', e);
+
+                        bulkBuild.cancel();
+
+                        segmentFut.onDone(e);
+                    }
+                });
+            }
+        }
+
+        loadFut.listen(fut -> buildIdxFut.onDone(fut.error()));
+
+        loadFut.markInitialized();
+    }
+
+    /**
+     * Checks if the load of the indexes built in bulk is not cancelled.
+     *
+     * @throws IgniteCheckedException If cancelled.
+     */
+    private void checkLoadCancelled() throws IgniteCheckedException {
+        if (cctx.kernalContext().isStopping())
+            throw new NodeStoppingException("Index build is interrupted by node stop [cacheName=" + cctx.name() + ']');
+
+        SchemaIndexCachePartitionWorker.checkCancelled(cancelTok);
+    }
+
     /**
      * Prints index cache stats to log.
      *
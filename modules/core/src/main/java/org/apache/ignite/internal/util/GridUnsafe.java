@@ -1402,6 +1402,20 @@ public abstract class GridUnsafe {
         return UNSAFE.compareAndSwapLong(obj, off, exp, upd);
     }
 
+    /**
+     * Ensures that loads before the fence will not be reordered with loads after the fence.
+     */
+    public static void loadFence() {
+        UNSAFE.loadFence();
+    }
+
+    /**
+     * Ensures that stores before the fence will not be reordered with stores after the fence.
+     */
+    public static void storeFence() {
+        UNSAFE.storeFence();
+    }
+
     /**
      * Atomically increments value stored in an integer pointed by {@code ptr}.
      *
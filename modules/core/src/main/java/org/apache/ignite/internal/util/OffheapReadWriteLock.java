@@ -18,6 +18,7 @@
 package org.apache.ignite.internal.util;
 
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 import org.apache.ignite.IgniteSystemProperties;
@@ -33,6 +34,10 @@ import org.apache.ignite.internal.util.typedef.internal.U;
  *     |     2 bytes    |     2 bytes   | 2 bytes |  2 bytes |
  *     +----------------+---------------+---------+----------+
  * </pre>
+ * Besides the lock state, a write version is maintained for each of the {@link #VERSION_STRIPES} stripes of lock
+ * addresses. The version is incremented each time a write lock is acquired, which allows to read a page
+ * optimistically, without taking a lock, and to validate the read afterwards
+ * (see {@link #tryOptimisticRead(long, int)} and {@link #validate(long, long)}).
  */
 public class OffheapReadWriteLock {
     /** @see #IGNITE_OFFHEAP_RWLOCK_SPIN_COUNT */
@@ -66,6 +71,12 @@ public class OffheapReadWriteLock {
     /** Maximum number of waiting threads, read or write. */
     public static final int MAX_WAITERS = 0xFFFF;
 
+    /** Number of write version stripes, must be a power of two. */
+    static final int VERSION_STRIPES = 1024;
+
+    /** Distance between versions of adjacent stripes, keeps them in different cache lines. */
+    private static final int VERSION_PADDING = 8;
+
     /** */
     private final ReentrantLock[] locks;
 
@@ -81,6 +92,9 @@ public class OffheapReadWriteLock {
     /** */
     private int monitorsMask;
 
+    /** Write versions of lock address stripes. */
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES * VERSION_PADDING);
+
     /**
      * @param concLvl Concurrency level, must be a power of two.
      */
@@ -205,8 +219,14 @@ public class OffheapReadWriteLock {
     public boolean tryWriteLock(long lock, int tag) {
         long state = GridUnsafe.getLongVolatile(null, lock);
 
-        return checkTag(state, tag) && canWriteLock(state) &&
-            GridUnsafe.compareAndSwapLong(null, lock, state, updateState(state, -1, 0, 0));
+        if (checkTag(state, tag) && canWriteLock(state) &&
+            GridUnsafe.compareAndSwapLong(null, lock, state, updateState(state, -1, 0, 0))) {
+            onWriteLocked(lock);
+
+            return true;
+        }
+
+        return false;
     }
 
     /**
@@ -224,8 +244,11 @@ public class OffheapReadWriteLock {
                 return false;
 
             if (canWriteLock(state)) {
-                if (GridUnsafe.compareAndSwapLong(null, lock, state, updateState(state, -1, 0, 0)))
+                if (GridUnsafe.compareAndSwapLong(null, lock, state, updateState(state, -1, 0, 0))) {
+                    onWriteLocked(lock);
+
                     return true;
+                }
                 else
                     // Retry CAS, do not count as spin cycle.
                     i--;
@@ -264,6 +287,46 @@ public class OffheapReadWriteLock {
         return lockCount(GridUnsafe.getLongVolatile(null, lock)) > 0;
     }
 
+    /**
+     * Starts an optimistic read. Data protected by the lock may be read without taking the lock after this method
+     * returned a non-zero stamp, but it is consistent only if {@link #validate(long, long)} succeeds after the read.
+     *
+     * @param lock Lock address.
+     * @param tag Validation tag.
+     * @return Stamp to validate the read with or {@code 0} if the write lock is held or tag validation failed.
+     */
+    public long tryOptimisticRead(long lock, int tag) {
+        long ver = versions.get(versionIndex(lock));
+
+        long state = GridUnsafe.getLongVolatile(null, lock);
+
+        if (!checkTag(state, tag) || lockCount(state) == -1)
+            return 0L;
+
+        return ver + 1;
+    }
+
+    /**
+     * Checks that the write lock has not been acquired since the stamp was issued. A write lock taken on another
+     * lock of the same stripe also fails the validation.
+     *
+     * @param lock Lock address.
+     * @param stamp Stamp returned by {@link #tryOptimisticRead(long, int)}.
+     * @return {@code True} if data read after the stamp was issued is consistent.
+     */
+    public boolean validate(long lock, long stamp) {
+        assert stamp != 0L;
+
+        // Reads of the protected data must not be reordered with the reads below.
+        GridUnsafe.loadFence();
+
+        // The data may be in the middle of a modification while the write lock is held.
+        if (lockCount(GridUnsafe.getLongVolatile(null, lock)) == -1)
+            return false;
+
+        return versions.get(versionIndex(lock)) + 1 == stamp;
+    }
+
     /**
      * @param lock Lock address.
      */
@@ -364,8 +427,11 @@ public class OffheapReadWriteLock {
                 return null;
 
             if (lockCount(state) == 1) {
-                if (GridUnsafe.compareAndSwapLong(null, lock, state, updateState(state, -2, 0, 0)))
+                if (GridUnsafe.compareAndSwapLong(null, lock, state, updateState(state, -2, 0, 0))) {
+                    onWriteLocked(lock);
+
                     return true;
+                }
                 else
                     // Retry CAS, do not count as spin cycle.
                     i--;
@@ -387,8 +453,11 @@ public class OffheapReadWriteLock {
                     return null;
 
                 if (lockCount(state) == 1) {
-                    if (GridUnsafe.compareAndSwapLong(null, lock, state, updateState(state, -2, 0, 0)))
+                    if (GridUnsafe.compareAndSwapLong(null, lock, state, updateState(state, -2, 0, 0))) {
+                        onWriteLocked(lock);
+
                         return true;
+                    }
                     else
                         continue;
                 }
@@ -496,8 +565,11 @@ public class OffheapReadWriteLock {
                     else if (canWriteLock(state)) {
                         long updated = updateState(state, -1, 0, -1);
 
-                        if (GridUnsafe.compareAndSwapLong(null, lock, state, updated))
+                        if (GridUnsafe.compareAndSwapLong(null, lock, state, updated)) {
+                            onWriteLocked(lock);
+
                             return true;
+                        }
                     }
                     else
                         waitCond.await();
@@ -523,6 +595,27 @@ public class OffheapReadWriteLock {
         return U.safeAbs(U.hash(lock)) & monitorsMask;
     }
 
+    /**
+     * @param lock Lock address.
+     * @return Index of the write version of the stripe of this lock address.
+     */
+    private int versionIndex(long lock) {
+        return (U.safeAbs(U.hash(lock)) & (VERSION_STRIPES - 1)) * VERSION_PADDING;
+    }
+
+    /**
+     * Increments write version, must be called right after the write lock is acquired, before any protected data is
+     * modified.
+     *
+     * @param lock Lock address.
+     */
+    private void onWriteLocked(long lock) {
+        versions.incrementAndGet(versionIndex(lock));
+
+        // Weakly ordered CPUs may otherwise make the following writes visible before the version update.
+        GridUnsafe.storeFence();
+    }
+
     /**
      * @param state Lock state.
      * @return {@code True} if write lock is not acquired.
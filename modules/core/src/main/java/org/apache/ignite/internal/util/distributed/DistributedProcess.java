@@ -488,6 +488,11 @@ public class DistributedProcess<I extends Serializable, R extends Serializable>
         /**
          * Incremental snapshot restore start phase.
          */
-        RESTORE_INCREMENTAL_SNAPSHOT_START
+        RESTORE_INCREMENTAL_SNAPSHOT_START,
+
+        /**
+         * Cache group restore phase awaiting partition files of caches started before the files are copied.
+         */
+        RESTORE_CACHE_GROUP_SNAPSHOT_STREAM
     }
 }
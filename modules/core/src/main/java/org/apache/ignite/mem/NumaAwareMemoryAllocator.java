@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.mem;
+
+/**
+ * Offheap memory allocator aware of NUMA nodes of the host. Allows to allocate memory on a given NUMA node and to bind
+ * threads to NUMA nodes, which is used to place page memory segments and striped pool threads on the same nodes
+ * if {@link org.apache.ignite.IgniteSystemProperties#IGNITE_NUMA_AWARE_PLACEMENT} is enabled.
+ */
+public interface NumaAwareMemoryAllocator extends MemoryAllocator {
+    /**
+     * @return Count of NUMA nodes available on the host.
+     */
+    public int numaNodes();
+
+    /**
+     * @param size Size of allocated memory.
+     * @param node NUMA node.
+     *
+     * @return Pointer to memory or {@code 0} if failed.
+     */
+    public long allocateMemory(long size, int node);
+
+    /**
+     * Binds the current thread to CPUs of the NUMA node and makes the node preferred for memory allocated by the
+     * thread.
+     *
+     * @param node NUMA node.
+     * @return {@code True} if the thread is bound to the node.
+     */
+    public boolean runOnNode(int node);
+}
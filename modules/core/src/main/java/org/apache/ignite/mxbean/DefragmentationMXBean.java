@@ -72,4 +72,43 @@ public interface DefragmentationMXBean {
      */
     @MXBeanDescription("Start time.")
     public long startTime();
+
+    /**
+     * Start online defragmentation of given caches. Partitions are rebuilt one by one while the node keeps serving
+     * requests.
+     *
+     * @param cacheNames Names of caches to run online defragmentation on, comma separated.
+     * @return {@code true} if online defragmentation is started, {@code false} otherwise.
+     */
+    @MXBeanDescription("Start online defragmentation.")
+    public boolean scheduleOnline(
+        @MXBeanParameter(name = "cacheNames", description = "Names of caches to run online defragmentation on.")
+        String cacheNames
+    );
+
+    /**
+     * Cancel online defragmentation.
+     *
+     * @return {@code true} if online defragmentation was canceled, {@code false} otherwise.
+     */
+    @MXBeanDescription("Cancel current online defragmentation.")
+    public boolean cancelOnline();
+
+    /**
+     * Get I/O rate limit of online defragmentation.
+     *
+     * @return Rate limit in megabytes per second, {@code 0} if unlimited.
+     */
+    @MXBeanDescription("Online defragmentation rate limit in MB/s (0 if unlimited).")
+    public double getOnlineRateLimit();
+
+    /**
+     * Set I/O rate limit of online defragmentation. Takes effect immediately, including the partition in progress.
+     *
+     * @param mbPerSec Rate limit in megabytes per second, {@code 0} to disable the limit.
+     */
+    @MXBeanDescription("Set online defragmentation rate limit in MB/s (0 to disable the limit).")
+    public void setOnlineRateLimit(
+        @MXBeanParameter(name = "mbPerSec", description = "Rate limit in MB/s.") double mbPerSec
+    );
 }
@@ -59,6 +59,12 @@ public class IgniteThread extends Thread {
     /** */
     private boolean forbiddenToRequestBinaryMetadata;
 
+    /** */
+    private boolean sequentialScan;
+
+    /** NUMA node the thread is bound to or {@code -1} if the thread is not bound to a node. */
+    private int numaNode = -1;
+
     /**
      * Creates thread with given worker.
      *
@@ -229,6 +235,57 @@ public class IgniteThread extends Thread {
             ((IgniteThread)curThread).forbiddenToRequestBinaryMetadata = false;
     }
 
+    /**
+     * Callback on entering a sequential partition scan section. Pages accessed by the thread within the section
+     * are not promoted by the page replacement policy and page stores read them ahead.
+     */
+    public static void onSequentialScanEntered() {
+        Thread curThread = Thread.currentThread();
+
+        if (curThread instanceof IgniteThread)
+            ((IgniteThread)curThread).sequentialScan = true;
+    }
+
+    /**
+     * Callback on leaving a sequential partition scan section.
+     */
+    public static void onSequentialScanLeft() {
+        Thread curThread = Thread.currentThread();
+
+        if (curThread instanceof IgniteThread)
+            ((IgniteThread)curThread).sequentialScan = false;
+    }
+
+    /**
+     * @return {@code True} if current thread performs a sequential partition scan.
+     */
+    public static boolean currentThreadInSequentialScan() {
+        Thread curThread = Thread.currentThread();
+
+        return curThread instanceof IgniteThread && ((IgniteThread)curThread).sequentialScan;
+    }
+
+    /**
+     * Callback on binding of the current thread to a NUMA node.
+     *
+     * @param node NUMA node.
+     */
+    public static void onBoundToNumaNode(int node) {
+        Thread curThread = Thread.currentThread();
+
+        if (curThread instanceof IgniteThread)
+            ((IgniteThread)curThread).numaNode = node;
+    }
+
+    /**
+     * @return NUMA node the current thread is bound to or {@code -1} if the thread is not bound to a node.
+     */
+    public static int currentThreadNumaNode() {
+        Thread curThread = Thread.currentThread();
+
+        return curThread instanceof IgniteThread ? ((IgniteThread)curThread).numaNode : -1;
+    }
+
     /**
      * @return IgniteThread or {@code null} if current thread is not an instance of IgniteThread.
      */
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.cdc;
+
+import java.util.HashSet;
+import java.util.List;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.cdc.CdcMain;
+import org.apache.ignite.internal.pagemem.wal.IgniteWriteAheadLogManager;
+import org.apache.ignite.internal.pagemem.wal.record.RolloverType;
+import org.apache.ignite.internal.pagemem.wal.record.SnapshotRecord;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_CDC_WAL_POSITION_UPDATE_FREQUENCY;
+import static org.apache.ignite.cdc.AbstractCdcTest.ChangeEventType.UPDATE;
+import static org.apache.ignite.cluster.ClusterState.ACTIVE;
+import static org.apache.ignite.internal.processors.cache.GridCacheUtils.cacheId;
+import static org.apache.ignite.testframework.GridTestUtils.runAsync;
+
+/**
+ * Tests consumption of the WAL segment which is not archived yet.
+ */
+@WithSystemProperty(key = IGNITE_CDC_WAL_POSITION_UPDATE_FREQUENCY, value = "10")
+public class CdcActiveSegmentTailingTest extends AbstractCdcTest {
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        cfg.setDataStorageConfiguration(new DataStorageConfiguration()
+            .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                .setPersistenceEnabled(true)
+                .setCdcEnabled(true)));
+
+        return cfg;
+    }
+
+    /** @throws Exception If failed. */
+    @Test
+    public void testConsumeActiveSegment() throws Exception {
+        IgniteConfiguration cfg = getConfiguration("ignite-0");
+
+        IgniteEx ign = startGrid(cfg);
+
+        ign.cluster().state(ACTIVE);
+
+        IgniteCache<Integer, User> cache = ign.getOrCreateCache(DEFAULT_CACHE_NAME);
+
+        IgniteWriteAheadLogManager wal = ign.context().cache().context().wal();
+
+        // Active segment is tailed after the first archived segment is consumed.
+        rollOver(wal);
+
+        UserCdcConsumer cnsmr = new UserCdcConsumer();
+
+        CdcConfiguration cdcCfg = new CdcConfiguration();
+
+        cdcCfg.setConsumer(cnsmr);
+        cdcCfg.setKeepBinary(keepBinary());
+        cdcCfg.setCheckFrequency(10);
+        cdcCfg.setTailActiveSegment(true);
+
+        IgniteInternalFuture<?> fut = runAsync(new CdcMain(cfg, null, cdcCfg));
+
+        try {
+            long segIdx = wal.currentSegment();
+
+            addData(cache, 0, KEYS_CNT);
+
+            waitForSize(KEYS_CNT, DEFAULT_CACHE_NAME, UPDATE, cnsmr);
+
+            assertEquals(segIdx, wal.currentSegment());
+
+            // Records already consumed from the active segment must not be consumed again after archiving.
+            rollOver(wal);
+
+            addData(cache, KEYS_CNT, KEYS_CNT * 2);
+
+            waitForSize(KEYS_CNT * 2, DEFAULT_CACHE_NAME, UPDATE, cnsmr);
+
+            assertEquals(segIdx + 1, wal.currentSegment());
+
+            List<Integer> keys = cnsmr.data(UPDATE, cacheId(DEFAULT_CACHE_NAME));
+
+            assertEquals(KEYS_CNT * 2, new HashSet<>(keys).size());
+        }
+        finally {
+            fut.cancel();
+        }
+    }
+
+    /** */
+    private void addData(IgniteCache<Integer, User> cache, int from, int to) {
+        for (int i = from; i < to; i++)
+            cache.put(i, createUser(i));
+    }
+
+    /** */
+    private void rollOver(IgniteWriteAheadLogManager wal) throws IgniteCheckedException {
+        wal.log(new SnapshotRecord(0, false), RolloverType.CURRENT_SEGMENT);
+    }
+}
@@ -316,6 +316,7 @@ public class IgniteDataStorageMetricsSelfTest extends GridCommonAbstractTest {
             AtomicLongMetric lastCpLockWaitDuration = mreg.findMetric("LastCheckpointLockWaitDuration");
             AtomicLongMetric lastCpListenersExecuteDuration = mreg.findMetric("LastCheckpointListenersExecuteDuration");
             AtomicLongMetric lastCpLockHoldDuration = mreg.findMetric("LastCheckpointLockHoldDuration");
+            AtomicLongMetric lastCpLockHoldDurationMicros = mreg.findMetric("LastCheckpointLockHoldDurationMicros");
             AtomicLongMetric lastCpWalRecordFsyncDuration = mreg.findMetric("LastCheckpointWalRecordFsyncDuration");
             AtomicLongMetric lastCpWriteEntryDuration = mreg.findMetric("LastCheckpointWriteEntryDuration");
             AtomicLongMetric lastCpSplitAndSortPagesDuration =
@@ -326,6 +327,7 @@ public class IgniteDataStorageMetricsSelfTest extends GridCommonAbstractTest {
             HistogramMetric cpListenersExecuteHistogram = mreg.findMetric("CheckpointListenersExecuteHistogram");
             HistogramMetric cpMarkHistogram = mreg.findMetric("CheckpointMarkHistogram");
             HistogramMetric cpLockHoldHistogram = mreg.findMetric("CheckpointLockHoldHistogram");
+            HistogramMetric cpLockHoldMicrosHistogram = mreg.findMetric("CheckpointLockHoldMicrosHistogram");
             HistogramMetric cpPagesWriteHistogram = mreg.findMetric("CheckpointPagesWriteHistogram");
             HistogramMetric cpFsyncHistogram = mreg.findMetric("CheckpointFsyncHistogram");
             HistogramMetric cpWalRecordFsyncHistogram = mreg.findMetric("CheckpointWalRecordFsyncHistogram");
@@ -340,6 +342,7 @@ public class IgniteDataStorageMetricsSelfTest extends GridCommonAbstractTest {
             assertEquals(cpCnt.get(), Arrays.stream(cpListenersExecuteHistogram.value()).sum());
             assertEquals(cpCnt.get(), Arrays.stream(cpMarkHistogram.value()).sum());
             assertEquals(cpCnt.get(), Arrays.stream(cpLockHoldHistogram.value()).sum());
+            assertEquals(cpCnt.get(), Arrays.stream(cpLockHoldMicrosHistogram.value()).sum());
             assertEquals(cpCnt.get(), Arrays.stream(cpPagesWriteHistogram.value()).sum());
             assertEquals(cpCnt.get(), Arrays.stream(cpFsyncHistogram.value()).sum());
             assertEquals(cpCnt.get(), Arrays.stream(cpWalRecordFsyncHistogram.value()).sum());
@@ -350,13 +353,26 @@ public class IgniteDataStorageMetricsSelfTest extends GridCommonAbstractTest {
             assertEquals(expLastCpLockWaitDuration.get(), lastCpLockWaitDuration.value());
             assertEquals(expLastCpListenersExecuteDuration.get(), lastCpListenersExecuteDuration.value());
             assertEquals(expLastCpLockHoldDuration.get(), lastCpLockHoldDuration.value());
+            assertTrue(lastCpLockHoldDurationMicros.value() > 0);
             assertEquals(expLastCpWalRecordFsyncDuration.get(), lastCpWalRecordFsyncDuration.value());
             assertEquals(expLastCpWriteEntryDuration.get(), lastCpWriteEntryDuration.value());
             assertEquals(expLastCpSplitAndSortPagesDuration.get(), lastCpSplitAndSortPagesDuration.value());
+
+            // Lock hold duration in microseconds must be set by the next checkpoint.
+            lastCpLockHoldDurationMicros.reset();
         }
         finally {
             db.checkpointReadUnlock();
         }
+
+        // Checkpoint without the dirty pages is skipped and doesn't update the metrics.
+        node.cache("cache").put(1, 1);
+
+        forceCheckpoint(node);
+
+        MetricRegistry mreg = node.context().metric().registry(DATASTORAGE_METRIC_PREFIX);
+
+        assertTrue(mreg.<AtomicLongMetric>findMetric("LastCheckpointLockHoldDurationMicros").value() > 0);
     }
 
     /**
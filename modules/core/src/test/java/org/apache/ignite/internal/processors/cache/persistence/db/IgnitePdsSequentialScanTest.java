@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.db;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.cache.Cache;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cache.query.ScanQuery;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.cache.CacheGroupContext;
+import org.apache.ignite.internal.processors.cache.IgniteCacheOffheapManager.CacheDataStore;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
+import org.apache.ignite.internal.util.lang.GridCursor;
+import org.apache.ignite.internal.util.typedef.internal.CU;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Checks that a full partition scan in the physical order mode returns the same rows as the data tree cursor.
+ */
+public class IgnitePdsSequentialScanTest extends GridCommonAbstractTest {
+    /** */
+    private static final String GROUP = "group";
+
+    /** */
+    private static final String CACHE_1 = "cache1";
+
+    /** */
+    private static final String CACHE_2 = "cache2";
+
+    /** */
+    private static final int PARTS = 8;
+
+    /** Entry count, exceeds the default scan window. */
+    private static final int ENTRY_CNT = 10_000;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        cfg.setDataStorageConfiguration(new DataStorageConfiguration()
+            .setPageSize(1024)
+            .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                .setPersistenceEnabled(true)
+                .setMaxSize(20L * 1024 * 1024)));
+
+        cfg.setCacheConfiguration(cacheConfiguration(CACHE_1), cacheConfiguration(CACHE_2));
+
+        return cfg;
+    }
+
+    /**
+     * @param name Cache name.
+     * @return Cache configuration.
+     */
+    private CacheConfiguration<Integer, byte[]> cacheConfiguration(String name) {
+        return new CacheConfiguration<Integer, byte[]>(name)
+            .setGroupName(GROUP)
+            .setAffinity(new RendezvousAffinityFunction(false, PARTS));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testScanColdPartitions() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        load(ignite, CACHE_1);
+        load(ignite, CACHE_2);
+
+        forceCheckpoint();
+
+        stopGrid(0);
+
+        ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        CacheGroupContext grp = ignite.context().cache().cacheGroup(CU.cacheId(GROUP));
+
+        for (GridDhtLocalPartition part : grp.topology().currentLocalPartitions()) {
+            CacheDataStore ds = part.dataStore();
+
+            assertEquals(links(ds.cursor()), links(ds.scanCursor(CU.UNDEFINED_CACHE_ID, null)));
+
+            int cacheId = CU.cacheId(CACHE_1);
+
+            assertEquals(links(ds.cursor(cacheId)), links(ds.scanCursor(cacheId, null)));
+        }
+
+        for (String name : new String[] {CACHE_1, CACHE_2}) {
+            IgniteCache<Integer, byte[]> cache = ignite.cache(name);
+
+            int cnt = 0;
+
+            for (Cache.Entry<Integer, byte[]> e : cache.query(new ScanQuery<Integer, byte[]>())) {
+                assertEquals(e.getKey() % 100 + 1, e.getValue().length);
+
+                cnt++;
+            }
+
+            assertEquals(ENTRY_CNT, cnt);
+        }
+    }
+
+    /**
+     * @param ignite Ignite.
+     * @param name Cache name.
+     */
+    private void load(IgniteEx ignite, String name) {
+        try (IgniteDataStreamer<Integer, byte[]> streamer = ignite.dataStreamer(name)) {
+            for (int i = 0; i < ENTRY_CNT; i++)
+                streamer.addData(i, new byte[i % 100 + 1]);
+        }
+    }
+
+    /**
+     * @param cur Cursor.
+     * @return Links of the rows in the cursor order.
+     */
+    private List<Long> links(GridCursor<? extends CacheDataRow> cur) throws Exception {
+        List<Long> res = new ArrayList<>();
+
+        while (cur.next())
+            res.add(cur.get().link());
+
+        return res;
+    }
+}
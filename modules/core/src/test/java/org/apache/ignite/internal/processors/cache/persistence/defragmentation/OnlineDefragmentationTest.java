@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.defragmentation;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager;
+import org.apache.ignite.internal.processors.cache.persistence.defragmentation.IgniteDefragmentation.CompletedDefragmentationInfo;
+import org.apache.ignite.internal.processors.cache.persistence.defragmentation.IgniteDefragmentation.DefragmentationStatus;
+import org.apache.ignite.mxbean.DefragmentationMXBean;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * Tests for online defragmentation.
+ */
+public class OnlineDefragmentationTest extends GridCommonAbstractTest {
+    /** Number of partitions. */
+    private static final int PARTS = 8;
+
+    /** Number of keys. */
+    private static final int KEYS = 20_000;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        DataStorageConfiguration dsCfg = new DataStorageConfiguration()
+            .setWalSegmentSize(4 * 1024 * 1024)
+            .setDefaultDataRegionConfiguration(
+                new DataRegionConfiguration().setMaxSize(100L * 1024 * 1024).setPersistenceEnabled(true)
+            );
+
+        return cfg.setDataStorageConfiguration(dsCfg)
+            .setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME)
+                .setAffinity(new RendezvousAffinityFunction(false, PARTS)));
+    }
+
+    /**
+     * Checks that online defragmentation shrinks partition files and keeps the data, including updates made while
+     * partitions are being rebuilt.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testDefragmentationUnderLoad() throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Integer, byte[]> cache = ig.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS; i++)
+            cache.put(i, new byte[512]);
+
+        // Leave every tenth entry to make partitions sparse.
+        for (int i = 0; i < KEYS; i++) {
+            if (i % 10 != 0)
+                cache.remove(i);
+        }
+
+        forceCheckpoint(ig);
+
+        AtomicBoolean stop = new AtomicBoolean();
+
+        IgniteInternalFuture<?> loadFut = GridTestUtils.runAsync(() -> {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+            while (!stop.get()) {
+                int key = rnd.nextInt(KEYS / 10) * 10;
+
+                cache.put(key, new byte[] {(byte)key});
+            }
+        });
+
+        OnlineDefragmentationManager mgr = onlineDefragmentationManager(ig);
+
+        mgr.start(singletonList(DEFAULT_CACHE_NAME));
+
+        assertTrue(GridTestUtils.waitForCondition(() -> !mgr.inProgress(), getTestTimeout()));
+
+        stop.set(true);
+
+        loadFut.get();
+
+        DefragmentationStatus status = mgr.status();
+
+        assertNotNull(status);
+        assertEquals(PARTS, status.getProcessedPartitions());
+
+        CompletedDefragmentationInfo info = status.getCompletedCaches().get(DEFAULT_CACHE_NAME);
+
+        assertNotNull(info);
+        assertTrue(info.getSizeAfter() < info.getSizeBefore());
+
+        checkData(cache);
+
+        stopGrid(0);
+
+        ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        checkData(ig.cache(DEFAULT_CACHE_NAME));
+    }
+
+    /**
+     * Checks that online defragmentation can be cancelled and started again via JMX bean.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCancel() throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Integer, byte[]> cache = ig.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS; i++)
+            cache.put(i, new byte[512]);
+
+        forceCheckpoint(ig);
+
+        DefragmentationMXBean mxBean = getMxBean(
+            ig.name(),
+            "Defragmentation",
+            DefragmentationMXBeanImpl.class,
+            DefragmentationMXBean.class
+        );
+
+        // Slow the copying down, so there is something to cancel.
+        mxBean.setOnlineRateLimit(0.1);
+
+        assertEquals(0.1, mxBean.getOnlineRateLimit(), 1e-9);
+
+        assertTrue(mxBean.scheduleOnline(DEFAULT_CACHE_NAME));
+        assertFalse(mxBean.scheduleOnline(DEFAULT_CACHE_NAME));
+
+        assertTrue(mxBean.inProgress());
+        assertEquals(PARTS, mxBean.totalPartitions());
+
+        assertTrue(mxBean.cancelOnline());
+        assertFalse(mxBean.cancelOnline());
+
+        assertFalse(mxBean.inProgress());
+
+        mxBean.setOnlineRateLimit(0);
+
+        assertTrue(mxBean.scheduleOnline(""));
+
+        assertTrue(GridTestUtils.waitForCondition(() -> !mxBean.inProgress(), getTestTimeout()));
+
+        for (int i = 0; i < KEYS; i++)
+            assertEquals(512, cache.get(i).length);
+    }
+
+    /**
+     * @param cache Cache.
+     */
+    private void checkData(IgniteCache<Integer, byte[]> cache) {
+        for (int i = 0; i < KEYS; i++) {
+            byte[] val = cache.get(i);
+
+            if (i % 10 != 0)
+                assertNull(val);
+            else {
+                assertNotNull(val);
+                assertTrue(val.length == 512 || (val.length == 1 && val[0] == (byte)i));
+            }
+        }
+    }
+
+    /**
+     * @param ig Ignite instance.
+     * @return Online defragmentation manager.
+     */
+    private OnlineDefragmentationManager onlineDefragmentationManager(IgniteEx ig) {
+        return ((GridCacheDatabaseSharedManager)ig.context().cache().context().database())
+            .onlineDefragmentationManager();
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+import org.apache.ignite.internal.pagemem.PageMemory;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
+import org.apache.ignite.internal.util.GridUnsafe;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Checks writes of pages with consecutive indexes to {@link FilePageStore} with a single request.
+ */
+public class FilePageStoreGatheringWriteTest extends GridCommonAbstractTest {
+    /** Page size. */
+    private static final int PAGE_SIZE = 1024;
+
+    /** Run length. */
+    private static final int RUN = 16;
+
+    /** Number of runs, each one is written by its own thread. */
+    private static final int RUNS = 8;
+
+    /** */
+    private File file;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        file = new File(U.defaultWorkDirectory(), "gathering-write.bin");
+
+        U.delete(file);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        U.delete(file);
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testConcurrentRuns() throws Exception {
+        checkConcurrentRuns(new RandomAccessFileIOFactory());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testConcurrentRunsAsyncIo() throws Exception {
+        checkConcurrentRuns(new AsyncFileIOFactory());
+    }
+
+    /**
+     * @param factory File I/O factory.
+     * @throws Exception If failed.
+     */
+    private void checkConcurrentRuns(FileIOFactory factory) throws Exception {
+        FilePageStore store = new FilePageStore(PageMemory.FLAG_DATA, file::toPath, factory, PAGE_SIZE, val -> {});
+
+        long[] pageIds = new long[RUN * RUNS];
+
+        for (int i = 0; i < pageIds.length; i++)
+            pageIds[i] = PageIdUtils.pageId(0, PageMemory.FLAG_DATA, (int)store.allocatePage());
+
+        GridTestUtils.runMultiThreaded(idx -> {
+            long[] runIds = new long[RUN];
+            ByteBuffer runBuf = ByteBuffer.allocateDirect(RUN * PAGE_SIZE).order(ByteOrder.nativeOrder());
+
+            try {
+                for (int i = 0; i < RUN; i++) {
+                    runIds[i] = pageIds[idx * RUN + i];
+
+                    initPage(runBuf, i, runIds[i]);
+                }
+
+                store.write(runIds, runBuf, RUN, 0, true);
+            }
+            catch (IgniteCheckedException e) {
+                throw new IgniteException(e);
+            }
+        }, RUNS, "gathering-writer");
+
+        ByteBuffer buf = ByteBuffer.allocateDirect(PAGE_SIZE).order(ByteOrder.nativeOrder());
+
+        for (long pageId : pageIds) {
+            buf.clear();
+
+            assertTrue(store.read(pageId, buf, false));
+
+            assertEquals(pageId, buf.getLong(PageIO.COMMON_HEADER_END));
+        }
+
+        store.stop(true);
+    }
+
+    /**
+     * Initializes a page of the run and writes the page ID after the header.
+     *
+     * @param runBuf Buffer with pages of the run.
+     * @param idx Index of the page in the run.
+     * @param pageId Page ID.
+     * @throws IgniteCheckedException If failed.
+     */
+    private static void initPage(ByteBuffer runBuf, int idx, long pageId) throws IgniteCheckedException {
+        long addr = GridUnsafe.bufferAddress(runBuf) + (long)idx * PAGE_SIZE;
+
+        PageIO.getPageIO(PageIO.T_DATA, 1).initNewPage(addr, pageId, PAGE_SIZE, null);
+
+        GridUnsafe.putLong(addr + PageIO.COMMON_HEADER_END, pageId);
+    }
+}
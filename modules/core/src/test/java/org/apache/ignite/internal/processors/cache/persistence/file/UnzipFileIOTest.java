@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.configuration.DiskPageCompression;
+import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType;
+import org.apache.ignite.internal.processors.compress.CompressionProcessor;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.GridTestKernalContext;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordV1Serializer.HEADER_RECORD_SIZE;
+
+/**
+ * Checks reading of WAL segments compressed as a sequence of blocks.
+ */
+public class UnzipFileIOTest extends GridCommonAbstractTest {
+    /** Block size. */
+    private static final int BLOCK_SIZE = 10_000;
+
+    /** Blocks count. */
+    private static final int BLOCKS = 5;
+
+    /** */
+    private File file;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        file = new File(U.defaultWorkDirectory(), "unzip-file-io.zip");
+
+        U.delete(file);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        U.delete(file);
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testBlocks() throws Exception {
+        writeBlocks(DiskPageCompression.DISABLED, null);
+
+        try (UnzipFileIO io = new UnzipFileIO(file)) {
+            checkBlocks(io);
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCompressedBlocks() throws Exception {
+        CompressionProcessor compressProc = new ReversingCompressionProcessor(new GridTestKernalContext(log));
+
+        writeBlocks(DiskPageCompression.ZSTD, compressProc);
+
+        try (UnzipFileIO io = new UnzipFileIO(file, compressProc)) {
+            checkBlocks(io);
+        }
+
+        // Blocks can't be read without the compression processor, but the size is known.
+        try (UnzipFileIO io = new UnzipFileIO(file)) {
+            assertEquals(BLOCKS * BLOCK_SIZE, io.size());
+
+            GridTestUtils.assertThrows(log, () -> io.read(ByteBuffer.allocate(1)), IOException.class,
+                "WAL segment is compressed with ZSTD");
+        }
+    }
+
+    /**
+     * Checks that the format entry can't be read as a segment written as a single entry.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testFormatEntry() throws Exception {
+        writeBlocks(DiskPageCompression.DISABLED, null);
+
+        try (ZipFile zip = new ZipFile(file)) {
+            ZipEntry entry = zip.entries().nextElement();
+
+            assertEquals(UnzipFileIO.FORMAT_ENTRY_NAME, entry.getName());
+            assertTrue(entry.getSize() >= HEADER_RECORD_SIZE);
+
+            try (DataInputStream in = new DataInputStream(zip.getInputStream(entry))) {
+                int type = in.readUnsignedByte();
+
+                // Neither a header nor the end of a segment for readers which don't know the format.
+                assertTrue(type != RecordType.STOP_ITERATION_RECORD_TYPE);
+                assertNull(RecordType.fromIndex(type - 1));
+            }
+        }
+    }
+
+    /**
+     * @param compression Compression algorithm of the blocks.
+     * @param compressProc Compression processor.
+     * @throws Exception If failed.
+     */
+    private void writeBlocks(DiskPageCompression compression, CompressionProcessor compressProc) throws Exception {
+        try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(file))) {
+            UnzipFileIO.writeFormatEntry(zos, compression);
+
+            byte[] block = new byte[BLOCK_SIZE];
+
+            for (int i = 0; i < BLOCKS; i++) {
+                for (int j = 0; j < BLOCK_SIZE; j++)
+                    block[j] = (byte)value(i * BLOCK_SIZE + j);
+
+                // WAL offsets of records differ from their positions in a compacted segment.
+                UnzipFileIO.writeBlock(zos, i * BLOCK_SIZE * 2L, block, BLOCK_SIZE, compression, 0, compressProc);
+            }
+        }
+    }
+
+    /**
+     * @param io File IO.
+     * @throws Exception If failed.
+     */
+    private void checkBlocks(UnzipFileIO io) throws Exception {
+        assertEquals(BLOCKS * BLOCK_SIZE, io.size());
+
+        checkRead(io, 0, BLOCKS * BLOCK_SIZE);
+
+        assertEquals(0, io.blockPosition(0));
+        assertEquals(0, io.blockPosition(BLOCK_SIZE * 2 - 1));
+        assertEquals(BLOCK_SIZE, io.blockPosition(BLOCK_SIZE * 2));
+        assertEquals((BLOCKS - 1) * BLOCK_SIZE, io.blockPosition(Integer.MAX_VALUE));
+
+        // Seek backwards, within a block and across blocks.
+        checkRead(io, BLOCK_SIZE + 10, 100);
+        checkRead(io, BLOCK_SIZE + 500, BLOCK_SIZE);
+        checkRead(io, 3 * BLOCK_SIZE + 1, 100);
+        checkRead(io, 5, 3 * BLOCK_SIZE);
+
+        io.position(io.size());
+
+        assertEquals(-1, io.read(ByteBuffer.allocate(1)));
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testSingleEntry() throws Exception {
+        int size = BLOCKS * BLOCK_SIZE;
+
+        try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(file))) {
+            zos.putNextEntry(new ZipEntry("0.wal"));
+
+            for (int i = 0; i < size; i++)
+                zos.write(value(i));
+        }
+
+        try (UnzipFileIO io = new UnzipFileIO(file)) {
+            assertEquals(size, io.size());
+            assertEquals(0, io.blockPosition(size));
+
+            checkRead(io, 0, size);
+            checkRead(io, 100, 100);
+        }
+    }
+
+    /**
+     * @param io File IO.
+     * @param pos Position to read from.
+     * @param len Number of bytes to read.
+     */
+    private void checkRead(UnzipFileIO io, long pos, int len) throws Exception {
+        io.position(pos);
+
+        ByteBuffer buf = ByteBuffer.allocate(len);
+
+        while (buf.hasRemaining())
+            assertTrue(io.read(buf) > 0);
+
+        assertEquals(pos + len, io.position());
+
+        for (int i = 0; i < len; i++)
+            assertEquals("Unexpected byte at " + (pos + i), (byte)value(pos + i), buf.get(i));
+    }
+
+    /**
+     * @param pos Position.
+     * @return Byte expected at the position.
+     */
+    private static int value(long pos) {
+        return (int)(pos % 251);
+    }
+
+    /** Stores blocks reversed instead of compressing them. */
+    private static class ReversingCompressionProcessor extends CompressionProcessor {
+        /**
+         * @param ctx Kernal context.
+         */
+        ReversingCompressionProcessor(GridKernalContext ctx) {
+            super(ctx);
+        }
+
+        /** {@inheritDoc} */
+        @Override public byte[] compress(
+            byte[] src,
+            int off,
+            int len,
+            DiskPageCompression compression,
+            int compressLevel
+        ) {
+            byte[] dst = new byte[len];
+
+            for (int i = 0; i < len; i++)
+                dst[i] = src[off + len - 1 - i];
+
+            return dst;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void decompress(
+            byte[] src,
+            byte[] dst,
+            DiskPageCompression compression
+        ) throws IgniteCheckedException {
+            if (src.length != dst.length)
+                throw new IgniteCheckedException("Unexpected block size: " + src.length);
+
+            for (int i = 0; i < src.length; i++)
+                dst[i] = src[src.length - 1 - i];
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DiskPageCompression;
+import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.processors.cache.persistence.DataRegionMetricsImpl;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
+import org.apache.ignite.internal.processors.compress.CompressionProcessor;
+import org.apache.ignite.internal.util.GridUnsafe;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.GridTestKernalContext;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.CompressedPageCache.ENTRY_OVERHEAD;
+
+/**
+ * Tests {@link CompressedPageCache}.
+ */
+public class CompressedPageCacheTest extends GridCommonAbstractTest {
+    /** */
+    private static final int PAGE_SIZE = 4096;
+
+    /** */
+    private static final int GRP_ID = 1;
+
+    /** */
+    private static final int PART_GEN = 1;
+
+    /**
+     * The page is compressed after the replacement is finished, without the segment lock.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testFinishReplacement() throws Exception {
+        CompressedPageCache cache = createCache(10 * PAGE_SIZE);
+
+        FullPageId fullId = new FullPageId(1, GRP_ID);
+
+        ByteBuffer page = page(1);
+
+        cache.onPageReplaced(fullId, PART_GEN, page, PAGE_SIZE);
+
+        assertEquals((long)ENTRY_OVERHEAD, size(cache));
+
+        CompressedPageCache.finishReplacement();
+
+        assertEquals((long)PAGE_SIZE + ENTRY_OVERHEAD, size(cache));
+
+        CompressedPageCache.CachedPage cached = cache.take(fullId, PART_GEN);
+
+        assertNotNull(cached);
+        assertEquals(0L, size(cache));
+
+        ByteBuffer restored = page(0);
+
+        cache.restore(cached, restored, PAGE_SIZE);
+
+        assertEquals(page, restored);
+    }
+
+    /**
+     * The copy is dropped if the page is loaded back before it is compressed.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testTakeBeforeFinish() throws Exception {
+        CompressedPageCache cache = createCache(10 * PAGE_SIZE);
+
+        FullPageId fullId = new FullPageId(1, GRP_ID);
+
+        cache.onPageReplaced(fullId, PART_GEN, page(1), PAGE_SIZE);
+
+        assertNull(cache.take(fullId, PART_GEN));
+
+        CompressedPageCache.finishReplacement();
+
+        assertNull(cache.take(fullId, PART_GEN));
+        assertEquals(0L, size(cache));
+    }
+
+    /**
+     * The index of the cache is counted in the size budget.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testBudget() throws Exception {
+        CompressedPageCache cache = createCache(3L * PAGE_SIZE + 2 * ENTRY_OVERHEAD);
+
+        for (int i = 1; i <= 3; i++) {
+            cache.onPageReplaced(new FullPageId(i, GRP_ID), PART_GEN, page(i), PAGE_SIZE);
+
+            CompressedPageCache.finishReplacement();
+        }
+
+        assertEquals(2L * (PAGE_SIZE + ENTRY_OVERHEAD), size(cache));
+
+        assertNull(cache.take(new FullPageId(1, GRP_ID), PART_GEN));
+        assertNotNull(cache.take(new FullPageId(3, GRP_ID), PART_GEN));
+    }
+
+    /**
+     * @param maxSize Size budget.
+     * @return Cache.
+     */
+    private CompressedPageCache createCache(long maxSize) {
+        GridTestKernalContext ctx = new GridTestKernalContext(log());
+
+        // Pages are kept as is, so the test doesn't depend on the compression module.
+        CompressionProcessor comprProc = new CompressionProcessor(ctx) {
+            @Override public ByteBuffer compressPage(ByteBuffer page, int pageSize, int storeBlockSize,
+                DiskPageCompression compression, int compressLevel) {
+                return page;
+            }
+
+            @Override public void decompressPage(ByteBuffer page, int pageSize) {
+                // No-op.
+            }
+        };
+
+        DataRegionMetricsImpl metrics = new DataRegionMetricsImpl(new DataRegionConfiguration(), ctx);
+
+        return new CompressedPageCache(comprProc, DiskPageCompression.LZ4, maxSize, metrics);
+    }
+
+    /**
+     * @param fill Value to fill the page with, {@code 0} for an empty page.
+     * @return Page buffer.
+     */
+    private static ByteBuffer page(int fill) {
+        ByteBuffer page = ByteBuffer.allocateDirect(PAGE_SIZE).order(ByteOrder.nativeOrder());
+
+        if (fill != 0) {
+            long pageAddr = GridUnsafe.bufferAddress(page);
+
+            GridUnsafe.setMemory(pageAddr, PAGE_SIZE, (byte)fill);
+
+            PageIO.setType(pageAddr, PageIO.T_DATA);
+        }
+
+        return page;
+    }
+
+    /**
+     * @param cache Cache.
+     * @return Size of the cache in bytes.
+     */
+    private static long size(CompressedPageCache cache) {
+        return GridTestUtils.getFieldValue(cache, "size");
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import org.apache.ignite.internal.mem.DirectMemoryProvider;
+import org.apache.ignite.internal.mem.DirectMemoryRegion;
+import org.apache.ignite.internal.mem.unsafe.UnsafeMemoryProvider;
+import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageFrequencySketch.MAX_FREQ;
+
+/**
+ * Tests {@link PageFrequencySketch}.
+ */
+public class PageFrequencySketchTest extends GridCommonAbstractTest {
+    /** Max pages count. */
+    private static final int MAX_PAGES_CNT = 1000;
+
+    /** Memory provider. */
+    private static DirectMemoryProvider provider;
+
+    /** Memory region. */
+    private static DirectMemoryRegion region;
+
+    /** */
+    @BeforeClass
+    public static void setUp() {
+        provider = new UnsafeMemoryProvider(log);
+        provider.initialize(new long[] {PageFrequencySketch.requiredMemory(MAX_PAGES_CNT)});
+
+        region = provider.nextRegion();
+    }
+
+    /** */
+    @AfterClass
+    public static void tearDown() {
+        provider.shutdown(true);
+    }
+
+    /**
+     * Test increment() and frequency() methods.
+     */
+    @Test
+    public void testIncrement() {
+        PageFrequencySketch sketch = new PageFrequencySketch(MAX_PAGES_CNT, region.address());
+
+        int hot = hash(1);
+        int cold = hash(2);
+
+        assertEquals(0, sketch.frequency(hot));
+
+        for (int i = 0; i < 5; i++)
+            sketch.increment(hot);
+
+        sketch.increment(cold);
+
+        assertEquals(5, sketch.frequency(hot));
+        assertEquals(1, sketch.frequency(cold));
+
+        for (int i = 0; i < 2 * MAX_FREQ; i++)
+            sketch.increment(hot);
+
+        assertEquals(MAX_FREQ, sketch.frequency(hot));
+    }
+
+    /**
+     * Test that a scan of pages, touched once, doesn't raise frequency of scanned pages above frequency of hot pages
+     * and that counters are halved after the sample size is reached.
+     */
+    @Test
+    public void testScanAndAging() {
+        PageFrequencySketch sketch = new PageFrequencySketch(MAX_PAGES_CNT, region.address());
+
+        for (int i = 0; i < 8; i++) {
+            for (int page = 0; page < 10; page++)
+                sketch.increment(hash(page));
+        }
+
+        for (int page = 10; page < 10 + MAX_PAGES_CNT * 5; page++)
+            sketch.increment(hash(page));
+
+        int scannedAboveHot = 0;
+
+        for (int page = 10; page < 10 + MAX_PAGES_CNT * 5; page++) {
+            if (sketch.frequency(hash(page)) >= 8)
+                scannedAboveHot++;
+        }
+
+        assertTrue("Too many collisions: " + scannedAboveHot, scannedAboveHot < MAX_PAGES_CNT * 5 / 100);
+
+        for (int page = 0; page < 10; page++)
+            assertTrue(sketch.frequency(hash(page)) >= 8);
+
+        // Sample size is not reached yet.
+        sketch.ageIfNeeded();
+
+        assertTrue(sketch.frequency(hash(0)) >= 8);
+
+        for (int page = 10; page < 10 + MAX_PAGES_CNT * 5; page++)
+            sketch.increment(hash(page));
+
+        sketch.ageIfNeeded();
+
+        for (int page = 0; page < 10; page++)
+            assertTrue(sketch.frequency(hash(page)) < 8);
+    }
+
+    /**
+     * @param pageIdx Page index.
+     * @return Page hash.
+     */
+    private static int hash(int pageIdx) {
+        return FullPageId.hashCode(1, pageIdx);
+    }
+}
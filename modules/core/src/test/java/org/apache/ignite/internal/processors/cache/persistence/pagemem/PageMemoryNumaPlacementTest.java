@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.apache.ignite.internal.mem.NumaPlacement;
+import org.apache.ignite.internal.pagemem.PageIdAllocator;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+import org.apache.ignite.internal.util.typedef.internal.CU;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests mapping of pages to page memory segments bound to NUMA nodes.
+ */
+public class PageMemoryNumaPlacementTest extends GridCommonAbstractTest {
+    /** */
+    private static final int GRP_ID = CU.cacheId("partitioned");
+
+    /** */
+    private static final int PARTS = 1024;
+
+    /** */
+    private static final int PAGES = 256;
+
+    /** */
+    @Test
+    public void testRoundUp() {
+        assertEquals(16, NumaPlacement.roundUp(16, 2));
+        assertEquals(6, NumaPlacement.roundUp(5, 2));
+        assertEquals(8, NumaPlacement.roundUp(7, 4));
+        assertEquals(4, NumaPlacement.roundUp(1, 4));
+        assertEquals(5, NumaPlacement.roundUp(5, 1));
+    }
+
+    /**
+     * Pages of a partition are stored in the segments of the partition NUMA node only.
+     */
+    @Test
+    public void testPartitionPages() {
+        checkPartitionPages(2, 8);
+        checkPartitionPages(4, 16);
+        checkPartitionPages(3, NumaPlacement.roundUp(16, 3));
+    }
+
+    /**
+     * Index pages are spread over all the segments, as they were without NUMA placement.
+     */
+    @Test
+    public void testIndexPages() {
+        int segments = 8;
+
+        int[][] numaSegs = numaSegments(2, segments);
+
+        Set<Integer> used = new HashSet<>();
+
+        for (int pageIdx = 1; pageIdx <= PAGES; pageIdx++) {
+            long pageId = PageIdUtils.pageId(PageIdAllocator.INDEX_PARTITION, PageIdAllocator.FLAG_IDX, pageIdx);
+
+            int idx = PageMemoryImpl.segmentIndex(GRP_ID, pageId, segments, numaSegs);
+
+            assertEquals(PageMemoryImpl.segmentIndex(GRP_ID, pageId, segments), idx);
+
+            used.add(idx);
+        }
+
+        assertEquals(segments, used.size());
+    }
+
+    /**
+     * Mapping is not changed if segments are not bound to NUMA nodes.
+     */
+    @Test
+    public void testNotBound() {
+        int segments = 8;
+
+        for (int partId = 0; partId < PARTS; partId++) {
+            long pageId = PageIdUtils.pageId(partId, PageIdAllocator.FLAG_DATA, 1);
+
+            assertEquals(PageMemoryImpl.segmentIndex(GRP_ID, pageId, segments),
+                PageMemoryImpl.segmentIndex(GRP_ID, pageId, segments, null));
+        }
+    }
+
+    /**
+     * @param nodes Count of NUMA nodes.
+     * @param segments Count of segments, a multiple of nodes count.
+     */
+    private void checkPartitionPages(int nodes, int segments) {
+        int[][] numaSegs = numaSegments(nodes, segments);
+
+        int[] pagesPerSeg = new int[segments];
+
+        for (int partId = 0; partId < PARTS; partId++) {
+            int node = NumaPlacement.node(partId, nodes);
+
+            for (int pageIdx = 1; pageIdx <= PAGES; pageIdx++) {
+                long pageId = PageIdUtils.pageId(partId, PageIdAllocator.FLAG_DATA, pageIdx);
+
+                int idx = PageMemoryImpl.segmentIndex(GRP_ID, pageId, segments, numaSegs);
+
+                assertEquals("Unexpected node [part=" + partId + ", segment=" + idx + ']', node, idx % nodes);
+
+                pagesPerSeg[idx]++;
+            }
+        }
+
+        // Segments of the same size get about the same count of pages.
+        int avg = PARTS * PAGES / segments;
+
+        for (int idx = 0; idx < segments; idx++) {
+            assertTrue("Uneven distribution [segment=" + idx + ", pages=" + pagesPerSeg[idx] + ", avg=" + avg + ']',
+                Math.abs(pagesPerSeg[idx] - avg) < avg / 10);
+        }
+    }
+
+    /**
+     * @param nodes Count of NUMA nodes.
+     * @param segments Count of segments allocated on the nodes in round-robin manner.
+     * @return Indexes of segments by NUMA nodes.
+     */
+    private static int[][] numaSegments(int nodes, int segments) {
+        int[][] res = new int[nodes][segments / nodes];
+
+        for (int i = 0; i < segments; i++)
+            res[i % nodes][i / nodes] = i;
+
+        return res;
+    }
+}
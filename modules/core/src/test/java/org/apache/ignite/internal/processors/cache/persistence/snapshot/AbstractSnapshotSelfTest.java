@@ -27,6 +27,7 @@ import java.nio.file.Paths;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -1009,6 +1010,18 @@ public abstract class AbstractSnapshotSelfTest extends GridCommonAbstractTest {
             delegate.sendPart(part, cacheDirName, pair, length);
         }
 
+        /** {@inheritDoc} */
+        @Override public void sendPartChanges0(
+            File part,
+            String cacheDirName,
+            GroupPartitionId pair,
+            Long length,
+            String baseSnpName,
+            BitSet pages
+        ) {
+            delegate.sendPartChanges(part, cacheDirName, pair, length, baseSnpName, pages);
+        }
+
         /** {@inheritDoc} */
         @Override public void sendDelta0(File delta, String cacheDirName, GroupPartitionId pair) {
             delegate.sendDelta(delta, cacheDirName, pair);
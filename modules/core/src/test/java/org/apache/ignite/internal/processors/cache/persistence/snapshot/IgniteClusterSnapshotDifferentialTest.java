@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.snapshot;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SNAPSHOT_TRACK_CHANGED_PAGES;
+import static org.apache.ignite.internal.processors.cache.persistence.snapshot.PartitionChanges.CHANGES_FILE_EXT;
+import static org.apache.ignite.testframework.GridTestUtils.assertThrowsAnyCause;
+
+/**
+ * Cluster differential snapshot tests.
+ */
+@WithSystemProperty(key = IGNITE_SNAPSHOT_TRACK_CHANGED_PAGES, value = "true")
+public class IgniteClusterSnapshotDifferentialTest extends AbstractSnapshotSelfTest {
+    /** First differential snapshot name. */
+    private static final String DIFF_SNP_1 = "diffSnapshot1";
+
+    /** Second differential snapshot name. */
+    private static final String DIFF_SNP_2 = "diffSnapshot2";
+
+    /** @throws Exception If failed. */
+    @Test
+    public void testRestoreDifferentialSnapshotChain() throws Exception {
+        IgniteEx ignite = startGridsWithCache(2, dfltCacheCfg, CACHE_KEYS_RANGE);
+
+        IgniteCache<Integer, Object> cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+        Map<Integer, Object> expected = new HashMap<>();
+
+        for (int i = 0; i < CACHE_KEYS_RANGE; i++)
+            expected.put(i, i);
+
+        snp(ignite).createSnapshot(SNAPSHOT_NAME, null, false, onlyPrimary).get(TIMEOUT);
+
+        for (int i = 0; i < CACHE_KEYS_RANGE; i += 2) {
+            cache.put(i, -i);
+            expected.put(i, -i);
+        }
+
+        snp(ignite).createDifferentialSnapshot(DIFF_SNP_1, SNAPSHOT_NAME).get(TIMEOUT);
+
+        for (int i = 0; i < CACHE_KEYS_RANGE; i += 3) {
+            cache.put(i, i * 2);
+            expected.put(i, i * 2);
+        }
+
+        snp(ignite).createDifferentialSnapshot(DIFF_SNP_2, DIFF_SNP_1).get(TIMEOUT);
+
+        assertTrue(changesFilesCount(snp(ignite).snapshotLocalDir(DIFF_SNP_1)) > 0);
+        assertTrue(changesFilesCount(snp(ignite).snapshotLocalDir(DIFF_SNP_2)) > 0);
+        assertEquals(0, changesFilesCount(snp(ignite).snapshotLocalDir(SNAPSHOT_NAME)));
+
+        cache.destroy();
+
+        awaitPartitionMapExchange();
+
+        ignite.snapshot().restoreSnapshot(DIFF_SNP_2, null).get(TIMEOUT);
+
+        cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+        assertEquals(CACHE_KEYS_RANGE, cache.size());
+
+        for (Map.Entry<Integer, Object> e : expected.entrySet())
+            assertEquals(e.getValue(), cache.get(e.getKey()));
+    }
+
+    /** @throws Exception If failed. */
+    @Test
+    public void testDifferentialSnapshotWithoutBase() throws Exception {
+        IgniteEx ignite = startGridsWithCache(1, dfltCacheCfg, CACHE_KEYS_RANGE);
+
+        assertThrowsAnyCause(log,
+            () -> snp(ignite).createDifferentialSnapshot(DIFF_SNP_1, SNAPSHOT_NAME).get(TIMEOUT),
+            IgniteException.class,
+            "Base snapshot with given name doesn't exist on local node.");
+    }
+
+    /** @throws Exception If failed. */
+    @Test
+    public void testDeleteBaseSnapshot() throws Exception {
+        IgniteEx ignite = startGridsWithCache(1, dfltCacheCfg, CACHE_KEYS_RANGE);
+
+        snp(ignite).createSnapshot(SNAPSHOT_NAME, null, false, onlyPrimary).get(TIMEOUT);
+
+        ignite.cache(DEFAULT_CACHE_NAME).put(0, -1);
+
+        snp(ignite).createDifferentialSnapshot(DIFF_SNP_1, SNAPSHOT_NAME).get(TIMEOUT);
+
+        File baseDir = snp(ignite).snapshotLocalDir(SNAPSHOT_NAME);
+        File diffDir = snp(ignite).snapshotLocalDir(DIFF_SNP_1);
+        String folderName = ignite.context().pdsFolderResolver().resolveFolders().folderName();
+
+        assertThrowsAnyCause(log,
+            () -> {
+                snp(ignite).deleteSnapshot(baseDir, folderName);
+
+                return null;
+            },
+            IgniteException.class,
+            "Snapshot can't be deleted, it is the base of differential snapshots");
+
+        assertTrue(baseDir.exists());
+        assertTrue(diffDir.exists());
+
+        snp(ignite).deleteSnapshot(baseDir, folderName, true);
+
+        assertFalse(baseDir.exists());
+        assertFalse(diffDir.exists());
+    }
+
+    /**
+     * @param snpDir Snapshot directory.
+     * @return Count of files with changed pages of differential snapshot partitions.
+     * @throws Exception If failed.
+     */
+    private static long changesFilesCount(File snpDir) throws Exception {
+        try (Stream<Path> files = Files.walk(snpDir.toPath())) {
+            return files.filter(p -> p.getFileName().toString().endsWith(CHANGES_FILE_EXT)).count();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.snapshot;
+
+import java.util.concurrent.CountDownLatch;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.affinity.Affinity;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.processors.cache.CacheGroupContext;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
+import org.apache.ignite.internal.util.typedef.G;
+import org.apache.ignite.internal.util.typedef.internal.CU;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.lang.IgniteFuture;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SNAPSHOT_RESTORE_STREAMING;
+import static org.apache.ignite.testframework.GridTestUtils.runAsync;
+import static org.apache.ignite.testframework.GridTestUtils.waitForCondition;
+
+/**
+ * Tests snapshot restore which starts caches before their partition files are copied.
+ */
+@WithSystemProperty(key = IGNITE_SNAPSHOT_RESTORE_STREAMING, value = "true")
+public class IgniteClusterSnapshotRestoreStreamingTest extends IgniteClusterSnapshotRestoreBaseTest {
+    /** @throws Exception If failed. */
+    @Test
+    public void testStreamingRestore() throws Exception {
+        IgniteEx ignite = startGridsWithSnapshot(2, CACHE_KEYS_RANGE);
+
+        ignite.snapshot().restoreSnapshot(SNAPSHOT_NAME, null).get(TIMEOUT);
+
+        assertCacheKeys(ignite.cache(DEFAULT_CACHE_NAME), CACHE_KEYS_RANGE);
+
+        for (Ignite g : G.allGrids()) {
+            IgniteEx grid = (IgniteEx)g;
+
+            CacheGroupContext grp = grid.context().cache().cacheGroup(CU.cacheId(DEFAULT_CACHE_NAME));
+
+            assertTrue(grp.localWalEnabled());
+            assertFalse(grid.context().cache().context().snapshotMgr().isRestoringPartition(grp.groupId(), 0));
+        }
+    }
+
+    /** @throws Exception If failed. */
+    @Test
+    public void testStreamingRestoredDataSurvivesRestart() throws Exception {
+        IgniteEx ignite = startGridsWithSnapshot(2, CACHE_KEYS_RANGE);
+
+        ignite.snapshot().restoreSnapshot(SNAPSHOT_NAME, null).get(TIMEOUT);
+
+        IgniteCache<Object, Object> cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+        cache.put(CACHE_KEYS_RANGE, CACHE_KEYS_RANGE);
+        cache.remove(CACHE_KEYS_RANGE);
+
+        stopAllGrids();
+
+        ignite = startGrids(2);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        assertCacheKeys(ignite.cache(DEFAULT_CACHE_NAME), CACHE_KEYS_RANGE);
+    }
+
+    /** @throws Exception If failed. */
+    @Test
+    public void testReadWriteWhilePartitionIsRestoring() throws Exception {
+        IgniteEx ignite = startGridsWithSnapshot(2, CACHE_KEYS_RANGE);
+
+        int part = dfltCacheCfg.getAffinity().partition(0);
+
+        String partFileName = FilePageStoreManager.getPartitionFileName(part);
+
+        CountDownLatch copyLatch = new CountDownLatch(1);
+
+        for (Ignite g : G.allGrids()) {
+            FileIOFactory ioFactory = snp((IgniteEx)g).ioFactory();
+
+            snp((IgniteEx)g).ioFactory((file, modes) -> {
+                if (file.getName().equals(partFileName))
+                    U.awaitQuiet(copyLatch);
+
+                return ioFactory.create(file, modes);
+            });
+        }
+
+        try {
+            IgniteFuture<Void> fut = ignite.snapshot().restoreSnapshot(SNAPSHOT_NAME, null);
+
+            int grpId = CU.cacheId(DEFAULT_CACHE_NAME);
+
+            assertTrue(waitForCondition(() -> ignite.cache(DEFAULT_CACHE_NAME) != null &&
+                snp(ignite).isRestoringPartition(grpId, part), TIMEOUT));
+
+            IgniteCache<Object, Object> cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+            Affinity<Object> aff = ignite.affinity(DEFAULT_CACHE_NAME);
+
+            int otherKey = 1;
+
+            while (aff.partition(otherKey) == part)
+                otherKey++;
+
+            int newKey = CACHE_KEYS_RANGE;
+
+            while (aff.partition(newKey) != part)
+                newKey++;
+
+            int newKey0 = newKey;
+
+            IgniteInternalFuture<Object> getFut = runAsync(() -> cache.get(0));
+            IgniteInternalFuture<?> putFut = runAsync(() -> cache.put(newKey0, valueBuilder().apply(newKey0)));
+
+            // Operations on the restoring partition wait for its file.
+            assertFalse(waitForCondition(() -> getFut.isDone() || putFut.isDone(), 1_000));
+
+            // Operations on other partitions and checkpoints are not blocked.
+            assertEquals(valueBuilder().apply(otherKey), cache.get(otherKey));
+
+            cache.put(otherKey, valueBuilder().apply(otherKey));
+
+            forceCheckpoint();
+
+            assertFalse(getFut.isDone() || putFut.isDone());
+
+            copyLatch.countDown();
+
+            assertEquals(valueBuilder().apply(0), getFut.get(TIMEOUT));
+
+            putFut.get(TIMEOUT);
+            fut.get(TIMEOUT);
+
+            assertEquals(valueBuilder().apply(newKey), cache.get(newKey));
+
+            cache.remove(newKey);
+
+            assertCacheKeys(cache, CACHE_KEYS_RANGE);
+        }
+        finally {
+            copyLatch.countDown();
+        }
+    }
+}
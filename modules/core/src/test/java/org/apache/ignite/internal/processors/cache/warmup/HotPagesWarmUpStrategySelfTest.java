@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.warmup;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.Set;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.HotPagesWarmUpConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.processors.cache.persistence.DataRegion;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryEx;
+import org.apache.ignite.internal.processors.cache.warmup.HotPagesSnapshot.Partition;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Test class for testing {@link HotPagesWarmUpStrategy}.
+ */
+public class HotPagesWarmUpStrategySelfTest extends GridCommonAbstractTest {
+    /** Data region name. */
+    private static final String REGION = "dr_0";
+
+    /** Frequency of the hot pages recording. */
+    private long recordFreq = HotPagesWarmUpConfiguration.DFLT_RECORD_FREQ;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        super.afterTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setDataStorageConfiguration(
+                new DataStorageConfiguration()
+                    .setDataRegionConfigurations(
+                        new DataRegionConfiguration().setName(REGION).setPersistenceEnabled(true)
+                            .setMaxSize(256L * 1024 * 1024)
+                            .setWarmUpConfiguration(new HotPagesWarmUpConfiguration().setRecordFrequency(recordFreq))
+                    )
+            ).setCacheConfiguration(
+                new CacheConfiguration<>("c_0").setGroupName("g_0").setDataRegionName(REGION),
+                new CacheConfiguration<>("c_1").setGroupName("g_0").setDataRegionName(REGION),
+                new CacheConfiguration<>("c_2").setDataRegionName(REGION)
+            );
+    }
+
+    /**
+     * Test checks that pages resident before the node stop are loaded back on restart.
+     * <p/>
+     * Steps:
+     * 1)Start a node and fill caches in;
+     * 2)Stop the node, hot pages are recorded on stop;
+     * 3)Restart the node and check that all recorded pages are loaded.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRecordedPagesLoaded() throws Exception {
+        IgniteEx n = startGrid(0);
+
+        n.cluster().state(ClusterState.ACTIVE);
+
+        fill(n);
+
+        File file = HotPagesSnapshot.file(HotPagesRecorder.storeWorkDir(n.context()), REGION);
+
+        stopAllGrids();
+
+        assertTrue(file.exists());
+
+        HotPagesSnapshot snapshot = HotPagesSnapshot.read(file);
+
+        assertTrue(snapshot.pages() > 0);
+
+        n = startGrid(0);
+
+        Set<FullPageId> loaded = loadedPages(n);
+
+        for (Partition part : snapshot.partitions()) {
+            for (long pageId : part.pageIds())
+                assertTrue(part.toString(), loaded.contains(new FullPageId(pageId, part.groupId())));
+        }
+    }
+
+    /**
+     * Test checks that hot pages are recorded periodically while the node is running.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testPeriodicRecording() throws Exception {
+        recordFreq = 500;
+
+        IgniteEx n = startGrid(0);
+
+        n.cluster().state(ClusterState.ACTIVE);
+
+        File file = HotPagesSnapshot.file(HotPagesRecorder.storeWorkDir(n.context()), REGION);
+
+        fill(n);
+
+        assertTrue(GridTestUtils.waitForCondition(
+            () -> {
+                try {
+                    return file.exists() && HotPagesSnapshot.read(file).pages() > 0;
+                }
+                catch (Exception e) {
+                    return false;
+                }
+            },
+            getTestTimeout()
+        ));
+    }
+
+    /**
+     * @param n Node.
+     */
+    private void fill(IgniteEx n) {
+        for (int i = 0; i < 5_000; i++) {
+            n.cache("c_0").put(i, "c_0" + i);
+            n.cache("c_1").put(i, "c_1" + i);
+            n.cache("c_2").put(i, new byte[128]);
+        }
+
+        IgniteCache<Object, Object> c2 = n.cache("c_2");
+
+        // Make some of the pages hot.
+        for (int j = 0; j < 10; j++) {
+            for (int i = 0; i < 100; i++)
+                c2.get(i);
+        }
+    }
+
+    /**
+     * @param n Node.
+     * @return Pages loaded to the data region.
+     * @throws Exception If failed.
+     */
+    private Set<FullPageId> loadedPages(IgniteEx n) throws Exception {
+        DataRegion region = n.context().cache().context().database().dataRegion(REGION);
+
+        Set<FullPageId> res = new HashSet<>();
+
+        ((PageMemoryEx)region.pageMemory()).forEachLoadedPage(
+            (grpId, pageId, hotness) -> res.add(new FullPageId(pageId, grpId)));
+
+        return res;
+    }
+}
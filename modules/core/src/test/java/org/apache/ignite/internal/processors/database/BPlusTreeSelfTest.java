@@ -355,6 +355,118 @@ public class BPlusTreeSelfTest extends GridCommonAbstractTest {
         }
     }
 
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testBulkLoad() throws Exception {
+        long size = 2_000;
+
+        for (int maxPerPage : new int[] {0, 2, 3}) {
+            MAX_PER_PAGE = maxPerPage;
+
+            for (float fillFactor : new float[] {0.5f, 0.9f, 1f}) {
+                TestTree tree = createTestTree(true);
+
+                BPlusTree<Long, Long>.BulkLoad bulkLoad = tree.bulkLoad(fillFactor);
+
+                TreeMap<Long, Long> map = new TreeMap<>();
+
+                for (long i = 1; i <= size; i++) {
+                    bulkLoad.add(i * 2);
+                    map.put(i * 2, i * 2);
+                }
+
+                tree.validateTree();
+
+                assertNoLocks();
+
+                assertEquals(size, tree.size());
+
+                checkCursor(tree.find(null, null), map.values().iterator());
+                checkCursor(tree.find(10L, 70L), map.subMap(10L, true, 70L, true).values().iterator());
+
+                for (long i = 1; i <= size; i++) {
+                    assertEquals(Long.valueOf(i * 2), tree.findOne(i * 2));
+                    assertNull(tree.findOne(i * 2 - 1));
+                }
+
+                GridTestUtils.assertThrows(log, () -> tree.bulkLoad(fillFactor), IgniteCheckedException.class, null);
+
+                // Bulk loaded tree is modified by regular operations.
+                for (long i = 1; i <= size; i++) {
+                    tree.put(i * 2 - 1);
+                    map.put(i * 2 - 1, i * 2 - 1);
+
+                    if (i % 3 == 0) {
+                        tree.remove(i * 2);
+                        map.remove(i * 2);
+                    }
+                }
+
+                tree.validateTree();
+
+                assertNoLocks();
+
+                checkCursor(tree.find(null, null), map.values().iterator());
+            }
+        }
+    }
+
+    /**
+     * Bulk load continues after the tree is modified by regular operations with the rows less than the last added one.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testBulkLoadReset() throws Exception {
+        long size = 2_000;
+
+        for (int maxPerPage : new int[] {0, 2, 3}) {
+            MAX_PER_PAGE = maxPerPage;
+
+            TestTree tree = createTestTree(true);
+
+            BPlusTree<Long, Long>.BulkLoad bulkLoad = tree.bulkLoad(0.9f);
+
+            TreeMap<Long, Long> map = new TreeMap<>();
+
+            Random rnd = new Random(maxPerPage);
+
+            for (long i = 1; i <= size; i++) {
+                bulkLoad.add(i * 4);
+                map.put(i * 4, i * 4);
+
+                if (i % 10 != 0)
+                    continue;
+
+                // Pages are split and merged below the rightmost ones.
+                for (int j = 0; j < 10; j++) {
+                    long row = 1 + rnd.nextInt((int)i * 4 - 1);
+
+                    if (rnd.nextBoolean()) {
+                        tree.put(row);
+                        map.put(row, row);
+                    }
+                    else {
+                        tree.remove(row);
+                        map.remove(row);
+                    }
+                }
+
+                bulkLoad.reset();
+
+                tree.validateTree();
+
+                assertNoLocks();
+            }
+
+            assertEquals(map.size(), tree.size());
+
+            checkCursor(tree.find(null, null), map.values().iterator());
+        }
+    }
+
     /**
      * @param cursor cursor to check.
      * @param iterator iterator with expected result.
@@ -3251,6 +3363,17 @@ public class BPlusTreeSelfTest extends GridCommonAbstractTest {
             return Long.compare(n1, n2);
         }
 
+        /** {@inheritDoc} */
+        @Override protected int compareOptimistic(BPlusIO<Long> io, long pageAddr, int idx, Long n2)
+            throws IgniteCheckedException {
+            return compare(io, pageAddr, idx, n2);
+        }
+
+        /** {@inheritDoc} */
+        @Override protected boolean optimisticReads() {
+            return OPTIMISTIC_READS;
+        }
+
         /** {@inheritDoc} */
         @Override public Long getRow(BPlusIO<Long> io, long pageAddr, int idx, Object ignore)
             throws IgniteCheckedException {
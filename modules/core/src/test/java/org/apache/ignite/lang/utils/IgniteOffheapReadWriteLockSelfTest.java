@@ -472,6 +472,141 @@ public class IgniteOffheapReadWriteLockSelfTest extends GridCommonAbstractTest {
         validate(data);
     }
 
+    /**
+     * @throws Exception if failed.
+     */
+    @Test
+    public void testOptimisticRead() throws Exception {
+        OffheapReadWriteLock lock = new OffheapReadWriteLock(16);
+
+        long ptr = GridUnsafe.allocateMemory(OffheapReadWriteLock.LOCK_SIZE);
+
+        try {
+            lock.init(ptr, TAG_0);
+
+            long stamp = lock.tryOptimisticRead(ptr, TAG_0);
+
+            assertTrue(stamp != 0L);
+            assertTrue(lock.validate(ptr, stamp));
+
+            // Read locks do not invalidate optimistic reads.
+            assertTrue(lock.readLock(ptr, TAG_0));
+
+            assertEquals(stamp, lock.tryOptimisticRead(ptr, TAG_0));
+
+            lock.readUnlock(ptr);
+
+            assertTrue(lock.validate(ptr, stamp));
+            assertEquals(0L, lock.tryOptimisticRead(ptr, TAG_0 + 1));
+
+            assertTrue(lock.writeLock(ptr, TAG_0));
+
+            assertEquals(0L, lock.tryOptimisticRead(ptr, TAG_0));
+            assertFalse(lock.validate(ptr, stamp));
+
+            lock.writeUnlock(ptr, TAG_0 + 1);
+
+            assertFalse(lock.validate(ptr, stamp));
+            assertEquals(0L, lock.tryOptimisticRead(ptr, TAG_0));
+
+            stamp = lock.tryOptimisticRead(ptr, TAG_0 + 1);
+
+            assertTrue(stamp != 0L);
+
+            assertTrue(lock.readLock(ptr, TAG_0 + 1));
+            assertTrue(lock.upgradeToWriteLock(ptr, TAG_0 + 1));
+
+            lock.writeUnlock(ptr, TAG_0 + 1);
+
+            assertFalse(lock.validate(ptr, stamp));
+        }
+        finally {
+            GridUnsafe.freeMemory(ptr);
+        }
+    }
+
+    /**
+     * @throws Exception if failed.
+     */
+    @Test
+    public void testConcurrentOptimisticReads() throws Exception {
+        final int numPairs = 100;
+        final Pair[] data = new Pair[numPairs];
+
+        for (int i = 0; i < numPairs; i++)
+            data[i] = new Pair();
+
+        final OffheapReadWriteLock lock = new OffheapReadWriteLock(16);
+
+        final long ptr = GridUnsafe.allocateMemory(OffheapReadWriteLock.LOCK_SIZE);
+
+        lock.init(ptr, TAG_0);
+
+        final AtomicInteger reads = new AtomicInteger();
+        final AtomicInteger conflicts = new AtomicInteger();
+        final AtomicBoolean done = new AtomicBoolean(false);
+
+        IgniteInternalFuture<Long> fut = GridTestUtils.runMultiThreadedAsync(new Callable<Object>() {
+            /** {@inheritDoc} */
+            @Override public Object call() {
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+                while (!done.get()) {
+                    if (rnd.nextInt(10) < 2) {
+                        assertTrue(lock.writeLock(ptr, TAG_0));
+
+                        try {
+                            int idx = rnd.nextInt(numPairs);
+                            int delta = rnd.nextInt(100_000);
+
+                            data[idx].a += delta;
+                            data[idx].b -= delta;
+                        }
+                        finally {
+                            lock.writeUnlock(ptr, TAG_0);
+                        }
+                    }
+                    else {
+                        long stamp = lock.tryOptimisticRead(ptr, TAG_0);
+
+                        if (stamp == 0L) {
+                            conflicts.incrementAndGet();
+
+                            continue;
+                        }
+
+                        int idx = rnd.nextInt(numPairs);
+
+                        int a = data[idx].a;
+                        int b = data[idx].b;
+
+                        if (lock.validate(ptr, stamp)) {
+                            assertEquals("Failed check for index: " + idx, a, -b);
+
+                            reads.incrementAndGet();
+                        }
+                        else
+                            conflicts.incrementAndGet();
+                    }
+                }
+
+                return null;
+            }
+        }, 16, "tester");
+
+        for (int i = 0; i < ROUNDS_PER_TEST; i++) {
+            Thread.sleep(1_000);
+
+            info("Validated reads: " + reads.getAndSet(0) + ", conflicts=" + conflicts.getAndSet(0));
+        }
+
+        done.set(true);
+
+        fut.get();
+
+        validate(data);
+    }
+
     /**
      * Validates data integrity.
      *
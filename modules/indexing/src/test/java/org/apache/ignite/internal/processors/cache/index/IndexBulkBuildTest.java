@@ -0,0 +1,296 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.index;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.cache.Cache;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.client.Person;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.cache.query.index.sorted.IndexRow;
+import org.apache.ignite.internal.cache.query.index.sorted.ThreadLocalRowHandlerHolder;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndex;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexTree;
+import org.apache.ignite.internal.processors.cache.CacheObjectContext;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
+import org.apache.ignite.internal.util.lang.GridCursor;
+import org.apache.ignite.internal.util.lang.RunnableX;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_INDEX_BULK_BUILD_SORT_BUFFER_SIZE;
+import static org.apache.ignite.cluster.ClusterState.ACTIVE;
+import static org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexBulkBuild.BULK_BUILD_DIR;
+import static org.apache.ignite.testframework.GridTestUtils.deleteIndexBin;
+
+/**
+ * Tests bulk build of the indexes on the index creation and rebuild with concurrent updates of the cache. The sort
+ * buffer is small, so the sorted rows are written to the temporary files and merged in several passes.
+ * <p>
+ * Updates change the indexed values, remove the rows and insert them again, so the rows in the temporary files are
+ * changed and their links are reused by other rows during the build.
+ */
+@WithSystemProperty(key = IGNITE_INDEX_BULK_BUILD_SORT_BUFFER_SIZE, value = "4096")
+public class IndexBulkBuildTest extends GridCommonAbstractTest {
+    /** Count of keys. */
+    private static final int KEYS = 20_000;
+
+    /** Name of the created index. */
+    private static final String IDX_NAME = "PERSON_NAME_IDX";
+
+    /** Prefix longer than the inline size of the name. */
+    private static final String LONG_PREFIX = "long_name_which_is_not_inlined_in_full_";
+
+    /** Persistence is enabled. */
+    private boolean persistence;
+
+    /** Prefix of the names. */
+    private String namePrefix = "name_";
+
+    /** Inline size of the created index, {@code 0} for the default one. */
+    private int inlineSize;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setConsistentId(igniteInstanceName)
+            .setDataStorageConfiguration(new DataStorageConfiguration().setDefaultDataRegionConfiguration(
+                new DataRegionConfiguration().setPersistenceEnabled(persistence)))
+            .setCacheConfiguration(new CacheConfiguration<Integer, Person>(DEFAULT_CACHE_NAME)
+                .setIndexedTypes(Integer.class, Person.class));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+        cleanPersistenceDir();
+
+        U.delete(new File(U.defaultWorkDirectory(), BULK_BUILD_DIR));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        super.afterTest();
+
+        stopAllGrids();
+        cleanPersistenceDir();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCreateIndex() throws Exception {
+        IgniteEx n = startGrid(0);
+
+        IgniteCache<Integer, Person> cache = n.cache(DEFAULT_CACHE_NAME);
+
+        populate(cache);
+
+        runWithUpdates(cache, () -> createIndex(cache));
+
+        checkIndexes(n);
+    }
+
+    /**
+     * Checks the build, when the keys are inlined in full and the rows are not read by the links.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCreateIndexInlined() throws Exception {
+        inlineSize = 64;
+
+        testCreateIndex();
+    }
+
+    /**
+     * Checks the build, when the keys are not inlined in full and the rows are read by the links during the merge.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCreateIndexNotInlined() throws Exception {
+        namePrefix = LONG_PREFIX;
+
+        testCreateIndex();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRebuildIndexesNotInlined() throws Exception {
+        namePrefix = LONG_PREFIX;
+
+        testRebuildIndexes();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRebuildIndexes() throws Exception {
+        persistence = true;
+
+        IgniteEx n = startGrid(0);
+
+        n.cluster().state(ACTIVE);
+
+        IgniteCache<Integer, Person> cache = n.cache(DEFAULT_CACHE_NAME);
+
+        populate(cache);
+
+        createIndex(cache);
+
+        stopAllGrids();
+
+        deleteIndexBin(getTestIgniteInstanceName(0));
+
+        IgniteEx n0 = startGrid(0);
+
+        n0.cluster().state(ACTIVE);
+
+        IgniteCache<Integer, Person> cache0 = n0.cache(DEFAULT_CACHE_NAME);
+
+        runWithUpdates(cache0, () -> cache0.indexReadyFuture().get(getTestTimeout()));
+
+        checkIndexes(n0);
+    }
+
+    /**
+     * @param cache Cache.
+     */
+    private void populate(IgniteCache<Integer, Person> cache) {
+        for (int i = 0; i < KEYS; i++)
+            cache.put(i, new Person(i, namePrefix + i));
+    }
+
+    /**
+     * @param cache Cache.
+     */
+    private void createIndex(IgniteCache<Integer, Person> cache) {
+        cache.query(new SqlFieldsQuery("CREATE INDEX " + IDX_NAME + " ON Person(name)" +
+            (inlineSize > 0 ? " INLINE_SIZE " + inlineSize : ""))).getAll();
+    }
+
+    /**
+     * Runs the action while the cache is updated concurrently.
+     *
+     * @param cache Cache.
+     * @param act Action.
+     * @throws Exception If failed.
+     */
+    private void runWithUpdates(IgniteCache<Integer, Person> cache, RunnableX act) throws Exception {
+        AtomicBoolean stop = new AtomicBoolean();
+
+        IgniteInternalFuture<?> updFut = GridTestUtils.runMultiThreadedAsync(() -> {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+            while (!stop.get()) {
+                int key = rnd.nextInt(KEYS);
+
+                if (rnd.nextInt(4) == 0)
+                    cache.remove(key);
+                else
+                    cache.put(key, new Person(key, namePrefix + rnd.nextInt(KEYS)));
+            }
+        }, 4, "updater");
+
+        try {
+            act.runx();
+        }
+        finally {
+            stop.set(true);
+        }
+
+        updFut.get(getTestTimeout());
+    }
+
+    /**
+     * Checks that the index trees are valid and contain the actual rows of the cache.
+     *
+     * @param n Node.
+     * @throws Exception If failed.
+     */
+    private void checkIndexes(IgniteEx n) throws Exception {
+        Map<Integer, String> exp = new HashMap<>();
+
+        for (Cache.Entry<Integer, Person> e : n.<Integer, Person>cache(DEFAULT_CACHE_NAME))
+            exp.put(e.getKey(), e.getValue().getName());
+
+        CacheObjectContext coCtx = n.cachex(DEFAULT_CACHE_NAME).context().cacheObjectContext();
+
+        Collection<InlineIndex> idxs = n.context().indexProcessor().treeIndexes(DEFAULT_CACHE_NAME, false);
+
+        assertTrue(idxs.stream().anyMatch(idx -> IDX_NAME.equals(idx.name())));
+
+        for (InlineIndex idx : idxs) {
+            for (int i = 0; i < idx.segmentsCount(); i++) {
+                InlineIndexTree tree = idx.segment(i);
+
+                ThreadLocalRowHandlerHolder.rowHandler(tree.rowHandler());
+
+                try {
+                    tree.validateTree();
+                }
+                finally {
+                    ThreadLocalRowHandlerHolder.clearRowHandler();
+                }
+            }
+
+            Map<Integer, String> res = new HashMap<>();
+
+            GridCursor<IndexRow> cur = idx.find(null, null, true, true, null);
+
+            while (cur.next()) {
+                CacheDataRow row = cur.get().cacheDataRow();
+
+                Integer key = row.key().value(coCtx, false);
+
+                assertNull("Duplicate key [idx=" + idx.name() + ", key=" + key + ']',
+                    res.put(key, ((BinaryObject)row.value()).field("name")));
+            }
+
+            assertEquals(idx.name(), exp, res);
+        }
+
+        // Sorted rows are written to the temporary files, which are deleted after the build.
+        File[] files = new File(U.defaultWorkDirectory(), BULK_BUILD_DIR).listFiles();
+
+        assertNotNull(files);
+        assertEquals(0, files.length);
+    }
+}
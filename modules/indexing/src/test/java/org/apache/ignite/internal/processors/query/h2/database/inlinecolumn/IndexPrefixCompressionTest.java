@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.database.inlinecolumn;
+
+import java.util.List;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.cache.query.index.IndexName;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexImpl;
+import org.apache.ignite.internal.processors.cache.index.AbstractIndexingCommonTest;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_INDEX_PREFIX_COMPRESSION;
+
+/** Tests for the prefix compression of inlined keys in index leaf pages. */
+@WithSystemProperty(key = IGNITE_INDEX_PREFIX_COMPRESSION, value = "true")
+public class IndexPrefixCompressionTest extends AbstractIndexingCommonTest {
+    /** */
+    private static final int KEYS = 5_000;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration().setPersistenceEnabled(true)));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /** */
+    @Test
+    public void testCompressedIndexSurvivesUpdatesAndRestart() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        query(ignite, "CREATE TABLE T1 (ID INT PRIMARY KEY, NAME VARCHAR) WITH \"cache_name=T1\"");
+        query(ignite, "CREATE INDEX NAME_IDX ON T1(NAME) INLINE_SIZE 32");
+
+        for (int i = 0; i < KEYS; i++)
+            query(ignite, "INSERT INTO T1 (ID, NAME) VALUES (?, ?)", i, name(i));
+
+        // Remove every third row and move every fifth row out of the common prefix.
+        for (int i = 0; i < KEYS; i += 3)
+            query(ignite, "DELETE FROM T1 WHERE ID = ?", i);
+
+        for (int i = 1; i < KEYS; i += 5)
+            query(ignite, "UPDATE T1 SET NAME = ? WHERE ID = ?", "other-" + name(i), i);
+
+        assertTrue(index(ignite).segment(0).prefixCompression());
+
+        checkIndex(ignite);
+
+        stopGrid(0);
+
+        ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        assertTrue(index(ignite).segment(0).prefixCompression());
+
+        checkIndex(ignite);
+    }
+
+    /** */
+    private void checkIndex(IgniteEx ignite) {
+        int exp = 0;
+
+        for (int i = 0; i < KEYS; i++) {
+            if (i % 3 != 0 && i % 5 != 1)
+                exp++;
+        }
+
+        List<List<?>> res = query(ignite,
+            "SELECT ID, NAME FROM T1 USE INDEX(NAME_IDX) WHERE NAME >= ? AND NAME < ? ORDER BY NAME",
+            "user-", "user.");
+
+        assertEquals(exp, res.size());
+
+        String prev = null;
+
+        for (List<?> row : res) {
+            int id = (Integer)row.get(0);
+            String name = (String)row.get(1);
+
+            assertEquals(name(id), name);
+
+            if (prev != null)
+                assertTrue(prev.compareTo(name) < 0);
+
+            prev = name;
+        }
+
+        for (int i = 1; i < KEYS; i += 5) {
+            List<List<?>> row = query(ignite, "SELECT ID FROM T1 USE INDEX(NAME_IDX) WHERE NAME = ?",
+                "other-" + name(i));
+
+            if (i % 3 == 0) {
+                assertTrue(row.isEmpty());
+
+                continue;
+            }
+
+            assertEquals(1, row.size());
+            assertEquals(i, row.get(0).get(0));
+        }
+    }
+
+    /** */
+    private InlineIndexImpl index(IgniteEx ignite) {
+        IndexName name = new IndexName("T1", "PUBLIC", "T1", "NAME_IDX");
+
+        return (InlineIndexImpl)ignite.context().indexProcessor().index(name);
+    }
+
+    /** */
+    private static String name(int i) {
+        return String.format("user-%08d", i);
+    }
+
+    /** */
+    private static List<List<?>> query(IgniteEx ignite, String qry, Object... args) {
+        return ignite.context().query().querySqlFields(new SqlFieldsQuery(qry).setArgs(args), false).getAll();
+    }
+}
@@ -23,6 +23,7 @@ import org.apache.ignite.internal.processors.cache.IgnitePdsSingleNodeWithIndexi
 import org.apache.ignite.internal.processors.cache.index.ClientReconnectWithSqlTableConfiguredTest;
 import org.apache.ignite.internal.processors.cache.index.DropIndexTest;
 import org.apache.ignite.internal.processors.cache.index.ForceRebuildIndexTest;
+import org.apache.ignite.internal.processors.cache.index.IndexBulkBuildTest;
 import org.apache.ignite.internal.processors.cache.index.RenameIndexTreeTest;
 import org.apache.ignite.internal.processors.cache.index.ResumeCreateIndexTest;
 import org.apache.ignite.internal.processors.cache.index.ResumeRebuildIndexTest;
@@ -74,6 +75,7 @@ import org.junit.runners.Suite;
     ResumeCreateIndexTest.class,
     RenameIndexTreeTest.class,
     DropIndexTest.class,
+    IndexBulkBuildTest.class,
     MaintenanceRebuildIndexUtilsSelfTest.class
 })
 public class IgnitePdsWithIndexingTestSuite {
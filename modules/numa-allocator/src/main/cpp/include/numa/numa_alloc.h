@@ -105,6 +105,8 @@ namespace numa {
     size_t Size(void *ptr);
 
     void Free(void *ptr);
+
+    bool RunOnNode(int node);
 }
 
 #endif //_NUMA_ALLOC_H
@@ -31,6 +31,7 @@ JNIEXPORT jlong JNICALL Java_org_apache_ignite_internal_mem_NumaAllocUtil_alloca
 JNIEXPORT jlong JNICALL Java_org_apache_ignite_internal_mem_NumaAllocUtil_chunkSize(JNIEnv *, jclass, jlong);
 JNIEXPORT void JNICALL Java_org_apache_ignite_internal_mem_NumaAllocUtil_free(JNIEnv *, jclass, jlong);
 JNIEXPORT jint JNICALL Java_org_apache_ignite_internal_mem_NumaAllocUtil_nodesCount(JNIEnv *, jclass);
+JNIEXPORT jboolean JNICALL Java_org_apache_ignite_internal_mem_NumaAllocUtil_runOnNode(JNIEnv *, jclass, jint);
 
 #ifdef __cplusplus
 }
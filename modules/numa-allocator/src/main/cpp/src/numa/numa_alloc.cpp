@@ -211,4 +211,12 @@ namespace numa {
             numa_free(ptr, ptr->size + sizeof(region_size));
         }
     }
+
+    bool RunOnNode(int node) {
+        if (numa_run_on_node(node) != 0) {
+            return false;
+        }
+        numa_set_preferred(node);
+        return true;
+    }
 }
@@ -127,3 +127,10 @@ JNIEXPORT void JNICALL Java_org_apache_ignite_internal_mem_NumaAllocUtil_free(JN
 JNIEXPORT jint JNICALL Java_org_apache_ignite_internal_mem_NumaAllocUtil_nodesCount(JNIEnv *, jclass) {
     return static_cast<jint>(numa::NumaNodesCount());
 }
+
+JNIEXPORT jboolean JNICALL Java_org_apache_ignite_internal_mem_NumaAllocUtil_runOnNode(JNIEnv *, jclass, jint node) {
+    if (node < 0 || node >= numa::NumaNodesCount()) {
+        return JNI_FALSE;
+    }
+    return numa::RunOnNode(static_cast<int>(node)) ? JNI_TRUE : JNI_FALSE;
+}
@@ -142,6 +142,15 @@ public class NumaAllocUtil {
      */
     public static native void free(long addr);
 
+    /**
+     * Bind current thread to CPUs of specific NUMA node and set the node as preferred for allocations of the thread.
+     * Uses {@code int numa_run_on_node(int)} and {@code void numa_set_preferred(int)} under the hood.
+     * <p>
+     * @param node NUMA node.
+     * @return {@code True} if succeeded.
+     */
+    public static native boolean runOnNode(int node);
+
     /**
      * Get NUMA nodes count.
      *
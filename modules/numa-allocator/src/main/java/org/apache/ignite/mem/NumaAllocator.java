@@ -25,9 +25,10 @@ import org.apache.ignite.internal.mem.NumaAllocUtil;
  * are supported.
  * <p>
  * Allocation strategy can be defined by setting {@code allocStrategy} to
- * {@link NumaAllocator#NumaAllocator(NumaAllocationStrategy)}.
+ * {@link NumaAllocator#NumaAllocator(NumaAllocationStrategy)}. Allocation strategy is not applied to memory
+ * allocated on a specific node by {@link #allocateMemory(long, int)}.
  */
-public class NumaAllocator implements MemoryAllocator, Serializable {
+public class NumaAllocator implements NumaAwareMemoryAllocator, Serializable {
     /** */
     private static final long serialVersionUID = 0L;
 
@@ -50,4 +51,19 @@ public class NumaAllocator implements MemoryAllocator, Serializable {
     @Override public void freeMemory(long addr) {
         NumaAllocUtil.free(addr);
     }
+
+    /** {@inheritDoc}*/
+    @Override public int numaNodes() {
+        return NumaAllocUtil.NUMA_NODES_CNT;
+    }
+
+    /** {@inheritDoc}*/
+    @Override public long allocateMemory(long size, int node) {
+        return NumaAllocUtil.allocateOnNode(size, node);
+    }
+
+    /** {@inheritDoc}*/
+    @Override public boolean runOnNode(int node) {
+        return NumaAllocUtil.runOnNode(node);
+    }
 }
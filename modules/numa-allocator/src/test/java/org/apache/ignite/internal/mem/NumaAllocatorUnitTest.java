@@ -91,6 +91,48 @@ public class NumaAllocatorUnitTest {
         }
     }
 
+    /** */
+    public static class NodeBindingTest extends GridCommonAbstractTest {
+        /** */
+        private static final long BUF_SZ = 1024 * 1024;
+
+        /** */
+        @Test
+        public void testAllocateOnNode() {
+            NumaAllocator allocator = new NumaAllocator(new LocalNumaAllocationStrategy());
+
+            assertEquals(NumaAllocUtil.NUMA_NODES_CNT, allocator.numaNodes());
+
+            for (int node = 0; node < allocator.numaNodes(); node++) {
+                long ptr = 0;
+                try {
+                    ptr = allocator.allocateMemory(BUF_SZ, node);
+
+                    assertEquals(BUF_SZ, NumaAllocUtil.chunkSize(ptr));
+
+                    GridUnsafe.setMemory(ptr, BUF_SZ, (byte)1);
+                }
+                finally {
+                    if (ptr != 0)
+                        allocator.freeMemory(ptr);
+                }
+            }
+        }
+
+        /** */
+        @Test
+        public void testRunOnNode() throws Exception {
+            NumaAllocator allocator = new NumaAllocator(new LocalNumaAllocationStrategy());
+
+            GridTestUtils.runAsync(() -> {
+                assertFalse(allocator.runOnNode(-1));
+                assertFalse(allocator.runOnNode(allocator.numaNodes()));
+
+                assertTrue(allocator.runOnNode(allocator.numaNodes() - 1));
+            }).get();
+        }
+    }
+
     /** */
     public static class ErrorScenarioTest extends GridCommonAbstractTest {
         /** */